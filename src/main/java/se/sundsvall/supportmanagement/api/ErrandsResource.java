@@ -9,12 +9,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -34,9 +38,12 @@ import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 import se.sundsvall.supportmanagement.api.model.errand.CountResponse;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey;
+import se.sundsvall.supportmanagement.api.model.errand.FindErrandsCursorResponse;
 import se.sundsvall.supportmanagement.api.validation.groups.OnCreate;
 import se.sundsvall.supportmanagement.api.validation.groups.OnUpdate;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.ErrandExportService;
 import se.sundsvall.supportmanagement.service.ErrandService;
 
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
@@ -44,6 +51,7 @@ import static org.springframework.http.HttpHeaders.ETAG;
 import static org.springframework.http.HttpHeaders.LOCATION;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.noContent;
@@ -60,9 +68,11 @@ import static se.sundsvall.supportmanagement.service.util.ETagUtil.format;
 class ErrandsResource {
 
 	private final ErrandService service;
+	private final ErrandExportService exportService;
 
-	ErrandsResource(final ErrandService service) {
+	ErrandsResource(final ErrandService service, final ErrandExportService exportService) {
 		this.service = service;
+		this.exportService = exportService;
 	}
 
 	@PostMapping(consumes = APPLICATION_JSON_VALUE, produces = ALL_VALUE)
@@ -127,6 +137,51 @@ class ErrandsResource {
 		return ok(service.findErrands(namespace, municipalityId, filter, pageable));
 	}
 
+	@GetMapping(path = "/cursor", produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Read matching errands using cursor based paging",
+		description = "Query for errands with or without filters, paged by an indexed sort key instead of page number. No total count is calculated. Pass the returned nextCursor to fetch the next page.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Successful Operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	ResponseEntity<FindErrandsCursorResponse> findErrandsByCursor(
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(description = "Syntax description: [spring-filter](https://github.com/turkraft/spring-filter/blob/85730f950a5f8623159cc0eb4d737555f9382bb7/README.md#syntax)",
+			example = "categoryTag:'SUPPORT-CASE' and stakeholder.externalId:'81471222-5798-11e9-ae24-57fa13b361e1' and externalTags.key:'caseId' and externalTags.value:'111' and created>'2022-09-08T12:00:00.000+02:00'",
+			schema = @Schema(implementation = String.class)) @Nullable @Filter final Specification<ErrandEntity> filter,
+		@Parameter(name = "sortBy", description = "Attribute to sort by. Ignored when cursor is provided") @RequestParam(defaultValue = "TOUCHED") final ErrandSortKey sortBy,
+		@Parameter(name = "direction", description = "Sort direction. Ignored when cursor is provided") @RequestParam(defaultValue = "DESC") final Direction direction,
+		@Parameter(name = "limit", description = "Maximum number of errands to return", example = "20") @RequestParam(defaultValue = "20") @Min(1) @Max(1000) final int limit,
+		@Parameter(name = "cursor", description = "Cursor received as nextCursor in a previous response. Omit to fetch the first page") @RequestParam(required = false) final String cursor) {
+
+		return ok(service.findErrandsByCursor(namespace, municipalityId, filter, sortBy, direction, limit, cursor));
+	}
+
+	@GetMapping(path = "/export", produces = APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Export matching errands",
+		description = "Streams all errands matching the provided filter as newline delimited JSON, one errand per line. Intended for reporting and other bulk consumers that would otherwise have to walk through all pages.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Successful Operation", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Errand.class))),
+			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	void exportErrands(
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(description = "Syntax description: [spring-filter](https://github.com/turkraft/spring-filter/blob/85730f950a5f8623159cc0eb4d737555f9382bb7/README.md#syntax)",
+			example = "categoryTag:'SUPPORT-CASE' and stakeholder.externalId:'81471222-5798-11e9-ae24-57fa13b361e1' and externalTags.key:'caseId' and externalTags.value:'111' and created>'2022-09-08T12:00:00.000+02:00'",
+			schema = @Schema(implementation = String.class)) @Nullable @Filter final Specification<ErrandEntity> filter,
+		final HttpServletResponse response) {
+
+		exportService.exportErrands(namespace, municipalityId, filter, response);
+	}
+
 	@PatchMapping(path = "/{errandId}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
 	@Operation(summary = "Update errand", description = "Updates the errand matching provided id with the supplied attributes", responses = {
 		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
@@ -0,0 +1,19 @@
+package se.sundsvall.supportmanagement.api.model.errand;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Indexed attribute that errands are sorted and paged by when using cursor based paging", enumAsRef = true)
+public enum ErrandSortKey {
+	TOUCHED("touched"),
+	CREATED("created");
+
+	private final String attribute;
+
+	ErrandSortKey(final String attribute) {
+		this.attribute = attribute;
+	}
+
+	public String getAttribute() {
+		return attribute;
+	}
+}
@@ -0,0 +1,75 @@
+package se.sundsvall.supportmanagement.api.model.errand;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "FindErrandsCursorResponse model", accessMode = READ_ONLY)
+public class FindErrandsCursorResponse {
+
+	@ArraySchema(schema = @Schema(implementation = Errand.class))
+	private List<Errand> errands;
+
+	@Schema(description = "Opaque token to pass as cursor to fetch the next page. Absent when there are no more matching errands", examples = "VE9VQ0hFRHxERVNDfDIwMjQtMDEtMDFUMTA6MDA6MDBafGI4MmJkOGFj")
+	private String nextCursor;
+
+	public static FindErrandsCursorResponse create() {
+		return new FindErrandsCursorResponse();
+	}
+
+	public List<Errand> getErrands() {
+		return errands;
+	}
+
+	public void setErrands(final List<Errand> errands) {
+		this.errands = errands;
+	}
+
+	public FindErrandsCursorResponse withErrands(final List<Errand> errands) {
+		this.errands = errands;
+		return this;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(final String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public FindErrandsCursorResponse withNextCursor(final String nextCursor) {
+		this.nextCursor = nextCursor;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(errands, nextCursor);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final var other = (FindErrandsCursorResponse) obj;
+		return Objects.equals(errands, other.errands) && Objects.equals(nextCursor, other.nextCursor);
+	}
+
+	@Override
+	public String toString() {
+		return "FindErrandsCursorResponse [errands=" + errands + ", nextCursor=" + nextCursor + "]";
+	}
+}
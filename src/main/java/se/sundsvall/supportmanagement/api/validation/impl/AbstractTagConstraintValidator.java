@@ -1,16 +1,14 @@
 package se.sundsvall.supportmanagement.api.validation.impl;
 
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 import org.hibernate.validator.internal.engine.messageinterpolation.util.InterpolationHelper;
 import org.springframework.web.context.request.RequestContextHolder;
 import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot.Names;
 
-import static java.util.Collections.emptyList;
-import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -43,8 +41,8 @@ abstract class AbstractTagConstraintValidator {
 			.orElseThrow(() -> Problem.valueOf(INTERNAL_SERVER_ERROR, String.format("Path variable '%s' is not readable from request", variableName)));
 	}
 
-	boolean isValid(String value, List<String> validTags, ConstraintValidatorContext context) {
-		var valid = isBlank(value) || ofNullable(validTags).orElse(emptyList()).stream().anyMatch(value::equalsIgnoreCase);
+	boolean isValid(String value, Names validTags, ConstraintValidatorContext context) {
+		var valid = isBlank(value) || validTags.contains(value);
 
 		if (!valid) {
 			useCustomMessageForValidation(value, validTags, context);
@@ -53,8 +51,8 @@ abstract class AbstractTagConstraintValidator {
 		return valid;
 	}
 
-	boolean isValidAndNotBlank(String value, List<String> validTags, ConstraintValidatorContext context) {
-		var valid = isNotBlank(value) && ofNullable(validTags).orElse(emptyList()).stream().anyMatch(value::equalsIgnoreCase);
+	boolean isValidAndNotBlank(String value, Names validTags, ConstraintValidatorContext context) {
+		var valid = isNotBlank(value) && validTags.contains(value);
 
 		if (!valid) {
 			useCustomMessageForValidation(value, validTags, context);
@@ -63,8 +61,8 @@ abstract class AbstractTagConstraintValidator {
 		return valid;
 	}
 
-	private void useCustomMessageForValidation(String value, List<String> validTags, ConstraintValidatorContext constraintContext) {
+	private void useCustomMessageForValidation(String value, Names validTags, ConstraintValidatorContext constraintContext) {
 		constraintContext.disableDefaultConstraintViolation();
-		constraintContext.buildConstraintViolationWithTemplate(InterpolationHelper.escapeMessageParameter(String.format(CUSTOM_ERROR_MESSAGE_TEMPLATE, value, validTags))).addConstraintViolation();
+		constraintContext.buildConstraintViolationWithTemplate(InterpolationHelper.escapeMessageParameter(String.format(CUSTOM_ERROR_MESSAGE_TEMPLATE, value, validTags.getValues()))).addConstraintViolation();
 	}
 }
@@ -1,24 +1,18 @@
 package se.sundsvall.supportmanagement.api.validation.impl;
 
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.List;
-import org.springframework.data.domain.Sort;
 import se.sundsvall.supportmanagement.api.model.errand.Classification;
-import se.sundsvall.supportmanagement.api.model.metadata.Category;
-import se.sundsvall.supportmanagement.api.model.metadata.Type;
 import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
-import se.sundsvall.supportmanagement.service.MetadataService;
-
-import static java.util.Collections.emptyList;
-import static java.util.Optional.ofNullable;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 public abstract class ValidClassificationConstraintValidator extends AbstractTagConstraintValidator {
 
-	private final MetadataService metadataService;
+	private final MetadataSnapshotService metadataSnapshotService;
 	private boolean nullableIfActive;
 
-	protected ValidClassificationConstraintValidator(final MetadataService metadataService) {
-		this.metadataService = metadataService;
+	protected ValidClassificationConstraintValidator(final MetadataSnapshotService metadataSnapshotService) {
+		this.metadataSnapshotService = metadataSnapshotService;
 	}
 
 	protected void setNullableIfActive(boolean nullableIfActive) {
@@ -29,36 +23,24 @@ public abstract class ValidClassificationConstraintValidator extends AbstractTag
 		final var namespace = getPathVariable(PATHVARIABLE_NAMESPACE);
 		final var municipalityId = getPathVariable(PATHVARIABLE_MUNICIPALITY_ID);
 
-		final var categoryNames = getCategoryNames(namespace, municipalityId);
+		final var snapshot = metadataSnapshotService.getSnapshot(namespace, municipalityId);
 
-		if (!isCategoryValid(namespace, municipalityId, categoryNames, classification, context)) {
+		if (!isCategoryValid(snapshot, classification, context)) {
 			return false;
 		}
 
-		return isTypeValid(namespace, municipalityId, classification, context);
+		return isTypeValid(snapshot, classification, context);
 	}
 
-	private boolean isCategoryValid(String namespace, String municipalityId, List<String> categoryNames, Classification classification, ConstraintValidatorContext context) {
-		return !metadataService.isValidated(namespace, municipalityId, EntityType.CATEGORY) ||
+	private boolean isCategoryValid(MetadataSnapshot snapshot, Classification classification, ConstraintValidatorContext context) {
+		return !snapshot.isValidated(EntityType.CATEGORY) ||
 			(nullableIfActive && classification == null) ||
-			(classification != null && isValidAndNotBlank(classification.getCategory(), categoryNames, context));
-	}
-
-	private boolean isTypeValid(String namespace, String municipalityId, Classification classification, ConstraintValidatorContext context) {
-		return !metadataService.isValidated(namespace, municipalityId, EntityType.TYPE) || (nullableIfActive && classification == null) ||
-			(classification != null && isValidAndNotBlank(classification.getType(), getTypeNames(namespace, municipalityId, classification.getCategory()), context));
-	}
-
-	private List<String> getCategoryNames(String namespace, String municipalityId) {
-		return ofNullable(metadataService.findCategories(namespace, municipalityId, Sort.unsorted())).orElse(emptyList()).stream()
-			.map(Category::getName)
-			.toList();
+			(classification != null && isValidAndNotBlank(classification.getCategory(), snapshot.getCategories(), context));
 	}
 
-	private List<String> getTypeNames(String namespace, String municipalityId, String category) {
-		return ofNullable(category).map(cat -> metadataService.findTypes(namespace, municipalityId, cat)).orElse(emptyList()).stream()
-			.map(Type::getName)
-			.toList();
+	private boolean isTypeValid(MetadataSnapshot snapshot, Classification classification, ConstraintValidatorContext context) {
+		return !snapshot.isValidated(EntityType.TYPE) || (nullableIfActive && classification == null) ||
+			(classification != null && isValidAndNotBlank(classification.getType(), snapshot.getTypes(classification.getCategory()), context));
 	}
 
 }
@@ -3,11 +3,11 @@ package se.sundsvall.supportmanagement.api.validation.impl;
 import jakarta.validation.ConstraintValidator;
 import se.sundsvall.supportmanagement.api.model.errand.Classification;
 import se.sundsvall.supportmanagement.api.validation.ValidClassificationCreate;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 
 public class ValidClassificationCreateConstraintValidator extends ValidClassificationConstraintValidator implements ConstraintValidator<ValidClassificationCreate, Classification> {
-	public ValidClassificationCreateConstraintValidator(MetadataService metadataService) {
-		super(metadataService);
+	public ValidClassificationCreateConstraintValidator(MetadataSnapshotService metadataSnapshotService) {
+		super(metadataSnapshotService);
 	}
 
 	@Override
@@ -3,11 +3,11 @@ package se.sundsvall.supportmanagement.api.validation.impl;
 import jakarta.validation.ConstraintValidator;
 import se.sundsvall.supportmanagement.api.model.errand.Classification;
 import se.sundsvall.supportmanagement.api.validation.ValidClassificationUpdate;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 
 public class ValidClassificationUpdateConstraintValidator extends ValidClassificationConstraintValidator implements ConstraintValidator<ValidClassificationUpdate, Classification> {
-	public ValidClassificationUpdateConstraintValidator(MetadataService metadataService) {
-		super(metadataService);
+	public ValidClassificationUpdateConstraintValidator(MetadataSnapshotService metadataSnapshotService) {
+		super(metadataSnapshotService);
 	}
 
 	@Override
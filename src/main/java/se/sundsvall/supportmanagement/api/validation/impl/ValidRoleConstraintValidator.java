@@ -2,35 +2,24 @@ package se.sundsvall.supportmanagement.api.validation.impl;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.List;
-import org.springframework.data.domain.Sort;
-import se.sundsvall.supportmanagement.api.model.metadata.Role;
 import se.sundsvall.supportmanagement.api.validation.ValidRole;
 import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
-import se.sundsvall.supportmanagement.service.MetadataService;
-
-import static java.util.Collections.emptyList;
-import static java.util.Optional.ofNullable;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 
 public class ValidRoleConstraintValidator extends AbstractTagConstraintValidator implements ConstraintValidator<ValidRole, String> {
 
-	private final MetadataService metadataService;
+	private final MetadataSnapshotService metadataSnapshotService;
 
-	public ValidRoleConstraintValidator(final MetadataService metadataService) {
-		this.metadataService = metadataService;
+	public ValidRoleConstraintValidator(final MetadataSnapshotService metadataSnapshotService) {
+		this.metadataSnapshotService = metadataSnapshotService;
 	}
 
 	@Override
 	public boolean isValid(final String value, final ConstraintValidatorContext context) {
 		final var namespace = getPathVariable(PATHVARIABLE_NAMESPACE);
 		final var municipalityId = getPathVariable(PATHVARIABLE_MUNICIPALITY_ID);
-		return !metadataService.isValidated(namespace, municipalityId, EntityType.ROLE) ||
-			isValid(value, getRoles(namespace, municipalityId), context);
-	}
-
-	private List<String> getRoles(String namespace, String municipalityId) {
-		return ofNullable(metadataService.findRoles(namespace, municipalityId, Sort.unsorted())).orElse(emptyList()).stream()
-			.map(Role::getName)
-			.toList();
+		final var snapshot = metadataSnapshotService.getSnapshot(namespace, municipalityId);
+		return !snapshot.isValidated(EntityType.ROLE) ||
+			isValid(value, snapshot.getRoles(), context);
 	}
 }
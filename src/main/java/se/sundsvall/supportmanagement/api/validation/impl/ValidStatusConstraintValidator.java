@@ -2,31 +2,20 @@ package se.sundsvall.supportmanagement.api.validation.impl;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.List;
-import org.springframework.data.domain.Sort;
-import se.sundsvall.supportmanagement.api.model.metadata.Status;
 import se.sundsvall.supportmanagement.api.validation.ValidStatus;
-import se.sundsvall.supportmanagement.service.MetadataService;
-
-import static java.util.Collections.emptyList;
-import static java.util.Optional.ofNullable;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 
 public class ValidStatusConstraintValidator extends AbstractTagConstraintValidator implements ConstraintValidator<ValidStatus, String> {
 
-	private final MetadataService metadataService;
+	private final MetadataSnapshotService metadataSnapshotService;
 
-	public ValidStatusConstraintValidator(final MetadataService metadataService) {
-		this.metadataService = metadataService;
+	public ValidStatusConstraintValidator(final MetadataSnapshotService metadataSnapshotService) {
+		this.metadataSnapshotService = metadataSnapshotService;
 	}
 
 	@Override
 	public boolean isValid(final String value, final ConstraintValidatorContext context) {
-		return isValid(value, getStatusNames(), context);
-	}
-
-	private List<String> getStatusNames() {
-		return ofNullable(metadataService.findStatuses(getPathVariable(PATHVARIABLE_NAMESPACE), getPathVariable(PATHVARIABLE_MUNICIPALITY_ID), Sort.unsorted())).orElse(emptyList()).stream()
-			.map(Status::getName)
-			.toList();
+		final var snapshot = metadataSnapshotService.getSnapshot(getPathVariable(PATHVARIABLE_NAMESPACE), getPathVariable(PATHVARIABLE_MUNICIPALITY_ID));
+		return isValid(value, snapshot.getStatuses(), context);
 	}
 }
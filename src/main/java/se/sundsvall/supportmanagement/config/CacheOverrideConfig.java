@@ -2,14 +2,20 @@ package se.sundsvall.supportmanagement.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Collections;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import se.sundsvall.supportmanagement.service.model.AccessibleLabels;
 
 import static java.util.Optional.ofNullable;
+import static se.sundsvall.supportmanagement.service.AccessMapperService.ACCESSIBLE_LABELS_CACHE_NAME;
 
 @Configuration
 @EnableCaching
@@ -21,6 +27,21 @@ public class CacheOverrideConfig {
 			.forEach(specOverride -> replaceCaffeineCache(cacheManager, specOverride));
 	}
 
+	/**
+	 * Registers the cache of accessible labels, whose entries expire when their labels do rather than after a fixed time,
+	 * as labels taken from a shared snapshot are only valid for what is left of the snapshot's time to live.
+	 */
+	@Bean
+	public CacheManagerCustomizer<CaffeineCacheManager> accessibleLabelsCacheCustomizer(@Value("${cache.accessible-labels.maximum-size:500}") final long maximumSize) {
+		return cacheManager -> {
+			cacheManager.removeCache(ACCESSIBLE_LABELS_CACHE_NAME);
+			cacheManager.registerCustomCache(ACCESSIBLE_LABELS_CACHE_NAME, Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new AccessibleLabelsExpiry())
+				.build());
+		};
+	}
+
 	/**
 	 * Replaces default configured cache in manager with a cache using overriding cache settings
 	 *
@@ -32,4 +53,28 @@ public class CacheOverrideConfig {
 		final Cache<Object, Object> cache = Caffeine.from(caffeineCache.getSpec()).build();
 		cacheManager.registerCustomCache(caffeineCache.getCacheName(), cache);
 	}
+
+	/**
+	 * Expires accessible labels at their expiry time. Anything else, e.g. a cached null value, expires at once.
+	 */
+	static final class AccessibleLabelsExpiry implements Expiry<Object, Object> {
+
+		@Override
+		public long expireAfterCreate(final Object key, final Object value, final long currentTime) {
+			if (value instanceof final AccessibleLabels accessibleLabels && accessibleLabels.expires() != null) {
+				return Math.max(0, Duration.between(OffsetDateTime.now(), accessibleLabels.expires()).toNanos());
+			}
+			return 0;
+		}
+
+		@Override
+		public long expireAfterUpdate(final Object key, final Object value, final long currentTime, final long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(final Object key, final Object value, final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+	}
 }
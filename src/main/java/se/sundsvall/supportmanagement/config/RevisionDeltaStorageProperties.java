@@ -0,0 +1,24 @@
+package se.sundsvall.supportmanagement.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings for storing revisions as deltas, shared by revision creation and the conversion of existing revisions.
+ *
+ * @param enabled          when enabled, every revision that is not a keyframe is stored as a JSON patch against the
+ *                         previous revision instead of as a full snapshot.
+ * @param keyframeInterval a revision whose version is evenly divisible by this value is a keyframe and is always stored
+ *                         as a full snapshot. This bounds the number of deltas that must be replayed to rebuild any
+ *                         revision. An interval of 1 makes every revision a keyframe.
+ */
+@Validated
+@ConfigurationProperties("revision.delta-storage")
+public record RevisionDeltaStorageProperties(boolean enabled, @DefaultValue("10") @Min(1) int keyframeInterval) {
+
+	public boolean isKeyframe(final int version) {
+		return version % keyframeInterval == 0;
+	}
+}
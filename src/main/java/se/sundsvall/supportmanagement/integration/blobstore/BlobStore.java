@@ -0,0 +1,35 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import java.io.IOException;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+/**
+ * Keeps the bytes of attachment content. Which store is used is decided by the property
+ * {@code attachment.blob-store.type}, the default being to keep the bytes in the database.
+ */
+public interface BlobStore {
+
+	/**
+	 * Store the bytes of attachment content that is about to be inserted. A store that keeps the bytes outside of the
+	 * database consumes the file of the entity, sets its storage key and clears the file.
+	 *
+	 * @param  attachmentData the content to store.
+	 * @throws IOException    if the bytes could not be stored.
+	 */
+	void write(AttachmentDataEntity attachmentData) throws IOException;
+
+	/**
+	 * Make the bytes of loaded or inserted attachment content readable through {@link AttachmentDataEntity#getFile()}.
+	 *
+	 * @param attachmentData the content to attach the bytes to.
+	 */
+	void attach(AttachmentDataEntity attachmentData);
+
+	/**
+	 * Delete bytes kept outside of the database, once the attachment content they belong to has been deleted.
+	 *
+	 * @param  storageKey  the storage key of the deleted content.
+	 * @throws IOException if the bytes could not be deleted.
+	 */
+	void delete(String storageKey) throws IOException;
+}
@@ -0,0 +1,36 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps the bytes of attachment content in the file column of the attachment_data table.
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.blob-store.type", havingValue = "database", matchIfMissing = true)
+public class DatabaseBlobStore implements BlobStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DatabaseBlobStore.class);
+
+	@Override
+	public void write(final AttachmentDataEntity attachmentData) {
+		// The blob is written by Hibernate when the entity is inserted
+	}
+
+	@Override
+	public void attach(final AttachmentDataEntity attachmentData) {
+		if (nonNull(attachmentData.getStorageKey())) {
+			LOG.warn("Content of attachment data {} is stored outside of the database, which requires a file system blob store", attachmentData.getId());
+		}
+	}
+
+	@Override
+	public void delete(final String storageKey) {
+		// The blob is deleted along with the attachment_data row
+	}
+}
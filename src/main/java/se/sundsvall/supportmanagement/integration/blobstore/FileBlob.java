@@ -0,0 +1,103 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read only {@link Blob} view of a file in the file system blob store. The file is opened anew for every read, hence
+ * the blob holds no resources and {@link #free()} has nothing to release.
+ */
+class FileBlob implements Blob {
+
+	private final Path path;
+
+	FileBlob(final Path path) {
+		this.path = path;
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	@Override
+	public long length() throws SQLException {
+		try {
+			return Files.size(path);
+		} catch (final IOException e) {
+			throw new SQLException("Failed to read size of " + path, e);
+		}
+	}
+
+	@Override
+	public byte[] getBytes(final long pos, final int length) throws SQLException {
+		try (final var channel = FileChannel.open(path, READ)) {
+			final var buffer = ByteBuffer.allocate((int) Math.min(length, Math.max(0, channel.size() - (pos - 1))));
+			while (buffer.hasRemaining() && channel.read(buffer, pos - 1 + buffer.position()) >= 0) {
+				// Read until the buffer is full or the end of the file is reached
+			}
+			return buffer.array();
+		} catch (final IOException e) {
+			throw new SQLException("Failed to read " + path, e);
+		}
+	}
+
+	@Override
+	public InputStream getBinaryStream() throws SQLException {
+		try {
+			return Files.newInputStream(path, READ);
+		} catch (final IOException e) {
+			throw new SQLException("Failed to open " + path, e);
+		}
+	}
+
+	@Override
+	public InputStream getBinaryStream(final long pos, final long length) throws SQLException {
+		return new ByteArrayInputStream(getBytes(pos, Math.toIntExact(length)));
+	}
+
+	@Override
+	public long position(final byte[] pattern, final long start) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public long position(final Blob pattern, final long start) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public int setBytes(final long pos, final byte[] bytes) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public int setBytes(final long pos, final byte[] bytes, final int offset, final int len) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public OutputStream setBinaryStream(final long pos) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public void truncate(final long len) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public void free() {
+		// Nothing is held open between reads
+	}
+}
@@ -0,0 +1,135 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.isNull;
+
+/**
+ * Keeps the bytes of attachment content in files below a root directory. Files are spread over two levels of
+ * directories named after the first characters of the storage key, to keep the number of entries per directory down.
+ * <p>
+ * A file is written to a temporary file in its target directory, forced to disk and then atomically renamed, so a file
+ * is either complete or absent. A file written within a transaction that is rolled back is deleted again. Content that
+ * has not yet been moved out of the database is read from the file column, as by the {@link DatabaseBlobStore}.
+ * <p>
+ * Loaded content is read through a {@link FileBlob} on the file.
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.blob-store.type", havingValue = "filesystem")
+public class FileSystemBlobStore extends DatabaseBlobStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+	private final Path rootDirectory;
+
+	public FileSystemBlobStore(@Value("${attachment.blob-store.root-directory}") final Path rootDirectory) {
+		this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+	}
+
+	@Override
+	public void write(final AttachmentDataEntity attachmentData) throws IOException {
+		if (isNull(attachmentData.getFile())) {
+			return;
+		}
+
+		final var storageKey = UUID.randomUUID().toString();
+		final var target = resolve(storageKey);
+		Files.createDirectories(target.getParent());
+
+		final var temporary = Files.createTempFile(target.getParent(), storageKey, ".tmp");
+		try {
+			try (final var channel = FileChannel.open(temporary, WRITE);
+				final var content = attachmentData.getFile().getBinaryStream()) {
+				content.transferTo(Channels.newOutputStream(channel));
+				channel.force(true);
+			}
+			Files.move(temporary, target, ATOMIC_MOVE);
+			forceDirectory(target.getParent());
+		} catch (final SQLException e) {
+			throw new IOException(e);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+
+		deleteOnRollback(storageKey);
+		attachmentData.setStorageKey(storageKey);
+		attachmentData.setFile(null);
+	}
+
+	@Override
+	public void attach(final AttachmentDataEntity attachmentData) {
+		if (isNull(attachmentData.getStorageKey())) {
+			return;
+		}
+		attachmentData.setFile(new FileBlob(resolve(attachmentData.getStorageKey())));
+	}
+
+	@Override
+	public void delete(final String storageKey) throws IOException {
+		if (isNull(storageKey)) {
+			return;
+		}
+		Files.deleteIfExists(resolve(storageKey));
+	}
+
+	Path resolve(final String storageKey) {
+		final var path = rootDirectory
+			.resolve(storageKey.substring(0, 2))
+			.resolve(storageKey.substring(2, 4))
+			.resolve(storageKey)
+			.normalize();
+
+		if (!path.startsWith(rootDirectory)) {
+			throw new IllegalArgumentException("Storage key '%s' resolves outside of the blob store".formatted(storageKey));
+		}
+		return path;
+	}
+
+	/**
+	 * Force the directory entry of a renamed file to disk. Not every platform allows a directory to be opened, in which
+	 * case the rename is left to the file system to persist.
+	 */
+	private static void forceDirectory(final Path directory) {
+		try (final var channel = FileChannel.open(directory, READ)) {
+			channel.force(true);
+		} catch (final IOException e) {
+			LOG.debug("Could not force directory {} to disk: {}", directory, e.getMessage());
+		}
+	}
+
+	private void deleteOnRollback(final String storageKey) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(final int status) {
+				if (status == STATUS_COMMITTED) {
+					return;
+				}
+				try {
+					delete(storageKey);
+				} catch (final IOException e) {
+					LOG.warn("Failed to delete blob {} after rollback", storageKey, e);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,39 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import se.sundsvall.supportmanagement.integration.db.model.AccessSetEntity;
+
+@CircuitBreaker(name = "accessSetRepository")
+public interface AccessSetRepository extends JpaRepository<AccessSetEntity, String> {
+
+	/**
+	 * Find all access sets in a namespace, with their labels fetched in the same query.
+	 *
+	 * @param  namespace      the namespace to find access sets for.
+	 * @param  municipalityId the municipality to find access sets for.
+	 * @return                a list of AccessSetEntity objects.
+	 */
+	@EntityGraph(attributePaths = "metadataLabelIds")
+	List<AccessSetEntity> findAllByNamespaceAndMunicipalityId(String namespace, String municipalityId);
+
+	/**
+	 * Insert an access set unless it already exists. Used instead of save, as two requests may register the same
+	 * combination of labels concurrently.
+	 */
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO access_set (id, municipality_id, namespace) VALUES (:id, :municipalityId, :namespace)", nativeQuery = true)
+	void insertIfAbsent(@Param("id") String id, @Param("municipalityId") String municipalityId, @Param("namespace") String namespace);
+
+	/**
+	 * Insert a label of an access set unless it already exists.
+	 */
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO access_set_label (access_set_id, metadata_label_id) VALUES (:accessSetId, :metadataLabelId)", nativeQuery = true)
+	void insertLabelIfAbsent(@Param("accessSetId") String accessSetId, @Param("metadataLabelId") String metadataLabelId);
+}
@@ -0,0 +1,61 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.model.AccessibleLabelsSnapshotEntity;
+
+@CircuitBreaker(name = "accessibleLabelsSnapshotRepository")
+public interface AccessibleLabelsSnapshotRepository extends JpaRepository<AccessibleLabelsSnapshotEntity, String> {
+
+	/**
+	 * Find a snapshot that was taken after the given point in time.
+	 *
+	 * @param  id      the id of the snapshot.
+	 * @param  created the point in time the snapshot must have been taken after.
+	 * @return         the snapshot, or empty if there is no such snapshot or it is too old.
+	 */
+	Optional<AccessibleLabelsSnapshotEntity> findByIdAndCreatedAfter(String id, OffsetDateTime created);
+
+	/**
+	 * Insert a snapshot, or replace it if it already exists. Used instead of save, as several nodes may take the same
+	 * snapshot concurrently.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = """
+		INSERT INTO accessible_labels_snapshot (id, municipality_id, namespace, label_ids, created)
+		VALUES (:id, :municipalityId, :namespace, :labelIds, :created)
+		ON DUPLICATE KEY UPDATE label_ids = VALUES(label_ids), created = VALUES(created)
+		""", nativeQuery = true)
+	void upsert(@Param("id") String id, @Param("municipalityId") String municipalityId, @Param("namespace") String namespace, @Param("labelIds") String labelIds,
+		@Param("created") OffsetDateTime created);
+
+	/**
+	 * Delete all snapshots of a namespace.
+	 *
+	 * @param  namespace      the namespace.
+	 * @param  municipalityId the municipality.
+	 * @return                the number of deleted snapshots.
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from AccessibleLabelsSnapshotEntity s where s.namespace = :namespace and s.municipalityId = :municipalityId")
+	int deleteByNamespaceAndMunicipalityId(@Param("namespace") String namespace, @Param("municipalityId") String municipalityId);
+
+	/**
+	 * Delete snapshots taken before the given point in time.
+	 *
+	 * @param  created the point in time before which snapshots are deleted.
+	 * @return         the number of deleted snapshots.
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from AccessibleLabelsSnapshotEntity s where s.created < :created")
+	int deleteByCreatedBefore(@Param("created") OffsetDateTime created);
+}
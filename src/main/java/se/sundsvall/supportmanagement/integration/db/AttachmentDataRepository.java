@@ -0,0 +1,100 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+/**
+ * Repository for attachment content. Reference counts, hashes, municipality ids and storage keys are updated through
+ * native statements, which neither load nor rewrite the blob.
+ */
+@CircuitBreaker(name = "attachmentDataRepository")
+public interface AttachmentDataRepository extends JpaRepository<AttachmentDataEntity, Integer> {
+
+	/**
+	 * Find ids of stored content with the provided hash, without loading the content itself.
+	 *
+	 * @param  municipalityId the municipality that the content belongs to.
+	 * @param  hash           the SHA-256 hash of the content.
+	 * @param  excludedId     id of content to exclude from the result (normally the content being deduplicated).
+	 * @param  limit          the maximum number of ids to return.
+	 * @return                a list of ids in ascending order.
+	 */
+	@Query("SELECT d.id FROM AttachmentDataEntity d WHERE d.municipalityId = :municipalityId AND d.hash = :hash AND d.id <> :excludedId ORDER BY d.id")
+	List<Integer> findIdsByMunicipalityIdAndHash(@Param("municipalityId") String municipalityId, @Param("hash") String hash, @Param("excludedId") int excludedId, Limit limit);
+
+	/**
+	 * Set the municipality id and hash that the content is addressed by.
+	 */
+	@Modifying
+	@Query(value = "UPDATE attachment_data SET municipality_id = :municipalityId, hash = :hash WHERE id = :id", nativeQuery = true)
+	void updateContentKey(@Param("id") int id, @Param("municipalityId") String municipalityId, @Param("hash") String hash);
+
+	/**
+	 * Add a reference to the content.
+	 *
+	 * @return the number of updated rows, i.e. 0 if the content no longer exists.
+	 */
+	@Modifying
+	@Query(value = "UPDATE attachment_data SET reference_count = reference_count + 1 WHERE id = :id", nativeQuery = true)
+	int incrementReferenceCount(@Param("id") int id);
+
+	/**
+	 * Remove a reference to the content. Pending changes are flushed first, so that the row that referenced the content
+	 * has been updated or deleted before the content is garbage collected.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = "UPDATE attachment_data SET reference_count = reference_count - 1 WHERE id = :id", nativeQuery = true)
+	void decrementReferenceCount(@Param("id") int id);
+
+	/**
+	 * Delete the content if it is no longer referenced.
+	 *
+	 * @return the number of deleted rows.
+	 */
+	@Modifying
+	@Query(value = "DELETE FROM attachment_data WHERE id = :id AND reference_count <= 0", nativeQuery = true)
+	int deleteIfUnreferenced(@Param("id") int id);
+
+	/**
+	 * Find ids of content without references, without loading the content.
+	 *
+	 * @param  lastId the id to continue after.
+	 * @param  limit  the maximum number of ids to return.
+	 * @return        a list of ids in ascending order.
+	 */
+	@Query("SELECT d.id FROM AttachmentDataEntity d WHERE d.referenceCount <= 0 AND d.id > :lastId ORDER BY d.id")
+	List<Integer> findUnreferencedIds(@Param("lastId") int lastId, Limit limit);
+
+	/**
+	 * Find the key that the bytes of the content are kept under outside of the database, without loading the content.
+	 *
+	 * @return the storage key, or null if the bytes are kept in the database.
+	 */
+	@Query(value = "SELECT storage_key FROM attachment_data WHERE id = :id", nativeQuery = true)
+	String findStorageKeyById(@Param("id") int id);
+
+	/**
+	 * Find ids of content whose bytes are still kept in the database.
+	 *
+	 * @param  lastId the id to continue after.
+	 * @param  limit  the maximum number of ids to return.
+	 * @return        a list of ids in ascending order.
+	 */
+	@Query("SELECT d.id FROM AttachmentDataEntity d WHERE d.storageKey IS NULL AND d.file IS NOT NULL AND d.id > :lastId ORDER BY d.id")
+	List<Integer> findIdsWithContentInDatabase(@Param("lastId") int lastId, Limit limit);
+
+	/**
+	 * Point the content at bytes that have been copied out of the database, and drop the bytes from the database.
+	 *
+	 * @return the number of updated rows, i.e. 0 if the content no longer exists or has already been moved.
+	 */
+	@Modifying
+	@Query(value = "UPDATE attachment_data SET storage_key = :storageKey, file = NULL WHERE id = :id AND storage_key IS NULL", nativeQuery = true)
+	int moveContent(@Param("id") int id, @Param("storageKey") String storageKey);
+}
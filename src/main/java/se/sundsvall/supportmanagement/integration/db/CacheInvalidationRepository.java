@@ -0,0 +1,47 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.model.CacheInvalidationEntity;
+
+@CircuitBreaker(name = "cacheInvalidationRepository")
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidationEntity, Long> {
+
+	/**
+	 * Insert an invalidation of the given cache. The insert is committed in a transaction of its own, so that the
+	 * invalidation becomes visible to other nodes right after it has been published.
+	 *
+	 * @param cacheName the name of the cache to invalidate.
+	 * @param created   the point in time of the invalidation.
+	 */
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Query(value = "INSERT INTO cache_invalidation (cache_name, created) VALUES (:cacheName, :created)", nativeQuery = true)
+	void insert(@Param("cacheName") String cacheName, @Param("created") OffsetDateTime created);
+
+	/**
+	 * Find the invalidations published at or after the given point in time, oldest first.
+	 *
+	 * @param  created the point in time from which invalidations are found.
+	 * @return         a list of CacheInvalidationEntity objects ordered by id.
+	 */
+	List<CacheInvalidationEntity> findByCreatedGreaterThanEqualOrderById(OffsetDateTime created);
+
+	/**
+	 * Delete invalidations published before the given point in time.
+	 *
+	 * @param  created the point in time before which invalidations are deleted.
+	 * @return         the number of deleted invalidations.
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from CacheInvalidationEntity c where c.created < :created")
+	int deleteByCreatedBefore(@Param("created") OffsetDateTime created);
+}
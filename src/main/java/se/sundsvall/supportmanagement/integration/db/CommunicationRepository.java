@@ -1,9 +1,13 @@
 package se.sundsvall.supportmanagement.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationExternalReference;
 
 @CircuitBreaker(name = "communicationRepository")
 public interface CommunicationRepository extends JpaRepository<CommunicationEntity, String> {
@@ -13,4 +17,17 @@ public interface CommunicationRepository extends JpaRepository<CommunicationEnti
 	List<CommunicationEntity> findByErrandNumberAndInternal(String errandNumber, boolean isInternal);
 
 	boolean existsByErrandNumberAndExternalId(String errandNumber, String externalId);
+
+	/**
+	 * Finds the errand number and external id of the communications that belong to any of the given errands and have any
+	 * of the given external ids. The two collections are matched independently of each other, hence the caller has to
+	 * match the returned pairs against its own.
+	 */
+	@Query("""
+		select new se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationExternalReference(c.errandNumber, c.externalId)
+		from CommunicationEntity c
+		where c.errandNumber in :errandNumbers
+		and c.externalId in :externalIds
+		""")
+	List<CommunicationExternalReference> findExternalReferences(@Param("errandNumbers") Collection<String> errandNumbers, @Param("externalIds") Collection<String> externalIds);
 }
@@ -0,0 +1,21 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EmailFollowUpEntity;
+
+@CircuitBreaker(name = "emailFollowUpRepository")
+public interface EmailFollowUpRepository extends JpaRepository<EmailFollowUpEntity, String> {
+
+	/**
+	 * Find entries that are due for an attempt, oldest first.
+	 *
+	 * @param  nextAttempt the point in time an entry must be scheduled at or before to be returned.
+	 * @param  pageable    the page size to fetch.
+	 * @return             a list of EmailFollowUpEntity objects ordered by creation time.
+	 */
+	List<EmailFollowUpEntity> findByNextAttemptLessThanEqualOrderByCreated(OffsetDateTime nextAttempt, Pageable pageable);
+}
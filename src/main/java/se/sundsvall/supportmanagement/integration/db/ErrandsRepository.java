@@ -6,11 +6,21 @@ import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 
+import static se.sundsvall.supportmanagement.integration.db.model.ErrandEntity.FETCH_ACCESS_LABELS;
+import static se.sundsvall.supportmanagement.integration.db.model.ErrandEntity.FETCH_CONTACT_REASON_AND_STAKEHOLDERS;
+import static se.sundsvall.supportmanagement.integration.db.model.ErrandEntity.FETCH_SUMMARY;
+
 @CircuitBreaker(name = "errandsRepository")
 public interface ErrandsRepository extends JpaRepository<ErrandEntity, String>, JpaSpecificationExecutor<ErrandEntity> {
 
@@ -28,10 +38,98 @@ public interface ErrandsRepository extends JpaRepository<ErrandEntity, String>,
 
 	Optional<ErrandEntity> findByIdAndNamespaceAndMunicipalityId(String id, String namespace, String municipalityId);
 
-	List<ErrandEntity> findAllBySuspendedToBefore(OffsetDateTime now);
+	/**
+	 * Find a page of errands matching the specification, with the attributes in {@link ErrandEntity#FETCH_SUMMARY}
+	 * fetched in the same query.
+	 *
+	 * @param  specification the specification the errands must match.
+	 * @param  pageable      the page to return.
+	 * @return               a page of matching errands.
+	 */
+	default Page<ErrandEntity> findSummaryPage(final Specification<ErrandEntity> specification, final Pageable pageable) {
+		return findBy(specification, query -> query.project(FETCH_SUMMARY).page(pageable));
+	}
+
+	/**
+	 * Find the errand matching the specification, with the attributes in
+	 * {@link ErrandEntity#FETCH_CONTACT_REASON_AND_STAKEHOLDERS} fetched in the same query.
+	 *
+	 * @param  specification the specification the errand must match.
+	 * @return               the matching errand, or empty if there is none.
+	 */
+	default Optional<ErrandEntity> findOneWithStakeholders(final Specification<ErrandEntity> specification) {
+		// Not limited, as a limit on a query that joins a collection is applied in memory
+		return findBy(specification, query -> query.project(FETCH_CONTACT_REASON_AND_STAKEHOLDERS).all()).stream().findFirst();
+	}
+
+	/**
+	 * Find the errand matching the specification, with the attributes in {@link ErrandEntity#FETCH_ACCESS_LABELS} fetched
+	 * in the same query.
+	 *
+	 * @param  specification the specification the errand must match.
+	 * @return               the matching errand, or empty if there is none.
+	 */
+	default Optional<ErrandEntity> findOneWithAccessLabels(final Specification<ErrandEntity> specification) {
+		// Not limited, as a limit on a query that joins a collection is applied in memory
+		return findBy(specification, query -> query.project(FETCH_ACCESS_LABELS).all()).stream().findFirst();
+	}
+
+	/**
+	 * Find the ids of errands with the given status whose suspension has expired and whose expiry has not yet been
+	 * handled, the earliest expiry first. Only the index on status, processed marker and suspension end is read.
+	 *
+	 * @param  status   the status of a suspended errand.
+	 * @param  now      the point in time at which the suspensions are to have expired.
+	 * @param  pageable the maximum number of ids to return.
+	 * @return          the ids of the matching errands.
+	 */
+	@Query("""
+		select e.id from ErrandEntity e
+		where e.status = :status
+		and e.suspensionExpiryProcessed = false
+		and e.suspendedTo < :now
+		order by e.suspendedTo, e.id
+		""")
+	List<String> findIdsWithUnprocessedSuspensionExpiry(@Param("status") String status, @Param("now") OffsetDateTime now, Pageable pageable);
+
+	/**
+	 * Mark the suspension expiry of the given errands as handled. The errands are updated directly in the database, hence
+	 * neither their version nor their modification time is changed. Only errands that still match the conditions of
+	 * {@link #findIdsWithUnprocessedSuspensionExpiry} are marked, so an errand that has been suspended anew since it was
+	 * read keeps the expiry of its new suspension unhandled.
+	 *
+	 * @param  ids    the ids of the errands.
+	 * @param  status the status of a suspended errand.
+	 * @param  now    the point in time at which the suspensions are to have expired.
+	 * @return        the number of updated errands.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+		update ErrandEntity e set e.suspensionExpiryProcessed = true
+		where e.id in :ids
+		and e.status = :status
+		and e.suspensionExpiryProcessed = false
+		and e.suspendedTo < :now
+		""")
+	int markSuspensionExpiryProcessed(@Param("ids") Collection<String> ids, @Param("status") String status, @Param("now") OffsetDateTime now);
 
 	boolean existsByLabelsMetadataLabelIdIn(Collection<String> labelIds);
 
 	boolean existsByPhasesPhaseEntityId(String phaseId);
 
+	/**
+	 * Find the id of the errand that has both of the given external tags. Only the external tag table is read, one index
+	 * probe per tag.
+	 *
+	 * @param  firstKey    the key of the first tag.
+	 * @param  firstValue  the value of the first tag.
+	 * @param  secondKey   the key of the second tag.
+	 * @param  secondValue the value of the second tag.
+	 * @return             the id of the matching errand, or empty if there is none.
+	 */
+	@Query(value = "SELECT t1.errand_id FROM external_tag t1 " +
+		"JOIN external_tag t2 ON t2.errand_id = t1.errand_id AND t2.`key` = :secondKey AND t2.`value` = :secondValue " +
+		"WHERE t1.`key` = :firstKey AND t1.`value` = :firstValue", nativeQuery = true)
+	Optional<String> findIdByExternalTags(@Param("firstKey") String firstKey, @Param("firstValue") String firstValue, @Param("secondKey") String secondKey, @Param("secondValue") String secondValue);
+
 }
@@ -0,0 +1,53 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+
+@CircuitBreaker(name = "notificationDeliveryRepository")
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDeliveryEntity, String> {
+
+	/**
+	 * Find entries that are due for a delivery attempt, oldest first.
+	 *
+	 * @param  nextAttempt the point in time an entry must be scheduled at or before to be returned.
+	 * @param  pageable    the page size to fetch.
+	 * @return             a list of NotificationDeliveryEntity objects ordered by creation time.
+	 */
+	List<NotificationDeliveryEntity> findByNextAttemptLessThanEqualOrderByCreated(OffsetDateTime nextAttempt, Pageable pageable);
+
+	/**
+	 * Find every entry waiting to be sent to a recipient, whether due or not, oldest first.
+	 *
+	 * @param  municipalityId the municipality the entries belong to.
+	 * @param  channelType    the channel the entries are sent on.
+	 * @param  destination    the phone number or email address the entries are sent to.
+	 * @return                a list of NotificationDeliveryEntity objects ordered by creation time.
+	 */
+	List<NotificationDeliveryEntity> findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(String municipalityId, NotificationChannelType channelType, String destination);
+
+	/**
+	 * Counts the entries waiting to be sent on a channel.
+	 *
+	 * @param  channelType the channel to count the entries of.
+	 * @return             the number of entries.
+	 */
+	long countByChannelType(NotificationChannelType channelType);
+
+	/**
+	 * Deletes the entries of a digest.
+	 *
+	 * @param  digestKey the key of the digest.
+	 * @return           the number of deleted entries.
+	 */
+	@Modifying
+	@Query("DELETE FROM NotificationDeliveryEntity d WHERE d.digestKey = :digestKey")
+	int deleteByDigestKey(@Param("digestKey") String digestKey);
+}
@@ -1,10 +1,17 @@
 package se.sundsvall.supportmanagement.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
 
@@ -12,19 +19,94 @@ import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchE
 public interface NotificationDispatchRepository extends JpaRepository<NotificationDispatchEntity, String> {
 
 	/**
-	 * Finds all entries except those belonging to a request group that may still be growing: a group is held back until
-	 * nothing has been added to it since {@code transactionBufferCutoff}. An entry without a request group has no
-	 * siblings to wait for and is returned immediately.
+	 * The lock timeout that makes a locking query skip rows locked by other transactions instead of waiting for them.
 	 */
+	String SKIP_LOCKED = "-2";
+
+	/**
+	 * Finds entries that may be claimed, oldest first, locking them and skipping those already locked by another
+	 * transaction. Entries of an errand that has entries under an unexpired lease are left out, since the errand is being
+	 * dispatched by another worker. So are the entries of a request group that may still be growing: a group is held back
+	 * until nothing has been added to it since {@code transactionBufferCutoff}. An entry without a request group has no
+	 * siblings to wait for.
+	 *
+	 * @param  now                     the point in time leases are compared with.
+	 * @param  transactionBufferCutoff the point in time a request group must have been quiet since.
+	 * @param  pageable                the maximum number of entries to find.
+	 * @return                         the claimable entries, oldest first.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
 	@Query("""
 		SELECT d FROM NotificationDispatchEntity d
-		WHERE d.requestGroupId IS NULL
-		OR d.requestGroupId IN (
-		    SELECT d2.requestGroupId FROM NotificationDispatchEntity d2
-		    GROUP BY d2.requestGroupId
-		    HAVING MAX(d2.created) < :transactionBufferCutoff
+		WHERE d.errandId NOT IN (
+		    SELECT d2.errandId FROM NotificationDispatchEntity d2
+		    WHERE d2.leaseUntil >= :now
 		)
-		ORDER BY d.errandId, d.requestGroupId
+		AND (d.requestGroupId IS NULL OR NOT EXISTS (
+		    SELECT d3 FROM NotificationDispatchEntity d3
+		    WHERE d3.requestGroupId = d.requestGroupId
+		    AND d3.created >= :transactionBufferCutoff
+		))
+		ORDER BY d.created
 		""")
-	List<NotificationDispatchEntity> findProcessable(@Param("transactionBufferCutoff") OffsetDateTime transactionBufferCutoff);
+	List<NotificationDispatchEntity> findClaimable(@Param("now") OffsetDateTime now, @Param("transactionBufferCutoff") OffsetDateTime transactionBufferCutoff, Pageable pageable);
+
+	/**
+	 * Claims every entry of the given errands that is not under an unexpired lease, except those of request groups that
+	 * may still be growing. Rows already locked by another claim are waited for, and are then left out if that claim was
+	 * committed, so that an errand is never dispatched by two workers at the same time.
+	 *
+	 * @param  errandIds               the errands to claim the entries of.
+	 * @param  claimedBy               the identifier of the claim.
+	 * @param  leaseUntil              the point in time the claim expires.
+	 * @param  now                     the point in time leases are compared with.
+	 * @param  transactionBufferCutoff the point in time a request group must have been quiet since.
+	 * @return                         the number of claimed entries.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("""
+		UPDATE NotificationDispatchEntity d SET d.claimedBy = :claimedBy, d.leaseUntil = :leaseUntil
+		WHERE d.errandId IN :errandIds
+		AND (d.leaseUntil IS NULL OR d.leaseUntil < :now)
+		AND (d.requestGroupId IS NULL OR NOT EXISTS (
+		    SELECT d3 FROM NotificationDispatchEntity d3
+		    WHERE d3.requestGroupId = d.requestGroupId
+		    AND d3.created >= :transactionBufferCutoff
+		))
+		""")
+	int claim(@Param("errandIds") Collection<String> errandIds, @Param("claimedBy") String claimedBy, @Param("leaseUntil") OffsetDateTime leaseUntil,
+		@Param("now") OffsetDateTime now, @Param("transactionBufferCutoff") OffsetDateTime transactionBufferCutoff);
+
+	/**
+	 * Finds the entries of a claim, ordered by errand and request group.
+	 *
+	 * @param  claimedBy the identifier of the claim.
+	 * @return           the entries of the claim.
+	 */
+	List<NotificationDispatchEntity> findByClaimedByOrderByErrandIdAscRequestGroupIdAsc(String claimedBy);
+
+	/**
+	 * Deletes entries that are still held by the given claim. An entry whose lease has expired and that has been claimed
+	 * by another worker since is left in place.
+	 *
+	 * @param  ids       the ids of the entries to delete.
+	 * @param  claimedBy the identifier of the claim.
+	 * @return           the number of deleted entries.
+	 */
+	@Modifying
+	@Query("DELETE FROM NotificationDispatchEntity d WHERE d.id IN :ids AND d.claimedBy = :claimedBy")
+	int deleteClaimed(@Param("ids") Collection<String> ids, @Param("claimedBy") String claimedBy);
+
+	/**
+	 * Sets the Eventlog id of an entry. Entries are deleted once dispatched, so a missing entry is not an error and simply
+	 * leaves nothing to update.
+	 *
+	 * @param  id      the id of the entry to update.
+	 * @param  eventId the id of the corresponding Eventlog event.
+	 * @return         the number of updated entries.
+	 */
+	@Modifying
+	@Query("UPDATE NotificationDispatchEntity d SET d.eventId = :eventId WHERE d.id = :id")
+	int updateEventId(@Param("id") String id, @Param("eventId") String eventId);
 }
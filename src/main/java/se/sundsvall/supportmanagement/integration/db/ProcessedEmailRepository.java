@@ -0,0 +1,30 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.model.ProcessedEmailEntity;
+
+@CircuitBreaker(name = "processedEmailRepository")
+public interface ProcessedEmailRepository extends JpaRepository<ProcessedEmailEntity, String> {
+
+	/**
+	 * Check if an email has been stored and may still be in its mailbox.
+	 *
+	 * @param  municipalityId the municipality id of the mailbox.
+	 * @param  namespace      the namespace of the mailbox.
+	 * @param  emailId        the id of the email in the mailbox.
+	 * @return                true if the email has been stored, false otherwise.
+	 */
+	boolean existsByMunicipalityIdAndNamespaceAndEmailId(String municipalityId, String namespace, String emailId);
+
+	/**
+	 * Remove the entry of an email, e.g. once it has been deleted from its mailbox.
+	 *
+	 * @param municipalityId the municipality id of the mailbox.
+	 * @param namespace      the namespace of the mailbox.
+	 * @param emailId        the id of the email in the mailbox.
+	 */
+	@Transactional
+	void deleteByMunicipalityIdAndNamespaceAndEmailId(String municipalityId, String namespace, String emailId);
+}
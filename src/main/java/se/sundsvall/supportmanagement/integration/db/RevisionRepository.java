@@ -3,8 +3,12 @@ package se.sundsvall.supportmanagement.integration.db;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.supportmanagement.integration.db.model.RevisionEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType;
 
 @CircuitBreaker(name = "revisionRepository")
 public interface RevisionRepository extends JpaRepository<RevisionEntity, String> {
@@ -33,4 +37,43 @@ public interface RevisionRepository extends JpaRepository<RevisionEntity, String
 	 * @return          a list of RevisionEntity objects.
 	 */
 	List<RevisionEntity> findAllByNamespaceAndMunicipalityIdAndEntityIdOrderByVersion(String namespace, String municipalityId, String entityId);
+
+	/**
+	 * Find the closest revision at or below the provided version having the provided snapshot type. Used to locate the
+	 * keyframe (full snapshot) that a delta revision is replayed from.
+	 *
+	 * @param  entityId     the id for the errand entity to find the revision for.
+	 * @param  version      the highest version to consider.
+	 * @param  snapshotType the snapshot type to match.
+	 * @return              an optional entity that matches the provided parameters.
+	 */
+	Optional<RevisionEntity> findFirstByNamespaceAndMunicipalityIdAndEntityIdAndVersionLessThanEqualAndSnapshotTypeOrderByVersionDesc(String namespace, String municipalityId, String entityId, int version, SnapshotType snapshotType);
+
+	/**
+	 * Find all revisions for an errand entity within a version range (both ends inclusive).
+	 *
+	 * @param  entityId    the id for the errand entity to find revisions for.
+	 * @param  fromVersion the lowest version to include.
+	 * @param  toVersion   the highest version to include.
+	 * @return             a list of RevisionEntity objects ordered by version.
+	 */
+	List<RevisionEntity> findAllByNamespaceAndMunicipalityIdAndEntityIdAndVersionBetweenOrderByVersion(String namespace, String municipalityId, String entityId, int fromVersion, int toVersion);
+
+	/**
+	 * Find ids of full snapshot revisions that are not keyframes and hence can be converted to deltas. Ids are returned in
+	 * ascending order after the provided id, so a caller can walk past revisions that could not be converted.
+	 *
+	 * @param  keyframeInterval a revision whose version is evenly divisible by this value is a keyframe, at least 1.
+	 * @param  lastId           the id to continue after.
+	 * @param  pageable         the page size to fetch.
+	 * @return                  a list of revision ids.
+	 */
+	@Query("""
+		SELECT r.id FROM RevisionEntity r
+		WHERE r.snapshotType = FULL
+		AND MOD(r.version, :keyframeInterval) <> 0
+		AND r.id > :lastId
+		ORDER BY r.id
+		""")
+	List<String> findIdsConvertibleToDelta(@Param("keyframeInterval") int keyframeInterval, @Param("lastId") String lastId, Pageable pageable);
 }
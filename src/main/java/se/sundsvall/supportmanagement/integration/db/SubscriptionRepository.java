@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscriptionTargetType;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberErrandPair;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberSubscriptionCount;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
 
@@ -36,9 +37,24 @@ public interface SubscriptionRepository extends JpaRepository<SubscriptionEntity
 	List<SubscriberSubscriptionCount> countBySubscriberIdIn(@Param("subscriberIds") Collection<String> subscriberIds);
 
 	/**
-	 * Finds every subscription that covers the given errand and is currently able to receive notifications: subscriptions
-	 * targeting the whole namespace or that specific errand, that have not expired, and whose subscriber is not within a
-	 * pause window.
+	 * Finds which of the given subscribers subscribe to which of the given errands, i.e. the existing errand subscriptions
+	 * among every combination of the subscribers and errands.
+	 */
+	@Query("""
+		select new se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberErrandPair(s.subscriber.id, s.errand.id)
+		from SubscriptionEntity s
+		where s.targetType = ERRAND
+		and s.subscriber.id in :subscriberIds
+		and s.errand.id in :errandIds
+		""")
+	List<SubscriberErrandPair> findErrandSubscriptions(
+		@Param("subscriberIds") Collection<String> subscriberIds,
+		@Param("errandIds") Collection<String> errandIds);
+
+	/**
+	 * Finds every subscription targeting the given errand that is currently able to receive notifications: subscriptions
+	 * that have not expired, and whose subscriber is not within a pause window. Subscriptions targeting the whole namespace
+	 * are held by the namespace subscription index instead.
 	 * <p>
 	 * Event filters are deliberately not applied here, since they are evaluated per dispatched event rather than per
 	 * errand.
@@ -52,7 +68,7 @@ public interface SubscriptionRepository extends JpaRepository<SubscriptionEntity
 		and (sub.pausedFrom is null
 		     or :now < sub.pausedFrom
 		     or (sub.pausedUntil is not null and :now >= sub.pausedUntil))
-		and (s.targetType = NAMESPACE or (s.targetType = ERRAND and s.errand.id = :errandId))
+		and s.targetType = ERRAND and s.errand.id = :errandId
 		order by sub.id
 		""")
 	List<SubscriptionEntity> findAllActiveForErrand(
@@ -60,4 +76,20 @@ public interface SubscriptionRepository extends JpaRepository<SubscriptionEntity
 		@Param("namespace") String namespace,
 		@Param("errandId") String errandId,
 		@Param("now") OffsetDateTime now);
+
+	/**
+	 * Finds every subscription targeting the whole namespace, regardless of expiry and pause windows, with the subscriber
+	 * fetched along with it.
+	 */
+	@Query("""
+		select s from SubscriptionEntity s
+		join fetch s.subscriber sub
+		where sub.municipalityId = :municipalityId
+		and sub.namespace = :namespace
+		and s.targetType = NAMESPACE
+		order by sub.id
+		""")
+	List<SubscriptionEntity> findAllNamespaceTargets(
+		@Param("municipalityId") String municipalityId,
+		@Param("namespace") String namespace);
 }
@@ -0,0 +1,126 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A distinct combination of access labels. Errands carrying the same access labels share one access set, referenced
+ * through {@link ErrandEntity#getAccessSetKey()}, so access control can be evaluated once per combination instead of
+ * once per errand.
+ */
+@Entity
+@Table(name = "access_set",
+	indexes = @Index(name = "idx_access_set_municipality_id_namespace", columnList = "municipality_id,namespace"))
+public class AccessSetEntity {
+
+	@Id
+	@Column(name = "id", length = 64)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "namespace", nullable = false, length = 32)
+	private String namespace;
+
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "access_set_label", joinColumns = @JoinColumn(name = "access_set_id", referencedColumnName = "id", foreignKey = @ForeignKey(name = "fk_access_set_label_access_set_id")))
+	@Column(name = "metadata_label_id", nullable = false)
+	private Set<String> metadataLabelIds;
+
+	public static AccessSetEntity create() {
+		return new AccessSetEntity();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public AccessSetEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public AccessSetEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public AccessSetEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public Set<String> getMetadataLabelIds() {
+		return metadataLabelIds;
+	}
+
+	public void setMetadataLabelIds(final Set<String> metadataLabelIds) {
+		this.metadataLabelIds = metadataLabelIds;
+	}
+
+	public AccessSetEntity withMetadataLabelIds(final Set<String> metadataLabelIds) {
+		this.metadataLabelIds = metadataLabelIds;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, namespace, metadataLabelIds);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final AccessSetEntity other = (AccessSetEntity) obj;
+		return Objects.equals(id, other.id)
+			&& Objects.equals(municipalityId, other.municipalityId)
+			&& Objects.equals(namespace, other.namespace)
+			&& Objects.equals(metadataLabelIds, other.metadataLabelIds);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessSetEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", metadataLabelIds=" + metadataLabelIds +
+			'}';
+	}
+}
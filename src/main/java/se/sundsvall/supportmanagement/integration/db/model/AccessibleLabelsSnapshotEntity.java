@@ -0,0 +1,137 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TimeZoneStorage;
+
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.type.SqlTypes.LONG32VARCHAR;
+
+/**
+ * The labels a user was found to have access to, shared between all nodes. The id is derived from the user and the
+ * requested access levels, the label ids are stored joined by commas.
+ */
+@Entity
+@Table(name = "accessible_labels_snapshot",
+	indexes = @Index(name = "idx_accessible_labels_snapshot_namespace_municipality_id", columnList = "namespace,municipality_id"))
+public class AccessibleLabelsSnapshotEntity {
+
+	@Id
+	@Column(name = "id", length = 64)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "namespace", nullable = false, length = 32)
+	private String namespace;
+
+	@JdbcTypeCode(LONG32VARCHAR)
+	@Column(name = "label_ids", nullable = false, columnDefinition = "longtext")
+	private String labelIds;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static AccessibleLabelsSnapshotEntity create() {
+		return new AccessibleLabelsSnapshotEntity();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public AccessibleLabelsSnapshotEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public AccessibleLabelsSnapshotEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public AccessibleLabelsSnapshotEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public String getLabelIds() {
+		return labelIds;
+	}
+
+	public void setLabelIds(final String labelIds) {
+		this.labelIds = labelIds;
+	}
+
+	public AccessibleLabelsSnapshotEntity withLabelIds(final String labelIds) {
+		this.labelIds = labelIds;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public AccessibleLabelsSnapshotEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		final AccessibleLabelsSnapshotEntity that = (AccessibleLabelsSnapshotEntity) o;
+		return Objects.equals(id, that.id) && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(namespace, that.namespace) && Objects.equals(labelIds, that.labelIds)
+			&& Objects.equals(created, that.created);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, namespace, labelIds, created);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessibleLabelsSnapshotEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", labelIds='" + labelIds + '\'' +
+			", created=" + created +
+			'}';
+	}
+}
@@ -2,17 +2,33 @@ package se.sundsvall.supportmanagement.integration.db.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import java.sql.Blob;
 import java.util.Objects;
+import se.sundsvall.supportmanagement.integration.db.model.listener.AttachmentDataListener;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
 
+/**
+ * Content of one or more attachments. Content is stored once per municipality and SHA-256 hash and shared by every
+ * attachment with identical bytes, the number of attachments referring to the content is kept in the reference count.
+ * The municipality id, hash and reference count are maintained through {@code AttachmentDataRepository} and are hence
+ * never written when the entity is updated, which also keeps Hibernate from rewriting the blob.
+ * <p>
+ * The bytes are kept by the configured {@code BlobStore}, either in the file column or outside of the database, in
+ * which case the storage key identifies them. Either way they are read through {@link #getFile()}.
+ */
 @Entity
-@Table(name = "attachment_data")
+@EntityListeners(AttachmentDataListener.class)
+@Table(name = "attachment_data",
+	indexes = {
+		@Index(name = "idx_attachment_data_municipality_id_hash", columnList = "municipality_id, hash")
+	})
 public class AttachmentDataEntity {
 
 	@Id
@@ -20,10 +36,22 @@ public class AttachmentDataEntity {
 	@Column(name = "id")
 	private int id;
 
-	@Column(name = "file", columnDefinition = "longblob")
+	@Column(name = "file", columnDefinition = "longblob", updatable = false)
 	@Lob
 	private Blob file;
 
+	@Column(name = "municipality_id", length = 8, updatable = false)
+	private String municipalityId;
+
+	@Column(name = "hash", length = 64, updatable = false)
+	private String hash;
+
+	@Column(name = "reference_count", nullable = false, updatable = false)
+	private int referenceCount = 1;
+
+	@Column(name = "storage_key", updatable = false)
+	private String storageKey;
+
 	public static AttachmentDataEntity create() {
 		return new AttachmentDataEntity();
 	}
@@ -54,6 +82,58 @@ public class AttachmentDataEntity {
 		return this;
 	}
 
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public AttachmentDataEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public void setHash(final String hash) {
+		this.hash = hash;
+	}
+
+	public AttachmentDataEntity withHash(final String hash) {
+		this.hash = hash;
+		return this;
+	}
+
+	public int getReferenceCount() {
+		return referenceCount;
+	}
+
+	public void setReferenceCount(final int referenceCount) {
+		this.referenceCount = referenceCount;
+	}
+
+	public AttachmentDataEntity withReferenceCount(final int referenceCount) {
+		this.referenceCount = referenceCount;
+		return this;
+	}
+
+	public String getStorageKey() {
+		return storageKey;
+	}
+
+	public void setStorageKey(final String storageKey) {
+		this.storageKey = storageKey;
+	}
+
+	public AttachmentDataEntity withStorageKey(final String storageKey) {
+		this.storageKey = storageKey;
+		return this;
+	}
+
 	@Override
 	public boolean equals(final Object o) {
 		if (this == o) {
@@ -63,18 +143,22 @@ public class AttachmentDataEntity {
 			return false;
 		}
 		final AttachmentDataEntity that = (AttachmentDataEntity) o;
-		return Objects.equals(id, that.id) && Objects.equals(file, that.file);
+		return Objects.equals(id, that.id) && Objects.equals(file, that.file) && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(hash, that.hash) && referenceCount == that.referenceCount && Objects.equals(storageKey, that.storageKey);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id, file);
+		return Objects.hash(id, file, municipalityId, hash, referenceCount, storageKey);
 	}
 
 	@Override
 	public String toString() {
 		return "AttachmentDataEntity{" + "id='" + id + '\''
 			+ ", file" + file
+			+ ", municipalityId='" + municipalityId + '\''
+			+ ", hash='" + hash + '\''
+			+ ", referenceCount=" + referenceCount
+			+ ", storageKey='" + storageKey + '\''
 			+ '}';
 	}
 }
@@ -11,14 +11,16 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
-import jakarta.persistence.UniqueConstraint;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Objects;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 
-import static jakarta.persistence.CascadeType.ALL;
+import static jakarta.persistence.CascadeType.DETACH;
+import static jakarta.persistence.CascadeType.MERGE;
+import static jakarta.persistence.CascadeType.PERSIST;
+import static jakarta.persistence.CascadeType.REFRESH;
 import static java.time.OffsetDateTime.now;
 import static java.time.temporal.ChronoUnit.MILLIS;
 import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
@@ -28,12 +30,8 @@ import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
 	indexes = {
 		@Index(name = "idx_attachment_file_name", columnList = "file_name"),
 		@Index(name = "idx_attachment_municipality_id", columnList = "municipality_id"),
-		@Index(name = "idx_attachment_namespace", columnList = "namespace")
-	},
-	uniqueConstraints = {
-		@UniqueConstraint(name = "uq_attachment_data_id", columnNames = {
-			"attachment_data_id"
-		})
+		@Index(name = "idx_attachment_namespace", columnList = "namespace"),
+		@Index(name = "idx_attachment_attachment_data_id", columnList = "attachment_data_id")
 	})
 public class AttachmentEntity {
 
@@ -63,7 +61,13 @@ public class AttachmentEntity {
 	@Column(name = "hash", length = 64)
 	private String hash;
 
-	@ManyToOne(fetch = FetchType.LAZY, cascade = ALL)
+	/**
+	 * Attachment data is shared between attachments with identical content and removed through reference counting,
+	 * hence removals are not cascaded.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY, cascade = {
+		PERSIST, MERGE, REFRESH, DETACH
+	})
 	@JoinColumn(name = "attachment_data_id", nullable = false, foreignKey = @ForeignKey(name = "fk_attachment_data_attachment"))
 	private AttachmentDataEntity attachmentData;
 
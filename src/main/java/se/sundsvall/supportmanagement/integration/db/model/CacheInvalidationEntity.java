@@ -0,0 +1,102 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.TimeZoneStorage;
+
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+
+/**
+ * An invalidation of a cache, published by the node that changed the cached data. Every node clears the named cache
+ * when it reads an invalidation it has not seen before.
+ */
+@Entity
+@Table(name = "cache_invalidation",
+	indexes = @Index(name = "idx_cache_invalidation_created", columnList = "created"))
+public class CacheInvalidationEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "cache_name", nullable = false)
+	private String cacheName;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static CacheInvalidationEntity create() {
+		return new CacheInvalidationEntity();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(final Long id) {
+		this.id = id;
+	}
+
+	public CacheInvalidationEntity withId(final Long id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getCacheName() {
+		return cacheName;
+	}
+
+	public void setCacheName(final String cacheName) {
+		this.cacheName = cacheName;
+	}
+
+	public CacheInvalidationEntity withCacheName(final String cacheName) {
+		this.cacheName = cacheName;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public CacheInvalidationEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		final CacheInvalidationEntity that = (CacheInvalidationEntity) o;
+		return Objects.equals(id, that.id) && Objects.equals(cacheName, that.cacheName) && Objects.equals(created, that.created);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, cacheName, created);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheInvalidationEntity{" +
+			"id=" + id +
+			", cacheName='" + cacheName + '\'' +
+			", created=" + created +
+			'}';
+	}
+}
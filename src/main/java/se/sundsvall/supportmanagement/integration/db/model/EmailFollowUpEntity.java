@@ -0,0 +1,256 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TimeZoneStorage;
+import org.hibernate.annotations.UuidGenerator;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.type.SqlTypes.LONG32VARCHAR;
+
+/**
+ * Remote work that is left to do for an email once it has been stored, i.e. removing it from the mailbox and sending
+ * the confirmation. There is at most one entry per email and type.
+ */
+@Entity
+@Table(name = "email_follow_up",
+	indexes = @Index(name = "idx_email_follow_up_next_attempt", columnList = "next_attempt"),
+	uniqueConstraints = @UniqueConstraint(name = "uq_email_follow_up_email_id_type", columnNames = {
+		"municipality_id", "namespace", "email_id", "type"
+	}))
+public class EmailFollowUpEntity {
+
+	@Id
+	@UuidGenerator
+	@Column(name = "id", length = 36)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "namespace", nullable = false, length = 32)
+	private String namespace;
+
+	@Column(name = "email_id", nullable = false)
+	private String emailId;
+
+	@Column(name = "errand_id", length = 36)
+	private String errandId;
+
+	@Column(name = "type", nullable = false)
+	@Enumerated(EnumType.STRING)
+	private EmailFollowUpType type;
+
+	@JdbcTypeCode(LONG32VARCHAR)
+	@Column(name = "payload", columnDefinition = "longtext")
+	private String payload;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime nextAttempt;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static EmailFollowUpEntity create() {
+		return new EmailFollowUpEntity();
+	}
+
+	@PrePersist
+	void onCreate() {
+		created = now(systemDefault()).truncatedTo(MILLIS);
+		if (nextAttempt == null) {
+			nextAttempt = created;
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public EmailFollowUpEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public EmailFollowUpEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public EmailFollowUpEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public String getEmailId() {
+		return emailId;
+	}
+
+	public void setEmailId(final String emailId) {
+		this.emailId = emailId;
+	}
+
+	public EmailFollowUpEntity withEmailId(final String emailId) {
+		this.emailId = emailId;
+		return this;
+	}
+
+	public String getErrandId() {
+		return errandId;
+	}
+
+	public void setErrandId(final String errandId) {
+		this.errandId = errandId;
+	}
+
+	public EmailFollowUpEntity withErrandId(final String errandId) {
+		this.errandId = errandId;
+		return this;
+	}
+
+	public EmailFollowUpType getType() {
+		return type;
+	}
+
+	public void setType(final EmailFollowUpType type) {
+		this.type = type;
+	}
+
+	public EmailFollowUpEntity withType(final EmailFollowUpType type) {
+		this.type = type;
+		return this;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(final String payload) {
+		this.payload = payload;
+	}
+
+	public EmailFollowUpEntity withPayload(final String payload) {
+		this.payload = payload;
+		return this;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(final int attempts) {
+		this.attempts = attempts;
+	}
+
+	public EmailFollowUpEntity withAttempts(final int attempts) {
+		this.attempts = attempts;
+		return this;
+	}
+
+	public OffsetDateTime getNextAttempt() {
+		return nextAttempt;
+	}
+
+	public void setNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+	}
+
+	public EmailFollowUpEntity withNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public EmailFollowUpEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, namespace, emailId, errandId, type, payload, attempts, nextAttempt, created);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final EmailFollowUpEntity other = (EmailFollowUpEntity) obj;
+		return Objects.equals(id, other.id)
+			&& Objects.equals(municipalityId, other.municipalityId)
+			&& Objects.equals(namespace, other.namespace)
+			&& Objects.equals(emailId, other.emailId)
+			&& Objects.equals(errandId, other.errandId)
+			&& type == other.type
+			&& Objects.equals(payload, other.payload)
+			&& attempts == other.attempts
+			&& Objects.equals(nextAttempt, other.nextAttempt)
+			&& Objects.equals(created, other.created);
+	}
+
+	@Override
+	public String toString() {
+		return "EmailFollowUpEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", emailId='" + emailId + '\'' +
+			", errandId='" + errandId + '\'' +
+			", type=" + type +
+			", payload='" + payload + '\'' +
+			", attempts=" + attempts +
+			", nextAttempt=" + nextAttempt +
+			", created=" + created +
+			'}';
+	}
+}
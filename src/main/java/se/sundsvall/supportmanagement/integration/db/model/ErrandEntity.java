@@ -19,6 +19,7 @@ import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 import se.sundsvall.supportmanagement.integration.db.model.listener.ErrandListener;
@@ -41,12 +42,13 @@ import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
 		@Index(name = "idx_errand_municipality_id_namespace_reporter_user_id", columnList = "municipality_id,namespace,reporter_user_id"),
 		@Index(name = "idx_errand_errand_number", columnList = "errand_number"),
 		@Index(name = "idx_errand_municipality_id_namespace_status_created", columnList = "municipality_id,namespace,status,created"),
-		@Index(name = "idx_errand_suspended_to", columnList = "suspended_to"),
+		@Index(name = "idx_errand_status_suspension_expiry_processed_suspended_to", columnList = "status,suspension_expiry_processed,suspended_to"),
 		@Index(name = "idx_errand_channel", columnList = "channel"),
 		@Index(name = "idx_errand_municipality_id_namespace_status_touched", columnList = "municipality_id,namespace,status,touched"),
 		@Index(name = "idx_errand_municipality_id_namespace_status_modified", columnList = "municipality_id,namespace,status,modified"),
 		@Index(name = "idx_errand_municipality_id_namespace_created", columnList = "municipality_id,namespace,created"),
-		@Index(name = "idx_errand_municipality_id_namespace_touched", columnList = "municipality_id,namespace,touched")
+		@Index(name = "idx_errand_municipality_id_namespace_touched", columnList = "municipality_id,namespace,touched"),
+		@Index(name = "idx_errand_municipality_id_namespace_access_set_key", columnList = "municipality_id,namespace,access_set_key")
 	},
 	uniqueConstraints = {
 		@UniqueConstraint(name = "uq_errand_number", columnNames = {
@@ -56,6 +58,23 @@ import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
 @EntityListeners(ErrandListener.class)
 public class ErrandEntity {
 
+	/**
+	 * Attributes fetched along with a page of errands. Only to-one associations are joined, as joining collections would
+	 * force in-memory paging. Collections are instead loaded for the whole page through batch fetching.
+	 */
+	public static final List<String> FETCH_SUMMARY = List.of("contactReasonEntity");
+
+	/**
+	 * Attributes fetched along with a single errand that is mapped to the api model. Only one collection can be joined,
+	 * the other collections are batch fetched when mapped.
+	 */
+	public static final List<String> FETCH_CONTACT_REASON_AND_STAKEHOLDERS = List.of("contactReasonEntity", "stakeholders");
+
+	/**
+	 * Attributes fetched along with an errand whose access is checked, for callers that only need the errand itself.
+	 */
+	public static final List<String> FETCH_ACCESS_LABELS = List.of("accessLabels");
+
 	@Id
 	@UuidGenerator
 	@Column(name = "id")
@@ -65,17 +84,19 @@ public class ErrandEntity {
 	@CollectionTable(name = "external_tag",
 		indexes = {
 			@Index(name = "idx_external_tag_errand_id", columnList = "errand_id"),
-			@Index(name = "idx_external_tag_key", columnList = "\"key\""),
+			@Index(name = "idx_external_tag_key_value_errand_id", columnList = "\"key\", \"value\", errand_id"),
 			@Index(name = "idx_external_tag_value", columnList = "\"value\"")
 		},
 		joinColumns = @JoinColumn(name = "errand_id", referencedColumnName = "id", foreignKey = @ForeignKey(name = "fk_errand_external_tag_errand_id")),
 		uniqueConstraints = @UniqueConstraint(name = "uq_external_tag_errand_id_key", columnNames = {
 			"errand_id", "\"key\""
 		}))
+	@BatchSize(size = 100)
 	private List<DbExternalTag> externalTags;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
 	@OrderBy("externalId")
+	@BatchSize(size = 100)
 	private List<StakeholderEntity> stakeholders;
 
 	@ManyToOne
@@ -132,23 +153,29 @@ public class ErrandEntity {
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
 	@OrderBy("key")
+	@BatchSize(size = 100)
 	private List<ParameterEntity> parameters;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
 	@OrderBy("key")
+	@BatchSize(size = 100)
 	private List<JsonParameterEntity> jsonParameters;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
 	@OrderBy("fileName")
+	@BatchSize(size = 100)
 	private List<AttachmentEntity> attachments;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
+	@BatchSize(size = 100)
 	private List<NotificationEntity> notifications;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
+	@BatchSize(size = 100)
 	private List<ErrandActionEntity> actions;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true)
+	@BatchSize(size = 100)
 	private List<ErrandPhaseEntity> phases;
 
 	@Column(name = "suspended_to")
@@ -159,6 +186,12 @@ public class ErrandEntity {
 	@TimeZoneStorage(NORMALIZE)
 	private OffsetDateTime suspendedFrom;
 
+	/**
+	 * Whether the expiry of the current suspension has been handled. Reset whenever the suspension is changed.
+	 */
+	@Column(name = "suspension_expiry_processed", nullable = false, columnDefinition = "bit default 0")
+	private boolean suspensionExpiryProcessed;
+
 	@ElementCollection
 	@CollectionTable(name = "errand_labels",
 		indexes = {
@@ -168,6 +201,7 @@ public class ErrandEntity {
 			@Index(name = "idx_metadata_label_id", columnList = "metadata_label_id")
 		},
 		joinColumns = @JoinColumn(name = "errand_id", referencedColumnName = "id", foreignKey = @ForeignKey(name = "fk_errand_labels_errand_id")))
+	@BatchSize(size = 100)
 	private List<ErrandLabelEmbeddable> labels;
 
 	@ElementCollection
@@ -179,8 +213,12 @@ public class ErrandEntity {
 			@Index(name = "idx_errand_access_labels_metadata_label_id", columnList = "metadata_label_id")
 		},
 		joinColumns = @JoinColumn(name = "errand_id", referencedColumnName = "id", foreignKey = @ForeignKey(name = "fk_errand_access_labels_errand_id")))
+	@BatchSize(size = 100)
 	private List<AccessLabelEmbeddable> accessLabels;
 
+	@Column(name = "access_set_key", length = 64)
+	private String accessSetKey;
+
 	@Column(name = "created")
 	@TimeZoneStorage(NORMALIZE)
 	private OffsetDateTime created;
@@ -207,6 +245,7 @@ public class ErrandEntity {
 	private String previousStatus;
 
 	@OneToMany(mappedBy = "errandEntity", cascade = ALL, orphanRemoval = true, fetch = EAGER)
+	@BatchSize(size = 100)
 	private List<TimeMeasurementEntity> timeMeasures;
 
 	public static ErrandEntity create() {
@@ -538,6 +577,19 @@ public class ErrandEntity {
 		return this;
 	}
 
+	public String getAccessSetKey() {
+		return accessSetKey;
+	}
+
+	public void setAccessSetKey(final String accessSetKey) {
+		this.accessSetKey = accessSetKey;
+	}
+
+	public ErrandEntity withAccessSetKey(final String accessSetKey) {
+		this.accessSetKey = accessSetKey;
+		return this;
+	}
+
 	public OffsetDateTime getCreated() {
 		return created;
 	}
@@ -675,6 +727,19 @@ public class ErrandEntity {
 		return this;
 	}
 
+	public boolean isSuspensionExpiryProcessed() {
+		return suspensionExpiryProcessed;
+	}
+
+	public void setSuspensionExpiryProcessed(final boolean suspensionExpiryProcessed) {
+		this.suspensionExpiryProcessed = suspensionExpiryProcessed;
+	}
+
+	public ErrandEntity withSuspensionExpiryProcessed(final boolean suspensionExpiryProcessed) {
+		this.suspensionExpiryProcessed = suspensionExpiryProcessed;
+		return this;
+	}
+
 	public String getTempPreviousStatus() {
 		return tempPreviousStatus;
 	}
@@ -729,7 +794,7 @@ public class ErrandEntity {
 			&& Objects.equals(priority, that.priority) && Objects.equals(reporterUserId, that.reporterUserId) && Objects.equals(assignedUserId, that.assignedUserId) && Objects.equals(assignedGroupId, that.assignedGroupId) && Objects.equals(escalationEmail,
 				that.escalationEmail) && Objects.equals(parameters, that.parameters) && Objects.equals(jsonParameters, that.jsonParameters) && Objects.equals(attachments, that.attachments) && Objects.equals(notifications, that.notifications) && Objects
 					.equals(actions, that.actions) && Objects.equals(phases, that.phases) && Objects.equals(suspendedTo, that.suspendedTo) && Objects.equals(
-						suspendedFrom, that.suspendedFrom) && Objects.equals(labels, that.labels) && Objects.equals(accessLabels, that.accessLabels) && Objects.equals(created, that.created) && Objects.equals(modified, that.modified) && Objects.equals(
+						suspendedFrom, that.suspendedFrom) && (suspensionExpiryProcessed == that.suspensionExpiryProcessed) && Objects.equals(labels, that.labels) && Objects.equals(accessLabels, that.accessLabels) && Objects.equals(accessSetKey, that.accessSetKey) && Objects.equals(created, that.created) && Objects.equals(modified, that.modified) && Objects.equals(
 							touched, that.touched) && Objects.equals(errandNumber,
 								that.errandNumber) && Objects.equals(tempPreviousStatus, that.tempPreviousStatus) && Objects.equals(previousStatus, that.previousStatus) && Objects.equals(timeMeasures, that.timeMeasures);
 	}
@@ -737,7 +802,7 @@ public class ErrandEntity {
 	@Override
 	public int hashCode() {
 		return Objects.hash(id, externalTags, stakeholders, contactReasonEntity, contactReasonDescription, businessRelated, municipalityId, namespace, title, category, type, status, resolution, description, channel, priority, reporterUserId,
-			assignedUserId, assignedGroupId, escalationEmail, parameters, jsonParameters, attachments, notifications, actions, phases, suspendedTo, suspendedFrom, labels, accessLabels, created, modified, touched, errandNumber, tempPreviousStatus,
+			assignedUserId, assignedGroupId, escalationEmail, parameters, jsonParameters, attachments, notifications, actions, phases, suspendedTo, suspendedFrom, suspensionExpiryProcessed, labels, accessLabels, accessSetKey, created, modified, touched, errandNumber, tempPreviousStatus,
 			previousStatus,
 			timeMeasures);
 	}
@@ -774,8 +839,10 @@ public class ErrandEntity {
 			", phases=" + phases +
 			", suspendedTo=" + suspendedTo +
 			", suspendedFrom=" + suspendedFrom +
+			", suspensionExpiryProcessed=" + suspensionExpiryProcessed +
 			", labels=" + labels +
 			", accessLabels=" + accessLabels +
+			", accessSetKey='" + accessSetKey + '\'' +
 			", created=" + created +
 			", modified=" + modified +
 			", touched=" + touched +
@@ -0,0 +1,208 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TimeZoneStorage;
+import org.hibernate.annotations.UuidGenerator;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.type.SqlTypes.LONG32VARCHAR;
+
+@Entity
+@Table(name = "eventlog_outbox",
+	indexes = @Index(name = "idx_eventlog_outbox_next_attempt", columnList = "next_attempt"))
+public class EventlogOutboxEntity {
+
+	@Id
+	@UuidGenerator
+	@Column(name = "id", length = 36)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "log_key", nullable = false)
+	private String logKey;
+
+	@Column(name = "notification_dispatch_id", length = 36)
+	private String notificationDispatchId;
+
+	@JdbcTypeCode(LONG32VARCHAR)
+	@Column(name = "payload", nullable = false, columnDefinition = "longtext")
+	private String payload;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime nextAttempt;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static EventlogOutboxEntity create() {
+		return new EventlogOutboxEntity();
+	}
+
+	@PrePersist
+	void onCreate() {
+		created = now(systemDefault()).truncatedTo(MILLIS);
+		if (nextAttempt == null) {
+			nextAttempt = created;
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public EventlogOutboxEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public EventlogOutboxEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getLogKey() {
+		return logKey;
+	}
+
+	public void setLogKey(final String logKey) {
+		this.logKey = logKey;
+	}
+
+	public EventlogOutboxEntity withLogKey(final String logKey) {
+		this.logKey = logKey;
+		return this;
+	}
+
+	public String getNotificationDispatchId() {
+		return notificationDispatchId;
+	}
+
+	public void setNotificationDispatchId(final String notificationDispatchId) {
+		this.notificationDispatchId = notificationDispatchId;
+	}
+
+	public EventlogOutboxEntity withNotificationDispatchId(final String notificationDispatchId) {
+		this.notificationDispatchId = notificationDispatchId;
+		return this;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(final String payload) {
+		this.payload = payload;
+	}
+
+	public EventlogOutboxEntity withPayload(final String payload) {
+		this.payload = payload;
+		return this;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(final int attempts) {
+		this.attempts = attempts;
+	}
+
+	public EventlogOutboxEntity withAttempts(final int attempts) {
+		this.attempts = attempts;
+		return this;
+	}
+
+	public OffsetDateTime getNextAttempt() {
+		return nextAttempt;
+	}
+
+	public void setNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+	}
+
+	public EventlogOutboxEntity withNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public EventlogOutboxEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, logKey, notificationDispatchId, payload, attempts, nextAttempt, created);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final EventlogOutboxEntity other = (EventlogOutboxEntity) obj;
+		return Objects.equals(id, other.id)
+			&& Objects.equals(municipalityId, other.municipalityId)
+			&& Objects.equals(logKey, other.logKey)
+			&& Objects.equals(notificationDispatchId, other.notificationDispatchId)
+			&& Objects.equals(payload, other.payload)
+			&& attempts == other.attempts
+			&& Objects.equals(nextAttempt, other.nextAttempt)
+			&& Objects.equals(created, other.created);
+	}
+
+	@Override
+	public String toString() {
+		return "EventlogOutboxEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", logKey='" + logKey + '\'' +
+			", notificationDispatchId='" + notificationDispatchId + '\'' +
+			", payload='" + payload + '\'' +
+			", attempts=" + attempts +
+			", nextAttempt=" + nextAttempt +
+			", created=" + created +
+			'}';
+	}
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.util.StringUtils;
@@ -48,6 +49,7 @@ import static org.springframework.util.StringUtils.hasText;
 			"namespace", "municipality_id", "resource_path"
 		})
 	})
+@BatchSize(size = 100)
 public class MetadataLabelEntity {
 
 	private static final String RESOURCE_PATH_SEPARATOR = "/";
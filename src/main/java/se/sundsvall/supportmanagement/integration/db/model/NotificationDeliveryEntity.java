@@ -0,0 +1,303 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TimeZoneStorage;
+import org.hibernate.annotations.UuidGenerator;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+import static org.hibernate.type.SqlTypes.LONG32VARCHAR;
+
+@Entity
+@Table(name = "notification_delivery",
+	indexes = {
+		@Index(name = "idx_notification_delivery_next_attempt", columnList = "next_attempt"),
+		@Index(name = "idx_notification_delivery_recipient", columnList = "municipality_id, channel_type, destination"),
+		@Index(name = "idx_notification_delivery_digest_key", columnList = "digest_key")
+	})
+public class NotificationDeliveryEntity {
+
+	@Id
+	@UuidGenerator
+	@Column(name = "id", length = 36)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "namespace", nullable = false, length = 32)
+	private String namespace;
+
+	@Column(name = "subscriber_id", nullable = false)
+	private String subscriberId;
+
+	@Column(name = "channel_type", nullable = false, length = 32)
+	private NotificationChannelType channelType;
+
+	@Column(name = "destination", nullable = false)
+	private String destination;
+
+	@Column(name = "errand_id", nullable = false, length = 36)
+	private String errandId;
+
+	@Column(name = "errand_number")
+	private String errandNumber;
+
+	@JdbcTypeCode(LONG32VARCHAR)
+	@Column(name = "content", nullable = false, columnDefinition = "longtext")
+	private String content;
+
+	@Column(name = "digest_key", length = 36)
+	private String digestKey;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime nextAttempt;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static NotificationDeliveryEntity create() {
+		return new NotificationDeliveryEntity();
+	}
+
+	@PrePersist
+	void onCreate() {
+		created = now(systemDefault()).truncatedTo(MILLIS);
+		if (nextAttempt == null) {
+			nextAttempt = created;
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public NotificationDeliveryEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public NotificationDeliveryEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public NotificationDeliveryEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public String getSubscriberId() {
+		return subscriberId;
+	}
+
+	public void setSubscriberId(final String subscriberId) {
+		this.subscriberId = subscriberId;
+	}
+
+	public NotificationDeliveryEntity withSubscriberId(final String subscriberId) {
+		this.subscriberId = subscriberId;
+		return this;
+	}
+
+	public NotificationChannelType getChannelType() {
+		return channelType;
+	}
+
+	public void setChannelType(final NotificationChannelType channelType) {
+		this.channelType = channelType;
+	}
+
+	public NotificationDeliveryEntity withChannelType(final NotificationChannelType channelType) {
+		this.channelType = channelType;
+		return this;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(final String destination) {
+		this.destination = destination;
+	}
+
+	public NotificationDeliveryEntity withDestination(final String destination) {
+		this.destination = destination;
+		return this;
+	}
+
+	public String getErrandId() {
+		return errandId;
+	}
+
+	public void setErrandId(final String errandId) {
+		this.errandId = errandId;
+	}
+
+	public NotificationDeliveryEntity withErrandId(final String errandId) {
+		this.errandId = errandId;
+		return this;
+	}
+
+	public String getErrandNumber() {
+		return errandNumber;
+	}
+
+	public void setErrandNumber(final String errandNumber) {
+		this.errandNumber = errandNumber;
+	}
+
+	public NotificationDeliveryEntity withErrandNumber(final String errandNumber) {
+		this.errandNumber = errandNumber;
+		return this;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public void setContent(final String content) {
+		this.content = content;
+	}
+
+	public NotificationDeliveryEntity withContent(final String content) {
+		this.content = content;
+		return this;
+	}
+
+	public String getDigestKey() {
+		return digestKey;
+	}
+
+	public void setDigestKey(final String digestKey) {
+		this.digestKey = digestKey;
+	}
+
+	public NotificationDeliveryEntity withDigestKey(final String digestKey) {
+		this.digestKey = digestKey;
+		return this;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(final int attempts) {
+		this.attempts = attempts;
+	}
+
+	public NotificationDeliveryEntity withAttempts(final int attempts) {
+		this.attempts = attempts;
+		return this;
+	}
+
+	public OffsetDateTime getNextAttempt() {
+		return nextAttempt;
+	}
+
+	public void setNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+	}
+
+	public NotificationDeliveryEntity withNextAttempt(final OffsetDateTime nextAttempt) {
+		this.nextAttempt = nextAttempt;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public NotificationDeliveryEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, namespace, subscriberId, channelType, destination, errandId, errandNumber, content, digestKey, attempts, nextAttempt, created);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final NotificationDeliveryEntity other = (NotificationDeliveryEntity) obj;
+		return Objects.equals(id, other.id)
+			&& Objects.equals(municipalityId, other.municipalityId)
+			&& Objects.equals(namespace, other.namespace)
+			&& Objects.equals(subscriberId, other.subscriberId)
+			&& channelType == other.channelType
+			&& Objects.equals(destination, other.destination)
+			&& Objects.equals(errandId, other.errandId)
+			&& Objects.equals(errandNumber, other.errandNumber)
+			&& Objects.equals(content, other.content)
+			&& Objects.equals(digestKey, other.digestKey)
+			&& attempts == other.attempts
+			&& Objects.equals(nextAttempt, other.nextAttempt)
+			&& Objects.equals(created, other.created);
+	}
+
+	@Override
+	public String toString() {
+		return "NotificationDeliveryEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", subscriberId='" + subscriberId + '\'' +
+			", channelType=" + channelType +
+			", destination='" + destination + '\'' +
+			", errandId='" + errandId + '\'' +
+			", errandNumber='" + errandNumber + '\'' +
+			", content='" + content + '\'' +
+			", digestKey='" + digestKey + '\'' +
+			", attempts=" + attempts +
+			", nextAttempt=" + nextAttempt +
+			", created=" + created +
+			'}';
+	}
+}
@@ -18,7 +18,11 @@ import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
 
 @Entity
 @Table(name = "notification_dispatch",
-	indexes = @Index(name = "idx_dispatch_errand_id", columnList = "errand_id"))
+	indexes = {
+		@Index(name = "idx_dispatch_errand_id", columnList = "errand_id"),
+		@Index(name = "idx_dispatch_request_group_id_created", columnList = "request_group_id, created"),
+		@Index(name = "idx_dispatch_lease_until", columnList = "lease_until")
+	})
 public class NotificationDispatchEntity {
 
 	@Id
@@ -57,6 +61,13 @@ public class NotificationDispatchEntity {
 	@TimeZoneStorage(NORMALIZE)
 	private OffsetDateTime created;
 
+	@Column(name = "claimed_by", length = 64)
+	private String claimedBy;
+
+	@Column(name = "lease_until", columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime leaseUntil;
+
 	public static NotificationDispatchEntity create() {
 		return new NotificationDispatchEntity();
 	}
@@ -209,9 +220,35 @@ public class NotificationDispatchEntity {
 		return this;
 	}
 
+	public String getClaimedBy() {
+		return claimedBy;
+	}
+
+	public void setClaimedBy(final String claimedBy) {
+		this.claimedBy = claimedBy;
+	}
+
+	public NotificationDispatchEntity withClaimedBy(final String claimedBy) {
+		this.claimedBy = claimedBy;
+		return this;
+	}
+
+	public OffsetDateTime getLeaseUntil() {
+		return leaseUntil;
+	}
+
+	public void setLeaseUntil(final OffsetDateTime leaseUntil) {
+		this.leaseUntil = leaseUntil;
+	}
+
+	public NotificationDispatchEntity withLeaseUntil(final OffsetDateTime leaseUntil) {
+		this.leaseUntil = leaseUntil;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(id, eventId, requestGroupId, errandId, municipalityId, namespace, eventType, description, subType, executingUserId, created);
+		return Objects.hash(id, eventId, requestGroupId, errandId, municipalityId, namespace, eventType, description, subType, executingUserId, created, claimedBy, leaseUntil);
 	}
 
 	@Override
@@ -233,7 +270,9 @@ public class NotificationDispatchEntity {
 			&& Objects.equals(description, other.description)
 			&& Objects.equals(subType, other.subType)
 			&& Objects.equals(executingUserId, other.executingUserId)
-			&& Objects.equals(created, other.created);
+			&& Objects.equals(created, other.created)
+			&& Objects.equals(claimedBy, other.claimedBy)
+			&& Objects.equals(leaseUntil, other.leaseUntil);
 	}
 
 	@Override
@@ -250,6 +289,8 @@ public class NotificationDispatchEntity {
 			", subType='" + subType + '\'' +
 			", executingUserId='" + executingUserId + '\'' +
 			", created=" + created +
+			", claimedBy='" + claimedBy + '\'' +
+			", leaseUntil=" + leaseUntil +
 			'}';
 	}
 }
@@ -14,6 +14,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 
 @Entity
@@ -48,6 +49,7 @@ public class ParameterEntity {
 			foreignKey = @ForeignKey(name = "fk_parameter_values_parameter_id")))
 	@OrderColumn(name = "value_order", nullable = false, columnDefinition = "integer default 0")
 	@Column(name = "value", length = 3000)
+	@BatchSize(size = 100)
 	private List<String> values;
 
 	public static ParameterEntity create() {
@@ -18,6 +18,7 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -38,6 +39,7 @@ import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
 			"namespace", "municipality_id", "name"
 		})
 	})
+@BatchSize(size = 100)
 public class PhaseEntity {
 
 	@Id
@@ -0,0 +1,171 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.TimeZoneStorage;
+import org.hibernate.annotations.UuidGenerator;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.annotations.TimeZoneStorageType.NORMALIZE;
+
+/**
+ * An email that has been stored and may still be in its mailbox. The entry is kept until the email has been deleted
+ * from the mailbox, also when the attempts to delete it have been given up, so that the email is never stored twice.
+ */
+@Entity
+@Table(name = "processed_email",
+	uniqueConstraints = @UniqueConstraint(name = "uq_processed_email_email_id", columnNames = {
+		"municipality_id", "namespace", "email_id"
+	}))
+public class ProcessedEmailEntity {
+
+	@Id
+	@UuidGenerator
+	@Column(name = "id", length = 36)
+	private String id;
+
+	@Column(name = "municipality_id", nullable = false, length = 8)
+	private String municipalityId;
+
+	@Column(name = "namespace", nullable = false, length = 32)
+	private String namespace;
+
+	@Column(name = "email_id", nullable = false)
+	private String emailId;
+
+	@Column(name = "errand_id", length = 36)
+	private String errandId;
+
+	@Column(name = "created", nullable = false, columnDefinition = "datetime(3)")
+	@TimeZoneStorage(NORMALIZE)
+	private OffsetDateTime created;
+
+	public static ProcessedEmailEntity create() {
+		return new ProcessedEmailEntity();
+	}
+
+	@PrePersist
+	void onCreate() {
+		created = now(systemDefault()).truncatedTo(MILLIS);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(final String id) {
+		this.id = id;
+	}
+
+	public ProcessedEmailEntity withId(final String id) {
+		this.id = id;
+		return this;
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public ProcessedEmailEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public ProcessedEmailEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public String getEmailId() {
+		return emailId;
+	}
+
+	public void setEmailId(final String emailId) {
+		this.emailId = emailId;
+	}
+
+	public ProcessedEmailEntity withEmailId(final String emailId) {
+		this.emailId = emailId;
+		return this;
+	}
+
+	public String getErrandId() {
+		return errandId;
+	}
+
+	public void setErrandId(final String errandId) {
+		this.errandId = errandId;
+	}
+
+	public ProcessedEmailEntity withErrandId(final String errandId) {
+		this.errandId = errandId;
+		return this;
+	}
+
+	public OffsetDateTime getCreated() {
+		return created;
+	}
+
+	public void setCreated(final OffsetDateTime created) {
+		this.created = created;
+	}
+
+	public ProcessedEmailEntity withCreated(final OffsetDateTime created) {
+		this.created = created;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, municipalityId, namespace, emailId, errandId, created);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final ProcessedEmailEntity other = (ProcessedEmailEntity) obj;
+		return Objects.equals(id, other.id)
+			&& Objects.equals(municipalityId, other.municipalityId)
+			&& Objects.equals(namespace, other.namespace)
+			&& Objects.equals(emailId, other.emailId)
+			&& Objects.equals(errandId, other.errandId)
+			&& Objects.equals(created, other.created);
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessedEmailEntity{" +
+			"id='" + id + '\'' +
+			", municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", emailId='" + emailId + '\'' +
+			", errandId='" + errandId + '\'' +
+			", created=" + created +
+			'}';
+	}
+}
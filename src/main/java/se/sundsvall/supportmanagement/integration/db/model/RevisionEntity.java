@@ -2,6 +2,8 @@ package se.sundsvall.supportmanagement.integration.db.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
@@ -12,6 +14,7 @@ import java.time.ZoneId;
 import java.util.Objects;
 import org.hibernate.annotations.TimeZoneStorage;
 import org.hibernate.annotations.UuidGenerator;
+import se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType;
 
 import static java.time.OffsetDateTime.now;
 import static java.time.temporal.ChronoUnit.MILLIS;
@@ -56,6 +59,13 @@ public class RevisionEntity {
 	@Column(name = "serialized_snapshot", length = LONG32)
 	private String serializedSnapshot;
 
+	@Column(name = "snapshot_type")
+	@Enumerated(EnumType.STRING)
+	private SnapshotType snapshotType;
+
+	@Column(name = "snapshot_hash", length = 64)
+	private String snapshotHash;
+
 	@Column(name = "created")
 	@TimeZoneStorage(NORMALIZE)
 	private OffsetDateTime created;
@@ -160,6 +170,32 @@ public class RevisionEntity {
 		return this;
 	}
 
+	public SnapshotType getSnapshotType() {
+		return snapshotType;
+	}
+
+	public void setSnapshotType(final SnapshotType snapshotType) {
+		this.snapshotType = snapshotType;
+	}
+
+	public RevisionEntity withSnapshotType(final SnapshotType snapshotType) {
+		this.snapshotType = snapshotType;
+		return this;
+	}
+
+	public String getSnapshotHash() {
+		return snapshotHash;
+	}
+
+	public void setSnapshotHash(final String snapshotHash) {
+		this.snapshotHash = snapshotHash;
+	}
+
+	public RevisionEntity withSnapshotHash(final String snapshotHash) {
+		this.snapshotHash = snapshotHash;
+		return this;
+	}
+
 	public OffsetDateTime getCreated() {
 		return created;
 	}
@@ -181,12 +217,13 @@ public class RevisionEntity {
 			return false;
 		final RevisionEntity that = (RevisionEntity) o;
 		return Objects.equals(id, that.id) && Objects.equals(entityId, that.entityId) && Objects.equals(namespace, that.namespace) && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(entityType, that.entityType) && Objects.equals(
-			version, that.version) && Objects.equals(serializedSnapshot, that.serializedSnapshot) && Objects.equals(created, that.created);
+			version, that.version) && Objects.equals(serializedSnapshot, that.serializedSnapshot) && snapshotType == that.snapshotType && Objects.equals(snapshotHash, that.snapshotHash)
+			&& Objects.equals(created, that.created);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id, entityId, namespace, municipalityId, entityType, version, serializedSnapshot, created);
+		return Objects.hash(id, entityId, namespace, municipalityId, entityType, version, serializedSnapshot, snapshotType, snapshotHash, created);
 	}
 
 	@Override
@@ -199,6 +236,8 @@ public class RevisionEntity {
 			", entityType='" + entityType + '\'' +
 			", version=" + version +
 			", serializedSnapshot='" + serializedSnapshot + '\'' +
+			", snapshotType=" + snapshotType +
+			", snapshotHash='" + snapshotHash + '\'' +
 			", created=" + created +
 			'}';
 	}
@@ -16,6 +16,7 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.BatchSize;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
 
@@ -82,9 +83,11 @@ public class StakeholderEntity {
 				name = "idx_contact_channel_value",
 				columnList = "value")
 		})
+	@BatchSize(size = 100)
 	private List<ContactChannelEntity> contactChannels;
 
 	@OneToMany(mappedBy = "stakeholderEntity", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 100)
 	private List<StakeholderParameterEntity> parameters;
 
 	public static StakeholderEntity create() {
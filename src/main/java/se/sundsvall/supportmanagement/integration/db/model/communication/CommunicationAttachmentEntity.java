@@ -9,7 +9,6 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
-import jakarta.persistence.UniqueConstraint;
 import java.util.Objects;
 import java.util.Optional;
 import org.hibernate.annotations.UuidGenerator;
@@ -26,12 +25,8 @@ import static jakarta.persistence.FetchType.LAZY;
 	name = "communication_attachment",
 	indexes = {
 		@Index(name = "idx_communication_attachment_municipality_id", columnList = "municipality_id"),
-		@Index(name = "idx_communication_attachment_namespace", columnList = "namespace")
-	},
-	uniqueConstraints = {
-		@UniqueConstraint(name = "uq_attachment_data_id", columnNames = {
-			"attachment_data_id"
-		})
+		@Index(name = "idx_communication_attachment_namespace", columnList = "namespace"),
+		@Index(name = "idx_communication_attachment_attachment_data_id", columnList = "attachment_data_id")
 	})
 public class CommunicationAttachmentEntity {
 
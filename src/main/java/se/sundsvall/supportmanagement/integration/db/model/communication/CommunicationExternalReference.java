@@ -0,0 +1,4 @@
+package se.sundsvall.supportmanagement.integration.db.model.communication;
+
+public record CommunicationExternalReference(String errandNumber, String externalId) {
+}
@@ -0,0 +1,5 @@
+package se.sundsvall.supportmanagement.integration.db.model.enums;
+
+public enum SnapshotType {
+	FULL, DELTA
+}
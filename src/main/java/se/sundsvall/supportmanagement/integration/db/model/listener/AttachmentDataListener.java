@@ -0,0 +1,44 @@
+package se.sundsvall.supportmanagement.integration.db.model.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.springframework.beans.factory.ObjectProvider;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.blobstore.DatabaseBlobStore;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+/**
+ * Hands the bytes of attachment content to the configured blob store when the content is inserted, and attaches them
+ * again when it is loaded. Contexts without a blob store, such as repository slice tests, keep the bytes in the
+ * database.
+ */
+public class AttachmentDataListener {
+
+	private final ObjectProvider<BlobStore> blobStoreProvider;
+
+	public AttachmentDataListener(final ObjectProvider<BlobStore> blobStoreProvider) {
+		this.blobStoreProvider = blobStoreProvider;
+	}
+
+	@PrePersist
+	void onCreate(final AttachmentDataEntity attachmentData) {
+		try {
+			blobStore().write(attachmentData);
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Failed to store attachment content", e);
+		}
+	}
+
+	@PostLoad
+	@PostPersist
+	void onLoad(final AttachmentDataEntity attachmentData) {
+		blobStore().attach(attachmentData);
+	}
+
+	private BlobStore blobStore() {
+		return blobStoreProvider.getIfAvailable(DatabaseBlobStore::new);
+	}
+}
@@ -0,0 +1,4 @@
+package se.sundsvall.supportmanagement.integration.db.model.subscriber;
+
+public record SubscriberErrandPair(String subscriberId, String errandId) {
+}
@@ -17,9 +17,11 @@ public interface ErrandSpecification {
 
 			final var predicates = new ArrayList<>();
 			for (final DbExternalTag tag : tags) {
+				// One join per tag, so that key and value are matched on the same tag
+				final var externalTag = root.join("externalTags");
 				predicates.add(criteriaBuilder.and(
-					criteriaBuilder.equal(root.join("externalTags").get("key"), tag.getKey()),
-					criteriaBuilder.equal(root.join("externalTags").get("value"), tag.getValue())));
+					criteriaBuilder.equal(externalTag.get("key"), tag.getKey()),
+					criteriaBuilder.equal(externalTag.get("value"), tag.getValue())));
 			}
 			return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
 		};
@@ -1,60 +1,80 @@
 package se.sundsvall.supportmanagement.integration.db.util;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.dept44.problem.Problem;
-import se.sundsvall.supportmanagement.integration.db.ErrandNumberSequenceRepository;
 import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
-import se.sundsvall.supportmanagement.integration.db.model.ErrandNumberSequenceEntity;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
 import static se.sundsvall.supportmanagement.integration.db.util.ConfigPropertyExtractor.PROPERTY_SHORT_CODE;
 
+/**
+ * Generates errand numbers on the form {shortCode}-{yyMM}{sequence number}, where the sequence restarts every month.
+ * <p>
+ * Sequence numbers are reserved from the database in blocks, and handed out from memory until the block is used up.
+ * With a block size of 1 every errand number is reserved from the database. A larger block size spares concurrent
+ * creates in a namespace from waiting on the sequence row, at the cost of errand numbers not being handed out in
+ * creation order across nodes, and of the unused numbers of a block being skipped when the node stops.
+ */
 @Component
 public class ErrandNumberGeneratorService {
 
 	private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyMM");
 
-	private final ErrandNumberSequenceRepository repository;
+	@Value("${errand.number.block-size:1}")
+	private int blockSize = 1;
+
+	private final ErrandNumberSequenceReserver reserver;
 	private final NamespaceConfigRepository namespaceConfigRepository;
+	private final Clock clock;
+	private final Map<String, BlockHolder> blockHolders = new ConcurrentHashMap<>();
 
-	public ErrandNumberGeneratorService(final ErrandNumberSequenceRepository errandNumberSequenceRepository, final NamespaceConfigRepository namespaceConfigRepository) {
-		this.repository = errandNumberSequenceRepository;
+	public ErrandNumberGeneratorService(final ErrandNumberSequenceReserver errandNumberSequenceReserver, final NamespaceConfigRepository namespaceConfigRepository, final Clock clock) {
+		this.reserver = errandNumberSequenceReserver;
 		this.namespaceConfigRepository = namespaceConfigRepository;
+		this.clock = clock;
 	}
 
-	@Transactional(propagation = REQUIRES_NEW)
 	public String generateErrandNumber(final String namespace, final String municipalityId) {
 
 		final var shortcode = namespaceConfigRepository.findByNamespaceAndMunicipalityId(namespace, municipalityId)
 			.map(namespaceConfigEntity -> ConfigPropertyExtractor.getNullableValue(namespaceConfigEntity, PROPERTY_SHORT_CODE))
 			.orElseThrow(() -> Problem.valueOf(INTERNAL_SERVER_ERROR, String.format("Missing shortCode for namespace/municipalityId: '%s/%s'. Add via /namespaceConfig resource.", namespace, municipalityId)));
 
-		final var todayDate = dateFormatter.format(LocalDate.now(ZoneId.systemDefault()));
+		final var todayDate = dateFormatter.format(LocalDate.now(clock));
+		final var blockHolder = blockHolders.computeIfAbsent(namespace + "/" + municipalityId, _ -> new BlockHolder());
 
-		var sequence = repository.findByNamespaceAndMunicipalityId(namespace, municipalityId).orElse(null);
+		while (true) {
+			final var block = blockHolder.block;
 
-		if (sequence == null) {
-			sequence = new ErrandNumberSequenceEntity()
-				.withNamespace(namespace)
-				.withMunicipalityId(municipalityId)
-				.withLastSequenceNumber(0)
-				.withResetYearMonth(todayDate);
-		}
+			// A block of an earlier month is used up as far as this month is concerned
+			if (block != null && block.yearMonth.compareTo(todayDate) >= 0) {
+				final var sequenceNumber = block.next.getAndIncrement();
+				if (sequenceNumber <= block.last) {
+					return "%s-%s%s".formatted(shortcode, block.yearMonth, String.format("%04d", sequenceNumber));
+				}
+			}
 
-		if (!todayDate.equals(sequence.getResetYearMonth())) {
-			sequence.setResetYearMonth(todayDate);
-			sequence.setLastSequenceNumber(1);
-		} else {
-			sequence.setLastSequenceNumber(sequence.getLastSequenceNumber() + 1);
+			synchronized (blockHolder) {
+				// Only the first of the threads finding the block used up reserves a new one
+				if (blockHolder.block == block) {
+					final var range = reserver.reserve(namespace, municipalityId, todayDate, Math.max(blockSize, 1));
+					blockHolder.block = new Block(range.yearMonth(), new AtomicInteger(range.first()), range.last());
+				}
+			}
 		}
+	}
 
-		repository.saveAndFlush(sequence);
+	private static final class BlockHolder {
+		private volatile Block block;
+	}
 
-		return "%s-%s%s".formatted(shortcode, todayDate, String.format("%04d", sequence.getLastSequenceNumber()));
+	private record Block(String yearMonth, AtomicInteger next, int last) {
 	}
 }
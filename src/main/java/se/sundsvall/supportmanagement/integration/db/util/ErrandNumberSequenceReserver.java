@@ -0,0 +1,60 @@
+package se.sundsvall.supportmanagement.integration.db.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.ErrandNumberSequenceRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandNumberSequenceEntity;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Reserves ranges of errand sequence numbers in the sequence row of a namespace. The row is locked for the duration of
+ * the reservation, so a range is never handed to more than one caller, whichever node the caller runs on.
+ */
+@Component
+public class ErrandNumberSequenceReserver {
+
+	private final ErrandNumberSequenceRepository repository;
+
+	public ErrandNumberSequenceReserver(final ErrandNumberSequenceRepository repository) {
+		this.repository = repository;
+	}
+
+	/**
+	 * Reserves the next numbers of the sequence. The sequence restarts at 1 when the requested year and month is later than
+	 * the one the sequence was last used for. A request for an earlier month, made by a caller that read the clock just
+	 * before another caller moved the sequence on to a new month, is given numbers of the month the sequence is in.
+	 *
+	 * @param  namespace      the namespace of the sequence
+	 * @param  municipalityId the municipality of the sequence
+	 * @param  yearMonth      the year and month, formatted as yyMM, to reserve numbers for
+	 * @param  size           the number of sequence numbers to reserve
+	 * @return                the reserved range
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public Range reserve(final String namespace, final String municipalityId, final String yearMonth, final int size) {
+		final var sequence = repository.findByNamespaceAndMunicipalityId(namespace, municipalityId)
+			.orElseGet(() -> ErrandNumberSequenceEntity.create()
+				.withNamespace(namespace)
+				.withMunicipalityId(municipalityId)
+				.withLastSequenceNumber(0)
+				.withResetYearMonth(yearMonth));
+
+		if (sequence.getResetYearMonth() == null || yearMonth.compareTo(sequence.getResetYearMonth()) > 0) {
+			sequence.setResetYearMonth(yearMonth);
+			sequence.setLastSequenceNumber(0);
+		}
+
+		final var first = sequence.getLastSequenceNumber() + 1;
+		sequence.setLastSequenceNumber(sequence.getLastSequenceNumber() + size);
+		repository.saveAndFlush(sequence);
+
+		return new Range(sequence.getResetYearMonth(), first, sequence.getLastSequenceNumber());
+	}
+
+	/**
+	 * A range of sequence numbers, both ends included, of a year and month.
+	 */
+	public record Range(String yearMonth, int first, int last) {
+	}
+}
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.model.AccessLabelEmbeddable;
@@ -23,7 +24,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
-import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.hasAllowedMetadataLabels;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.hasAllowedAccessSets;
 import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withId;
 
 @Component
@@ -35,11 +36,13 @@ public class AccessControlService {
 	private final AccessMapperService accessMapperService;
 	private final NamespaceConfigService namespaceConfigService;
 	private final ErrandsRepository errandsRepository;
+	private final AccessSetService accessSetService;
 
-	public AccessControlService(final AccessMapperService accessMapperService, final NamespaceConfigService namespaceConfigService, final ErrandsRepository errandsRepository) {
+	public AccessControlService(final AccessMapperService accessMapperService, final NamespaceConfigService namespaceConfigService, final ErrandsRepository errandsRepository, final AccessSetService accessSetService) {
 		this.accessMapperService = accessMapperService;
 		this.namespaceConfigService = namespaceConfigService;
 		this.errandsRepository = errandsRepository;
+		this.accessSetService = accessSetService;
 	}
 
 	/**
@@ -54,7 +57,7 @@ public class AccessControlService {
 	public Predicate<ErrandEntity> limitedMappingPredicateByLabel(String namespace, String municipalityId, Identifier user) {
 		if (hasAccessControlActive(namespace, municipalityId)) {
 			// Filter out all labels that is read or read/write. R/RW has precedence over LR.
-			final var fullReadMetadataLabels = accessMapperService.getAccessibleLabels(municipalityId, namespace, user, List.of(R, RW));
+			final var fullReadMetadataLabels = accessMapperService.getAccessibleLabels(municipalityId, namespace, user, List.of(R, RW)).labels();
 
 			final var fullReadLabelIds = fullReadMetadataLabels.stream()
 				.map(MetadataLabelEntity::getId)
@@ -81,7 +84,14 @@ public class AccessControlService {
 	public Specification<ErrandEntity> withAccessControl(String namespace, String municipalityId, Identifier user, Access.AccessLevelEnum... accessLevelEnums) {
 		if (hasAccessControlActive(namespace, municipalityId)) {
 			final var filter = accessLevelEnums.length == 0 ? List.of(LR, R, RW) : Arrays.stream(accessLevelEnums).toList();
-			return hasAllowedMetadataLabels(accessMapperService.getAccessibleLabels(municipalityId, namespace, user, filter));
+			final var allowedLabelIds = accessMapperService.getAccessibleLabels(municipalityId, namespace, user, filter).labels().stream()
+				.map(MetadataLabelEntity::getId)
+				.collect(Collectors.toSet());
+
+			if (allowedLabelIds.isEmpty()) {
+				return (_, _, criteriaBuilder) -> criteriaBuilder.disjunction(); // No access if no allowed labels
+			}
+			return hasAllowedAccessSets(accessSetService.findAllowedAccessSetKeys(namespace, municipalityId, allowedLabelIds));
 		}
 		return (_, _, criteriaBuilder) -> criteriaBuilder.conjunction();
 	}
@@ -104,10 +114,30 @@ public class AccessControlService {
 	public ErrandEntity getErrand(final String namespace, final String municipalityId, final String id, boolean lock, Access.AccessLevelEnum... accessLevelEnumsFilter) {
 		verifyExistingErrand(id, namespace, municipalityId, lock);
 		return errandsRepository
-			.findOne(withId(id).and(withAccessControl(namespace, municipalityId, Identifier.get(), accessLevelEnumsFilter)))
-			.orElseThrow(() -> Problem.valueOf(UNAUTHORIZED, ENTITY_NOT_ACCESSIBLE.formatted(Optional.ofNullable(Identifier.get())
-				.map(Identifier::getValue)
-				.orElse(null))));
+			.findOneWithAccessLabels(withId(id).and(withAccessControl(namespace, municipalityId, Identifier.get(), accessLevelEnumsFilter)))
+			.orElseThrow(AccessControlService::notAccessible);
+	}
+
+	/**
+	 * Fetches ErrandEntity, along with its stakeholders, and checks user access, if enabled in namespace. Throws Problem
+	 * 404 if errand does not exist. Throws 401 if user does not have access.
+	 *
+	 * @param  namespace      namespace
+	 * @param  municipalityId municipality id
+	 * @param  id             errand id
+	 * @return                errand entity
+	 */
+	public ErrandEntity getErrandWithStakeholders(final String namespace, final String municipalityId, final String id) {
+		verifyExistingErrand(id, namespace, municipalityId, false);
+		return errandsRepository
+			.findOneWithStakeholders(withId(id).and(withAccessControl(namespace, municipalityId, Identifier.get())))
+			.orElseThrow(AccessControlService::notAccessible);
+	}
+
+	private static ThrowableProblem notAccessible() {
+		return Problem.valueOf(UNAUTHORIZED, ENTITY_NOT_ACCESSIBLE.formatted(Optional.ofNullable(Identifier.get())
+			.map(Identifier::getValue)
+			.orElse(null)));
 	}
 
 	/**
@@ -125,9 +155,7 @@ public class AccessControlService {
 		final var authorized = errandsRepository.exists(withId(id).and(withAccessControl(namespace, municipalityId, Identifier.get(), accessLevelEnumsFilter)));
 
 		if (!authorized) {
-			throw Problem.valueOf(UNAUTHORIZED, ENTITY_NOT_ACCESSIBLE.formatted(Optional.ofNullable(Identifier.get())
-				.map(Identifier::getValue)
-				.orElse(null)));
+			throw notAccessible();
 		}
 	}
 
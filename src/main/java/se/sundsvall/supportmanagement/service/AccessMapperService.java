@@ -2,50 +2,124 @@ package se.sundsvall.supportmanagement.service;
 
 import generated.se.sundsvall.accessmapper.Access;
 import generated.se.sundsvall.accessmapper.AccessGroup;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.integration.accessmapper.AccessMapperClient;
+import se.sundsvall.supportmanagement.integration.db.AccessibleLabelsSnapshotRepository;
 import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+import se.sundsvall.supportmanagement.service.model.AccessibleLabels;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Predicate.not;
+import static java.util.stream.Collectors.joining;
 import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.createCacheKey;
 
 @Component
 public class AccessMapperService {
 
 	private static final String LABEL_TYPE = "label";
-	private static final String ACCESSIBLE_LABELS_CACHE_NAME = "accessibleLabelsCache";
+	public static final String ACCESSIBLE_LABELS_CACHE_NAME = "accessibleLabelsCache";
+	private static final String LABEL_ID_SEPARATOR = ",";
 	private static final Logger LOG = LoggerFactory.getLogger(AccessMapperService.class);
 
 	private final AccessMapperClient accessMapperClient;
 	private final MetadataService metadataService;
+	private final AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepository;
 
-	public AccessMapperService(final AccessMapperClient accessMapperClient, final MetadataService metadataService) {
+	@Value("${cache.accessible-labels-snapshot.time-to-live:PT60M}")
+	private Duration snapshotTimeToLive = Duration.ofMinutes(60);
+
+	public AccessMapperService(final AccessMapperClient accessMapperClient, final MetadataService metadataService, final AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepository) {
 		this.accessMapperClient = accessMapperClient;
 		this.metadataService = metadataService;
+		this.accessibleLabelsSnapshotRepository = accessibleLabelsSnapshotRepository;
 	}
 
+	/**
+	 * Resolves the labels the user has the requested access to. Results are cached locally and, as a second level, in a
+	 * snapshot shared by all nodes, so that AccessMapper is only asked once per user and time to live across the cluster.
+	 * The local entry expires along with the snapshot, hence labels are never used longer than the snapshot time to live
+	 * after AccessMapper was asked.
+	 */
 	@Cacheable(value = ACCESSIBLE_LABELS_CACHE_NAME,
 		key = "{#root.methodName, #municipalityId, #namespace, #user, T(se.sundsvall.supportmanagement.service.util.ServiceUtil).createCacheKey(#filter)}")
-	public Set<MetadataLabelEntity> getAccessibleLabels(String municipalityId, String namespace, Identifier user, List<Access.AccessLevelEnum> filter) {
+	public AccessibleLabels getAccessibleLabels(String municipalityId, String namespace, Identifier user, List<Access.AccessLevelEnum> filter) {
 		final var logNamespace = sanitizeForLogging(namespace);
 		final var logMunicipalityId = sanitizeForLogging(municipalityId);
 		LOG.info("Renewing accessible labels of requested access to {} for user {} within namespace {} and municipality {}", filter, user, logNamespace, logMunicipalityId);
 
 		return ofNullable(user)
 			.filter(identifier -> Identifier.Type.AD_ACCOUNT.equals(identifier.getType()))
-			.map(ad -> accessMapperClient.getAccessDetails(municipalityId, namespace, ad.getValue(), LABEL_TYPE))
+			.map(ad -> {
+				final var snapshotId = toSnapshotId(municipalityId, namespace, ad, filter);
+				return fromSnapshot(snapshotId, namespace, municipalityId)
+					.orElseGet(() -> fromAccessMapper(snapshotId, municipalityId, namespace, ad, filter));
+			})
+			.orElseGet(() -> new AccessibleLabels(Collections.emptySet(), now(systemDefault()).plus(snapshotTimeToLive)));
+	}
+
+	private Optional<AccessibleLabels> fromSnapshot(final String snapshotId, final String namespace, final String municipalityId) {
+		return accessibleLabelsSnapshotRepository.findByIdAndCreatedAfter(snapshotId, now(systemDefault()).minus(snapshotTimeToLive))
+			.map(snapshot -> new AccessibleLabels(metadataService.findLabelsByIds(namespace, municipalityId, toLabelIds(snapshot.getLabelIds())),
+				snapshot.getCreated().plus(snapshotTimeToLive)));
+	}
+
+	private AccessibleLabels fromAccessMapper(final String snapshotId, final String municipalityId, final String namespace, final Identifier ad, final List<Access.AccessLevelEnum> filter) {
+		final var created = now(systemDefault());
+		final var labels = ofNullable(accessMapperClient.getAccessDetails(municipalityId, namespace, ad.getValue(), LABEL_TYPE))
 			.filter(response -> response.getStatusCode().is2xxSuccessful())
 			.map(ResponseEntity::getBody)
 			.map(accessGroups -> metadataService.patternToLabels(namespace, municipalityId, toPatterns(accessGroups, filter)))
+			.map(resolved -> {
+				saveSnapshot(snapshotId, municipalityId, namespace, resolved, created);
+				return resolved;
+			})
 			.orElse(Collections.emptySet());
+		return new AccessibleLabels(labels, created.plus(snapshotTimeToLive));
+	}
+
+	private void saveSnapshot(final String snapshotId, final String municipalityId, final String namespace, final Set<MetadataLabelEntity> labels, final OffsetDateTime created) {
+		try {
+			accessibleLabelsSnapshotRepository.upsert(snapshotId, municipalityId, namespace, labels.stream()
+				.map(MetadataLabelEntity::getId)
+				.sorted()
+				.collect(joining(LABEL_ID_SEPARATOR)), created);
+		} catch (final Exception e) {
+			LOG.warn("Unable to save snapshot of accessible labels within namespace {} and municipality {}", sanitizeForLogging(namespace), sanitizeForLogging(municipalityId), e);
+		}
+	}
+
+	/**
+	 * Computes the id of the snapshot of a user's accessible labels: the SHA-256 hex digest of everything the labels
+	 * depend on.
+	 */
+	static String toSnapshotId(final String municipalityId, final String namespace, final Identifier user, final List<Access.AccessLevelEnum> filter) {
+		final var key = String.join("|", municipalityId, namespace, user.getType().name(), user.getValue(), createCacheKey(filter));
+		return computeSha256Hex(new ByteArrayInputStream(key.getBytes(UTF_8)));
+	}
+
+	private static List<String> toLabelIds(final String labelIds) {
+		return ofNullable(labelIds)
+			.filter(not(String::isEmpty))
+			.map(ids -> List.of(ids.split(LABEL_ID_SEPARATOR)))
+			.orElse(Collections.emptyList());
 	}
 
 	private List<String> toPatterns(List<AccessGroup> accessGroups, List<Access.AccessLevelEnum> filter) {
@@ -0,0 +1,97 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.AccessSetRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AccessSetEntity;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
+
+/**
+ * Maintains access sets, i.e. the distinct combinations of access labels that errands carry. An errand references its
+ * access set through a key, which lets access control filter errands on an indexed column instead of inspecting the
+ * access labels of every errand.
+ * <p>
+ * The access sets a set of labels gives access to are cached, and evicted on all nodes whenever a new access set is
+ * registered or the labels of the namespace change.
+ */
+@Service
+public class AccessSetService {
+
+	public static final String ACCESS_SET_CACHE_NAME = "accessSetCache";
+	private static final String SEPARATOR = ",";
+
+	private final AccessSetRepository accessSetRepository;
+	private final CacheInvalidationService cacheInvalidationService;
+
+	public AccessSetService(final AccessSetRepository accessSetRepository, final CacheInvalidationService cacheInvalidationService) {
+		this.accessSetRepository = accessSetRepository;
+		this.cacheInvalidationService = cacheInvalidationService;
+	}
+
+	/**
+	 * Computes the key of a combination of access labels: the SHA-256 hex digest of the sorted label ids joined by commas.
+	 * Migrations compute the same key in SQL, so the format must not change.
+	 *
+	 * @param  metadataLabelIds ids of the access labels
+	 * @return                  the key, or null if there are no access labels
+	 */
+	public static String toAccessSetKey(final Collection<String> metadataLabelIds) {
+		if (metadataLabelIds == null || metadataLabelIds.isEmpty()) {
+			return null;
+		}
+
+		final var canonical = metadataLabelIds.stream()
+			.distinct()
+			.sorted()
+			.collect(Collectors.joining(SEPARATOR));
+
+		return computeSha256Hex(new ByteArrayInputStream(canonical.getBytes(UTF_8)));
+	}
+
+	/**
+	 * Makes sure an access set exists for the provided access labels and returns its key.
+	 *
+	 * @param  namespace        the namespace of the errand
+	 * @param  municipalityId   the municipality of the errand
+	 * @param  metadataLabelIds ids of the errand's access labels
+	 * @return                  the key of the access set, or null if there are no access labels
+	 */
+	@Transactional
+	public String register(final String namespace, final String municipalityId, final Collection<String> metadataLabelIds) {
+		final var key = toAccessSetKey(metadataLabelIds);
+
+		if (key != null && !accessSetRepository.existsById(key)) {
+			accessSetRepository.insertIfAbsent(key, municipalityId, namespace);
+			metadataLabelIds.stream()
+				.distinct()
+				.forEach(metadataLabelId -> accessSetRepository.insertLabelIfAbsent(key, metadataLabelId));
+			cacheInvalidationService.publish(ACCESS_SET_CACHE_NAME);
+		}
+
+		return key;
+	}
+
+	/**
+	 * Finds the keys of all access sets in a namespace that consist of allowed labels only.
+	 *
+	 * @param  namespace       the namespace
+	 * @param  municipalityId  the municipality
+	 * @param  allowedLabelIds ids of the labels the user is allowed to access
+	 * @return                 keys of the access sets the user may access
+	 */
+	@Cacheable(value = ACCESS_SET_CACHE_NAME, key = "{#namespace, #municipalityId, #allowedLabelIds}")
+	@Transactional(readOnly = true)
+	public Set<String> findAllowedAccessSetKeys(final String namespace, final String municipalityId, final Set<String> allowedLabelIds) {
+		return accessSetRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId).stream()
+			.filter(accessSet -> allowedLabelIds.containsAll(accessSet.getMetadataLabelIds()))
+			.map(AccessSetEntity::getId)
+			.collect(Collectors.toSet());
+	}
+}
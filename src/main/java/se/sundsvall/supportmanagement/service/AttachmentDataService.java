@@ -0,0 +1,190 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.ObjectUtils.anyNull;
+
+/**
+ * Keeps attachment content content-addressed. Identical content is stored once per municipality and shared through
+ * reference counting: a new content row starts with one reference, every additional attachment pointing at it acquires
+ * a reference and every removed attachment releases one. Content is deleted when its last reference is released, and
+ * content left without references in any other way is deleted by {@link #deleteUnreferenced(int, int)}.
+ */
+@Service
+public class AttachmentDataService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AttachmentDataService.class);
+
+	private final AttachmentDataRepository attachmentDataRepository;
+	private final BlobStore blobStore;
+
+	public AttachmentDataService(final AttachmentDataRepository attachmentDataRepository, final BlobStore blobStore) {
+		this.attachmentDataRepository = attachmentDataRepository;
+		this.blobStore = blobStore;
+	}
+
+	/**
+	 * Point the attachment at already stored content with the same hash in the same municipality, if there is any. The
+	 * reference that the attachment held to its own content is then released. Otherwise the attachment's content is
+	 * registered under its hash, so that later attachments with identical content can share it.
+	 *
+	 * @param attachmentEntity an attachment with its hash set.
+	 */
+	@Transactional
+	public void deduplicate(final AttachmentEntity attachmentEntity) {
+		final var attachmentData = attachmentEntity.getAttachmentData();
+		if (anyNull(attachmentData, attachmentEntity.getHash(), attachmentEntity.getMunicipalityId())) {
+			return;
+		}
+
+		findAndAcquire(attachmentEntity.getMunicipalityId(), attachmentEntity.getHash(), attachmentData.getId())
+			.ifPresentOrElse(existingId -> {
+				LOG.debug("Attachment content with hash {} already stored as {}, sharing it", attachmentEntity.getHash(), existingId);
+				attachmentEntity.setAttachmentData(attachmentDataRepository.getReferenceById(existingId));
+				release(attachmentData);
+			}, () -> register(attachmentData, attachmentEntity.getMunicipalityId(), attachmentEntity.getHash()));
+	}
+
+	/**
+	 * Point a communication attachment that is about to be saved at already stored content with the same hash in the
+	 * same municipality, if there is any, so that its own content is never inserted. Otherwise its content is registered
+	 * under its hash when it is inserted along with the attachment.
+	 *
+	 * @param attachmentEntity a communication attachment whose new content has its hash set.
+	 */
+	@Transactional
+	public void deduplicate(final CommunicationAttachmentEntity attachmentEntity) {
+		final var attachmentData = attachmentEntity.getAttachmentData();
+		if (isNull(attachmentData) || !isNew(attachmentData) || anyNull(attachmentData.getHash(), attachmentEntity.getMunicipalityId())) {
+			return;
+		}
+
+		findAndAcquire(attachmentEntity.getMunicipalityId(), attachmentData.getHash(), attachmentData.getId())
+			.ifPresentOrElse(existingId -> {
+				LOG.debug("Communication attachment content with hash {} already stored as {}, sharing it", attachmentData.getHash(), existingId);
+				attachmentEntity.setAttachmentData(attachmentDataRepository.getReferenceById(existingId));
+			}, () -> register(attachmentData, attachmentEntity.getMunicipalityId(), attachmentData.getHash()));
+	}
+
+	/**
+	 * Add a reference to content that another attachment is about to point at.
+	 *
+	 * @param attachmentData the shared content.
+	 */
+	@Transactional
+	public void acquire(final AttachmentDataEntity attachmentData) {
+		if (isNull(attachmentData)) {
+			return;
+		}
+		if (isNew(attachmentData)) {
+			attachmentData.setReferenceCount(attachmentData.getReferenceCount() + 1);
+			return;
+		}
+		attachmentDataRepository.incrementReferenceCount(attachmentData.getId());
+	}
+
+	/**
+	 * Remove a reference to content, deleting the content if it was the last one. Must be called after the attachment
+	 * that referenced the content has been removed or re-pointed. Bytes kept outside of the database are deleted once the
+	 * transaction has been committed.
+	 *
+	 * @param attachmentData the content that is no longer referenced by an attachment.
+	 */
+	@Transactional
+	public void release(final AttachmentDataEntity attachmentData) {
+		if (isNull(attachmentData) || isNew(attachmentData)) {
+			return;
+		}
+		attachmentDataRepository.decrementReferenceCount(attachmentData.getId());
+		final var storageKey = attachmentDataRepository.findStorageKeyById(attachmentData.getId());
+		if (attachmentDataRepository.deleteIfUnreferenced(attachmentData.getId()) > 0) {
+			LOG.debug("Deleted attachment content {} as it is no longer referenced", attachmentData.getId());
+			if (nonNull(storageKey)) {
+				afterCommit(() -> deleteBlob(storageKey));
+			}
+		}
+	}
+
+	/**
+	 * Delete content that has no references left without having been deleted along with its last reference, e.g. content
+	 * that no attachment referred to when reference counting was introduced. Content is only deleted if it is still
+	 * unreferenced when the delete is executed, so content that is shared again in the meantime is kept.
+	 *
+	 * @param  lastId    the id to continue after.
+	 * @param  batchSize the maximum number of rows to look at.
+	 * @return           the ids that were looked at, in ascending order. Fewer than batchSize means there are no more.
+	 */
+	@Transactional
+	public List<Integer> deleteUnreferenced(final int lastId, final int batchSize) {
+		final var ids = attachmentDataRepository.findUnreferencedIds(lastId, Limit.of(batchSize));
+		ids.forEach(id -> {
+			final var storageKey = attachmentDataRepository.findStorageKeyById(id);
+			if (attachmentDataRepository.deleteIfUnreferenced(id) > 0 && nonNull(storageKey)) {
+				afterCommit(() -> deleteBlob(storageKey));
+			}
+		});
+		return ids;
+	}
+
+	/**
+	 * A matching row is only used if the reference could be added, as it may have been garbage collected after it was
+	 * found.
+	 */
+	private Optional<Integer> findAndAcquire(final String municipalityId, final String hash, final int excludedId) {
+		return attachmentDataRepository.findIdsByMunicipalityIdAndHash(municipalityId, hash, excludedId, Limit.of(1)).stream()
+			.findFirst()
+			.filter(id -> attachmentDataRepository.incrementReferenceCount(id) > 0);
+	}
+
+	private void register(final AttachmentDataEntity attachmentData, final String municipalityId, final String hash) {
+		if (isNew(attachmentData)) {
+			attachmentData.withMunicipalityId(municipalityId).withHash(hash);
+			return;
+		}
+		attachmentDataRepository.updateContentKey(attachmentData.getId(), municipalityId, hash);
+	}
+
+	private void deleteBlob(final String storageKey) {
+		try {
+			blobStore.delete(storageKey);
+		} catch (final IOException e) {
+			LOG.warn("Failed to delete blob {} of deleted attachment content", storageKey, e);
+		}
+	}
+
+	private static void afterCommit(final Runnable runnable) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			runnable.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				runnable.run();
+			}
+		});
+	}
+
+	/**
+	 * Content is new if it has not yet been inserted, as ids are assigned by the database on insert.
+	 */
+	private static boolean isNew(final AttachmentDataEntity attachmentData) {
+		return attachmentData.getId() == 0;
+	}
+}
@@ -0,0 +1,159 @@
+package se.sundsvall.supportmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import se.sundsvall.supportmanagement.service.model.ErrandAssignment;
+
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+/**
+ * Subscribes the users errands are assigned to, to the errands, off the request thread.
+ * <p>
+ * Assignments are collected in memory and subscribed in batches by a single drain at a time, so that any number of
+ * updates to an errand between two drains result in one subscription check. Drains run on a virtual thread of their
+ * own rather than on the shared scheduling pool, so they neither wait for nor hold up the scheduled jobs. The most recently subscribed assignments
+ * are remembered, hence updates of an errand that leave its assignee unchanged need no database work at all. A
+ * subscription the assignee has removed is therefore not recreated by this node until the assignment has been
+ * forgotten.
+ * <p>
+ * Subscribing is best effort: assignments not yet drained when the node stops are lost, assignments beyond
+ * {@code max-pending} are dropped until the drain has caught up, and a failed assignment is logged and dropped, as the
+ * next update of the errand gives it another chance.
+ */
+@Component
+public class AutoSubscribeWorker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AutoSubscribeWorker.class);
+
+	/**
+	 * How many assignments are subscribed in one transaction.
+	 */
+	@Value("${subscription.auto-subscribe.batch-size:100}")
+	private int batchSize = 100;
+
+	/**
+	 * How many subscribed assignments are remembered, the least recently seen being forgotten first.
+	 */
+	@Value("${subscription.auto-subscribe.known-pairs-size:1000}")
+	private int knownPairsSize = 1000;
+
+	/**
+	 * How many assignments may wait for a drain, keeping memory bounded should subscribing fall behind.
+	 */
+	@Value("${subscription.auto-subscribe.max-pending:10000}")
+	private int maxPending = 10000;
+
+	private final SubscriptionService subscriptionService;
+	private final ExecutorService executor;
+	private final Set<ErrandAssignment> pending = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final Map<ErrandAssignment, Boolean> known = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<ErrandAssignment, Boolean> eldest) {
+			return size() > knownPairsSize;
+		}
+	});
+
+	@Autowired
+	public AutoSubscribeWorker(final SubscriptionService subscriptionService) {
+		this(subscriptionService, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("auto-subscribe-", 0).factory()));
+	}
+
+	AutoSubscribeWorker(final SubscriptionService subscriptionService, final ExecutorService executor) {
+		this.subscriptionService = subscriptionService;
+		this.executor = executor;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleAutoSubscribeEvent(final AutoSubscribeEvent event) {
+		final var errand = event.errandEntity();
+		if (errand.getAssignedUserId() == null) {
+			return;
+		}
+
+		final var assignment = ErrandAssignment.of(errand);
+		if (known.get(assignment) != null) {
+			return;
+		}
+		if (pending.size() >= maxPending) {
+			LOG.warn("Auto-subscribe of errand '{}' dropped, {} assignments are already waiting", sanitizeForLogging(assignment.errandId()), maxPending);
+			return;
+		}
+		pending.add(assignment);
+		scheduleDrain();
+	}
+
+	private void scheduleDrain() {
+		if (!draining.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			executor.execute(this::drain);
+		} catch (final Exception e) {
+			draining.set(false);
+			LOG.warn("Unable to schedule auto-subscribe of {} assignments, retrying on the next errand update", pending.size(), e);
+		}
+	}
+
+	private void drain() {
+		try {
+			for (var batch = takeBatch(); !batch.isEmpty(); batch = takeBatch()) {
+				subscribe(batch);
+			}
+		} finally {
+			draining.set(false);
+			// Assignments added after the last batch was taken, but before the flag was reset, have not scheduled a drain
+			if (!pending.isEmpty()) {
+				scheduleDrain();
+			}
+		}
+	}
+
+	private List<ErrandAssignment> takeBatch() {
+		final var batch = new ArrayList<ErrandAssignment>();
+		final var iterator = pending.iterator();
+		while (batch.size() < batchSize && iterator.hasNext()) {
+			batch.add(iterator.next());
+			iterator.remove();
+		}
+		return batch;
+	}
+
+	/**
+	 * Subscribes a batch in one transaction. A failed batch, e.g. due to another node subscribing one of the assignees
+	 * concurrently, is retried one assignment at a time so that the other assignments of the batch are not lost.
+	 */
+	private void subscribe(final List<ErrandAssignment> batch) {
+		try {
+			subscriptionService.autoSubscribeAssignees(batch);
+			batch.forEach(assignment -> known.put(assignment, Boolean.TRUE));
+		} catch (final Exception e) {
+			if (batch.size() == 1) {
+				LOG.warn("Auto-subscribe failed for errand '{}' – continuing without subscription", sanitizeForLogging(batch.getFirst().errandId()), e);
+				return;
+			}
+			batch.forEach(assignment -> subscribe(List.of(assignment)));
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.supportmanagement.integration.db.AccessibleLabelsSnapshotRepository;
+import se.sundsvall.supportmanagement.integration.db.CacheInvalidationRepository;
+import se.sundsvall.supportmanagement.integration.db.model.CacheInvalidationEntity;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toSet;
+import static se.sundsvall.supportmanagement.service.AccessMapperService.ACCESSIBLE_LABELS_CACHE_NAME;
+import static se.sundsvall.supportmanagement.service.AccessSetService.ACCESS_SET_CACHE_NAME;
+import static se.sundsvall.supportmanagement.service.LabelIndexService.LABEL_INDEX_CACHE_NAME;
+import static se.sundsvall.supportmanagement.service.MetadataSnapshotService.METADATA_SNAPSHOT_CACHE_NAME;
+
+/**
+ * Propagates cache evictions between the nodes of the service. Caches are held locally by each node, an eviction is
+ * therefore published through the database and every node clears the evicted cache once it has polled the
+ * invalidation, i.e. within {@code cache.invalidation.poll-interval}.
+ * <p>
+ * The poll is registered as a plain fixed delay task rather than a scheduled job, since every node has to poll for
+ * itself and the lock held by scheduled jobs would let only one of them do so.
+ */
+@Service
+public class CacheInvalidationService implements SchedulingConfigurer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+	private final CacheInvalidationRepository cacheInvalidationRepository;
+	private final AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepository;
+	private final CacheManager cacheManager;
+
+	@Value("${cache.invalidation.poll-interval:PT5S}")
+	private Duration pollInterval = Duration.ofSeconds(5);
+
+	/**
+	 * How far back each poll reads. Ids are handed out when invalidations are inserted, not when they are committed, so a
+	 * poll cannot resume after the highest id it has seen. Reading the invalidations of a window instead catches those
+	 * committed out of order, provided the window exceeds the time from taking {@code created} to committing plus the
+	 * clock difference between nodes.
+	 */
+	@Value("${cache.invalidation.overlap:PT1M}")
+	private Duration overlap = Duration.ofMinutes(1);
+
+	@Value("${cache.invalidation.retention:PT1H}")
+	private Duration retention = Duration.ofHours(1);
+
+	@Value("${cache.accessible-labels-snapshot.time-to-live:PT60M}")
+	private Duration snapshotTimeToLive = Duration.ofMinutes(60);
+
+	private Set<Long> seenIds;
+	private OffsetDateTime lastPruned;
+
+	public CacheInvalidationService(final CacheInvalidationRepository cacheInvalidationRepository, final AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepository,
+		final CacheManager cacheManager) {
+		this.cacheInvalidationRepository = cacheInvalidationRepository;
+		this.accessibleLabelsSnapshotRepository = accessibleLabelsSnapshotRepository;
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Invalidates the cache on all nodes. If a transaction is active, the invalidation is published once it has been
+	 * committed, so that no node can reload the cache from data that is about to change.
+	 *
+	 * @param cacheName the name of the cache to invalidate
+	 */
+	public void publish(final String cacheName) {
+		afterCommit(() -> {
+			clear(cacheName);
+			try {
+				cacheInvalidationRepository.insert(cacheName, now(systemDefault()));
+			} catch (final Exception e) {
+				LOG.warn("Unable to publish invalidation of cache {}, other nodes will keep it until it expires", cacheName, e);
+			}
+		});
+	}
+
+	/**
+	 * Invalidates the compiled label index, the metadata snapshot, the accessible labels and the accessible access sets of
+	 * a namespace on all nodes, including the accessible labels snapshots shared between them.
+	 *
+	 * @param namespace      the namespace whose labels have changed
+	 * @param municipalityId the municipality whose labels have changed
+	 */
+	@Transactional
+	public void invalidateLabels(final String namespace, final String municipalityId) {
+		accessibleLabelsSnapshotRepository.deleteByNamespaceAndMunicipalityId(namespace, municipalityId);
+		publish(LABEL_INDEX_CACHE_NAME);
+		publish(METADATA_SNAPSHOT_CACHE_NAME);
+		publish(ACCESSIBLE_LABELS_CACHE_NAME);
+		publish(ACCESS_SET_CACHE_NAME);
+	}
+
+	@Override
+	public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+		taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::poll, pollInterval, pollInterval));
+	}
+
+	/**
+	 * Clears every cache invalidated by any node since the last poll, i.e. named by an invalidation within the overlap
+	 * window that the previous poll did not read. The first poll of a node only records what it has seen, as its caches
+	 * are populated after it was started. Invalidations and snapshots older than their time to live are removed at most
+	 * once per {@code cache.invalidation.retention}.
+	 */
+	public void poll() {
+		try {
+			final var invalidations = cacheInvalidationRepository.findByCreatedGreaterThanEqualOrderById(now(systemDefault()).minus(overlap));
+			if (seenIds != null) {
+				invalidations.stream()
+					.filter(invalidation -> !seenIds.contains(invalidation.getId()))
+					.map(CacheInvalidationEntity::getCacheName)
+					.distinct()
+					.forEach(this::clear);
+			}
+			// Invalidations that have left the window are not read again, hence need not be remembered
+			seenIds = invalidations.stream()
+				.map(CacheInvalidationEntity::getId)
+				.collect(toSet());
+
+			prune();
+		} catch (final Exception e) {
+			LOG.warn("Unable to poll cache invalidations", e);
+		}
+	}
+
+	private void prune() {
+		final var now = now(systemDefault());
+		if (lastPruned != null && lastPruned.plus(retention).isAfter(now)) {
+			return;
+		}
+		cacheInvalidationRepository.deleteByCreatedBefore(now.minus(retention));
+		accessibleLabelsSnapshotRepository.deleteByCreatedBefore(now.minus(snapshotTimeToLive));
+		lastPruned = now;
+	}
+
+	private void clear(final String cacheName) {
+		ofNullable(cacheManager.getCache(cacheName)).ifPresent(cache -> {
+			LOG.debug("Clearing cache {}", cacheName);
+			cache.clear();
+		});
+	}
+
+	private static void afterCommit(final Runnable runnable) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			runnable.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				runnable.run();
+			}
+		});
+	}
+}
@@ -75,6 +75,7 @@ public class CommunicationService {
 	private final CommunicationRepository communicationRepository;
 	private final CommunicationAttachmentRepository communicationAttachmentRepository;
 	private final ErrandAttachmentService errandAttachmentService;
+	private final AttachmentDataService attachmentDataService;
 	private final MessagingClient messagingClient;
 	private final CommunicationMapper communicationMapper;
 	private final Semaphore semaphore;
@@ -89,6 +90,7 @@ public class CommunicationService {
 		final CommunicationAttachmentRepository communicationAttachmentRepository,
 		final CommunicationMapper communicationMapper,
 		final ErrandAttachmentService errandAttachmentService,
+		final AttachmentDataService attachmentDataService,
 		final Semaphore semaphore,
 		final EmployeeService employeeService,
 		final CitizenIntegration citizenIntegration, final MessagingSettingsIntegration messagingSettingsIntegration) {
@@ -99,6 +101,7 @@ public class CommunicationService {
 		this.communicationAttachmentRepository = communicationAttachmentRepository;
 		this.communicationMapper = communicationMapper;
 		this.errandAttachmentService = errandAttachmentService;
+		this.attachmentDataService = attachmentDataService;
 		this.semaphore = semaphore;
 		this.employeeService = employeeService;
 		this.citizenIntegration = citizenIntegration;
@@ -275,9 +278,23 @@ public class CommunicationService {
 	}
 
 	public void saveCommunication(final CommunicationEntity communicationEntity) {
+		deduplicateAttachments(communicationEntity);
 		communicationRepository.saveAndFlush(communicationEntity);
 	}
 
+	public void saveCommunications(final List<CommunicationEntity> communicationEntities) {
+		communicationEntities.forEach(this::deduplicateAttachments);
+		communicationRepository.saveAllAndFlush(communicationEntities);
+	}
+
+	/**
+	 * Attachment content is stored once per municipality, hence content already stored is shared instead of inserted.
+	 */
+	private void deduplicateAttachments(final CommunicationEntity communicationEntity) {
+		Optional.ofNullable(communicationEntity.getAttachments()).orElse(emptyList())
+			.forEach(attachmentDataService::deduplicate);
+	}
+
 	/**
 	 * Method for sending notification message to external applicant stakeholder by partyId (called from
 	 * ConversationService.createMessage).
@@ -363,5 +380,13 @@ public class CommunicationService {
 	public void deleteAllCommunicationsByErrandNumber(final String errandNumber) {
 		final var list = communicationRepository.findByErrandNumber(errandNumber);
 		communicationRepository.deleteAll(list);
+
+		// Attachment content is shared through reference counting and is hence released rather than cascaded
+		list.stream()
+			.map(CommunicationEntity::getAttachments)
+			.filter(Objects::nonNull)
+			.flatMap(List::stream)
+			.map(CommunicationAttachmentEntity::getAttachmentData)
+			.forEach(attachmentDataService::release);
 	}
 }
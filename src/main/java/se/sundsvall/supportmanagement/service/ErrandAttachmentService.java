@@ -1,6 +1,5 @@
 package se.sundsvall.supportmanagement.service;
 
-import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.sql.SQLException;
@@ -27,6 +26,7 @@ import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.R;
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.RW;
 import static generated.se.sundsvall.eventlog.EventType.UPDATE;
 import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
@@ -56,20 +56,20 @@ public class ErrandAttachmentService {
 	private final AttachmentRepository attachmentRepository;
 	private final RevisionService revisionService;
 	private final EventService eventService;
-	private final EntityManager entityManager;
+	private final AttachmentDataService attachmentDataService;
 	private final Semaphore semaphore;
 
 	public ErrandAttachmentService(
 		final ErrandsRepository errandsRepository,
 		final AccessControlService accessControlService,
 		final RevisionService revisionService, final EventService eventService,
-		final AttachmentRepository attachmentRepository, final EntityManager entityManager, final Semaphore semaphore) {
+		final AttachmentRepository attachmentRepository, final AttachmentDataService attachmentDataService, final Semaphore semaphore) {
 		this.errandsRepository = errandsRepository;
 		this.accessControlService = accessControlService;
 		this.revisionService = revisionService;
 		this.eventService = eventService;
 		this.attachmentRepository = attachmentRepository;
-		this.entityManager = entityManager;
+		this.attachmentDataService = attachmentDataService;
 		this.semaphore = semaphore;
 	}
 
@@ -90,11 +90,12 @@ public class ErrandAttachmentService {
 		var attachmentEntity = ofNullable(attachmentEntitySupplier.get())
 			.orElseThrow(() -> Problem.valueOf(BAD_GATEWAY, ATTACHMENT_ENTITY_NOT_CREATED));
 
-		// Save
+		// Save, the hash is set on the entity while the blob content is written
 		attachmentEntity = attachmentRepository.saveAndFlush(attachmentEntity);
+		verifyHash(attachmentEntity);
 
-		// Compute hash by streaming from the persisted database blob
-		computeAndSetHash(attachmentEntity);
+		// Share already stored content with identical hash instead of keeping a second copy
+		attachmentDataService.deduplicate(attachmentEntity);
 
 		errandEntity.getAttachments().add(attachmentEntity);
 
@@ -141,6 +142,7 @@ public class ErrandAttachmentService {
 			// Update errand after removal of attachment and create new revision
 			errandEntity.getAttachments().remove(attachmentEntity);
 			entity = errandsRepository.save(errandEntity);
+			attachmentDataService.release(attachmentEntity.getAttachmentData());
 
 		} catch (final Exception _) {
 			throw Problem.valueOf(INTERNAL_SERVER_ERROR, String.format("Failed to delete attachment with id '%s' from errand with id '%s'", attachmentId, errandId));
@@ -155,12 +157,28 @@ public class ErrandAttachmentService {
 		}
 	}
 
+	/**
+	 * Delete all attachments of an errand that is about to be deleted, releasing the content they refer to.
+	 *
+	 * @param errandEntity the errand to delete attachments for.
+	 */
 	@Transactional
-	public void createErrandAttachment(final AttachmentEntity attachmentEntity, final ErrandEntity errandEntity) {
-		attachmentRepository.saveAndFlush(attachmentEntity);
+	public void deleteErrandAttachments(final ErrandEntity errandEntity) {
+		ofNullable(errandEntity.getAttachments()).ifPresent(attachments -> {
+			final var removed = List.copyOf(attachments);
+			attachments.clear();
+			attachmentRepository.deleteAll(removed);
+			removed.forEach(attachment -> attachmentDataService.release(attachment.getAttachmentData()));
+		});
+	}
 
-		// Compute hash by streaming from the persisted database blob
+	@Transactional
+	public void createErrandAttachment(final AttachmentEntity attachmentEntity, final ErrandEntity errandEntity) {
+		// The content is shared with an existing blob, hence the hash is computed from that blob before it is saved
 		computeAndSetHash(attachmentEntity);
+		attachmentDataService.acquire(attachmentEntity.getAttachmentData());
+		attachmentRepository.saveAndFlush(attachmentEntity);
+		attachmentDataService.deduplicate(attachmentEntity);
 
 		final var revisionResult = revisionService.createErrandRevision(errandEntity);
 		if (revisionResult != null) {
@@ -209,13 +227,19 @@ public class ErrandAttachmentService {
 	}
 
 	private void computeAndSetHash(final AttachmentEntity attachmentEntity) {
+		if (nonNull(attachmentEntity.getHash())) {
+			return;
+		}
 		try {
-			// Refresh to get a database-backed blob (the in-memory BlobProxy is not re-readable after flush)
-			entityManager.refresh(attachmentEntity);
-			final var hash = computeSha256Hex(attachmentEntity.getAttachmentData().getFile().getBinaryStream());
-			attachmentEntity.setHash(hash);
+			attachmentEntity.setHash(computeSha256Hex(attachmentEntity.getAttachmentData().getFile().getBinaryStream()));
 		} catch (final SQLException e) {
-			LOG.warn("Failed to compute hash for attachment {}: {}", attachmentEntity.getId(), e.getMessage());
+			LOG.warn("Failed to compute hash for attachment: {}", e.getMessage());
+		}
+	}
+
+	private void verifyHash(final AttachmentEntity attachmentEntity) {
+		if (isNull(attachmentEntity.getHash())) {
+			LOG.warn("No hash was computed for attachment {}, the content was not fully read when it was stored", attachmentEntity.getId());
 		}
 	}
 }
@@ -0,0 +1,103 @@
+package se.sundsvall.supportmanagement.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.support.Identifier;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.util.ErrandCursor;
+import tools.jackson.databind.ObjectMapper;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.ofNullable;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey.CREATED;
+import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.toErrandWithAccessControl;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.isAfterCursor;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withMunicipalityId;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withNamespace;
+
+/**
+ * Streams matching errands as newline delimited JSON. Errands are read in chunks of chunk-size rows, each chunk
+ * continuing after the last errand of the previous one in (created, id) order. Every chunk is fully read before it is
+ * mapped, so the collections of its errands are batch fetched without a cursor being open on the connection, and the
+ * persistence context is cleared between chunks, so memory usage does not grow with the number of exported errands.
+ */
+@Service
+public class ErrandExportService {
+
+	private static final byte[] NEW_LINE = "\n".getBytes(UTF_8);
+	private static final String ID = "id";
+
+	private final EntityManager entityManager;
+	private final AccessControlService accessControlService;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Errands read and mapped at a time. Collections of errands are batch fetched 100 at a time, hence a chunk size above
+	 * 100 costs more than one statement per collection and chunk.
+	 */
+	@Value("${errand.export.chunk-size:100}")
+	private int chunkSize = 100;
+
+	public ErrandExportService(final EntityManager entityManager, final AccessControlService accessControlService, final ObjectMapper objectMapper) {
+		this.entityManager = entityManager;
+		this.accessControlService = accessControlService;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(readOnly = true)
+	public void exportErrands(final String namespace, final String municipalityId, final Specification<ErrandEntity> filter, final HttpServletResponse response) {
+		final var baseFilter = withNamespace(namespace).and(withMunicipalityId(municipalityId)).and(accessControlService.withAccessControl(namespace, municipalityId, Identifier.get()));
+		final var fullFilter = ofNullable(filter).map(baseFilter::and).orElse(baseFilter);
+		final var limitedMapping = accessControlService.limitedMappingPredicateByLabel(namespace, municipalityId, Identifier.get());
+
+		final var session = entityManager.unwrap(Session.class);
+		response.setContentType(APPLICATION_NDJSON_VALUE);
+		response.setCharacterEncoding(UTF_8.name());
+
+		try {
+			final var outputStream = response.getOutputStream();
+			var chunk = readChunk(session, fullFilter, null);
+			while (!chunk.isEmpty()) {
+				for (final var errandEntity : chunk) {
+					outputStream.write(objectMapper.writeValueAsBytes(toErrandWithAccessControl(errandEntity, limitedMapping)));
+					outputStream.write(NEW_LINE);
+				}
+				outputStream.flush();
+
+				final var last = ErrandCursor.of(CREATED, ASC, chunk.getLast());
+				session.clear();
+				chunk = chunk.size() < chunkSize ? List.of() : readChunk(session, fullFilter, last);
+			}
+		} catch (final IOException e) {
+			throw Problem.valueOf(INTERNAL_SERVER_ERROR, "%s occurred when exporting errands: %s".formatted(e.getClass().getSimpleName(), e.getMessage()));
+		}
+	}
+
+	private List<ErrandEntity> readChunk(final Session session, final Specification<ErrandEntity> filter, final ErrandCursor after) {
+		final var criteriaBuilder = entityManager.getCriteriaBuilder();
+		final var query = criteriaBuilder.createQuery(ErrandEntity.class);
+		final var root = query.from(ErrandEntity.class);
+
+		final var chunkFilter = ofNullable(after).map(cursor -> filter.and(isAfterCursor(cursor))).orElse(filter);
+		query.select(root).orderBy(criteriaBuilder.asc(root.get(CREATED.getAttribute())), criteriaBuilder.asc(root.get(ID)));
+		ofNullable(chunkFilter.toPredicate(root, query, criteriaBuilder)).ifPresent(query::where);
+
+		return session.createSelectionQuery(query)
+			.setReadOnly(true)
+			.setCacheMode(CacheMode.IGNORE)
+			.setMaxResults(chunkSize)
+			.getResultList();
+	}
+}
@@ -4,6 +4,7 @@ import generated.se.sundsvall.accessmapper.Access;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -12,6 +13,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,11 +23,13 @@ import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.dept44.support.Relation;
 import se.sundsvall.supportmanagement.api.model.config.action.enums.OperationType;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
-import se.sundsvall.supportmanagement.integration.db.AttachmentRepository;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey;
+import se.sundsvall.supportmanagement.api.model.errand.FindErrandsCursorResponse;
 import se.sundsvall.supportmanagement.integration.db.ContactReasonRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
 import se.sundsvall.supportmanagement.integration.db.model.AccessLabelEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.ContactReasonEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandLabelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
@@ -32,6 +37,7 @@ import se.sundsvall.supportmanagement.integration.db.util.ErrandNumberGeneratorS
 import se.sundsvall.supportmanagement.integration.notes.NotesClient;
 import se.sundsvall.supportmanagement.integration.relation.RelationClient;
 import se.sundsvall.supportmanagement.service.mapper.ErrandMapper;
+import se.sundsvall.supportmanagement.service.util.ErrandCursor;
 
 import static generated.se.sundsvall.eventlog.EventType.CREATE;
 import static generated.se.sundsvall.eventlog.EventType.DELETE;
@@ -50,6 +56,7 @@ import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.toErran
 import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.toErrandsWithAccessControl;
 import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.updateEntity;
 import static se.sundsvall.supportmanagement.service.util.ETagUtil.validateIfMatch;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.isAfterCursor;
 import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withMunicipalityId;
 import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withNamespace;
 
@@ -70,7 +77,6 @@ public class ErrandService {
 	private final ErrandNumberGeneratorService errandNumberGeneratorService;
 	private final ErrandAttachmentService errandAttachmentService;
 	private final CommunicationService communicationService;
-	private final AttachmentRepository attachmentRepository;
 	private final ConversationService conversationService;
 	private final NotesClient notesClient;
 	private final AccessControlService accessControlService;
@@ -78,13 +84,14 @@ public class ErrandService {
 	private final MetadataLabelRepository metadataLabelRepository;
 	private final ErrandActionService errandActionService;
 	private final ErrandPhaseService errandPhaseService;
+	private final AccessSetService accessSetService;
 	private final EntityManager entityManager;
+	private final MetadataSnapshotService metadataSnapshotService;
 
 	public ErrandService(
 		final ErrandsRepository repository,
 		final ContactReasonRepository contactReasonRepository,
 		final CommunicationService communicationService,
-		final AttachmentRepository attachmentRepository,
 		final RevisionService revisionService,
 		final EventService eventService,
 		final ErrandNumberGeneratorService errandNumberGeneratorService,
@@ -96,12 +103,13 @@ public class ErrandService {
 		final MetadataLabelRepository metadataLabelRepository,
 		final ErrandActionService errandActionService,
 		final ErrandPhaseService errandPhaseService,
-		final EntityManager entityManager) {
+		final AccessSetService accessSetService,
+		final EntityManager entityManager,
+		final MetadataSnapshotService metadataSnapshotService) {
 
 		this.repository = repository;
 		this.contactReasonRepository = contactReasonRepository;
 		this.communicationService = communicationService;
-		this.attachmentRepository = attachmentRepository;
 		this.revisionService = revisionService;
 		this.eventService = eventService;
 		this.errandNumberGeneratorService = errandNumberGeneratorService;
@@ -113,7 +121,9 @@ public class ErrandService {
 		this.metadataLabelRepository = metadataLabelRepository;
 		this.errandActionService = errandActionService;
 		this.errandPhaseService = errandPhaseService;
+		this.accessSetService = accessSetService;
 		this.entityManager = entityManager;
+		this.metadataSnapshotService = metadataSnapshotService;
 	}
 
 	@Transactional
@@ -122,8 +132,7 @@ public class ErrandService {
 
 		final var errandEntity = toErrandEntity(namespace, municipalityId, errand);
 		Optional.ofNullable(errand.getContactReason()).ifPresent(reason -> {
-			final var contactReason = contactReasonRepository.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(reason, namespace, municipalityId)
-				.orElseThrow(() -> Problem.valueOf(BAD_REQUEST, BAD_CONTACT_REASON.formatted(reason, namespace, municipalityId)));
+			final var contactReason = findContactReason(namespace, municipalityId, reason);
 
 			errandEntity
 				.withContactReason(contactReason)
@@ -160,15 +169,52 @@ public class ErrandService {
 	public Page<Errand> findErrands(final String namespace, final String municipalityId, final Specification<ErrandEntity> filter, final Pageable pageable) {
 		final var baseFilter = withNamespace(namespace).and(withMunicipalityId(municipalityId)).and(accessControlService.withAccessControl(namespace, municipalityId, Identifier.get()));
 		final var fullFilter = ofNullable(filter).map(baseFilter::and).orElse(baseFilter);
-		final var matches = repository.findAll(fullFilter, pageable);
+		final var matches = repository.findSummaryPage(fullFilter, pageable);
 		final var limitedMapping = accessControlService.limitedMappingPredicateByLabel(namespace, municipalityId, Identifier.get());
 
 		return new PageImpl<>(toErrandsWithAccessControl(matches.getContent(), limitedMapping), pageable, matches.getTotalElements());
 	}
 
+	/**
+	 * Finds errands using keyset (seek) paging. In contrast to {@link #findErrands(String, String, Specification, Pageable)}
+	 * no total count is calculated and no rows are skipped by offset, the page instead starts directly after the position
+	 * encoded in the provided cursor.
+	 *
+	 * @param  namespace      the namespace
+	 * @param  municipalityId the municipality id
+	 * @param  filter         optional filter to apply
+	 * @param  sortKey        the attribute to sort by, ignored when a cursor is provided
+	 * @param  direction      the sort direction, ignored when a cursor is provided
+	 * @param  limit          the maximum number of errands to return
+	 * @param  cursor         optional cursor returned by a previous call, null to fetch the first page
+	 * @return                matching errands and a cursor for the next page if there are more matches
+	 */
+	@Transactional(readOnly = true)
+	public FindErrandsCursorResponse findErrandsByCursor(final String namespace, final String municipalityId, final Specification<ErrandEntity> filter, final ErrandSortKey sortKey, final Direction direction, final int limit,
+		final String cursor) {
+		final var position = ofNullable(cursor).map(ErrandCursor::decode);
+		final var effectiveSortKey = position.map(ErrandCursor::sortKey).orElse(sortKey);
+		final var effectiveDirection = position.map(ErrandCursor::direction).orElse(direction);
+
+		final var baseFilter = withNamespace(namespace).and(withMunicipalityId(municipalityId)).and(accessControlService.withAccessControl(namespace, municipalityId, Identifier.get()));
+		final var filtered = ofNullable(filter).map(baseFilter::and).orElse(baseFilter);
+		final var fullFilter = position.map(it -> filtered.and(isAfterCursor(it))).orElse(filtered);
+		final var sort = Sort.by(effectiveDirection, effectiveSortKey.getAttribute(), "id");
+
+		// Fetch one extra row to find out if there is a next page without counting all matches
+		final List<ErrandEntity> matches = repository.findBy(fullFilter, query -> query.sortBy(sort).limit(limit + 1).all());
+		final var hasNext = matches.size() > limit;
+		final var page = hasNext ? matches.subList(0, limit) : matches;
+		final var limitedMapping = accessControlService.limitedMappingPredicateByLabel(namespace, municipalityId, Identifier.get());
+
+		return FindErrandsCursorResponse.create()
+			.withErrands(toErrandsWithAccessControl(page, limitedMapping))
+			.withNextCursor(hasNext ? ErrandCursor.of(effectiveSortKey, effectiveDirection, page.getLast()).encode() : null);
+	}
+
 	@Transactional(readOnly = true)
 	public Errand readErrand(final String namespace, final String municipalityId, final String id) {
-		final var errandEntity = accessControlService.getErrand(namespace, municipalityId, id, false);
+		final var errandEntity = accessControlService.getErrandWithStakeholders(namespace, municipalityId, id);
 		final var limitedMapping = accessControlService.limitedMappingPredicateByLabel(namespace, municipalityId, Identifier.get());
 		return toErrandWithAccessControl(errandEntity, limitedMapping);
 	}
@@ -189,8 +235,7 @@ public class ErrandService {
 		errandPhaseService.validateStatusAgainstActivePhase(errandEntity, errand.getStatus());
 
 		Optional.ofNullable(errand.getContactReason()).ifPresent(reason -> {
-			final var contactReason = contactReasonRepository.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(reason, namespace, municipalityId)
-				.orElseThrow(() -> Problem.valueOf(BAD_REQUEST, BAD_CONTACT_REASON.formatted(reason, namespace, municipalityId)));
+			final var contactReason = findContactReason(namespace, municipalityId, reason);
 
 			errandEntity.withContactReason(contactReason);
 		});
@@ -231,8 +276,7 @@ public class ErrandService {
 		}
 
 		communicationService.deleteAllCommunicationsByErrandNumber(entity.getErrandNumber());
-		errandAttachmentService.readErrandAttachments(namespace, municipalityId, id)
-			.forEach(attachment -> attachmentRepository.deleteById(attachment.getId()));
+		errandAttachmentService.deleteErrandAttachments(entity);
 
 		try {
 			final var notes = notesClient.findNotes(municipalityId, null, null, id, null, null, 1, 1000);
@@ -262,6 +306,16 @@ public class ErrandService {
 		return repository.count(fullFilter);
 	}
 
+	/**
+	 * Resolves the contact reason through the metadata snapshot of the namespace, only a reference to it is attached to the
+	 * errand.
+	 */
+	private ContactReasonEntity findContactReason(final String namespace, final String municipalityId, final String reason) {
+		return metadataSnapshotService.getSnapshot(namespace, municipalityId).findContactReasonId(reason)
+			.map(contactReasonRepository::getReferenceById)
+			.orElseThrow(() -> Problem.valueOf(BAD_REQUEST, BAD_CONTACT_REASON.formatted(reason, namespace, municipalityId)));
+	}
+
 	private void computeAndSetAccessLabels(final ErrandEntity errandEntity) {
 		final var allLabelIds = ofNullable(errandEntity.getLabels())
 			.orElse(emptyList())
@@ -271,6 +325,7 @@ public class ErrandService {
 
 		if (allLabelIds.isEmpty()) {
 			errandEntity.setAccessLabels(new ArrayList<>());
+			errandEntity.setAccessSetKey(null);
 			return;
 		}
 
@@ -292,6 +347,9 @@ public class ErrandService {
 			.collect(Collectors.toCollection(ArrayList::new));
 
 		errandEntity.setAccessLabels(accessLabels);
+		errandEntity.setAccessSetKey(accessSetService.register(errandEntity.getNamespace(), errandEntity.getMunicipalityId(), accessLabels.stream()
+			.map(AccessLabelEmbeddable::getMetadataLabelId)
+			.toList()));
 	}
 
 	se.sundsvall.dept44.support.Relation expandRelation(final String referredFromAsString) {
@@ -6,11 +6,11 @@ import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
 import se.sundsvall.supportmanagement.api.model.event.Event;
@@ -30,6 +30,7 @@ import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
 import static se.sundsvall.supportmanagement.Constants.EXTERNAL_TAG_KEY_CASE_ID;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.NOTE;
 import static se.sundsvall.supportmanagement.service.mapper.EventlogMapper.toEvent;
+import static se.sundsvall.supportmanagement.service.mapper.EventlogMapper.toEventId;
 import static se.sundsvall.supportmanagement.service.mapper.EventlogMapper.toMetadataMap;
 import static se.sundsvall.supportmanagement.service.mapper.NotificationMapper.toNotification;
 import static se.sundsvall.supportmanagement.service.util.ServiceUtil.getAdUser;
@@ -41,16 +42,26 @@ public class EventService {
 
 	private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
+	/**
+	 * When enabled, events are written to the eventlog outbox and published by a scheduler instead of being sent to
+	 * Eventlog while the request waits.
+	 */
+	@Value("${scheduler.eventlog-outbox.enabled:true}")
+	private boolean outboxEnabled = true;
+
 	private final EventlogClient eventLogClient;
 	private final NotificationService notificationService;
 	private final ApplicationEventPublisher eventPublisher;
 	private final NotificationDispatchRepository notificationDispatchRepository;
+	private final EventlogOutboxService eventlogOutboxService;
 
-	public EventService(final EventlogClient eventLogClient, final NotificationService notificationService, final ApplicationEventPublisher eventPublisher, final NotificationDispatchRepository notificationDispatchRepository) {
+	public EventService(final EventlogClient eventLogClient, final NotificationService notificationService, final ApplicationEventPublisher eventPublisher, final NotificationDispatchRepository notificationDispatchRepository,
+		final EventlogOutboxService eventlogOutboxService) {
 		this.eventLogClient = eventLogClient;
 		this.notificationService = notificationService;
 		this.eventPublisher = eventPublisher;
 		this.notificationDispatchRepository = notificationDispatchRepository;
+		this.eventlogOutboxService = eventlogOutboxService;
 	}
 
 	public void createErrandEvent(final EventType eventType, final String message, final ErrandEntity errandEntity, final Revision currentRevision, final Revision previousRevision, final boolean sendNotification, final EventSubType subtype) {
@@ -58,18 +69,24 @@ public class EventService {
 		final var metadata = toMetadataMap(errandEntity, currentRevision, previousRevision);
 		final var event = toEvent(eventType, message, extractId(currentRevision), Errand.class, metadata, getExecutingUser(), subtype.getValue(), requestGroupId);
 		String eventId = null;
-		try {
-			eventId = extractEventId(eventLogClient.createEvent(errandEntity.getMunicipalityId(), errandEntity.getId(), event));
-		} catch (final Exception e) {
-			LOG.warn("Failed to create event log entry for errand {}: {}", sanitizeForLogging(errandEntity.getId()), sanitizeForLogging(e.getMessage()));
+		if (!outboxEnabled) {
+			try {
+				eventId = toEventId(eventLogClient.createEvent(errandEntity.getMunicipalityId(), errandEntity.getId(), event));
+			} catch (final Exception e) {
+				LOG.warn("Failed to create event log entry for errand {}: {}", sanitizeForLogging(errandEntity.getId()), sanitizeForLogging(e.getMessage()));
+			}
 		}
 		if (eventType != EventType.DELETE) {
 			eventPublisher.publishEvent(new AutoSubscribeEvent(errandEntity));
 		}
 
+		NotificationDispatchEntity dispatchEntry = null;
 		if (sendNotification) {
 			createNotification(errandEntity, event);
-			saveDispatchEntry(errandEntity, eventType, requestGroupId, eventId, message, subtype.getValue());
+			dispatchEntry = saveDispatchEntry(errandEntity, eventType, requestGroupId, eventId, message, subtype.getValue());
+		}
+		if (outboxEnabled) {
+			eventlogOutboxService.enqueue(errandEntity.getMunicipalityId(), errandEntity.getId(), event, dispatchEntry);
 		}
 	}
 
@@ -83,14 +100,19 @@ public class EventService {
 		final var metadata = toMetadataMap(caseId, noteId, currentRevision, previousRevision, errandEntity.getNamespace());
 		final var event = toEvent(eventType, message, extractId(currentRevision), Note.class, metadata, getExecutingUser(), NOTE.getValue(), requestGroupId);
 		String eventId = null;
-		try {
-			eventId = extractEventId(eventLogClient.createEvent(errandEntity.getMunicipalityId(), logKey, event));
-		} catch (final Exception e) {
-			LOG.warn("Failed to create event log entry for errand note {}: {}", sanitizeForLogging(logKey), sanitizeForLogging(e.getMessage()));
+		if (!outboxEnabled) {
+			try {
+				eventId = toEventId(eventLogClient.createEvent(errandEntity.getMunicipalityId(), logKey, event));
+			} catch (final Exception e) {
+				LOG.warn("Failed to create event log entry for errand note {}: {}", sanitizeForLogging(logKey), sanitizeForLogging(e.getMessage()));
+			}
 		}
 		eventPublisher.publishEvent(new AutoSubscribeEvent(errandEntity));
 		createNotification(errandEntity, event);
-		saveDispatchEntry(errandEntity, eventType, requestGroupId, eventId, message, NOTE.getValue());
+		final var dispatchEntry = saveDispatchEntry(errandEntity, eventType, requestGroupId, eventId, message, NOTE.getValue());
+		if (outboxEnabled) {
+			eventlogOutboxService.enqueue(errandEntity.getMunicipalityId(), logKey, event, dispatchEntry);
+		}
 	}
 
 	public Page<Event> readEvents(final String municipalityId, final String id, final Pageable pageable) {
@@ -106,9 +128,9 @@ public class EventService {
 		return ofNullable(currentRevision).map(Revision::getId).orElse(null);
 	}
 
-	private void saveDispatchEntry(final ErrandEntity errandEntity, final EventType eventType, final String requestGroupId, final String eventId, final String description, final String subType) {
+	private NotificationDispatchEntity saveDispatchEntry(final ErrandEntity errandEntity, final EventType eventType, final String requestGroupId, final String eventId, final String description, final String subType) {
 		final var executingUser = getExecutingUser();
-		notificationDispatchRepository.save(NotificationDispatchEntity.create()
+		return notificationDispatchRepository.save(NotificationDispatchEntity.create()
 			.withEventId(eventId)
 			.withRequestGroupId(requestGroupId)
 			.withErrandId(errandEntity.getId())
@@ -120,13 +142,6 @@ public class EventService {
 			.withExecutingUserId(Optional.ofNullable(executingUser).map(u -> u.getValue()).orElse(null)));
 	}
 
-	private String extractEventId(final ResponseEntity<Void> response) {
-		return ofNullable(response.getHeaders().getLocation())
-			.map(uri -> uri.getPath())
-			.map(path -> path.substring(path.lastIndexOf('/') + 1))
-			.orElse(null);
-	}
-
 	private void createNotification(final ErrandEntity errandEntity, final generated.se.sundsvall.eventlog.Event event) {
 		Optional.ofNullable(errandEntity.getAssignedUserId()).ifPresent(_ -> {
 			final var notification = toNotification(event, errandEntity, getAdUser());
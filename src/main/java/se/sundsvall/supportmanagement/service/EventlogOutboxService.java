@@ -0,0 +1,131 @@
+package se.sundsvall.supportmanagement.service;
+
+import generated.se.sundsvall.eventlog.Event;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.EventlogOutboxRepository;
+import se.sundsvall.supportmanagement.integration.db.NotificationDispatchRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EventlogOutboxEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+/**
+ * Keeps Eventlog events in an outbox table until they have been accepted by Eventlog. Events are written in the
+ * transaction of the change they describe and published later by the eventlog outbox scheduler, so a request never
+ * waits on Eventlog and an event is never lost because Eventlog was unavailable.
+ */
+@Service
+public class EventlogOutboxService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EventlogOutboxService.class);
+
+	/**
+	 * How many failed attempts an entry may have before it is dropped.
+	 */
+	@Value("${scheduler.eventlog-outbox.max-attempts:10}")
+	private int maxAttempts = 10;
+
+	/**
+	 * The delay before the first retry. The delay is doubled for each subsequent failure.
+	 */
+	@Value("${scheduler.eventlog-outbox.initial-backoff:PT30S}")
+	private Duration initialBackoff = Duration.ofSeconds(30);
+
+	/**
+	 * The longest delay between two attempts.
+	 */
+	@Value("${scheduler.eventlog-outbox.max-backoff:PT1H}")
+	private Duration maxBackoff = Duration.ofHours(1);
+
+	private final EventlogOutboxRepository eventlogOutboxRepository;
+	private final NotificationDispatchRepository notificationDispatchRepository;
+	private final ObjectMapper objectMapper;
+
+	public EventlogOutboxService(final EventlogOutboxRepository eventlogOutboxRepository, final NotificationDispatchRepository notificationDispatchRepository, final ObjectMapper objectMapper) {
+		this.eventlogOutboxRepository = eventlogOutboxRepository;
+		this.notificationDispatchRepository = notificationDispatchRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Adds an event to the outbox, joining the caller's transaction when there is one.
+	 *
+	 * @param municipalityId       the municipality the event belongs to
+	 * @param logKey               the log key to store the event under
+	 * @param event                the event to publish
+	 * @param notificationDispatch the dispatch entry that should receive the Eventlog id once known, or null if none
+	 */
+	@Transactional
+	public void enqueue(final String municipalityId, final String logKey, final Event event, final NotificationDispatchEntity notificationDispatch) {
+		eventlogOutboxRepository.save(EventlogOutboxEntity.create()
+			.withMunicipalityId(municipalityId)
+			.withLogKey(logKey)
+			.withNotificationDispatchId(ofNullable(notificationDispatch).map(NotificationDispatchEntity::getId).orElse(null))
+			.withPayload(objectMapper.writeValueAsString(event)));
+	}
+
+	@Transactional(readOnly = true)
+	public List<EventlogOutboxEntity> findDue(final int batchSize) {
+		return eventlogOutboxRepository.findByNextAttemptLessThanEqualOrderByCreated(now(systemDefault()), PageRequest.of(0, batchSize));
+	}
+
+	public Event toEvent(final EventlogOutboxEntity entry) {
+		return objectMapper.readValue(entry.getPayload(), Event.class);
+	}
+
+	/**
+	 * Removes a published entry and hands the Eventlog id over to its dispatch entry, if that entry still exists.
+	 *
+	 * @param entry   the published entry
+	 * @param eventId the id Eventlog assigned to the event, or null if Eventlog did not return one
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markPublished(final EventlogOutboxEntity entry, final String eventId) {
+		eventlogOutboxRepository.deleteById(entry.getId());
+
+		if (nonNull(entry.getNotificationDispatchId()) && nonNull(eventId)) {
+			notificationDispatchRepository.updateEventId(entry.getNotificationDispatchId(), eventId);
+		}
+	}
+
+	/**
+	 * Schedules a failed entry for a new attempt with exponential backoff, or drops it once {@code maxAttempts} is
+	 * reached.
+	 *
+	 * @param entry the entry that could not be published
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markFailed(final EventlogOutboxEntity entry) {
+		final var attempts = entry.getAttempts() + 1;
+
+		if (attempts >= maxAttempts) {
+			LOG.error("Giving up on event log entry {} for log key {} after {} attempts", entry.getId(), sanitizeForLogging(entry.getLogKey()), attempts);
+			eventlogOutboxRepository.deleteById(entry.getId());
+			return;
+		}
+
+		eventlogOutboxRepository.save(entry
+			.withAttempts(attempts)
+			.withNextAttempt(now(systemDefault()).plus(backoff(attempts)).truncatedTo(MILLIS)));
+	}
+
+	private Duration backoff(final int attempts) {
+		// The shift is capped to keep the multiplication from overflowing, maxBackoff is reached long before that anyway
+		final var backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+		return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+	}
+}
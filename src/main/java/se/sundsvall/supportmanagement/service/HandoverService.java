@@ -2,8 +2,12 @@ package se.sundsvall.supportmanagement.service;
 
 import generated.se.sundsvall.relation.Relation;
 import generated.se.sundsvall.relation.ResourceIdentifier;
+import java.io.IOException;
 import java.net.URI;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
@@ -35,6 +39,7 @@ import se.sundsvall.supportmanagement.service.mapper.HandoverMapper;
 import static generated.se.sundsvall.eventlog.EventType.CREATE;
 import static generated.se.sundsvall.eventlog.EventType.UPDATE;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -62,6 +67,7 @@ public class HandoverService {
 	private final MetadataService metadataService;
 	private final ErrandsRepository errandsRepository;
 	private final AttachmentRepository attachmentRepository;
+	private final AttachmentDataService attachmentDataService;
 	private final RevisionService revisionService;
 	private final EventService eventService;
 	private final RelationClient relationClient;
@@ -75,6 +81,7 @@ public class HandoverService {
 		final MetadataService metadataService,
 		final ErrandsRepository errandsRepository,
 		final AttachmentRepository attachmentRepository,
+		final AttachmentDataService attachmentDataService,
 		final RevisionService revisionService,
 		final EventService eventService,
 		final RelationClient relationClient,
@@ -87,6 +94,7 @@ public class HandoverService {
 		this.metadataService = metadataService;
 		this.errandsRepository = errandsRepository;
 		this.attachmentRepository = attachmentRepository;
+		this.attachmentDataService = attachmentDataService;
 		this.revisionService = revisionService;
 		this.eventService = eventService;
 		this.relationClient = relationClient;
@@ -243,25 +251,30 @@ public class HandoverService {
 		final var sourceAttachments = Optional.ofNullable(freshSource.getAttachments()).orElse(List.of());
 		for (final var sourceAttachment : sourceAttachments) {
 			final var sourceData = sourceAttachment.getAttachmentData();
-			if (isNull(sourceData) || isNull(sourceData.getFile())) {
+			if (isNull(sourceData)) {
 				continue;
 			}
 			try {
-				final var blob = sourceData.getFile();
-				try (final var inputStream = blob.getBinaryStream()) {
-					final var newBlob = Hibernate.getLobHelper().createBlob(inputStream, blob.length());
-					final var newAttachment = AttachmentEntity.create()
-						.withErrandEntity(target)
-						.withNamespace(targetNamespace)
-						.withMunicipalityId(targetMunicipalityId)
-						.withFileName(sourceAttachment.getFileName())
-						.withMimeType(sourceAttachment.getMimeType())
-						.withChannel(sourceAttachment.getChannel())
-						.withFileSize(sourceAttachment.getFileSize())
-						.withAttachmentData(AttachmentDataEntity.create().withFile(newBlob));
-					attachmentRepository.saveAndFlush(newAttachment);
-					target.getAttachments().add(newAttachment);
+				final var newAttachment = AttachmentEntity.create()
+					.withErrandEntity(target)
+					.withNamespace(targetNamespace)
+					.withMunicipalityId(targetMunicipalityId)
+					.withFileName(sourceAttachment.getFileName())
+					.withMimeType(sourceAttachment.getMimeType())
+					.withChannel(sourceAttachment.getChannel())
+					.withFileSize(sourceAttachment.getFileSize())
+					.withHash(sourceAttachment.getHash());
+
+				if (Objects.equals(sourceAttachment.getMunicipalityId(), targetMunicipalityId)) {
+					// Content is stored once per municipality, hence the target shares the content of the source
+					attachmentDataService.acquire(sourceData);
+					attachmentRepository.saveAndFlush(newAttachment.withAttachmentData(sourceData));
+				} else if (nonNull(sourceData.getFile())) {
+					copyContent(newAttachment, sourceData.getFile());
+				} else {
+					continue;
 				}
+				target.getAttachments().add(newAttachment);
 			} catch (final Exception e) {
 				throw Problem.valueOf(INTERNAL_SERVER_ERROR,
 					"Failed to copy attachment '%s': %s".formatted(sourceAttachment.getFileName(), e.getMessage()));
@@ -269,6 +282,14 @@ public class HandoverService {
 		}
 	}
 
+	private void copyContent(final AttachmentEntity attachment, final Blob blob) throws SQLException, IOException {
+		try (final var inputStream = blob.getBinaryStream()) {
+			attachmentRepository.saveAndFlush(attachment.withAttachmentData(AttachmentDataEntity.create().withFile(Hibernate.getLobHelper().createBlob(inputStream, blob.length()))));
+		}
+		// Share identical content already stored in the target municipality, if any
+		attachmentDataService.deduplicate(attachment);
+	}
+
 	private String createHandoverRelation(
 		final ErrandEntity source,
 		final String newErrandId,
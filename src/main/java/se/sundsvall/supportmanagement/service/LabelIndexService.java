@@ -0,0 +1,29 @@
+package se.sundsvall.supportmanagement.service;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
+import se.sundsvall.supportmanagement.service.util.LabelPathIndex;
+
+/**
+ * Holds the labels of each namespace compiled into a {@link LabelPathIndex}. An index is built on first use and kept
+ * until the labels of its namespace are changed, which invalidates the cache on every node.
+ */
+@Service
+public class LabelIndexService {
+
+	static final String LABEL_INDEX_CACHE_NAME = "labelIndexCache";
+
+	private final MetadataLabelRepository metadataLabelRepository;
+
+	public LabelIndexService(final MetadataLabelRepository metadataLabelRepository) {
+		this.metadataLabelRepository = metadataLabelRepository;
+	}
+
+	@Cacheable(value = LABEL_INDEX_CACHE_NAME, key = "{#namespace, #municipalityId}")
+	@Transactional(readOnly = true)
+	public LabelPathIndex getIndex(final String namespace, final String municipalityId) {
+		return LabelPathIndex.of(metadataLabelRepository.findByNamespaceAndMunicipalityId(namespace, municipalityId));
+	}
+}
@@ -1,6 +1,7 @@
 package se.sundsvall.supportmanagement.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -9,7 +10,6 @@ import java.util.stream.Stream;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.AntPathMatcher;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.api.model.metadata.Category;
 import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
@@ -44,6 +44,7 @@ import static java.util.Optional.ofNullable;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.util.CollectionUtils.isEmpty;
+import static se.sundsvall.supportmanagement.service.MetadataSnapshotService.METADATA_SNAPSHOT_CACHE_NAME;
 import static se.sundsvall.supportmanagement.service.mapper.MetadataMapper.toCategory;
 import static se.sundsvall.supportmanagement.service.mapper.MetadataMapper.toCategoryEntity;
 import static se.sundsvall.supportmanagement.service.mapper.MetadataMapper.toContactReason;
@@ -91,7 +92,8 @@ public class MetadataService {
 	private final StatusRepository statusRepository;
 	private final ValidationRepository validationRepository;
 	private final ContactReasonRepository contactReasonRepository;
-	private final AntPathMatcher pathMatcher;
+	private final CacheInvalidationService cacheInvalidationService;
+	private final LabelIndexService labelIndexService;
 
 	public MetadataService(final CategoryRepository categoryRepository,
 		final ErrandsRepository errandsRepository,
@@ -101,7 +103,9 @@ public class MetadataService {
 		final RoleRepository roleRepository,
 		final StatusRepository statusRepository,
 		final ValidationRepository validationRepository,
-		final ContactReasonRepository contactReasonRepository) {
+		final ContactReasonRepository contactReasonRepository,
+		final CacheInvalidationService cacheInvalidationService,
+		final LabelIndexService labelIndexService) {
 		this.categoryRepository = categoryRepository;
 		this.errandsRepository = errandsRepository;
 		this.externalIdTypeRepository = externalIdTypeRepository;
@@ -111,8 +115,8 @@ public class MetadataService {
 		this.statusRepository = statusRepository;
 		this.validationRepository = validationRepository;
 		this.contactReasonRepository = contactReasonRepository;
-		this.pathMatcher = new AntPathMatcher();
-		this.pathMatcher.setCaseSensitive(false);
+		this.cacheInvalidationService = cacheInvalidationService;
+		this.labelIndexService = labelIndexService;
 	}
 
 	// =================================================================
@@ -188,7 +192,9 @@ public class MetadataService {
 			throw Problem.valueOf(BAD_REQUEST, ITEM_ALREADY_EXISTS_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(STATUS, status.getName(), namespace, municipalityId));
 		}
 
-		return statusRepository.save(toStatusEntity(namespace, municipalityId, status)).getId();
+		final var id = statusRepository.save(toStatusEntity(namespace, municipalityId, status)).getId();
+		invalidateSnapshot();
+		return id;
 	}
 
 	public Status getStatus(final String namespace, final String municipalityId, final String id) {
@@ -212,6 +218,7 @@ public class MetadataService {
 		}
 
 		statusRepository.deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		invalidateSnapshot();
 	}
 
 	public Status updateStatus(final String namespace, final String municipalityId, final String id, final Status status) {
@@ -219,7 +226,9 @@ public class MetadataService {
 			throw Problem.valueOf(NOT_FOUND, ITEM_NOT_PRESENT_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(STATUS, id, namespace, municipalityId));
 		}
 		final var entity = updateStatusEntity(statusRepository.getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId), status);
-		return toStatus(statusRepository.save(entity));
+		final var updated = toStatus(statusRepository.save(entity));
+		invalidateSnapshot();
+		return updated;
 	}
 
 	// =================================================================
@@ -231,7 +240,9 @@ public class MetadataService {
 			throw Problem.valueOf(BAD_REQUEST, ITEM_ALREADY_EXISTS_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(ROLE, role.getName(), namespace, municipalityId));
 		}
 
-		return roleRepository.save(toRoleEntity(namespace, municipalityId, role)).getId();
+		final var id = roleRepository.save(toRoleEntity(namespace, municipalityId, role)).getId();
+		invalidateSnapshot();
+		return id;
 	}
 
 	public Role getRole(final String namespace, final String municipalityId, final String id) {
@@ -255,6 +266,7 @@ public class MetadataService {
 		}
 
 		roleRepository.deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		invalidateSnapshot();
 	}
 
 	public Role updateRole(final String namespace, final String municipalityId, final String id, final Role role) {
@@ -262,7 +274,9 @@ public class MetadataService {
 			throw Problem.valueOf(NOT_FOUND, ITEM_NOT_PRESENT_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(ROLE, id, namespace, municipalityId));
 		}
 		final var entity = updateRoleEntity(roleRepository.getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId), role);
-		return toRole(roleRepository.save(entity));
+		final var updated = toRole(roleRepository.save(entity));
+		invalidateSnapshot();
+		return updated;
 	}
 
 	// =================================================================
@@ -271,6 +285,7 @@ public class MetadataService {
 
 	public void createLabels(final String namespace, final String municipalityId, final List<Label> labels) {
 		metadataLabelRepository.saveAll(toMetadataLabelEntityList(namespace, municipalityId, labels));
+		cacheInvalidationService.invalidateLabels(namespace, municipalityId);
 	}
 
 	@Transactional
@@ -308,6 +323,7 @@ public class MetadataService {
 		remainingRoots.removeAll(removedRoots);
 		updateMetadataLabelEntities(remainingRoots, labels, namespace, municipalityId);
 		metadataLabelRepository.saveAll(remainingRoots);
+		cacheInvalidationService.invalidateLabels(namespace, municipalityId);
 	}
 
 	private static Set<String> collectLabelIds(final List<Label> labels) {
@@ -341,9 +357,24 @@ public class MetadataService {
 		metadataLabelRepository.findByNamespaceAndMunicipalityIdAndParentIsNull(namespace, municipalityId).stream()
 			.map(MetadataLabelEntity::getId)
 			.forEach(metadataLabelRepository::deleteById);
+		cacheInvalidationService.invalidateLabels(namespace, municipalityId);
 	}
 
 	@Transactional(readOnly = true)
+	public Set<MetadataLabelEntity> findLabelsByIds(final String namespace, final String municipalityId, final Collection<String> ids) {
+		if (isEmpty(ids)) {
+			return Set.of();
+		}
+
+		return metadataLabelRepository.findAllById(ids).stream()
+			.filter(entity -> Objects.equals(namespace, entity.getNamespace()) && Objects.equals(municipalityId, entity.getMunicipalityId()))
+			.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Finds the labels of the namespace whose resource path matches any of the patterns, by walking the compiled label
+	 * index of the namespace.
+	 */
 	public Set<MetadataLabelEntity> patternToLabels(
 		final String namespace,
 		final String municipalityId,
@@ -353,13 +384,7 @@ public class MetadataService {
 			return Set.of();
 		}
 
-		final var potentialMatches = metadataLabelRepository.findByNamespaceAndMunicipalityId(namespace, municipalityId);
-
-		return potentialMatches.stream()
-			.filter(entity -> entity.getResourcePath() != null)
-			.filter(entity -> resourcePathPatterns.stream()
-				.anyMatch(pattern -> pathMatcher.match(pattern, entity.getResourcePath())))
-			.collect(Collectors.toSet());
+		return labelIndexService.getIndex(namespace, municipalityId).match(resourcePathPatterns);
 	}
 
 	// =================================================================
@@ -371,7 +396,9 @@ public class MetadataService {
 			throw Problem.valueOf(BAD_REQUEST, ITEM_ALREADY_EXISTS_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(CATEGORY, category.getName(), namespace, municipalityId));
 		}
 
-		return categoryRepository.save(toCategoryEntity(namespace, municipalityId, category)).getId();
+		final var id = categoryRepository.save(toCategoryEntity(namespace, municipalityId, category)).getId();
+		invalidateSnapshot();
+		return id;
 	}
 
 	public Category getCategory(final String namespace, final String municipalityId, final String id) {
@@ -387,7 +414,9 @@ public class MetadataService {
 			throw Problem.valueOf(NOT_FOUND, ITEM_NOT_PRESENT_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(CATEGORY, id, namespace, municipalityId));
 		}
 		final var entity = updateEntity(categoryRepository.getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId), category);
-		return toCategory(categoryRepository.save(entity));
+		final var updated = toCategory(categoryRepository.save(entity));
+		invalidateSnapshot();
+		return updated;
 	}
 
 	public List<Category> findCategories(final String namespace, final String municipalityId, final Sort sort) {
@@ -427,6 +456,7 @@ public class MetadataService {
 		}
 
 		categoryRepository.deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		invalidateSnapshot();
 	}
 
 	// =================================================================
@@ -440,7 +470,9 @@ public class MetadataService {
 	}
 
 	public String createContactReason(final String namespace, final String municipalityId, final ContactReason contactReason) {
-		return contactReasonRepository.save(toContactReasonEntity(namespace, municipalityId, contactReason)).getId();
+		final var id = contactReasonRepository.save(toContactReasonEntity(namespace, municipalityId, contactReason)).getId();
+		invalidateSnapshot();
+		return id;
 	}
 
 	public ContactReason getContactReasonByIdAndNamespaceAndMunicipalityId(final String contactReasonId, final String namespace, final String municipalityId) {
@@ -455,7 +487,9 @@ public class MetadataService {
 		}
 		final var contactReasonEntity = updateContactReason(contactReasonRepository.getByIdAndNamespaceAndMunicipalityId(contactReasonId, namespace, municipalityId), contactReason);
 
-		return toContactReason(contactReasonRepository.save(contactReasonEntity));
+		final var updated = toContactReason(contactReasonRepository.save(contactReasonEntity));
+		invalidateSnapshot();
+		return updated;
 	}
 
 	@Transactional
@@ -464,6 +498,7 @@ public class MetadataService {
 			throw Problem.valueOf(NOT_FOUND, ITEM_NOT_PRESENT_IN_NAMESPACE_FOR_MUNICIPALITY_ID.formatted(CONTACT_REASON, contactReasonId, namespace, municipalityId));
 		}
 		contactReasonRepository.deleteByIdAndNamespaceAndMunicipalityId(contactReasonId, namespace, municipalityId);
+		invalidateSnapshot();
 	}
 
 	// =================================================================
@@ -583,6 +618,10 @@ public class MetadataService {
 		phaseRepository.save(phaseEntity);
 	}
 
+	private void invalidateSnapshot() {
+		cacheInvalidationService.publish(METADATA_SNAPSHOT_CACHE_NAME);
+	}
+
 	private Sort getDefaultSortIfUnsorted(final Sort sort) {
 		return (Objects.isNull(sort) || sort.isUnsorted()) ? Sort.by(SORT_ORDER) : sort;
 	}
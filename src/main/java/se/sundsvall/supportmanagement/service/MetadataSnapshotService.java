@@ -0,0 +1,71 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.CategoryRepository;
+import se.sundsvall.supportmanagement.integration.db.ContactReasonRepository;
+import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
+import se.sundsvall.supportmanagement.integration.db.RoleRepository;
+import se.sundsvall.supportmanagement.integration.db.StatusRepository;
+import se.sundsvall.supportmanagement.integration.db.ValidationRepository;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+import se.sundsvall.supportmanagement.integration.db.model.ValidationEntity;
+import se.sundsvall.supportmanagement.service.mapper.MetadataMapper;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
+
+/**
+ * Holds a {@link MetadataSnapshot} per namespace, so that requests are validated without reading the metadata tables.
+ * A snapshot is built on first use and kept until {@link MetadataService} changes the metadata, which invalidates the
+ * cache on every node. Validation settings are not managed through the service and are picked up when the snapshot
+ * expires.
+ */
+@Service
+public class MetadataSnapshotService {
+
+	static final String METADATA_SNAPSHOT_CACHE_NAME = "metadataSnapshotCache";
+
+	private static final Logger LOG = LoggerFactory.getLogger(MetadataSnapshotService.class);
+	private static final Sort SORT = Sort.by("sortOrder");
+
+	private final CategoryRepository categoryRepository;
+	private final ContactReasonRepository contactReasonRepository;
+	private final MetadataLabelRepository metadataLabelRepository;
+	private final RoleRepository roleRepository;
+	private final StatusRepository statusRepository;
+	private final ValidationRepository validationRepository;
+	private final AtomicLong version = new AtomicLong();
+
+	public MetadataSnapshotService(final CategoryRepository categoryRepository,
+		final ContactReasonRepository contactReasonRepository,
+		final MetadataLabelRepository metadataLabelRepository,
+		final RoleRepository roleRepository,
+		final StatusRepository statusRepository,
+		final ValidationRepository validationRepository) {
+		this.categoryRepository = categoryRepository;
+		this.contactReasonRepository = contactReasonRepository;
+		this.metadataLabelRepository = metadataLabelRepository;
+		this.roleRepository = roleRepository;
+		this.statusRepository = statusRepository;
+		this.validationRepository = validationRepository;
+	}
+
+	@Cacheable(value = METADATA_SNAPSHOT_CACHE_NAME, key = "{#namespace, #municipalityId}")
+	@Transactional(readOnly = true)
+	public MetadataSnapshot getSnapshot(final String namespace, final String municipalityId) {
+		final var snapshot = MetadataSnapshot.of(version.incrementAndGet(),
+			statusRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId, SORT).stream().map(MetadataMapper::toStatus).toList(),
+			categoryRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId, SORT).stream().map(MetadataMapper::toCategory).toList(),
+			roleRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId, SORT).stream().map(MetadataMapper::toRole).toList(),
+			contactReasonRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId, SORT).stream().map(MetadataMapper::toContactReason).toList(),
+			validationRepository.findAllByNamespaceAndMunicipalityId(namespace, municipalityId).stream().filter(ValidationEntity::isValidated).map(ValidationEntity::getType).toList(),
+			metadataLabelRepository.findByNamespaceAndMunicipalityId(namespace, municipalityId).stream().map(MetadataLabelEntity::getId).toList());
+
+		LOG.debug("Built metadata snapshot version {} for namespace {} and municipality {}", snapshot.getVersion(), namespace, municipalityId);
+		return snapshot;
+	}
+}
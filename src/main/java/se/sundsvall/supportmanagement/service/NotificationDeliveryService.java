@@ -0,0 +1,188 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.NotificationDeliveryRepository;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+import static se.sundsvall.supportmanagement.service.mapper.NotificationDeliveryMapper.toDeliveryEntities;
+
+/**
+ * Keeps SMS and email notifications in a delivery queue until they have been accepted by Messaging. Notifications are
+ * written in the transaction of the dispatch they stem from and sent later by the notification delivery scheduler, so a
+ * dispatch that is rolled back and retried never results in a message being sent twice.
+ * <p>
+ * The notifications waiting for a recipient are sent as one digest. A notification is held back for
+ * {@code digest-window} before it is sent, so a recipient gets at most one message per window however many events
+ * occur.
+ */
+@Service
+public class NotificationDeliveryService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NotificationDeliveryService.class);
+
+	/**
+	 * How long a notification is held back, for later notifications to the same recipient to be sent along with it.
+	 */
+	@Value("${scheduler.notification-delivery.digest-window:PT5M}")
+	private Duration digestWindow = Duration.ofMinutes(5);
+
+	/**
+	 * How many notifications a digest may hold at most, to keep the message within what Messaging accepts. Notifications
+	 * beyond that are left for the next digest.
+	 */
+	@Value("${scheduler.notification-delivery.max-digest-entries:20}")
+	private int maxDigestEntries = 20;
+
+	/**
+	 * How many failed attempts a digest may have before it is dropped.
+	 */
+	@Value("${scheduler.notification-delivery.max-attempts:10}")
+	private int maxAttempts = 10;
+
+	/**
+	 * The delay before the first retry. The delay is doubled for each subsequent failure.
+	 */
+	@Value("${scheduler.notification-delivery.initial-backoff:PT1M}")
+	private Duration initialBackoff = Duration.ofMinutes(1);
+
+	/**
+	 * The longest delay between two attempts.
+	 */
+	@Value("${scheduler.notification-delivery.max-backoff:PT1H}")
+	private Duration maxBackoff = Duration.ofHours(1);
+
+	private final NotificationDeliveryRepository repository;
+
+	public NotificationDeliveryService(final NotificationDeliveryRepository repository) {
+		this.repository = repository;
+	}
+
+	/**
+	 * Queues a notification on every SMS and email channel of each delivery, joining the caller's transaction so the
+	 * notifications are only sent if the dispatch is committed.
+	 */
+	@Transactional
+	public void enqueue(final String errandId, final String errandNumber, final List<NotificationDelivery> deliveries) {
+		final var nextAttempt = now(systemDefault()).plus(digestWindow).truncatedTo(MILLIS);
+
+		repository.saveAll(deliveries.stream()
+			.flatMap(delivery -> toDeliveryEntities(errandId, errandNumber, delivery, nextAttempt).stream())
+			.toList());
+	}
+
+	@Transactional(readOnly = true)
+	public List<NotificationDeliveryEntity> findDue(final int batchSize) {
+		return repository.findByNextAttemptLessThanEqualOrderByCreated(now(systemDefault()), PageRequest.of(0, batchSize));
+	}
+
+	@Transactional(readOnly = true)
+	public long countBacklog(final NotificationChannelType channelType) {
+		return repository.countByChannelType(channelType);
+	}
+
+	/**
+	 * Collects the entries waiting for a recipient into a digest, identified by a key stored on each of its entries. A
+	 * digest holds at most {@code max-digest-entries} entries, the oldest ones, and the rest are left for the next digest.
+	 * <p>
+	 * A digest that has failed before is retried as it was, with the same entries and key, and entries queued since are
+	 * left for the next digest. Should the retry not be due yet, nothing is returned and the entries queued since are held
+	 * back until it is, so the recipient is not messaged ahead of the retry.
+	 *
+	 * @param  municipalityId the municipality of the recipient
+	 * @param  channelType    the channel of the recipient
+	 * @param  destination    the phone number or email address of the recipient
+	 * @return                the entries of the digest, oldest first, or an empty list if there is nothing to send yet
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public List<NotificationDeliveryEntity> claimDigest(final String municipalityId, final NotificationChannelType channelType, final String destination) {
+		final var entries = repository.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(municipalityId, channelType, destination);
+
+		final var pendingDigestKey = entries.stream()
+			.map(NotificationDeliveryEntity::getDigestKey)
+			.filter(Objects::nonNull)
+			.findFirst();
+
+		if (pendingDigestKey.isEmpty()) {
+			final var digestKey = UUID.randomUUID().toString();
+			final var digest = entries.stream()
+				.limit(Math.max(1, maxDigestEntries))
+				.toList();
+			digest.forEach(entry -> entry.setDigestKey(digestKey));
+			return repository.saveAll(digest);
+		}
+
+		final var digest = entries.stream()
+			.filter(entry -> pendingDigestKey.get().equals(entry.getDigestKey()))
+			.toList();
+		final var retryAt = digest.stream()
+			.map(NotificationDeliveryEntity::getNextAttempt)
+			.max(Comparator.naturalOrder())
+			.orElseThrow();
+
+		if (retryAt.isAfter(now(systemDefault()))) {
+			repository.saveAll(entries.stream()
+				.filter(entry -> entry.getDigestKey() == null && entry.getNextAttempt().isBefore(retryAt))
+				.map(entry -> entry.withNextAttempt(retryAt))
+				.toList());
+			return List.of();
+		}
+		return digest;
+	}
+
+	/**
+	 * Removes the entries of a sent digest.
+	 *
+	 * @param digestKey the key of the sent digest
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markSent(final String digestKey) {
+		repository.deleteByDigestKey(digestKey);
+	}
+
+	/**
+	 * Schedules a failed digest for a new attempt with exponential backoff, or drops it once {@code maxAttempts} is
+	 * reached.
+	 *
+	 * @param digest the entries of the digest that could not be sent
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markFailed(final List<NotificationDeliveryEntity> digest) {
+		final var first = digest.getFirst();
+		final var attempts = first.getAttempts() + 1;
+
+		if (attempts >= maxAttempts) {
+			LOG.error("Giving up on notification digest {} to subscriber {} on channel {} after {} attempts", first.getDigestKey(), first.getSubscriberId(), first.getChannelType(), attempts);
+			repository.deleteByDigestKey(first.getDigestKey());
+			return;
+		}
+
+		final var nextAttempt = now(systemDefault()).plus(backoff(attempts)).truncatedTo(MILLIS);
+		repository.saveAll(digest.stream()
+			.map(entry -> entry
+				.withAttempts(attempts)
+				.withNextAttempt(nextAttempt))
+			.toList());
+	}
+
+	private Duration backoff(final int attempts) {
+		// The shift is capped to keep the multiplication from overflowing, maxBackoff is reached long before that anyway
+		final var backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+		return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+	}
+}
@@ -2,8 +2,11 @@ package se.sundsvall.supportmanagement.service;
 
 import com.flipkart.zjsonpatch.DiffFlags;
 import com.flipkart.zjsonpatch.JsonDiff;
+import com.flipkart.zjsonpatch.JsonPatch;
 import com.jayway.jsonpath.Configuration;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jayway.jsonpath.JsonPath;
+import java.io.ByteArrayInputStream;
 import java.util.EnumSet;
 import java.util.List;
 import org.slf4j.Logger;
@@ -14,6 +17,7 @@ import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.api.model.revision.DifferenceResponse;
 import se.sundsvall.supportmanagement.api.model.revision.Operation;
 import se.sundsvall.supportmanagement.api.model.revision.Revision;
+import se.sundsvall.supportmanagement.config.RevisionDeltaStorageProperties;
 import se.sundsvall.supportmanagement.integration.db.RevisionRepository;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.RevisionEntity;
@@ -30,25 +34,35 @@ import static com.jayway.jsonpath.Configuration.defaultConfiguration;
 import static com.jayway.jsonpath.Option.SUPPRESS_EXCEPTIONS;
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.R;
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.RW;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.ObjectUtils.anyNull;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.DELTA;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.FULL;
 import static se.sundsvall.supportmanagement.service.mapper.RevisionMapper.toRevision;
 import static se.sundsvall.supportmanagement.service.mapper.RevisionMapper.toRevisionEntity;
 import static se.sundsvall.supportmanagement.service.mapper.RevisionMapper.toSerializedSnapshot;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
 
 @Service
 public class RevisionService {
 
 	private static final com.fasterxml.jackson.databind.ObjectMapper JACKSON2_MAPPER = new com.fasterxml.jackson.databind.ObjectMapper();
 
+	private static final com.fasterxml.jackson.databind.ObjectMapper CANONICAL_MAPPER = new com.fasterxml.jackson.databind.ObjectMapper()
+		.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
 	private static final EnumSet<DiffFlags> DIFF_SETTINGS = EnumSet.of(ADD_ORIGINAL_VALUE_ON_REPLACE, OMIT_COPY_OPERATION, OMIT_MOVE_OPERATION);
 
+	private static final EnumSet<DiffFlags> DELTA_SETTINGS = EnumSet.of(OMIT_COPY_OPERATION, OMIT_MOVE_OPERATION);
+
 	private static final Configuration JSONPATH_CONFIG = defaultConfiguration().addOptions(SUPPRESS_EXCEPTIONS);
 
 	private static final Logger LOG = LoggerFactory.getLogger(RevisionService.class);
 
-	private static final List<String> EXCLUDED_ATTRIBUTES = List.of("$..stakeholders[*].id", "$..attachments[*].id", "$..attachments[*].file", "$..modified", "$..touched");
+	private static final List<String> EXCLUDED_ATTRIBUTES = List.of("$..stakeholders[*].id", "$..attachments[*].id", "$..attachments[*].file", "$..modified", "$..touched", "$..suspensionExpiryProcessed");
 
 	private static final String COMPARISON_ERROR_LOG_MESSAGE = "An error occurred during comparison";
 
@@ -56,6 +70,14 @@ public class RevisionService {
 
 	private static final String VERSION_DOES_NOT_EXIST = "The version requested for the %s revision does not exist";
 
+	private static final String KEYFRAME_DOES_NOT_EXIST = "No keyframe found for version %s of entityId '%s'";
+
+	private static final String DELTA_ERROR_LOG_MESSAGE = "An error occurred when creating delta, revision will be stored as a full snapshot";
+
+	private static final String RESOLVE_ERROR_LOG_MESSAGE = "An error occurred when resolving snapshot of previous revision";
+
+	private static final String HASH_ERROR_LOG_MESSAGE = "An error occurred when computing snapshot hash";
+
 	private final AccessControlService accessControlService;
 
 	private final RevisionRepository revisionRepository;
@@ -64,13 +86,16 @@ public class RevisionService {
 
 	private final NotesClient notesClient;
 
+	private final RevisionDeltaStorageProperties deltaStorageProperties;
+
 	public RevisionService(final AccessControlService accessControlService,
 		final RevisionRepository revisionRepository, final ObjectMapper objectMapper,
-		final NotesClient notesClient) {
+		final NotesClient notesClient, final RevisionDeltaStorageProperties deltaStorageProperties) {
 		this.accessControlService = accessControlService;
 		this.revisionRepository = revisionRepository;
 		this.objectMapper = objectMapper;
 		this.notesClient = notesClient;
+		this.deltaStorageProperties = deltaStorageProperties;
 	}
 
 	/**
@@ -78,6 +103,9 @@ public class RevisionService {
 	 * <p>
 	 * A new revision will be created if: - the last revisions serialized-snapshot differs from the current (i.e. provided)
 	 * entity. - no previous revisions exist for the provided entity.
+	 * <p>
+	 * Changes are detected by comparing the snapshot hash of the last revision to the hash of the current entity. Only
+	 * when the last revision lacks a hash are the snapshots compared structurally.
 	 *
 	 * @param  entity the entity that will have a new revision.
 	 * @return        the created revision.
@@ -86,26 +114,141 @@ public class RevisionService {
 	public RevisionResult createErrandRevision(final ErrandEntity entity) {
 
 		final var lastRevision = revisionRepository.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(entity.getNamespace(), entity.getMunicipalityId(), entity.getId());
+		final var currentSnapshot = toSerializedSnapshot(entity);
+		final var currentHash = toSnapshotHash(currentSnapshot);
 		final Revision newRevision;
 
 		if (lastRevision.isPresent()) {
 			// No changes since last revision, return.
-			if (jsonEquals(lastRevision.get().getSerializedSnapshot(), toSerializedSnapshot(entity))) {
+			if (isUnchanged(lastRevision.get(), currentSnapshot, currentHash)) {
 				return null;
 			}
 
+			// The previous snapshot is only needed when the new revision may be stored as a delta against it
+			final var previousSnapshot = deltaStorageProperties.enabled() ? resolveSnapshotOrNull(lastRevision.get()) : null;
+
 			// Create revision <lastRevision.version + 1>
-			newRevision = toRevision(createRevision(entity, lastRevision.get().getVersion() + 1));
+			newRevision = toRevision(createRevision(entity, previousSnapshot, currentHash, lastRevision.get().getVersion() + 1));
 		} else {
 			// No previous revisions exist. Create revision 0
-			newRevision = toRevision(createRevision(entity, 0));
+			newRevision = toRevision(createRevision(entity, null, currentHash, 0));
 		}
 
 		return new RevisionResult(lastRevision.map(RevisionMapper::toRevision).orElse(null), newRevision);
 	}
 
-	private RevisionEntity createRevision(final ErrandEntity entity, final int version) {
-		return revisionRepository.save(toRevisionEntity(entity, version));
+	private boolean isUnchanged(final RevisionEntity lastRevision, final String currentSnapshot, final String currentHash) {
+		if (nonNull(lastRevision.getSnapshotHash()) && nonNull(currentHash)) {
+			return lastRevision.getSnapshotHash().equals(currentHash);
+		}
+
+		// Revisions created before hashing was introduced (or whose hash could not be computed) are compared in full
+		return jsonEquals(resolveSnapshotOrNull(lastRevision), currentSnapshot);
+	}
+
+	private RevisionEntity createRevision(final ErrandEntity entity, final String previousSnapshot, final String snapshotHash, final int version) {
+		final var revisionEntity = toRevisionEntity(entity, version)
+			.withSnapshotHash(snapshotHash);
+
+		if (deltaStorageProperties.enabled() && !deltaStorageProperties.isKeyframe(version) && nonNull(previousSnapshot)) {
+			try {
+				revisionEntity
+					.withSerializedSnapshot(toDelta(previousSnapshot, revisionEntity.getSerializedSnapshot()))
+					.withSnapshotType(DELTA);
+			} catch (final Exception e) { // If delta creation fails, log and fall back to storing the full snapshot
+				LOG.error(DELTA_ERROR_LOG_MESSAGE, e);
+			}
+		}
+
+		return revisionRepository.save(revisionEntity);
+	}
+
+	/**
+	 * Converts a full snapshot revision to a delta against its preceding revision. Keyframes, revisions already stored as
+	 * deltas and revisions lacking a preceding revision are left untouched.
+	 *
+	 * @param  revisionId id of the revision to convert.
+	 * @return            true if the revision was converted, false otherwise.
+	 */
+	@Transactional
+	public boolean convertToDelta(final String revisionId) {
+		final var revision = revisionRepository.findById(revisionId).orElse(null);
+		if (isNull(revision) || revision.getSnapshotType() == DELTA || deltaStorageProperties.isKeyframe(revision.getVersion()) || isNull(revision.getSerializedSnapshot())) {
+			return false;
+		}
+
+		final var previousSnapshot = revisionRepository.findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(revision.getNamespace(), revision.getMunicipalityId(), revision.getEntityId(), revision.getVersion() - 1)
+			.map(this::resolveSnapshot)
+			.orElse(null);
+		if (isNull(previousSnapshot)) {
+			return false;
+		}
+
+		revisionRepository.save(revision
+			.withSerializedSnapshot(toDelta(previousSnapshot, revision.getSerializedSnapshot()))
+			.withSnapshotType(DELTA));
+		return true;
+	}
+
+	/**
+	 * Returns the full serialized snapshot of a revision. A revision stored as a delta is rebuilt by replaying every delta
+	 * from the closest preceding keyframe up to and including the revision itself.
+	 *
+	 * @param  revision the revision to resolve the snapshot for.
+	 * @return          the full serialized snapshot of the revision.
+	 */
+	String resolveSnapshot(final RevisionEntity revision) {
+		if (revision.getSnapshotType() != DELTA) {
+			return revision.getSerializedSnapshot();
+		}
+
+		final var namespace = revision.getNamespace();
+		final var municipalityId = revision.getMunicipalityId();
+		final var entityId = revision.getEntityId();
+
+		final var keyframe = revisionRepository.findFirstByNamespaceAndMunicipalityIdAndEntityIdAndVersionLessThanEqualAndSnapshotTypeOrderByVersionDesc(namespace, municipalityId, entityId, revision.getVersion(), FULL)
+			.orElseThrow(() -> Problem.valueOf(INTERNAL_SERVER_ERROR, String.format(KEYFRAME_DOES_NOT_EXIST, revision.getVersion(), entityId)));
+
+		var snapshot = toRawJsonNode(keyframe.getSerializedSnapshot());
+		for (final var delta : revisionRepository.findAllByNamespaceAndMunicipalityIdAndEntityIdAndVersionBetweenOrderByVersion(namespace, municipalityId, entityId, keyframe.getVersion() + 1, revision.getVersion())) {
+			snapshot = JsonPatch.apply(toRawJsonNode(delta.getSerializedSnapshot()), snapshot);
+		}
+
+		return snapshot.toString();
+	}
+
+	private String resolveSnapshotOrNull(final RevisionEntity revision) {
+		try {
+			return resolveSnapshot(revision);
+		} catch (final Exception e) { // If something fails, log and return null to force creation of a new full revision
+			LOG.error(RESOLVE_ERROR_LOG_MESSAGE, e);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Computes a SHA-256 hash over a canonical form of the snapshot, i.e. with the attributes excluded from comparison
+	 * removed and object keys sorted, so that two snapshots get the same hash exactly when they compare as equal.
+	 */
+	private String toSnapshotHash(final String snapshot) {
+		if (isNull(snapshot)) {
+			return null;
+		}
+
+		try {
+			final var document = JsonPath.using(JSONPATH_CONFIG).parse(snapshot);
+			EXCLUDED_ATTRIBUTES.forEach(document::delete);
+			return computeSha256Hex(new ByteArrayInputStream(CANONICAL_MAPPER.writeValueAsBytes(document.json())));
+		} catch (final Exception e) { // If something fails, log and return null to fall back to structural comparison
+			LOG.error(HASH_ERROR_LOG_MESSAGE, e);
+		}
+
+		return null;
+	}
+
+	private String toDelta(final String previousSnapshot, final String currentSnapshot) {
+		return JsonDiff.asJson(toRawJsonNode(previousSnapshot), toRawJsonNode(currentSnapshot), DELTA_SETTINGS).toString();
 	}
 
 	private boolean jsonEquals(final String currentSnapshot, final String previousSnapshot) {
@@ -183,9 +326,9 @@ public class RevisionService {
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, String.format(VERSION_DOES_NOT_EXIST, "target")));
 
 		try {
-			// Deserialize revisions to JsonNodes
-			final var sourceJson = toJsonNode(sourceRevision.getSerializedSnapshot());
-			final var targetJson = toJsonNode(targetRevision.getSerializedSnapshot());
+			// Deserialize revisions to JsonNodes, rebuilding any revision stored as a delta
+			final var sourceJson = toJsonNode(resolveSnapshot(sourceRevision));
+			final var targetJson = toJsonNode(resolveSnapshot(targetRevision));
 
 			// Perform diff
 			final var differences = JsonDiff.asJson(sourceJson, targetJson, DIFF_SETTINGS);
@@ -242,4 +385,12 @@ public class RevisionService {
 		}
 	}
 
+	private com.fasterxml.jackson.databind.JsonNode toRawJsonNode(final String value) {
+		try {
+			return JACKSON2_MAPPER.readTree(value);
+		} catch (final Exception e) {
+			throw Problem.valueOf(INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
 }
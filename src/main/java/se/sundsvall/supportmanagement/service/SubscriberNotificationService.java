@@ -10,10 +10,9 @@ import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.api.model.notification.SubscriberNotification;
 import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
 import se.sundsvall.supportmanagement.integration.db.SubscriberNotificationRepository;
-import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
 import se.sundsvall.supportmanagement.integration.db.model.SubscriberNotificationEntity;
-import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
 import se.sundsvall.supportmanagement.integration.db.util.ConfigPropertyExtractor;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
 
 import static java.time.OffsetDateTime.now;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -52,19 +51,29 @@ public class SubscriberNotificationService {
 	}
 
 	/**
-	 * Creates a new notification holding every event the subscriber should be told about for this errand. Each dispatch
-	 * results in its own notification, so an already acknowledged one is never resurrected.
+	 * Creates a new notification for each delivery, holding every event the subscriber should be told about for this
+	 * errand. Each dispatch results in its own notification, so an already acknowledged one is never resurrected.
 	 * <p>
-	 * Deliberately joins the caller's transaction, so a failure further down the dispatch rolls this notification back
+	 * The deliveries all stem from the same errand and hence the same namespace, whose config is therefore looked up once
+	 * for all of them. The notifications are saved together, which lets them be written in JDBC batches at flush.
+	 * <p>
+	 * Deliberately joins the caller's transaction, so a failure further down the dispatch rolls these notifications back
 	 * together with the rest of the group.
 	 */
 	@Transactional
-	public void create(final String errandId, final String errandNumber, final SubscriberEntity subscriber, final List<NotificationDispatchEntity> events) {
+	public void create(final String errandId, final String errandNumber, final List<NotificationDelivery> deliveries) {
+		if (deliveries.isEmpty()) {
+			return;
+		}
+
+		final var subscriber = deliveries.getFirst().subscriber();
 		final var namespaceConfig = namespaceConfigRepository.findByNamespaceAndMunicipalityId(subscriber.getNamespace(), subscriber.getMunicipalityId())
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, "Namespace with name:'%s' and municipalityId '%s' not found!".formatted(subscriber.getNamespace(), subscriber.getMunicipalityId())));
 		final var ttlInDays = ConfigPropertyExtractor.<Integer>getValue(namespaceConfig, PROPERTY_NOTIFICATION_TTL_IN_DAYS);
 
-		repository.save(toEntity(errandId, errandNumber, subscriber, ttlInDays, toEventEntities(events)));
+		repository.saveAll(deliveries.stream()
+			.map(delivery -> toEntity(errandId, errandNumber, delivery.subscriber(), ttlInDays, toEventEntities(delivery.events())))
+			.toList());
 	}
 
 	private SubscriberNotificationEntity findOrThrow(final String notificationId, final String municipalityId, final String namespace) {
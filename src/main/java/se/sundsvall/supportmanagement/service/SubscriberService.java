@@ -27,6 +27,7 @@ import static java.util.stream.Collectors.toMap;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.supportmanagement.service.SubscriptionIndexService.SUBSCRIPTION_INDEX_CACHE_NAME;
 
 @Service
 public class SubscriberService {
@@ -39,10 +40,12 @@ public class SubscriberService {
 
 	private final SubscriberRepository subscriberRepository;
 	private final SubscriptionRepository subscriptionRepository;
+	private final CacheInvalidationService cacheInvalidationService;
 
-	public SubscriberService(final SubscriberRepository subscriberRepository, final SubscriptionRepository subscriptionRepository) {
+	public SubscriberService(final SubscriberRepository subscriberRepository, final SubscriptionRepository subscriptionRepository, final CacheInvalidationService cacheInvalidationService) {
 		this.subscriberRepository = subscriberRepository;
 		this.subscriptionRepository = subscriptionRepository;
+		this.cacheInvalidationService = cacheInvalidationService;
 	}
 
 	@Transactional(readOnly = true)
@@ -89,6 +92,8 @@ public class SubscriberService {
 		SubscriberMapper.applyPatch(entity, patch);
 		validatePauseWindow(entity);
 		final var saved = persistOrThrowConflict(entity);
+		// Channels, filters and pause windows of the subscriber are held by the subscription index
+		cacheInvalidationService.publish(SUBSCRIPTION_INDEX_CACHE_NAME);
 		return SubscriberMapper.toSubscriber(saved, subscriptionRepository.countBySubscriberId(subscriberId));
 	}
 
@@ -96,6 +101,7 @@ public class SubscriberService {
 	public void deleteSubscriber(final String municipalityId, final String namespace, final String subscriberId) {
 		final var entity = findEntity(municipalityId, namespace, subscriberId);
 		subscriberRepository.delete(entity);
+		cacheInvalidationService.publish(SUBSCRIPTION_INDEX_CACHE_NAME);
 	}
 
 	@Transactional
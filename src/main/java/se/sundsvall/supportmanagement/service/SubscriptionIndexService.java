@@ -0,0 +1,48 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.SubscriptionRepository;
+import se.sundsvall.supportmanagement.service.model.NamespaceSubscriptionIndex;
+
+/**
+ * Holds a {@link NamespaceSubscriptionIndex} per namespace, so that dispatching notifications for an errand only reads
+ * the subscriptions targeting that errand. An index is built on first use and kept until {@link SubscriptionService} or
+ * {@link SubscriberService} changes what it holds, which invalidates the cache on every node.
+ */
+@Service
+public class SubscriptionIndexService {
+
+	static final String SUBSCRIPTION_INDEX_CACHE_NAME = "subscriptionIndexCache";
+
+	private static final Logger LOG = LoggerFactory.getLogger(SubscriptionIndexService.class);
+
+	private final SubscriptionRepository subscriptionRepository;
+	private final AtomicLong version = new AtomicLong();
+
+	public SubscriptionIndexService(final SubscriptionRepository subscriptionRepository) {
+		this.subscriptionRepository = subscriptionRepository;
+	}
+
+	@Cacheable(value = SUBSCRIPTION_INDEX_CACHE_NAME, key = "{#namespace, #municipalityId}")
+	@Transactional(readOnly = true)
+	public NamespaceSubscriptionIndex getIndex(final String namespace, final String municipalityId) {
+		final var subscriptions = subscriptionRepository.findAllNamespaceTargets(municipalityId, namespace);
+
+		// The subscribers outlive the transaction, hence their collections are loaded up front
+		subscriptions.forEach(subscription -> {
+			Hibernate.initialize(subscription.getEventFilters());
+			Hibernate.initialize(subscription.getSubscriber().getEventFilters());
+			Hibernate.initialize(subscription.getSubscriber().getChannels());
+		});
+
+		final var index = NamespaceSubscriptionIndex.of(version.incrementAndGet(), subscriptions);
+		LOG.debug("Built subscription index version {} for namespace {} and municipality {}", index.getVersion(), namespace, municipalityId);
+		return index;
+	}
+}
@@ -1,14 +1,12 @@
 package se.sundsvall.supportmanagement.service;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.api.model.subscription.Subscription;
@@ -18,19 +16,22 @@ import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.SubscriptionRepository;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscriptionTargetType;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberErrandPair;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
 import se.sundsvall.supportmanagement.service.mapper.IdentifierEmbeddableMapper;
 import se.sundsvall.supportmanagement.service.mapper.SubscriptionMapper;
+import se.sundsvall.supportmanagement.service.model.ErrandAssignment;
 
+import static java.util.stream.Collectors.toSet;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.supportmanagement.service.SubscriptionIndexService.SUBSCRIPTION_INDEX_CACHE_NAME;
 
 @Service
 public class SubscriptionService {
 
-	private static final Logger LOG = LoggerFactory.getLogger(SubscriptionService.class);
-
 	private static final String SUBSCRIPTION_NOT_FOUND = "Subscription with id:'%s' not found for subscriber with id:'%s' in namespace:'%s' for municipality with id:'%s'";
 	private static final String ERRAND_NOT_FOUND = "Errand with id:'%s' not found in namespace:'%s' for municipality with id:'%s'";
 	private static final String TARGET_ID_REQUIRED_FOR_ERRAND = "Subscription target id is required when target type is ERRAND";
@@ -41,14 +42,17 @@ public class SubscriptionService {
 	private final SubscriberService subscriberService;
 	private final SubscriptionRepository subscriptionRepository;
 	private final ErrandsRepository errandsRepository;
+	private final CacheInvalidationService cacheInvalidationService;
 
 	public SubscriptionService(
 		final SubscriberService subscriberService,
 		final SubscriptionRepository subscriptionRepository,
-		final ErrandsRepository errandsRepository) {
+		final ErrandsRepository errandsRepository,
+		final CacheInvalidationService cacheInvalidationService) {
 		this.subscriberService = subscriberService;
 		this.subscriptionRepository = subscriptionRepository;
 		this.errandsRepository = errandsRepository;
+		this.cacheInvalidationService = cacheInvalidationService;
 	}
 
 	@Transactional(readOnly = true)
@@ -72,39 +76,58 @@ public class SubscriptionService {
 		final var entity = SubscriptionMapper.toSubscriptionEntity(subscriber, errand, subscription)
 			.withCreatedBy(IdentifierEmbeddableMapper.fromExecutingUser(Identifier.get()));
 
-		return persistOrThrowConflict(entity, subscriberId, target.getType(), errand).getId();
+		final var id = persistOrThrowConflict(entity, subscriberId, target.getType(), errand).getId();
+		invalidateIndexIfNamespaceTarget(entity);
+		return id;
 	}
 
 	@Transactional
 	public void deleteSubscription(final String municipalityId, final String namespace, final String subscriberId, final String subscriptionId) {
 		final var entity = loadSubscriptionOrThrow(municipalityId, namespace, subscriberId, subscriptionId);
 		subscriptionRepository.delete(entity);
+		invalidateIndexIfNamespaceTarget(entity);
 	}
 
-	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public void handleAutoSubscribeEvent(final AutoSubscribeEvent event) {
-		try {
-			autoSubscribeErrandAssignee(event.errandEntity());
-		} catch (final Exception e) {
-			LOG.warn("Auto-subscribe failed for errand '{}' – continuing without subscription", event.errandEntity().getId(), e);
-		}
-	}
-
+	/**
+	 * Subscribes each assignee to the errand assigned to them, unless already subscribed. The subscriber of an assignee is
+	 * looked up, or created, once however many of the errands are assigned to them, and the existing subscriptions of all
+	 * the errands are read in one query.
+	 *
+	 * @param assignments the errands and the users they are assigned to
+	 */
 	@Transactional
-	public void autoSubscribeErrandAssignee(final ErrandEntity errand) {
-		final var assignedUserId = errand.getAssignedUserId();
-		if (assignedUserId == null) {
+	public void autoSubscribeAssignees(final List<ErrandAssignment> assignments) {
+		final var subscribersByAssignee = new HashMap<Assignee, SubscriberEntity>();
+		final var subscribers = new LinkedHashMap<ErrandAssignment, SubscriberEntity>();
+		assignments.forEach(assignment -> subscribers.put(assignment, subscribersByAssignee.computeIfAbsent(Assignee.of(assignment),
+			assignee -> subscriberService.findOrCreateSubscriberForAssignee(assignee.municipalityId(), assignee.namespace(), assignee.assignedUserId()))));
+		if (subscribers.isEmpty()) {
 			return;
 		}
-		final var subscriber = subscriberService.findOrCreateSubscriberForAssignee(
-			errand.getMunicipalityId(), errand.getNamespace(), assignedUserId);
-		if (!subscriptionRepository.existsBySubscriberIdAndTargetTypeAndErrandId(
-			subscriber.getId(), DbSubscriptionTargetType.ERRAND, errand.getId())) {
-			subscriptionRepository.save(SubscriptionEntity.create()
-				.withSubscriber(subscriber)
+
+		final var existing = new HashSet<>(subscriptionRepository.findErrandSubscriptions(
+			subscribersByAssignee.values().stream().map(SubscriberEntity::getId).collect(toSet()),
+			subscribers.keySet().stream().map(ErrandAssignment::errandId).collect(toSet())));
+
+		final var created = subscribers.entrySet().stream()
+			.filter(entry -> !existing.contains(new SubscriberErrandPair(entry.getValue().getId(), entry.getKey().errandId())))
+			.map(entry -> SubscriptionEntity.create()
+				.withSubscriber(entry.getValue())
 				.withTargetType(DbSubscriptionTargetType.ERRAND)
-				.withErrand(errand));
+				.withErrand(errandsRepository.getReferenceById(entry.getKey().errandId())))
+			.toList();
+		if (!created.isEmpty()) {
+			subscriptionRepository.saveAll(created);
+		}
+	}
+
+	/**
+	 * Subscriptions targeting a whole namespace are held by the subscription index, those targeting an errand are read
+	 * when dispatching.
+	 */
+	private void invalidateIndexIfNamespaceTarget(final SubscriptionEntity entity) {
+		if (entity.getTargetType() == DbSubscriptionTargetType.NAMESPACE) {
+			cacheInvalidationService.publish(SUBSCRIPTION_INDEX_CACHE_NAME);
 		}
 	}
 
@@ -157,4 +180,14 @@ public class SubscriptionService {
 		return subscriptionRepository.findByIdAndSubscriberIdAndSubscriberNamespaceAndSubscriberMunicipalityId(subscriptionId, subscriberId, namespace, municipalityId)
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, SUBSCRIPTION_NOT_FOUND.formatted(subscriptionId, subscriberId, namespace, municipalityId)));
 	}
+
+	/**
+	 * A user an errand is assigned to, who has one subscriber per namespace.
+	 */
+	private record Assignee(String municipalityId, String namespace, String assignedUserId) {
+
+		static Assignee of(final ErrandAssignment assignment) {
+			return new Assignee(assignment.municipalityId(), assignment.namespace(), assignment.assignedUserId());
+		}
+	}
 }
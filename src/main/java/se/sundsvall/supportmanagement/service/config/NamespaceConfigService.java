@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.api.model.config.NamespaceConfig;
 import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
+import se.sundsvall.supportmanagement.service.CacheInvalidationService;
 import se.sundsvall.supportmanagement.service.mapper.NamespaceConfigMapper;
 
 import static java.util.Objects.isNull;
@@ -24,10 +25,12 @@ public class NamespaceConfigService {
 
 	private final NamespaceConfigRepository configRepository;
 	private final NamespaceConfigMapper mapper;
+	private final CacheInvalidationService cacheInvalidationService;
 
-	public NamespaceConfigService(NamespaceConfigRepository configRepository, NamespaceConfigMapper mapper) {
+	public NamespaceConfigService(NamespaceConfigRepository configRepository, NamespaceConfigMapper mapper, CacheInvalidationService cacheInvalidationService) {
 		this.configRepository = configRepository;
 		this.mapper = mapper;
+		this.cacheInvalidationService = cacheInvalidationService;
 	}
 
 	@Caching(evict = {
@@ -39,6 +42,7 @@ public class NamespaceConfigService {
 			throw Problem.valueOf(BAD_REQUEST, CONFIG_ENTITY_ALREADY_EXISTS.formatted(namespace, municipalityId));
 		}
 		configRepository.save(mapper.toEntity(request, namespace, municipalityId));
+		cacheInvalidationService.publish(CACHE_NAME);
 	}
 
 	@Caching(evict = {
@@ -54,6 +58,7 @@ public class NamespaceConfigService {
 			.withCreated(entity.getCreated());
 
 		configRepository.save(replacement);
+		cacheInvalidationService.publish(CACHE_NAME);
 	}
 
 	@Cacheable(value = CACHE_NAME, key = "{#root.methodName, #namespace, #municipalityId}")
@@ -79,5 +84,6 @@ public class NamespaceConfigService {
 		}
 
 		configRepository.deleteByNamespaceAndMunicipalityId(namespace, municipalityId);
+		cacheInvalidationService.publish(CACHE_NAME);
 	}
 }
@@ -1,5 +1,6 @@
 package se.sundsvall.supportmanagement.service.mapper;
 
+import java.io.ByteArrayInputStream;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -27,6 +28,7 @@ import se.sundsvall.supportmanagement.integration.db.model.enums.Direction;
 import se.sundsvall.supportmanagement.integration.db.model.enums.EmailHeader;
 
 import static org.apache.commons.codec.binary.Base64.decodeBase64;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
 import static se.sundsvall.supportmanagement.service.util.ServiceUtil.detectMimeType;
 
 @Component
@@ -189,6 +191,7 @@ public class CommunicationMapper {
 
 	private AttachmentDataEntity toMessageAttachmentData(final byte[] byteArray) {
 		return AttachmentDataEntity.create()
-			.withFile(Hibernate.getLobHelper().createBlob(byteArray));
+			.withFile(Hibernate.getLobHelper().createBlob(byteArray))
+			.withHash(computeSha256Hex(new ByteArrayInputStream(byteArray)));
 	}
 }
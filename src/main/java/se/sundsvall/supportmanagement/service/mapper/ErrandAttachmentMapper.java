@@ -1,5 +1,6 @@
 package se.sundsvall.supportmanagement.service.mapper;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -16,6 +17,7 @@ import se.sundsvall.supportmanagement.api.model.attachment.ErrandAttachment;
 import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
 import se.sundsvall.supportmanagement.integration.db.model.AttachmentEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.util.HashingInputStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
@@ -36,15 +38,13 @@ public final class ErrandAttachmentMapper {
 		}
 
 		try {
-			return AttachmentEntity.create()
+			return withContent(AttachmentEntity.create()
 				.withErrandEntity(errandEntity)
 				.withNamespace(errandEntity.getNamespace())
 				.withMunicipalityId(errandEntity.getMunicipalityId())
 				.withFileSize(Math.toIntExact(errandAttachment.getSize()))
-				.withAttachmentData(new AttachmentDataEntity().withFile(Hibernate.getLobHelper().createBlob(errandAttachment.getInputStream(), errandAttachment.getSize())))
 				.withFileName(errandAttachment.getOriginalFilename())
-				.withMimeType(detectMimeTypeFromStream(errandAttachment.getOriginalFilename(), errandAttachment.getInputStream()))
-				.withChannel(ofNullable(channel).orElse(WEB_UI));
+				.withChannel(ofNullable(channel).orElse(WEB_UI)), errandAttachment.getInputStream(), errandAttachment.getSize());
 		} catch (final IOException e) {
 			LOGGER.warn("Exception when reading file", e);
 			throw Problem.valueOf(BAD_REQUEST, "Could not read input stream!");
@@ -63,15 +63,27 @@ public final class ErrandAttachmentMapper {
 			throw Problem.valueOf(BAD_REQUEST, "Could not read input stream!");
 		}
 
-		return AttachmentEntity.create()
+		return withContent(AttachmentEntity.create()
 			.withErrandEntity(errandEntity)
 			.withNamespace(errandEntity.getNamespace())
 			.withMunicipalityId(errandEntity.getMunicipalityId())
 			.withFileSize(fileSize)
-			.withAttachmentData(new AttachmentDataEntity().withFile(Hibernate.getLobHelper().createBlob(content, fileSize)))
 			.withFileName(fileName)
-			.withMimeType(detectMimeTypeFromStream(fileName, content))
-			.withChannel(channel);
+			.withChannel(channel), content, fileSize);
+	}
+
+	/**
+	 * Detects the mime type from the head of the content and attaches the content as a blob. The blob is fed through a
+	 * hashing stream, so the SHA-256 hash of the attachment is set on the entity when the blob is written to the database
+	 * and the content is only read once.
+	 */
+	private static AttachmentEntity withContent(final AttachmentEntity attachmentEntity, final InputStream content, final long size) {
+		final var bufferedContent = new BufferedInputStream(content);
+		final var mimeType = detectMimeTypeFromStream(attachmentEntity.getFileName(), bufferedContent);
+
+		return attachmentEntity
+			.withMimeType(mimeType)
+			.withAttachmentData(new AttachmentDataEntity().withFile(Hibernate.getLobHelper().createBlob(new HashingInputStream(bufferedContent, size, attachmentEntity::setHash), size)));
 	}
 
 	public static List<ErrandAttachment> toErrandAttachments(final List<AttachmentEntity> attachmentEntities) {
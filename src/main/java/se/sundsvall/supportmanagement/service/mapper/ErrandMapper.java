@@ -107,6 +107,7 @@ public final class ErrandMapper {
 		ofNullable(errand.getSuspension()).ifPresent(value -> {
 			entity.setSuspendedFrom(value.getSuspendedFrom());
 			entity.setSuspendedTo(value.getSuspendedTo());
+			entity.setSuspensionExpiryProcessed(false);
 		});
 		ofNullable(errand.getStakeholders()).ifPresent(value -> updateStakeholders(entity, value));
 		ofNullable(errand.getExternalTags()).ifPresent(value -> entity.setExternalTags(toExternalTag(value)));
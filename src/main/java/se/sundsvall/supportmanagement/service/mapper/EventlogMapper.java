@@ -4,6 +4,7 @@ import generated.se.sundsvall.eventlog.Event;
 import generated.se.sundsvall.eventlog.EventType;
 import generated.se.sundsvall.eventlog.ExecutingUser;
 import generated.se.sundsvall.eventlog.Metadata;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -12,6 +13,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.api.model.event.EventMetaData;
 import se.sundsvall.supportmanagement.api.model.revision.Revision;
@@ -157,6 +160,21 @@ public class EventlogMapper {
 			.withRequestGroupId(event.getRequestGroupId());
 	}
 
+	/**
+	 * Extracts the id of a created event from the location header of the Eventlog response.
+	 *
+	 * @param  response the response from creating the event
+	 * @return          the id of the created event, or null if the response holds no location
+	 */
+	public static String toEventId(final ResponseEntity<Void> response) {
+		return ofNullable(response)
+			.map(ResponseEntity::getHeaders)
+			.map(HttpHeaders::getLocation)
+			.map(URI::getPath)
+			.map(path -> path.substring(path.lastIndexOf('/') + 1))
+			.orElse(null);
+	}
+
 	private static se.sundsvall.supportmanagement.api.model.event.EventType toEventType(final EventType eventType) {
 		if (eventType == null) {
 			return se.sundsvall.supportmanagement.api.model.event.EventType.UNKNOWN;
@@ -0,0 +1,129 @@
+package se.sundsvall.supportmanagement.service.mapper;
+
+import generated.se.sundsvall.messaging.EmailRequest;
+import generated.se.sundsvall.messaging.EmailRequestParty;
+import generated.se.sundsvall.messaging.EmailSender;
+import generated.se.sundsvall.messaging.ExternalReference;
+import generated.se.sundsvall.messaging.SmsRequest;
+import generated.se.sundsvall.messaging.SmsRequestParty;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+
+public final class NotificationDeliveryMapper {
+
+	static final String DIGEST_SUBJECT = "Nya händelser i ärenden du bevakar";
+	static final String ERRAND_HEADING_TEMPLATE = "Ärende %s:";
+	static final String ERRAND_ID_KEY = "errandId";
+	static final String DIGEST_KEY = "notificationDigestKey";
+
+	private NotificationDeliveryMapper() {}
+
+	/**
+	 * Maps a delivery to one entry per SMS and email channel of the subscriber. Channels without a destination have
+	 * nowhere to be sent and are left out.
+	 */
+	public static List<NotificationDeliveryEntity> toDeliveryEntities(final String errandId, final String errandNumber, final NotificationDelivery delivery, final OffsetDateTime nextAttempt) {
+		final var subscriber = delivery.subscriber();
+		final var content = toContent(delivery.events());
+
+		return ofNullable(subscriber.getChannels()).orElse(emptyList()).stream()
+			.filter(channel -> isMessageChannel(channel.getType()))
+			.filter(channel -> isNotBlank(channel.getDestination()))
+			.map(channel -> NotificationDeliveryEntity.create()
+				.withMunicipalityId(subscriber.getMunicipalityId())
+				.withNamespace(subscriber.getNamespace())
+				.withSubscriberId(subscriber.getId())
+				.withChannelType(channel.getType())
+				.withDestination(channel.getDestination())
+				.withErrandId(errandId)
+				.withErrandNumber(errandNumber)
+				.withContent(content)
+				.withNextAttempt(nextAttempt))
+			.toList();
+	}
+
+	/**
+	 * One line per event, describing what happened.
+	 */
+	static String toContent(final List<NotificationDispatchEntity> events) {
+		return ofNullable(events).orElse(emptyList()).stream()
+			.map(event -> ofNullable(event.getDescription()).filter(StringUtils::isNotBlank).orElse(event.getEventType()))
+			.collect(joining("\n"));
+	}
+
+	/**
+	 * Coalesces the entries of a digest into one message, with the events grouped per errand in the order the errands
+	 * first occur in.
+	 */
+	public static String toDigestMessage(final List<NotificationDeliveryEntity> digest) {
+		return digest.stream()
+			.collect(groupingBy(NotificationDeliveryEntity::getErrandId, LinkedHashMap::new, toList()))
+			.values().stream()
+			.map(entries -> ERRAND_HEADING_TEMPLATE.formatted(ofNullable(entries.getFirst().getErrandNumber()).orElse(entries.getFirst().getErrandId())) + "\n"
+				+ entries.stream().map(NotificationDeliveryEntity::getContent).collect(joining("\n")))
+			.collect(joining("\n\n"));
+	}
+
+	public static SmsRequest toSmsRequest(final List<NotificationDeliveryEntity> digest, final String sender) {
+		return new SmsRequest()
+			.mobileNumber(digest.getFirst().getDestination())
+			.message(toDigestMessage(digest))
+			.sender(sender)
+			.party(new SmsRequestParty().externalReferences(toExternalReferences(digest)));
+	}
+
+	public static EmailRequest toEmailRequest(final List<NotificationDeliveryEntity> digest, final String senderName, final String senderAddress) {
+		return new EmailRequest()
+			.emailAddress(digest.getFirst().getDestination())
+			.subject(DIGEST_SUBJECT)
+			.message(toDigestMessage(digest))
+			.sender(toEmailSender(senderName, senderAddress))
+			.party(new EmailRequestParty().externalReferences(toExternalReferences(digest)));
+	}
+
+	/**
+	 * Whether notifications on the channel are sent through Messaging, and hence queued for delivery.
+	 */
+	public static boolean isMessageChannel(final NotificationChannelType channelType) {
+		return channelType == SMS || channelType == EMAIL;
+	}
+
+	private static EmailSender toEmailSender(final String senderName, final String senderAddress) {
+		if (isBlank(senderAddress)) {
+			return null;
+		}
+		return new EmailSender()
+			.name(ofNullable(senderName).filter(StringUtils::isNotBlank).orElse(senderAddress))
+			.address(senderAddress);
+	}
+
+	/**
+	 * The errands of the digest, and the key of the digest. The key stays the same when a failed digest is retried, so a
+	 * message sent more than once can be recognized as such.
+	 */
+	private static List<ExternalReference> toExternalReferences(final List<NotificationDeliveryEntity> digest) {
+		final var references = digest.stream()
+			.map(NotificationDeliveryEntity::getErrandId)
+			.distinct()
+			.map(errandId -> new ExternalReference().key(ERRAND_ID_KEY).value(errandId))
+			.collect(toList());
+		references.add(new ExternalReference().key(DIGEST_KEY).value(digest.getFirst().getDigestKey()));
+		return references;
+	}
+}
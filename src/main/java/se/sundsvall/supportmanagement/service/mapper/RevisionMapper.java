@@ -12,6 +12,7 @@ import se.sundsvall.supportmanagement.integration.db.model.RevisionEntity;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.FULL;
 
 public class RevisionMapper {
 
@@ -32,7 +33,8 @@ public class RevisionMapper {
 			.withEntityId(entity.getId())
 			.withEntityType(entity.getClass().getSimpleName())
 			.withVersion(version)
-			.withSerializedSnapshot(toSerializedSnapshot(entity));
+			.withSerializedSnapshot(toSerializedSnapshot(entity))
+			.withSnapshotType(FULL);
 	}
 
 	public static String toSerializedSnapshot(final ErrandEntity entity) {
@@ -0,0 +1,12 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+
+/**
+ * The labels a user has access to, and the point in time they must be resolved again at. Cached entries expire at that
+ * point in time, so that labels read from a shared snapshot are not kept longer than the snapshot itself.
+ */
+public record AccessibleLabels(Set<MetadataLabelEntity> labels, OffsetDateTime expires) {
+}
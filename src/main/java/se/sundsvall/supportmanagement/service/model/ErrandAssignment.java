@@ -0,0 +1,13 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+
+/**
+ * An errand and the user it is assigned to.
+ */
+public record ErrandAssignment(String municipalityId, String namespace, String errandId, String assignedUserId) {
+
+	public static ErrandAssignment of(final ErrandEntity errand) {
+		return new ErrandAssignment(errand.getMunicipalityId(), errand.getNamespace(), errand.getId(), errand.getAssignedUserId());
+	}
+}
@@ -0,0 +1,168 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import se.sundsvall.supportmanagement.api.model.metadata.Category;
+import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
+import se.sundsvall.supportmanagement.api.model.metadata.Role;
+import se.sundsvall.supportmanagement.api.model.metadata.Status;
+import se.sundsvall.supportmanagement.api.model.metadata.Type;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
+import se.sundsvall.supportmanagement.service.util.ServiceUtil;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.ofNullable;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.foldCase;
+
+/**
+ * The metadata of a namespace that requests are validated against, organized for hash lookups. Names are matched
+ * ignoring case, except for the category name that types are looked up by, which has always been matched exactly.
+ * <p>
+ * Instances are immutable and safe to share between threads. The version tells snapshots of the same namespace apart,
+ * a later snapshot having a higher version.
+ */
+public final class MetadataSnapshot {
+
+	private final long version;
+	private final Names statuses;
+	private final Names categories;
+	private final Map<String, Names> typesByCategory;
+	private final Names roles;
+	private final Names contactReasons;
+	private final Map<String, String> contactReasonIds;
+	private final Set<EntityType> validatedTypes;
+	private final Set<String> labelIds;
+
+	private MetadataSnapshot(final long version, final List<Status> statuses, final List<Category> categories, final List<Role> roles, final List<ContactReason> contactReasons,
+		final Collection<EntityType> validatedTypes, final Collection<String> labelIds) {
+
+		this.version = version;
+		this.statuses = Names.of(statuses, Status::getName);
+		this.categories = Names.of(categories, Category::getName);
+		this.roles = Names.of(roles, Role::getName);
+		this.contactReasons = Names.of(contactReasons, ContactReason::getReason);
+
+		final var types = new HashMap<String, Names>();
+		ofNullable(categories).orElse(emptyList()).stream()
+			.filter(category -> category != null && category.getName() != null)
+			.forEach(category -> types.putIfAbsent(category.getName(), Names.of(category.getTypes(), Type::getName)));
+		this.typesByCategory = unmodifiableMap(types);
+
+		final var ids = new HashMap<String, String>();
+		ofNullable(contactReasons).orElse(emptyList()).stream()
+			.filter(contactReason -> contactReason != null && contactReason.getReason() != null)
+			.forEach(contactReason -> ids.putIfAbsent(foldCase(contactReason.getReason()), contactReason.getId()));
+		this.contactReasonIds = unmodifiableMap(ids);
+
+		final var validated = EnumSet.noneOf(EntityType.class);
+		validated.addAll(ofNullable(validatedTypes).orElse(emptyList()));
+		this.validatedTypes = unmodifiableSet(validated);
+		this.labelIds = Set.copyOf(ofNullable(labelIds).orElse(emptyList()));
+	}
+
+	public static MetadataSnapshot of(final long version, final List<Status> statuses, final List<Category> categories, final List<Role> roles, final List<ContactReason> contactReasons,
+		final Collection<EntityType> validatedTypes, final Collection<String> labelIds) {
+		return new MetadataSnapshot(version, statuses, categories, roles, contactReasons, validatedTypes, labelIds);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public Names getStatuses() {
+		return statuses;
+	}
+
+	public Names getCategories() {
+		return categories;
+	}
+
+	/**
+	 * @param  category the exact name of the category, may be null
+	 * @return          the types of the category, which are empty if there is no such category
+	 */
+	public Names getTypes(final String category) {
+		return ofNullable(category).map(typesByCategory::get).orElse(Names.EMPTY);
+	}
+
+	public Names getRoles() {
+		return roles;
+	}
+
+	public Names getContactReasons() {
+		return contactReasons;
+	}
+
+	/**
+	 * @param  reason the reason, matched ignoring case
+	 * @return        the id of the contact reason, or empty if there is no such contact reason
+	 */
+	public Optional<String> findContactReasonId(final String reason) {
+		return ofNullable(reason).map(value -> contactReasonIds.get(foldCase(value)));
+	}
+
+	public boolean isValidated(final EntityType type) {
+		return validatedTypes.contains(type);
+	}
+
+	public boolean hasLabels() {
+		return !labelIds.isEmpty();
+	}
+
+	public boolean hasLabel(final String labelId) {
+		return labelId != null && labelIds.contains(labelId);
+	}
+
+	/**
+	 * Names in their original spelling and order, together with a case insensitive hash lookup of them.
+	 */
+	public static final class Names {
+
+		static final Names EMPTY = new Names(emptyList());
+
+		private final List<String> values;
+		private final Set<String> foldedValues;
+
+		private Names(final List<String> values) {
+			this.values = List.copyOf(values);
+			this.foldedValues = values.stream()
+				.map(ServiceUtil::foldCase)
+				.collect(Collectors.toUnmodifiableSet());
+		}
+
+		static <T> Names of(final Collection<T> items, final Function<T, String> nameFunction) {
+			return new Names(ofNullable(items).orElse(emptyList()).stream()
+				.filter(Objects::nonNull)
+				.map(nameFunction)
+				.filter(Objects::nonNull)
+				.toList());
+		}
+
+		/**
+		 * @param  value the name to look for, may be null
+		 * @return       true if the value equals any of the names ignoring case
+		 */
+		public boolean contains(final String value) {
+			return value != null && foldedValues.contains(foldCase(value));
+		}
+
+		public List<String> getValues() {
+			return values;
+		}
+
+		@Override
+		public String toString() {
+			return values.toString();
+		}
+	}
+}
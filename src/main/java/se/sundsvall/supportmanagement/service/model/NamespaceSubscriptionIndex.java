@@ -0,0 +1,117 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.time.OffsetDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.EventFilterEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
+/**
+ * The subscriptions targeting a whole namespace, with their event filters compiled into bitsets over the subscriptions,
+ * keyed by event type and subtype. Which subscriptions want an event is hence resolved by a few hash lookups, whatever
+ * the number of subscriptions.
+ * <p>
+ * Subscription level filters override the subscriber's global ones, and no filters at either level means everything is
+ * wanted. Expiry and pause windows depend on when the index is used, and are therefore evaluated at lookup.
+ * <p>
+ * Instances are immutable and safe to share between threads, provided the detached subscribers they hold are not
+ * modified. The version tells indexes of the same namespace apart, a later index having a higher version.
+ */
+public final class NamespaceSubscriptionIndex {
+
+	private final long version;
+	private final SubscriberEntity[] subscribers;
+	private final OffsetDateTime[] expiresAt;
+	private final BitSet wantingEverything = new BitSet();
+	private final Map<String, BitSet> wantingType = new HashMap<>();
+	private final Map<String, Map<String, BitSet>> wantingSubtype = new HashMap<>();
+
+	private NamespaceSubscriptionIndex(final long version, final List<SubscriptionEntity> subscriptions) {
+		this.version = version;
+		this.subscribers = new SubscriberEntity[subscriptions.size()];
+		this.expiresAt = new OffsetDateTime[subscriptions.size()];
+
+		for (var i = 0; i < subscriptions.size(); i++) {
+			final var subscription = subscriptions.get(i);
+			subscribers[i] = subscription.getSubscriber();
+			expiresAt[i] = subscription.getExpiresAt();
+			compile(i, subscription);
+		}
+	}
+
+	public static NamespaceSubscriptionIndex of(final long version, final List<SubscriptionEntity> subscriptions) {
+		return new NamespaceSubscriptionIndex(version, ofNullable(subscriptions).orElse(emptyList()));
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public int size() {
+		return subscribers.length;
+	}
+
+	/**
+	 * @param  position the position of a subscription, as set in the bitsets returned by {@link #findWanting}.
+	 * @return          the subscriber of the subscription.
+	 */
+	public SubscriberEntity getSubscriber(final int position) {
+		return subscribers[position];
+	}
+
+	/**
+	 * Finds the subscriptions that are active and want the given event.
+	 *
+	 * @param  eventType the type of the event.
+	 * @param  subType   the subtype of the event.
+	 * @param  now       the point in time expiry and pause windows are evaluated at.
+	 * @return           a new bitset, holding the positions of the subscriptions.
+	 */
+	public BitSet findWanting(final String eventType, final String subType, final OffsetDateTime now) {
+		final var wanting = (BitSet) wantingEverything.clone();
+		ofNullable(wantingType.get(eventType)).ifPresent(wanting::or);
+		ofNullable(wantingSubtype.get(eventType)).map(subtypes -> subtypes.get(subType)).ifPresent(wanting::or);
+
+		for (var position = wanting.nextSetBit(0); position >= 0; position = wanting.nextSetBit(position + 1)) {
+			if (!isActive(position, now)) {
+				wanting.clear(position);
+			}
+		}
+		return wanting;
+	}
+
+	private boolean isActive(final int position, final OffsetDateTime now) {
+		final var subscriber = subscribers[position];
+		return (expiresAt[position] == null || expiresAt[position].isAfter(now))
+			&& (subscriber.getPausedFrom() == null
+				|| now.isBefore(subscriber.getPausedFrom())
+				|| (subscriber.getPausedUntil() != null && !now.isBefore(subscriber.getPausedUntil())));
+	}
+
+	private void compile(final int position, final SubscriptionEntity subscription) {
+		var filters = subscription.getEventFilters();
+		if (filters == null || filters.isEmpty()) {
+			filters = subscription.getSubscriber().getEventFilters();
+		}
+		if (filters == null || filters.isEmpty()) {
+			wantingEverything.set(position);
+			return;
+		}
+
+		filters.forEach(filter -> bitsOf(filter).set(position));
+	}
+
+	private BitSet bitsOf(final EventFilterEmbeddable filter) {
+		if (filter.getSubtype() == null) {
+			return wantingType.computeIfAbsent(filter.getType(), _ -> new BitSet());
+		}
+		return wantingSubtype.computeIfAbsent(filter.getType(), _ -> new HashMap<>())
+			.computeIfAbsent(filter.getSubtype(), _ -> new BitSet());
+	}
+}
@@ -0,0 +1,11 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.util.List;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+
+/**
+ * The events of a dispatched group that one subscriber is to be notified about.
+ */
+public record NotificationDelivery(SubscriberEntity subscriber, List<NotificationDispatchEntity> events) {
+}
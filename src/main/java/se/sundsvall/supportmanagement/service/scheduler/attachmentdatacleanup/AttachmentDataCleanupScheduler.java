@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.service.scheduler.attachmentdatacleanup;
+
+import org.springframework.stereotype.Service;
+import se.sundsvall.dept44.scheduling.Dept44Scheduled;
+
+@Service
+public class AttachmentDataCleanupScheduler {
+
+	private final AttachmentDataCleanupWorker attachmentDataCleanupWorker;
+
+	public AttachmentDataCleanupScheduler(final AttachmentDataCleanupWorker attachmentDataCleanupWorker) {
+		this.attachmentDataCleanupWorker = attachmentDataCleanupWorker;
+	}
+
+	@Dept44Scheduled(
+		cron = "${scheduler.attachment-data-cleanup.cron}",
+		name = "${scheduler.attachment-data-cleanup.name}",
+		lockAtMostFor = "${scheduler.attachment-data-cleanup.shedlock-lock-at-most-for}",
+		maximumExecutionTime = "${scheduler.attachment-data-cleanup.maximum-execution-time}")
+	void deleteUnreferencedContent() {
+		attachmentDataCleanupWorker.deleteUnreferencedContent();
+	}
+}
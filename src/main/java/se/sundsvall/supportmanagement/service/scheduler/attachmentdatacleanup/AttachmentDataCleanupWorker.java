@@ -0,0 +1,39 @@
+package se.sundsvall.supportmanagement.service.scheduler.attachmentdatacleanup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.service.AttachmentDataService;
+
+@Component
+public class AttachmentDataCleanupWorker {
+
+	private static final int PAGE_SIZE = 100;
+	private static final Logger LOG = LoggerFactory.getLogger(AttachmentDataCleanupWorker.class);
+
+	private final AttachmentDataService attachmentDataService;
+
+	public AttachmentDataCleanupWorker(final AttachmentDataService attachmentDataService) {
+		this.attachmentDataService = attachmentDataService;
+	}
+
+	/**
+	 * Deletes attachment content whose reference count has dropped to zero without the content being deleted. Ids are
+	 * walked in ascending order, one transaction per page, so content that is shared again before it is deleted is passed
+	 * over instead of being looked at again within the same run.
+	 */
+	public void deleteUnreferencedContent() {
+		var total = 0;
+		var ids = attachmentDataService.deleteUnreferenced(0, PAGE_SIZE);
+
+		while (!ids.isEmpty()) {
+			total += ids.size();
+			if (ids.size() < PAGE_SIZE) {
+				break;
+			}
+			ids = attachmentDataService.deleteUnreferenced(ids.getLast(), PAGE_SIZE);
+		}
+
+		LOG.info("Cleanup of unreferenced attachment content completed. Looked at {} attachment contents", total);
+	}
+}
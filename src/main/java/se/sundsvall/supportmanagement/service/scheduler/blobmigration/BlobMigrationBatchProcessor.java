@@ -0,0 +1,74 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+@Component
+public class BlobMigrationBatchProcessor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BlobMigrationBatchProcessor.class);
+
+	private final AttachmentDataRepository attachmentDataRepository;
+	private final BlobStore blobStore;
+	private final EntityManager entityManager;
+
+	public BlobMigrationBatchProcessor(final AttachmentDataRepository attachmentDataRepository, final BlobStore blobStore, final EntityManager entityManager) {
+		this.attachmentDataRepository = attachmentDataRepository;
+		this.blobStore = blobStore;
+		this.entityManager = entityManager;
+	}
+
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int processBatch(final List<Integer> attachmentDataIds) {
+		var processed = 0;
+
+		// Move and detach one row at a time, so that no more than one materialized blob is reachable at any time. The
+		// bytes are dropped from the database by a native update that only applies to rows that have not been moved or
+		// deleted since they were loaded.
+		for (final var attachmentDataId : attachmentDataIds) {
+			final var attachmentData = attachmentDataRepository.findById(attachmentDataId).orElse(null);
+			if (isNull(attachmentData) || nonNull(attachmentData.getStorageKey())) {
+				LOG.debug("Content of attachment data with id: {} is deleted or already moved, skipping", attachmentDataId);
+				continue;
+			}
+
+			try {
+				blobStore.write(attachmentData);
+				if (isNull(attachmentData.getStorageKey())) {
+					continue;
+				}
+				if (attachmentDataRepository.moveContent(attachmentDataId, attachmentData.getStorageKey()) > 0) {
+					processed++;
+				} else {
+					blobStore.delete(attachmentData.getStorageKey());
+				}
+			} catch (final Exception e) {
+				LOG.warn("Failed to move content of attachment data with id: {}", attachmentDataId, e);
+				deleteQuietly(attachmentData.getStorageKey());
+			} finally {
+				entityManager.detach(attachmentData);
+			}
+		}
+
+		return processed;
+	}
+
+	private void deleteQuietly(final String storageKey) {
+		try {
+			blobStore.delete(storageKey);
+		} catch (final IOException e) {
+			LOG.warn("Failed to delete blob {} of content that could not be moved", storageKey, e);
+		}
+	}
+}
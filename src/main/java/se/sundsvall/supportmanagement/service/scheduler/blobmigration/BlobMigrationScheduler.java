@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import org.springframework.stereotype.Service;
+import se.sundsvall.dept44.scheduling.Dept44Scheduled;
+
+@Service
+public class BlobMigrationScheduler {
+
+	private final BlobMigrationWorker blobMigrationWorker;
+
+	public BlobMigrationScheduler(final BlobMigrationWorker blobMigrationWorker) {
+		this.blobMigrationWorker = blobMigrationWorker;
+	}
+
+	@Dept44Scheduled(
+		cron = "${scheduler.blob-migration.cron}",
+		name = "${scheduler.blob-migration.name}",
+		lockAtMostFor = "${scheduler.blob-migration.shedlock-lock-at-most-for}",
+		maximumExecutionTime = "${scheduler.blob-migration.maximum-execution-time}")
+	void moveContentToBlobStore() {
+		blobMigrationWorker.moveContentToBlobStore();
+	}
+}
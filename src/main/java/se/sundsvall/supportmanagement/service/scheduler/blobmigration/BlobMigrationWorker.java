@@ -0,0 +1,57 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+
+@Component
+public class BlobMigrationWorker {
+
+	private static final int PAGE_SIZE = 100;
+	private static final String FILESYSTEM = "filesystem";
+	private static final Logger LOG = LoggerFactory.getLogger(BlobMigrationWorker.class);
+
+	@Value("${attachment.blob-store.type:database}")
+	private String blobStoreType = "database";
+
+	private final AttachmentDataRepository attachmentDataRepository;
+	private final BlobMigrationBatchProcessor batchProcessor;
+
+	public BlobMigrationWorker(final AttachmentDataRepository attachmentDataRepository, final BlobMigrationBatchProcessor batchProcessor) {
+		this.attachmentDataRepository = attachmentDataRepository;
+		this.batchProcessor = batchProcessor;
+	}
+
+	/**
+	 * Moves attachment content stored in the database, before the file system blob store was enabled, to the blob store.
+	 * Ids are walked in ascending order, so content that fails to move is passed over instead of being fetched again
+	 * within the same run. New content is written to the blob store directly and is hence never picked up.
+	 */
+	public void moveContentToBlobStore() {
+		if (!FILESYSTEM.equals(blobStoreType)) {
+			LOG.info("Attachment content is kept in the database, skipping move to blob store");
+			return;
+		}
+
+		var totalProcessed = 0;
+		var ids = attachmentDataRepository.findIdsWithContentInDatabase(0, Limit.of(PAGE_SIZE));
+
+		if (ids.isEmpty()) {
+			LOG.info("No attachment content to move to blob store found");
+			return;
+		}
+
+		while (!ids.isEmpty()) {
+			totalProcessed += batchProcessor.processBatch(ids);
+
+			LOG.info("{} attachment contents moved to blob store so far", totalProcessed);
+
+			ids = attachmentDataRepository.findIdsWithContentInDatabase(ids.getLast(), Limit.of(PAGE_SIZE));
+		}
+
+		LOG.info("Move to blob store completed. Moved {} attachment contents", totalProcessed);
+	}
+}
@@ -0,0 +1,163 @@
+package se.sundsvall.supportmanagement.service.scheduler.emailreader;
+
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.api.model.communication.EmailRequest;
+import se.sundsvall.supportmanagement.integration.db.EmailFollowUpRepository;
+import se.sundsvall.supportmanagement.integration.db.ProcessedEmailRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EmailFollowUpEntity;
+import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEntity;
+import se.sundsvall.supportmanagement.integration.db.model.ProcessedEmailEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType;
+import tools.jackson.databind.ObjectMapper;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static java.util.Objects.isNull;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.DELETE_EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.SEND_CONFIRMATION;
+
+/**
+ * Keeps the remote work that is left for a stored email, i.e. removing it from the mailbox and sending the
+ * confirmation, until it has been done. Entries are written in the transaction that stores the email, so the work is
+ * neither lost nor done for an email that was never stored. The email is also recorded as processed, and is not stored
+ * again when it is read anew from the mailbox until it has been deleted from there, even if the entries have been
+ * dropped.
+ */
+@Service
+public class EmailFollowUpService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EmailFollowUpService.class);
+
+	/**
+	 * How many failed attempts an entry may have before it is dropped.
+	 */
+	@Value("${scheduler.emailreader.follow-up.max-attempts:10}")
+	private int maxAttempts = 10;
+
+	/**
+	 * The delay before the first retry. The delay is doubled for each subsequent failure.
+	 */
+	@Value("${scheduler.emailreader.follow-up.initial-backoff:PT1M}")
+	private Duration initialBackoff = Duration.ofMinutes(1);
+
+	/**
+	 * The longest delay between two attempts.
+	 */
+	@Value("${scheduler.emailreader.follow-up.max-backoff:PT1H}")
+	private Duration maxBackoff = Duration.ofHours(1);
+
+	private final EmailFollowUpRepository emailFollowUpRepository;
+	private final ProcessedEmailRepository processedEmailRepository;
+	private final ObjectMapper objectMapper;
+
+	public EmailFollowUpService(final EmailFollowUpRepository emailFollowUpRepository, final ProcessedEmailRepository processedEmailRepository, final ObjectMapper objectMapper) {
+		this.emailFollowUpRepository = emailFollowUpRepository;
+		this.processedEmailRepository = processedEmailRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Records an email as processed and adds its removal from the mailbox, joining the caller's transaction.
+	 *
+	 * @param config   the configuration of the mailbox the email was read from
+	 * @param emailId  the id of the email in the mailbox
+	 * @param errandId the id of the errand the email was stored on
+	 */
+	@Transactional
+	public void enqueueDelete(final EmailWorkerConfigEntity config, final String emailId, final String errandId) {
+		processedEmailRepository.save(ProcessedEmailEntity.create()
+			.withMunicipalityId(config.getMunicipalityId())
+			.withNamespace(config.getNamespace())
+			.withEmailId(emailId)
+			.withErrandId(errandId));
+		emailFollowUpRepository.save(toEntity(config, emailId, errandId, DELETE_EMAIL));
+	}
+
+	/**
+	 * Adds the sending of a confirmation for an email, joining the caller's transaction.
+	 *
+	 * @param config       the configuration of the mailbox the email was read from
+	 * @param emailId      the id of the email in the mailbox
+	 * @param errandId     the id of the errand the confirmation is sent from
+	 * @param emailRequest the confirmation to send
+	 */
+	@Transactional
+	public void enqueueConfirmation(final EmailWorkerConfigEntity config, final String emailId, final String errandId, final EmailRequest emailRequest) {
+		emailFollowUpRepository.save(toEntity(config, emailId, errandId, SEND_CONFIRMATION)
+			.withPayload(objectMapper.writeValueAsString(emailRequest)));
+	}
+
+	@Transactional(readOnly = true)
+	public boolean isStored(final EmailWorkerConfigEntity config, final String emailId) {
+		return processedEmailRepository.existsByMunicipalityIdAndNamespaceAndEmailId(config.getMunicipalityId(), config.getNamespace(), emailId);
+	}
+
+	@Transactional(readOnly = true)
+	public List<EmailFollowUpEntity> findDue(final int batchSize) {
+		return emailFollowUpRepository.findByNextAttemptLessThanEqualOrderByCreated(now(systemDefault()), PageRequest.of(0, batchSize));
+	}
+
+	public EmailRequest toEmailRequest(final EmailFollowUpEntity entry) {
+		return isNull(entry.getPayload()) ? null : objectMapper.readValue(entry.getPayload(), EmailRequest.class);
+	}
+
+	/**
+	 * Removes an entry that is done. Once an email has been deleted from its mailbox it can no longer be read anew, hence
+	 * it is no longer recorded as processed either.
+	 *
+	 * @param entry the entry that is done
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markDone(final EmailFollowUpEntity entry) {
+		emailFollowUpRepository.deleteById(entry.getId());
+		if (entry.getType() == DELETE_EMAIL) {
+			processedEmailRepository.deleteByMunicipalityIdAndNamespaceAndEmailId(entry.getMunicipalityId(), entry.getNamespace(), entry.getEmailId());
+		}
+	}
+
+	/**
+	 * Schedules a failed entry for a new attempt with exponential backoff, or drops it once {@code maxAttempts} is
+	 * reached. An email whose removal is dropped stays in the mailbox, but is still recorded as processed and is
+	 * therefore not stored again.
+	 *
+	 * @param entry the entry that failed
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public void markFailed(final EmailFollowUpEntity entry) {
+		final var attempts = entry.getAttempts() + 1;
+
+		if (attempts >= maxAttempts) {
+			LOG.error("Giving up on {} for email {} in namespace {} after {} attempts", entry.getType(), entry.getEmailId(), entry.getNamespace(), attempts);
+			emailFollowUpRepository.deleteById(entry.getId());
+			return;
+		}
+
+		emailFollowUpRepository.save(entry
+			.withAttempts(attempts)
+			.withNextAttempt(now(systemDefault()).plus(backoff(attempts)).truncatedTo(MILLIS)));
+	}
+
+	private EmailFollowUpEntity toEntity(final EmailWorkerConfigEntity config, final String emailId, final String errandId, final EmailFollowUpType type) {
+		return EmailFollowUpEntity.create()
+			.withMunicipalityId(config.getMunicipalityId())
+			.withNamespace(config.getNamespace())
+			.withEmailId(emailId)
+			.withErrandId(errandId)
+			.withType(type);
+	}
+
+	private Duration backoff(final int attempts) {
+		// The shift is capped to keep the multiplication from overflowing, maxBackoff is reached long before that anyway
+		final var backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+		return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+	}
+}
@@ -2,6 +2,7 @@ package se.sundsvall.supportmanagement.service.scheduler.emailreader;
 
 import generated.se.sundsvall.emailreader.Email;
 import generated.se.sundsvall.emailreader.EmailAttachment;
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -34,6 +35,7 @@ import static java.util.stream.Collectors.toMap;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.util.StringUtils.hasText;
 import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.toErrandLabels;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
 
 @Component
 public class EmailReaderMapper {
@@ -165,6 +167,8 @@ public class EmailReaderMapper {
 	}
 
 	public AttachmentDataEntity toAttachmentDataEntity(final byte[] attachmentData) {
-		return AttachmentDataEntity.create().withFile(Hibernate.getLobHelper().createBlob(attachmentData));
+		return AttachmentDataEntity.create()
+			.withFile(Hibernate.getLobHelper().createBlob(attachmentData))
+			.withHash(computeSha256Hex(new ByteArrayInputStream(attachmentData)));
 	}
 }
@@ -0,0 +1,45 @@
+package se.sundsvall.supportmanagement.service.scheduler.emailreader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timing of the stages that an email passes through when it is read, exported as the timer
+ * {@value #TIMER_NAME} tagged with the stage.
+ */
+@Component
+public class EmailReaderMetrics {
+
+	static final String TIMER_NAME = "supportmanagement.emailreader.stage";
+
+	public enum Stage {
+		FETCH_EMAILS,
+		FETCH_ATTACHMENT,
+		PROCESS_EMAIL,
+		DELETE_EMAIL,
+		SEND_CONFIRMATION
+	}
+
+	private final MeterRegistry meterRegistry;
+
+	public EmailReaderMetrics(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public <T> T record(final Stage stage, final Supplier<T> supplier) {
+		return timer(stage).record(supplier);
+	}
+
+	public void record(final Stage stage, final Runnable runnable) {
+		timer(stage).record(runnable);
+	}
+
+	private Timer timer(final Stage stage) {
+		return Timer.builder(TIMER_NAME)
+			.description("Time spent per stage of reading emails")
+			.tag("stage", stage.name().toLowerCase())
+			.register(meterRegistry);
+	}
+}
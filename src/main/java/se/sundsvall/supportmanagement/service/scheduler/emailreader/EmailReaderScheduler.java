@@ -1,5 +1,13 @@
 package se.sundsvall.supportmanagement.service.scheduler.emailreader;
 
+import generated.se.sundsvall.emailreader.Email;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,6 +15,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import se.sundsvall.dept44.scheduling.Dept44Scheduled;
 import se.sundsvall.dept44.scheduling.health.Dept44HealthUtility;
+import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEntity;
+
+import static java.util.Objects.isNull;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.PROCESS_EMAIL;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.ErrandNumberParser.parseSubject;
 
 @Service
 public class EmailReaderScheduler {
@@ -14,32 +27,99 @@ public class EmailReaderScheduler {
 	private static final Logger LOG = LoggerFactory.getLogger(EmailReaderScheduler.class);
 
 	private final EmailReaderWorker emailReaderWorker;
+	private final EmailReaderMetrics emailReaderMetrics;
 	private final Consumer<String> emailSetUnHealthyConsumer;
 
 	@Value("${scheduler.emailreader.name}")
 	private String jobName;
 
-	public EmailReaderScheduler(final EmailReaderWorker emailReaderWorker, final Dept44HealthUtility dept44HealthUtility) {
+	@Value("${scheduler.emailreader.max-concurrent-emails:4}")
+	private int maxConcurrentEmails = 4;
+
+	public EmailReaderScheduler(final EmailReaderWorker emailReaderWorker, final EmailReaderMetrics emailReaderMetrics, final Dept44HealthUtility dept44HealthUtility) {
 		this.emailReaderWorker = emailReaderWorker;
+		this.emailReaderMetrics = emailReaderMetrics;
 		this.emailSetUnHealthyConsumer = msg -> dept44HealthUtility.setHealthIndicatorUnhealthy(jobName, String.format("Email error: %s", msg));
 
 	}
 
+	/**
+	 * Reads all enabled mailboxes in parallel. Emails are processed at most {@code max-concurrent-emails} at a time over
+	 * all mailboxes, as each email is stored in a transaction of its own. Emails that refer to the same errand are
+	 * processed one after the other in the order they were read, all other emails in parallel. Once every mailbox has been
+	 * read, the stored emails are deleted from their mailboxes and their confirmations are sent.
+	 */
 	@Dept44Scheduled(cron = "${scheduler.emailreader.cron}",
 		name = "${scheduler.emailreader.name}",
 		lockAtMostFor = "${scheduler.emailreader.shedlock-lock-at-most-for}",
 		maximumExecutionTime = "${scheduler.emailreader.maximum-execution-time}")
 	public void getAndProcessEmails() {
+		final var permits = new Semaphore(Math.max(1, maxConcurrentEmails));
+
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			CompletableFuture.allOf(emailReaderWorker.getEnabledEmailConfigs().stream()
+				.map(config -> CompletableFuture.runAsync(() -> processMailbox(config, permits, executor), executor))
+				.toArray(CompletableFuture[]::new))
+				.join();
+		}
+
+		emailReaderWorker.processFollowUps(emailSetUnHealthyConsumer);
+	}
+
+	private void processMailbox(final EmailWorkerConfigEntity config, final Semaphore permits, final Executor executor) {
+		final List<Email> emails;
+		try {
+			emails = emailReaderWorker.getEmailsFromConfig(config);
+		} catch (final Exception e) {
+			LOG.error("Error fetching emails for namespace: {} in municipality: {}", config.getNamespace(), config.getMunicipalityId(), e);
+			emailSetUnHealthyConsumer.accept("Error fetching emails");
+			return;
+		}
+
+		CompletableFuture.allOf(groupByErrand(emails).stream()
+			.map(sequence -> CompletableFuture.runAsync(() -> sequence.forEach(email -> processEmail(email, config, permits)), executor))
+			.toArray(CompletableFuture[]::new))
+			.join();
+	}
+
+	private void processEmail(final Email email, final EmailWorkerConfigEntity config, final Semaphore permits) {
+		try {
+			permits.acquire();
+		} catch (final InterruptedException _) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		try {
+			emailReaderWorker.stageEmail(email, config)
+				.ifPresent(stagedEmail -> emailReaderMetrics.record(PROCESS_EMAIL, () -> emailReaderWorker.processEmail(stagedEmail, config)));
+		} catch (final Exception e) {
+			LOG.error("Error processing email with id: {}", email.getId(), e);
+			emailSetUnHealthyConsumer.accept("Error processing email");
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Groups emails by the errand number in their subject, keeping the order of the emails within each group. Emails
+	 * without an errand number create an errand of their own and are hence put in a group of their own.
+	 */
+	static List<List<Email>> groupByErrand(final List<Email> emails) {
+		final var sequences = new LinkedHashMap<String, List<Email>>();
+		final var independent = new ArrayList<List<Email>>();
+
+		emails.forEach(email -> {
+			final var errandNumber = parseSubject(email.getSubject());
+			if (isNull(errandNumber)) {
+				independent.add(List.of(email));
+			} else {
+				sequences.computeIfAbsent(errandNumber, _ -> new ArrayList<>()).add(email);
+			}
+		});
 
-		emailReaderWorker.getEnabledEmailConfigs()
-			.forEach(config -> emailReaderWorker.getEmailsFromConfig(config)
-				.forEach(email -> {
-					try {
-						emailReaderWorker.processEmail(email, config, emailSetUnHealthyConsumer);
-					} catch (final Exception e) {
-						LOG.error("Error processing email with id: {}", email.getId(), e);
-						emailSetUnHealthyConsumer.accept("Error processing email");
-					}
-				}));
+		final var result = new ArrayList<List<Email>>(sequences.values());
+		result.addAll(independent);
+		return result;
 	}
 }
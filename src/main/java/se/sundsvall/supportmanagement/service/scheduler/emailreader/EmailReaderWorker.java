@@ -1,24 +1,31 @@
 package se.sundsvall.supportmanagement.service.scheduler.emailreader;
 
 import generated.se.sundsvall.emailreader.Email;
+import generated.se.sundsvall.emailreader.EmailAttachment;
 import generated.se.sundsvall.eventlog.EventType;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.supportmanagement.api.model.communication.EmailRequest;
 import se.sundsvall.supportmanagement.integration.db.EmailWorkerConfigRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EmailFollowUpEntity;
 import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
-import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
 import se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType;
 import se.sundsvall.supportmanagement.integration.emailreader.EmailReaderClient;
@@ -28,6 +35,10 @@ import se.sundsvall.supportmanagement.service.EventService;
 
 import static java.util.Collections.emptyList;
 import static org.apache.commons.lang3.StringUtils.isAnyEmpty;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.DELETE_EMAIL;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.FETCH_ATTACHMENT;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.FETCH_EMAILS;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.SEND_CONFIRMATION;
 import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderUtilities.isAutoReply;
 import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderUtilities.isDeliveryStatusReport;
 import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderUtilities.isNoReplyAddress;
@@ -55,9 +66,29 @@ public class EmailReaderWorker {
 
 	private final EmailWorkerConfigRepository emailWorkerConfigRepository;
 
+	private final EmailFollowUpService emailFollowUpService;
+
+	private final EmailReaderMetrics emailReaderMetrics;
+
+	@Value("${scheduler.emailreader.max-concurrent-attachment-downloads:4}")
+	private int maxConcurrentAttachmentDownloads = 4;
+
+	/**
+	 * How many follow-up entries are read at a time.
+	 */
+	@Value("${scheduler.emailreader.follow-up.batch-size:100}")
+	private int followUpBatchSize = 100;
+
+	/**
+	 * Upper bound of follow-up batches per run, so that a run always ends even if entries keep coming due.
+	 */
+	@Value("${scheduler.emailreader.follow-up.max-batches-per-run:10}")
+	private int maxFollowUpBatchesPerRun = 10;
+
 	public EmailReaderWorker(final EmailReaderClient emailReaderClient, final EventService eventService,
 		final ErrandsRepository errandRepository, final ErrandService errandService, final CommunicationService communicationService,
-		final EmailReaderMapper emailReaderMapper, final EmailWorkerConfigRepository emailWorkerConfigRepository) {
+		final EmailReaderMapper emailReaderMapper, final EmailWorkerConfigRepository emailWorkerConfigRepository, final EmailFollowUpService emailFollowUpService,
+		final EmailReaderMetrics emailReaderMetrics) {
 		this.emailReaderClient = emailReaderClient;
 		this.eventService = eventService;
 		this.errandRepository = errandRepository;
@@ -65,6 +96,8 @@ public class EmailReaderWorker {
 		this.communicationService = communicationService;
 		this.emailReaderMapper = emailReaderMapper;
 		this.emailWorkerConfigRepository = emailWorkerConfigRepository;
+		this.emailFollowUpService = emailFollowUpService;
+		this.emailReaderMetrics = emailReaderMetrics;
 	}
 
 	public Set<EmailWorkerConfigEntity> getEnabledEmailConfigs() {
@@ -74,52 +107,112 @@ public class EmailReaderWorker {
 	}
 
 	public List<Email> getEmailsFromConfig(final EmailWorkerConfigEntity config) {
-		return emailReaderClient.getEmails(config.getMunicipalityId(), config.getNamespace());
+		return emailReaderMetrics.record(FETCH_EMAILS, () -> emailReaderClient.getEmails(config.getMunicipalityId(), config.getNamespace()));
 	}
 
-	@Transactional
-	public void processEmail(final Email email, final EmailWorkerConfigEntity config, final Consumer<String> setUnHealthyConsumer) {
+	/**
+	 * Prepares an email for storage by downloading the content of its attachments. Runs outside of any transaction, so no
+	 * database connection is held while waiting on the email reader.
+	 *
+	 * @param  email  the email to prepare
+	 * @param  config the configuration of the mailbox the email was read from
+	 * @return        the email and its attachments, or empty if the email should not be stored
+	 */
+	public Optional<StagedEmail> stageEmail(final Email email, final EmailWorkerConfigEntity config) {
 
 		// Delete and skip entirely when configured to fully ignore
 		if (config.isIgnoreAutoReply() && isAutoReply(email) && !isDeliveryStatusReport(email)) {
 			LOG.info("Email '{}' is an auto-reply and will be deleted per namespace config", email.getId());
 			emailReaderClient.deleteEmail(config.getMunicipalityId(), email.getId());
-			return;
+			return Optional.empty();
 		}
 		if (config.isIgnoreNoReply() && isNoReplyAddress(email)) {
 			LOG.info("Email '{}' is from a no-reply address and will be deleted per namespace config", email.getId());
 			emailReaderClient.deleteEmail(config.getMunicipalityId(), email.getId());
-			return;
+			return Optional.empty();
+		}
+
+		// Stored on an earlier run, but not yet deleted from the mailbox
+		if (emailFollowUpService.isStored(config, email.getId())) {
+			LOG.info("Email '{}' is already stored and is waiting to be deleted from the mailbox", email.getId());
+			return Optional.empty();
 		}
 
+		return Optional.of(new StagedEmail(email, fetchAttachments(email, config)));
+	}
+
+	/**
+	 * Stores a prepared email on its errand, creating the errand when needed. Deleting the email from the mailbox and
+	 * sending the confirmation are left to {@link #processFollowUps(Consumer)}, so the transaction only spans the database.
+	 *
+	 * @param stagedEmail the email and its attachments
+	 * @param config      the configuration of the mailbox the email was read from
+	 */
+	@Transactional
+	public void processEmail(final StagedEmail stagedEmail, final EmailWorkerConfigEntity config) {
+		final var email = stagedEmail.email();
 		final var errandNumber = parseSubject(email.getSubject());
 
 		getErrand(errandNumber, email, config).ifPresent(errand -> {
-			final var emailRequest = processErrand(errand, email, config);
-
-			try {
-				emailReaderClient.deleteEmail(config.getMunicipalityId(), email.getId());
-			} catch (final Exception e) {
-				LOG.warn("Failed to delete email {} from EmailReader for errand {}: {}", email.getId(), errand.getId(), e.getMessage());
-				setUnHealthyConsumer.accept("Failed to delete email from EmailReader — email will be re-processed and may cause duplicate communications");
-			}
+			final var emailRequest = processErrand(errand, stagedEmail, config);
 
-			try {
-				sendEmail(errand, emailRequest);
-			} catch (final Exception e) {
-				LOG.error("Failed to send confirmation email. Error: {}", e.getMessage());
-				setUnHealthyConsumer.accept("Failed to send confirmation email");
+			emailFollowUpService.enqueueDelete(config, email.getId(), errand.getId());
+			if (emailRequest != null) {
+				emailFollowUpService.enqueueConfirmation(config, email.getId(), errand.getId(), emailRequest);
 			}
 		});
+	}
 
+	/**
+	 * Deletes stored emails from their mailboxes and sends their confirmations, batch by batch. Every entry that is done
+	 * is removed and every failed entry is rescheduled, so each batch only holds entries that have not been attempted in
+	 * this run. A confirmation whose entry fails to be removed after it has been sent is sent again, i.e. delivery is at
+	 * least once.
+	 *
+	 * @param setUnHealthyConsumer consumer to report failures to
+	 */
+	public void processFollowUps(final Consumer<String> setUnHealthyConsumer) {
+		var batches = 0;
+
+		var batch = emailFollowUpService.findDue(followUpBatchSize);
+		while (!batch.isEmpty()) {
+			batch.forEach(entry -> processFollowUp(entry, setUnHealthyConsumer));
+
+			if (batch.size() < followUpBatchSize || ++batches >= maxFollowUpBatchesPerRun) {
+				break;
+			}
+			batch = emailFollowUpService.findDue(followUpBatchSize);
+		}
 	}
 
-	private void sendEmail(final ErrandEntity errand, final EmailRequest emailRequest) {
-		if (emailRequest != null) {
-			communicationService.sendEmail(errand, emailRequest);
+	private void processFollowUp(final EmailFollowUpEntity entry, final Consumer<String> setUnHealthyConsumer) {
+		try {
+			switch (entry.getType()) {
+				case DELETE_EMAIL -> emailReaderMetrics.record(DELETE_EMAIL, () -> emailReaderClient.deleteEmail(entry.getMunicipalityId(), entry.getEmailId()));
+				case SEND_CONFIRMATION -> sendConfirmation(entry);
+			}
+			emailFollowUpService.markDone(entry);
+		} catch (final Exception e) {
+			switch (entry.getType()) {
+				case DELETE_EMAIL -> {
+					LOG.warn("Failed to delete email {} from EmailReader for errand {}: {}", entry.getEmailId(), entry.getErrandId(), e.getMessage());
+					setUnHealthyConsumer.accept("Failed to delete email from EmailReader");
+				}
+				case SEND_CONFIRMATION -> {
+					LOG.error("Failed to send confirmation email. Error: {}", e.getMessage());
+					setUnHealthyConsumer.accept("Failed to send confirmation email");
+				}
+			}
+			emailFollowUpService.markFailed(entry);
 		}
 	}
 
+	private void sendConfirmation(final EmailFollowUpEntity entry) {
+		errandRepository.findById(entry.getErrandId()).ifPresentOrElse(
+			errand -> emailReaderMetrics.record(SEND_CONFIRMATION, () -> communicationService.sendEmail(errand, emailFollowUpService.toEmailRequest(entry))),
+			() -> LOG.warn("Errand {} no longer exists, no confirmation is sent for email {}", entry.getErrandId(), entry.getEmailId()));
+	}
+
 	private Optional<ErrandEntity> getErrand(final String errandNumber, final Email email, final EmailWorkerConfigEntity config) {
 
 		return Optional.ofNullable(errandNumber)
@@ -134,7 +227,8 @@ public class EmailReaderWorker {
 					null)));
 	}
 
-	private EmailRequest processErrand(final ErrandEntity errand, final Email email, final EmailWorkerConfigEntity config) {
+	private EmailRequest processErrand(final ErrandEntity errand, final StagedEmail stagedEmail, final EmailWorkerConfigEntity config) {
+		final var email = stagedEmail.email();
 
 		EmailRequest emailRequest = null;
 		if (isErrandInactive(errand, config)) {
@@ -145,7 +239,7 @@ public class EmailReaderWorker {
 			errand.setStatus(config.getStatusChangeTo());
 			errandRepository.save(errand);
 		}
-		saveEmail(email, errand);
+		saveEmail(stagedEmail, errand);
 		try {
 			eventService.createErrandEvent(EventType.UPDATE, EVENT_LOG_COMMUNICATION, errand, null, null, EventSubType.MESSAGE);
 		} catch (final Exception e) {
@@ -154,10 +248,10 @@ public class EmailReaderWorker {
 		return emailRequest;
 	}
 
-	private void saveEmail(final Email email, final ErrandEntity errand) {
+	private void saveEmail(final StagedEmail stagedEmail, final ErrandEntity errand) {
 
-		final var communicationEntity = emailReaderMapper.toCommunicationEntity(email, errand);
-		addAttachments(communicationEntity);
+		final var communicationEntity = emailReaderMapper.toCommunicationEntity(stagedEmail.email(), errand);
+		addAttachments(communicationEntity, stagedEmail.attachments());
 
 		communicationService.saveCommunication(communicationEntity);
 		communicationService.saveAttachment(communicationEntity, errand);
@@ -202,14 +296,53 @@ public class EmailReaderWorker {
 		return emailReaderMapper.createEmailRequest(email, config.getErrandNewEmailSender(), config.getErrandNewEmailTemplate(), config.getErrandNewEmailHTMLTemplate(), subject);
 	}
 
-	void addAttachments(final CommunicationEntity communicationEntity) {
-		Optional.ofNullable(communicationEntity.getAttachments()).orElse(emptyList()).forEach(this::addAttachment);
+	private void addAttachments(final CommunicationEntity communicationEntity, final Map<String, byte[]> content) {
+		Optional.ofNullable(communicationEntity.getAttachments()).orElse(emptyList()).forEach(attachment -> {
+			final var attachmentData = content.getOrDefault(attachment.getForeignId(), new byte[0]);
+			attachment.withAttachmentData(emailReaderMapper.toAttachmentDataEntity(attachmentData))
+				.withFileSize(attachmentData.length);
+		});
+	}
+
+	/**
+	 * Downloads the attachments of an email in parallel, at most {@code max-concurrent-attachment-downloads} at a time. A
+	 * failed download fails the processing of the email as a whole.
+	 */
+	Map<String, byte[]> fetchAttachments(final Email email, final EmailWorkerConfigEntity config) {
+		final var attachments = Optional.ofNullable(email.getAttachments()).orElse(emptyList());
+		if (attachments.isEmpty()) {
+			return Map.of();
+		}
+
+		final var permits = new Semaphore(Math.max(1, maxConcurrentAttachmentDownloads));
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final var downloads = attachments.stream()
+				.map(attachment -> executor.submit(() -> fetchAttachment(config.getMunicipalityId(), attachment, permits)))
+				.toList();
+
+			final var content = new LinkedHashMap<String, byte[]>();
+			for (var i = 0; i < attachments.size(); i++) {
+				content.put(attachments.get(i).getId().toString(), downloads.get(i).get());
+			}
+			return content;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while fetching attachments", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof final RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Failed to fetch attachment", e.getCause());
+		}
 	}
 
-	private void addAttachment(final CommunicationAttachmentEntity attachment) {
-		final var attachmentData = Optional.ofNullable(emailReaderClient.getAttachment(attachment.getMunicipalityId(),
-			Integer.parseInt(attachment.getForeignId()))).orElse(new byte[0]);
-		attachment.withAttachmentData(emailReaderMapper.toAttachmentDataEntity(attachmentData))
-			.withFileSize(attachmentData.length);
+	private byte[] fetchAttachment(final String municipalityId, final EmailAttachment attachment, final Semaphore permits) throws InterruptedException {
+		permits.acquire();
+		try {
+			return emailReaderMetrics.record(FETCH_ATTACHMENT, () -> Optional.ofNullable(emailReaderClient.getAttachment(municipalityId,
+				Math.toIntExact(attachment.getId()))).orElse(new byte[0]));
+		} finally {
+			permits.release();
+		}
 	}
 }
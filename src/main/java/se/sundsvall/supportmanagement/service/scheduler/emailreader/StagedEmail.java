@@ -0,0 +1,11 @@
+package se.sundsvall.supportmanagement.service.scheduler.emailreader;
+
+import generated.se.sundsvall.emailreader.Email;
+import java.util.Map;
+
+/**
+ * An email read from a mailbox together with the content of its attachments, keyed by attachment id, ready to be
+ * stored without any further calls to the email reader.
+ */
+public record StagedEmail(Email email, Map<String, byte[]> attachments) {
+}
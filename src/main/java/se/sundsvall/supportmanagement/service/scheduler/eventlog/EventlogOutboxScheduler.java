@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.service.scheduler.eventlog;
+
+import org.springframework.stereotype.Service;
+import se.sundsvall.dept44.scheduling.Dept44Scheduled;
+
+@Service
+public class EventlogOutboxScheduler {
+
+	private final EventlogOutboxWorker eventlogOutboxWorker;
+
+	public EventlogOutboxScheduler(final EventlogOutboxWorker eventlogOutboxWorker) {
+		this.eventlogOutboxWorker = eventlogOutboxWorker;
+	}
+
+	@Dept44Scheduled(
+		cron = "${scheduler.eventlog-outbox.cron}",
+		name = "${scheduler.eventlog-outbox.name}",
+		lockAtMostFor = "${scheduler.eventlog-outbox.shedlock-lock-at-most-for}",
+		maximumExecutionTime = "${scheduler.eventlog-outbox.maximum-execution-time}")
+	void publishEvents() {
+		eventlogOutboxWorker.publishPendingEvents();
+	}
+}
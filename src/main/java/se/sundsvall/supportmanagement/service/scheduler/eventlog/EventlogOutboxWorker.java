@@ -0,0 +1,83 @@
+package se.sundsvall.supportmanagement.service.scheduler.eventlog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.model.EventlogOutboxEntity;
+import se.sundsvall.supportmanagement.integration.eventlog.EventlogClient;
+import se.sundsvall.supportmanagement.service.EventlogOutboxService;
+
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+import static se.sundsvall.supportmanagement.service.mapper.EventlogMapper.toEventId;
+
+@Component
+public class EventlogOutboxWorker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EventlogOutboxWorker.class);
+
+	/**
+	 * How many entries are read from the outbox at a time.
+	 */
+	@Value("${scheduler.eventlog-outbox.batch-size:100}")
+	private int batchSize = 100;
+
+	/**
+	 * Upper bound of batches per run, so that a run always ends even if entries keep coming due.
+	 */
+	@Value("${scheduler.eventlog-outbox.max-batches-per-run:50}")
+	private int maxBatchesPerRun = 50;
+
+	private final EventlogOutboxService eventlogOutboxService;
+	private final EventlogClient eventlogClient;
+
+	public EventlogOutboxWorker(final EventlogOutboxService eventlogOutboxService, final EventlogClient eventlogClient) {
+		this.eventlogOutboxService = eventlogOutboxService;
+		this.eventlogClient = eventlogClient;
+	}
+
+	/**
+	 * Publishes due outbox entries to Eventlog, batch by batch. Every published entry is removed and every failed entry is
+	 * rescheduled, so each batch only holds entries that have not been attempted in this run.
+	 * <p>
+	 * Eventlog is called outside of any transaction. An entry whose removal fails after a successful call is published
+	 * again on a later run, i.e. delivery is at least once.
+	 */
+	public void publishPendingEvents() {
+		var published = 0;
+		var failed = 0;
+		var batches = 0;
+
+		var batch = eventlogOutboxService.findDue(batchSize);
+		while (!batch.isEmpty()) {
+			for (final var entry : batch) {
+				if (publish(entry)) {
+					published++;
+				} else {
+					failed++;
+				}
+			}
+
+			if (batch.size() < batchSize || ++batches >= maxBatchesPerRun) {
+				break;
+			}
+			batch = eventlogOutboxService.findDue(batchSize);
+		}
+
+		if (published + failed > 0) {
+			LOG.info("Eventlog outbox processed: {} published, {} failed", published, failed);
+		}
+	}
+
+	private boolean publish(final EventlogOutboxEntity entry) {
+		try {
+			final var response = eventlogClient.createEvent(entry.getMunicipalityId(), entry.getLogKey(), eventlogOutboxService.toEvent(entry));
+			eventlogOutboxService.markPublished(entry, toEventId(response));
+			return true;
+		} catch (final Exception e) {
+			LOG.warn("Failed to publish event log entry {} for log key {}: {}", entry.getId(), sanitizeForLogging(entry.getLogKey()), sanitizeForLogging(e.getMessage()));
+			eventlogOutboxService.markFailed(entry);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
+
+import generated.se.sundsvall.relation.Relation;
+import java.util.Map;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+
+/**
+ * The relations referred to by a set of conversations, keyed by relation id, and the errands of this service that those
+ * relations point to, keyed by errand id. Resolved once for all conversations of a page instead of once per
+ * conversation.
+ */
+public record ConversationReferences(Map<String, Relation> relations, Map<String, ErrandEntity> errands) {
+}
@@ -1,18 +1,26 @@
 package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
 
 import generated.se.sundsvall.messageexchange.Conversation;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import se.sundsvall.dept44.scheduling.Dept44Scheduled;
 import se.sundsvall.supportmanagement.integration.db.model.MessageExchangeSyncEntity;
 
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
 @Service
 public class MessageExchangeScheduler {
 
@@ -20,20 +28,37 @@ public class MessageExchangeScheduler {
 
 	@Value("${scheduler.messageexchange.enabled:true}")
 	private boolean isSchedulerEnabled;
+
+	@Value("${scheduler.messageexchange.page-size:100}")
+	private int pageSize = 100;
+
+	@Value("${scheduler.messageexchange.max-concurrent-conversations:4}")
+	private int maxConcurrentConversations = 4;
+
 	private final MessageExchangeWorker messageExchangeWorker;
+	private final MessageExchangeSyncMetrics messageExchangeSyncMetrics;
 	private final AsyncTaskExecutor asyncTaskExecutor;
 	private final MessageExchangeScheduler self;
 
 	public MessageExchangeScheduler(final MessageExchangeWorker messageExchangeWorker,
+		final MessageExchangeSyncMetrics messageExchangeSyncMetrics,
 		@Qualifier("taskScheduler") final AsyncTaskExecutor asyncTaskExecutor,
 		@Lazy final MessageExchangeScheduler self) {
 
 		this.messageExchangeWorker = messageExchangeWorker;
+		this.messageExchangeSyncMetrics = messageExchangeSyncMetrics;
 		this.asyncTaskExecutor = asyncTaskExecutor;
 		this.self = self;
 
 	}
 
+	/**
+	 * Syncs the conversations of every active sync entity, one sync entity after the other. The conversations of a sync
+	 * entity are synced in pages, ordered by their latest sequence number, with at most
+	 * {@code max-concurrent-conversations} conversations of a page being synced at a time. The latest synced sequence
+	 * number is saved after every page that was synced without errors, hence an interrupted run is resumed from the last
+	 * completed page by the next run.
+	 */
 	@Dept44Scheduled(
 		cron = "${scheduler.messageexchange.cron}",
 		name = "${scheduler.messageexchange.name}",
@@ -45,31 +70,94 @@ public class MessageExchangeScheduler {
 			return;
 		}
 
-		messageExchangeWorker.getActiveSyncEntities()
-			.forEach(syncEntity -> {
-				var page = processConversationPage(messageExchangeWorker.getConversations(syncEntity, Pageable.ofSize(100)), syncEntity);
-				while (page.hasNext()) {
-					page = processConversationPage(messageExchangeWorker.getConversations(syncEntity, page.nextPageable()), syncEntity);
+		messageExchangeWorker.getActiveSyncEntities().forEach(this::syncConversations);
+	}
+
+	private void syncConversations(final MessageExchangeSyncEntity syncEntity) {
+		try {
+			final var conversations = getConversations(syncEntity);
+			final var size = Math.max(1, pageSize);
+			var remaining = conversations.size();
+			messageExchangeSyncMetrics.recordLag(syncEntity, remaining);
+
+			for (var from = 0; from < conversations.size(); from += size) {
+				final var conversationPage = conversations.subList(from, Math.min(from + size, conversations.size()));
+				if (!processConversationPage(conversationPage, syncEntity)) {
+					LOGGER.warn("Conversation sync for namespace: {} in municipality: {} stopped at sequence number: {}", syncEntity.getNamespace(), syncEntity.getMunicipalityId(),
+						syncEntity.getLatestSyncedSequenceNumber());
+					return;
 				}
-				messageExchangeWorker.saveSyncEntity(syncEntity);
-			});
+				remaining -= conversationPage.size();
+				messageExchangeSyncMetrics.recordLag(syncEntity, remaining);
+			}
+		} catch (final Exception e) {
+			LOGGER.error("Error syncing conversations for namespace: {} in municipality: {}", syncEntity.getNamespace(), syncEntity.getMunicipalityId(), e);
+		}
 	}
 
 	/**
-	 * Process all conversations in page. Sets the highest sequence number on syncEntity
+	 * Reads all conversations with messages newer than the latest synced sequence number of the sync entity, ordered by
+	 * their latest sequence number.
+	 */
+	private List<Conversation> getConversations(final MessageExchangeSyncEntity syncEntity) {
+		final var conversations = new ArrayList<Conversation>();
+		var page = messageExchangeWorker.getConversations(syncEntity, Pageable.ofSize(Math.max(1, pageSize)));
+		conversations.addAll(page.getContent());
+		while (page.hasNext()) {
+			page = messageExchangeWorker.getConversations(syncEntity, page.nextPageable());
+			conversations.addAll(page.getContent());
+		}
+		conversations.sort(comparing(Conversation::getLatestSequenceNumber, nullsFirst(naturalOrder())));
+		return conversations;
+	}
+
+	/**
+	 * Process all conversations in page in parallel. If all conversations were processed, the highest sequence number of
+	 * the page is set on syncEntity and saved.
 	 *
 	 * @param  conversationPage page to process
 	 * @param  syncEntity       Updated with the highest sequence number from conversation page
-	 * @return                  same as param conversationPage
+	 * @return                  true if all conversations in the page were processed, false otherwise
 	 */
-	private Page<Conversation> processConversationPage(Page<Conversation> conversationPage, MessageExchangeSyncEntity syncEntity) {
+	private boolean processConversationPage(final List<Conversation> conversationPage, final MessageExchangeSyncEntity syncEntity) {
+		final var references = messageExchangeWorker.resolveReferences(conversationPage);
+		final var permits = new Semaphore(Math.max(1, maxConcurrentConversations));
+
+		final boolean processed;
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final var futures = conversationPage.stream()
+				.map(conversation -> CompletableFuture.supplyAsync(() -> processConversation(conversation, references, syncEntity, permits), executor))
+				.toList();
+			processed = futures.stream().allMatch(CompletableFuture::join);
+		}
+
+		if (!processed) {
+			return false;
+		}
+
 		conversationPage.stream()
-			.map(messageExchangeWorker::processConversation)
-			.max(Comparator.comparingLong(Conversation::getLatestSequenceNumber))
 			.map(Conversation::getLatestSequenceNumber)
+			.filter(Objects::nonNull)
+			.max(Long::compareTo)
 			.filter(latestSeqNrInConversationPage -> syncEntity.getLatestSyncedSequenceNumber().compareTo(latestSeqNrInConversationPage) < 0)
 			.ifPresent(syncEntity::setLatestSyncedSequenceNumber);
-		return conversationPage;
+		messageExchangeWorker.saveSyncEntity(syncEntity);
+		return true;
+	}
+
+	private boolean processConversation(final Conversation conversation, final ConversationReferences references, final MessageExchangeSyncEntity syncEntity, final Semaphore permits) {
+		permits.acquireUninterruptibly();
+		try {
+			messageExchangeWorker.processConversation(conversation, references);
+			messageExchangeSyncMetrics.recordSynced(syncEntity, true);
+			return true;
+		} catch (final Exception e) {
+			LOGGER.error("Error syncing conversation with id: {}", conversation.getId(), e);
+			messageExchangeSyncMetrics.recordSynced(syncEntity, false);
+			return false;
+		} finally {
+			permits.release();
+		}
 	}
 
 	public void triggerSyncConversationsAsync() {
@@ -0,0 +1,47 @@
+package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.model.MessageExchangeSyncEntity;
+
+/**
+ * Progress of the conversation sync per sync entity, exported as the gauge {@value #LAG_GAUGE_NAME}, holding the number
+ * of conversations not yet synced, and the counter {@value #CONVERSATIONS_COUNTER_NAME}, counting synced conversations
+ * by outcome.
+ */
+@Component
+public class MessageExchangeSyncMetrics {
+
+	static final String LAG_GAUGE_NAME = "supportmanagement.messageexchange.sync.lag";
+	static final String CONVERSATIONS_COUNTER_NAME = "supportmanagement.messageexchange.sync.conversations";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<Tags, AtomicLong> lags = new ConcurrentHashMap<>();
+
+	public MessageExchangeSyncMetrics(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public void recordLag(final MessageExchangeSyncEntity syncEntity, final long remainingConversations) {
+		lags.computeIfAbsent(tags(syncEntity), tags -> meterRegistry.gauge(LAG_GAUGE_NAME, tags, new AtomicLong()))
+			.set(remainingConversations);
+	}
+
+	public void recordSynced(final MessageExchangeSyncEntity syncEntity, final boolean successful) {
+		Counter.builder(CONVERSATIONS_COUNTER_NAME)
+			.description("Conversations synced from message exchange")
+			.tags(tags(syncEntity))
+			.tag("outcome", successful ? "success" : "failure")
+			.register(meterRegistry)
+			.increment();
+	}
+
+	private static Tags tags(final MessageExchangeSyncEntity syncEntity) {
+		return Tags.of("municipality_id", syncEntity.getMunicipalityId(), "namespace", syncEntity.getNamespace());
+	}
+}
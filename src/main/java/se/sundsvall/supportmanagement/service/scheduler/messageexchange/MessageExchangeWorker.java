@@ -1,22 +1,31 @@
 package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
 
 import generated.se.sundsvall.messageexchange.Conversation;
+import generated.se.sundsvall.relation.Relation;
 import generated.se.sundsvall.relation.ResourceIdentifier;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.integration.db.ConversationRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.MessageExchangeSyncRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.MessageExchangeSyncEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.ConversationEntity;
 import se.sundsvall.supportmanagement.integration.messageexchange.MessageExchangeClient;
@@ -24,8 +33,11 @@ import se.sundsvall.supportmanagement.integration.relation.RelationClient;
 import se.sundsvall.supportmanagement.service.MessageExchangeSyncService;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Optional.ofNullable;
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static se.sundsvall.supportmanagement.service.mapper.ConversationMapper.RELATION_ID_KEY;
 
 @Component
@@ -39,6 +51,9 @@ public class MessageExchangeWorker {
 	private final ErrandsRepository errandsRepository;
 	private static final String THIS_SERVICE = "supportmanagement";
 
+	@Value("${scheduler.messageexchange.max-concurrent-relation-lookups:8}")
+	private int maxConcurrentRelationLookups = 8;
+
 	public MessageExchangeWorker(final MessageExchangeClient messageExchangeClient, final MessageExchangeSyncRepository messageExchangeSyncRepository,
 		final ConversationRepository conversationRepository, final MessageExchangeSyncService messageExchangeSyncService,
 		final RelationClient relationClient, final ErrandsRepository errandsRepository) {
@@ -64,34 +79,90 @@ public class MessageExchangeWorker {
 		return messageExchangeClient.getConversations(null, syncEntity.getMunicipalityId(), syncEntity.getNamespace(), "messages.sequenceNumber.id > ".concat(syncEntity.getLatestSyncedSequenceNumber().toString()), pageable).getBody();
 	}
 
+	/**
+	 * Resolves the relations referred to by the given conversations and the errands of this service that they point to.
+	 * Each relation is fetched once, however many conversations refer to it, at most
+	 * {@code max-concurrent-relation-lookups} at a time. The errands are then read in a single query.
+	 *
+	 * @param  conversations the conversations to resolve references for
+	 * @return               the relations and errands referred to by the conversations
+	 */
+	public ConversationReferences resolveReferences(final List<Conversation> conversations) {
+		final var relations = fetchRelations(conversations);
+		final var errandIds = relations.values().stream()
+			.flatMap(relation -> Stream.of(relation.getTarget(), relation.getSource()))
+			.filter(Objects::nonNull)
+			.filter(MessageExchangeWorker::pointsToThisService)
+			.map(ResourceIdentifier::getResourceId)
+			.filter(Objects::nonNull)
+			.collect(toSet());
+
+		final Map<String, ErrandEntity> errands = errandIds.isEmpty() ? emptyMap()
+			: errandsRepository.findAllById(errandIds).stream().collect(toMap(ErrandEntity::getId, identity()));
+
+		return new ConversationReferences(relations, errands);
+	}
+
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public Conversation processConversation(final Conversation conversation) {
-		addNewUnsyncedConversationsToList(conversation, conversationRepository.findByMessageExchangeId(conversation.getId()))
+	public Conversation processConversation(final Conversation conversation, final ConversationReferences references) {
+		addNewUnsyncedConversationsToList(conversation, references, conversationRepository.findByMessageExchangeId(conversation.getId()))
 			.forEach(conversationEntity -> messageExchangeSyncService.syncConversation(conversationEntity, conversation));
 		return conversation;
 	}
 
+	private Map<String, Relation> fetchRelations(final List<Conversation> conversations) {
+		// Relation id mapped to the municipality of the first conversation referring to it
+		final var relationIds = new LinkedHashMap<String, String>();
+		conversations.forEach(conversation -> relationIdsOf(conversation).forEach(relationId -> relationIds.putIfAbsent(relationId, conversation.getMunicipalityId())));
+
+		final var relations = new ConcurrentHashMap<String, Relation>();
+		final var permits = new Semaphore(Math.max(1, maxConcurrentRelationLookups));
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			CompletableFuture.allOf(relationIds.entrySet().stream()
+				.map(entry -> CompletableFuture.runAsync(() -> fetchRelation(entry.getValue(), entry.getKey(), permits)
+					.ifPresent(relation -> relations.put(entry.getKey(), relation)), executor))
+				.toArray(CompletableFuture[]::new))
+				.join();
+		}
+		return relations;
+	}
+
+	private Optional<Relation> fetchRelation(final String municipalityId, final String relationId, final Semaphore permits) {
+		permits.acquireUninterruptibly();
+		try {
+			return Optional.of(relationClient.getRelation(municipalityId, relationId))
+				.filter(response -> response.getStatusCode().is2xxSuccessful())
+				.map(HttpEntity::getBody);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private static Stream<String> relationIdsOf(final Conversation conversation) {
+		return ofNullable(conversation.getExternalReferences()).orElse(emptyList()).stream()
+			.filter(keyValues -> keyValues.getKey() != null && keyValues.getKey().equals(RELATION_ID_KEY))
+			.flatMap(keyValues -> ofNullable(keyValues.getValues()).orElse(emptyList()).stream())
+			.filter(Objects::nonNull);
+	}
+
 	/**
 	 * Appends conversation to conversationEntities for conversation where target relation points to support-management
 	 * errand and is not created.
 	 *
 	 * @param  conversation         Conversation that is processed
+	 * @param  references           Relations and errands resolved for the conversation
 	 * @param  conversationEntities List of existing conversations
 	 * @return                      conversationEntities with possible added conversations
 	 */
-	private List<ConversationEntity> addNewUnsyncedConversationsToList(final Conversation conversation, final List<ConversationEntity> conversationEntities) {
-		ofNullable(conversation.getExternalReferences()).orElse(emptyList()).stream()
-			.filter(keyValues -> keyValues.getKey() != null && keyValues.getKey().equals(RELATION_ID_KEY))
-			.flatMap(keyValues -> keyValues.getValues().stream())
-			.map(relationId -> relationClient.getRelation(conversation.getMunicipalityId(), relationId))
-			.filter(response -> response.getStatusCode().is2xxSuccessful())
-			.map(HttpEntity::getBody)
+	private List<ConversationEntity> addNewUnsyncedConversationsToList(final Conversation conversation, final ConversationReferences references, final List<ConversationEntity> conversationEntities) {
+		relationIdsOf(conversation)
+			.map(references.relations()::get)
 			.filter(Objects::nonNull)
 			.flatMap(relation -> Stream.of(relation.getTarget(), relation.getSource()))
 			.filter(Objects::nonNull)
-			.filter(resourceIdentifierMatchesErrand())
+			.filter(resourceIdentifierMatchesErrand(references))
 			.filter(resourceIdentifierDoesNotExistInEntityList(conversationEntities))
-			.map(createConversation(conversation))
+			.map(createConversation(conversation, references))
 			.forEach(conversationEntities::add);
 
 		return conversationEntities;
@@ -102,17 +173,18 @@ public class MessageExchangeWorker {
 		return identifier -> conversationEntities.stream().map(ConversationEntity::getErrandId).noneMatch(errandId -> errandId.equals(identifier.getResourceId()));
 	}
 
-	private Predicate<ResourceIdentifier> resourceIdentifierMatchesErrand() {
-		return resourceIdentifier -> {
-			final var service = ofNullable(resourceIdentifier.getService()).orElse("").replace("-", "").replace("_", "");
-			return THIS_SERVICE.equalsIgnoreCase(service) && errandsRepository.findById(resourceIdentifier.getResourceId()).isPresent();
-		};
+	private static Predicate<ResourceIdentifier> resourceIdentifierMatchesErrand(final ConversationReferences references) {
+		return resourceIdentifier -> pointsToThisService(resourceIdentifier) && references.errands().containsKey(resourceIdentifier.getResourceId());
+	}
+
+	private static boolean pointsToThisService(final ResourceIdentifier resourceIdentifier) {
+		final var service = ofNullable(resourceIdentifier.getService()).orElse("").replace("-", "").replace("_", "");
+		return THIS_SERVICE.equalsIgnoreCase(service);
 	}
 
-	private Function<ResourceIdentifier, ConversationEntity> createConversation(final Conversation conversation) {
+	private static Function<ResourceIdentifier, ConversationEntity> createConversation(final Conversation conversation, final ConversationReferences references) {
 		return identifier -> {
-			final var errand = errandsRepository.findById(identifier.getResourceId())
-				.orElseThrow(() -> Problem.valueOf(INTERNAL_SERVER_ERROR, "Bug in relation filter"));
+			final var errand = references.errands().get(identifier.getResourceId());
 			return ConversationEntity.create().withErrandId(errand.getId())
 				.withMessageExchangeId(conversation.getId())
 				.withNamespace(errand.getNamespace())
@@ -0,0 +1,58 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+
+/**
+ * Throughput and backlog of the notification delivery queue per channel, exported as the counter
+ * {@value #MESSAGES_COUNTER_NAME}, counting sent digests by outcome, the counter {@value #NOTIFICATIONS_COUNTER_NAME},
+ * counting the notifications coalesced into those digests, and the gauge {@value #BACKLOG_GAUGE_NAME}, holding the
+ * number of notifications waiting to be sent.
+ */
+@Component
+public class NotificationDeliveryMetrics {
+
+	static final String MESSAGES_COUNTER_NAME = "supportmanagement.notification.delivery.messages";
+	static final String NOTIFICATIONS_COUNTER_NAME = "supportmanagement.notification.delivery.notifications";
+	static final String BACKLOG_GAUGE_NAME = "supportmanagement.notification.delivery.backlog";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<Tags, AtomicLong> backlogs = new ConcurrentHashMap<>();
+
+	public NotificationDeliveryMetrics(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public void recordBacklog(final NotificationChannelType channelType, final long waitingNotifications) {
+		backlogs.computeIfAbsent(tags(channelType), tags -> meterRegistry.gauge(BACKLOG_GAUGE_NAME, tags, new AtomicLong()))
+			.set(waitingNotifications);
+	}
+
+	public void recordSent(final NotificationChannelType channelType, final int notifications, final boolean successful) {
+		final var outcome = successful ? "success" : "failure";
+
+		Counter.builder(MESSAGES_COUNTER_NAME)
+			.description("Notification digests sent through messaging")
+			.tags(tags(channelType))
+			.tag("outcome", outcome)
+			.register(meterRegistry)
+			.increment();
+
+		Counter.builder(NOTIFICATIONS_COUNTER_NAME)
+			.description("Notifications coalesced into the digests sent through messaging")
+			.tags(tags(channelType))
+			.tag("outcome", outcome)
+			.register(meterRegistry)
+			.increment(notifications);
+	}
+
+	private static Tags tags(final NotificationChannelType channelType) {
+		return Tags.of("channel", channelType.name().toLowerCase());
+	}
+}
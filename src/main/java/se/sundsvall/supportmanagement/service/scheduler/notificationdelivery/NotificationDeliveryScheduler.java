@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import org.springframework.stereotype.Service;
+import se.sundsvall.dept44.scheduling.Dept44Scheduled;
+
+@Service
+public class NotificationDeliveryScheduler {
+
+	private final NotificationDeliveryWorker notificationDeliveryWorker;
+
+	public NotificationDeliveryScheduler(final NotificationDeliveryWorker notificationDeliveryWorker) {
+		this.notificationDeliveryWorker = notificationDeliveryWorker;
+	}
+
+	@Dept44Scheduled(
+		cron = "${scheduler.notification-delivery.cron}",
+		name = "${scheduler.notification-delivery.name}",
+		lockAtMostFor = "${scheduler.notification-delivery.shedlock-lock-at-most-for}",
+		maximumExecutionTime = "${scheduler.notification-delivery.maximum-execution-time}")
+	void sendNotifications() {
+		notificationDeliveryWorker.sendPendingDeliveries();
+	}
+}
@@ -0,0 +1,157 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+import se.sundsvall.supportmanagement.integration.messaging.MessagingClient;
+import se.sundsvall.supportmanagement.service.NotificationDeliveryService;
+
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+import static se.sundsvall.supportmanagement.service.mapper.NotificationDeliveryMapper.toEmailRequest;
+import static se.sundsvall.supportmanagement.service.mapper.NotificationDeliveryMapper.toSmsRequest;
+
+@Component
+public class NotificationDeliveryWorker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NotificationDeliveryWorker.class);
+	private static final boolean ASYNCHRONOUSLY = true;
+
+	/**
+	 * How many entries are read from the queue at a time.
+	 */
+	@Value("${scheduler.notification-delivery.batch-size:100}")
+	private int batchSize = 100;
+
+	/**
+	 * Upper bound of batches per run, so that a run always ends even if entries keep coming due.
+	 */
+	@Value("${scheduler.notification-delivery.max-batches-per-run:50}")
+	private int maxBatchesPerRun = 50;
+
+	/**
+	 * How many messages may be handed to Messaging per second. Zero or less means no limit.
+	 */
+	@Value("${scheduler.notification-delivery.messages-per-second:10}")
+	private int messagesPerSecond = 10;
+
+	@Value("${scheduler.notification-delivery.sms-sender:#{null}}")
+	private String smsSender;
+
+	@Value("${scheduler.notification-delivery.email-sender-name:#{null}}")
+	private String emailSenderName;
+
+	@Value("${scheduler.notification-delivery.email-sender-address:#{null}}")
+	private String emailSenderAddress;
+
+	private final NotificationDeliveryService notificationDeliveryService;
+	private final MessagingClient messagingClient;
+	private final NotificationDeliveryMetrics metrics;
+
+	public NotificationDeliveryWorker(final NotificationDeliveryService notificationDeliveryService, final MessagingClient messagingClient, final NotificationDeliveryMetrics metrics) {
+		this.notificationDeliveryService = notificationDeliveryService;
+		this.messagingClient = messagingClient;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Sends due notifications through Messaging, batch by batch, as one digest per recipient. Every sent digest is removed
+	 * and every failed or held back digest is rescheduled, so each batch only holds recipients that have not been
+	 * attempted in this run.
+	 * <p>
+	 * Messaging is called outside of any transaction. A digest whose removal fails after a successful call is sent again
+	 * on a later run, under the same digest key, i.e. delivery is at least once.
+	 */
+	public void sendPendingDeliveries() {
+		var sent = 0;
+		var failed = 0;
+		var batches = 0;
+		var nextSendAt = System.nanoTime();
+
+		var batch = notificationDeliveryService.findDue(batchSize);
+		while (!batch.isEmpty()) {
+			final var recipients = batch.stream()
+				.map(Recipient::of)
+				.distinct()
+				.toList();
+
+			for (final var recipient : recipients) {
+				final var digest = notificationDeliveryService.claimDigest(recipient.municipalityId(), recipient.channelType(), recipient.destination());
+				if (digest.isEmpty()) {
+					continue;
+				}
+
+				nextSendAt = awaitRateLimit(nextSendAt);
+				if (send(digest)) {
+					sent++;
+				} else {
+					failed++;
+				}
+			}
+
+			if (batch.size() < batchSize || ++batches >= maxBatchesPerRun) {
+				break;
+			}
+			batch = notificationDeliveryService.findDue(batchSize);
+		}
+
+		List.of(SMS, EMAIL).forEach(channelType -> metrics.recordBacklog(channelType, notificationDeliveryService.countBacklog(channelType)));
+
+		if (sent + failed > 0) {
+			LOG.info("Notification delivery processed: {} sent, {} failed", sent, failed);
+		}
+	}
+
+	private boolean send(final List<NotificationDeliveryEntity> digest) {
+		final var first = digest.getFirst();
+		try {
+			switch (first.getChannelType()) {
+				case SMS -> messagingClient.sendSms(first.getMunicipalityId(), ASYNCHRONOUSLY, toSmsRequest(digest, smsSender));
+				case EMAIL -> messagingClient.sendEmail(first.getMunicipalityId(), ASYNCHRONOUSLY, toEmailRequest(digest, emailSenderName, emailSenderAddress));
+				default -> throw new IllegalStateException("Channel type %s is not delivered through messaging".formatted(first.getChannelType()));
+			}
+			notificationDeliveryService.markSent(first.getDigestKey());
+			metrics.recordSent(first.getChannelType(), digest.size(), true);
+			return true;
+		} catch (final Exception e) {
+			LOG.warn("Failed to send notification digest {} to subscriber {} on channel {}: {}", first.getDigestKey(), first.getSubscriberId(), first.getChannelType(), sanitizeForLogging(e.getMessage()));
+			notificationDeliveryService.markFailed(digest);
+			metrics.recordSent(first.getChannelType(), digest.size(), false);
+			return false;
+		}
+	}
+
+	/**
+	 * Waits until the next message may be sent, and returns the point in time the message after it may be sent at.
+	 */
+	private long awaitRateLimit(final long nextSendAt) {
+		if (messagesPerSecond <= 0) {
+			return nextSendAt;
+		}
+
+		// Parking may end early, hence the loop
+		var now = System.nanoTime();
+		while (nextSendAt > now) {
+			LockSupport.parkNanos(nextSendAt - now);
+			now = System.nanoTime();
+		}
+		return now + TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+	}
+
+	/**
+	 * The municipality, channel and destination notifications are coalesced by.
+	 */
+	private record Recipient(String municipalityId, NotificationChannelType channelType, String destination) {
+
+		static Recipient of(final NotificationDeliveryEntity entry) {
+			return new Recipient(entry.getMunicipalityId(), entry.getChannelType(), entry.getDestination());
+		}
+	}
+}
@@ -1,38 +1,48 @@
 package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
 import java.util.List;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
-import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.NotificationDeliveryService;
 import se.sundsvall.supportmanagement.service.SubscriberNotificationService;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.INTERNAL;
+import static se.sundsvall.supportmanagement.service.mapper.NotificationDeliveryMapper.isMessageChannel;
 
 @Component
 public class NotificationChannelDispatcher {
 
-	private static final Logger LOG = LoggerFactory.getLogger(NotificationChannelDispatcher.class);
-
 	private final SubscriberNotificationService subscriberNotificationService;
+	private final NotificationDeliveryService notificationDeliveryService;
 
-	public NotificationChannelDispatcher(final SubscriberNotificationService subscriberNotificationService) {
+	public NotificationChannelDispatcher(final SubscriberNotificationService subscriberNotificationService, final NotificationDeliveryService notificationDeliveryService) {
 		this.subscriberNotificationService = subscriberNotificationService;
+		this.notificationDeliveryService = notificationDeliveryService;
 	}
 
 	/**
-	 * Delivers the events a subscriber should be notified about on each of the subscriber's channels.
+	 * Delivers the events each subscriber should be notified about on each of the subscriber's channels. The internal
+	 * notifications of all subscribers are created together, so they are written in batches rather than one by one.
+	 * <p>
+	 * SMS and email notifications are only queued here, and sent by the notification delivery scheduler once the dispatch
+	 * has been committed. A dispatch may be rolled back and retried, which must not result in duplicate messages.
 	 * <p>
 	 * Failures are propagated so the caller can roll back and reschedule the whole group, rather than leaving some
 	 * subscribers notified and others not.
 	 */
-	public void send(final String errandId, final String errandNumber, final SubscriberEntity subscriber, final List<NotificationDispatchEntity> events) {
-		for (final var channel : subscriber.getChannels()) {
-			switch (channel.getType()) {
-				case INTERNAL -> subscriberNotificationService.create(errandId, errandNumber, subscriber, events);
-				// When this is implemented, store in a table that will be processed in it own transaction, rollback can occur here, and
-				// we don't want duplicate SMS/EMAIL.
-				case SMS, EMAIL -> LOG.warn("Channel type: {} is not yet implemented, skipping delivery for errand: {} subscriber: {}", channel.getType(), errandId, subscriber.getId());
-			}
+	public void send(final String errandId, final String errandNumber, final List<NotificationDelivery> deliveries) {
+		final var internalDeliveries = deliveries.stream()
+			.filter(delivery -> delivery.subscriber().getChannels().stream().anyMatch(channel -> channel.getType() == INTERNAL))
+			.toList();
+		final var messageDeliveries = deliveries.stream()
+			.filter(delivery -> delivery.subscriber().getChannels().stream().anyMatch(channel -> isMessageChannel(channel.getType())))
+			.toList();
+
+		if (!internalDeliveries.isEmpty()) {
+			subscriberNotificationService.create(errandId, errandNumber, internalDeliveries);
+		}
+		if (!messageDeliveries.isEmpty()) {
+			notificationDeliveryService.enqueue(errandId, errandNumber, messageDeliveries);
 		}
 	}
 }
@@ -1,16 +1,33 @@
 package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Service;
-import se.sundsvall.dept44.scheduling.Dept44Scheduled;
 import se.sundsvall.dept44.scheduling.health.Dept44HealthUtility;
 import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Dispatches queued notifications. The dispatch is registered as a plain fixed delay task rather than a scheduled job,
+ * since the lock held by scheduled jobs would let only one node claim at a time. Claims lease their entries, so every
+ * node may claim side by side without dispatching anything twice.
+ */
 @Service
-public class NotificationDispatchScheduler {
+public class NotificationDispatchScheduler implements SchedulingConfigurer {
 
 	private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatchScheduler.class);
 
@@ -20,30 +37,88 @@ public class NotificationDispatchScheduler {
 	@Value("${scheduler.notification-dispatch.name}")
 	private String jobName;
 
+	@Value("${scheduler.notification-dispatch.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${scheduler.notification-dispatch.poll-interval:PT1M}")
+	private Duration pollInterval = Duration.ofMinutes(1);
+
+	@Value("${scheduler.notification-dispatch.max-concurrent-batches:4}")
+	private int maxConcurrentBatches = 4;
+
 	public NotificationDispatchScheduler(final NotificationDispatchWorker worker, final Dept44HealthUtility healthUtility) {
 		this.worker = worker;
 		this.healthUtility = healthUtility;
 	}
 
-	@Dept44Scheduled(
-		cron = "${scheduler.notification-dispatch.cron}",
-		name = "${scheduler.notification-dispatch.name}",
-		lockAtMostFor = "${scheduler.notification-dispatch.shedlock-lock-at-most-for}",
-		maximumExecutionTime = "${scheduler.notification-dispatch.maximum-execution-time}")
+	@Override
+	public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+		if (enabled) {
+			taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::processDispatch, pollInterval, pollInterval));
+		}
+	}
+
+	/**
+	 * Dispatches everything that is claimable, with {@code max-concurrent-batches} workers claiming and dispatching
+	 * batches side by side until there is nothing left to claim. Since a claim leases its entries, a batch is never
+	 * dispatched twice, whichever node the claiming worker runs on.
+	 */
 	public void processDispatch() {
-		// Grouped per errand, so a subscriber gets a single notification covering everything that happened to it.
-		// A fetch failure is deliberately left to bubble up to the Dept44Scheduled aspect.
-		final var groups = worker.fetchProcessable().stream()
-			.collect(Collectors.groupingBy(NotificationDispatchEntity::getErrandId));
-
-		// A failing errand is rolled back in its entirety and left in place for the next run, without holding up the rest
-		groups.forEach((errandId, group) -> {
-			try {
-				worker.processGroup(group);
-			} catch (final Exception e) {
-				LOG.error("Error processing notification dispatch for errand: {}", errandId, e);
-				healthUtility.setHealthIndicatorUnhealthy(jobName, "Error processing notification dispatch: " + e.getMessage());
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final var futures = IntStream.range(0, Math.max(1, maxConcurrentBatches))
+				.mapToObj(_ -> CompletableFuture.supplyAsync(this::dispatchBatches, executor))
+				.toList();
+			if (futures.stream().allMatch(CompletableFuture::join)) {
+				healthUtility.setHealthIndicatorHealthy(jobName);
 			}
-		});
+		} catch (final CompletionException e) {
+			final var cause = e.getCause() != null ? e.getCause() : e;
+			LOG.error("Error claiming notification dispatch entries", cause);
+			healthUtility.setHealthIndicatorUnhealthy(jobName, "Error claiming notification dispatch: " + cause.getMessage());
+		}
+	}
+
+	/**
+	 * @return true if every errand claimed was dispatched
+	 */
+	private boolean dispatchBatches() {
+		var successful = true;
+		var batch = claimBatch();
+		while (!batch.isEmpty()) {
+			// Grouped per errand, so a subscriber gets a single notification covering everything that happened to it
+			final var groups = batch.stream()
+				.collect(groupingBy(NotificationDispatchEntity::getErrandId, LinkedHashMap::new, toList()));
+			for (final var group : groups.entrySet()) {
+				successful &= processGroup(group.getKey(), group.getValue());
+			}
+			batch = claimBatch();
+		}
+		return successful;
+	}
+
+	private List<NotificationDispatchEntity> claimBatch() {
+		try {
+			return worker.claimBatch();
+		} catch (final PessimisticLockingFailureException e) {
+			// Two workers claiming the entries of the same errand may deadlock, in which case the one rolled back leaves the
+			// remaining batches to the others
+			LOG.debug("Claim of notification dispatch entries lost to a concurrent claim", e);
+			return List.of();
+		}
+	}
+
+	/**
+	 * A failing errand is rolled back in its entirety and left leased, to be retried once the lease has expired, without
+	 * holding up the rest.
+	 */
+	private boolean processGroup(final String errandId, final List<NotificationDispatchEntity> group) {
+		try {
+			worker.processGroup(group);
+			return true;
+		} catch (final Exception e) {
+			LOG.error("Error processing notification dispatch for errand: {}", errandId, e);
+			healthUtility.setHealthIndicatorUnhealthy(jobName, "Error processing notification dispatch: " + e.getMessage());
+			return false;
+		}
 	}
 }
@@ -2,10 +2,15 @@ package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
 import java.time.Duration;
 import java.time.ZoneId;
-import java.util.LinkedHashMap;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
@@ -16,10 +21,11 @@ import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchE
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.EventFilterEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+import se.sundsvall.supportmanagement.service.SubscriptionIndexService;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
 
 import static java.time.OffsetDateTime.now;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toCollection;
 import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
 
 @Component
@@ -38,69 +44,143 @@ public class NotificationDispatchWorker {
 	@Value("${scheduler.notification-dispatch.max-age:P30D}")
 	private Duration maxAge = Duration.ofDays(30);
 
+	/**
+	 * How many entries a claim starts out from. The claim is widened to every claimable entry of the errands those entries
+	 * belong to, so a claim may hold more entries than this.
+	 */
+	@Value("${scheduler.notification-dispatch.batch-size:100}")
+	private int batchSize = 100;
+
+	/**
+	 * How long a claim is held before its entries may be claimed again. This is both the delay before a failed group is
+	 * retried, and how long the entries of a worker that stopped halfway stay untouched.
+	 */
+	@Value("${scheduler.notification-dispatch.lease-duration:PT5M}")
+	private Duration leaseDuration = Duration.ofMinutes(5);
+
 	private final NotificationDispatchRepository dispatchRepository;
 	private final SubscriptionRepository subscriptionRepository;
 	private final ErrandsRepository errandsRepository;
 	private final NotificationChannelDispatcher channelDispatcher;
+	private final SubscriptionIndexService subscriptionIndexService;
 
 	public NotificationDispatchWorker(
 		final NotificationDispatchRepository dispatchRepository,
 		final SubscriptionRepository subscriptionRepository,
 		final ErrandsRepository errandsRepository,
-		final NotificationChannelDispatcher channelDispatcher) {
+		final NotificationChannelDispatcher channelDispatcher,
+		final SubscriptionIndexService subscriptionIndexService) {
 		this.dispatchRepository = dispatchRepository;
 		this.subscriptionRepository = subscriptionRepository;
 		this.errandsRepository = errandsRepository;
 		this.channelDispatcher = channelDispatcher;
+		this.subscriptionIndexService = subscriptionIndexService;
 	}
 
-	@Transactional(readOnly = true)
-	public List<NotificationDispatchEntity> fetchProcessable() {
-		return dispatchRepository.findProcessable(now(ZoneId.systemDefault()).minus(transactionBuffer));
+	/**
+	 * Claims a batch of entries for dispatch, leasing them to the caller for {@code leaseDuration}.
+	 * <p>
+	 * Entries locked by a concurrent claim are skipped rather than waited for, so workers on any node can claim batches
+	 * side by side. A claim always covers every claimable entry of an errand, which keeps an errand from being dispatched
+	 * by two workers at the same time.
+	 *
+	 * @return the claimed entries ordered by errand, or an empty list when there is nothing to claim.
+	 */
+	@Transactional(propagation = REQUIRES_NEW)
+	public List<NotificationDispatchEntity> claimBatch() {
+		final var now = now(ZoneId.systemDefault());
+		final var transactionBufferCutoff = now.minus(transactionBuffer);
+
+		final var errandIds = dispatchRepository.findClaimable(now, transactionBufferCutoff, Pageable.ofSize(Math.max(batchSize, 1))).stream()
+			.map(NotificationDispatchEntity::getErrandId)
+			.collect(toCollection(LinkedHashSet::new));
+
+		if (errandIds.isEmpty()) {
+			return List.of();
+		}
+
+		final var claimedBy = UUID.randomUUID().toString();
+		dispatchRepository.claim(errandIds, claimedBy, now.plus(leaseDuration), now, transactionBufferCutoff);
+		return dispatchRepository.findByClaimedByOrderByErrandIdAscRequestGroupIdAsc(claimedBy);
 	}
 
 	/**
 	 * Dispatches one group of entries, all belonging to the same errand.
 	 * <p>
 	 * Every subscriber matched by an active subscription receives at most one delivery per group, carrying the subset of
-	 * the group's events that the subscriber's filters accept.
+	 * the group's events that the subscriber's filters accept. The deliveries of a group are handed to the channels in one
+	 * go.
 	 * <p>
 	 * Deleting the group here is what marks it as done: delivery and deletion share one transaction, so a failure
-	 * anywhere rolls back every delivery and leaves the whole group in place, which is what makes the next scheduler run
-	 * pick it up again. An entry therefore survives until it has been dispatched successfully, or until it ages past
+	 * anywhere rolls back every delivery and leaves the whole group in place, which is what makes it be claimed again once
+	 * its lease has expired. An entry therefore survives until it has been dispatched successfully, or until it ages past
 	 * {@code maxAge} and is dropped undelivered.
+	 * <p>
+	 * The group is deleted before anything is delivered, and only if it is still held by the claim it was handed out by.
+	 * Should the lease have expired and the group been claimed by another worker in the meantime, nothing is delivered.
+	 * The deleted rows also stay locked until the deliveries are done, which keeps another worker from claiming them.
 	 */
 	@Transactional(propagation = REQUIRES_NEW)
 	public void processGroup(final List<NotificationDispatchEntity> group) {
 		final var first = group.getFirst();
 		final var errandId = first.getErrandId();
 
+		final var ids = group.stream().map(NotificationDispatchEntity::getId).toList();
+		if (dispatchRepository.deleteClaimed(ids, first.getClaimedBy()) != ids.size()) {
+			throw new IllegalStateException("The claim on the notification dispatch entries of errand %s has expired and been taken over".formatted(errandId));
+		}
+
 		final var errandNumber = errandsRepository.findById(errandId)
 			.map(ErrandEntity::getErrandNumber)
 			.orElse(null);
 
-		subscriptionRepository.findAllActiveForErrand(first.getMunicipalityId(), first.getNamespace(), errandId, now(ZoneId.systemDefault()))
-			.stream()
-			// A subscriber may cover the same errand through both a NAMESPACE and an ERRAND subscription
-			.collect(groupingBy(subscription -> subscription.getSubscriber().getId(), LinkedHashMap::new, toList()))
-			.values()
-			.forEach(subscriptions -> dispatch(errandId, errandNumber, group, subscriptions));
+		// A subscriber may cover the same errand through both a NAMESPACE and an ERRAND subscription, and is then notified
+		// once about the events wanted by either. Subscribers are notified in order of their id.
+		final var now = now(ZoneId.systemDefault());
+		final var recipients = new TreeMap<String, Recipient>();
+
+		final var index = subscriptionIndexService.getIndex(first.getNamespace(), first.getMunicipalityId());
+		for (var position = 0; position < group.size(); position++) {
+			final var entry = group.get(position);
+			final var wanting = index.findWanting(entry.getEventType(), entry.getSubType(), now);
+			for (var subscription = wanting.nextSetBit(0); subscription >= 0; subscription = wanting.nextSetBit(subscription + 1)) {
+				recipient(recipients, index.getSubscriber(subscription)).wanted().set(position);
+			}
+		}
+
+		subscriptionRepository.findAllActiveForErrand(first.getMunicipalityId(), first.getNamespace(), errandId, now).forEach(subscription -> {
+			final var wanted = recipient(recipients, subscription.getSubscriber()).wanted();
+			for (var position = 0; position < group.size(); position++) {
+				if (wantsEvent(subscription, group.get(position))) {
+					wanted.set(position);
+				}
+			}
+		});
+
+		final var deliveries = recipients.values().stream()
+			.map(recipient -> toDelivery(group, recipient))
+			.filter(delivery -> !delivery.events().isEmpty())
+			.toList();
+
+		if (!deliveries.isEmpty()) {
+			channelDispatcher.send(errandId, errandNumber, deliveries);
+		}
+	}
 
-		dispatchRepository.deleteAll(group);
+	private static Recipient recipient(final Map<String, Recipient> recipients, final SubscriberEntity subscriber) {
+		return recipients.computeIfAbsent(subscriber.getId(), _ -> new Recipient(subscriber, new BitSet()));
 	}
 
-	private void dispatch(final String errandId, final String errandNumber, final List<NotificationDispatchEntity> group, final List<SubscriptionEntity> subscriptions) {
-		final var subscriber = subscriptions.getFirst().getSubscriber();
+	private NotificationDelivery toDelivery(final List<NotificationDispatchEntity> group, final Recipient recipient) {
+		final var subscriber = recipient.subscriber();
 
-		final var events = group.stream()
+		final var events = recipient.wanted().stream()
+			.mapToObj(group::get)
 			.filter(this::isWithinMaxAge)
 			.filter(entry -> !isExecutingUser(subscriber, entry))
-			.filter(entry -> subscriptions.stream().anyMatch(subscription -> wantsEvent(subscription, entry)))
 			.toList();
 
-		if (!events.isEmpty()) {
-			channelDispatcher.send(errandId, errandNumber, subscriber, events);
-		}
+		return new NotificationDelivery(subscriber, events);
 	}
 
 	/**
@@ -118,7 +198,8 @@ public class NotificationDispatchWorker {
 
 	/**
 	 * Subscription level filters override the subscriber's global ones, as documented on the subscription API model. No
-	 * filters at either level means everything is wanted.
+	 * filters at either level means everything is wanted. The namespace subscription index compiles the same rules for
+	 * subscriptions targeting the whole namespace.
 	 */
 	private boolean wantsEvent(final SubscriptionEntity subscription, final NotificationDispatchEntity entry) {
 		var filters = subscription.getEventFilters();
@@ -132,4 +213,10 @@ public class NotificationDispatchWorker {
 		return Objects.equals(filter.getType(), entry.getEventType())
 			&& (filter.getSubtype() == null || Objects.equals(filter.getSubtype(), entry.getSubType()));
 	}
+
+	/**
+	 * A subscriber to notify, and the positions within the group of the events the subscriber wants.
+	 */
+	private record Recipient(SubscriberEntity subscriber, BitSet wanted) {
+	}
 }
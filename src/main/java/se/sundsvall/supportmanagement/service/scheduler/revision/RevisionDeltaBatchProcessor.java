@@ -0,0 +1,38 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.service.RevisionService;
+
+@Component
+public class RevisionDeltaBatchProcessor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevisionDeltaBatchProcessor.class);
+
+	private final RevisionService revisionService;
+
+	public RevisionDeltaBatchProcessor(final RevisionService revisionService) {
+		this.revisionService = revisionService;
+	}
+
+	public int processBatch(final List<String> revisionIds) {
+		var processed = 0;
+
+		// Each conversion runs in a transaction of its own, so a revision that fails does not roll back the rest of the
+		// batch. A delta only depends on the content of the preceding revision, never on how that revision is stored, so
+		// the revisions can be converted in any order.
+		for (final var revisionId : revisionIds) {
+			try {
+				if (revisionService.convertToDelta(revisionId)) {
+					processed++;
+				}
+			} catch (final Exception e) {
+				LOG.warn("Failed to convert revision with id: {} to delta", revisionId, e);
+			}
+		}
+
+		return processed;
+	}
+}
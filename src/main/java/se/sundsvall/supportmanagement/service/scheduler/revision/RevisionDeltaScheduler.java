@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import org.springframework.stereotype.Service;
+import se.sundsvall.dept44.scheduling.Dept44Scheduled;
+
+@Service
+public class RevisionDeltaScheduler {
+
+	private final RevisionDeltaWorker revisionDeltaWorker;
+
+	public RevisionDeltaScheduler(final RevisionDeltaWorker revisionDeltaWorker) {
+		this.revisionDeltaWorker = revisionDeltaWorker;
+	}
+
+	@Dept44Scheduled(
+		cron = "${scheduler.revision-delta.cron}",
+		name = "${scheduler.revision-delta.name}",
+		lockAtMostFor = "${scheduler.revision-delta.shedlock-lock-at-most-for}",
+		maximumExecutionTime = "${scheduler.revision-delta.maximum-execution-time}")
+	void convertRevisionsToDeltas() {
+		revisionDeltaWorker.convertFullSnapshotsToDeltas();
+	}
+}
@@ -0,0 +1,59 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.config.RevisionDeltaStorageProperties;
+import se.sundsvall.supportmanagement.integration.db.RevisionRepository;
+
+@Component
+public class RevisionDeltaWorker {
+
+	private static final int PAGE_SIZE = 100;
+	private static final Logger LOG = LoggerFactory.getLogger(RevisionDeltaWorker.class);
+
+	private final RevisionRepository revisionRepository;
+	private final RevisionDeltaBatchProcessor batchProcessor;
+	private final RevisionDeltaStorageProperties deltaStorageProperties;
+
+	public RevisionDeltaWorker(final RevisionRepository revisionRepository, final RevisionDeltaBatchProcessor batchProcessor, final RevisionDeltaStorageProperties deltaStorageProperties) {
+		this.revisionRepository = revisionRepository;
+		this.batchProcessor = batchProcessor;
+		this.deltaStorageProperties = deltaStorageProperties;
+	}
+
+	/**
+	 * Converts revisions stored as full snapshots, created before delta storage was enabled, to deltas. Revisions in
+	 * keyframe positions are kept as full snapshots. Ids are walked in ascending order, so a revision that fails to convert
+	 * is passed over instead of being fetched again within the same run.
+	 */
+	public void convertFullSnapshotsToDeltas() {
+		if (!deltaStorageProperties.enabled()) {
+			LOG.info("Delta storage of revisions is not enabled, skipping conversion");
+			return;
+		}
+
+		final var keyframeInterval = deltaStorageProperties.keyframeInterval();
+
+		var totalProcessed = 0;
+		var lastId = "";
+		var ids = revisionRepository.findIdsConvertibleToDelta(keyframeInterval, lastId, PageRequest.of(0, PAGE_SIZE));
+
+		if (ids.isEmpty()) {
+			LOG.info("No revisions to convert to delta found");
+			return;
+		}
+
+		while (!ids.isEmpty()) {
+			totalProcessed += batchProcessor.processBatch(ids);
+			lastId = ids.getLast();
+
+			LOG.info("{} revisions converted to delta so far", totalProcessed);
+
+			ids = revisionRepository.findIdsConvertibleToDelta(keyframeInterval, lastId, PageRequest.of(0, PAGE_SIZE));
+		}
+
+		LOG.info("Delta conversion completed. Converted {} revisions", totalProcessed);
+	}
+}
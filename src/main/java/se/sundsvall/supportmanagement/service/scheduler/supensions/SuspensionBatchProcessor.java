@@ -0,0 +1,85 @@
+package se.sundsvall.supportmanagement.service.scheduler.supensions;
+
+import generated.se.sundsvall.eventlog.EventType;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.EventService;
+import se.sundsvall.supportmanagement.service.NotificationService;
+
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.SUSPENSION;
+
+@Component
+public class SuspensionBatchProcessor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SuspensionBatchProcessor.class);
+
+	static final String SUSPENDED_STATUS = "SUSPENDED";
+	static final String NOTIFICATION_MESSAGE = "Parkering av ärendet har upphört";
+
+	private final ErrandsRepository errandsRepository;
+	private final EventService eventService;
+	private final NotificationService notificationService;
+
+	public SuspensionBatchProcessor(final ErrandsRepository errandsRepository, final EventService eventService, final NotificationService notificationService) {
+		this.errandsRepository = errandsRepository;
+		this.eventService = eventService;
+		this.notificationService = notificationService;
+	}
+
+	/**
+	 * Handles the expired suspensions of the given errands and marks them as processed, all in one transaction of its own.
+	 * An errand that fails is left unmarked and is handled again on a later run. The errands are not locked while being
+	 * handled, hence an errand suspended anew in the meantime is left unmarked by the conditional update.
+	 *
+	 * @param  errandIds the ids of the errands whose suspension has expired.
+	 * @param  now       the point in time at which the suspensions are to have expired.
+	 * @return           the number of errands marked as processed.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int processBatch(final List<String> errandIds, final OffsetDateTime now) {
+		final var processedIds = new ArrayList<String>();
+
+		for (final var errandId : errandIds) {
+			try {
+				errandsRepository.findById(errandId)
+					.filter(errand -> isUnprocessedExpiry(errand, now))
+					.ifPresent(errand -> {
+						notifyExpiry(errand);
+						processedIds.add(errandId);
+					});
+			} catch (final Exception e) {
+				LOG.warn("Failed to process expired suspension for errand {}: {}", errandId, e.getMessage());
+			}
+		}
+
+		return processedIds.isEmpty() ? 0 : errandsRepository.markSuspensionExpiryProcessed(processedIds, SUSPENDED_STATUS, now);
+	}
+
+	/**
+	 * The errand may have been changed since its id was read, in which case it is left to a later run.
+	 */
+	private static boolean isUnprocessedExpiry(final ErrandEntity errand, final OffsetDateTime now) {
+		return SUSPENDED_STATUS.equals(errand.getStatus()) && !errand.isSuspensionExpiryProcessed() && errand.getSuspendedTo() != null && errand.getSuspendedTo().isBefore(now);
+	}
+
+	private void notifyExpiry(final ErrandEntity errand) {
+		if (notificationService.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(errand.getMunicipalityId(), errand.getNamespace(), errand.getAssignedUserId(), errand, NOTIFICATION_MESSAGE,
+			errand.getSuspendedFrom())) {
+			return;
+		}
+
+		try {
+			eventService.createErrandEvent(EventType.UPDATE, NOTIFICATION_MESSAGE, errand, null, null, SUSPENSION);
+		} catch (final Exception e) {
+			LOG.warn("Failed to log suspension-expired event for errand {}: {}", errand.getId(), e.getMessage());
+		}
+	}
+}
@@ -1,54 +1,64 @@
 package se.sundsvall.supportmanagement.service.scheduler.supensions;
 
-import generated.se.sundsvall.eventlog.EventType;
-import java.time.ZoneId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
-import se.sundsvall.supportmanagement.service.EventService;
-import se.sundsvall.supportmanagement.service.NotificationService;
 
 import static java.time.OffsetDateTime.now;
-import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.SUSPENSION;
+import static java.time.ZoneId.systemDefault;
+import static se.sundsvall.supportmanagement.service.scheduler.supensions.SuspensionBatchProcessor.SUSPENDED_STATUS;
 
 @Component
 public class SuspensionWorker {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SuspensionWorker.class);
 
-	private static final String NOTIFICATION_MESSAGE = "Parkering av ärendet har upphört";
+	/**
+	 * How many errands are handled per transaction.
+	 */
+	@Value("${scheduler.suspension.batch-size:100}")
+	private int batchSize = 100;
+
+	/**
+	 * Upper bound of batches per run, so that a run always ends within its execution time.
+	 */
+	@Value("${scheduler.suspension.max-batches-per-run:20}")
+	private int maxBatchesPerRun = 20;
 
 	private final ErrandsRepository errandsRepository;
-	private final EventService eventService;
-	private final NotificationService notificationService;
+	private final SuspensionBatchProcessor batchProcessor;
 
-	public SuspensionWorker(final ErrandsRepository errandsRepository, final EventService eventService, final NotificationService notificationService) {
+	public SuspensionWorker(final ErrandsRepository errandsRepository, final SuspensionBatchProcessor batchProcessor) {
 		this.errandsRepository = errandsRepository;
-		this.eventService = eventService;
-		this.notificationService = notificationService;
+		this.batchProcessor = batchProcessor;
 	}
 
-	@Transactional
+	/**
+	 * Handles expired suspensions batch by batch. Every handled errand is marked as processed, so each batch is read from
+	 * the start of the remaining errands and handled errands are never read again. A run ends when there are no more
+	 * errands to handle, when no errand in a batch could be handled or when the maximum number of batches is reached.
+	 */
 	public void processExpiredSuspensions() {
-		errandsRepository
-			.findAllBySuspendedToBefore(now(ZoneId.systemDefault()))
-			.forEach(entity -> {
-
-				if (!"SUSPENDED".equals(entity.getStatus())) {
-					return;
-				}
-
-				if (!notificationService.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(entity.getMunicipalityId(), entity.getNamespace(), entity.getAssignedUserId(), entity, NOTIFICATION_MESSAGE,
-					entity.getSuspendedFrom())) {
-
-					try {
-						eventService.createErrandEvent(EventType.UPDATE, NOTIFICATION_MESSAGE, entity, null, null, SUSPENSION);
-					} catch (final Exception e) {
-						LOG.warn("Failed to log suspension-expired event for errand {}: {}", entity.getId(), e.getMessage());
-					}
-				}
-			});
+		final var now = now(systemDefault());
+		var processed = 0;
+		var batches = 0;
+
+		var errandIds = errandsRepository.findIdsWithUnprocessedSuspensionExpiry(SUSPENDED_STATUS, now, PageRequest.of(0, batchSize));
+		while (!errandIds.isEmpty()) {
+			final var processedInBatch = batchProcessor.processBatch(errandIds, now);
+			processed += processedInBatch;
+
+			if (processedInBatch == 0 || errandIds.size() < batchSize || ++batches >= maxBatchesPerRun) {
+				break;
+			}
+			errandIds = errandsRepository.findIdsWithUnprocessedSuspensionExpiry(SUSPENDED_STATUS, now, PageRequest.of(0, batchSize));
+		}
+
+		if (processed > 0) {
+			LOG.info("Processed {} expired suspensions", processed);
+		}
 	}
 }
@@ -0,0 +1,13 @@
+package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
+
+import java.util.List;
+import java.util.Map;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
+
+/**
+ * The web messages of a family read from the collector, ready to be stored without any further calls to the collector.
+ * New messages are mapped to communications, with the content of their attachments, keyed by the id of their errand.
+ * Messages that are already stored are only kept by id, as all that remains is to delete them from the collector.
+ */
+public record StagedWebMessages(Map<String, List<CommunicationEntity>> communications, List<Integer> newMessageIds, List<Integer> storedMessageIds) {
+}
@@ -2,6 +2,7 @@ package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
 
 import generated.se.sundsvall.webmessagecollector.MessageAttachment;
 import generated.se.sundsvall.webmessagecollector.MessageDTO;
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -18,6 +19,7 @@ import se.sundsvall.supportmanagement.integration.db.model.enums.Direction;
 import static java.time.OffsetTime.now;
 import static java.time.ZoneId.systemDefault;
 import static java.util.Collections.emptyList;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.computeSha256Hex;
 
 @Component
 public class WebMessageCollectorMapper {
@@ -58,7 +60,8 @@ public class WebMessageCollectorMapper {
 
 	AttachmentDataEntity toAttachmentDataEntity(final byte[] attachmentData) {
 		return AttachmentDataEntity.create()
-			.withFile(Hibernate.getLobHelper().createBlob(attachmentData));
+			.withFile(Hibernate.getLobHelper().createBlob(attachmentData))
+			.withHash(computeSha256Hex(new ByteArrayInputStream(attachmentData)));
 
 	}
 
@@ -1,5 +1,8 @@
 package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
 
+import generated.se.sundsvall.webmessagecollector.MessageDTO;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +25,9 @@ public class WebMessageCollectorScheduler {
 	@Value("${scheduler.web-message-collector.name}")
 	private String jobName;
 
+	@Value("${scheduler.web-message-collector.bulk-ingest:true}")
+	private boolean bulkIngest = true;
+
 	public WebMessageCollectorScheduler(final WebMessageCollectorWorker worker,
 		final WebMessageCollectRepository repository,
 		final Dept44HealthUtility healthUtility) {
@@ -40,19 +46,58 @@ public class WebMessageCollectorScheduler {
 	public void fetchWebMessages() {
 
 		repository.findAll().forEach(entity -> entity.getFamilyIds().forEach(familyId -> {
+			final List<MessageDTO> messages;
 			try {
-				worker.getWebMessages(entity.getInstance(), familyId, entity.getMunicipalityId()).forEach(message -> {
-					try {
-						worker.processMessage(message, entity.getMunicipalityId(), setUnHealthyConsumer);
-					} catch (final Exception e) {
-						LOG.error("Error processing web message with id '{}'", message.getMessageId(), e);
-						healthUtility.setHealthIndicatorUnhealthy(jobName, "Error processing individual web messages");
-					}
-				});
+				messages = worker.getWebMessages(entity.getInstance(), familyId, entity.getMunicipalityId());
 			} catch (final Exception e) {
 				LOG.error("Error fetching web messages for familyId '{}'", familyId, e);
 				healthUtility.setHealthIndicatorUnhealthy(jobName, "Error fetching web messages");
+				return;
+			}
+
+			if (bulkIngest) {
+				processMessagesInBulk(messages, entity.getMunicipalityId(), familyId);
+			} else {
+				processMessages(messages, entity.getMunicipalityId());
 			}
 		}));
 	}
+
+	private void processMessages(final List<MessageDTO> messages, final String municipalityId) {
+		messages.forEach(message -> {
+			try {
+				worker.processMessage(message, municipalityId, setUnHealthyConsumer);
+			} catch (final Exception e) {
+				LOG.error("Error processing web message with id '{}'", message.getMessageId(), e);
+				healthUtility.setHealthIndicatorUnhealthy(jobName, "Error processing individual web messages");
+			}
+		});
+	}
+
+	/**
+	 * Stores all new messages of a family in one transaction and then deletes both the stored messages and the messages
+	 * that were already stored from the collector in one call. If the transaction fails, none of the new messages are
+	 * deleted and they are all read again on the next run.
+	 */
+	private void processMessagesInBulk(final List<MessageDTO> messages, final String municipalityId, final String familyId) {
+		if (messages.isEmpty()) {
+			return;
+		}
+
+		try {
+			final var stagedWebMessages = worker.stageMessages(messages, setUnHealthyConsumer);
+			final var processedMessageIds = new ArrayList<>(stagedWebMessages.storedMessageIds());
+			try {
+				worker.storeMessages(stagedWebMessages);
+				processedMessageIds.addAll(stagedWebMessages.newMessageIds());
+			} catch (final Exception e) {
+				LOG.error("Error storing web messages for familyId '{}'", familyId, e);
+				healthUtility.setHealthIndicatorUnhealthy(jobName, "Error storing web messages");
+			}
+			worker.deleteMessages(municipalityId, processedMessageIds, setUnHealthyConsumer);
+		} catch (final Exception e) {
+			LOG.error("Error processing web messages for familyId '{}'", familyId, e);
+			healthUtility.setHealthIndicatorUnhealthy(jobName, "Error processing web messages");
+		}
+	}
 }
@@ -1,7 +1,12 @@
 package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
 
 import generated.se.sundsvall.webmessagecollector.MessageDTO;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,17 +14,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.supportmanagement.integration.db.CommunicationRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
-import se.sundsvall.supportmanagement.integration.db.model.DbExternalTag;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationExternalReference;
 import se.sundsvall.supportmanagement.integration.webmessagecollector.WebMessageCollectorClient;
 import se.sundsvall.supportmanagement.service.CommunicationService;
 import se.sundsvall.supportmanagement.service.EventService;
 
 import static generated.se.sundsvall.eventlog.EventType.UPDATE;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.MESSAGE;
-import static se.sundsvall.supportmanagement.integration.db.specification.ErrandSpecification.hasMatchingTags;
 
 @Component
 public class WebMessageCollectorWorker {
@@ -34,16 +41,18 @@ public class WebMessageCollectorWorker {
 	private final WebMessageCollectorMapper webMessageCollectorMapper;
 	private final EventService eventService;
 	private final CommunicationService communicationService;
+	private final WebMessageErrandLookup webMessageErrandLookup;
 
 	public WebMessageCollectorWorker(final WebMessageCollectorClient webMessageCollectorClient, final ErrandsRepository errandsRepository,
 		final CommunicationRepository communicationRepository, final WebMessageCollectorMapper webMessageCollectorMapper, final EventService eventService,
-		final CommunicationService communicationService) {
+		final CommunicationService communicationService, final WebMessageErrandLookup webMessageErrandLookup) {
 		this.webMessageCollectorClient = webMessageCollectorClient;
 		this.errandsRepository = errandsRepository;
 		this.communicationRepository = communicationRepository;
 		this.webMessageCollectorMapper = webMessageCollectorMapper;
 		this.eventService = eventService;
 		this.communicationService = communicationService;
+		this.webMessageErrandLookup = webMessageErrandLookup;
 	}
 
 	public List<MessageDTO> getWebMessages(final String instance, final String familyId, final String municipalityId) {
@@ -53,9 +62,8 @@ public class WebMessageCollectorWorker {
 	@Transactional
 	public void processMessage(final MessageDTO message, final String municipalityId, final Consumer<String> setUnHealthyConsumer) {
 
-		final var entity = errandsRepository.findOne(hasMatchingTags(List.of(
-			DbExternalTag.create().withKey("caseId").withValue(message.getExternalCaseId()),
-			DbExternalTag.create().withKey("familyId").withValue(message.getFamilyId()))));
+		final var entity = webMessageErrandLookup.findErrandId(message.getExternalCaseId(), message.getFamilyId())
+			.flatMap(errandsRepository::findById);
 
 		if (entity.isPresent()) {
 			entity
@@ -73,8 +81,89 @@ public class WebMessageCollectorWorker {
 		}
 	}
 
+	/**
+	 * Prepares the web messages of a family for {@link #storeMessages(StagedWebMessages)}. The errands of all messages are
+	 * read in one query and the messages already stored are found in another, after which the attachments of the new
+	 * messages are fetched. No transaction is held while this is done. Messages without an errand, as well as messages
+	 * that could not be prepared, are left in the collector to be read again on the next run.
+	 */
+	public StagedWebMessages stageMessages(final List<MessageDTO> messages, final Consumer<String> setUnHealthyConsumer) {
+		final var errandIds = messages.stream()
+			.collect(toMap(identity(), message -> webMessageErrandLookup.findErrandId(message.getExternalCaseId(), message.getFamilyId()), (first, _) -> first, LinkedHashMap::new));
+
+		final var errands = errandsRepository.findAllById(errandIds.values().stream().flatMap(Optional::stream).collect(toSet())).stream()
+			.collect(toMap(ErrandEntity::getId, identity()));
+
+		final Set<CommunicationExternalReference> storedReferences = new HashSet<>();
+		if (!errands.isEmpty()) {
+			storedReferences.addAll(communicationRepository.findExternalReferences(
+				errands.values().stream().map(ErrandEntity::getErrandNumber).collect(toSet()),
+				messages.stream().map(MessageDTO::getMessageId).collect(toSet())));
+		}
+
+		final var communications = new LinkedHashMap<String, List<CommunicationEntity>>();
+		final var newMessageIds = new ArrayList<Integer>();
+		final var storedMessageIds = new ArrayList<Integer>();
+
+		errandIds.forEach((message, errandId) -> errandId.map(errands::get).ifPresent(errand -> {
+			final var reference = new CommunicationExternalReference(errand.getErrandNumber(), message.getMessageId());
+			if (storedReferences.contains(reference)) {
+				storedMessageIds.add(message.getId());
+				return;
+			}
+
+			try {
+				final var communicationEntity = addAttachments(webMessageCollectorMapper.toCommunicationEntity(message, errand));
+				communications.computeIfAbsent(errand.getId(), _ -> new ArrayList<>()).add(communicationEntity);
+				newMessageIds.add(message.getId());
+				storedReferences.add(reference);
+			} catch (final Exception e) {
+				LOG.error("Error staging web message with id '{}'", message.getMessageId(), e);
+				setUnHealthyConsumer.accept("Error processing individual web messages");
+			}
+		}));
+
+		return new StagedWebMessages(communications, newMessageIds, storedMessageIds);
+	}
+
+	/**
+	 * Stores all staged communications in one transaction, the communications themselves in one batch of inserts.
+	 */
+	@Transactional
+	public void storeMessages(final StagedWebMessages stagedWebMessages) {
+		if (stagedWebMessages.communications().isEmpty()) {
+			return;
+		}
+
+		final var errands = errandsRepository.findAllById(stagedWebMessages.communications().keySet());
+		communicationService.saveCommunications(stagedWebMessages.communications().values().stream().flatMap(List::stream).toList());
+		errands.forEach(errand -> stagedWebMessages.communications().get(errand.getId())
+			.forEach(communicationEntity -> saveAttachments(communicationEntity, errand)));
+	}
+
+	/**
+	 * Deletes the given messages from the collector in one call. A failure is reported but not thrown, as the messages are
+	 * then read again on the next run and recognized as already stored.
+	 */
+	public void deleteMessages(final String municipalityId, final List<Integer> messageIds, final Consumer<String> setUnHealthyConsumer) {
+		if (messageIds.isEmpty()) {
+			return;
+		}
+
+		try {
+			webMessageCollectorClient.deleteMessages(municipalityId, messageIds);
+		} catch (final Exception e) {
+			LOG.warn("Failed to delete {} web-messages from WebMessageCollector: {}", messageIds.size(), e.getMessage());
+			setUnHealthyConsumer.accept("Failed to delete web-message from WebMessageCollector — message will be re-processed each run");
+		}
+	}
+
 	private void saveMessage(final CommunicationEntity communicationEntity, final ErrandEntity errand) {
 		communicationService.saveCommunication(communicationEntity);
+		saveAttachments(communicationEntity, errand);
+	}
+
+	private void saveAttachments(final CommunicationEntity communicationEntity, final ErrandEntity errand) {
 		communicationService.saveAttachment(communicationEntity, errand);
 		try {
 			eventService.createErrandEvent(UPDATE, EVENT_LOG_COMMUNICATION, errand, null, null, MESSAGE);
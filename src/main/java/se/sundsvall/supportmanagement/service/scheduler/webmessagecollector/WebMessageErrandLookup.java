@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
+
+import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+
+/**
+ * Finds the errand that a web message belongs to through the external tags of the errand. Found errand ids are cached
+ * for a short while, as the messages of a case tend to arrive together, while a miss is looked up again on the next
+ * message since the errand may have been created in between.
+ */
+@Component
+public class WebMessageErrandLookup {
+
+	static final String CACHE_NAME = "webMessageErrandCache";
+
+	private static final String CASE_ID_KEY = "caseId";
+	private static final String FAMILY_ID_KEY = "familyId";
+
+	private final ErrandsRepository errandsRepository;
+
+	public WebMessageErrandLookup(final ErrandsRepository errandsRepository) {
+		this.errandsRepository = errandsRepository;
+	}
+
+	@Cacheable(value = CACHE_NAME, key = "{#caseId, #familyId}", unless = "#result == null")
+	public Optional<String> findErrandId(final String caseId, final String familyId) {
+		return errandsRepository.findIdByExternalTags(CASE_ID_KEY, caseId, FAMILY_ID_KEY, familyId);
+	}
+}
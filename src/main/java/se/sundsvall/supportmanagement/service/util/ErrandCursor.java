@@ -0,0 +1,55 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import org.springframework.data.domain.Sort.Direction;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static se.sundsvall.dept44.problem.Problem.valueOf;
+
+/**
+ * Position in a cursor paged errand listing, i.e. the sort key value and id of the last errand on the previous page.
+ * Sort key and direction are part of the cursor so that a continuation always seeks in the same order as the first
+ * page.
+ */
+public record ErrandCursor(ErrandSortKey sortKey, Direction direction, OffsetDateTime value, String id) {
+
+	private static final String SEPARATOR = "|";
+	private static final String INVALID_CURSOR = "Invalid cursor";
+
+	public static ErrandCursor of(final ErrandSortKey sortKey, final Direction direction, final ErrandEntity lastEntity) {
+		final var value = switch (sortKey) {
+			case TOUCHED -> lastEntity.getTouched();
+			case CREATED -> lastEntity.getCreated();
+		};
+		return new ErrandCursor(sortKey, direction, value, lastEntity.getId());
+	}
+
+	/**
+	 * Decodes a token previously created by {@link #encode()}.
+	 *
+	 * @param  token the opaque token received from the client
+	 * @return       the decoded cursor
+	 * @throws       se.sundsvall.dept44.problem.ThrowableProblem with status 400 if the token is not a valid cursor
+	 */
+	public static ErrandCursor decode(final String token) {
+		try {
+			final var parts = new String(Base64.getUrlDecoder().decode(token), UTF_8).split("\\" + SEPARATOR, 4);
+			if (parts.length != 4 || parts[3].isBlank()) {
+				throw valueOf(BAD_REQUEST, INVALID_CURSOR);
+			}
+			return new ErrandCursor(ErrandSortKey.valueOf(parts[0]), Direction.valueOf(parts[1]), OffsetDateTime.parse(parts[2], ISO_OFFSET_DATE_TIME), parts[3]);
+		} catch (final RuntimeException _) {
+			throw valueOf(BAD_REQUEST, INVALID_CURSOR);
+		}
+	}
+
+	public String encode() {
+		final var raw = String.join(SEPARATOR, sortKey.name(), direction.name(), ISO_OFFSET_DATE_TIME.format(value), id);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(UTF_8));
+	}
+}
@@ -0,0 +1,107 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+
+/**
+ * Input stream that computes a SHA-256 digest of the bytes passing through it. The hex encoded hash is handed to the
+ * provided consumer once the stream has been read to its end or the expected number of bytes has been read, whichever
+ * comes first. This makes it possible to hash content while it is being written elsewhere (for example to a database
+ * blob) without having to read it a second time.
+ */
+public class HashingInputStream extends FilterInputStream {
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private final MessageDigest digest;
+	private final long expectedLength;
+	private final Consumer<String> hashConsumer;
+	private long bytesRead;
+	private boolean completed;
+
+	public HashingInputStream(final InputStream in, final long expectedLength, final Consumer<String> hashConsumer) {
+		super(in);
+		this.expectedLength = expectedLength;
+		this.hashConsumer = hashConsumer;
+		try {
+			this.digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		final var value = super.read();
+		if (value == -1) {
+			complete();
+		} else {
+			digest.update((byte) value);
+			onBytesRead(1);
+		}
+		return value;
+	}
+
+	@Override
+	public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+		final var count = super.read(buffer, offset, length);
+		if (count == -1) {
+			complete();
+		} else if (count > 0) {
+			digest.update(buffer, offset, count);
+			onBytesRead(count);
+		}
+		return count;
+	}
+
+	/**
+	 * Skipped bytes are read (and thereby hashed) rather than skipped in the underlying stream.
+	 */
+	@Override
+	public long skip(final long n) throws IOException {
+		final var buffer = new byte[8192];
+		var remaining = n;
+		while (remaining > 0) {
+			final var count = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+			if (count == -1) {
+				break;
+			}
+			remaining -= count;
+		}
+		return n - remaining;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public synchronized void mark(final int readLimit) {
+		// Not supported, a reset would make the digest diverge from the content
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		throw new IOException("mark/reset not supported");
+	}
+
+	private void onBytesRead(final int count) {
+		bytesRead += count;
+		if (expectedLength >= 0 && bytesRead >= expectedLength) {
+			complete();
+		}
+	}
+
+	private void complete() {
+		if (!completed) {
+			completed = true;
+			hashConsumer.accept(HexFormat.of().formatHex(digest.digest()));
+		}
+	}
+}
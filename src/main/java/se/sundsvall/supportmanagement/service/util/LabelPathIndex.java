@@ -0,0 +1,129 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.util.AntPathMatcher;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableSet;
+import static org.springframework.util.StringUtils.tokenizeToStringArray;
+import static se.sundsvall.supportmanagement.service.util.ServiceUtil.foldCase;
+
+/**
+ * Labels of a namespace organized in a trie over the segments of their resource paths, so that a resource path pattern
+ * is resolved by walking the trie instead of matching the pattern against every label. Literal segments are looked up
+ * directly, wildcard segments are only matched against the children of the nodes reached so far. Every label found is
+ * finally verified with {@link AntPathMatcher}, hence the result is exactly that of matching each label against each
+ * pattern with a case insensitive {@link AntPathMatcher}.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class LabelPathIndex {
+
+	private static final String SEPARATOR = "/";
+	private static final String DOUBLE_WILDCARD = "**";
+	private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+	static {
+		PATH_MATCHER.setCaseSensitive(false);
+	}
+
+	private final Node root = new Node();
+	private final List<MetadataLabelEntity> labels = new ArrayList<>();
+
+	private LabelPathIndex(final Collection<MetadataLabelEntity> labels) {
+		labels.stream()
+			.filter(label -> label.getResourcePath() != null)
+			.forEach(label -> {
+				this.labels.add(label);
+				var node = root;
+				for (final var segment : tokenize(label.getResourcePath())) {
+					node = node.children.computeIfAbsent(foldCase(segment), _ -> new Node());
+					node.spellings.add(segment);
+				}
+				node.labels.add(label);
+			});
+	}
+
+	public static LabelPathIndex of(final Collection<MetadataLabelEntity> labels) {
+		return new LabelPathIndex(labels);
+	}
+
+	/**
+	 * Finds the labels whose resource path matches any of the patterns.
+	 *
+	 * @param  patterns the resource path patterns
+	 * @return          the matching labels
+	 */
+	public Set<MetadataLabelEntity> match(final Collection<String> patterns) {
+		final var result = new HashSet<MetadataLabelEntity>();
+		patterns.forEach(pattern -> result.addAll(match(pattern)));
+		return unmodifiableSet(result);
+	}
+
+	private Collection<MetadataLabelEntity> match(final String pattern) {
+		if (pattern == null) {
+			return emptyList();
+		}
+		// Uri template variables may contain regular expressions spanning segments, they are matched the traditional way
+		final var candidates = pattern.contains("{") ? labels : walk(tokenize(pattern));
+		return candidates.stream()
+			.filter(label -> PATH_MATCHER.match(pattern, label.getResourcePath()))
+			.toList();
+	}
+
+	private Collection<MetadataLabelEntity> walk(final String[] segments) {
+		final var candidates = new HashSet<MetadataLabelEntity>();
+		walk(root, segments, 0, candidates, new HashSet<>());
+		return candidates;
+	}
+
+	private static void walk(final Node node, final String[] segments, final int index, final Set<MetadataLabelEntity> candidates, final Set<Visit> visited) {
+		// A pattern with several double wildcards may reach the same node at the same segment along different routes
+		if (!visited.add(new Visit(node, index))) {
+			return;
+		}
+
+		if (index == segments.length) {
+			candidates.addAll(node.labels);
+			return;
+		}
+
+		final var segment = segments[index];
+		if (DOUBLE_WILDCARD.equals(segment)) {
+			// Matches zero segments, or one segment followed by the double wildcard again
+			walk(node, segments, index + 1, candidates, visited);
+			node.children.values().forEach(child -> walk(child, segments, index, candidates, visited));
+		} else if (PATH_MATCHER.isPattern(segment)) {
+			node.children.values().stream()
+				.filter(child -> child.spellings.stream().anyMatch(spelling -> PATH_MATCHER.match(segment, spelling)))
+				.forEach(child -> walk(child, segments, index + 1, candidates, visited));
+		} else {
+			final var child = node.children.get(foldCase(segment));
+			if (child != null) {
+				walk(child, segments, index + 1, candidates, visited);
+			}
+		}
+	}
+
+	private static String[] tokenize(final String path) {
+		// Same tokenization as AntPathMatcher uses by default
+		return tokenizeToStringArray(path, SEPARATOR, false, true);
+	}
+
+	private static final class Node {
+		// The segment as spelled in the resource paths leading here, as wildcards are not matched on folded case
+		private final Set<String> spellings = new HashSet<>();
+		private final Map<String, Node> children = new HashMap<>();
+		private final List<MetadataLabelEntity> labels = new ArrayList<>();
+	}
+
+	private record Visit(Node node, int index) {
+	}
+}
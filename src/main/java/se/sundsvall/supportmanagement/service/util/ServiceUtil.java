@@ -118,6 +118,24 @@ public class ServiceUtil {
 		}
 	}
 
+	/**
+	 * Maps each character to a representative of the characters it equals when case is ignored, so that two strings are
+	 * equal once folded exactly when {@link String#equalsIgnoreCase(String)} holds for them.
+	 *
+	 * @param  value the string to fold, may be null
+	 * @return       the folded string, or null if value is null
+	 */
+	public static String foldCase(final String value) {
+		if (value == null) {
+			return null;
+		}
+		final var chars = value.toCharArray();
+		for (var i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
 	private static String handleFault(String filename, Exception e) {
 		final var logFilename = sanitizeForLogging(filename);
 		LOGGER.warn(MIME_ERROR_MSG, logFilename, e);
@@ -1,24 +1,17 @@
 package se.sundsvall.supportmanagement.service.util;
 
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
+import java.time.OffsetDateTime;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.springframework.data.jpa.domain.Specification;
-import se.sundsvall.supportmanagement.integration.db.model.AccessLabelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
-import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
 
 import static java.util.Objects.nonNull;
 
 public class SpecificationBuilder<T> {
 
 	private static final SpecificationBuilder<ErrandEntity> ERRAND_ENTITY_BUILDER = new SpecificationBuilder<>();
-	private static final String ACCESS_LABELS_ATTRIBUTE = "accessLabels";
+	private static final String ACCESS_SET_KEY_ATTRIBUTE = "accessSetKey";
 	private static final String ID_ATTRIBUTE = "id";
-	private static final String METADATA_LABEL_ID_ATTRIBUTE = "metadataLabelId";
 
 	public static Specification<ErrandEntity> withNamespace(String namespace) {
 		return ERRAND_ENTITY_BUILDER.buildEqualFilter("namespace", namespace);
@@ -32,38 +25,43 @@ public class SpecificationBuilder<T> {
 		return ERRAND_ENTITY_BUILDER.buildEqualFilter("id", id);
 	}
 
-	public static Specification<ErrandEntity> hasAllowedMetadataLabels(Set<MetadataLabelEntity> allowedLabels) {
-		return (root, query, criteriaBuilder) -> {
-			if (allowedLabels == null || allowedLabels.isEmpty()) {
-				return criteriaBuilder.disjunction(); // No access if no allowed labels
+	/**
+	 * Matches errands positioned after the provided cursor in the cursor's sort order. The id is used as tie-breaker
+	 * for errands sharing the same sort key value, which makes the order total and lets the database seek directly in
+	 * the (municipality_id, namespace, sort key) index instead of skipping rows with an offset.
+	 *
+	 * @param  cursor the position of the last errand on the previous page
+	 * @return        Specification<ErrandEntity> matching errands after the cursor
+	 */
+	public static Specification<ErrandEntity> isAfterCursor(ErrandCursor cursor) {
+		return (root, _, criteriaBuilder) -> {
+			final var sortValue = root.<OffsetDateTime>get(cursor.sortKey().getAttribute());
+			final var id = root.<String>get(ID_ATTRIBUTE);
+			if (cursor.direction().isAscending()) {
+				return criteriaBuilder.or(
+					criteriaBuilder.greaterThan(sortValue, cursor.value()),
+					criteriaBuilder.and(criteriaBuilder.equal(sortValue, cursor.value()), criteriaBuilder.greaterThan(id, cursor.id())));
 			}
+			return criteriaBuilder.or(
+				criteriaBuilder.lessThan(sortValue, cursor.value()),
+				criteriaBuilder.and(criteriaBuilder.equal(sortValue, cursor.value()), criteriaBuilder.lessThan(id, cursor.id())));
+		};
+	}
 
-			// Extract IDs from the MetadataLabelEntity set
-			Set<String> allowedLabelIds = allowedLabels.stream()
-				.map(MetadataLabelEntity::getId)
-				.collect(Collectors.toSet());
-
-			// Subquery 1: Count total access labels for this errand
-			Subquery<Long> totalLabelsSubquery = query.subquery(Long.class);
-			Root<ErrandEntity> totalRoot = totalLabelsSubquery.from(ErrandEntity.class);
-			Join<ErrandEntity, AccessLabelEmbeddable> totalLabelJoin = totalRoot.join(ACCESS_LABELS_ATTRIBUTE, JoinType.LEFT);
-
-			totalLabelsSubquery.select(criteriaBuilder.count(totalLabelJoin))
-				.where(criteriaBuilder.equal(totalRoot.get(ID_ATTRIBUTE), root.get(ID_ATTRIBUTE)));
-
-			// Subquery 2: Count access labels that are in the allowed list
-			Subquery<Long> allowedLabelsSubquery = query.subquery(Long.class);
-			Root<ErrandEntity> allowedRoot = allowedLabelsSubquery.from(ErrandEntity.class);
-			Join<ErrandEntity, AccessLabelEmbeddable> allowedLabelJoin = allowedRoot.join(ACCESS_LABELS_ATTRIBUTE, JoinType.LEFT);
-
-			allowedLabelsSubquery.select(criteriaBuilder.count(allowedLabelJoin))
-				.where(
-					criteriaBuilder.equal(allowedRoot.get(ID_ATTRIBUTE), root.get(ID_ATTRIBUTE)),
-					allowedLabelJoin.get(METADATA_LABEL_ID_ATTRIBUTE).in(allowedLabelIds));
-
-			// Check if counts are equal
-			// For errands with no labels: 0 == 0 → TRUE → accessible to everyone
-			return criteriaBuilder.equal(totalLabelsSubquery, allowedLabelsSubquery);
+	/**
+	 * Matches errands whose access set is one of the provided ones. Errands without access labels have no access set and
+	 * are accessible to everyone.
+	 *
+	 * @param  allowedAccessSetKeys keys of the access sets that are accessible
+	 * @return                      Specification<ErrandEntity> matching accessible errands
+	 */
+	public static Specification<ErrandEntity> hasAllowedAccessSets(Set<String> allowedAccessSetKeys) {
+		return (root, _, criteriaBuilder) -> {
+			final var accessSetKey = root.<String>get(ACCESS_SET_KEY_ATTRIBUTE);
+			if (allowedAccessSetKeys == null || allowedAccessSetKeys.isEmpty()) {
+				return criteriaBuilder.isNull(accessSetKey);
+			}
+			return criteriaBuilder.or(criteriaBuilder.isNull(accessSetKey), accessSetKey.in(allowedAccessSetKeys));
 		};
 	}
 
@@ -0,0 +1,6 @@
+-- Revisions may now be stored as a JSON patch against the previous version instead of a full snapshot.
+-- Every existing row holds a full snapshot and is marked as such, making it a valid keyframe for the deltas to come.
+alter table revision
+    add column if not exists snapshot_type enum ('DELTA','FULL');
+
+update revision set snapshot_type = 'FULL' where snapshot_type is null;
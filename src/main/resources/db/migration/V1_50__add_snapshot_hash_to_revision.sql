@@ -0,0 +1,4 @@
+-- Fingerprint of the compared parts of a revision snapshot, used to detect unchanged errands without parsing the
+-- previous snapshot. Existing revisions are left without a fingerprint and are compared structurally.
+alter table revision
+    add column if not exists snapshot_hash varchar(64);
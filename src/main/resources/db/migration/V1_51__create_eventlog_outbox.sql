@@ -0,0 +1,16 @@
+-- Eventlog entries waiting to be published. Rows are written in the same transaction as the change they describe and
+-- are removed by the publishing scheduler once Eventlog has accepted them.
+create table if not exists eventlog_outbox (
+    id                       varchar(36)  not null,
+    municipality_id          varchar(8)   not null,
+    log_key                  varchar(255) not null,
+    notification_dispatch_id varchar(36),
+    payload                  longtext     not null,
+    attempts                 integer      default 0 not null,
+    next_attempt             datetime(3)  not null,
+    created                  datetime(3)  not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index if not exists idx_eventlog_outbox_next_attempt
+    on eventlog_outbox (next_attempt);
@@ -0,0 +1,48 @@
+-- Distinct combinations of access labels. An errand references the combination it carries through access_set_key,
+-- which lets access control filter on an indexed column instead of counting the access labels of every errand.
+create table if not exists access_set (
+    id              varchar(64) not null,
+    municipality_id varchar(8)  not null,
+    namespace       varchar(32) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index if not exists idx_access_set_municipality_id_namespace
+    on access_set (municipality_id, namespace);
+
+create table if not exists access_set_label (
+    access_set_id     varchar(64)  not null,
+    metadata_label_id varchar(255) not null,
+    primary key (access_set_id, metadata_label_id)
+) engine=InnoDB;
+
+alter table if exists access_set_label
+    add constraint fk_access_set_label_access_set_id
+    foreign key if not exists (access_set_id)
+    references access_set (id);
+
+alter table errand
+    add column if not exists access_set_key varchar(64);
+
+create index if not exists idx_errand_municipality_id_namespace_access_set_key
+    on errand (municipality_id, namespace, access_set_key);
+
+-- The key is the SHA-256 hex digest of the sorted label ids joined by commas, as computed by AccessSetService.
+-- Errands without access labels keep a null key.
+set session group_concat_max_len = 1048576;
+
+update errand e
+    set e.access_set_key = (
+        select sha2(group_concat(distinct l.metadata_label_id order by cast(l.metadata_label_id as binary) separator ','), 256)
+        from errand_access_labels l
+        where l.errand_id = e.id);
+
+insert ignore into access_set (id, municipality_id, namespace)
+    select distinct e.access_set_key, e.municipality_id, e.namespace
+    from errand e
+    where e.access_set_key is not null;
+
+insert ignore into access_set_label (access_set_id, metadata_label_id)
+    select distinct e.access_set_key, l.metadata_label_id
+    from errand e
+    join errand_access_labels l on l.errand_id = e.id;
@@ -0,0 +1,29 @@
+-- Attachment content is stored once per municipality and SHA-256 hash and shared between attachments. The number of
+-- attachment and communication attachment rows referring to the content is kept in reference_count, and the content
+-- is deleted when the last reference is removed.
+alter table attachment_data
+    add column if not exists municipality_id varchar(8),
+    add column if not exists hash varchar(64),
+    add column if not exists reference_count integer not null default 1;
+
+create index if not exists idx_attachment_data_municipality_id_hash
+    on attachment_data (municipality_id, hash);
+
+-- Several attachments may now refer to the same content. The foreign key needs an index of its own before the
+-- unique constraint can be dropped.
+create index if not exists idx_attachment_attachment_data_id
+    on attachment (attachment_data_id);
+
+alter table attachment
+    drop index if exists uq_attachment_data_id;
+
+update attachment_data d
+    join attachment a on a.attachment_data_id = d.id
+    set d.municipality_id = a.municipality_id,
+        d.hash = a.hash
+    where a.hash is not null;
+
+update attachment_data d
+    set d.reference_count =
+        (select count(*) from attachment a where a.attachment_data_id = d.id) +
+        (select count(*) from communication_attachment c where c.attachment_data_id = d.id);
@@ -0,0 +1,4 @@
+-- Attachment content may be kept outside of the database by a blob store, in which case storage_key identifies it
+-- and file is null.
+alter table attachment_data
+    add column if not exists storage_key varchar(255);
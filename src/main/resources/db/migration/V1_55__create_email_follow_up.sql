@@ -0,0 +1,19 @@
+-- Remote work left to do for stored emails: removing them from the mailbox and sending confirmations. Rows are
+-- written in the same transaction as the communication and are removed by the email reader once the work is done.
+create table if not exists email_follow_up (
+    id              varchar(36)  not null,
+    municipality_id varchar(8)   not null,
+    namespace       varchar(32)  not null,
+    email_id        varchar(255) not null,
+    errand_id       varchar(36),
+    type            enum ('DELETE_EMAIL','SEND_CONFIRMATION') not null,
+    payload         longtext,
+    attempts        integer      default 0 not null,
+    next_attempt    datetime(3)  not null,
+    created         datetime(3)  not null,
+    primary key (id),
+    constraint uq_email_follow_up_email_id_type unique (municipality_id, namespace, email_id, type)
+) engine=InnoDB;
+
+create index if not exists idx_email_follow_up_next_attempt
+    on email_follow_up (next_attempt);
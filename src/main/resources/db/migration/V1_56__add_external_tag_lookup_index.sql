@@ -0,0 +1,6 @@
+-- Errands are found by their external tags when inbound web messages are correlated. The composite index answers a
+-- lookup per tag from the index alone, and covers every query the single column index on key was used for.
+create index if not exists idx_external_tag_key_value_errand_id
+    on external_tag (`key`, `value`, errand_id);
+
+drop index if exists idx_external_tag_key on external_tag;
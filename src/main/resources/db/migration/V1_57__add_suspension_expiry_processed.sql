@@ -0,0 +1,9 @@
+-- Marks errands whose suspension expiry has been handled, so that the suspension worker only ever scans errands that
+-- still need handling. The marker is reset whenever the suspension of an errand is changed.
+alter table errand
+    add column if not exists suspension_expiry_processed bit default 0 not null;
+
+create index if not exists idx_errand_status_suspension_expiry_processed_suspended_to
+    on errand (status, suspension_expiry_processed, suspended_to);
+
+drop index if exists idx_errand_suspended_to on errand;
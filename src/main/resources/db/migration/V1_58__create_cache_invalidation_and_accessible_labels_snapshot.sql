@@ -0,0 +1,25 @@
+-- Cache invalidations published by any node. Every node polls for rows newer than the last one it has seen and clears
+-- the named cache locally, hence an eviction on one node reaches all nodes within one poll interval.
+create table if not exists cache_invalidation (
+    id         bigint       not null auto_increment,
+    cache_name varchar(255) not null,
+    created    datetime(3)  not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index if not exists idx_cache_invalidation_created
+    on cache_invalidation (created);
+
+-- Accessible labels resolved by any node, shared so that a node with a cold cache does not have to ask AccessMapper
+-- again. Snapshots are removed when the labels of their namespace change.
+create table if not exists accessible_labels_snapshot (
+    id              varchar(64) not null,
+    municipality_id varchar(8)  not null,
+    namespace       varchar(32) not null,
+    label_ids       longtext    not null,
+    created         datetime(3) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index if not exists idx_accessible_labels_snapshot_namespace_municipality_id
+    on accessible_labels_snapshot (namespace, municipality_id);
@@ -0,0 +1,13 @@
+-- Entries are claimed in batches by the dispatching workers. A claim is held until lease_until, after which the entries
+-- may be claimed again by any worker, e.g. when the worker holding them failed or was stopped.
+alter table notification_dispatch
+    add column if not exists claimed_by varchar(64);
+
+alter table notification_dispatch
+    add column if not exists lease_until datetime(3);
+
+create index if not exists idx_dispatch_request_group_id_created
+    on notification_dispatch (request_group_id, created);
+
+create index if not exists idx_dispatch_lease_until
+    on notification_dispatch (lease_until);
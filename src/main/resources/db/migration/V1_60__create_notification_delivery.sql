@@ -0,0 +1,27 @@
+-- SMS and email notifications waiting to be sent to subscribers. Rows are written in the same transaction as the
+-- dispatch of the events they describe, and are removed by the delivery scheduler once Messaging has accepted them.
+create table if not exists notification_delivery (
+    id              varchar(36)  not null,
+    municipality_id varchar(8)   not null,
+    namespace       varchar(32)  not null,
+    subscriber_id   varchar(255) not null,
+    channel_type    varchar(32)  not null,
+    destination     varchar(255) not null,
+    errand_id       varchar(36)  not null,
+    errand_number   varchar(255),
+    content         longtext     not null,
+    digest_key      varchar(36),
+    attempts        integer      default 0 not null,
+    next_attempt    datetime(3)  not null,
+    created         datetime(3)  not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index if not exists idx_notification_delivery_next_attempt
+    on notification_delivery (next_attempt);
+
+create index if not exists idx_notification_delivery_recipient
+    on notification_delivery (municipality_id, channel_type, destination);
+
+create index if not exists idx_notification_delivery_digest_key
+    on notification_delivery (digest_key);
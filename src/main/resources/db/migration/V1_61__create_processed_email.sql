@@ -0,0 +1,19 @@
+-- Emails that have been stored but may still be in their mailbox. Unlike email_follow_up, whose rows are dropped once
+-- their retries are exhausted, a row is only removed when the email has been deleted from the mailbox, so an email
+-- that cannot be deleted is never stored twice.
+create table if not exists processed_email (
+    id              varchar(36)  not null,
+    municipality_id varchar(8)   not null,
+    namespace       varchar(32)  not null,
+    email_id        varchar(255) not null,
+    errand_id       varchar(36),
+    created         datetime(3)  not null,
+    primary key (id),
+    constraint uq_processed_email_email_id unique (municipality_id, namespace, email_id)
+) engine=InnoDB;
+
+-- Emails stored before this table existed, whose removal from the mailbox is still pending
+insert ignore into processed_email (id, municipality_id, namespace, email_id, errand_id, created)
+select uuid(), municipality_id, namespace, email_id, errand_id, created
+from email_follow_up
+where type = 'DELETE_EMAIL';
@@ -0,0 +1,7 @@
+-- Communication attachments now share stored content as well. The foreign key needs an index of its own before the
+-- unique constraint can be dropped.
+create index if not exists idx_communication_attachment_attachment_data_id
+    on communication_attachment (attachment_data_id);
+
+alter table communication_attachment
+    drop index if exists uq_attachment_data_id;
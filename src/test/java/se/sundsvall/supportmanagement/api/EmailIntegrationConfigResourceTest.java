@@ -8,15 +8,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.supportmanagement.Application;
 import se.sundsvall.supportmanagement.api.model.config.EmailIntegration;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 import se.sundsvall.supportmanagement.service.config.EmailIntegrationConfigService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,11 +44,12 @@ class EmailIntegrationConfigResourceTest {
 	private EmailIntegrationConfigService serviceMock;
 
 	@MockitoBean
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@BeforeEach
 	void setup() {
-		when(metadataServiceMock.findStatuses(any(), any(), any(Sort.class))).thenReturn(List.of(Status.create().withName("NEW")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any()))
+			.thenReturn(MetadataSnapshot.of(1, List.of(Status.create().withName("NEW")), List.of(), List.of(), List.of(), List.of(), List.of()));
 	}
 
 	@Test
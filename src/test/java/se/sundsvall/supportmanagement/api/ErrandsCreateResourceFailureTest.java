@@ -8,7 +8,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -29,9 +28,11 @@ import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
 import se.sundsvall.supportmanagement.api.model.metadata.Role;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
 import se.sundsvall.supportmanagement.api.model.metadata.Type;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
 import se.sundsvall.supportmanagement.integration.jsonschema.JsonSchemaClient;
 import se.sundsvall.supportmanagement.service.ErrandService;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
@@ -39,9 +40,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.flywaydb.core.internal.util.StringUtils.rightPad;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -66,7 +66,7 @@ class ErrandsCreateResourceFailureTest {
 	private ErrandService errandServiceMock;
 
 	@MockitoBean
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@MockitoBean
 	private JsonSchemaClient jsonSchemaClientMock;
@@ -79,7 +79,7 @@ class ErrandsCreateResourceFailureTest {
 			.withAssignedGroupId("assignedGroupId")
 			.withAssignedUserId("assignedUserId")
 			.withStakeholders(List.of(Stakeholder.create().withExternalId("cb20c51f-fcf3-42c0-b613-de563634a8ec").withExternalIdType("EMPLOYEE").withRole("ROLE_1")))
-			.withClassification(Classification.create().withCategory("category_1").withType("TYPE_2"))
+			.withClassification(Classification.create().withCategory("CATEGORY_1").withType("TYPE_2"))
 			.withExternalTags(List.of(ExternalTag.create().withKey("externalTagKey").withValue("externalTagValue")))
 			.withPriority(Priority.HIGH)
 			.withReporterUserId("reporterUserId")
@@ -89,14 +89,20 @@ class ErrandsCreateResourceFailureTest {
 			.withContactReason("contactReason");
 	}
 
+	private static MetadataSnapshot snapshot(final boolean validated) {
+		final var types = List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2"));
+		return MetadataSnapshot.of(1,
+			List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")),
+			List.of(Category.create().withName("CATEGORY_1").withTypes(types), Category.create().withName("CATEGORY_2").withTypes(types)),
+			List.of(Role.create().withName("ROLE_1")),
+			List.of(ContactReason.create().withReason("contactReason")),
+			validated ? List.of(EntityType.values()) : List.of(),
+			List.of());
+	}
+
 	@BeforeEach
 	void setupMock() {
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(true);
-		when(metadataServiceMock.findContactReasons(any(), any(), any(Sort.class))).thenReturn(List.of(ContactReason.create().withReason("contactReason")));
-		when(metadataServiceMock.findCategories(any(), any(), any(Sort.class))).thenReturn(List.of(Category.create().withName("CATEGORY_1"), Category.create().withName("CATEGORY_2")));
-		when(metadataServiceMock.findStatuses(any(), any(), any(Sort.class))).thenReturn(List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")));
-		when(metadataServiceMock.findTypes(any(), any(), any())).thenReturn(List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2")));
-		when(metadataServiceMock.findRoles(any(), any(), any(Sort.class))).thenReturn(List.of(Role.create().withName("ROLE_1")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(true));
 	}
 
 	@Test
@@ -120,11 +126,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("createErrand.namespace", "can only contain A-Z, a-z, 0-9, - and _"));
 
 		// Verification
-		verify(metadataServiceMock, times(3)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(INVALID), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(INVALID, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -149,11 +151,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("createErrand.municipalityId", "not a valid municipality ID"));
 
 		// Verification
-		verify(metadataServiceMock, times(3)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(INVALID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, INVALID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -175,7 +173,7 @@ class ErrandsCreateResourceFailureTest {
 		assertThat(response.getDetail()).isEqualTo("Failed to read request");
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
@@ -183,7 +181,7 @@ class ErrandsCreateResourceFailureTest {
 		// Parameter values
 		final var request = createErrandInstance().withId("not-null").withCreated(OffsetDateTime.now()).withModified(OffsetDateTime.now());
 
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(true);
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(true));
 
 		// Call
 		final var response = webTestClient.post()
@@ -205,18 +203,14 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.modified", "must be null"));
 
 		// Verification
-		verify(metadataServiceMock, times(3)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
 	@Test
 	void createErrandWithEmptyErrandInstance() {
 		// Call
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(false);
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(false));
 		final var response = webTestClient.post()
 			.uri(builder -> builder.path(PATH).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
 			.contentType(APPLICATION_JSON)
@@ -237,13 +231,13 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.title", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
 	@Test
 	void createErrandWithBlankErrandInstance() {
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(false);
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(false));
 		// Call
 		final var response = webTestClient.post()
 			.uri(builder -> builder.path(PATH).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
@@ -269,8 +263,7 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.contactReason", "not a valid contact reason"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -304,7 +297,7 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.title", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -333,8 +326,7 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.externalTags", "keys in the collection must be unique"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -359,9 +351,7 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.status", "value 'invalid_status' doesn't match any of [STATUS_1, STATUS_2]"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -385,10 +375,7 @@ class ErrandsCreateResourceFailureTest {
 			tuple("createErrand.errand.classification", "value 'invalid_type' doesn't match any of [TYPE_1, TYPE_2]"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -413,8 +400,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("createErrand.errand.escalationEmail", "must be a well-formed email address"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -439,8 +425,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("createErrand.errand.channel", "size must be between 0 and 255"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -465,8 +450,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("createErrand.errand.contactReasonDescription", "size must be between 0 and 4096"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -492,8 +476,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("parameters[0].key", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -518,8 +501,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("stakeholders[0].role", "value 'INVALID' doesn't match any of [ROLE_1]"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -544,8 +526,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("stakeholders[0].externalId", "not a valid UUID"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -573,8 +554,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("stakeholders[0].parameters[0].key", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -604,8 +584,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].key", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -635,8 +614,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].value", "must not be null"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -666,8 +644,7 @@ class ErrandsCreateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].schemaId", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -696,8 +673,7 @@ class ErrandsCreateResourceFailureTest {
 				tuple("jsonParameters[0].schemaId", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock, times(1)).isValidated(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -186,4 +186,26 @@ class ErrandsReadResourceFailureTest {
 		// Verification
 		verifyNoInteractions(errandServiceMock);
 	}
+
+	@Test
+	void findErrandsByCursorWithLimitOutOfRange() {
+		// Call
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH + "/cursor").queryParam("limit", 0).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("findErrandsByCursor.limit", "must be greater than or equal to 1"));
+
+		// Verification
+		verifyNoInteractions(errandServiceMock);
+	}
 }
@@ -3,6 +3,7 @@ package se.sundsvall.supportmanagement.api;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.Serial;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -30,7 +31,9 @@ import se.sundsvall.supportmanagement.Application;
 import se.sundsvall.supportmanagement.api.model.errand.Classification;
 import se.sundsvall.supportmanagement.api.model.errand.CountResponse;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey;
 import se.sundsvall.supportmanagement.api.model.errand.ExternalTag;
+import se.sundsvall.supportmanagement.api.model.errand.FindErrandsCursorResponse;
 import se.sundsvall.supportmanagement.api.model.errand.Priority;
 import se.sundsvall.supportmanagement.api.model.errand.Stakeholder;
 import se.sundsvall.supportmanagement.api.model.errand.Suspension;
@@ -40,8 +43,11 @@ import se.sundsvall.supportmanagement.api.model.metadata.Role;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
 import se.sundsvall.supportmanagement.api.model.metadata.Type;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
+import se.sundsvall.supportmanagement.service.ErrandExportService;
 import se.sundsvall.supportmanagement.service.ErrandService;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 import tools.jackson.databind.JsonNode;
 
 import static com.fasterxml.jackson.annotation.JsonCreator.Mode.PROPERTIES;
@@ -49,11 +55,13 @@ import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.MediaType.ALL;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 
 @AutoConfigureWebTestClient
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
@@ -74,16 +82,19 @@ class ErrandsResourceTest {
 	private WebTestClient webTestClient;
 
 	@MockitoBean
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@MockitoBean
 	private ErrandService errandServiceMock;
 
+	@MockitoBean
+	private ErrandExportService errandExportServiceMock;
+
 	private static Errand createErrandInstance(final String reporterUserId, final boolean withStakeholder) {
 		return Errand.create()
 			.withAssignedGroupId("assignedGroupId")
 			.withAssignedUserId("assignedUserId")
-			.withClassification(Classification.create().withCategory("category_1").withType("type_1"))
+			.withClassification(Classification.create().withCategory("CATEGORY_1").withType("type_1"))
 			.withStakeholders(withStakeholder ? List.of(Stakeholder.create().withExternalId(randomUUID().toString()).withExternalIdType("ENTERPRISE").withRole("ROLE_1")) : null)
 			.withExternalTags(List.of(ExternalTag.create().withKey("externalTagKey").withValue("externalTagValue")))
 			.withPriority(Priority.HIGH)
@@ -96,14 +107,20 @@ class ErrandsResourceTest {
 			.withContactReason("REASON_1");
 	}
 
+	private static MetadataSnapshot snapshot(final boolean validated) {
+		final var types = List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2"));
+		return MetadataSnapshot.of(1,
+			List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")),
+			List.of(Category.create().withName("CATEGORY_1").withTypes(types), Category.create().withName("CATEGORY_2").withTypes(types)),
+			List.of(Role.create().withName("ROLE_1")),
+			List.of(ContactReason.create().withReason("REASON_1"), ContactReason.create().withReason("REASON_2")),
+			validated ? List.of(EntityType.values()) : List.of(),
+			List.of());
+	}
+
 	@BeforeEach
 	void setupMock() {
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(true);
-		when(metadataServiceMock.findCategories(any(), any(), any(Sort.class))).thenReturn(List.of(Category.create().withName("CATEGORY_1"), Category.create().withName("CATEGORY_2")));
-		when(metadataServiceMock.findStatuses(any(), any(), any(Sort.class))).thenReturn(List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")));
-		when(metadataServiceMock.findTypes(any(), any(), any())).thenReturn(List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2")));
-		when(metadataServiceMock.findContactReasons(any(), any(), any(Sort.class))).thenReturn(List.of(ContactReason.create().withReason("REASON_1"), ContactReason.create().withReason("REASON_2")));
-		when(metadataServiceMock.findRoles(any(), any(), any(Sort.class))).thenReturn(List.of(Role.create().withName("ROLE_1")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(true));
 	}
 
 	@Test
@@ -126,17 +143,14 @@ class ErrandsResourceTest {
 			.expectBody().isEmpty();
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
-		verify(metadataServiceMock).findRoles(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(NAMESPACE, MUNICIPALITY_ID);
 		verify(errandServiceMock).createErrand(NAMESPACE, MUNICIPALITY_ID, errandInstance, null);
 	}
 
 	@Test
 	void createErrandNoValidationOnCategory() {
 		// Mock
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(false);
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(false));
 		// Parameter values
 		final var errandInstance = createErrandInstance("reporterUserId", true);
 
@@ -155,7 +169,7 @@ class ErrandsResourceTest {
 			.expectBody().isEmpty();
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verify(errandServiceMock).createErrand(NAMESPACE, MUNICIPALITY_ID, errandInstance, null);
 	}
 
@@ -179,9 +193,7 @@ class ErrandsResourceTest {
 			.expectBody().isEmpty();
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verify(errandServiceMock).createErrand(NAMESPACE, MUNICIPALITY_ID, errandInstance, null);
 	}
 
@@ -305,6 +317,83 @@ class ErrandsResourceTest {
 		assertThat(response.getContent()).hasSize(1);
 	}
 
+	@Test
+	void findErrandsByCursorWithDefaults() {
+		// Parameter values
+		final var matches = FindErrandsCursorResponse.create().withErrands(List.of(Errand.create())).withNextCursor("cursor");
+
+		// Mock
+		when(errandServiceMock.findErrandsByCursor(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(), eq(ErrandSortKey.TOUCHED), eq(Sort.Direction.DESC), eq(20), eq(null))).thenReturn(matches);
+
+		// Call
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH + "/cursor").build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(FindErrandsCursorResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Verification
+		verify(errandServiceMock).findErrandsByCursor(eq(NAMESPACE), eq(MUNICIPALITY_ID), any(), eq(ErrandSortKey.TOUCHED), eq(Sort.Direction.DESC), eq(20), eq(null));
+		assertThat(response).isNotNull();
+		assertThat(response.getErrands()).hasSize(1);
+		assertThat(response.getNextCursor()).isEqualTo("cursor");
+	}
+
+	@Test
+	void findErrandsByCursorWithParameters() {
+		// Parameter values
+		final var filter = "categoryTag:'SUPPORT_CASE'";
+		final var cursor = "cursor";
+		final var limit = 37;
+		final var matches = FindErrandsCursorResponse.create().withErrands(List.of(Errand.create()));
+
+		// Mock
+		when(errandServiceMock.findErrandsByCursor(eq(NAMESPACE), eq(MUNICIPALITY_ID), ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(ErrandSortKey.CREATED), eq(Sort.Direction.ASC), eq(limit), eq(cursor))).thenReturn(matches);
+
+		// Call
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH + "/cursor")
+				.queryParam("filter", filter)
+				.queryParam("sortBy", "CREATED")
+				.queryParam("direction", "ASC")
+				.queryParam("limit", limit)
+				.queryParam("cursor", cursor)
+				.build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(FindErrandsCursorResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Verification
+		verify(errandServiceMock).findErrandsByCursor(eq(NAMESPACE), eq(MUNICIPALITY_ID), ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(ErrandSortKey.CREATED), eq(Sort.Direction.ASC), eq(limit), eq(cursor));
+		assertThat(response).isNotNull();
+		assertThat(response.getErrands()).hasSize(1);
+		assertThat(response.getNextCursor()).isNull();
+	}
+
+	@Test
+	void exportErrands() {
+		// Parameter values
+		final var filter = "categoryTag:'SUPPORT_CASE'";
+
+		// Call
+		webTestClient.get()
+			.uri(builder -> builder.path(PATH + "/export")
+				.queryParam("filter", filter)
+				.build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.accept(APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk();
+
+		// Verification
+		verify(errandExportServiceMock).exportErrands(eq(NAMESPACE), eq(MUNICIPALITY_ID), ArgumentMatchers.<Specification<ErrandEntity>>any(), any(HttpServletResponse.class));
+	}
+
 	@Test
 	void updateErrandFullRequest() {
 		// Parameter values
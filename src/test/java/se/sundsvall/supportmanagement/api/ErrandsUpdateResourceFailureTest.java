@@ -8,7 +8,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -27,9 +26,11 @@ import se.sundsvall.supportmanagement.api.model.errand.Suspension;
 import se.sundsvall.supportmanagement.api.model.metadata.Category;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
 import se.sundsvall.supportmanagement.api.model.metadata.Type;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
 import se.sundsvall.supportmanagement.integration.jsonschema.JsonSchemaClient;
 import se.sundsvall.supportmanagement.service.ErrandService;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
@@ -38,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.flywaydb.core.internal.util.StringUtils.rightPad;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -64,7 +66,7 @@ class ErrandsUpdateResourceFailureTest {
 	private ErrandService errandServiceMock;
 
 	@MockitoBean
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@MockitoBean
 	private JsonSchemaClient jsonSchemaClientMock;
@@ -86,12 +88,20 @@ class ErrandsUpdateResourceFailureTest {
 			.withBusinessRelated(true);
 	}
 
+	private static MetadataSnapshot snapshot(final boolean validated) {
+		final var types = List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2"));
+		return MetadataSnapshot.of(1,
+			List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")),
+			List.of(Category.create().withName("CATEGORY_1").withTypes(types), Category.create().withName("CATEGORY_2").withTypes(types)),
+			List.of(),
+			List.of(),
+			validated ? List.of(EntityType.values()) : List.of(),
+			List.of());
+	}
+
 	@BeforeEach
 	void setupMock() {
-		when(metadataServiceMock.isValidated(any(), any(), any())).thenReturn(true);
-		when(metadataServiceMock.findCategories(any(), any(), any(Sort.class))).thenReturn(List.of(Category.create().withName("CATEGORY_1"), Category.create().withName("CATEGORY_2")));
-		when(metadataServiceMock.findStatuses(any(), any(), any(Sort.class))).thenReturn(List.of(Status.create().withName("STATUS_1"), Status.create().withName("STATUS_2")));
-		when(metadataServiceMock.findTypes(any(), any(), any())).thenReturn(List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(snapshot(true));
 	}
 
 	@Test
@@ -114,7 +124,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.namespace", "can only contain A-Z, a-z, 0-9, - and _"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -138,7 +148,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.municipalityId", "not a valid municipality ID"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -162,7 +172,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.errandId", "not a valid UUID"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -185,7 +195,7 @@ class ErrandsUpdateResourceFailureTest {
 		assertThat(response.getDetail()).isEqualTo("Failed to read request");
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
@@ -212,9 +222,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.errand.reporterUserId", "must be null"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findTypes(any(), any(), any());
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -242,8 +250,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.errand.reporterUserId", "must be null"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -273,7 +280,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.errand.externalTags[1].value", "must not be blank"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -299,7 +306,7 @@ class ErrandsUpdateResourceFailureTest {
 			.containsExactlyInAnyOrder(tuple("updateErrand.errand.contactReasonDescription", "size must be between 0 and 4096"));
 
 		// Verification
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -325,8 +332,7 @@ class ErrandsUpdateResourceFailureTest {
 			tuple("updateErrand.errand.status", "value 'invalid_status' doesn't match any of [STATUS_1, STATUS_2]"));
 
 		// Verification
-		verify(metadataServiceMock).findCategories(any(), any(), any(Sort.class));
-		verify(metadataServiceMock).findStatuses(any(), any(), any(Sort.class));
+		verify(metadataSnapshotServiceMock, atLeastOnce()).getSnapshot(any(), any());
 		verifyNoInteractions(errandServiceMock);
 	}
 
@@ -414,7 +420,7 @@ class ErrandsUpdateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].key", "must not be blank"));
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
@@ -443,7 +449,7 @@ class ErrandsUpdateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].value", "must not be null"));
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
@@ -472,7 +478,7 @@ class ErrandsUpdateResourceFailureTest {
 			.containsExactly(tuple("jsonParameters[0].schemaId", "must not be blank"));
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
@@ -500,7 +506,7 @@ class ErrandsUpdateResourceFailureTest {
 				tuple("jsonParameters[0].schemaId", "must not be blank"));
 
 		// Verification
-		verifyNoInteractions(metadataServiceMock, errandServiceMock);
+		verifyNoInteractions(metadataSnapshotServiceMock, errandServiceMock);
 	}
 
 	@Test
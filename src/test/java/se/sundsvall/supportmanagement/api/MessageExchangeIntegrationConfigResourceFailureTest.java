@@ -7,7 +7,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -16,8 +15,9 @@ import se.sundsvall.dept44.problem.violations.Violation;
 import se.sundsvall.supportmanagement.Application;
 import se.sundsvall.supportmanagement.api.model.config.MessageExchangeIntegration;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
 import se.sundsvall.supportmanagement.service.config.MessageExchangeIntegrationConfigService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
@@ -45,12 +45,12 @@ class MessageExchangeIntegrationConfigResourceFailureTest {
 	private MessageExchangeIntegrationConfigService serviceMock;
 
 	@MockitoBean
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@BeforeEach
 	void setup() {
-		when(metadataServiceMock.findStatuses(any(), any(), any(Sort.class)))
-			.thenReturn(List.of(Status.create().withName("SOLVED"), Status.create().withName("OPEN")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any()))
+			.thenReturn(MetadataSnapshot.of(1, List.of(Status.create().withName("SOLVED"), Status.create().withName("OPEN")), List.of(), List.of(), List.of(), List.of(), List.of()));
 	}
 
 	@Test
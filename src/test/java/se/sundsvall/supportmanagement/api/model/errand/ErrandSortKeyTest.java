@@ -0,0 +1,23 @@
+package se.sundsvall.supportmanagement.api.model.errand;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey.CREATED;
+import static se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey.TOUCHED;
+
+class ErrandSortKeyTest {
+
+	@Test
+	void enums() {
+		assertThat(ErrandSortKey.values()).containsExactlyInAnyOrder(CREATED, TOUCHED);
+	}
+
+	@Test
+	void enumValues() {
+		assertThat(CREATED).hasToString("CREATED");
+		assertThat(CREATED.getAttribute()).isEqualTo("created");
+		assertThat(TOUCHED).hasToString("TOUCHED");
+		assertThat(TOUCHED.getAttribute()).isEqualTo("touched");
+	}
+}
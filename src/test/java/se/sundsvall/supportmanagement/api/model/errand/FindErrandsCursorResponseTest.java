@@ -0,0 +1,46 @@
+package se.sundsvall.supportmanagement.api.model.errand;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FindErrandsCursorResponseTest {
+
+	@Test
+	void testBean() {
+		assertThat(FindErrandsCursorResponse.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var errands = List.of(Errand.create());
+		final var nextCursor = "nextCursor";
+
+		final var response = FindErrandsCursorResponse.create()
+			.withErrands(errands)
+			.withNextCursor(nextCursor);
+
+		assertThat(response).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(response.getErrands()).isEqualTo(errands);
+		assertThat(response.getNextCursor()).isEqualTo(nextCursor);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FindErrandsCursorResponse.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FindErrandsCursorResponse()).hasAllNullFieldsOrProperties();
+	}
+}
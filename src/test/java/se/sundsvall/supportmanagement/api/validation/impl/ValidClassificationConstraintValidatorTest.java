@@ -16,18 +16,17 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Sort;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import se.sundsvall.supportmanagement.api.model.errand.Classification;
 import se.sundsvall.supportmanagement.api.model.metadata.Category;
 import se.sundsvall.supportmanagement.api.model.metadata.Type;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EntityType;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
@@ -47,7 +46,7 @@ class ValidClassificationConstraintValidatorTest {
 	private ConstraintViolationBuilder constraintViolationBuilderMock;
 
 	@Mock
-	private MetadataService metadataServiceMock = Mockito.mock();
+	private MetadataSnapshotService metadataSnapshotServiceMock = Mockito.mock();
 
 	@Mock
 	private RequestAttributes requestAttributesMock;
@@ -61,6 +60,10 @@ class ValidClassificationConstraintValidatorTest {
 		return Stream.of(Arguments.of(validatorCreate), Arguments.of(validatorUpdate));
 	}
 
+	private static MetadataSnapshot snapshot(final List<EntityType> validatedTypes, final List<Category> categories) {
+		return MetadataSnapshot.of(1, List.of(), categories, List.of(), List.of(), validatedTypes, List.of());
+	}
+
 	@BeforeAll
 	void setupMockito() {
 		MockitoAnnotations.openMocks(this);
@@ -68,7 +71,7 @@ class ValidClassificationConstraintValidatorTest {
 
 	@BeforeEach
 	void resetMocksBetweenIterations() {
-		Mockito.reset(metadataServiceMock);
+		Mockito.reset(metadataSnapshotServiceMock);
 		Mockito.reset(constraintValidatorContextMock, constraintViolationBuilderMock);
 	}
 
@@ -84,13 +87,12 @@ class ValidClassificationConstraintValidatorTest {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of(CATEGORY), List.of()));
 
 			assertThat(validator.isValid(Classification.create().withCategory("category-1").withType("type-1"), constraintValidatorContextMock)).isFalse();
 			verify(constraintValidatorContextMock).buildConstraintViolationWithTemplate(any());
 			verify(constraintViolationBuilderMock).addConstraintViolation();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -106,15 +108,11 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, TYPE)).thenReturn(true);
-			when(metadataServiceMock.findCategories(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(List.of(Category.create().withName(categoryName)));
-			when(metadataServiceMock.findTypes(namespace, municipalityId, categoryName)).thenReturn(List.of(Type.create().withName(typeName)));
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId))
+				.thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of(Category.create().withName(categoryName).withTypes(List.of(Type.create().withName(typeName))))));
 
 			assertThat(validator.isValid(Classification.create().withCategory(categoryName).withType(typeName), constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
-			verify(metadataServiceMock).findTypes(namespace, municipalityId, categoryName);
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -130,16 +128,12 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, TYPE)).thenReturn(true);
-			when(metadataServiceMock.findCategories(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(List.of(Category.create().withName(categoryName)));
-			when(metadataServiceMock.findTypes(namespace, municipalityId, categoryName)).thenReturn(List.of(Type.create().withName("TYPE-1")));
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId))
+				.thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of(Category.create().withName(categoryName).withTypes(List.of(Type.create().withName("TYPE-1"))))));
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
 
 			assertThat(validator.isValid(Classification.create().withCategory(categoryName).withType(typeName), constraintValidatorContextMock)).isFalse();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
-			verify(metadataServiceMock).findTypes(namespace, municipalityId, categoryName);
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -153,13 +147,11 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of()));
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
 
 			assertThat(validator.isValid(Classification.create(), constraintValidatorContextMock)).isFalse();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
-			verify(metadataServiceMock, never()).findTypes(any(), any(), any());
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -174,12 +166,10 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of()));
 
 			assertThat(validator.isValid(null, constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
-			verify(metadataServiceMock, never()).findTypes(any(), any(), any());
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -194,15 +184,12 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, TYPE)).thenReturn(true);
-			when(metadataServiceMock.findCategories(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(List.of(Category.create().withName(categoryName)));
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId))
+				.thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of(Category.create().withName(categoryName).withTypes(List.of(Type.create().withName("TYPE-1"))))));
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
 
 			assertThat(validator.isValid(Classification.create().withCategory(categoryName), constraintValidatorContextMock)).isFalse();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
-			verify(metadataServiceMock).findTypes(namespace, municipalityId, categoryName);
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -216,12 +203,11 @@ class ValidClassificationConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, CATEGORY)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of(CATEGORY, TYPE), List.of()));
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
 
 			assertThat(validator.isValid(Classification.create().withCategory(" ").withType(" "), constraintValidatorContextMock)).isFalse();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, CATEGORY);
-			verify(metadataServiceMock).findCategories(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 }
@@ -12,15 +12,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
@@ -35,7 +33,7 @@ class ValidContactReasonConstraintValidatorTest {
 	private ConstraintValidatorContext constraintValidatorContextMock;
 
 	@Mock
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@Mock
 	private RequestAttributes requestAttributesMock;
@@ -46,6 +44,7 @@ class ValidContactReasonConstraintValidatorTest {
 	private static Stream<Arguments> contactReasonArgumentProvider() {
 		return Stream.of(
 			Arguments.of("contactReason", true),
+			Arguments.of("CONTACTREASON", true),
 			Arguments.of("invalid", false));
 	}
 
@@ -60,10 +59,10 @@ class ValidContactReasonConstraintValidatorTest {
 		try (var requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.findContactReasons(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(validReasons);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(MetadataSnapshot.of(1, List.of(), List.of(), List.of(), validReasons, List.of(), List.of()));
 
 			assertThat(validator.isValid(reason, constraintValidatorContextMock)).isEqualTo(valid);
-			verify(metadataServiceMock).findContactReasons(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 
 	}
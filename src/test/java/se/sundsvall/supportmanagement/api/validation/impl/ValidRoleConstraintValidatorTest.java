@@ -11,17 +11,16 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.supportmanagement.api.model.metadata.Role;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -42,7 +41,7 @@ class ValidRoleConstraintValidatorTest {
 	private ConstraintViolationBuilder constraintViolationBuilderMock;
 
 	@Mock
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@Mock
 	private RequestAttributes requestAttributesMock;
@@ -50,6 +49,10 @@ class ValidRoleConstraintValidatorTest {
 	@InjectMocks
 	private ValidRoleConstraintValidator validator;
 
+	private static MetadataSnapshot snapshot(final boolean validated, final List<Role> roles) {
+		return MetadataSnapshot.of(1, List.of(), List.of(), roles, List.of(), validated ? List.of(ROLE) : List.of(), List.of());
+	}
+
 	@Test
 	void invalidRole() {
 		final var namespace = "namespace";
@@ -60,13 +63,12 @@ class ValidRoleConstraintValidatorTest {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, ROLE)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(true, List.of()));
 
 			assertThat(validator.isValid("invalid-role", constraintValidatorContextMock)).isFalse();
 			verify(constraintValidatorContextMock).buildConstraintViolationWithTemplate(any());
 			verify(constraintViolationBuilderMock).addConstraintViolation();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, ROLE);
-			verify(metadataServiceMock).findRoles(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -79,12 +81,10 @@ class ValidRoleConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.findRoles(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(List.of(Role.create().withName("ROLE-1")));
-			when(metadataServiceMock.isValidated(namespace, municipalityId, ROLE)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(true, List.of(Role.create().withName("ROLE-1"))));
 
 			assertThat(validator.isValid("role-1", constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, ROLE);
-			verify(metadataServiceMock).findRoles(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -97,11 +97,10 @@ class ValidRoleConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, ROLE)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(true, List.of()));
 
 			assertThat(validator.isValid(null, constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, ROLE);
-			verify(metadataServiceMock).findRoles(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -114,11 +113,10 @@ class ValidRoleConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, ROLE)).thenReturn(true);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(true, List.of()));
 
 			assertThat(validator.isValid(" ", constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, ROLE);
-			verify(metadataServiceMock).findRoles(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -131,11 +129,11 @@ class ValidRoleConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.isValidated(namespace, municipalityId, ROLE)).thenReturn(false);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(false, List.of(Role.create().withName("ROLE-2"))));
 
 			assertThat(validator.isValid("role-1", constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).isValidated(namespace, municipalityId, ROLE);
-			verifyNoMoreInteractions(metadataServiceMock);
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
+			verifyNoMoreInteractions(metadataSnapshotServiceMock);
 		}
 	}
 
@@ -12,17 +12,16 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.supportmanagement.api.model.metadata.Status;
-import se.sundsvall.supportmanagement.service.MetadataService;
+import se.sundsvall.supportmanagement.service.MetadataSnapshotService;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -41,7 +40,7 @@ class ValidStatusConstraintValidatorTest {
 	private ConstraintViolationBuilder constraintViolationBuilderMock;
 
 	@Mock
-	private MetadataService metadataServiceMock;
+	private MetadataSnapshotService metadataSnapshotServiceMock;
 
 	@Mock
 	private RequestAttributes requestAttributesMock;
@@ -49,6 +48,10 @@ class ValidStatusConstraintValidatorTest {
 	@InjectMocks
 	private ValidStatusConstraintValidator validator;
 
+	private static MetadataSnapshot snapshot(final List<Status> statuses) {
+		return MetadataSnapshot.of(1, statuses, List.of(), List.of(), List.of(), List.of(), List.of());
+	}
+
 	@Test
 	void invalidStatus() {
 		final var namespace = "namespace";
@@ -58,12 +61,13 @@ class ValidStatusConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of()));
 			when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any())).thenReturn(constraintViolationBuilderMock);
 
 			assertThat(validator.isValid("status-1", constraintValidatorContextMock)).isFalse();
 			verify(constraintValidatorContextMock).buildConstraintViolationWithTemplate(any());
 			verify(constraintViolationBuilderMock).addConstraintViolation();
-			verify(metadataServiceMock).findStatuses(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -76,10 +80,10 @@ class ValidStatusConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
-			when(metadataServiceMock.findStatuses(eq(namespace), eq(municipalityId), any(Sort.class))).thenReturn(List.of(Status.create().withName("STATUS-1")));
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of(Status.create().withName("STATUS-1"))));
 
 			assertThat(validator.isValid("status-1", constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).findStatuses(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -92,9 +96,10 @@ class ValidStatusConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of()));
 
 			assertThat(validator.isValid(null, constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).findStatuses(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -107,9 +112,10 @@ class ValidStatusConstraintValidatorTest {
 		try (MockedStatic<RequestContextHolder> requestContextHolderMock = Mockito.mockStatic(RequestContextHolder.class)) {
 			requestContextHolderMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributesMock);
 			when(requestAttributesMock.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(attributes);
+			when(metadataSnapshotServiceMock.getSnapshot(namespace, municipalityId)).thenReturn(snapshot(List.of()));
 
 			assertThat(validator.isValid(" ", constraintValidatorContextMock)).isTrue();
-			verify(metadataServiceMock).findStatuses(eq(namespace), eq(municipalityId), any(Sort.class));
+			verify(metadataSnapshotServiceMock).getSnapshot(namespace, municipalityId);
 		}
 	}
 
@@ -19,8 +19,8 @@ class CacheOverrideConfigPropertiesTest {
 	void testPropertyValues() {
 		assertThat(properties).isNotNull();
 		assertThat(properties.getSpecOverrides()).hasSize(1).satisfiesExactly(cacheSetting -> {
-			assertThat(cacheSetting.getCacheName()).isEqualTo("accessibleLabelsCache");
-			assertThat(cacheSetting.getSpec()).isEqualTo("maximumSize=500, expireAfterWrite=60m");
+			assertThat(cacheSetting.getCacheName()).isEqualTo("webMessageErrandCache");
+			assertThat(cacheSetting.getSpec()).isEqualTo("maximumSize=1000, expireAfterWrite=5m");
 		});
 	}
 }
@@ -1,6 +1,9 @@
 package se.sundsvall.supportmanagement.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
@@ -8,7 +11,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import se.sundsvall.supportmanagement.config.CacheOverrideConfigProperties.CaffeineCache;
+import se.sundsvall.supportmanagement.service.model.AccessibleLabels;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
@@ -31,4 +37,24 @@ class CacheOverrideConfigTest {
 		verify(managerMock).removeCache(cacheName);
 		verify(managerMock).registerCustomCache(eq(cacheName), ArgumentMatchers.<Cache<Object, Object>>any());
 	}
+
+	@Test
+	void accessibleLabelsCacheCustomizer() {
+		new CacheOverrideConfig().accessibleLabelsCacheCustomizer(100).customize(managerMock);
+
+		verify(managerMock).removeCache("accessibleLabelsCache");
+		verify(managerMock).registerCustomCache(eq("accessibleLabelsCache"), ArgumentMatchers.<Cache<Object, Object>>any());
+	}
+
+	@Test
+	void accessibleLabelsExpiry() {
+		final var expiry = new CacheOverrideConfig.AccessibleLabelsExpiry();
+		final var accessibleLabels = new AccessibleLabels(Set.of(), OffsetDateTime.now().plusMinutes(15));
+
+		assertThat(expiry.expireAfterCreate("key", accessibleLabels, 0)).isCloseTo(Duration.ofMinutes(15).toNanos(), within(Duration.ofSeconds(2).toNanos()));
+		assertThat(expiry.expireAfterUpdate("key", accessibleLabels, 0, 1)).isCloseTo(Duration.ofMinutes(15).toNanos(), within(Duration.ofSeconds(2).toNanos()));
+		assertThat(expiry.expireAfterRead("key", accessibleLabels, 0, 123)).isEqualTo(123);
+		assertThat(expiry.expireAfterCreate("key", new AccessibleLabels(Set.of(), OffsetDateTime.now().minusMinutes(1)), 0)).isZero();
+		assertThat(expiry.expireAfterCreate("key", "other", 0)).isZero();
+	}
 }
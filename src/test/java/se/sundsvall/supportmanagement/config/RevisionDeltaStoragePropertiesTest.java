@@ -0,0 +1,49 @@
+package se.sundsvall.supportmanagement.config;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.supportmanagement.Application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class RevisionDeltaStoragePropertiesTest {
+
+	@Autowired
+	private RevisionDeltaStorageProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.enabled()).isFalse();
+		assertThat(properties.keyframeInterval()).isEqualTo(10);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		0, -1
+	})
+	void keyframeIntervalMustBePositive(final int keyframeInterval) {
+		try (final var validatorFactory = Validation.buildDefaultValidatorFactory()) {
+			assertThat(validatorFactory.getValidator().validate(new RevisionDeltaStorageProperties(true, keyframeInterval)))
+				.singleElement()
+				.satisfies(violation -> assertThat(violation.getPropertyPath()).hasToString("keyframeInterval"));
+		}
+	}
+
+	@Test
+	void isKeyframe() {
+		final var tenth = new RevisionDeltaStorageProperties(true, 10);
+		final var every = new RevisionDeltaStorageProperties(true, 1);
+
+		assertThat(tenth.isKeyframe(0)).isTrue();
+		assertThat(tenth.isKeyframe(9)).isFalse();
+		assertThat(tenth.isKeyframe(20)).isTrue();
+		assertThat(every.isKeyframe(7)).isTrue();
+	}
+}
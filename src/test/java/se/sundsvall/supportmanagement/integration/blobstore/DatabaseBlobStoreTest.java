@@ -0,0 +1,26 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.MariaDbBlob;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseBlobStoreTest {
+
+	private static final byte[] CONTENT = "test content".getBytes();
+
+	private final DatabaseBlobStore blobStore = new DatabaseBlobStore();
+
+	@Test
+	void writeKeepsContentInEntity() {
+		final var blob = new MariaDbBlob(CONTENT);
+		final var attachmentData = AttachmentDataEntity.create().withFile(blob);
+
+		blobStore.write(attachmentData);
+		blobStore.attach(attachmentData);
+
+		assertThat(attachmentData.getFile()).isSameAs(blob);
+		assertThat(attachmentData.getStorageKey()).isNull();
+	}
+}
@@ -0,0 +1,101 @@
+package se.sundsvall.supportmanagement.integration.blobstore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mariadb.jdbc.MariaDbBlob;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class FileSystemBlobStoreTest {
+
+	private static final byte[] CONTENT = "test content".getBytes();
+
+	@TempDir
+	private Path rootDirectory;
+
+	private FileSystemBlobStore blobStore;
+
+	@BeforeEach
+	void setup() {
+		blobStore = new FileSystemBlobStore(rootDirectory);
+	}
+
+	@Test
+	void write() throws Exception {
+		final var attachmentData = AttachmentDataEntity.create().withFile(new MariaDbBlob(CONTENT));
+
+		blobStore.write(attachmentData);
+
+		final var storageKey = attachmentData.getStorageKey();
+		assertThat(storageKey).isNotNull();
+		assertThat(attachmentData.getFile()).isNull();
+		assertThat(blobStore.resolve(storageKey))
+			.isEqualTo(rootDirectory.resolve(storageKey.substring(0, 2)).resolve(storageKey.substring(2, 4)).resolve(storageKey))
+			.hasBinaryContent(CONTENT);
+		try (final var files = Files.walk(rootDirectory)) {
+			assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+		}
+	}
+
+	@Test
+	void writeWithoutFile() throws IOException {
+		final var attachmentData = AttachmentDataEntity.create();
+
+		blobStore.write(attachmentData);
+
+		assertThat(attachmentData.getStorageKey()).isNull();
+		try (final var files = Files.list(rootDirectory)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void attach() throws Exception {
+		final var attachmentData = AttachmentDataEntity.create().withFile(new MariaDbBlob(CONTENT));
+		blobStore.write(attachmentData);
+
+		blobStore.attach(attachmentData);
+
+		assertThat(attachmentData.getFile()).isInstanceOf(FileBlob.class);
+		assertThat(attachmentData.getFile().length()).isEqualTo(CONTENT.length);
+		assertThat(attachmentData.getFile().getBytes(6, 7)).isEqualTo("content".getBytes());
+		try (final var content = attachmentData.getFile().getBinaryStream()) {
+			assertThat(content.readAllBytes()).isEqualTo(CONTENT);
+		}
+	}
+
+	@Test
+	void attachContentInDatabase() {
+		final var blob = new MariaDbBlob(CONTENT);
+		final var attachmentData = AttachmentDataEntity.create().withFile(blob);
+
+		blobStore.attach(attachmentData);
+
+		assertThat(attachmentData.getFile()).isSameAs(blob);
+	}
+
+	@Test
+	void delete() throws IOException {
+		final var attachmentData = AttachmentDataEntity.create().withFile(new MariaDbBlob(CONTENT));
+		blobStore.write(attachmentData);
+
+		blobStore.delete(attachmentData.getStorageKey());
+		blobStore.delete(attachmentData.getStorageKey());
+		blobStore.delete(null);
+
+		assertThat(blobStore.resolve(attachmentData.getStorageKey())).doesNotExist();
+	}
+
+	@Test
+	void resolveOutsideOfRootDirectory() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> blobStore.resolve("../../../etc/passwd"))
+			.withMessage("Storage key '../../../etc/passwd' resolves outside of the blob store");
+	}
+}
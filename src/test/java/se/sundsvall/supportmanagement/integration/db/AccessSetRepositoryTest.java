@@ -0,0 +1,70 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.AccessSetEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Access set repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class AccessSetRepositoryTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private AccessSetRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void insertIfAbsent() {
+		repository.insertIfAbsent("key-1", MUNICIPALITY_ID, NAMESPACE);
+		repository.insertLabelIfAbsent("key-1", "label-1");
+		repository.insertLabelIfAbsent("key-1", "label-2");
+
+		// Inserting the same set again is ignored
+		repository.insertIfAbsent("key-1", MUNICIPALITY_ID, NAMESPACE);
+		repository.insertLabelIfAbsent("key-1", "label-1");
+		entityManager.clear();
+
+		assertThat(repository.findById("key-1")).hasValueSatisfying(accessSet -> {
+			assertThat(accessSet.getNamespace()).isEqualTo(NAMESPACE);
+			assertThat(accessSet.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+			assertThat(accessSet.getMetadataLabelIds()).containsExactlyInAnyOrder("label-1", "label-2");
+		});
+	}
+
+	@Test
+	void findAllByNamespaceAndMunicipalityId() {
+		repository.save(AccessSetEntity.create().withId("key-1").withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withMetadataLabelIds(Set.of("label-1")));
+		repository.save(AccessSetEntity.create().withId("key-2").withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withMetadataLabelIds(Set.of("label-1", "label-2")));
+		repository.save(AccessSetEntity.create().withId("key-3").withNamespace("other-namespace").withMunicipalityId(MUNICIPALITY_ID).withMetadataLabelIds(Set.of("label-3")));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertThat(repository.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID))
+			.extracting(AccessSetEntity::getId, AccessSetEntity::getMetadataLabelIds)
+			.containsExactlyInAnyOrder(
+				tuple("key-1", Set.of("label-1")),
+				tuple("key-2", Set.of("label-1", "label-2")));
+	}
+}
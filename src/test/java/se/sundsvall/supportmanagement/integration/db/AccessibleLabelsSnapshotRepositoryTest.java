@@ -0,0 +1,88 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.AccessibleLabelsSnapshotEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Accessible labels snapshot repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class AccessibleLabelsSnapshotRepositoryTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private AccessibleLabelsSnapshotRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void upsert() {
+		final var now = OffsetDateTime.now();
+		repository.upsert("id-1", MUNICIPALITY_ID, NAMESPACE, "label-1", now.minusMinutes(5));
+
+		// Upserting the same snapshot again replaces it
+		repository.upsert("id-1", MUNICIPALITY_ID, NAMESPACE, "label-1,label-2", now);
+		entityManager.clear();
+
+		assertThat(repository.findById("id-1")).hasValueSatisfying(snapshot -> {
+			assertThat(snapshot.getNamespace()).isEqualTo(NAMESPACE);
+			assertThat(snapshot.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+			assertThat(snapshot.getLabelIds()).isEqualTo("label-1,label-2");
+			assertThat(snapshot.getCreated()).isAfter(now.minusMinutes(1));
+		});
+	}
+
+	@Test
+	void findByIdAndCreatedAfter() {
+		final var now = OffsetDateTime.now();
+		repository.upsert("id-1", MUNICIPALITY_ID, NAMESPACE, "label-1", now.minusMinutes(30));
+
+		assertThat(repository.findByIdAndCreatedAfter("id-1", now.minusMinutes(60))).isPresent();
+		assertThat(repository.findByIdAndCreatedAfter("id-1", now.minusMinutes(10))).isEmpty();
+		assertThat(repository.findByIdAndCreatedAfter("id-2", now.minusMinutes(60))).isEmpty();
+	}
+
+	@Test
+	void deleteByNamespaceAndMunicipalityId() {
+		final var now = OffsetDateTime.now();
+		repository.upsert("id-1", MUNICIPALITY_ID, NAMESPACE, "label-1", now);
+		repository.upsert("id-2", MUNICIPALITY_ID, NAMESPACE, "label-2", now);
+		repository.upsert("id-3", MUNICIPALITY_ID, "other-namespace", "label-3", now);
+
+		assertThat(repository.deleteByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).isEqualTo(2);
+		entityManager.clear();
+
+		assertThat(repository.findAll()).extracting(AccessibleLabelsSnapshotEntity::getId).containsExactly("id-3");
+	}
+
+	@Test
+	void deleteByCreatedBefore() {
+		final var now = OffsetDateTime.now();
+		repository.upsert("id-1", MUNICIPALITY_ID, NAMESPACE, "label-1", now.minusHours(2));
+		repository.upsert("id-2", MUNICIPALITY_ID, NAMESPACE, "label-2", now);
+
+		assertThat(repository.deleteByCreatedBefore(now.minusHours(1))).isOne();
+		entityManager.clear();
+
+		assertThat(repository.findAll()).extracting(AccessibleLabelsSnapshotEntity::getId).containsExactly("id-2");
+	}
+}
@@ -0,0 +1,63 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.CacheInvalidationEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Cache invalidation repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class CacheInvalidationRepositoryTest {
+
+	@Autowired
+	private CacheInvalidationRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void insertAndFind() {
+		final var now = OffsetDateTime.now();
+		repository.insert("cache-1", now.minusMinutes(2));
+		repository.insert("cache-2", now);
+		repository.insert("cache-1", now.minusSeconds(30));
+
+		final var all = repository.findByCreatedGreaterThanEqualOrderById(now.minusHours(1));
+		assertThat(all).extracting(CacheInvalidationEntity::getCacheName).containsExactly("cache-1", "cache-2", "cache-1");
+		assertThat(all).extracting(CacheInvalidationEntity::getId).isSorted();
+
+		// Ordered by id, not by when they were created
+		assertThat(repository.findByCreatedGreaterThanEqualOrderById(now.minusMinutes(1)))
+			.extracting(CacheInvalidationEntity::getCacheName)
+			.containsExactly("cache-2", "cache-1");
+		assertThat(repository.findByCreatedGreaterThanEqualOrderById(now.plusSeconds(1))).isEmpty();
+	}
+
+	@Test
+	void deleteByCreatedBefore() {
+		final var now = OffsetDateTime.now();
+		repository.insert("old", now.minusHours(2));
+		repository.insert("new", now);
+
+		assertThat(repository.deleteByCreatedBefore(now.minusHours(1))).isOne();
+		entityManager.clear();
+
+		assertThat(repository.findAll()).extracting(CacheInvalidationEntity::getCacheName).containsExactly("new");
+	}
+}
@@ -12,6 +12,7 @@ import se.sundsvall.supportmanagement.integration.db.model.AttachmentEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEmailHeaderEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationExternalReference;
 import se.sundsvall.supportmanagement.integration.db.model.enums.CommunicationType;
 import se.sundsvall.supportmanagement.integration.db.model.enums.Direction;
 
@@ -113,6 +114,20 @@ class CommunicationRepositoryTest {
 		assertThat(communicationRepository.existsByErrandNumberAndExternalId("errand1", "case2")).isFalse();
 	}
 
+	@Test
+	void findExternalReferences() {
+		final var references = communicationRepository.findExternalReferences(List.of("errand1", "errand2", "errand3"), List.of("case1", "case2", "case3"));
+
+		assertThat(references).containsExactlyInAnyOrder(
+			new CommunicationExternalReference("errand1", "case1"),
+			new CommunicationExternalReference("errand2", "case2"));
+	}
+
+	@Test
+	void findExternalReferencesNoMatch() {
+		assertThat(communicationRepository.findExternalReferences(List.of("errand1"), List.of("case2"))).isEmpty();
+	}
+
 	@Test
 	void findByErrandNumberAndInternal() {
 		final var communications = communicationRepository.findByErrandNumberAndInternal("errand1", true);
@@ -0,0 +1,113 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.service.AccessSetService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.service.AccessSetService.toAccessSetKey;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.hasAllowedAccessSets;
+
+/**
+ * Compares filtering errands on their access labels, one label at a time, with the precomputed access set filter. Opt-in, run with
+ * {@code -Dbenchmark=true} and optionally {@code -Dbenchmark.errands=<number of errands>} (defaults to 1 000 000).
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ErrandAccessSetBenchmarkTest {
+
+	private static final String NAMESPACE = "BENCHMARK";
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final int LABEL_COUNT = 20;
+	private static final int BATCH_SIZE = 5000;
+	private static final Logger LOG = LoggerFactory.getLogger(ErrandAccessSetBenchmarkTest.class);
+	private static final String COUNT_BY_ACCESS_LABELS = """
+		SELECT COUNT(*) FROM errand e
+		WHERE e.namespace = :namespace AND e.municipality_id = :municipalityId
+		AND NOT EXISTS (SELECT 1 FROM errand_access_labels l WHERE l.errand_id = e.id AND l.metadata_label_id NOT IN (:allowedLabelIds))
+		""";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ErrandsRepository errandsRepository;
+
+	@Autowired
+	private AccessSetService accessSetService;
+
+	@Test
+	void compareAccessFilters() {
+		final var errandCount = Integer.getInteger("benchmark.errands", 1_000_000);
+		final var labelIds = IntStream.range(0, LABEL_COUNT).mapToObj(_ -> UUID.randomUUID().toString()).toList();
+		seed(errandCount, labelIds);
+
+		final var allowedLabelIds = Set.copyOf(labelIds.subList(0, LABEL_COUNT / 2));
+		final var parameters = Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID, "allowedLabelIds", allowedLabelIds);
+		final var namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+		final var accessLabelCount = measure("access labels", () -> namedParameterJdbcTemplate.queryForObject(COUNT_BY_ACCESS_LABELS, parameters, Long.class));
+		final var accessSetCount = measure("access sets", () -> errandsRepository.count(hasAllowedAccessSets(accessSetService.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, allowedLabelIds))));
+
+		assertThat(accessSetCount).isEqualTo(accessLabelCount);
+	}
+
+	private long measure(final String name, final LongSupplier query) {
+		query.getAsLong(); // Warm up
+		final var start = System.nanoTime();
+		final var result = query.getAsLong();
+		LOG.info("{}: {} matching errands in {} ms", name, result, (System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	private void seed(final int errandCount, final List<String> labelIds) {
+		labelIds.forEach(id -> jdbcTemplate.update("INSERT INTO metadata_label(id, municipality_id, namespace, deprecated) VALUES (?, ?, ?, false)", id, MUNICIPALITY_ID, NAMESPACE));
+
+		final var random = new Random(42);
+		final var errands = new ArrayList<Object[]>();
+		final var accessLabels = new ArrayList<Object[]>();
+		for (var i = 0; i < errandCount; i++) {
+			final var errandId = UUID.randomUUID().toString();
+			final var errandLabelIds = IntStream.range(0, random.nextInt(4))
+				.mapToObj(_ -> labelIds.get(random.nextInt(LABEL_COUNT)))
+				.collect(Collectors.toSet());
+
+			final var accessSetKey = toAccessSetKey(errandLabelIds);
+			if (accessSetKey != null) {
+				accessSetService.register(NAMESPACE, MUNICIPALITY_ID, errandLabelIds);
+			}
+			errands.add(new Object[] {
+				errandId, MUNICIPALITY_ID, NAMESPACE, "BM-" + i, accessSetKey
+			});
+			errandLabelIds.forEach(labelId -> accessLabels.add(new Object[] {
+				errandId, labelId
+			}));
+
+			if (errands.size() == BATCH_SIZE || i == errandCount - 1) {
+				jdbcTemplate.batchUpdate("INSERT INTO errand(id, municipality_id, namespace, errand_number, access_set_key, version) VALUES (?, ?, ?, ?, ?, 0)", errands);
+				jdbcTemplate.batchUpdate("INSERT INTO errand_access_labels(errand_id, metadata_label_id) VALUES (?, ?)", accessLabels);
+				errands.clear();
+				accessLabels.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.model.ContactChannelEntity;
+import se.sundsvall.supportmanagement.integration.db.model.DbExternalTag;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.integration.db.model.StakeholderEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.service.mapper.ErrandMapper.toErrandsWithAccessControl;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withMunicipalityId;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withNamespace;
+
+/**
+ * Verifies that reading and mapping a page of errands issues a fixed number of statements, i.e. that collections are
+ * batch fetched for the whole page instead of once per errand.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+@Transactional
+class ErrandsRepositoryStatementCountTest {
+
+	private static final String NAMESPACE = "STATEMENT_COUNT";
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final int ERRAND_COUNT = 30;
+
+	@Autowired
+	private ErrandsRepository errandsRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		IntStream.range(0, ERRAND_COUNT).forEach(i -> {
+			final var errand = ErrandEntity.create()
+				.withNamespace(NAMESPACE)
+				.withMunicipalityId(MUNICIPALITY_ID)
+				.withErrandNumber("KC-" + i)
+				.withTitle("title-" + i)
+				.withStatus("NEW")
+				.withPriority("HIGH")
+				.withExternalTags(new ArrayList<>(List.of(DbExternalTag.create().withKey("key").withValue("value-" + i))));
+
+			errand.setStakeholders(new ArrayList<>(List.of(StakeholderEntity.create()
+				.withErrandEntity(errand)
+				.withExternalId("externalId-" + i)
+				.withRole("ROLE")
+				.withContactChannels(new ArrayList<>(List.of(ContactChannelEntity.create().withType("EMAIL").withValue("mail@example.com")))))));
+
+			errandsRepository.save(errand);
+		});
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void statementCountIsIndependentOfPageSize() {
+		final var smallPageStatements = countStatementsForPage(5);
+		final var fullPageStatements = countStatementsForPage(ERRAND_COUNT);
+
+		assertThat(fullPageStatements)
+			.isEqualTo(smallPageStatements)
+			.isLessThan(ERRAND_COUNT);
+	}
+
+	private long countStatementsForPage(final int pageSize) {
+		entityManager.clear();
+		statistics.clear();
+
+		final var page = errandsRepository.findSummaryPage(withNamespace(NAMESPACE).and(withMunicipalityId(MUNICIPALITY_ID)), PageRequest.of(0, pageSize));
+		final var errands = toErrandsWithAccessControl(page.getContent(), _ -> false);
+
+		assertThat(errands).hasSize(pageSize).allSatisfy(errand -> {
+			assertThat(errand.getStakeholders()).hasSize(1);
+			assertThat(errand.getExternalTags()).hasSize(1);
+		});
+
+		return statistics.getPrepareStatementCount();
+	}
+}
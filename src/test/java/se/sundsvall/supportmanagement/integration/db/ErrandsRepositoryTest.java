@@ -3,6 +3,7 @@ package se.sundsvall.supportmanagement.integration.db;
 import com.turkraft.springfilter.converter.FilterSpecificationConverter;
 import java.time.OffsetDateTime;
 import java.util.List;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -26,6 +27,8 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.fail;
 import static se.sundsvall.supportmanagement.integration.db.specification.ErrandSpecification.hasMatchingTags;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withId;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withNamespace;
 
 /**
  * Errands repository tests.
@@ -235,6 +238,110 @@ class ErrandsRepositoryTest {
 
 	}
 
+	@Test
+	void findByOneDoesNotMatchKeyAndValueOfDifferentTags() {
+		final var specification = hasMatchingTags(List.of(
+			DbExternalTag.create().withKey("KEY-2").withValue("VALUE-3")));
+
+		assertThat(errandsRepository.findOne(specification)).isEmpty();
+	}
+
+	@Test
+	void findSummaryPage() {
+		final var page = errandsRepository.findSummaryPage(withNamespace("NAMESPACE.1"), PageRequest.of(0, 1));
+
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).hasSize(1);
+	}
+
+	@Test
+	void findOneWithStakeholders() {
+		final var errandEntity = errandsRepository.findOneWithStakeholders(withId("ERRAND_ID-1").and(withNamespace("NAMESPACE.1")));
+
+		assertThat(errandEntity).isPresent();
+		assertThat(Hibernate.isInitialized(errandEntity.get().getStakeholders())).isTrue();
+		assertThat(errandEntity.get().getStakeholders()).hasSize(1);
+	}
+
+	@Test
+	void findOneWithStakeholdersNotFound() {
+		assertThat(errandsRepository.findOneWithStakeholders(withId("ERRAND_ID-1").and(withNamespace("NAMESPACE.2")))).isEmpty();
+	}
+
+	@Test
+	void findOneWithAccessLabels() {
+		final var errandEntity = errandsRepository.findOneWithAccessLabels(withId("ERRAND_ID-1"));
+
+		assertThat(errandEntity).isPresent();
+		assertThat(Hibernate.isInitialized(errandEntity.get().getAccessLabels())).isTrue();
+	}
+
+	@Test
+	void findOneWithAccessLabelsNotFound() {
+		assertThat(errandsRepository.findOneWithAccessLabels(withId("THIS_ERRAND_DOES_NOT_EXIST"))).isEmpty();
+	}
+
+	@Test
+	void findIdByExternalTags() {
+		assertThat(errandsRepository.findIdByExternalTags("KEY-1", "VALUE-1", "KEY-2", "VALUE-2")).hasValue("ERRAND_ID-1");
+		assertThat(errandsRepository.findIdByExternalTags("KEY-2", "VALUE-2", "KEY-3", "VALUE-3")).hasValue("ERRAND_ID-2");
+	}
+
+	@Test
+	void findIdByExternalTagsNotFound() {
+		assertThat(errandsRepository.findIdByExternalTags("KEY-1", "VALUE-1", "KEY-3", "VALUE-3")).isEmpty();
+		assertThat(errandsRepository.findIdByExternalTags("KEY-2", "VALUE-3", "KEY-1", "VALUE-1")).isEmpty();
+	}
+
+	@Test
+	void findIdsWithUnprocessedSuspensionExpiry() {
+		final var now = OffsetDateTime.now();
+		suspend("ERRAND_ID-1", now.minusHours(1), false);
+		suspend("ERRAND_ID-2", now.minusHours(2), false);
+		suspend("ERRAND_ID-3", now.plusHours(1), false);
+		suspend("ERRAND_ID-4", now.minusHours(3), true);
+
+		assertThat(errandsRepository.findIdsWithUnprocessedSuspensionExpiry("SUSPENDED", now, PageRequest.of(0, 10))).containsExactly("ERRAND_ID-2", "ERRAND_ID-1");
+		assertThat(errandsRepository.findIdsWithUnprocessedSuspensionExpiry("SUSPENDED", now, PageRequest.of(0, 1))).containsExactly("ERRAND_ID-2");
+		assertThat(errandsRepository.findIdsWithUnprocessedSuspensionExpiry("OPEN", now, PageRequest.of(0, 10))).isEmpty();
+	}
+
+	@Test
+	void markSuspensionExpiryProcessed() {
+		final var now = OffsetDateTime.now();
+		suspend("ERRAND_ID-1", now.minusHours(1), false);
+		suspend("ERRAND_ID-2", now.minusHours(2), false);
+		final var version = errandsRepository.findById("ERRAND_ID-2").orElseThrow().getVersion();
+
+		assertThat(errandsRepository.markSuspensionExpiryProcessed(List.of("ERRAND_ID-2"), "SUSPENDED", now)).isOne();
+
+		assertThat(errandsRepository.findIdsWithUnprocessedSuspensionExpiry("SUSPENDED", now, PageRequest.of(0, 10))).containsExactly("ERRAND_ID-1");
+		assertThat(errandsRepository.findById("ERRAND_ID-2").orElseThrow()).satisfies(errand -> {
+			assertThat(errand.isSuspensionExpiryProcessed()).isTrue();
+			assertThat(errand.getVersion()).isEqualTo(version);
+		});
+	}
+
+	@Test
+	void markSuspensionExpiryProcessedSkipsErrandsSuspendedAnew() {
+		final var now = OffsetDateTime.now();
+		suspend("ERRAND_ID-1", now.plusHours(1), false);
+		suspend("ERRAND_ID-2", now.minusHours(2), true);
+
+		assertThat(errandsRepository.markSuspensionExpiryProcessed(List.of("ERRAND_ID-1", "ERRAND_ID-2"), "SUSPENDED", now)).isZero();
+		assertThat(errandsRepository.markSuspensionExpiryProcessed(List.of("ERRAND_ID-1"), "OPEN", now.plusHours(2))).isZero();
+
+		assertThat(errandsRepository.findById("ERRAND_ID-1").orElseThrow().isSuspensionExpiryProcessed()).isFalse();
+	}
+
+	private void suspend(final String id, final OffsetDateTime suspendedTo, final boolean processed) {
+		errandsRepository.saveAndFlush(errandsRepository.findById(id).orElseThrow()
+			.withStatus("SUSPENDED")
+			.withSuspendedFrom(suspendedTo.minusDays(1))
+			.withSuspendedTo(suspendedTo)
+			.withSuspensionExpiryProcessed(processed));
+	}
+
 	@Test
 	void findByAllWithEmptyHasMatchingTags() {
 		final var specification = hasMatchingTags(emptyList());
@@ -0,0 +1,121 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+
+/**
+ * Notification delivery repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class NotificationDeliveryRepositoryTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String PHONE_NUMBER = "+46701234567";
+	private static final String EMAIL_ADDRESS = "joe@example.com";
+
+	@Autowired
+	private NotificationDeliveryRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void findByNextAttemptLessThanEqualOrderByCreated() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+
+		final var newer = insert(SMS, PHONE_NUMBER, null, now.minusMinutes(1), now.minusMinutes(1));
+		final var older = insert(EMAIL, EMAIL_ADDRESS, null, now.minusMinutes(2), now);
+		insert(SMS, PHONE_NUMBER, null, now.minusMinutes(3), now.plusMinutes(1));
+		entityManager.clear();
+
+		assertThat(repository.findByNextAttemptLessThanEqualOrderByCreated(now, Pageable.ofSize(10)))
+			.extracting(NotificationDeliveryEntity::getId)
+			.containsExactly(older, newer);
+		assertThat(repository.findByNextAttemptLessThanEqualOrderByCreated(now, Pageable.ofSize(1)))
+			.extracting(NotificationDeliveryEntity::getId)
+			.containsExactly(older);
+	}
+
+	@Test
+	void findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+
+		final var notDue = insert(SMS, PHONE_NUMBER, null, now.minusMinutes(1), now.plusMinutes(5));
+		final var due = insert(SMS, PHONE_NUMBER, "digest-key", now.minusMinutes(2), now);
+		insert(EMAIL, PHONE_NUMBER, null, now.minusMinutes(3), now);
+		insert(SMS, "+46707654321", null, now.minusMinutes(3), now);
+		entityManager.clear();
+
+		assertThat(repository.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(MUNICIPALITY_ID, SMS, PHONE_NUMBER))
+			.extracting(NotificationDeliveryEntity::getId)
+			.containsExactly(due, notDue);
+	}
+
+	@Test
+	void countByChannelType() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+
+		insert(SMS, PHONE_NUMBER, null, now, now);
+		insert(SMS, "+46707654321", null, now, now);
+		insert(EMAIL, EMAIL_ADDRESS, null, now, now);
+
+		assertThat(repository.countByChannelType(SMS)).isEqualTo(2);
+		assertThat(repository.countByChannelType(EMAIL)).isOne();
+	}
+
+	@Test
+	void deleteByDigestKey() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+
+		insert(SMS, PHONE_NUMBER, "digest-key", now, now);
+		insert(SMS, PHONE_NUMBER, "digest-key", now, now);
+		final var otherDigest = insert(SMS, PHONE_NUMBER, "other-digest-key", now, now);
+		final var withoutDigest = insert(SMS, PHONE_NUMBER, null, now, now);
+
+		assertThat(repository.deleteByDigestKey("digest-key")).isEqualTo(2);
+		entityManager.clear();
+
+		assertThat(repository.findAll()).extracting(NotificationDeliveryEntity::getId).containsExactlyInAnyOrder(otherDigest, withoutDigest);
+	}
+
+	private String insert(final NotificationChannelType channelType, final String destination, final String digestKey, final OffsetDateTime created, final OffsetDateTime nextAttempt) {
+		final var entity = repository.saveAndFlush(NotificationDeliveryEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace("NAMESPACE")
+			.withSubscriberId("subscriber-id")
+			.withChannelType(channelType)
+			.withDestination(destination)
+			.withErrandId("errand-id")
+			.withContent("Bilaga har skapats")
+			.withDigestKey(digestKey)
+			.withNextAttempt(nextAttempt));
+
+		// The creation time is set when persisting, hence it is backdated afterwards
+		entityManager.createQuery("UPDATE NotificationDeliveryEntity d SET d.created = :created WHERE d.id = :id")
+			.setParameter("created", created)
+			.setParameter("id", entity.getId())
+			.executeUpdate();
+		return entity.getId();
+	}
+}
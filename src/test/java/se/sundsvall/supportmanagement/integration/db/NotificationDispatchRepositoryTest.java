@@ -0,0 +1,103 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Notification dispatch repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class NotificationDispatchRepositoryTest {
+
+	@Autowired
+	private NotificationDispatchRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void findClaimable() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+		final var cutoff = now.minusSeconds(10);
+
+		final var quietGroup = insert("errand-1", "group-1", now.minusMinutes(3), null);
+		insert("errand-2", null, now.minusMinutes(3), now.plusMinutes(1));
+		insert("errand-2", null, now.minusMinutes(3), null);
+		insert("errand-3", "group-2", now.minusMinutes(3), null);
+		insert("errand-4", "group-2", now, null);
+		final var expiredLease = insert("errand-5", null, now.minusMinutes(2), now.minusMinutes(1));
+		final var withoutGroup = insert("errand-6", null, now, null);
+		entityManager.clear();
+
+		// Errand 2 is leased and request group 2 is still growing
+		assertThat(repository.findClaimable(now, cutoff, Pageable.ofSize(10)))
+			.extracting(NotificationDispatchEntity::getId)
+			.containsExactly(quietGroup, expiredLease, withoutGroup);
+		assertThat(repository.findClaimable(now, cutoff, Pageable.ofSize(2)))
+			.extracting(NotificationDispatchEntity::getId)
+			.containsExactly(quietGroup, expiredLease);
+	}
+
+	@Test
+	void claimFindAndDeleteClaimed() {
+		final var now = OffsetDateTime.now().truncatedTo(MILLIS);
+		final var cutoff = now.minusSeconds(10);
+		final var leaseUntil = now.plusMinutes(5);
+
+		final var unleased = insert("errand-1", null, now.minusMinutes(3), null);
+		final var expiredLease = insert("errand-1", "group-1", now.minusMinutes(2), now.minusMinutes(1));
+		final var leased = insert("errand-1", null, now.minusMinutes(3), now.plusMinutes(1));
+		insert("errand-1", "group-2", now, null);
+		insert("errand-2", null, now.minusMinutes(3), null);
+
+		assertThat(repository.claim(List.of("errand-1"), "claim-1", leaseUntil, now, cutoff)).isEqualTo(2);
+
+		final var claimed = repository.findByClaimedByOrderByErrandIdAscRequestGroupIdAsc("claim-1");
+		assertThat(claimed).extracting(NotificationDispatchEntity::getId).containsExactlyInAnyOrder(unleased, expiredLease);
+		assertThat(claimed).extracting(NotificationDispatchEntity::getLeaseUntil).containsOnly(leaseUntil);
+
+		// The leased entry is held by another claim, and is hence left in place
+		assertThat(repository.deleteClaimed(List.of(unleased, expiredLease, leased), "claim-1")).isEqualTo(2);
+		entityManager.clear();
+
+		assertThat(repository.findAll()).extracting(NotificationDispatchEntity::getErrandId).containsExactlyInAnyOrder("errand-1", "errand-1", "errand-2");
+		assertThat(repository.findById(leased)).isPresent();
+	}
+
+	private String insert(final String errandId, final String requestGroupId, final OffsetDateTime created, final OffsetDateTime leaseUntil) {
+		final var entity = repository.saveAndFlush(NotificationDispatchEntity.create()
+			.withErrandId(errandId)
+			.withRequestGroupId(requestGroupId)
+			.withMunicipalityId("2281")
+			.withNamespace("NAMESPACE")
+			.withEventType("UPDATE")
+			.withClaimedBy(leaseUntil == null ? null : "other-claim")
+			.withLeaseUntil(leaseUntil));
+
+		// The creation time is set when persisting, hence it is backdated afterwards
+		entityManager.createQuery("UPDATE NotificationDispatchEntity d SET d.created = :created WHERE d.id = :id")
+			.setParameter("created", created)
+			.setParameter("id", entity.getId())
+			.executeUpdate();
+		return entity.getId();
+	}
+}
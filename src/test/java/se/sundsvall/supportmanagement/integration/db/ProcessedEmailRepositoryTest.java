@@ -0,0 +1,74 @@
+package se.sundsvall.supportmanagement.integration.db;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.supportmanagement.integration.db.model.ProcessedEmailEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * Processed email repository tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Sql({
+	"/db/scripts/truncate.sql",
+	"/db/scripts/testdata-junit.sql"
+})
+class ProcessedEmailRepositoryTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Autowired
+	private ProcessedEmailRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void existsAndDelete() {
+		repository.saveAndFlush(processedEmail("email-1"));
+		repository.saveAndFlush(processedEmail("email-2"));
+
+		assertThat(repository.existsByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, "email-1")).isTrue();
+		assertThat(repository.existsByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, "other-namespace", "email-1")).isFalse();
+		assertThat(repository.existsByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, "email-3")).isFalse();
+
+		repository.deleteByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, "email-1");
+		entityManager.flush();
+		entityManager.clear();
+
+		assertThat(repository.existsByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, "email-1")).isFalse();
+		assertThat(repository.findAll()).singleElement().satisfies(processedEmail -> {
+			assertThat(processedEmail.getEmailId()).isEqualTo("email-2");
+			assertThat(processedEmail.getErrandId()).isEqualTo("errand-id");
+			assertThat(processedEmail.getCreated()).isNotNull();
+		});
+	}
+
+	@Test
+	void emailIsOnlyProcessedOnce() {
+		repository.saveAndFlush(processedEmail("email-1"));
+
+		assertThatExceptionOfType(DataIntegrityViolationException.class)
+			.isThrownBy(() -> repository.saveAndFlush(processedEmail("email-1")));
+	}
+
+	private static ProcessedEmailEntity processedEmail(final String emailId) {
+		return ProcessedEmailEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withEmailId(emailId)
+			.withErrandId("errand-id");
+	}
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
@@ -19,6 +20,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.DELTA;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.FULL;
 
 /**
  * Revision repository tests.
@@ -138,6 +141,45 @@ class RevisionRepositoryTest {
 		assertThat(versionList).isNotNull().isEmpty();
 	}
 
+	@Test
+	void findClosestKeyframe() {
+		repository.findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(NAMESPACE, MUNICIPALITY_ID, ENTITY_ID, 3)
+			.ifPresent(revision -> repository.saveAndFlush(revision.withSnapshotType(DELTA)));
+
+		final var revision = repository.findFirstByNamespaceAndMunicipalityIdAndEntityIdAndVersionLessThanEqualAndSnapshotTypeOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ENTITY_ID, 3, FULL);
+
+		assertThat(revision).isPresent();
+		assertThat(revision.get().getVersion()).isEqualTo(2);
+	}
+
+	@Test
+	void findAllByVersionBetween() {
+		final var versionList = repository.findAllByNamespaceAndMunicipalityIdAndEntityIdAndVersionBetweenOrderByVersion(NAMESPACE, MUNICIPALITY_ID, ENTITY_ID, 2, 4);
+
+		assertThat(versionList)
+			.extracting(RevisionEntity::getVersion)
+			.containsExactly(2, 3, 4);
+	}
+
+	@Test
+	void findIdsConvertibleToDelta() {
+		final var ids = repository.findIdsConvertibleToDelta(3, "", PageRequest.of(0, 10));
+
+		// Version 3 is a keyframe and is not convertible
+		assertThat(ids).containsExactly(
+			"203c924b-dd67-4802-b99f-256ef6f2de69",
+			"59328e70-4297-4bb5-ba69-cb17f2d15a17",
+			"5ac0398d-67d7-4267-b7b1-d9983b51758b",
+			"f9e222f3-2476-4ead-bb1a-3e7e25f9c6ee");
+	}
+
+	@Test
+	void findIdsConvertibleToDeltaAfterLastId() {
+		final var ids = repository.findIdsConvertibleToDelta(3, "5ac0398d-67d7-4267-b7b1-d9983b51758b", PageRequest.of(0, 10));
+
+		assertThat(ids).containsExactly("f9e222f3-2476-4ead-bb1a-3e7e25f9c6ee");
+	}
+
 	private boolean isValidUUID(final String value) {
 		try {
 			UUID.fromString(String.valueOf(value));
@@ -13,6 +13,7 @@ import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscrip
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.EventFilterEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.IdentifierEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberErrandPair;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberSubscriptionCount;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
 
@@ -279,7 +280,29 @@ class SubscriptionRepositoryTest {
 	}
 
 	@Test
-	void findAllActiveForErrandReturnsErrandAndNamespaceTargets() {
+	void findErrandSubscriptions() {
+
+		// Act — subscriber-id-1 subscribes to ERRAND_ID-1 and the namespace, subscriber-id-2 to ERRAND_ID-2
+		final var result = subscriptionRepository.findErrandSubscriptions(List.of("subscriber-id-1", "subscriber-id-2", "subscriber-id-3"), List.of("ERRAND_ID-1", "ERRAND_ID-2", "ERRAND_ID-3"));
+
+		// Assert
+		assertThat(result).containsExactlyInAnyOrder(
+			new SubscriberErrandPair("subscriber-id-1", "ERRAND_ID-1"),
+			new SubscriberErrandPair("subscriber-id-2", "ERRAND_ID-2"));
+	}
+
+	@Test
+	void findErrandSubscriptionsOfOtherErrands() {
+
+		// Act
+		final var result = subscriptionRepository.findErrandSubscriptions(List.of("subscriber-id-1"), List.of("ERRAND_ID-2", "ERRAND_ID-3"));
+
+		// Assert
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	void findAllActiveForErrandReturnsOnlyErrandTargets() {
 
 		// Act — subscriber-id-1 has an ERRAND subscription on ERRAND_ID-1 and a NAMESPACE subscription,
 		// subscriber-id-2 is only subscribed to ERRAND_ID-2
@@ -288,19 +311,17 @@ class SubscriptionRepositoryTest {
 		// Assert
 		assertThat(result)
 			.extracting(SubscriptionEntity::getId)
-			.containsExactlyInAnyOrder("subscription-id-1", "subscription-id-2");
+			.containsExactly("subscription-id-1");
 	}
 
 	@Test
-	void findAllActiveForErrandReturnsOnlyNamespaceTargetsForUnrelatedErrand() {
+	void findAllActiveForErrandReturnsNothingForUnrelatedErrand() {
 
-		// Act — nobody has an ERRAND subscription on ERRAND_ID-3, so only the namespace-wide one matches
+		// Act — nobody has an ERRAND subscription on ERRAND_ID-3, and the namespace-wide one is left to the index
 		final var result = subscriptionRepository.findAllActiveForErrand("2281", "namespace-1", "ERRAND_ID-3", now(systemDefault()));
 
 		// Assert
-		assertThat(result)
-			.extracting(SubscriptionEntity::getId)
-			.containsExactly("subscription-id-2");
+		assertThat(result).isEmpty();
 	}
 
 	@Test
@@ -322,15 +343,13 @@ class SubscriptionRepositoryTest {
 		final var result = subscriptionRepository.findAllActiveForErrand("2281", "namespace-1", "ERRAND_ID-1", now(systemDefault()));
 
 		// Assert
-		assertThat(result)
-			.extracting(SubscriptionEntity::getId)
-			.containsExactly("subscription-id-2");
+		assertThat(result).isEmpty();
 	}
 
 	@Test
 	void findAllActiveForErrandExcludesPausedSubscribers() {
 
-		// Arrange — pause subscriber-id-1, which owns both subscriptions matching ERRAND_ID-1
+		// Arrange — pause subscriber-id-1, which owns the subscription matching ERRAND_ID-1
 		final var subscriber = subscriberRepository.findById("subscriber-id-1").orElseThrow();
 		subscriberRepository.saveAndFlush(subscriber
 			.withPausedFrom(now(systemDefault()).minusDays(1))
@@ -356,7 +375,7 @@ class SubscriptionRepositoryTest {
 		final var result = subscriptionRepository.findAllActiveForErrand("2281", "namespace-1", "ERRAND_ID-1", now(systemDefault()));
 
 		// Assert
-		assertThat(result).hasSize(2);
+		assertThat(result).hasSize(1);
 	}
 
 	@Test
@@ -373,6 +392,45 @@ class SubscriptionRepositoryTest {
 		assertThat(result).isEmpty();
 	}
 
+	@Test
+	void findAllNamespaceTargets() {
+
+		// Act
+		final var result = subscriptionRepository.findAllNamespaceTargets("2281", "namespace-1");
+
+		// Assert
+		assertThat(result)
+			.extracting(SubscriptionEntity::getId)
+			.containsExactly("subscription-id-2");
+		assertThat(result.getFirst().getSubscriber().getId()).isEqualTo("subscriber-id-1");
+	}
+
+	@Test
+	void findAllNamespaceTargetsIncludesExpiredSubscriptionsAndPausedSubscribers() {
+
+		// Arrange — whether a namespace target is active is decided when dispatching
+		final var subscription = subscriptionRepository.findById("subscription-id-2").orElseThrow();
+		subscriptionRepository.saveAndFlush(subscription.withExpiresAt(now(systemDefault()).minusMinutes(1)));
+		final var subscriber = subscriberRepository.findById("subscriber-id-1").orElseThrow();
+		subscriberRepository.saveAndFlush(subscriber.withPausedFrom(now(systemDefault()).minusDays(1)));
+
+		// Act
+		final var result = subscriptionRepository.findAllNamespaceTargets("2281", "namespace-1");
+
+		// Assert
+		assertThat(result)
+			.extracting(SubscriptionEntity::getId)
+			.containsExactly("subscription-id-2");
+	}
+
+	@Test
+	void findAllNamespaceTargetsIsScopedToMunicipalityAndNamespace() {
+
+		// Act + Assert
+		assertThat(subscriptionRepository.findAllNamespaceTargets("2282", "namespace-1")).isEmpty();
+		assertThat(subscriptionRepository.findAllNamespaceTargets("2281", "namespace-2")).isEmpty();
+	}
+
 	@Test
 	void createNamespaceScopedSubscriptionHasNoErrand() {
 
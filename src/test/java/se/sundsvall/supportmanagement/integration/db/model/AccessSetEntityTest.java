@@ -0,0 +1,51 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import java.util.Set;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessSetEntityTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessSetEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var id = "id";
+		final var municipalityId = "2281";
+		final var namespace = "namespace";
+		final var metadataLabelIds = Set.of("label-1", "label-2");
+
+		final var bean = AccessSetEntity.create()
+			.withId(id)
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace)
+			.withMetadataLabelIds(metadataLabelIds);
+
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(bean.getNamespace()).isEqualTo(namespace);
+		assertThat(bean.getMetadataLabelIds()).isEqualTo(metadataLabelIds);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessSetEntity.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessSetEntity()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,64 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.OffsetDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessibleLabelsSnapshotEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), OffsetDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessibleLabelsSnapshotEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var id = "id";
+		final var municipalityId = "municipalityId";
+		final var namespace = "namespace";
+		final var labelIds = "label-1,label-2";
+		final var created = now();
+
+		final var entity = AccessibleLabelsSnapshotEntity.create()
+			.withId(id)
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace)
+			.withLabelIds(labelIds)
+			.withCreated(created);
+
+		assertThat(entity).hasNoNullFieldsOrProperties();
+		assertThat(entity.getId()).isEqualTo(id);
+		assertThat(entity.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(entity.getNamespace()).isEqualTo(namespace);
+		assertThat(entity.getLabelIds()).isEqualTo(labelIds);
+		assertThat(entity.getCreated()).isEqualTo(created);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessibleLabelsSnapshotEntity.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessibleLabelsSnapshotEntity()).hasAllNullFieldsOrProperties();
+	}
+}
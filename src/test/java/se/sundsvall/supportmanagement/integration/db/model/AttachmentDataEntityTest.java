@@ -39,19 +39,32 @@ class AttachmentDataEntityTest {
 
 		var id = 1;
 		var blob = new MariaDbBlob();
+		var municipalityId = "2281";
+		var hash = "hash";
+		var referenceCount = 2;
+		var storageKey = "storageKey";
 
 		var attachmentData = AttachmentDataEntity.create()
 			.withId(id)
-			.withFile(blob);
+			.withFile(blob)
+			.withMunicipalityId(municipalityId)
+			.withHash(hash)
+			.withReferenceCount(referenceCount)
+			.withStorageKey(storageKey);
 
 		assertThat(attachmentData).hasNoNullFieldsOrProperties();
 		assertThat(attachmentData.getFile()).isSameAs(blob);
 		assertThat(attachmentData.getId()).isEqualTo(id);
+		assertThat(attachmentData.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(attachmentData.getHash()).isEqualTo(hash);
+		assertThat(attachmentData.getReferenceCount()).isEqualTo(referenceCount);
+		assertThat(attachmentData.getStorageKey()).isEqualTo(storageKey);
 	}
 
 	@Test
 	void hasNoDirtOnCreatedBean() {
-		assertThat(AttachmentDataEntity.create()).hasAllNullFieldsOrPropertiesExcept("id");
-		assertThat(new AttachmentDataEntity()).hasAllNullFieldsOrPropertiesExcept("id");
+		assertThat(AttachmentDataEntity.create()).hasAllNullFieldsOrPropertiesExcept("id", "referenceCount");
+		assertThat(new AttachmentDataEntity()).hasAllNullFieldsOrPropertiesExcept("id", "referenceCount");
+		assertThat(AttachmentDataEntity.create().getReferenceCount()).isOne();
 	}
 }
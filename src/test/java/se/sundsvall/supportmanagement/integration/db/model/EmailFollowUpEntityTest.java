@@ -0,0 +1,97 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class EmailFollowUpEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), OffsetDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(EmailFollowUpEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var id = "id";
+		final var municipalityId = "2281";
+		final var namespace = "namespace";
+		final var emailId = "email-id";
+		final var errandId = "errand-id";
+		final var type = EmailFollowUpType.SEND_CONFIRMATION;
+		final var payload = "{\"subject\":\"Bekräftelse\"}";
+		final var attempts = 3;
+		final var nextAttempt = now().plusMinutes(5);
+		final var created = now();
+
+		final var bean = EmailFollowUpEntity.create()
+			.withId(id)
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace)
+			.withEmailId(emailId)
+			.withErrandId(errandId)
+			.withType(type)
+			.withPayload(payload)
+			.withAttempts(attempts)
+			.withNextAttempt(nextAttempt)
+			.withCreated(created);
+
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(bean.getNamespace()).isEqualTo(namespace);
+		assertThat(bean.getEmailId()).isEqualTo(emailId);
+		assertThat(bean.getErrandId()).isEqualTo(errandId);
+		assertThat(bean.getType()).isEqualTo(type);
+		assertThat(bean.getPayload()).isEqualTo(payload);
+		assertThat(bean.getAttempts()).isEqualTo(attempts);
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+		assertThat(bean.getCreated()).isEqualTo(created);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(EmailFollowUpEntity.create()).hasAllNullFieldsOrPropertiesExcept("attempts");
+		assertThat(new EmailFollowUpEntity()).hasAllNullFieldsOrPropertiesExcept("attempts");
+	}
+
+	@Test
+	void testPrePersistSetsCreatedAndNextAttempt() {
+		final var bean = EmailFollowUpEntity.create();
+		bean.onCreate();
+		assertThat(bean.getCreated()).isCloseTo(now(), within(2, SECONDS));
+		assertThat(bean.getNextAttempt()).isEqualTo(bean.getCreated());
+	}
+
+	@Test
+	void testPrePersistKeepsScheduledNextAttempt() {
+		final var nextAttempt = now().plusMinutes(5);
+		final var bean = EmailFollowUpEntity.create().withNextAttempt(nextAttempt);
+		bean.onCreate();
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+	}
+}
@@ -70,6 +70,7 @@ class ErrandEntityTest {
 		final var tempPreviousStatus = "tempPreviousStatus";
 		final var labels = List.of(ErrandLabelEmbeddable.create());
 		final var accessLabels = List.of(AccessLabelEmbeddable.create().withMetadataLabelId("label-id"));
+		final var accessSetKey = "access-set-key";
 		final var notifications = List.of(NotificationEntity.create());
 		final var actions = List.of(ErrandActionEntity.create().withId("action-id"));
 		final var phases = List.of(ErrandPhaseEntity.create().withId("phase-id"));
@@ -105,6 +106,7 @@ class ErrandEntityTest {
 			.withModified(now)
 			.withSuspendedFrom(now)
 			.withSuspendedTo(now)
+			.withSuspensionExpiryProcessed(true)
 			.withPreviousStatus(previousStatus)
 			.withTimeMeasures(timeMeasure)
 			.withTempPreviousStatus(tempPreviousStatus)
@@ -113,6 +115,7 @@ class ErrandEntityTest {
 			.withPhases(phases)
 			.withLabels(labels)
 			.withAccessLabels(accessLabels)
+			.withAccessSetKey(accessSetKey)
 			.withVersion(version);
 
 		assertThat(errandEntity).hasNoNullFieldsOrProperties();
@@ -143,11 +146,13 @@ class ErrandEntityTest {
 		assertThat(errandEntity).extracting(ErrandEntity::getModified,
 			ErrandEntity::getTouched, ErrandEntity::getSuspendedFrom, ErrandEntity::getSuspendedTo,
 			ErrandEntity::getCreated).allSatisfy(date -> assertThat(date).isEqualTo(now));
+		assertThat(errandEntity.isSuspensionExpiryProcessed()).isTrue();
 		assertThat(errandEntity.getPreviousStatus()).isEqualTo(previousStatus);
 		assertThat(errandEntity.getTimeMeasures()).isSameAs(timeMeasure);
 		assertThat(errandEntity.getTempPreviousStatus()).isEqualTo(tempPreviousStatus);
 		assertThat(errandEntity.getLabels()).isEqualTo(labels);
 		assertThat(errandEntity.getAccessLabels()).isEqualTo(accessLabels);
+		assertThat(errandEntity.getAccessSetKey()).isEqualTo(accessSetKey);
 		assertThat(errandEntity.getNotifications()).isEqualTo(notifications);
 		assertThat(errandEntity.getActions()).isEqualTo(actions);
 		assertThat(errandEntity.getVersion()).isEqualTo(version);
@@ -155,7 +160,8 @@ class ErrandEntityTest {
 
 	@Test
 	void hasNoDirtOnCreatedBean() {
-		assertThat(ErrandEntity.create()).hasAllNullFieldsOrPropertiesExcept("timeMeasures");
-		assertThat(new ErrandEntity()).hasAllNullFieldsOrPropertiesExcept("timeMeasures");
+		assertThat(ErrandEntity.create()).hasAllNullFieldsOrPropertiesExcept("timeMeasures", "suspensionExpiryProcessed");
+		assertThat(new ErrandEntity()).hasAllNullFieldsOrPropertiesExcept("timeMeasures", "suspensionExpiryProcessed");
+		assertThat(ErrandEntity.create().isSuspensionExpiryProcessed()).isFalse();
 	}
 }
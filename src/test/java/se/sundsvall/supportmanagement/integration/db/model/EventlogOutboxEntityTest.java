@@ -0,0 +1,90 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class EventlogOutboxEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), OffsetDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(EventlogOutboxEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var id = "id";
+		final var municipalityId = "2281";
+		final var logKey = "log-key";
+		final var notificationDispatchId = "notification-dispatch-id";
+		final var payload = "{\"message\":\"Ärendet har skapats\"}";
+		final var attempts = 3;
+		final var nextAttempt = now().plusMinutes(5);
+		final var created = now();
+
+		final var bean = EventlogOutboxEntity.create()
+			.withId(id)
+			.withMunicipalityId(municipalityId)
+			.withLogKey(logKey)
+			.withNotificationDispatchId(notificationDispatchId)
+			.withPayload(payload)
+			.withAttempts(attempts)
+			.withNextAttempt(nextAttempt)
+			.withCreated(created);
+
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(bean.getLogKey()).isEqualTo(logKey);
+		assertThat(bean.getNotificationDispatchId()).isEqualTo(notificationDispatchId);
+		assertThat(bean.getPayload()).isEqualTo(payload);
+		assertThat(bean.getAttempts()).isEqualTo(attempts);
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+		assertThat(bean.getCreated()).isEqualTo(created);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(EventlogOutboxEntity.create()).hasAllNullFieldsOrPropertiesExcept("attempts");
+		assertThat(new EventlogOutboxEntity()).hasAllNullFieldsOrPropertiesExcept("attempts");
+	}
+
+	@Test
+	void testPrePersistSetsCreatedAndNextAttempt() {
+		final var bean = EventlogOutboxEntity.create();
+		bean.onCreate();
+		assertThat(bean.getCreated()).isCloseTo(now(), within(2, SECONDS));
+		assertThat(bean.getNextAttempt()).isEqualTo(bean.getCreated());
+	}
+
+	@Test
+	void testPrePersistKeepsScheduledNextAttempt() {
+		final var nextAttempt = now().plusMinutes(5);
+		final var bean = EventlogOutboxEntity.create().withNextAttempt(nextAttempt);
+		bean.onCreate();
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+	}
+}
@@ -0,0 +1,105 @@
+package se.sundsvall.supportmanagement.integration.db.model;
+
+import java.time.OffsetDateTime;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.CoreMatchers.allOf;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+
+class NotificationDeliveryEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), OffsetDateTime.class);
+	}
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(NotificationDeliveryEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var id = "id";
+		final var municipalityId = "2281";
+		final var namespace = "namespace";
+		final var subscriberId = "subscriber-id";
+		final var destination = "+46701234567";
+		final var errandId = "errand-id";
+		final var errandNumber = "KC-25010001";
+		final var content = "Bilaga har skapats";
+		final var digestKey = "digest-key";
+		final var attempts = 3;
+		final var nextAttempt = now().plusMinutes(5);
+		final var created = now();
+
+		final var bean = NotificationDeliveryEntity.create()
+			.withId(id)
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace)
+			.withSubscriberId(subscriberId)
+			.withChannelType(SMS)
+			.withDestination(destination)
+			.withErrandId(errandId)
+			.withErrandNumber(errandNumber)
+			.withContent(content)
+			.withDigestKey(digestKey)
+			.withAttempts(attempts)
+			.withNextAttempt(nextAttempt)
+			.withCreated(created);
+
+		assertThat(bean.getId()).isEqualTo(id);
+		assertThat(bean.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(bean.getNamespace()).isEqualTo(namespace);
+		assertThat(bean.getSubscriberId()).isEqualTo(subscriberId);
+		assertThat(bean.getChannelType()).isEqualTo(SMS);
+		assertThat(bean.getDestination()).isEqualTo(destination);
+		assertThat(bean.getErrandId()).isEqualTo(errandId);
+		assertThat(bean.getErrandNumber()).isEqualTo(errandNumber);
+		assertThat(bean.getContent()).isEqualTo(content);
+		assertThat(bean.getDigestKey()).isEqualTo(digestKey);
+		assertThat(bean.getAttempts()).isEqualTo(attempts);
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+		assertThat(bean.getCreated()).isEqualTo(created);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(NotificationDeliveryEntity.create()).hasAllNullFieldsOrPropertiesExcept("attempts");
+		assertThat(new NotificationDeliveryEntity()).hasAllNullFieldsOrPropertiesExcept("attempts");
+	}
+
+	@Test
+	void testPrePersistSetsCreatedAndNextAttempt() {
+		final var bean = NotificationDeliveryEntity.create();
+		bean.onCreate();
+		assertThat(bean.getCreated()).isCloseTo(now(), within(2, SECONDS));
+		assertThat(bean.getNextAttempt()).isEqualTo(bean.getCreated());
+	}
+
+	@Test
+	void testPrePersistKeepsScheduledNextAttempt() {
+		final var nextAttempt = now().plusMinutes(5);
+		final var bean = NotificationDeliveryEntity.create().withNextAttempt(nextAttempt);
+		bean.onCreate();
+		assertThat(bean.getNextAttempt()).isEqualTo(nextAttempt);
+	}
+}
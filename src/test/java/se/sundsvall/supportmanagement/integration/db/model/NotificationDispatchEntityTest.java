@@ -46,6 +46,8 @@ class NotificationDispatchEntityTest {
 		final var description = "Bilaga har skapats";
 		final var subType = "ATTACHMENT";
 		final var executingUserId = "joe01doe";
+		final var claimedBy = "claimed-by";
+		final var leaseUntil = now();
 
 		final var bean = NotificationDispatchEntity.create()
 			.withEventId(eventId)
@@ -56,7 +58,9 @@ class NotificationDispatchEntityTest {
 			.withEventType(eventType)
 			.withDescription(description)
 			.withSubType(subType)
-			.withExecutingUserId(executingUserId);
+			.withExecutingUserId(executingUserId)
+			.withClaimedBy(claimedBy)
+			.withLeaseUntil(leaseUntil);
 
 		assertThat(bean.getEventId()).isEqualTo(eventId);
 		assertThat(bean.getRequestGroupId()).isEqualTo(requestGroupId);
@@ -67,6 +71,8 @@ class NotificationDispatchEntityTest {
 		assertThat(bean.getDescription()).isEqualTo(description);
 		assertThat(bean.getSubType()).isEqualTo(subType);
 		assertThat(bean.getExecutingUserId()).isEqualTo(executingUserId);
+		assertThat(bean.getClaimedBy()).isEqualTo(claimedBy);
+		assertThat(bean.getLeaseUntil()).isEqualTo(leaseUntil);
 	}
 
 	@Test
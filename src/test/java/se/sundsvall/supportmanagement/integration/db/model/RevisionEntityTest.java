@@ -5,6 +5,7 @@ import java.util.Random;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
@@ -45,6 +46,8 @@ class RevisionEntityTest {
 		final var version = 1;
 		final var namespace = "namespace";
 		final var municipalityId = "municipalityId";
+		final var snapshotType = SnapshotType.DELTA;
+		final var snapshotHash = "snapshotHash";
 
 		final var revisionEntity = RevisionEntity.create()
 			.withCreated(created)
@@ -53,6 +56,8 @@ class RevisionEntityTest {
 			.withId(id)
 			.withVersion(version)
 			.withSerializedSnapshot(serializedSnapshot)
+			.withSnapshotType(snapshotType)
+			.withSnapshotHash(snapshotHash)
 			.withNamespace(namespace)
 			.withMunicipalityId(municipalityId);
 
@@ -63,6 +68,8 @@ class RevisionEntityTest {
 		assertThat(revisionEntity.getId()).isEqualTo(id);
 		assertThat(revisionEntity.getVersion()).isEqualTo(version);
 		assertThat(revisionEntity.getSerializedSnapshot()).isEqualTo(serializedSnapshot);
+		assertThat(revisionEntity.getSnapshotType()).isEqualTo(snapshotType);
+		assertThat(revisionEntity.getSnapshotHash()).isEqualTo(snapshotHash);
 		assertThat(revisionEntity.getNamespace()).isEqualTo(namespace);
 		assertThat(revisionEntity.getMunicipalityId()).isEqualTo(municipalityId);
 	}
@@ -0,0 +1,20 @@
+package se.sundsvall.supportmanagement.integration.db.model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotTypeTest {
+
+	@Test
+	void enumValues() {
+		assertThat(SnapshotType.values()).containsExactlyInAnyOrder(SnapshotType.FULL, SnapshotType.DELTA);
+	}
+
+	@Test
+	void enumToString() {
+		assertThat(SnapshotType.FULL).hasToString("FULL");
+		assertThat(SnapshotType.DELTA).hasToString("DELTA");
+	}
+
+}
@@ -0,0 +1,92 @@
+package se.sundsvall.supportmanagement.integration.db.model.listener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mariadb.jdbc.MariaDbBlob;
+import org.springframework.beans.factory.ObjectProvider;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentDataListenerTest {
+
+	@Mock
+	private ObjectProvider<BlobStore> blobStoreProviderMock;
+
+	@Mock
+	private BlobStore blobStoreMock;
+
+	@InjectMocks
+	private AttachmentDataListener attachmentDataListener;
+
+	@Test
+	void onCreate() throws IOException {
+
+		// Arrange
+		final var entity = AttachmentDataEntity.create();
+		when(blobStoreProviderMock.getIfAvailable(any(Supplier.class))).thenReturn(blobStoreMock);
+
+		// Act
+		attachmentDataListener.onCreate(entity);
+
+		// Assert
+		verify(blobStoreMock).write(entity);
+	}
+
+	@Test
+	void onCreateWhenWriteFails() throws IOException {
+
+		// Arrange
+		final var entity = AttachmentDataEntity.create();
+		when(blobStoreProviderMock.getIfAvailable(any(Supplier.class))).thenReturn(blobStoreMock);
+		doThrow(new IOException("Disk full")).when(blobStoreMock).write(entity);
+
+		// Act and assert
+		assertThatExceptionOfType(UncheckedIOException.class)
+			.isThrownBy(() -> attachmentDataListener.onCreate(entity))
+			.withMessage("Failed to store attachment content");
+	}
+
+	@Test
+	void onLoad() {
+
+		// Arrange
+		final var entity = AttachmentDataEntity.create().withStorageKey("storageKey");
+		when(blobStoreProviderMock.getIfAvailable(any(Supplier.class))).thenReturn(blobStoreMock);
+
+		// Act
+		attachmentDataListener.onLoad(entity);
+
+		// Assert
+		verify(blobStoreMock).attach(entity);
+	}
+
+	@Test
+	void onCreateWithoutBlobStoreKeepsContentInDatabase() {
+
+		// Arrange
+		final var blob = new MariaDbBlob("content".getBytes());
+		final var entity = AttachmentDataEntity.create().withFile(blob);
+		when(blobStoreProviderMock.getIfAvailable(any(Supplier.class))).thenAnswer(invocation -> invocation.<Supplier<BlobStore>>getArgument(0).get());
+
+		// Act
+		attachmentDataListener.onCreate(entity);
+
+		// Assert
+		assertThat(entity.getFile()).isSameAs(blob);
+		assertThat(entity.getStorageKey()).isNull();
+	}
+}
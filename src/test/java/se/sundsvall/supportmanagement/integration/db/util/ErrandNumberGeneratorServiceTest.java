@@ -1,14 +1,22 @@
 package se.sundsvall.supportmanagement.integration.db.util;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.supportmanagement.integration.db.ErrandNumberSequenceRepository;
 import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
@@ -16,9 +24,13 @@ import se.sundsvall.supportmanagement.integration.db.model.ErrandNumberSequenceE
 import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigEntity;
 import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigValueEmbeddable;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.ValueType.STRING;
 import static se.sundsvall.supportmanagement.integration.db.util.ConfigPropertyExtractor.PROPERTY_SHORT_CODE;
@@ -37,9 +49,13 @@ class ErrandNumberGeneratorServiceTest {
 	@Mock
 	private NamespaceConfigRepository namespaceConfigRepositoryMock;
 
-	@InjectMocks
 	private ErrandNumberGeneratorService stringGeneratorService;
 
+	@BeforeEach
+	void setUp() {
+		stringGeneratorService = new ErrandNumberGeneratorService(new ErrandNumberSequenceReserver(repositoryMock), namespaceConfigRepositoryMock, Clock.systemDefaultZone());
+	}
+
 	@Test
 	void generateErrandNumber_resetSequence() {
 
@@ -121,4 +137,112 @@ class ErrandNumberGeneratorServiceTest {
 		assertThat(result).hasSize(maxCount).doesNotHaveDuplicates();
 		assertThat(result.getLast()).endsWith("99999");
 	}
+
+	@Test
+	void generateErrandNumber_reservesBlocks() {
+		final var todayDate = dateFormatter.format(LocalDate.now());
+		final var entity = ErrandNumberSequenceEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withLastSequenceNumber(0)
+			.withResetYearMonth(todayDate);
+		ReflectionTestUtils.setField(stringGeneratorService, "blockSize", 50);
+
+		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(any(), any())).thenReturn(Optional.of(NamespaceConfigEntity.create().withValue(
+			NamespaceConfigValueEmbeddable.create().withKey(PROPERTY_SHORT_CODE).withType(STRING).withValue(SHORT_CODE))));
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(entity));
+
+		final var result = IntStream.range(0, 120).mapToObj(_ -> stringGeneratorService.generateErrandNumber(NAMESPACE, MUNICIPALITY_ID))
+			.toList();
+
+		assertThat(result).containsExactlyElementsOf(IntStream.rangeClosed(1, 120).mapToObj(number -> "%s-%s%04d".formatted(SHORT_CODE, todayDate, number)).toList());
+		assertThat(entity.getLastSequenceNumber()).isEqualTo(150);
+		verify(repositoryMock, times(3)).findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID);
+		verify(repositoryMock, times(3)).saveAndFlush(entity);
+	}
+
+	@Test
+	void generateErrandNumber_resetsSequenceWithinBlock() {
+		final var clockMock = mock(Clock.class);
+		final var today = LocalDate.of(2026, 1, 31);
+		final var entity = ErrandNumberSequenceEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withLastSequenceNumber(12)
+			.withResetYearMonth("2601");
+		stringGeneratorService = new ErrandNumberGeneratorService(new ErrandNumberSequenceReserver(repositoryMock), namespaceConfigRepositoryMock, clockMock);
+		ReflectionTestUtils.setField(stringGeneratorService, "blockSize", 50);
+
+		when(clockMock.getZone()).thenReturn(ZoneId.systemDefault());
+		when(clockMock.instant()).thenReturn(
+			today.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+			today.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+			today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(any(), any())).thenReturn(Optional.of(NamespaceConfigEntity.create().withValue(
+			NamespaceConfigValueEmbeddable.create().withKey(PROPERTY_SHORT_CODE).withType(STRING).withValue(SHORT_CODE))));
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(entity));
+
+		assertThat(stringGeneratorService.generateErrandNumber(NAMESPACE, MUNICIPALITY_ID)).isEqualTo("KC-26010013");
+		assertThat(stringGeneratorService.generateErrandNumber(NAMESPACE, MUNICIPALITY_ID)).isEqualTo("KC-26010014");
+		// The rest of the January block is left unused once February has begun
+		assertThat(stringGeneratorService.generateErrandNumber(NAMESPACE, MUNICIPALITY_ID)).isEqualTo("KC-26020001");
+
+		assertThat(entity.getResetYearMonth()).isEqualTo("2602");
+		assertThat(entity.getLastSequenceNumber()).isEqualTo(50);
+		verify(repositoryMock, times(2)).saveAndFlush(entity);
+	}
+
+	@Test
+	void generateErrandNumber_uniqueUnderParallelLoad() throws Exception {
+		final var threads = 8;
+		final var numbersPerThread = 500;
+		final var rowLock = new ReentrantLock();
+		final var entity = ErrandNumberSequenceEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withLastSequenceNumber(0)
+			.withResetYearMonth(dateFormatter.format(LocalDate.now()));
+
+		// Two nodes sharing the sequence row, which is locked from when it is read until it is written, as in the database
+		final var nodes = List.of(
+			new ErrandNumberGeneratorService(new ErrandNumberSequenceReserver(repositoryMock), namespaceConfigRepositoryMock, Clock.systemDefaultZone()),
+			new ErrandNumberGeneratorService(new ErrandNumberSequenceReserver(repositoryMock), namespaceConfigRepositoryMock, Clock.systemDefaultZone()));
+		nodes.forEach(node -> ReflectionTestUtils.setField(node, "blockSize", 7));
+
+		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(any(), any())).thenReturn(Optional.of(NamespaceConfigEntity.create().withValue(
+			NamespaceConfigValueEmbeddable.create().withKey(PROPERTY_SHORT_CODE).withType(STRING).withValue(SHORT_CODE))));
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenAnswer(_ -> {
+			rowLock.lock();
+			return Optional.of(entity);
+		});
+		when(repositoryMock.saveAndFlush(any())).thenAnswer(invocation -> {
+			rowLock.unlock();
+			return invocation.getArgument(0);
+		});
+
+		final var start = new CountDownLatch(1);
+		final var executor = Executors.newFixedThreadPool(threads);
+		try {
+			final var futures = IntStream.range(0, threads)
+				.mapToObj(thread -> executor.submit(() -> {
+					start.await();
+					return IntStream.range(0, numbersPerThread)
+						.mapToObj(_ -> nodes.get(thread % nodes.size()).generateErrandNumber(NAMESPACE, MUNICIPALITY_ID))
+						.toList();
+				}))
+				.toList();
+			start.countDown();
+
+			final var result = new ArrayList<String>();
+			for (final var future : futures) {
+				result.addAll(future.get(30, SECONDS));
+			}
+
+			assertThat(result).hasSize(threads * numbersPerThread).doesNotHaveDuplicates();
+			// No more numbers than the two nodes may have left unused in their last block are skipped
+			assertThat(entity.getLastSequenceNumber()).isBetween(threads * numbersPerThread, threads * numbersPerThread + 2 * 7);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
@@ -0,0 +1,97 @@
+package se.sundsvall.supportmanagement.integration.db.util;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.integration.db.ErrandNumberSequenceRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandNumberSequenceEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ErrandNumberSequenceReserverTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "CONTACTCENTER";
+
+	@Mock
+	private ErrandNumberSequenceRepository repositoryMock;
+
+	@Captor
+	private ArgumentCaptor<ErrandNumberSequenceEntity> entityCaptor;
+
+	@InjectMocks
+	private ErrandNumberSequenceReserver reserver;
+
+	@Test
+	void reserveWithoutSequence() {
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.empty());
+
+		final var result = reserver.reserve(NAMESPACE, MUNICIPALITY_ID, "2601", 50);
+
+		assertThat(result).isEqualTo(new ErrandNumberSequenceReserver.Range("2601", 1, 50));
+		verify(repositoryMock).findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID);
+		verify(repositoryMock).saveAndFlush(entityCaptor.capture());
+		assertThat(entityCaptor.getValue()).isEqualTo(ErrandNumberSequenceEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withLastSequenceNumber(50)
+			.withResetYearMonth("2601"));
+		verifyNoMoreInteractions(repositoryMock);
+	}
+
+	@Test
+	void reserveInSameMonth() {
+		final var entity = createEntity(123, "2601");
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(entity));
+
+		final var result = reserver.reserve(NAMESPACE, MUNICIPALITY_ID, "2601", 10);
+
+		assertThat(result).isEqualTo(new ErrandNumberSequenceReserver.Range("2601", 124, 133));
+		assertThat(entity.getLastSequenceNumber()).isEqualTo(133);
+		assertThat(entity.getResetYearMonth()).isEqualTo("2601");
+		verify(repositoryMock).saveAndFlush(entity);
+	}
+
+	@Test
+	void reserveInLaterMonth() {
+		final var entity = createEntity(123, "2601");
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(entity));
+
+		final var result = reserver.reserve(NAMESPACE, MUNICIPALITY_ID, "2602", 10);
+
+		assertThat(result).isEqualTo(new ErrandNumberSequenceReserver.Range("2602", 1, 10));
+		assertThat(entity.getLastSequenceNumber()).isEqualTo(10);
+		assertThat(entity.getResetYearMonth()).isEqualTo("2602");
+		verify(repositoryMock).saveAndFlush(entity);
+	}
+
+	@Test
+	void reserveInEarlierMonth() {
+		final var entity = createEntity(5, "2602");
+		when(repositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(entity));
+
+		final var result = reserver.reserve(NAMESPACE, MUNICIPALITY_ID, "2601", 1);
+
+		assertThat(result).isEqualTo(new ErrandNumberSequenceReserver.Range("2602", 6, 6));
+		assertThat(entity.getLastSequenceNumber()).isEqualTo(6);
+		assertThat(entity.getResetYearMonth()).isEqualTo("2602");
+		verify(repositoryMock).saveAndFlush(entity);
+	}
+
+	private static ErrandNumberSequenceEntity createEntity(final int lastSequenceNumber, final String resetYearMonth) {
+		return ErrandNumberSequenceEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withLastSequenceNumber(lastSequenceNumber)
+			.withResetYearMonth(resetYearMonth);
+	}
+}
@@ -19,6 +19,7 @@ import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.model.AccessLabelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+import se.sundsvall.supportmanagement.service.model.AccessibleLabels;
 import se.sundsvall.supportmanagement.service.config.NamespaceConfigService;
 
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.LR;
@@ -31,10 +32,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
-import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.hasAllowedMetadataLabels;
+import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.hasAllowedAccessSets;
 import static se.sundsvall.supportmanagement.service.util.SpecificationBuilder.withId;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +45,8 @@ class AccessControlServiceTest {
 	private static final String NAMESPACE = "namespace";
 	private static final String MUNICIPALITY_ID = "municipalityId";
 	private static final String ERRAND_ID = "errandId";
+	private static final String LABEL_ID = "labelId";
+	private static final String ACCESS_SET_KEY = "accessSetKey";
 
 	@Mock
 	private AccessMapperService accessMapperService;
@@ -53,6 +57,9 @@ class AccessControlServiceTest {
 	@Mock
 	private ErrandsRepository errandsRepositoryMock;
 
+	@Mock
+	private AccessSetService accessSetServiceMock;
+
 	@Captor
 	private ArgumentCaptor<Specification<ErrandEntity>> specificationCaptor;
 
@@ -69,7 +76,7 @@ class AccessControlServiceTest {
 		final var errand = ErrandEntity.create().withAccessLabels(List.of(accessLabel1, accessLabel2));
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(NamespaceConfig.create().withAccessControl(true));
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(Set.of());
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(Set.of(), null));
 
 		// Act
 		final var result = accessControlService.limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, user)
@@ -95,7 +102,7 @@ class AccessControlServiceTest {
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(NamespaceConfig.create().withAccessControl(true));
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(Set.of(label1, label2));
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(Set.of(label1, label2), null));
 
 		// Act
 		final var result = accessControlService.limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, user)
@@ -150,21 +157,41 @@ class AccessControlServiceTest {
 		// Setup
 		final var config = NamespaceConfig.create().withAccessControl(true);
 		final var user = Identifier.create();
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 
 		// Act
 		final var specification = accessControlService.withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
 
 		// Verify
-		assertThat(specification).usingRecursiveComparison().isEqualTo(hasAllowedMetadataLabels(allowedLabels));
+		assertThat(specification).usingRecursiveComparison().isEqualTo(hasAllowedAccessSets(allowedAccessSetKeys));
 		verify(namespaceConfigServiceMock).get(NAMESPACE, MUNICIPALITY_ID);
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 	}
 
+	@Test
+	void withAccessControlEnabledWithoutAllowedLabels() {
+		// Setup
+		final var config = NamespaceConfig.create().withAccessControl(true);
+		final var user = Identifier.create();
+
+		// Mock
+		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(Set.of(), null));
+
+		// Act
+		final var specification = accessControlService.withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
+
+		// Verify
+		assertThat(specification).usingRecursiveComparison().isEqualTo((Specification<ErrandEntity>) (_, _, criteriaBuilder) -> criteriaBuilder.disjunction());
+		verifyNoInteractions(accessSetServiceMock);
+	}
+
 	@Test
 	void getErrand() {
 		// Setup
@@ -172,13 +199,15 @@ class AccessControlServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 		final var config = NamespaceConfig.create().withAccessControl(true);
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(entity));
+		when(errandsRepositoryMock.findOneWithAccessLabels(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(entity));
 
 		// Act
 		final var result = accessControlService.getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, false);
@@ -188,8 +217,8 @@ class AccessControlServiceTest {
 		verify(namespaceConfigServiceMock).get(NAMESPACE, MUNICIPALITY_ID);
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
-		verify(errandsRepositoryMock).findOne(specificationCaptor.capture());
-		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedMetadataLabels(allowedLabels)));
+		verify(errandsRepositoryMock).findOneWithAccessLabels(specificationCaptor.capture());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
 	}
 
 	@Test
@@ -199,13 +228,15 @@ class AccessControlServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 		final var config = NamespaceConfig.create().withAccessControl(true);
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 		when(errandsRepositoryMock.existsWithLockingByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(entity));
+		when(errandsRepositoryMock.findOneWithAccessLabels(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(entity));
 
 		// Act
 		final var result = accessControlService.getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, true);
@@ -215,8 +246,8 @@ class AccessControlServiceTest {
 		verify(namespaceConfigServiceMock).get(NAMESPACE, MUNICIPALITY_ID);
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 		verify(errandsRepositoryMock).existsWithLockingByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
-		verify(errandsRepositoryMock).findOne(specificationCaptor.capture());
-		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedMetadataLabels(allowedLabels)));
+		verify(errandsRepositoryMock).findOneWithAccessLabels(specificationCaptor.capture());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
 	}
 
 	@Test
@@ -242,13 +273,15 @@ class AccessControlServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 		final var config = NamespaceConfig.create().withAccessControl(true);
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.empty());
+		when(errandsRepositoryMock.findOneWithAccessLabels(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.empty());
 
 		// Act
 		final var exception = assertThrows(ThrowableProblem.class, () -> accessControlService.getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, false));
@@ -260,8 +293,75 @@ class AccessControlServiceTest {
 		verify(namespaceConfigServiceMock).get(NAMESPACE, MUNICIPALITY_ID);
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
-		verify(errandsRepositoryMock).findOne(specificationCaptor.capture());
-		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedMetadataLabels(allowedLabels)));
+		verify(errandsRepositoryMock).findOneWithAccessLabels(specificationCaptor.capture());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
+	}
+
+	@Test
+	void getErrandWithStakeholders() {
+		// Setup
+		final var entity = ErrandEntity.create();
+		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
+		Identifier.set(user);
+		final var config = NamespaceConfig.create().withAccessControl(true);
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
+
+		// Mock
+		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
+		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
+		when(errandsRepositoryMock.findOneWithStakeholders(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(entity));
+
+		// Act
+		final var result = accessControlService.getErrandWithStakeholders(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID);
+
+		// Verify
+		assertThat(result).isSameAs(entity);
+		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
+		verify(errandsRepositoryMock).findOneWithStakeholders(specificationCaptor.capture());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
+		verifyNoMoreInteractions(errandsRepositoryMock);
+	}
+
+	@Test
+	void getErrandWithStakeholdersNotFound() {
+		// Mock
+		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(false);
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class, () -> accessControlService.getErrandWithStakeholders(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID));
+
+		// Verify
+		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(exception.getMessage()).isEqualTo("Not Found: An errand with id 'errandId' could not be found in namespace 'namespace' for municipality with id 'municipalityId'");
+		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
+		verifyNoMoreInteractions(errandsRepositoryMock);
+		verifyNoInteractions(namespaceConfigServiceMock, accessMapperService);
+	}
+
+	@Test
+	void getErrandWithStakeholdersUnauthorized() {
+		// Setup
+		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
+		Identifier.set(user);
+		final var config = NamespaceConfig.create().withAccessControl(true);
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+
+		// Mock
+		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(Set.of(ACCESS_SET_KEY));
+		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
+		when(errandsRepositoryMock.findOneWithStakeholders(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.empty());
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class, () -> accessControlService.getErrandWithStakeholders(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID));
+
+		// Verify
+		assertThat(exception.getStatus()).isEqualTo(UNAUTHORIZED);
+		assertThat(exception.getMessage()).isEqualTo("Unauthorized: Errand not accessible by user 'user'");
 	}
 
 	@Test
@@ -270,11 +370,13 @@ class AccessControlServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 		final var config = NamespaceConfig.create().withAccessControl(true);
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
 		when(errandsRepositoryMock.exists(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(true);
 
@@ -286,7 +388,7 @@ class AccessControlServiceTest {
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
 		verify(errandsRepositoryMock).exists(specificationCaptor.capture());
-		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedMetadataLabels(allowedLabels)));
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
 	}
 
 	@Test
@@ -312,11 +414,13 @@ class AccessControlServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 		final var config = NamespaceConfig.create().withAccessControl(true);
-		final var allowedLabels = Set.of(MetadataLabelEntity.create());
+		final var allowedLabels = Set.of(MetadataLabelEntity.create().withId(LABEL_ID));
+		final var allowedAccessSetKeys = Set.of(ACCESS_SET_KEY);
 
 		// Mock
 		when(namespaceConfigServiceMock.get(any(), any())).thenReturn(config);
-		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(allowedLabels);
+		when(accessMapperService.getAccessibleLabels(any(), any(), any(), any())).thenReturn(new AccessibleLabels(allowedLabels, null));
+		when(accessSetServiceMock.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of(LABEL_ID))).thenReturn(allowedAccessSetKeys);
 		when(errandsRepositoryMock.existsByIdAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(true);
 		when(errandsRepositoryMock.exists(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(false);
 
@@ -331,6 +435,6 @@ class AccessControlServiceTest {
 		verify(accessMapperService).getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, user, List.of(LR, R, RW));
 		verify(errandsRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID);
 		verify(errandsRepositoryMock).exists(specificationCaptor.capture());
-		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedMetadataLabels(allowedLabels)));
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withId(ERRAND_ID).and(hasAllowedAccessSets(allowedAccessSetKeys)));
 	}
 }
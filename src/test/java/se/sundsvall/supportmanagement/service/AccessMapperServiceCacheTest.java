@@ -1,6 +1,7 @@
 package se.sundsvall.supportmanagement.service;
 
 import generated.se.sundsvall.accessmapper.Access.AccessLevelEnum;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.AopTestUtils;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+import se.sundsvall.supportmanagement.service.model.AccessibleLabels;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,7 +32,7 @@ import static org.mockito.Mockito.when;
 @ContextConfiguration
 @ExtendWith(SpringExtension.class)
 class AccessMapperServiceCacheTest {
-	private static final Set<MetadataLabelEntity> ACCESSIBLE_LABELS = Set.of(MetadataLabelEntity.create().withId("id1"), MetadataLabelEntity.create().withId("id2"));
+	private static final AccessibleLabels ACCESSIBLE_LABELS = new AccessibleLabels(Set.of(MetadataLabelEntity.create().withId("id1"), MetadataLabelEntity.create().withId("id2")), OffsetDateTime.now().plusHours(1));
 
 	private AccessMapperService mock;
 
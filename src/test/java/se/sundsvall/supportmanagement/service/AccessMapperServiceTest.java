@@ -3,26 +3,36 @@ package se.sundsvall.supportmanagement.service;
 import generated.se.sundsvall.accessmapper.Access;
 import generated.se.sundsvall.accessmapper.AccessGroup;
 import generated.se.sundsvall.accessmapper.AccessType;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.integration.accessmapper.AccessMapperClient;
+import se.sundsvall.supportmanagement.integration.db.AccessibleLabelsSnapshotRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AccessibleLabelsSnapshotEntity;
 import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
 
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.LR;
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.R;
 import static generated.se.sundsvall.accessmapper.Access.AccessLevelEnum.RW;
+import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.dept44.support.Identifier.Type.AD_ACCOUNT;
 
@@ -36,7 +46,7 @@ class AccessMapperServiceTest {
 	private static final String ACCESS_PATTERN_R = "accessPatternR";
 	private static final String ACCESS_PATTERN_RW = "accessPatternRW";
 	private static final String ACCESS_PATTERN_LR = "accessPatternLR";
-	private static final MetadataLabelEntity METADATA_LABEL_ENTITY = MetadataLabelEntity.create();
+	private static final MetadataLabelEntity METADATA_LABEL_ENTITY = MetadataLabelEntity.create().withId("labelId");
 
 	@Mock
 	private AccessMapperClient accessMapperClientMock;
@@ -44,6 +54,12 @@ class AccessMapperServiceTest {
 	@Mock
 	private MetadataService metadataServiceMock;
 
+	@Mock
+	private AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepositoryMock;
+
+	@Captor
+	private ArgumentCaptor<OffsetDateTime> offsetDateTimeCaptor;
+
 	@InjectMocks
 	private AccessMapperService accessMapperService;
 
@@ -54,12 +70,82 @@ class AccessMapperServiceTest {
 		when(metadataServiceMock.patternToLabels(any(), any(), any())).thenReturn(Set.of(METADATA_LABEL_ENTITY));
 
 		// Act
-		final var labels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(RW, R, LR));
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(RW, R, LR));
 
 		// Verify
-		assertThat(labels).containsExactly(METADATA_LABEL_ENTITY);
+		final var snapshotId = AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(RW, R, LR));
+		assertThat(accessibleLabels.labels()).containsExactly(METADATA_LABEL_ENTITY);
+		verify(accessibleLabelsSnapshotRepositoryMock).findByIdAndCreatedAfter(eq(snapshotId), any());
 		verify(accessMapperClientMock).getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_USER, "label");
 		verify(metadataServiceMock).patternToLabels(NAMESPACE, MUNICIPALITY_ID, List.of(ACCESS_PATTERN_R, ACCESS_PATTERN_RW, ACCESS_PATTERN_LR));
+		verify(accessibleLabelsSnapshotRepositoryMock).upsert(eq(snapshotId), eq(MUNICIPALITY_ID), eq(NAMESPACE), eq("labelId"), offsetDateTimeCaptor.capture());
+
+		// The labels expire along with the snapshot taken of them
+		assertThat(accessibleLabels.expires()).isEqualTo(offsetDateTimeCaptor.getValue().plusMinutes(60));
+	}
+
+	@Test
+	void getAccessibleLabelsFromSnapshot() {
+		// Mock
+		final var created = OffsetDateTime.now().minusMinutes(45);
+		final var snapshot = AccessibleLabelsSnapshotEntity.create().withLabelIds("labelId,otherLabelId").withCreated(created);
+		when(accessibleLabelsSnapshotRepositoryMock.findByIdAndCreatedAfter(any(), any())).thenReturn(Optional.of(snapshot));
+		when(metadataServiceMock.findLabelsByIds(any(), any(), any())).thenReturn(Set.of(METADATA_LABEL_ENTITY));
+
+		// Act
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R));
+
+		// Verify
+		assertThat(accessibleLabels.labels()).containsExactly(METADATA_LABEL_ENTITY);
+		verify(accessibleLabelsSnapshotRepositoryMock).findByIdAndCreatedAfter(eq(AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R))),
+			offsetDateTimeCaptor.capture());
+		verify(metadataServiceMock).findLabelsByIds(NAMESPACE, MUNICIPALITY_ID, List.of("labelId", "otherLabelId"));
+		verifyNoMoreInteractions(accessibleLabelsSnapshotRepositoryMock, metadataServiceMock);
+		verifyNoInteractions(accessMapperClientMock);
+		assertThat(offsetDateTimeCaptor.getValue()).isCloseTo(OffsetDateTime.now().minusMinutes(60), within(2, SECONDS));
+
+		// Labels read from a snapshot are only valid for what is left of its time to live
+		assertThat(accessibleLabels.expires()).isEqualTo(created.plusMinutes(60));
+	}
+
+	@Test
+	void getAccessibleLabelsFromEmptySnapshot() {
+		// Mock
+		when(accessibleLabelsSnapshotRepositoryMock.findByIdAndCreatedAfter(any(), any())).thenReturn(Optional.of(AccessibleLabelsSnapshotEntity.create().withLabelIds("").withCreated(OffsetDateTime.now())));
+		when(metadataServiceMock.findLabelsByIds(any(), any(), any())).thenReturn(Set.of());
+
+		// Act
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R));
+
+		// Verify
+		assertThat(accessibleLabels.labels()).isEmpty();
+		verify(metadataServiceMock).findLabelsByIds(NAMESPACE, MUNICIPALITY_ID, List.of());
+		verifyNoInteractions(accessMapperClientMock);
+	}
+
+	@Test
+	void getAccessibleLabelsWhenSnapshotCannotBeSaved() {
+		// Mock
+		when(accessMapperClientMock.getAccessDetails(any(), any(), any(), any())).thenReturn(ResponseEntity.of(Optional.of(createAccessGroup())));
+		when(metadataServiceMock.patternToLabels(any(), any(), any())).thenReturn(Set.of(METADATA_LABEL_ENTITY));
+		doThrow(new RuntimeException("error")).when(accessibleLabelsSnapshotRepositoryMock).upsert(any(), any(), any(), any(), any());
+
+		// Act
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R));
+
+		// Verify
+		assertThat(accessibleLabels.labels()).containsExactly(METADATA_LABEL_ENTITY);
+	}
+
+	@Test
+	void toSnapshotId() {
+		final var snapshotId = AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R, RW));
+
+		assertThat(snapshotId).hasSize(64)
+			.isEqualTo(AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R, RW)))
+			.isNotEqualTo(AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R)))
+			.isNotEqualTo(AccessMapperService.toSnapshotId(MUNICIPALITY_ID, "otherNamespace", IDENTIFIER, List.of(R, RW)))
+			.isNotEqualTo(AccessMapperService.toSnapshotId(MUNICIPALITY_ID, NAMESPACE, Identifier.create().withType(AD_ACCOUNT).withValue("otherUser"), List.of(R, RW)));
 	}
 
 	@Test
@@ -69,10 +155,10 @@ class AccessMapperServiceTest {
 		when(metadataServiceMock.patternToLabels(any(), any(), any())).thenReturn(Set.of(METADATA_LABEL_ENTITY));
 
 		// Act
-		final var labels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R));
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(R));
 
 		// Verify
-		assertThat(labels).containsExactly(METADATA_LABEL_ENTITY);
+		assertThat(accessibleLabels.labels()).containsExactly(METADATA_LABEL_ENTITY);
 		verify(accessMapperClientMock).getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_USER, "label");
 		verify(metadataServiceMock).patternToLabels(NAMESPACE, MUNICIPALITY_ID, List.of(ACCESS_PATTERN_R));
 	}
@@ -83,12 +169,14 @@ class AccessMapperServiceTest {
 		when(accessMapperClientMock.getAccessDetails(any(), any(), any(), any())).thenReturn(ResponseEntity.badRequest().build());
 
 		// Act
-		final var labels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(RW, R, LR));
+		final var accessibleLabels = accessMapperService.getAccessibleLabels(MUNICIPALITY_ID, NAMESPACE, IDENTIFIER, List.of(RW, R, LR));
 
 		// Verify
-		assertThat(labels).isEmpty();
+		assertThat(accessibleLabels.labels()).isEmpty();
 		verify(accessMapperClientMock).getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_USER, "label");
 		verifyNoInteractions(metadataServiceMock);
+		verify(accessibleLabelsSnapshotRepositoryMock).findByIdAndCreatedAfter(any(), any());
+		verifyNoMoreInteractions(accessibleLabelsSnapshotRepositoryMock);
 	}
 
 	private List<AccessGroup> createAccessGroup() {
@@ -0,0 +1,98 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.AopTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration
+@ExtendWith(SpringExtension.class)
+class AccessSetServiceCacheTest {
+
+	private static final Set<String> ACCESS_SET_KEYS = Set.of("key-1", "key-2");
+
+	private AccessSetService mock;
+
+	@Autowired
+	private AccessSetService accessSetService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Provides a mock implementation for the service and a cache manager
+	@EnableCaching
+	@Configuration
+	public static class CachingTestConfig {
+
+		@Bean
+		public AccessSetService accessSetServiceMockImplementation() {
+			return mock(AccessSetService.class);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("accessSetCache");
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		// AccessSetService is a proxy around our mock. So, in order to use Mockito validations, we retrieve the actual mock
+		// via AopTestUtils.getTargetObject
+		mock = AopTestUtils.getTargetObject(accessSetService);
+
+		// reset(mock) and clearing the cache is done between each test because CachingTestConfig only loads once
+		reset(mock);
+		cacheManager.getCache("accessSetCache").clear();
+
+		when(mock.findAllowedAccessSetKeys(any(), any(), any()))
+			.thenReturn(ACCESS_SET_KEYS) // On first call, return keys
+			.thenThrow(new RuntimeException("Result should be cached!")); // If any more calls are received, throw exception
+	}
+
+	@Test
+	void testCaching() {
+		final var allowedLabelIds = Set.of("label-1", "label-2");
+
+		// First call should trigger logic in wrapped service class
+		final var result1 = accessSetService.findAllowedAccessSetKeys("namespace", "municipalityId", allowedLabelIds);
+		verify(mock).findAllowedAccessSetKeys("namespace", "municipalityId", allowedLabelIds);
+
+		// Second call, with an equal set of labels, should go directly to cache and not reach mock
+		final var result2 = accessSetService.findAllowedAccessSetKeys("namespace", "municipalityId", Set.of("label-2", "label-1"));
+		verifyNoMoreInteractions(mock);
+
+		// Verify that the result is the same
+		assertThat(result1).isSameAs(result2);
+	}
+
+	@Test
+	void testCachingIsPerNamespaceAndMunicipality() {
+		final var allowedLabelIds = Set.of("label-1");
+		when(mock.findAllowedAccessSetKeys("otherNamespace", "municipalityId", allowedLabelIds)).thenReturn(Set.of("key-3"));
+
+		assertThat(accessSetService.findAllowedAccessSetKeys("namespace", "municipalityId", allowedLabelIds)).isEqualTo(ACCESS_SET_KEYS);
+		assertThat(accessSetService.findAllowedAccessSetKeys("otherNamespace", "municipalityId", allowedLabelIds)).containsExactly("key-3");
+
+		verify(mock).findAllowedAccessSetKeys("namespace", "municipalityId", allowedLabelIds);
+		verify(mock).findAllowedAccessSetKeys("otherNamespace", "municipalityId", allowedLabelIds);
+		verifyNoMoreInteractions(mock);
+	}
+}
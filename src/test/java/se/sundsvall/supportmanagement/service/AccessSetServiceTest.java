@@ -0,0 +1,96 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.integration.db.AccessSetRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AccessSetEntity;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.service.AccessSetService.toAccessSetKey;
+
+@ExtendWith(MockitoExtension.class)
+class AccessSetServiceTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Mock
+	private AccessSetRepository accessSetRepositoryMock;
+
+	@Mock
+	private CacheInvalidationService cacheInvalidationServiceMock;
+
+	@InjectMocks
+	private AccessSetService service;
+
+	@Test
+	void toAccessSetKeyIsIndependentOfOrderAndDuplicates() {
+		// SHA-256 of "a,b", the same value the migration computes with SHA2(GROUP_CONCAT(...), 256)
+		assertThat(toAccessSetKey(List.of("b", "a", "b"))).isEqualTo("1eb7c54d52831bbfe8942af0b1c56b7409523a59ed6ca99c1174fef7eb32c1b5");
+	}
+
+	@Test
+	void toAccessSetKeyWithoutLabels() {
+		assertThat(toAccessSetKey(null)).isNull();
+		assertThat(toAccessSetKey(emptyList())).isNull();
+	}
+
+	@Test
+	void registerNewAccessSet() {
+		final var labelIds = List.of("label-2", "label-1");
+		final var key = toAccessSetKey(labelIds);
+
+		final var result = service.register(NAMESPACE, MUNICIPALITY_ID, labelIds);
+
+		assertThat(result).isEqualTo(key);
+		verify(accessSetRepositoryMock).existsById(key);
+		verify(accessSetRepositoryMock).insertIfAbsent(key, MUNICIPALITY_ID, NAMESPACE);
+		verify(accessSetRepositoryMock).insertLabelIfAbsent(key, "label-1");
+		verify(accessSetRepositoryMock).insertLabelIfAbsent(key, "label-2");
+		verify(cacheInvalidationServiceMock).publish("accessSetCache");
+		verifyNoMoreInteractions(accessSetRepositoryMock, cacheInvalidationServiceMock);
+	}
+
+	@Test
+	void registerExistingAccessSet() {
+		final var labelIds = List.of("label-1");
+		final var key = toAccessSetKey(labelIds);
+		when(accessSetRepositoryMock.existsById(key)).thenReturn(true);
+
+		final var result = service.register(NAMESPACE, MUNICIPALITY_ID, labelIds);
+
+		assertThat(result).isEqualTo(key);
+		verify(accessSetRepositoryMock).existsById(key);
+		verifyNoMoreInteractions(accessSetRepositoryMock);
+		verifyNoInteractions(cacheInvalidationServiceMock);
+	}
+
+	@Test
+	void registerWithoutLabels() {
+		assertThat(service.register(NAMESPACE, MUNICIPALITY_ID, emptyList())).isNull();
+
+		verifyNoInteractions(accessSetRepositoryMock, cacheInvalidationServiceMock);
+	}
+
+	@Test
+	void findAllowedAccessSetKeys() {
+		when(accessSetRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(List.of(
+			AccessSetEntity.create().withId("key-1").withMetadataLabelIds(Set.of("label-1")),
+			AccessSetEntity.create().withId("key-2").withMetadataLabelIds(Set.of("label-1", "label-2")),
+			AccessSetEntity.create().withId("key-3").withMetadataLabelIds(Set.of("label-1", "label-3"))));
+
+		final var result = service.findAllowedAccessSetKeys(NAMESPACE, MUNICIPALITY_ID, Set.of("label-1", "label-2"));
+
+		assertThat(result).containsExactlyInAnyOrder("key-1", "key-2");
+	}
+}
@@ -0,0 +1,246 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentDataServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+	@Mock
+	private AttachmentDataRepository attachmentDataRepositoryMock;
+
+	@Mock
+	private BlobStore blobStoreMock;
+
+	@InjectMocks
+	private AttachmentDataService service;
+
+	@Test
+	void deduplicateSharesExistingContent() {
+		final var existing = AttachmentDataEntity.create().withId(1);
+		final var attachmentData = AttachmentDataEntity.create().withId(2);
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withHash(HASH).withAttachmentData(attachmentData);
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 2, Limit.of(1))).thenReturn(List.of(1));
+		when(attachmentDataRepositoryMock.incrementReferenceCount(1)).thenReturn(1);
+		when(attachmentDataRepositoryMock.getReferenceById(1)).thenReturn(existing);
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(existing);
+		final var inOrder = inOrder(attachmentDataRepositoryMock);
+		inOrder.verify(attachmentDataRepositoryMock).incrementReferenceCount(1);
+		inOrder.verify(attachmentDataRepositoryMock).decrementReferenceCount(2);
+		inOrder.verify(attachmentDataRepositoryMock).deleteIfUnreferenced(2);
+	}
+
+	@Test
+	void deduplicateNewContentSharesExistingContent() {
+		final var existing = AttachmentDataEntity.create().withId(1);
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withHash(HASH).withAttachmentData(AttachmentDataEntity.create());
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1))).thenReturn(List.of(1));
+		when(attachmentDataRepositoryMock.incrementReferenceCount(1)).thenReturn(1);
+		when(attachmentDataRepositoryMock.getReferenceById(1)).thenReturn(existing);
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(existing);
+		verify(attachmentDataRepositoryMock).findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1));
+		verify(attachmentDataRepositoryMock).incrementReferenceCount(1);
+		verify(attachmentDataRepositoryMock).getReferenceById(1);
+		verifyNoMoreInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateRegistersStoredContent() {
+		final var attachmentData = AttachmentDataEntity.create().withId(2);
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withHash(HASH).withAttachmentData(attachmentData);
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 2, Limit.of(1))).thenReturn(List.of());
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(attachmentData);
+		verify(attachmentDataRepositoryMock).updateContentKey(2, MUNICIPALITY_ID, HASH);
+		verifyNoMoreInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateRegistersNewContent() {
+		final var attachmentData = AttachmentDataEntity.create();
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withHash(HASH).withAttachmentData(attachmentData);
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1))).thenReturn(List.of());
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(attachmentData);
+		assertThat(attachmentData.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+		assertThat(attachmentData.getHash()).isEqualTo(HASH);
+		verifyNoMoreInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateWhenMatchIsGarbageCollectedConcurrently() {
+		final var attachmentData = AttachmentDataEntity.create().withId(2);
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withHash(HASH).withAttachmentData(attachmentData);
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 2, Limit.of(1))).thenReturn(List.of(1));
+		when(attachmentDataRepositoryMock.incrementReferenceCount(1)).thenReturn(0);
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(attachmentData);
+		verify(attachmentDataRepositoryMock).updateContentKey(2, MUNICIPALITY_ID, HASH);
+	}
+
+	@Test
+	void deduplicateWithoutHash() {
+		final var attachment = AttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withAttachmentData(AttachmentDataEntity.create().withId(2));
+
+		service.deduplicate(attachment);
+
+		verifyNoInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateCommunicationAttachmentSharesExistingContent() {
+		final var existing = AttachmentDataEntity.create().withId(1);
+		final var attachment = CommunicationAttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withAttachmentData(AttachmentDataEntity.create().withHash(HASH));
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1))).thenReturn(List.of(1));
+		when(attachmentDataRepositoryMock.incrementReferenceCount(1)).thenReturn(1);
+		when(attachmentDataRepositoryMock.getReferenceById(1)).thenReturn(existing);
+
+		service.deduplicate(attachment);
+
+		// The new content is never inserted, hence there is no reference to release
+		assertThat(attachment.getAttachmentData()).isSameAs(existing);
+		verify(attachmentDataRepositoryMock).findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1));
+		verify(attachmentDataRepositoryMock).incrementReferenceCount(1);
+		verify(attachmentDataRepositoryMock).getReferenceById(1);
+		verifyNoMoreInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateCommunicationAttachmentRegistersNewContent() {
+		final var attachmentData = AttachmentDataEntity.create().withHash(HASH);
+		final var attachment = CommunicationAttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withAttachmentData(attachmentData);
+
+		when(attachmentDataRepositoryMock.findIdsByMunicipalityIdAndHash(MUNICIPALITY_ID, HASH, 0, Limit.of(1))).thenReturn(List.of());
+
+		service.deduplicate(attachment);
+
+		assertThat(attachment.getAttachmentData()).isSameAs(attachmentData);
+		assertThat(attachmentData.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+		assertThat(attachmentData.getReferenceCount()).isOne();
+		verifyNoMoreInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void deduplicateCommunicationAttachmentWithStoredOrUnhashedContent() {
+		service.deduplicate(CommunicationAttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withAttachmentData(AttachmentDataEntity.create().withId(1).withHash(HASH)));
+		service.deduplicate(CommunicationAttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID).withAttachmentData(AttachmentDataEntity.create()));
+		service.deduplicate(CommunicationAttachmentEntity.create().withMunicipalityId(MUNICIPALITY_ID));
+
+		verifyNoInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void acquireStoredContent() {
+		service.acquire(AttachmentDataEntity.create().withId(1));
+
+		verify(attachmentDataRepositoryMock).incrementReferenceCount(1);
+	}
+
+	@Test
+	void acquireNewContent() {
+		final var attachmentData = AttachmentDataEntity.create();
+
+		service.acquire(attachmentData);
+
+		assertThat(attachmentData.getReferenceCount()).isEqualTo(2);
+		verifyNoInteractions(attachmentDataRepositoryMock);
+	}
+
+	@Test
+	void release() {
+		when(attachmentDataRepositoryMock.deleteIfUnreferenced(1)).thenReturn(1);
+
+		service.release(AttachmentDataEntity.create().withId(1));
+
+		final var inOrder = inOrder(attachmentDataRepositoryMock);
+		inOrder.verify(attachmentDataRepositoryMock).decrementReferenceCount(1);
+		inOrder.verify(attachmentDataRepositoryMock).deleteIfUnreferenced(1);
+		verifyNoInteractions(blobStoreMock);
+	}
+
+	@Test
+	void releaseDeletesBlob() throws Exception {
+		when(attachmentDataRepositoryMock.findStorageKeyById(1)).thenReturn("storageKey");
+		when(attachmentDataRepositoryMock.deleteIfUnreferenced(1)).thenReturn(1);
+
+		service.release(AttachmentDataEntity.create().withId(1));
+
+		final var inOrder = inOrder(attachmentDataRepositoryMock, blobStoreMock);
+		inOrder.verify(attachmentDataRepositoryMock).decrementReferenceCount(1);
+		inOrder.verify(attachmentDataRepositoryMock).deleteIfUnreferenced(1);
+		inOrder.verify(blobStoreMock).delete("storageKey");
+	}
+
+	@Test
+	void releaseKeepsBlobOfReferencedContent() throws Exception {
+		when(attachmentDataRepositoryMock.findStorageKeyById(1)).thenReturn("storageKey");
+
+		service.release(AttachmentDataEntity.create().withId(1));
+
+		verify(attachmentDataRepositoryMock).deleteIfUnreferenced(1);
+		verify(blobStoreMock, never()).delete("storageKey");
+	}
+
+	@Test
+	void deleteUnreferenced() throws Exception {
+		when(attachmentDataRepositoryMock.findUnreferencedIds(5, Limit.of(10))).thenReturn(List.of(6, 7));
+		when(attachmentDataRepositoryMock.findStorageKeyById(6)).thenReturn("storageKey");
+		when(attachmentDataRepositoryMock.deleteIfUnreferenced(6)).thenReturn(1);
+		// Shared again after it was found
+		when(attachmentDataRepositoryMock.deleteIfUnreferenced(7)).thenReturn(0);
+
+		assertThat(service.deleteUnreferenced(5, 10)).containsExactly(6, 7);
+
+		verify(attachmentDataRepositoryMock).findStorageKeyById(7);
+		verify(blobStoreMock).delete("storageKey");
+		verify(attachmentDataRepositoryMock, never()).decrementReferenceCount(6);
+		verifyNoMoreInteractions(blobStoreMock);
+	}
+
+	@Test
+	void releaseNewOrMissingContent() {
+		service.release(AttachmentDataEntity.create());
+		service.release(null);
+
+		verifyNoInteractions(attachmentDataRepositoryMock, blobStoreMock);
+	}
+}
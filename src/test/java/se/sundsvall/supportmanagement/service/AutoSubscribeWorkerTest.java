@@ -0,0 +1,186 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.model.ErrandAssignment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AutoSubscribeWorkerTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "my-namespace";
+
+	@Mock
+	private SubscriptionService subscriptionServiceMock;
+
+	@Mock
+	private ExecutorService executorMock;
+
+	@Captor
+	private ArgumentCaptor<Runnable> runnableCaptor;
+
+	@Captor
+	private ArgumentCaptor<List<ErrandAssignment>> assignmentsCaptor;
+
+	private AutoSubscribeWorker worker;
+
+	@BeforeEach
+	void setUp() {
+		worker = new AutoSubscribeWorker(subscriptionServiceMock, executorMock);
+	}
+
+	@Test
+	void handleAutoSubscribeEventWithoutAssignee() {
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", null)));
+
+		verifyNoInteractions(subscriptionServiceMock, executorMock);
+	}
+
+	@Test
+	void handleAutoSubscribeEvent() {
+		runSynchronously();
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(assignment("errand-1", "joe01doe")));
+		verifyNoMoreInteractions(subscriptionServiceMock);
+	}
+
+	@Test
+	void handleAutoSubscribeEventWhenAssigneeIsUnchanged() {
+		runSynchronously();
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "jane01doe")));
+
+		verify(executorMock, times(2)).execute(any(Runnable.class));
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(assignment("errand-1", "joe01doe")));
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(assignment("errand-1", "jane01doe")));
+		verifyNoMoreInteractions(subscriptionServiceMock, executorMock);
+	}
+
+	@Test
+	void handleAutoSubscribeEventCoalescesUntilDrained() {
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+
+		// Only the first event schedules a drain, the others are picked up by it
+		verify(executorMock).execute(runnableCaptor.capture());
+		verifyNoInteractions(subscriptionServiceMock);
+
+		runnableCaptor.getValue().run();
+
+		verify(subscriptionServiceMock).autoSubscribeAssignees(assignmentsCaptor.capture());
+		assertThat(assignmentsCaptor.getValue()).containsExactlyInAnyOrder(assignment("errand-1", "joe01doe"), assignment("errand-2", "joe01doe"));
+		verifyNoMoreInteractions(subscriptionServiceMock, executorMock);
+	}
+
+	@Test
+	void handleAutoSubscribeEventInBatches() {
+		ReflectionTestUtils.setField(worker, "batchSize", 1);
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+		verify(executorMock).execute(runnableCaptor.capture());
+		runnableCaptor.getValue().run();
+
+		verify(subscriptionServiceMock, times(2)).autoSubscribeAssignees(assignmentsCaptor.capture());
+		assertThat(assignmentsCaptor.getAllValues()).containsExactlyInAnyOrder(List.of(assignment("errand-1", "joe01doe")), List.of(assignment("errand-2", "joe01doe")));
+	}
+
+	@Test
+	void handleAutoSubscribeEventRetriesFailedBatchOneByOne() {
+		final var failing = assignment("errand-1", "joe01doe");
+		final var succeeding = assignment("errand-2", "joe01doe");
+		doThrow(new RuntimeException("Duplicate entry")).when(subscriptionServiceMock).autoSubscribeAssignees(any());
+		doAnswer(_ -> null).when(subscriptionServiceMock).autoSubscribeAssignees(List.of(succeeding));
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+		verify(executorMock).execute(runnableCaptor.capture());
+		runnableCaptor.getValue().run();
+
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(failing));
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(succeeding));
+
+		// Only the failed assignment is subscribed again on the next update
+		runSynchronously();
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+
+		verify(subscriptionServiceMock, times(2)).autoSubscribeAssignees(List.of(failing));
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(succeeding));
+	}
+
+	@Test
+	void handleAutoSubscribeEventWhenDrainIsRejected() {
+		doThrow(new RejectedExecutionException("Executor is shut down")).when(executorMock).execute(any(Runnable.class));
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		verifyNoInteractions(subscriptionServiceMock);
+
+		// The assignment is kept and drained along with the next one
+		runSynchronously();
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+
+		verify(subscriptionServiceMock).autoSubscribeAssignees(assignmentsCaptor.capture());
+		assertThat(assignmentsCaptor.getValue()).containsExactlyInAnyOrder(assignment("errand-1", "joe01doe"), assignment("errand-2", "joe01doe"));
+	}
+
+	@Test
+	void handleAutoSubscribeEventWhenTooManyArePending() {
+		ReflectionTestUtils.setField(worker, "maxPending", 1);
+
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-1", "joe01doe")));
+		worker.handleAutoSubscribeEvent(new AutoSubscribeEvent(errand("errand-2", "joe01doe")));
+		verify(executorMock).execute(runnableCaptor.capture());
+		runnableCaptor.getValue().run();
+
+		verify(subscriptionServiceMock).autoSubscribeAssignees(List.of(assignment("errand-1", "joe01doe")));
+		verifyNoMoreInteractions(subscriptionServiceMock, executorMock);
+	}
+
+	@Test
+	void shutdown() {
+		worker.shutdown();
+
+		verify(executorMock).shutdown();
+		verifyNoInteractions(subscriptionServiceMock);
+	}
+
+	private void runSynchronously() {
+		doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return null;
+		}).when(executorMock).execute(any(Runnable.class));
+	}
+
+	private static ErrandEntity errand(final String errandId, final String assignedUserId) {
+		return new ErrandEntity().withId(errandId).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE).withAssignedUserId(assignedUserId);
+	}
+
+	private static ErrandAssignment assignment(final String errandId, final String assignedUserId) {
+		return new ErrandAssignment(MUNICIPALITY_ID, NAMESPACE, errandId, assignedUserId);
+	}
+}
@@ -0,0 +1,203 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.supportmanagement.integration.db.AccessibleLabelsSnapshotRepository;
+import se.sundsvall.supportmanagement.integration.db.CacheInvalidationRepository;
+import se.sundsvall.supportmanagement.integration.db.model.CacheInvalidationEntity;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+
+	private static final String CACHE_NAME = "cacheName";
+
+	@Mock
+	private CacheInvalidationRepository cacheInvalidationRepositoryMock;
+
+	@Mock
+	private AccessibleLabelsSnapshotRepository accessibleLabelsSnapshotRepositoryMock;
+
+	@Mock
+	private CacheManager cacheManagerMock;
+
+	@Mock
+	private Cache cacheMock;
+
+	@Captor
+	private ArgumentCaptor<OffsetDateTime> offsetDateTimeCaptor;
+
+	@InjectMocks
+	private CacheInvalidationService cacheInvalidationService;
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void configureTasks() {
+		final var taskRegistrar = new ScheduledTaskRegistrar();
+
+		cacheInvalidationService.configureTasks(taskRegistrar);
+
+		assertThat(taskRegistrar.getFixedDelayTaskList()).singleElement().satisfies(task -> {
+			assertThat(task.getIntervalDuration()).isEqualTo(Duration.ofSeconds(5));
+			assertThat(task.getInitialDelayDuration()).isEqualTo(Duration.ofSeconds(5));
+		});
+		verifyNoInteractions(cacheInvalidationRepositoryMock);
+	}
+
+	@Test
+	void publish() {
+		when(cacheManagerMock.getCache(CACHE_NAME)).thenReturn(cacheMock);
+
+		cacheInvalidationService.publish(CACHE_NAME);
+
+		verify(cacheMock).clear();
+		verify(cacheInvalidationRepositoryMock).insert(eq(CACHE_NAME), offsetDateTimeCaptor.capture());
+		assertThat(offsetDateTimeCaptor.getValue()).isCloseTo(OffsetDateTime.now(), within(2, SECONDS));
+	}
+
+	@Test
+	void publishAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		when(cacheManagerMock.getCache(CACHE_NAME)).thenReturn(cacheMock);
+
+		cacheInvalidationService.publish(CACHE_NAME);
+
+		verifyNoInteractions(cacheMock, cacheInvalidationRepositoryMock);
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		verify(cacheMock).clear();
+		verify(cacheInvalidationRepositoryMock).insert(eq(CACHE_NAME), any());
+	}
+
+	@Test
+	void publishWhenInsertFails() {
+		when(cacheManagerMock.getCache(CACHE_NAME)).thenReturn(cacheMock);
+		doThrow(new RuntimeException("error")).when(cacheInvalidationRepositoryMock).insert(any(), any());
+
+		cacheInvalidationService.publish(CACHE_NAME);
+
+		verify(cacheMock).clear();
+	}
+
+	@Test
+	void invalidateLabels() {
+		when(cacheManagerMock.getCache("labelIndexCache")).thenReturn(cacheMock);
+		when(cacheManagerMock.getCache("metadataSnapshotCache")).thenReturn(cacheMock);
+		when(cacheManagerMock.getCache("accessibleLabelsCache")).thenReturn(cacheMock);
+		when(cacheManagerMock.getCache("accessSetCache")).thenReturn(cacheMock);
+
+		cacheInvalidationService.invalidateLabels("namespace", "municipalityId");
+
+		verify(accessibleLabelsSnapshotRepositoryMock).deleteByNamespaceAndMunicipalityId("namespace", "municipalityId");
+		verify(cacheMock, times(4)).clear();
+		verify(cacheInvalidationRepositoryMock).insert(eq("labelIndexCache"), any());
+		verify(cacheInvalidationRepositoryMock).insert(eq("metadataSnapshotCache"), any());
+		verify(cacheInvalidationRepositoryMock).insert(eq("accessibleLabelsCache"), any());
+		verify(cacheInvalidationRepositoryMock).insert(eq("accessSetCache"), any());
+	}
+
+	@Test
+	void firstPollOnlyRecordsSeenInvalidations() {
+		when(cacheInvalidationRepositoryMock.findByCreatedGreaterThanEqualOrderById(any())).thenReturn(List.of(CacheInvalidationEntity.create().withId(5L).withCacheName(CACHE_NAME)));
+
+		cacheInvalidationService.poll();
+
+		verify(cacheInvalidationRepositoryMock).findByCreatedGreaterThanEqualOrderById(offsetDateTimeCaptor.capture());
+		assertThat(offsetDateTimeCaptor.getValue()).isCloseTo(OffsetDateTime.now().minusMinutes(1), within(2, SECONDS));
+		verifyNoInteractions(cacheManagerMock);
+	}
+
+	@Test
+	void poll() {
+		when(cacheInvalidationRepositoryMock.findByCreatedGreaterThanEqualOrderById(any()))
+			.thenReturn(List.of())
+			.thenReturn(List.of(
+				CacheInvalidationEntity.create().withId(1L).withCacheName(CACHE_NAME),
+				CacheInvalidationEntity.create().withId(2L).withCacheName("unknownCache"),
+				CacheInvalidationEntity.create().withId(3L).withCacheName(CACHE_NAME)))
+			.thenReturn(List.of(
+				CacheInvalidationEntity.create().withId(1L).withCacheName(CACHE_NAME),
+				CacheInvalidationEntity.create().withId(2L).withCacheName("unknownCache"),
+				CacheInvalidationEntity.create().withId(3L).withCacheName(CACHE_NAME)));
+		when(cacheManagerMock.getCache(CACHE_NAME)).thenReturn(cacheMock);
+
+		cacheInvalidationService.poll();
+		cacheInvalidationService.poll();
+		cacheInvalidationService.poll();
+
+		verify(cacheInvalidationRepositoryMock, times(3)).findByCreatedGreaterThanEqualOrderById(any());
+		verify(cacheManagerMock).getCache(CACHE_NAME);
+		verify(cacheManagerMock).getCache("unknownCache");
+		verify(cacheMock).clear();
+
+		// Expired invalidations and snapshots are pruned once per retention period
+		verify(cacheInvalidationRepositoryMock).deleteByCreatedBefore(offsetDateTimeCaptor.capture());
+		verify(accessibleLabelsSnapshotRepositoryMock).deleteByCreatedBefore(any());
+		assertThat(offsetDateTimeCaptor.getValue()).isCloseTo(OffsetDateTime.now().minusHours(1), within(2, SECONDS));
+	}
+
+	@Test
+	void pollFindsInvalidationCommittedOutOfOrder() {
+		final var first = CacheInvalidationEntity.create().withId(1L).withCacheName("firstCache");
+		final var third = CacheInvalidationEntity.create().withId(3L).withCacheName("thirdCache");
+		final var second = CacheInvalidationEntity.create().withId(2L).withCacheName(CACHE_NAME);
+		when(cacheInvalidationRepositoryMock.findByCreatedGreaterThanEqualOrderById(any()))
+			.thenReturn(List.of(first))
+			.thenReturn(List.of(first, third))
+			.thenReturn(List.of(first, second, third));
+		when(cacheManagerMock.getCache(CACHE_NAME)).thenReturn(cacheMock);
+
+		cacheInvalidationService.poll();
+		cacheInvalidationService.poll();
+		cacheInvalidationService.poll();
+
+		// The invalidation with id 2 was committed after the one with id 3 had been seen
+		verify(cacheManagerMock).getCache("thirdCache");
+		verify(cacheManagerMock).getCache(CACHE_NAME);
+		verify(cacheMock).clear();
+		verifyNoMoreInteractions(cacheManagerMock);
+	}
+
+	@Test
+	void pollWhenRepositoryFails() {
+		when(cacheInvalidationRepositoryMock.findByCreatedGreaterThanEqualOrderById(any())).thenThrow(new RuntimeException("error"));
+
+		cacheInvalidationService.poll();
+
+		verify(cacheInvalidationRepositoryMock, never()).deleteByCreatedBefore(any());
+		verifyNoInteractions(cacheManagerMock);
+	}
+}
@@ -77,7 +77,9 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -159,6 +161,9 @@ class CommunicationServiceTest {
 	@Mock
 	private ErrandAttachmentService errandAttachmentServiceMock;
 
+	@Mock
+	private AttachmentDataService attachmentDataServiceMock;
+
 	@Mock
 	private List<AttachmentEntity> attachmentEntitiesMock;
 
@@ -628,6 +633,30 @@ class CommunicationServiceTest {
 		verifyNoInteractions(accessControlServiceMock, communicationAttachmentRepositoryMock, messagingClientMock, communicationMapperMock);
 	}
 
+	@Test
+	void saveCommunicationDeduplicatesAttachmentContent() {
+		final var attachment = CommunicationAttachmentEntity.create().withMunicipalityId("2281");
+		final var communicationEntity = CommunicationEntity.create().withErrandNumber("123").withAttachments(List.of(attachment));
+
+		communicationService.saveCommunication(communicationEntity);
+
+		final var inOrder = inOrder(attachmentDataServiceMock, communicationRepositoryMock);
+		inOrder.verify(attachmentDataServiceMock).deduplicate(attachment);
+		inOrder.verify(communicationRepositoryMock).saveAndFlush(communicationEntity);
+	}
+
+	@Test
+	void saveCommunications() {
+		final var communicationEntities = List.of(CommunicationEntity.create().withErrandNumber("123"), CommunicationEntity.create().withErrandNumber("456"));
+
+		communicationService.saveCommunications(communicationEntities);
+
+		verify(communicationRepositoryMock).saveAllAndFlush(communicationEntities);
+		verifyNoMoreInteractions(communicationRepositoryMock);
+		verifyNoInteractions(attachmentDataServiceMock);
+		verifyNoInteractions(accessControlServiceMock, communicationAttachmentRepositoryMock, messagingClientMock, communicationMapperMock);
+	}
+
 	@ParameterizedTest
 	@MethodSource("saveAttachmentArguments")
 	void saveAttachment(final CommunicationType type, final String expectedChannel) {
@@ -919,18 +948,37 @@ class CommunicationServiceTest {
 			Arguments.of("Identifier with ad account type and same value as provided stakeholders ad account", "abc123; type=adAccount", stakeholder, false));
 	}
 
+	@Test
+	void deleteAllCommunicationsByErrandNumberReleasesSharedContentOncePerAttachment() {
+		final var sharedData = AttachmentDataEntity.create().withId(1);
+		final var communications = List.of(
+			CommunicationEntity.create().withAttachments(List.of(CommunicationAttachmentEntity.create().withAttachmentData(sharedData))),
+			CommunicationEntity.create().withAttachments(List.of(CommunicationAttachmentEntity.create().withAttachmentData(sharedData))));
+		when(communicationRepositoryMock.findByErrandNumber("KC-23090001")).thenReturn(communications);
+
+		communicationService.deleteAllCommunicationsByErrandNumber("KC-23090001");
+
+		// Every deleted attachment held a reference of its own
+		verify(communicationRepositoryMock).deleteAll(communications);
+		verify(attachmentDataServiceMock, times(2)).release(sharedData);
+	}
+
 	@Test
 	void deleteAllCommunicationsByErrandNumber() {
 		// Arrange
 		final var errandNumber = "KC-23090001";
 		when(communicationRepositoryMock.findByErrandNumber(errandNumber)).thenReturn(List.of(communicationEntityMock));
+		when(communicationEntityMock.getAttachments()).thenReturn(List.of(communicationAttachmentEntityMock));
+		when(communicationAttachmentEntityMock.getAttachmentData()).thenReturn(attachmentDataEntityMock);
 
 		// Act
 		communicationService.deleteAllCommunicationsByErrandNumber(errandNumber);
 
 		// Assert
-		verify(communicationRepositoryMock).findByErrandNumber(errandNumber);
-		verify(communicationRepositoryMock).deleteAll(List.of(communicationEntityMock));
+		final var inOrder = inOrder(communicationRepositoryMock, attachmentDataServiceMock);
+		inOrder.verify(communicationRepositoryMock).findByErrandNumber(errandNumber);
+		inOrder.verify(communicationRepositoryMock).deleteAll(List.of(communicationEntityMock));
+		inOrder.verify(attachmentDataServiceMock).release(attachmentDataEntityMock);
 		verifyNoMoreInteractions(communicationRepositoryMock);
 		verifyNoInteractions(accessControlServiceMock, communicationAttachmentRepositoryMock, messagingClientMock, communicationMapperMock);
 	}
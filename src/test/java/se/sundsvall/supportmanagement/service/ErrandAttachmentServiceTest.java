@@ -1,6 +1,5 @@
 package se.sundsvall.supportmanagement.service;
 
-import jakarta.persistence.EntityManager;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.ByteArrayInputStream;
@@ -46,6 +45,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -97,6 +97,9 @@ class ErrandAttachmentServiceTest {
 	@Mock
 	private EventService eventServiceMock;
 
+	@Mock
+	private AttachmentDataService attachmentDataServiceMock;
+
 	@Mock
 	private MultipartFile multipartFileMock;
 
@@ -109,9 +112,6 @@ class ErrandAttachmentServiceTest {
 	@Mock
 	private Blob blobMock;
 
-	@Mock
-	private EntityManager entityManagerMock;
-
 	@Mock
 	private HttpServletResponse httpServletResponseMock;
 
@@ -122,15 +122,13 @@ class ErrandAttachmentServiceTest {
 	private ErrandAttachmentService service;
 
 	@Test
-	void createErrandAttachment() throws SQLException {
+	void createErrandAttachment() {
 		// Mock
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(errandMock);
 		when(revisionServiceMock.createErrandRevision(errandMock)).thenReturn(new RevisionResult(previousRevisionMock, currentRevisionMock));
 		when(attachmentRepositoryMock.saveAndFlush(any())).thenReturn(attachmentMock);
 		when(attachmentMock.getId()).thenReturn(ATTACHMENT_ID);
-		when(attachmentMock.getAttachmentData()).thenReturn(attachmentDataEntityMock);
-		when(attachmentDataEntityMock.getFile()).thenReturn(blobMock);
-		when(blobMock.getBinaryStream()).thenReturn(new ByteArrayInputStream("test".getBytes()));
+		when(attachmentMock.getHash()).thenReturn("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
 
 		// Call
 		try (final MockedStatic<ErrandAttachmentMapper> mapper = Mockito.mockStatic(ErrandAttachmentMapper.class)) {
@@ -144,8 +142,9 @@ class ErrandAttachmentServiceTest {
 			mapper.verify(() -> ErrandAttachmentMapper.toAttachmentEntity(same(errandMock), same(multipartFileMock), nullable(String.class)));
 			verify(accessControlServiceMock).getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, true, RW);
 			verify(attachmentRepositoryMock).saveAndFlush(attachmentMock);
-			verify(entityManagerMock).refresh(attachmentMock);
-			verify(attachmentMock).setHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+			verify(attachmentMock, never()).setHash(any());
+			verify(attachmentDataServiceMock).deduplicate(attachmentMock);
+			verifyNoInteractions(blobMock);
 			verify(revisionServiceMock).createErrandRevision(errandMock);
 			verify(eventServiceMock).createErrandEvent(UPDATE, EVENT_LOG_ADD_ATTACHMENT, errandMock, currentRevisionMock, previousRevisionMock, ATTACHMENT);
 		}
@@ -229,6 +228,7 @@ class ErrandAttachmentServiceTest {
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(errandMock);
 		when(errandMock.getAttachments()).thenReturn(new ArrayList<>(List.of(attachmentMock)));
 		when(attachmentMock.getId()).thenReturn(ATTACHMENT_ID);
+		when(attachmentMock.getAttachmentData()).thenReturn(attachmentDataEntityMock);
 		when(errandsRepositoryMock.save(any(ErrandEntity.class))).thenReturn(errandMock);
 		when(revisionServiceMock.createErrandRevision(errandMock)).thenReturn(new RevisionResult(previousRevisionMock, currentRevisionMock));
 
@@ -239,12 +239,38 @@ class ErrandAttachmentServiceTest {
 		assertThat(errandMock.getAttachments()).isEmpty();
 
 		verify(accessControlServiceMock).getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, true, RW);
-		verify(errandsRepositoryMock).save(any(ErrandEntity.class));
+		final var inOrder = inOrder(errandsRepositoryMock, attachmentDataServiceMock);
+		inOrder.verify(errandsRepositoryMock).save(any(ErrandEntity.class));
+		inOrder.verify(attachmentDataServiceMock).release(attachmentDataEntityMock);
 		verify(revisionServiceMock).createErrandRevision(errandMock);
 
 		verify(eventServiceMock).createErrandEvent(UPDATE, EVENT_LOG_REMOVE_ATTACHMENT, errandMock, currentRevisionMock, previousRevisionMock, ATTACHMENT);
 	}
 
+	@Test
+	void deleteErrandAttachments() {
+		final var attachments = new ArrayList<>(List.of(attachmentMock));
+		when(errandMock.getAttachments()).thenReturn(attachments);
+		when(attachmentMock.getAttachmentData()).thenReturn(attachmentDataEntityMock);
+
+		service.deleteErrandAttachments(errandMock);
+
+		assertThat(attachments).isEmpty();
+		final var inOrder = inOrder(attachmentRepositoryMock, attachmentDataServiceMock);
+		inOrder.verify(attachmentRepositoryMock).deleteAll(List.of(attachmentMock));
+		inOrder.verify(attachmentDataServiceMock).release(attachmentDataEntityMock);
+		verifyNoInteractions(revisionServiceMock, eventServiceMock);
+	}
+
+	@Test
+	void deleteErrandAttachmentsWithoutAttachments() {
+		when(errandMock.getAttachments()).thenReturn(null);
+
+		service.deleteErrandAttachments(errandMock);
+
+		verifyNoInteractions(attachmentRepositoryMock, attachmentDataServiceMock);
+	}
+
 	@Test
 	void deleteErrandAttachmentAttachmentIdNotFound() {
 
@@ -306,9 +332,11 @@ class ErrandAttachmentServiceTest {
 		service.createErrandAttachment(attachmentMock, errandMock);
 
 		// Assertions and verifications
-		verify(attachmentRepositoryMock).saveAndFlush(attachmentMock);
-		verify(entityManagerMock).refresh(attachmentMock);
-		verify(attachmentMock).setHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+		final var inOrder = inOrder(attachmentMock, attachmentDataServiceMock, attachmentRepositoryMock);
+		inOrder.verify(attachmentMock).setHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+		inOrder.verify(attachmentDataServiceMock).acquire(attachmentDataEntityMock);
+		inOrder.verify(attachmentRepositoryMock).saveAndFlush(attachmentMock);
+		inOrder.verify(attachmentDataServiceMock).deduplicate(attachmentMock);
 		verify(revisionServiceMock).createErrandRevision(errandMock);
 		verify(eventServiceMock).createErrandEvent(UPDATE, EVENT_LOG_ADD_ATTACHMENT, errandMock, currentRevisionMock, previousRevisionMock, ATTACHMENT);
 		verifyNoInteractions(errandsRepositoryMock);
@@ -0,0 +1,139 @@
+package se.sundsvall.supportmanagement.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.dept44.support.Identifier;
+import se.sundsvall.supportmanagement.api.model.errand.Errand;
+import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ContactChannelEntity;
+import se.sundsvall.supportmanagement.integration.db.model.DbExternalTag;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigEntity;
+import se.sundsvall.supportmanagement.integration.db.model.StakeholderEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that exporting errands issues a number of statements that grows with the number of chunks rather than with
+ * the number of errands, i.e. that the collections of a chunk are batch fetched once it has been read and are not lazy
+ * loaded one errand at a time.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+@Transactional
+class ErrandExportServiceStatementCountTest {
+
+	private static final String NAMESPACE = "STATEMENT_COUNT";
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final int ERRAND_COUNT = 30;
+	private static final int CHUNK_SIZE = 10;
+
+	@Autowired
+	private ErrandExportService errandExportService;
+
+	@Autowired
+	private ErrandsRepository errandsRepository;
+
+	@Autowired
+	private NamespaceConfigRepository namespaceConfigRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Identifier.set(Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user"));
+
+		namespaceConfigRepository.save(NamespaceConfigEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID));
+
+		IntStream.range(0, ERRAND_COUNT).forEach(i -> {
+			final var errand = ErrandEntity.create()
+				.withNamespace(NAMESPACE)
+				.withMunicipalityId(MUNICIPALITY_ID)
+				.withErrandNumber("KC-" + i)
+				.withTitle("title-" + i)
+				.withStatus("NEW")
+				.withPriority("HIGH")
+				.withExternalTags(new ArrayList<>(List.of(DbExternalTag.create().withKey("key").withValue("value-" + i))));
+
+			errand.setStakeholders(new ArrayList<>(List.of(StakeholderEntity.create()
+				.withErrandEntity(errand)
+				.withExternalId("externalId-" + i)
+				.withRole("ROLE")
+				.withContactChannels(new ArrayList<>(List.of(ContactChannelEntity.create().withType("EMAIL").withValue("mail@example.com")))))));
+
+			errandsRepository.save(errand);
+		});
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@AfterEach
+	void teardown() {
+		Identifier.remove();
+	}
+
+	@Test
+	void statementCountGrowsWithChunksAndNotWithErrands() {
+		final var oneChunkStatements = countStatementsForExport(ERRAND_COUNT);
+		final var threeChunkStatements = countStatementsForExport(CHUNK_SIZE);
+
+		// A lazy load per errand would cost at least one statement per exported errand
+		assertThat(threeChunkStatements)
+			.isLessThan(ERRAND_COUNT)
+			.isLessThanOrEqualTo(3 * oneChunkStatements);
+	}
+
+	private long countStatementsForExport(final int chunkSize) {
+		ReflectionTestUtils.setField(errandExportService, "chunkSize", chunkSize);
+		final var response = new MockHttpServletResponse();
+		entityManager.clear();
+		statistics.clear();
+
+		errandExportService.exportErrands(NAMESPACE, MUNICIPALITY_ID, null, response);
+		final var statements = statistics.getPrepareStatementCount();
+
+		// Every errand is exported exactly once, along with its collections, when read in consecutive chunks
+		assertThat(new String(response.getContentAsByteArray()).split("\n"))
+			.extracting(line -> objectMapper.readValue(line, Errand.class))
+			.hasSize(ERRAND_COUNT)
+			.allSatisfy(errand -> {
+				assertThat(errand.getStakeholders()).hasSize(1);
+				assertThat(errand.getExternalTags()).hasSize(1);
+			})
+			.extracting(Errand::getId)
+			.doesNotHaveDuplicates();
+
+		return statements;
+	}
+}
@@ -0,0 +1,159 @@
+package se.sundsvall.supportmanagement.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+import se.sundsvall.dept44.support.Identifier;
+import se.sundsvall.supportmanagement.api.model.errand.Errand;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Answers.RETURNS_SELF;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+@ExtendWith(MockitoExtension.class)
+class ErrandExportServiceTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Mock
+	private EntityManager entityManagerMock;
+
+	@Mock
+	private AccessControlService accessControlServiceMock;
+
+	@Spy
+	private ObjectMapper objectMapper = JsonMapper.builder().build();
+
+	@Mock
+	private Session sessionMock;
+
+	@Mock
+	private CriteriaBuilder criteriaBuilderMock;
+
+	@Mock(answer = RETURNS_SELF)
+	private CriteriaQuery<ErrandEntity> criteriaQueryMock;
+
+	@Mock
+	private Root<ErrandEntity> rootMock;
+
+	@Mock(answer = RETURNS_SELF)
+	private SelectionQuery<ErrandEntity> selectionQueryMock;
+
+	@InjectMocks
+	private ErrandExportService service;
+
+	@BeforeEach
+	void setup() {
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+		Identifier.set(Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user"));
+
+		final Specification<ErrandEntity> accessControl = (_, _, criteriaBuilder) -> criteriaBuilder.conjunction();
+		when(accessControlServiceMock.withAccessControl(NAMESPACE, MUNICIPALITY_ID, Identifier.get())).thenReturn(accessControl);
+		when(accessControlServiceMock.limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, Identifier.get())).thenReturn(entity -> "limited".equals(entity.getId()));
+		when(entityManagerMock.getCriteriaBuilder()).thenReturn(criteriaBuilderMock);
+		when(criteriaBuilderMock.createQuery(ErrandEntity.class)).thenReturn(criteriaQueryMock);
+		when(criteriaQueryMock.from(ErrandEntity.class)).thenReturn(rootMock);
+		when(entityManagerMock.unwrap(Session.class)).thenReturn(sessionMock);
+		when(sessionMock.createSelectionQuery(criteriaQueryMock)).thenReturn(selectionQueryMock);
+	}
+
+	@AfterEach
+	void teardown() {
+		Identifier.remove();
+	}
+
+	@Test
+	void exportErrands() {
+		final var response = new MockHttpServletResponse();
+		when(selectionQueryMock.getResultList()).thenReturn(
+			List.of(ErrandEntity.create().withId("1").withCategory("category"), ErrandEntity.create().withId("2").withCategory("category")),
+			List.of(ErrandEntity.create().withId("limited").withCategory("category")));
+
+		service.exportErrands(NAMESPACE, MUNICIPALITY_ID, null, response);
+
+		assertThat(response.getContentType()).startsWith(APPLICATION_NDJSON_VALUE);
+		assertThat(response.getCharacterEncoding()).isEqualTo("UTF-8");
+		assertThat(response.getContentAsByteArray()).isNotEmpty();
+		assertThat(new String(response.getContentAsByteArray()).split("\n"))
+			.hasSize(3)
+			.extracting(line -> objectMapper.readValue(line, Errand.class))
+			.extracting(Errand::getId, Errand::getCategory)
+			.containsExactly(
+				tuple("1", "category"),
+				tuple("2", "category"),
+				tuple("limited", null));
+
+		// The last chunk is shorter than the chunk size, hence no further chunk is read
+		verify(selectionQueryMock, times(2)).setReadOnly(true);
+		verify(selectionQueryMock, times(2)).setCacheMode(CacheMode.IGNORE);
+		verify(selectionQueryMock, times(2)).setMaxResults(2);
+		verify(selectionQueryMock, times(2)).getResultList();
+		verify(sessionMock, times(2)).clear();
+		verifyNoMoreInteractions(selectionQueryMock);
+	}
+
+	@Test
+	void exportErrandsWithoutMatches() {
+		final var response = new MockHttpServletResponse();
+		when(selectionQueryMock.getResultList()).thenReturn(List.of());
+
+		service.exportErrands(NAMESPACE, MUNICIPALITY_ID, null, response);
+
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		verify(selectionQueryMock).getResultList();
+		verify(sessionMock, never()).clear();
+	}
+
+	@Test
+	void exportErrandsWhenWriteFails() throws IOException {
+		final var responseMock = mock(HttpServletResponse.class);
+		final var outputStreamMock = mock(ServletOutputStream.class);
+		when(responseMock.getOutputStream()).thenReturn(outputStreamMock);
+		doThrow(new IOException("Broken pipe")).when(outputStreamMock).write(any(byte[].class));
+		when(selectionQueryMock.getResultList()).thenReturn(List.of(ErrandEntity.create().withId("1")));
+
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> service.exportErrands(NAMESPACE, MUNICIPALITY_ID, null, responseMock))
+			.satisfies(problem -> {
+				assertThat(problem.getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+				assertThat(problem.getDetail()).isEqualTo("IOException occurred when exporting errands: Broken pipe");
+			});
+
+		verify(sessionMock, never()).clear();
+	}
+}
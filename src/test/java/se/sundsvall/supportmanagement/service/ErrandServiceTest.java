@@ -6,8 +6,8 @@ import generated.se.sundsvall.notes.FindNotesResponse;
 import generated.se.sundsvall.notes.Note;
 import generated.se.sundsvall.relation.Relation;
 import generated.se.sundsvall.relation.ResourceIdentifier;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,21 +29,28 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.dept44.support.Identifier;
-import se.sundsvall.supportmanagement.api.model.attachment.ErrandAttachment;
 import se.sundsvall.supportmanagement.api.model.config.action.enums.OperationType;
+import se.sundsvall.supportmanagement.api.model.errand.Errand;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandLabel;
+import se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey;
 import se.sundsvall.supportmanagement.api.model.errand.Priority;
+import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
 import se.sundsvall.supportmanagement.api.model.revision.Revision;
-import se.sundsvall.supportmanagement.integration.db.AttachmentRepository;
 import se.sundsvall.supportmanagement.integration.db.ContactReasonRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AccessLabelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.ContactReasonEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
 import se.sundsvall.supportmanagement.integration.db.util.ErrandNumberGeneratorService;
 import se.sundsvall.supportmanagement.integration.notes.NotesClient;
 import se.sundsvall.supportmanagement.integration.relation.RelationClient;
+import se.sundsvall.supportmanagement.service.model.MetadataSnapshot;
 import se.sundsvall.supportmanagement.service.model.RevisionResult;
+import se.sundsvall.supportmanagement.service.util.ErrandCursor;
 
 import static generated.se.sundsvall.eventlog.EventType.CREATE;
 import static generated.se.sundsvall.eventlog.EventType.DELETE;
@@ -58,12 +65,14 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 import static se.sundsvall.supportmanagement.TestObjectsBuilder.buildErrand;
 import static se.sundsvall.supportmanagement.TestObjectsBuilder.buildErrandEntity;
@@ -75,6 +84,9 @@ class ErrandServiceTest {
 	private static final String NAMESPACE = "namespace";
 	private static final String MUNICIPALITY_ID = "municipalityId";
 	private static final String ERRAND_ID = "errandId";
+	private static final String CONTACT_REASON_ID = "contactReasonId";
+	private static final MetadataSnapshot CONTACT_REASON_SNAPSHOT = MetadataSnapshot.of(1, List.of(), List.of(), List.of(),
+		List.of(ContactReason.create().withId(CONTACT_REASON_ID).withReason("REASON")), List.of(), List.of());
 	private static final String EVENT_LOG_CREATE_ERRAND = "Ärendet har skapats.";
 	private static final String EVENT_LOG_UPDATE_ERRAND = "Ärendet har uppdaterats.";
 	private static final String EVENT_LOG_DELETE_ERRAND = "Ärendet har raderats.";
@@ -114,9 +126,6 @@ class ErrandServiceTest {
 	@Mock
 	private ConversationService conversationServiceMock;
 
-	@Mock
-	private AttachmentRepository attachmentRepositoryMock;
-
 	@Mock
 	private AccessControlService accessControlServiceMock;
 
@@ -132,9 +141,15 @@ class ErrandServiceTest {
 	@Mock
 	private ErrandPhaseService errandPhaseServiceMock;
 
+	@Mock
+	private AccessSetService accessSetServiceMock;
+
 	@Mock
 	private jakarta.persistence.EntityManager entityManagerMock;
 
+	@Mock
+	private MetadataSnapshotService metadataSnapshotServiceMock;
+
 	@Spy
 	private FilterSpecificationConverter filterSpecificationConverterSpy;
 
@@ -151,7 +166,8 @@ class ErrandServiceTest {
 		when(errandRepositoryMock.save(any(ErrandEntity.class))).thenReturn(ErrandEntity.create().withId(ERRAND_ID));
 		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(null, currentRevisionMock));
 		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(Optional.ofNullable(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 
 		final var result = service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, null);
 
@@ -166,6 +182,46 @@ class ErrandServiceTest {
 		verifyNoInteractions(relationClientMock);
 	}
 
+	@Test
+	void createErrandWithUnknownContactReason() {
+		final var errand = buildErrand().withContactReason("unknown");
+
+		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
+		when(metadataSnapshotServiceMock.getSnapshot(NAMESPACE, MUNICIPALITY_ID)).thenReturn(CONTACT_REASON_SNAPSHOT);
+
+		assertThatException()
+			.isThrownBy(() -> service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, null))
+			.isInstanceOf(ThrowableProblem.class)
+			.withMessage("Bad Request: 'unknown' is not a valid contact reason for namespace 'namespace' and municipality with id 'municipalityId'");
+
+		verifyNoInteractions(contactReasonRepositoryMock, errandRepositoryMock);
+	}
+
+	@Test
+	void createErrandWithLabelsSetsAccessSetKey() {
+		final var errand = buildErrand().withLabels(List.of(ErrandLabel.create().withId("parent-id"), ErrandLabel.create().withId("child-id")));
+		final var accessSetKey = "access-set-key";
+
+		when(metadataLabelRepositoryMock.findAllById(any())).thenReturn(List.of(
+			MetadataLabelEntity.create().withId("parent-id").withResourcePath("parent"),
+			MetadataLabelEntity.create().withId("child-id").withResourcePath("parent/child")));
+		when(accessSetServiceMock.register(NAMESPACE, MUNICIPALITY_ID, List.of("child-id"))).thenReturn(accessSetKey);
+		when(errandRepositoryMock.save(any(ErrandEntity.class))).thenReturn(ErrandEntity.create().withId(ERRAND_ID));
+		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(null, currentRevisionMock));
+		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
+
+		service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, null);
+
+		final var entityCaptor = ArgumentCaptor.forClass(ErrandEntity.class);
+		verify(errandRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getAccessLabels()).extracting(AccessLabelEmbeddable::getMetadataLabelId).containsExactly("child-id");
+		assertThat(entityCaptor.getValue().getAccessSetKey()).isEqualTo(accessSetKey);
+		verify(accessSetServiceMock).register(NAMESPACE, MUNICIPALITY_ID, List.of("child-id"));
+		verify(metadataLabelRepositoryMock).findAllById(any());
+	}
+
 	@Test
 	void createErrandWithReferredFrom() {
 		final var errand = buildErrand();
@@ -191,8 +247,8 @@ class ErrandServiceTest {
 		when(errandRepositoryMock.save(any(ErrandEntity.class))).thenReturn(ErrandEntity.create().withId(ERRAND_ID));
 		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(null, currentRevisionMock));
 		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(any(), any(), any()))
-			.thenReturn(Optional.of(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 
 		final var result = service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, referredFrom);
 
@@ -217,7 +273,8 @@ class ErrandServiceTest {
 		when(errandRepositoryMock.save(any(ErrandEntity.class))).thenReturn(persistedEntity);
 		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(null, currentRevisionMock));
 		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(Optional.ofNullable(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 		doThrow(new RuntimeException("EventLog down")).when(eventServiceMock).createErrandEvent(any(), any(), any(), any(), any(), anyBoolean(), any());
 
 		final var result = service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, null);
@@ -239,7 +296,8 @@ class ErrandServiceTest {
 		when(errandRepositoryMock.save(any(ErrandEntity.class))).thenReturn(ErrandEntity.create().withId(ERRAND_ID));
 		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(null, currentRevisionMock));
 		when(stringGeneratorServiceMock.generateErrandNumber(any(String.class), any(String.class))).thenReturn("KC-23090001");
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId(any(), any(), any())).thenReturn(Optional.ofNullable(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(any(), any())).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 		doThrow(new RuntimeException("Relation service down")).when(relationClientMock).createRelation(any(), any());
 
 		final var result = service.createErrand(NAMESPACE, MUNICIPALITY_ID, errand, referredFrom);
@@ -265,7 +323,7 @@ class ErrandServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 
-		when(errandRepositoryMock.findAll(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable))).thenReturn(new PageImpl<>(List.of(buildErrandEntity(), buildErrandEntity()), pageable, 2L));
+		when(errandRepositoryMock.findSummaryPage(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable))).thenReturn(new PageImpl<>(List.of(buildErrandEntity(), buildErrandEntity()), pageable, 2L));
 		when(accessControlServiceMock.withAccessControl(any(), any(), any())).thenReturn(specification);
 		when(accessControlServiceMock.limitedMappingPredicateByLabel(any(), any(), any())).thenReturn(_ -> limited);
 
@@ -280,7 +338,7 @@ class ErrandServiceTest {
 
 		verify(accessControlServiceMock).withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
 		verify(accessControlServiceMock).limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, user);
-		verify(errandRepositoryMock).findAll(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable));
+		verify(errandRepositoryMock).findSummaryPage(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable));
 	}
 
 	@Test
@@ -292,7 +350,7 @@ class ErrandServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 
-		when(errandRepositoryMock.findAll(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable))).thenReturn(new PageImpl<>(emptyList()));
+		when(errandRepositoryMock.findSummaryPage(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable))).thenReturn(new PageImpl<>(emptyList()));
 		when(accessControlServiceMock.withAccessControl(any(), any(), any())).thenReturn(specification);
 
 		final var matches = service.findErrands(NAMESPACE, MUNICIPALITY_ID, filter, pageable);
@@ -305,7 +363,60 @@ class ErrandServiceTest {
 		assertThat(matches.getSort()).usingRecursiveComparison().isEqualTo(sort);
 
 		verify(accessControlServiceMock).withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
-		verify(errandRepositoryMock).findAll(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable));
+		verify(errandRepositoryMock).findSummaryPage(ArgumentMatchers.<Specification<ErrandEntity>>any(), eq(pageable));
+	}
+
+	@Test
+	void findErrandsByCursorWithMoreMatches() {
+		final Specification<ErrandEntity> filter = filterSpecificationConverterSpy.convert("id: 'uuid'");
+		final Specification<ErrandEntity> specification = (_, _, criteriaBuilder) -> criteriaBuilder.conjunction();
+		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
+		Identifier.set(user);
+		final var lastOnPage = buildErrandEntity().withId("lastOnPage");
+
+		doReturn(List.of(buildErrandEntity(), lastOnPage, buildErrandEntity())).when(errandRepositoryMock).findBy(ArgumentMatchers.<Specification<ErrandEntity>>any(), any());
+		when(accessControlServiceMock.withAccessControl(any(), any(), any())).thenReturn(specification);
+		when(accessControlServiceMock.limitedMappingPredicateByLabel(any(), any(), any())).thenReturn(_ -> false);
+
+		final var result = service.findErrandsByCursor(NAMESPACE, MUNICIPALITY_ID, filter, ErrandSortKey.CREATED, ASC, 2, null);
+
+		assertThat(result.getErrands()).hasSize(2).extracting(Errand::getId).containsExactly(ERRAND_ID, "lastOnPage");
+		assertThat(ErrandCursor.decode(result.getNextCursor())).isEqualTo(new ErrandCursor(ErrandSortKey.CREATED, ASC, lastOnPage.getCreated(), "lastOnPage"));
+
+		verify(accessControlServiceMock).withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
+		verify(accessControlServiceMock).limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, user);
+		verify(errandRepositoryMock).findBy(ArgumentMatchers.<Specification<ErrandEntity>>any(), any());
+		verify(errandRepositoryMock, never()).count(ArgumentMatchers.<Specification<ErrandEntity>>any());
+	}
+
+	@Test
+	void findErrandsByCursorOnLastPage() {
+		final Specification<ErrandEntity> specification = (_, _, criteriaBuilder) -> criteriaBuilder.conjunction();
+		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
+		Identifier.set(user);
+		final var cursor = new ErrandCursor(ErrandSortKey.TOUCHED, DESC, OffsetDateTime.now(), "previous").encode();
+
+		doReturn(List.of(buildErrandEntity())).when(errandRepositoryMock).findBy(ArgumentMatchers.<Specification<ErrandEntity>>any(), any());
+		when(accessControlServiceMock.withAccessControl(any(), any(), any())).thenReturn(specification);
+		when(accessControlServiceMock.limitedMappingPredicateByLabel(any(), any(), any())).thenReturn(_ -> false);
+
+		final var result = service.findErrandsByCursor(NAMESPACE, MUNICIPALITY_ID, null, ErrandSortKey.CREATED, ASC, 2, cursor);
+
+		assertThat(result.getErrands()).hasSize(1);
+		assertThat(result.getNextCursor()).isNull();
+
+		verify(accessControlServiceMock).withAccessControl(NAMESPACE, MUNICIPALITY_ID, user);
+		verify(errandRepositoryMock).findBy(ArgumentMatchers.<Specification<ErrandEntity>>any(), any());
+	}
+
+	@Test
+	void findErrandsByCursorWithInvalidCursor() {
+		assertThatException()
+			.isThrownBy(() -> service.findErrandsByCursor(NAMESPACE, MUNICIPALITY_ID, null, ErrandSortKey.CREATED, ASC, 2, "invalid!"))
+			.isInstanceOf(ThrowableProblem.class)
+			.withMessage("Bad Request: Invalid cursor");
+
+		verifyNoInteractions(errandRepositoryMock);
 	}
 
 	@ParameterizedTest
@@ -317,7 +428,7 @@ class ErrandServiceTest {
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 
-		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean())).thenReturn(entity);
+		when(accessControlServiceMock.getErrandWithStakeholders(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(entity);
 		when(accessControlServiceMock.limitedMappingPredicateByLabel(any(), any(), any())).thenReturn(_ -> limited);
 
 		final var response = service.readErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID);
@@ -325,7 +436,7 @@ class ErrandServiceTest {
 		assertThat(response.getId()).isEqualTo(ERRAND_ID);
 		assertThat(response.getPriority()).isEqualTo(limited ? null : Priority.HIGH);
 
-		verify(accessControlServiceMock).getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, false);
+		verify(accessControlServiceMock).getErrandWithStakeholders(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID);
 		verify(accessControlServiceMock).limitedMappingPredicateByLabel(NAMESPACE, MUNICIPALITY_ID, user);
 		verifyNoInteractions(errandRepositoryMock);
 	}
@@ -339,8 +450,8 @@ class ErrandServiceTest {
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(entity);
 		when(errandRepositoryMock.saveAndFlush(entity)).thenReturn(entity);
 		when(revisionServiceMock.createErrandRevision(any())).thenReturn(new RevisionResult(previousRevisionMock, currentRevisionMock));
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId("reason", NAMESPACE, MUNICIPALITY_ID))
-			.thenReturn(Optional.ofNullable(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(NAMESPACE, MUNICIPALITY_ID)).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 
 		final var response = service.updateErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, null, buildErrand());
 
@@ -365,8 +476,8 @@ class ErrandServiceTest {
 
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(entity);
 		when(errandRepositoryMock.saveAndFlush(entity)).thenReturn(entity);
-		when(contactReasonRepositoryMock.findByReasonIgnoreCaseAndNamespaceAndMunicipalityId("reason", NAMESPACE, MUNICIPALITY_ID))
-			.thenReturn(Optional.ofNullable(ContactReasonEntity.create().withReason("reason")));
+		when(metadataSnapshotServiceMock.getSnapshot(NAMESPACE, MUNICIPALITY_ID)).thenReturn(CONTACT_REASON_SNAPSHOT);
+		when(contactReasonRepositoryMock.getReferenceById(CONTACT_REASON_ID)).thenReturn(ContactReasonEntity.create().withId(CONTACT_REASON_ID).withReason("reason"));
 
 		final var response = service.updateErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, null, buildErrand());
 
@@ -385,13 +496,11 @@ class ErrandServiceTest {
 	@Test
 	void deleteExistingErrand() {
 		final var entity = buildErrandEntity();
-		final var errandAttachment = ErrandAttachment.create().withId("id");
 		final var user = Identifier.create().withType(Identifier.Type.AD_ACCOUNT).withValue("user");
 		Identifier.set(user);
 
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(entity);
 		when(revisionServiceMock.getLatestErrandRevision(any())).thenReturn(currentRevisionMock);
-		when(errandAttachmentServiceMock.readErrandAttachments(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(List.of(errandAttachment));
 		when(notesClientMock.findNotes(MUNICIPALITY_ID, null, null, ERRAND_ID, null, null, 1, 1000))
 			.thenReturn(new FindNotesResponse().notes(List.of(new Note().id("id"))));
 
@@ -403,8 +512,7 @@ class ErrandServiceTest {
 		verify(notesClientMock).deleteNoteById(MUNICIPALITY_ID, "id");
 		verify(errandRepositoryMock).deleteById(ERRAND_ID);
 		verify(communicationServiceMock).deleteAllCommunicationsByErrandNumber(entity.getErrandNumber());
-		verify(errandAttachmentServiceMock).readErrandAttachments(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID);
-		verify(attachmentRepositoryMock).deleteById(errandAttachment.getId());
+		verify(errandAttachmentServiceMock).deleteErrandAttachments(same(entity));
 		verify(revisionServiceMock).getLatestErrandRevision(same(entity));
 		verify(eventServiceMock).createErrandEvent(DELETE, EVENT_LOG_DELETE_ERRAND, entity, currentRevisionMock, null, false, ERRAND);
 	}
@@ -418,7 +526,6 @@ class ErrandServiceTest {
 
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(entity);
 		when(revisionServiceMock.getLatestErrandRevision(any())).thenReturn(currentRevisionMock);
-		when(errandAttachmentServiceMock.readErrandAttachments(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(emptyList());
 		when(notesClientMock.findNotes(MUNICIPALITY_ID, null, null, ERRAND_ID, null, null, 1, 1000))
 			.thenThrow(new RuntimeException("Notes service down"));
 
@@ -437,7 +544,6 @@ class ErrandServiceTest {
 
 		when(accessControlServiceMock.getErrand(any(), any(), any(), anyBoolean(), any())).thenReturn(entity);
 		when(revisionServiceMock.getLatestErrandRevision(any())).thenReturn(currentRevisionMock);
-		when(errandAttachmentServiceMock.readErrandAttachments(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(emptyList());
 		when(notesClientMock.findNotes(MUNICIPALITY_ID, null, null, ERRAND_ID, null, null, 1, 1000))
 			.thenReturn(new FindNotesResponse().notes(emptyList()));
 		doThrow(new RuntimeException("Conversation service down")).when(conversationServiceMock).deleteByErrandId(any());
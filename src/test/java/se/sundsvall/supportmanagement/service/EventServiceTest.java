@@ -5,6 +5,7 @@ import generated.se.sundsvall.eventlog.EventType;
 import generated.se.sundsvall.eventlog.Metadata;
 import generated.se.sundsvall.eventlog.PageEvent;
 import generated.se.sundsvall.notes.Note;
+import java.net.URI;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
 import se.sundsvall.supportmanagement.api.model.notification.Notification;
@@ -24,6 +26,7 @@ import se.sundsvall.supportmanagement.api.model.revision.Revision;
 import se.sundsvall.supportmanagement.integration.db.NotificationDispatchRepository;
 import se.sundsvall.supportmanagement.integration.db.model.DbExternalTag;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
 import se.sundsvall.supportmanagement.integration.db.model.StakeholderEntity;
 import se.sundsvall.supportmanagement.integration.eventlog.EventlogClient;
 
@@ -36,9 +39,12 @@ import static org.assertj.core.api.Assertions.within;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.dept44.support.Identifier.Type.AD_ACCOUNT;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.ERRAND;
@@ -58,6 +64,9 @@ class EventServiceTest {
 	@Mock
 	private NotificationDispatchRepository notificationDispatchRepositoryMock;
 
+	@Mock
+	private EventlogOutboxService eventlogOutboxServiceMock;
+
 	@Mock
 	private PageEvent pageEventMock;
 
@@ -73,10 +82,85 @@ class EventServiceTest {
 	@Captor
 	private ArgumentCaptor<Notification> notificationCaptor;
 
+	@Captor
+	private ArgumentCaptor<NotificationDispatchEntity> dispatchCaptor;
+
 	@BeforeEach
 	void beforeEach() {
 		Identifier.set(Identifier.create().withType(AD_ACCOUNT).withValue("executingUserId"));
 		lenient().when(eventLogClientMock.createEvent(any(), any(), any())).thenReturn(ResponseEntity.ok().build());
+		ReflectionTestUtils.setField(service, "outboxEnabled", false);
+	}
+
+	@Test
+	void createErrandEventWithOutboxEnabled() {
+		// Setup
+		ReflectionTestUtils.setField(service, "outboxEnabled", true);
+		final var municipalityId = "2281";
+		final var errandId = randomUUID().toString();
+		final var entity = ErrandEntity.create().withMunicipalityId(municipalityId).withId(errandId).withNamespace("namespace");
+		final var dispatchEntry = NotificationDispatchEntity.create().withId(randomUUID().toString());
+		when(notificationDispatchRepositoryMock.save(any())).thenReturn(dispatchEntry);
+
+		// Call
+		service.createErrandEvent(EventType.UPDATE, "message", entity, null, null, ERRAND);
+
+		// Verifications and assertions
+		verify(notificationDispatchRepositoryMock).save(dispatchCaptor.capture());
+		assertThat(dispatchCaptor.getValue().getEventId()).isNull();
+		verify(eventlogOutboxServiceMock).enqueue(eq(municipalityId), eq(errandId), eventCaptor.capture(), same(dispatchEntry));
+		assertThat(eventCaptor.getValue().getMessage()).isEqualTo("message");
+		verifyNoInteractions(eventLogClientMock);
+	}
+
+	@Test
+	void createErrandEventWithOutboxEnabledWithoutNotification() {
+		// Setup
+		ReflectionTestUtils.setField(service, "outboxEnabled", true);
+		final var municipalityId = "2281";
+		final var errandId = randomUUID().toString();
+		final var entity = ErrandEntity.create().withMunicipalityId(municipalityId).withId(errandId);
+
+		// Call
+		service.createErrandEvent(EventType.CREATE, "message", entity, null, null, false, ERRAND);
+
+		// Verifications and assertions
+		verify(eventlogOutboxServiceMock).enqueue(eq(municipalityId), eq(errandId), any(Event.class), isNull());
+		verifyNoInteractions(eventLogClientMock, notificationDispatchRepositoryMock);
+	}
+
+	@Test
+	void createErrandNoteEventWithOutboxEnabled() {
+		// Setup
+		ReflectionTestUtils.setField(service, "outboxEnabled", true);
+		final var municipalityId = "2281";
+		final var logKey = randomUUID().toString();
+		final var errandEntity = ErrandEntity.create().withMunicipalityId(municipalityId).withId(randomUUID().toString()).withNamespace("namespace");
+		final var dispatchEntry = NotificationDispatchEntity.create().withId(randomUUID().toString());
+		when(notificationDispatchRepositoryMock.save(any())).thenReturn(dispatchEntry);
+
+		// Call
+		service.createErrandNoteEvent(EventType.CREATE, "message", logKey, errandEntity, randomUUID().toString(), null, null);
+
+		// Verifications and assertions
+		verify(eventlogOutboxServiceMock).enqueue(eq(municipalityId), eq(logKey), any(Event.class), same(dispatchEntry));
+		verifyNoInteractions(eventLogClientMock);
+	}
+
+	@Test
+	void createErrandEventSetsEventIdWhenOutboxIsDisabled() {
+		// Setup
+		final var eventId = randomUUID().toString();
+		final var entity = ErrandEntity.create().withMunicipalityId("2281").withId(randomUUID().toString()).withNamespace("namespace");
+		when(eventLogClientMock.createEvent(any(), any(), any())).thenReturn(ResponseEntity.created(URI.create("https://eventlog/events/" + eventId)).build());
+
+		// Call
+		service.createErrandEvent(EventType.UPDATE, "message", entity, null, null, ERRAND);
+
+		// Verifications and assertions
+		verify(notificationDispatchRepositoryMock).save(dispatchCaptor.capture());
+		assertThat(dispatchCaptor.getValue().getEventId()).isEqualTo(eventId);
+		verifyNoInteractions(eventlogOutboxServiceMock);
 	}
 
 	@Test
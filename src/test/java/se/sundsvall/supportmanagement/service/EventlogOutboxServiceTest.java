@@ -0,0 +1,159 @@
+package se.sundsvall.supportmanagement.service;
+
+import generated.se.sundsvall.eventlog.Event;
+import generated.se.sundsvall.eventlog.EventType;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.EventlogOutboxRepository;
+import se.sundsvall.supportmanagement.integration.db.NotificationDispatchRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EventlogOutboxEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventlogOutboxServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String LOG_KEY = "log-key";
+	private static final String ENTRY_ID = "entry-id";
+	private static final String DISPATCH_ID = "dispatch-id";
+	private static final String EVENT_ID = "event-id";
+
+	@Mock
+	private EventlogOutboxRepository eventlogOutboxRepositoryMock;
+
+	@Mock
+	private NotificationDispatchRepository notificationDispatchRepositoryMock;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private EventlogOutboxService service;
+
+	@Captor
+	private ArgumentCaptor<EventlogOutboxEntity> entityCaptor;
+
+	@Captor
+	private ArgumentCaptor<Pageable> pageableCaptor;
+
+	@Test
+	void enqueue() {
+		final var event = new Event().type(EventType.UPDATE).message("message").owner("SupportManagement");
+		final var dispatch = NotificationDispatchEntity.create().withId(DISPATCH_ID);
+
+		service.enqueue(MUNICIPALITY_ID, LOG_KEY, event, dispatch);
+
+		verify(eventlogOutboxRepositoryMock).save(entityCaptor.capture());
+		final var entry = entityCaptor.getValue();
+		assertThat(entry.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+		assertThat(entry.getLogKey()).isEqualTo(LOG_KEY);
+		assertThat(entry.getNotificationDispatchId()).isEqualTo(DISPATCH_ID);
+		assertThat(entry.getAttempts()).isZero();
+		assertThat(service.toEvent(entry)).isEqualTo(event);
+		verifyNoInteractions(notificationDispatchRepositoryMock);
+	}
+
+	@Test
+	void enqueueWithoutDispatchEntry() {
+		service.enqueue(MUNICIPALITY_ID, LOG_KEY, new Event().message("message"), null);
+
+		verify(eventlogOutboxRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getNotificationDispatchId()).isNull();
+	}
+
+	@Test
+	void findDue() {
+		final var entries = List.of(EventlogOutboxEntity.create());
+		when(eventlogOutboxRepositoryMock.findByNextAttemptLessThanEqualOrderByCreated(any(), any())).thenReturn(entries);
+
+		assertThat(service.findDue(25)).isSameAs(entries);
+
+		verify(eventlogOutboxRepositoryMock).findByNextAttemptLessThanEqualOrderByCreated(any(), pageableCaptor.capture());
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(25);
+	}
+
+	@Test
+	void markPublished() {
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID).withNotificationDispatchId(DISPATCH_ID);
+
+		service.markPublished(entry, EVENT_ID);
+
+		verify(eventlogOutboxRepositoryMock).deleteById(ENTRY_ID);
+		verify(notificationDispatchRepositoryMock).updateEventId(DISPATCH_ID, EVENT_ID);
+		verifyNoMoreInteractions(eventlogOutboxRepositoryMock, notificationDispatchRepositoryMock);
+	}
+
+	@Test
+	void markPublishedWithoutDispatchEntry() {
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID);
+
+		service.markPublished(entry, EVENT_ID);
+
+		verify(eventlogOutboxRepositoryMock).deleteById(ENTRY_ID);
+		verifyNoInteractions(notificationDispatchRepositoryMock);
+	}
+
+	@Test
+	void markPublishedWithoutEventId() {
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID).withNotificationDispatchId(DISPATCH_ID);
+
+		service.markPublished(entry, null);
+
+		verify(eventlogOutboxRepositoryMock).deleteById(ENTRY_ID);
+		verifyNoInteractions(notificationDispatchRepositoryMock);
+	}
+
+	@Test
+	void markFailedSchedulesRetryWithBackoff() {
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID).withAttempts(2);
+
+		service.markFailed(entry);
+
+		verify(eventlogOutboxRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getAttempts()).isEqualTo(3);
+		// Third attempt failed: 30 seconds doubled twice
+		assertThat(entityCaptor.getValue().getNextAttempt()).isCloseTo(now().plusMinutes(2), within(2, SECONDS));
+	}
+
+	@Test
+	void markFailedCapsBackoff() {
+		ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMinutes(5));
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID).withAttempts(8);
+
+		service.markFailed(entry);
+
+		verify(eventlogOutboxRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getNextAttempt()).isCloseTo(now().plusMinutes(5), within(2, SECONDS));
+	}
+
+	@Test
+	void markFailedGivesUpAfterMaxAttempts() {
+		final var entry = EventlogOutboxEntity.create().withId(ENTRY_ID).withLogKey(LOG_KEY).withAttempts(9);
+
+		service.markFailed(entry);
+
+		verify(eventlogOutboxRepositoryMock).deleteById(ENTRY_ID);
+		verifyNoMoreInteractions(eventlogOutboxRepositoryMock);
+	}
+}
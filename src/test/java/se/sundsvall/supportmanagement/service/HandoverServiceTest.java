@@ -54,6 +54,7 @@ import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -92,6 +93,9 @@ class HandoverServiceTest {
 	@Mock
 	private AttachmentRepository attachmentRepositoryMock;
 
+	@Mock
+	private AttachmentDataService attachmentDataServiceMock;
+
 	@Mock
 	private RevisionService revisionServiceMock;
 
@@ -527,9 +531,49 @@ class HandoverServiceTest {
 			assertThat(captor.getValue().getNamespace()).isEqualTo(TARGET_NAMESPACE);
 			assertThat(captor.getValue().getMunicipalityId()).isEqualTo(TARGET_MUNICIPALITY_ID);
 			assertThat(captor.getValue().getAttachmentData().getFile()).isEqualTo(newBlobMock);
+			verify(attachmentDataServiceMock).deduplicate(captor.getValue());
+			verify(attachmentDataServiceMock, never()).acquire(any());
 		}
 	}
 
+	@Test
+	void handoverWithIncludeAttachmentsWithinMunicipalitySharesAttachmentData() {
+		final var blobMock = mock(Blob.class);
+		final var sourceData = AttachmentDataEntity.create().withId(1).withFile(blobMock);
+		final var sourceAttachment = AttachmentEntity.create()
+			.withFileName("document.pdf")
+			.withMimeType("application/pdf")
+			.withMunicipalityId(TARGET_MUNICIPALITY_ID)
+			.withFileSize(1024)
+			.withHash("hash")
+			.withAttachmentData(sourceData);
+		final var freshSource = sourceEntity().withAttachments(new ArrayList<>(List.of(sourceAttachment)));
+		final var target = targetEntity();
+
+		when(idempotencyRepositoryMock.findBySourceErrandIdAndTargetNamespaceAndTargetMunicipalityId(ERRAND_ID, TARGET_NAMESPACE, TARGET_MUNICIPALITY_ID)).thenReturn(Optional.empty());
+		when(idempotencyRepositoryMock.save(any(HandoverIdempotencyEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(accessControlServiceMock.getErrand(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, false)).thenReturn(sourceEntity());
+		when(errandsRepositoryMock.findByIdAndNamespaceAndMunicipalityId(ERRAND_ID, NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.of(freshSource));
+		mockValidations();
+		when(errandServiceMock.createErrand(eq(TARGET_NAMESPACE), eq(TARGET_MUNICIPALITY_ID), any(), isNull())).thenReturn(NEW_ERRAND_ID);
+		when(errandsRepositoryMock.findById(NEW_ERRAND_ID)).thenReturn(Optional.of(target));
+		when(relationClientMock.createRelation(eq(TARGET_MUNICIPALITY_ID), any()))
+			.thenReturn(ResponseEntity.created(URI.create("/2282/relations/" + RELATION_ID)).build());
+		when(revisionServiceMock.getLatestErrandRevision(any())).thenReturn(Revision.create());
+		when(attachmentRepositoryMock.saveAndFlush(any(AttachmentEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+		service.handover(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, minimalRequest().withInclude(HandoverInclude.create().withAttachments(true)));
+
+		final var captor = ArgumentCaptor.forClass(AttachmentEntity.class);
+		verify(attachmentRepositoryMock).saveAndFlush(captor.capture());
+		assertThat(captor.getValue().getAttachmentData()).isSameAs(sourceData);
+		assertThat(captor.getValue().getHash()).isEqualTo("hash");
+		assertThat(captor.getValue().getMunicipalityId()).isEqualTo(TARGET_MUNICIPALITY_ID);
+		verify(attachmentDataServiceMock).acquire(sourceData);
+		verify(attachmentDataServiceMock, never()).deduplicate(any());
+		verifyNoInteractions(blobMock);
+	}
+
 	@Test
 	void handoverWithIncludeAttachmentsBlobStreamFailureThrowsInternalServerError() throws Exception {
 		final var blobMock = mock(Blob.class);
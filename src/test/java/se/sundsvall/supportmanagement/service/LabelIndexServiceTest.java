@@ -0,0 +1,94 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.service.LabelIndexService.LABEL_INDEX_CACHE_NAME;
+
+@ContextConfiguration
+@ExtendWith(SpringExtension.class)
+class LabelIndexServiceTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private LabelIndexService labelIndexService;
+
+	@Autowired
+	private MetadataLabelRepository metadataLabelRepositoryMock;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Provides the service with a mocked repository and a cache manager
+	@EnableCaching
+	@Configuration
+	public static class CachingTestConfig {
+
+		@Bean
+		public MetadataLabelRepository metadataLabelRepository() {
+			return mock(MetadataLabelRepository.class);
+		}
+
+		@Bean
+		public LabelIndexService labelIndexService(final MetadataLabelRepository metadataLabelRepository) {
+			return new LabelIndexService(metadataLabelRepository);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(LABEL_INDEX_CACHE_NAME);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		// The context, and hence the cache, is shared between the tests
+		reset(metadataLabelRepositoryMock);
+		cacheManager.getCache(LABEL_INDEX_CACHE_NAME).clear();
+	}
+
+	@Test
+	void getIndex() {
+		final var label = MetadataLabelEntity.create().withResourcePath("category/type");
+		when(metadataLabelRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(List.of(label));
+
+		final var index = labelIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(index.match(List.of("category/*"))).containsExactly(label);
+		verify(metadataLabelRepositoryMock).findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID);
+	}
+
+	@Test
+	void getIndexIsCachedPerNamespace() {
+		when(metadataLabelRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(List.of());
+		when(metadataLabelRepositoryMock.findByNamespaceAndMunicipalityId("otherNamespace", MUNICIPALITY_ID)).thenReturn(List.of());
+
+		final var index = labelIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(labelIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID)).isSameAs(index);
+		assertThat(labelIndexService.getIndex("otherNamespace", MUNICIPALITY_ID)).isNotSameAs(index);
+		verify(metadataLabelRepositoryMock).findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID);
+		verify(metadataLabelRepositoryMock).findByNamespaceAndMunicipalityId("otherNamespace", MUNICIPALITY_ID);
+		verifyNoMoreInteractions(metadataLabelRepositoryMock);
+	}
+}
@@ -34,6 +34,7 @@ import se.sundsvall.supportmanagement.integration.db.model.RoleEntity;
 import se.sundsvall.supportmanagement.integration.db.model.StatusEntity;
 import se.sundsvall.supportmanagement.integration.db.model.TypeEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ValidationEntity;
+import se.sundsvall.supportmanagement.service.util.LabelPathIndex;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -80,6 +81,12 @@ class MetadataServiceTest {
 	@Mock
 	private PhaseRepository phaseRepositoryMock;
 
+	@Mock
+	private CacheInvalidationService cacheInvalidationServiceMock;
+
+	@Mock
+	private LabelIndexService labelIndexServiceMock;
+
 	@InjectMocks
 	private MetadataService metadataService;
 
@@ -105,6 +112,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(statusRepositoryMock).existsByNamespaceAndMunicipalityIdAndName(namespace, municipalityId, name);
 		verify(statusRepositoryMock).save(any());
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, roleRepositoryMock);
 	}
 
@@ -226,6 +234,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(statusRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(statusRepositoryMock).deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, roleRepositoryMock);
 	}
 
@@ -280,6 +289,7 @@ class MetadataServiceTest {
 		verify(statusRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(statusRepositoryMock).getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(statusRepositoryMock).save(entity);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoMoreInteractions(statusRepositoryMock);
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, roleRepositoryMock);
 	}
@@ -328,6 +338,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(roleRepositoryMock).existsByNamespaceAndMunicipalityIdAndName(namespace, municipalityId, name);
 		verify(roleRepositoryMock).save(any());
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
 
@@ -449,6 +460,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(roleRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(roleRepositoryMock).deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
 
@@ -500,6 +512,7 @@ class MetadataServiceTest {
 		verify(roleRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(roleRepositoryMock).getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(roleRepositoryMock).save(entity);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoMoreInteractions(roleRepositoryMock);
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
@@ -548,6 +561,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(categoryRepositoryMock).existsByNamespaceAndMunicipalityIdAndName(namespace, municipalityId, name);
 		verify(categoryRepositoryMock).save(any());
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(statusRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, roleRepositoryMock, validationRepositoryMock);
 	}
 
@@ -635,6 +649,7 @@ class MetadataServiceTest {
 		// Verifications
 		verify(categoryRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(categoryRepositoryMock).deleteByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoInteractions(statusRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, roleRepositoryMock, validationRepositoryMock);
 	}
 
@@ -690,6 +705,7 @@ class MetadataServiceTest {
 		verify(categoryRepositoryMock).existsByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(categoryRepositoryMock).getByIdAndNamespaceAndMunicipalityId(id, namespace, municipalityId);
 		verify(categoryRepositoryMock).save(entity);
+		verify(cacheInvalidationServiceMock).publish("metadataSnapshotCache");
 		verifyNoMoreInteractions(categoryRepositoryMock);
 		verifyNoInteractions(statusRepositoryMock, externalIdTypeRepositoryMock, metadataLabelRepositoryMock, roleRepositoryMock, validationRepositoryMock);
 	}
@@ -1064,6 +1080,7 @@ class MetadataServiceTest {
 
 		// Verifications
 		verify(metadataLabelRepositoryMock).saveAll(any());
+		verify(cacheInvalidationServiceMock).invalidateLabels(namespace, municipalityId);
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
 
@@ -1087,6 +1104,7 @@ class MetadataServiceTest {
 		verify(metadataLabelRepositoryMock).findByNamespaceAndMunicipalityIdAndParentIsNull(namespace, municipalityId);
 		verify(metadataLabelRepositoryMock).flush();
 		verify(metadataLabelRepositoryMock).saveAll(any());
+		verify(cacheInvalidationServiceMock).invalidateLabels(namespace, municipalityId);
 		verifyNoInteractions(errandsRepositoryMock);
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
@@ -1295,6 +1313,7 @@ class MetadataServiceTest {
 		verify(metadataLabelRepositoryMock).deleteById("id-1");
 		verify(metadataLabelRepositoryMock).deleteById("id-2");
 		verify(metadataLabelRepositoryMock).deleteById("id-3");
+		verify(cacheInvalidationServiceMock).invalidateLabels(namespace, municipalityId);
 		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
 	}
 
@@ -1312,7 +1331,32 @@ class MetadataServiceTest {
 		assertThat(e.getMessage()).isEqualTo("Not Found: Labels are not present in namespace 'namespace' for municipalityId 'municipalityId'");
 		verify(metadataLabelRepositoryMock).existsByNamespaceAndMunicipalityId(namespace, municipalityId);
 		verifyNoMoreInteractions(metadataLabelRepositoryMock);
-		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
+		verifyNoInteractions(cacheInvalidationServiceMock, categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
+	}
+
+	@Test
+	void findLabelsByIds() {
+		// Setup
+		final var namespace = "namespace";
+		final var municipalityId = "municipalityId";
+		final var entity1 = MetadataLabelEntity.create().withId("id-1").withNamespace(namespace).withMunicipalityId(municipalityId);
+		final var entity2 = MetadataLabelEntity.create().withId("id-2").withNamespace("otherNamespace").withMunicipalityId(municipalityId);
+
+		when(metadataLabelRepositoryMock.findAllById(List.of("id-1", "id-2"))).thenReturn(List.of(entity1, entity2));
+
+		// Call
+		final var result = metadataService.findLabelsByIds(namespace, municipalityId, List.of("id-1", "id-2"));
+
+		// Verifications
+		assertThat(result).containsExactly(entity1);
+		verify(metadataLabelRepositoryMock).findAllById(List.of("id-1", "id-2"));
+		verifyNoMoreInteractions(metadataLabelRepositoryMock);
+	}
+
+	@Test
+	void findLabelsByIdsWithoutIds() {
+		assertThat(metadataService.findLabelsByIds("namespace", "municipalityId", List.of())).isEmpty();
+		verifyNoInteractions(metadataLabelRepositoryMock);
 	}
 
 	@Test
@@ -1328,17 +1372,21 @@ class MetadataServiceTest {
 		final var entity4 = MetadataLabelEntity.create().withResourcePath("path/some/resource/fileX");
 		final var dbResults = List.of(entity1, entity2, entity3, entity4);
 
-		when(metadataLabelRepositoryMock.findByNamespaceAndMunicipalityId(namespace, municipalityId))
-			.thenReturn(dbResults);
+		when(labelIndexServiceMock.getIndex(namespace, municipalityId)).thenReturn(LabelPathIndex.of(dbResults));
 
 		// Call
 		final var result = metadataService.patternToLabels(namespace, municipalityId, patterns);
 
 		// Verifications
 		assertThat(result).hasSize(3).containsExactlyInAnyOrder(entity1, entity2, entity3);
-		verify(metadataLabelRepositoryMock).findByNamespaceAndMunicipalityId(namespace, municipalityId);
-		verifyNoMoreInteractions(metadataLabelRepositoryMock);
-		verifyNoInteractions(categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
+		verify(labelIndexServiceMock).getIndex(namespace, municipalityId);
+		verifyNoInteractions(metadataLabelRepositoryMock, categoryRepositoryMock, externalIdTypeRepositoryMock, roleRepositoryMock, validationRepositoryMock, statusRepositoryMock);
+	}
+
+	@Test
+	void patternToLabelsWithoutPatterns() {
+		assertThat(metadataService.patternToLabels("namespace", "municipalityId", List.of())).isEmpty();
+		verifyNoInteractions(labelIndexServiceMock);
 	}
 
 	// =================================================================
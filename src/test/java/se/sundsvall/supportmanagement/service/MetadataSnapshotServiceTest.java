@@ -0,0 +1,181 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import se.sundsvall.supportmanagement.integration.db.CategoryRepository;
+import se.sundsvall.supportmanagement.integration.db.ContactReasonRepository;
+import se.sundsvall.supportmanagement.integration.db.MetadataLabelRepository;
+import se.sundsvall.supportmanagement.integration.db.RoleRepository;
+import se.sundsvall.supportmanagement.integration.db.StatusRepository;
+import se.sundsvall.supportmanagement.integration.db.ValidationRepository;
+import se.sundsvall.supportmanagement.integration.db.model.CategoryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.ContactReasonEntity;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+import se.sundsvall.supportmanagement.integration.db.model.RoleEntity;
+import se.sundsvall.supportmanagement.integration.db.model.StatusEntity;
+import se.sundsvall.supportmanagement.integration.db.model.TypeEntity;
+import se.sundsvall.supportmanagement.integration.db.model.ValidationEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.CATEGORY;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.ROLE;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.TYPE;
+import static se.sundsvall.supportmanagement.service.MetadataSnapshotService.METADATA_SNAPSHOT_CACHE_NAME;
+
+@ContextConfiguration
+@ExtendWith(SpringExtension.class)
+class MetadataSnapshotServiceTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private MetadataSnapshotService metadataSnapshotService;
+
+	@Autowired
+	private CategoryRepository categoryRepositoryMock;
+
+	@Autowired
+	private ContactReasonRepository contactReasonRepositoryMock;
+
+	@Autowired
+	private MetadataLabelRepository metadataLabelRepositoryMock;
+
+	@Autowired
+	private RoleRepository roleRepositoryMock;
+
+	@Autowired
+	private StatusRepository statusRepositoryMock;
+
+	@Autowired
+	private ValidationRepository validationRepositoryMock;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Provides the service with mocked repositories and a cache manager
+	@EnableCaching
+	@Configuration
+	public static class CachingTestConfig {
+
+		@Bean
+		public CategoryRepository categoryRepository() {
+			return mock(CategoryRepository.class);
+		}
+
+		@Bean
+		public ContactReasonRepository contactReasonRepository() {
+			return mock(ContactReasonRepository.class);
+		}
+
+		@Bean
+		public MetadataLabelRepository metadataLabelRepository() {
+			return mock(MetadataLabelRepository.class);
+		}
+
+		@Bean
+		public RoleRepository roleRepository() {
+			return mock(RoleRepository.class);
+		}
+
+		@Bean
+		public StatusRepository statusRepository() {
+			return mock(StatusRepository.class);
+		}
+
+		@Bean
+		public ValidationRepository validationRepository() {
+			return mock(ValidationRepository.class);
+		}
+
+		@Bean
+		public MetadataSnapshotService metadataSnapshotService(final CategoryRepository categoryRepository, final ContactReasonRepository contactReasonRepository,
+			final MetadataLabelRepository metadataLabelRepository, final RoleRepository roleRepository, final StatusRepository statusRepository,
+			final ValidationRepository validationRepository) {
+			return new MetadataSnapshotService(categoryRepository, contactReasonRepository, metadataLabelRepository, roleRepository, statusRepository, validationRepository);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(METADATA_SNAPSHOT_CACHE_NAME);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		// The context, and hence the cache, is shared between the tests
+		reset(categoryRepositoryMock, contactReasonRepositoryMock, metadataLabelRepositoryMock, roleRepositoryMock, statusRepositoryMock, validationRepositoryMock);
+		cacheManager.getCache(METADATA_SNAPSHOT_CACHE_NAME).clear();
+	}
+
+	@Test
+	void getSnapshot() {
+		final var sort = Sort.by("sortOrder");
+		when(statusRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID, sort)).thenReturn(List.of(StatusEntity.create().withName("NEW")));
+		when(categoryRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID, sort))
+			.thenReturn(List.of(CategoryEntity.create().withName("CATEGORY").withTypes(List.of(TypeEntity.create().withName("TYPE")))));
+		when(roleRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID, sort)).thenReturn(List.of(RoleEntity.create().withName("ROLE")));
+		when(contactReasonRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID, sort))
+			.thenReturn(List.of(ContactReasonEntity.create().withId("contactReasonId").withReason("Reason")));
+		when(validationRepositoryMock.findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(List.of(
+			ValidationEntity.create().withType(CATEGORY).withValidated(true),
+			ValidationEntity.create().withType(TYPE).withValidated(false)));
+		when(metadataLabelRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(List.of(MetadataLabelEntity.create().withId("labelId")));
+
+		final var snapshot = metadataSnapshotService.getSnapshot(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(snapshot.getStatuses().getValues()).containsExactly("NEW");
+		assertThat(snapshot.getCategories().getValues()).containsExactly("CATEGORY");
+		assertThat(snapshot.getTypes("CATEGORY").getValues()).containsExactly("TYPE");
+		assertThat(snapshot.getRoles().getValues()).containsExactly("ROLE");
+		assertThat(snapshot.findContactReasonId("reason")).hasValue("contactReasonId");
+		assertThat(snapshot.isValidated(CATEGORY)).isTrue();
+		assertThat(snapshot.isValidated(TYPE)).isFalse();
+		assertThat(snapshot.isValidated(ROLE)).isFalse();
+		assertThat(snapshot.hasLabel("labelId")).isTrue();
+	}
+
+	@Test
+	void getSnapshotIsCachedPerNamespace() {
+		final var snapshot = metadataSnapshotService.getSnapshot(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(metadataSnapshotService.getSnapshot(NAMESPACE, MUNICIPALITY_ID)).isSameAs(snapshot);
+
+		final var otherSnapshot = metadataSnapshotService.getSnapshot("otherNamespace", MUNICIPALITY_ID);
+
+		assertThat(otherSnapshot).isNotSameAs(snapshot);
+		assertThat(otherSnapshot.getVersion()).isGreaterThan(snapshot.getVersion());
+		verify(statusRepositoryMock, times(2)).findAllByNamespaceAndMunicipalityId(any(), any(), any(Sort.class));
+		verify(validationRepositoryMock, times(2)).findAllByNamespaceAndMunicipalityId(any(), any());
+	}
+
+	@Test
+	void getSnapshotIsRebuiltWhenEvicted() {
+		final var snapshot = metadataSnapshotService.getSnapshot(NAMESPACE, MUNICIPALITY_ID);
+
+		cacheManager.getCache(METADATA_SNAPSHOT_CACHE_NAME).clear();
+
+		final var rebuiltSnapshot = metadataSnapshotService.getSnapshot(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(rebuiltSnapshot).isNotSameAs(snapshot);
+		assertThat(rebuiltSnapshot.getVersion()).isGreaterThan(snapshot.getVersion());
+		verify(statusRepositoryMock, times(2)).findAllByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID, Sort.by("sortOrder"));
+	}
+}
@@ -0,0 +1,207 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.NotificationDeliveryRepository;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.NotificationChannelEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.INTERNAL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "NAMESPACE";
+	private static final String ERRAND_ID = "errand-id";
+	private static final String ERRAND_NUMBER = "KC-25010001";
+	private static final String PHONE_NUMBER = "+46701234567";
+	private static final String DIGEST_KEY = "digest-key";
+
+	@Mock
+	private NotificationDeliveryRepository repositoryMock;
+
+	@InjectMocks
+	private NotificationDeliveryService service;
+
+	@Captor
+	private ArgumentCaptor<List<NotificationDeliveryEntity>> entitiesCaptor;
+
+	@Captor
+	private ArgumentCaptor<Pageable> pageableCaptor;
+
+	@Test
+	void enqueue() {
+		final var subscriber = SubscriberEntity.create()
+			.withId("subscriber-id")
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withChannels(List.of(
+				NotificationChannelEmbeddable.create().withType(INTERNAL),
+				NotificationChannelEmbeddable.create().withType(SMS).withDestination(PHONE_NUMBER),
+				NotificationChannelEmbeddable.create().withType(EMAIL).withDestination("joe@example.com")));
+		final var events = List.of(NotificationDispatchEntity.create().withEventType("UPDATE").withDescription("Bilaga har skapats"));
+
+		service.enqueue(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, events)));
+
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue())
+			.extracting(NotificationDeliveryEntity::getChannelType, NotificationDeliveryEntity::getDestination)
+			.containsExactly(
+				tuple(SMS, PHONE_NUMBER),
+				tuple(EMAIL, "joe@example.com"));
+		assertThat(entitiesCaptor.getValue()).allSatisfy(entry -> {
+			assertThat(entry.getErrandId()).isEqualTo(ERRAND_ID);
+			assertThat(entry.getErrandNumber()).isEqualTo(ERRAND_NUMBER);
+			assertThat(entry.getContent()).isEqualTo("Bilaga har skapats");
+			assertThat(entry.getDigestKey()).isNull();
+			// Held back for the digest window
+			assertThat(entry.getNextAttempt()).isCloseTo(now().plusMinutes(5), within(2, SECONDS));
+		});
+	}
+
+	@Test
+	void findDue() {
+		final var entries = List.of(NotificationDeliveryEntity.create());
+		when(repositoryMock.findByNextAttemptLessThanEqualOrderByCreated(any(), any())).thenReturn(entries);
+
+		assertThat(service.findDue(25)).isSameAs(entries);
+
+		verify(repositoryMock).findByNextAttemptLessThanEqualOrderByCreated(any(), pageableCaptor.capture());
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(25);
+	}
+
+	@Test
+	void countBacklog() {
+		when(repositoryMock.countByChannelType(SMS)).thenReturn(42L);
+
+		assertThat(service.countBacklog(SMS)).isEqualTo(42);
+	}
+
+	@Test
+	void claimDigestCollectsEveryWaitingEntry() {
+		final var due = entry(null, now().minusMinutes(1));
+		final var notDue = entry(null, now().plusMinutes(4));
+		when(repositoryMock.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(due, notDue));
+		when(repositoryMock.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		final var digest = service.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER);
+
+		assertThat(digest).containsExactly(due, notDue);
+		assertThat(digest).extracting(NotificationDeliveryEntity::getDigestKey).doesNotContainNull().containsOnly(due.getDigestKey());
+	}
+
+	@Test
+	void claimDigestLeavesEntriesBeyondMaxForNextDigest() {
+		ReflectionTestUtils.setField(service, "maxDigestEntries", 2);
+		final var first = entry(null, now().minusMinutes(3));
+		final var second = entry(null, now().minusMinutes(2));
+		final var third = entry(null, now().minusMinutes(1));
+		when(repositoryMock.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(first, second, third));
+		when(repositoryMock.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		final var digest = service.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER);
+
+		assertThat(digest).containsExactly(first, second);
+		assertThat(digest).extracting(NotificationDeliveryEntity::getDigestKey).doesNotContainNull().containsOnly(first.getDigestKey());
+		assertThat(third.getDigestKey()).isNull();
+	}
+
+	@Test
+	void claimDigestRetriesFailedDigestAsItWas() {
+		final var failed = entry(DIGEST_KEY, now().minusMinutes(1));
+		final var queuedSince = entry(null, now().minusMinutes(1));
+		when(repositoryMock.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(failed, queuedSince));
+
+		assertThat(service.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).containsExactly(failed);
+		assertThat(queuedSince.getDigestKey()).isNull();
+		verifyNoMoreInteractions(repositoryMock);
+	}
+
+	@Test
+	void claimDigestHoldsBackEntriesUntilRetryIsDue() {
+		final var retryAt = now().plusMinutes(3);
+		final var failed = entry(DIGEST_KEY, retryAt);
+		final var queuedSince = entry(null, now().minusMinutes(1));
+		final var queuedLater = entry(null, now().plusMinutes(5));
+		when(repositoryMock.findByMunicipalityIdAndChannelTypeAndDestinationOrderByCreated(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(failed, queuedSince, queuedLater));
+
+		assertThat(service.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).isEmpty();
+
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue()).containsExactly(queuedSince);
+		assertThat(queuedSince.getNextAttempt()).isEqualTo(retryAt);
+	}
+
+	@Test
+	void markSent() {
+		service.markSent(DIGEST_KEY);
+
+		verify(repositoryMock).deleteByDigestKey(DIGEST_KEY);
+	}
+
+	@Test
+	void markFailedSchedulesRetryWithBackoff() {
+		final var digest = List.of(entry(DIGEST_KEY, now()).withAttempts(2), entry(DIGEST_KEY, now()).withAttempts(2));
+
+		service.markFailed(digest);
+
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue()).hasSize(2).allSatisfy(entry -> {
+			assertThat(entry.getAttempts()).isEqualTo(3);
+			// Third attempt failed: one minute doubled twice
+			assertThat(entry.getNextAttempt()).isCloseTo(now().plusMinutes(4), within(2, SECONDS));
+		});
+	}
+
+	@Test
+	void markFailedCapsBackoff() {
+		ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMinutes(5));
+
+		service.markFailed(List.of(entry(DIGEST_KEY, now()).withAttempts(8)));
+
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue().getFirst().getNextAttempt()).isCloseTo(now().plusMinutes(5), within(2, SECONDS));
+	}
+
+	@Test
+	void markFailedGivesUpAfterMaxAttempts() {
+		service.markFailed(List.of(entry(DIGEST_KEY, now()).withAttempts(9)));
+
+		verify(repositoryMock).deleteByDigestKey(DIGEST_KEY);
+		verifyNoMoreInteractions(repositoryMock);
+	}
+
+	private static NotificationDeliveryEntity entry(final String digestKey, final OffsetDateTime nextAttempt) {
+		return NotificationDeliveryEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withChannelType(SMS)
+			.withDestination(PHONE_NUMBER)
+			.withDigestKey(digestKey)
+			.withNextAttempt(nextAttempt);
+	}
+}
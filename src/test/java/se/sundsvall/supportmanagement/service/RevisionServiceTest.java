@@ -17,9 +17,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.supportmanagement.api.model.revision.Operation;
 import se.sundsvall.supportmanagement.api.model.revision.Revision;
+import se.sundsvall.supportmanagement.config.RevisionDeltaStorageProperties;
 import se.sundsvall.supportmanagement.integration.db.RevisionRepository;
 import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
 import se.sundsvall.supportmanagement.integration.db.model.AttachmentEntity;
@@ -37,12 +39,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.DELTA;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType.FULL;
 import static se.sundsvall.supportmanagement.service.mapper.RevisionMapper.toSerializedSnapshot;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,6 +68,9 @@ class RevisionServiceTest {
 	@Mock
 	private NotesClient notesClientMock;
 
+	@Spy
+	private RevisionDeltaStorageProperties deltaStoragePropertiesSpy = new RevisionDeltaStorageProperties(false, 10);
+
 	@InjectMocks
 	private RevisionService service;
 
@@ -208,6 +216,187 @@ class RevisionServiceTest {
 		verify(revisionRepositoryMock, never()).save(any());
 	}
 
+	@Test
+	void shouldNotCreateErrandRevisionWhenSnapshotHashIsUnchanged() {
+		// Setup
+		final var firstEntity = createErrandEntity();
+		final var secondEntity = createErrandEntity();
+
+		// Mock
+		when(revisionRepositoryMock.save(any(RevisionEntity.class))).thenReturn(RevisionEntity.create().withId("revisionId"));
+
+		// Call, creating revision 0 in order to capture its hash
+		service.createErrandRevision(firstEntity);
+		verify(revisionRepositoryMock).save(entityCaptor.capture());
+		final var firstRevision = entityCaptor.getValue();
+
+		assertThat(firstRevision.getSnapshotHash()).hasSize(64);
+
+		// The snapshot is unparsable, proving that an equal hash alone decides that nothing has changed
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID))
+			.thenReturn(Optional.of(firstRevision.withSerializedSnapshot("unparsable")));
+
+		// Call with an entity differing only in non compared attributes
+		final var response = service.createErrandRevision(secondEntity);
+
+		// Assertions and verifications
+		assertThat(response).isNull();
+		verify(revisionRepositoryMock).save(any());
+	}
+
+	@Test
+	void shouldCreateErrandRevisionWhenSnapshotHashDiffers() {
+		// Setup
+		final var entity = ErrandEntity.create().withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withId(ERRAND_ID);
+		final var version = 1;
+
+		// Mock, the snapshot is equal to the current entity but the hash is not and hence decides
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(Optional.of(RevisionEntity.create().withVersion(version)
+			.withSnapshotHash("otherHash")
+			.withSerializedSnapshot(toSerializedSnapshot(entity))));
+		when(revisionRepositoryMock.save(any(RevisionEntity.class))).thenReturn(RevisionEntity.create().withId("revisionId"));
+
+		// Call
+		service.createErrandRevision(entity);
+
+		// Assertions and verifications
+		verify(revisionRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getVersion()).isEqualTo(version + 1);
+		assertThat(entityCaptor.getValue().getSnapshotHash()).isNotEqualTo("otherHash").hasSize(64);
+	}
+
+	@Test
+	void shouldCreateErrandRevisionAsDeltaWhenDeltaStorageIsEnabled() {
+		// Setup
+		ReflectionTestUtils.setField(service, "deltaStorageProperties", new RevisionDeltaStorageProperties(true, 10));
+		final var entity = ErrandEntity.create().withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withId(ERRAND_ID).withTitle("newTitle");
+		final var version = 1;
+
+		// Mock
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(Optional.of(RevisionEntity.create().withVersion(version).withSnapshotType(FULL)
+			.withSerializedSnapshot("{\"id\":\"" + ERRAND_ID + "\",\"municipalityId\":\"" + MUNICIPALITY_ID + "\",\"namespace\":\"" + NAMESPACE + "\",\"title\":\"oldTitle\"}")));
+		when(revisionRepositoryMock.save(any(RevisionEntity.class))).thenReturn(RevisionEntity.create().withId("revisionId"));
+
+		// Call
+		service.createErrandRevision(entity);
+
+		// Assertions and verifications
+		verify(revisionRepositoryMock).save(entityCaptor.capture());
+
+		assertThat(entityCaptor.getValue().getVersion()).isEqualTo(version + 1);
+		assertThat(entityCaptor.getValue().getSnapshotType()).isEqualTo(DELTA);
+		assertThat(entityCaptor.getValue().getSerializedSnapshot()).isEqualTo("[{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"newTitle\"}]");
+	}
+
+	@Test
+	void shouldCreateErrandRevisionAsKeyframeWhenDeltaStorageIsEnabled() {
+		// Setup
+		ReflectionTestUtils.setField(service, "deltaStorageProperties", new RevisionDeltaStorageProperties(true, 10));
+		final var entity = ErrandEntity.create().withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withId(ERRAND_ID).withTitle("newTitle");
+		final var version = 9;
+
+		// Mock
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(Optional.of(RevisionEntity.create().withVersion(version).withSnapshotType(FULL)
+			.withSerializedSnapshot("{\"id\":\"" + ERRAND_ID + "\",\"title\":\"oldTitle\"}")));
+		when(revisionRepositoryMock.save(any(RevisionEntity.class))).thenReturn(RevisionEntity.create().withId("revisionId"));
+
+		// Call
+		service.createErrandRevision(entity);
+
+		// Assertions and verifications
+		verify(revisionRepositoryMock).save(entityCaptor.capture());
+
+		assertThat(entityCaptor.getValue().getVersion()).isEqualTo(version + 1);
+		assertThat(entityCaptor.getValue().getSnapshotType()).isEqualTo(FULL);
+		assertThat(entityCaptor.getValue().getSerializedSnapshot()).isEqualTo(toSerializedSnapshot(entity));
+	}
+
+	@Test
+	void shouldNotCreateErrandRevisionWhenReplayedDeltaIsEqualToCurrent() {
+		// Setup
+		final var entity = ErrandEntity.create().withNamespace(NAMESPACE).withMunicipalityId(MUNICIPALITY_ID).withId(ERRAND_ID).withTitle("newTitle");
+		final var lastRevision = createDeltaRevisionEntity(2, "[{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"newTitle\"}]");
+
+		// Mock
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID)).thenReturn(Optional.of(lastRevision));
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdAndVersionLessThanEqualAndSnapshotTypeOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, 2, FULL))
+			.thenReturn(Optional.of(createKeyframeRevisionEntity(0, "{\"id\":\"" + ERRAND_ID + "\",\"municipalityId\":\"" + MUNICIPALITY_ID + "\",\"namespace\":\"" + NAMESPACE + "\",\"title\":\"oldTitle\"}")));
+		when(revisionRepositoryMock.findAllByNamespaceAndMunicipalityIdAndEntityIdAndVersionBetweenOrderByVersion(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, 1, 2))
+			.thenReturn(List.of(createDeltaRevisionEntity(1, "[]"), lastRevision));
+
+		// Call
+		final var response = service.createErrandRevision(entity);
+
+		// Assertions and verifications
+		assertThat(response).isNull();
+		verify(revisionRepositoryMock, never()).save(any());
+	}
+
+	@Test
+	void convertToDelta() {
+		// Setup
+		final var revision = createKeyframeRevisionEntity(3, "{\"key\":\"newValue\"}");
+
+		// Mock
+		when(revisionRepositoryMock.findById("revisionId")).thenReturn(Optional.of(revision));
+		when(revisionRepositoryMock.findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, 2)).thenReturn(Optional.of(createKeyframeRevisionEntity(2, "{\"key\":\"oldValue\"}")));
+
+		// Call
+		final var result = service.convertToDelta("revisionId");
+
+		// Assertions and verifications
+		assertThat(result).isTrue();
+		verify(revisionRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getSnapshotType()).isEqualTo(DELTA);
+		assertThat(entityCaptor.getValue().getSerializedSnapshot()).isEqualTo("[{\"op\":\"replace\",\"path\":\"/key\",\"value\":\"newValue\"}]");
+	}
+
+	@Test
+	void convertToDeltaSkipsKeyframe() {
+		// Mock
+		when(revisionRepositoryMock.findById("revisionId")).thenReturn(Optional.of(createKeyframeRevisionEntity(10, "{}")));
+
+		// Call
+		final var result = service.convertToDelta("revisionId");
+
+		// Assertions and verifications
+		assertThat(result).isFalse();
+		verify(revisionRepositoryMock, never()).findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(any(), any(), any(), anyInt());
+		verify(revisionRepositoryMock, never()).save(any());
+	}
+
+	@Test
+	void compareErrandRevisionVersionsWithDeltaRevision() {
+		// Setup
+		final var sourceVersion = 5;
+		final var targetVersion = 7;
+		final var targetRevision = createDeltaRevisionEntity(targetVersion, "[{\"op\":\"replace\",\"path\":\"/key\",\"value\":\"newValue\"}]");
+
+		// Mock
+		when(revisionRepositoryMock.findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, sourceVersion)).thenReturn(Optional.of(createKeyframeRevisionEntity(sourceVersion, "{\"key\":\"oldValue\"}")));
+		when(revisionRepositoryMock.findByNamespaceAndMunicipalityIdAndEntityIdAndVersion(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, targetVersion)).thenReturn(Optional.of(targetRevision));
+		when(revisionRepositoryMock.findFirstByNamespaceAndMunicipalityIdAndEntityIdAndVersionLessThanEqualAndSnapshotTypeOrderByVersionDesc(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, targetVersion, FULL))
+			.thenReturn(Optional.of(createKeyframeRevisionEntity(sourceVersion, "{\"key\":\"oldValue\"}")));
+		when(revisionRepositoryMock.findAllByNamespaceAndMunicipalityIdAndEntityIdAndVersionBetweenOrderByVersion(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, sourceVersion + 1, targetVersion))
+			.thenReturn(List.of(createDeltaRevisionEntity(6, "[]"), targetRevision));
+
+		// Call
+		final var result = service.compareErrandRevisionVersions(NAMESPACE, MUNICIPALITY_ID, ERRAND_ID, sourceVersion, targetVersion);
+
+		// Assertions and verifications
+		assertThat(result.getOperations()).hasSize(1)
+			.extracting(
+				Operation::getOp,
+				Operation::getPath,
+				Operation::getValue,
+				Operation::getFromValue)
+			.containsExactly(tuple(
+				"replace",
+				"/key",
+				"newValue",
+				"oldValue"));
+	}
+
 	@Test
 	void getErrandRevisionsForExistingErrand() {
 		// Mock
@@ -454,6 +643,21 @@ class RevisionServiceTest {
 			.withStakeholders(List.of(StakeholderEntity.create().withId(new Random().nextLong())));
 	}
 
+	private RevisionEntity createKeyframeRevisionEntity(final int version, final String snapshot) {
+		return RevisionEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withEntityId(ERRAND_ID)
+			.withVersion(version)
+			.withSnapshotType(FULL)
+			.withSerializedSnapshot(snapshot);
+	}
+
+	private RevisionEntity createDeltaRevisionEntity(final int version, final String delta) {
+		return createKeyframeRevisionEntity(version, delta)
+			.withSnapshotType(DELTA);
+	}
+
 	private RevisionEntity createRevisionEntity(final String key, final String value) {
 		return createRevisionEntity()
 			.withSerializedSnapshot("{\"" + key + "\": \"" + value + "\"}");
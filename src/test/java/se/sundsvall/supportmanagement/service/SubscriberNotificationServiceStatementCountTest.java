@@ -0,0 +1,101 @@
+package se.sundsvall.supportmanagement.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
+import se.sundsvall.supportmanagement.integration.db.SubscriberNotificationRepository;
+import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigValueEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.IdentifierEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.ValueType.INTEGER;
+import static se.sundsvall.supportmanagement.integration.db.util.ConfigPropertyExtractor.PROPERTY_NOTIFICATION_TTL_IN_DAYS;
+
+/**
+ * Verifies that the notifications of a dispatched group are written in JDBC batches, i.e. that the number of statements
+ * grows with the number of batches rather than with the number of notifications.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("junit")
+@Sql(scripts = "/db/scripts/truncate.sql")
+@Transactional
+class SubscriberNotificationServiceStatementCountTest {
+
+	private static final String NAMESPACE = "STATEMENT_COUNT";
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final int SUBSCRIBER_COUNT = 200;
+
+	@Autowired
+	private SubscriberNotificationService subscriberNotificationService;
+
+	@Autowired
+	private SubscriberNotificationRepository subscriberNotificationRepository;
+
+	@Autowired
+	private NamespaceConfigRepository namespaceConfigRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		namespaceConfigRepository.save(NamespaceConfigEntity.create()
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withValue(NamespaceConfigValueEmbeddable.create()
+				.withKey(PROPERTY_NOTIFICATION_TTL_IN_DAYS)
+				.withType(INTEGER)
+				.withValue("30")));
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void notificationsOfAGroupAreInsertedInBatches() {
+		final var events = List.of(
+			NotificationDispatchEntity.create().withEventType("UPDATE").withDescription("Bilaga har skapats").withSubType("ATTACHMENT"),
+			NotificationDispatchEntity.create().withEventType("UPDATE").withDescription("Status har ändrats").withSubType("STATUS"));
+		final var deliveries = IntStream.range(0, SUBSCRIBER_COUNT)
+			.mapToObj(i -> new NotificationDelivery(SubscriberEntity.create()
+				.withNamespace(NAMESPACE)
+				.withMunicipalityId(MUNICIPALITY_ID)
+				.withIdentifier(IdentifierEmbeddable.create().withType("adAccount").withValue("user-" + i)), events))
+			.toList();
+
+		statistics.clear();
+
+		subscriberNotificationService.create("errand-id", "KC-1", deliveries);
+		entityManager.flush();
+
+		// Every notification and event row is written...
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(SUBSCRIBER_COUNT * (1L + events.size()));
+		// ...by a statement per batch of rows, and not a statement per row
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(SUBSCRIBER_COUNT / 10);
+
+		entityManager.clear();
+		assertThat(subscriberNotificationRepository.count()).isEqualTo(SUBSCRIBER_COUNT);
+	}
+}
@@ -21,6 +21,7 @@ import se.sundsvall.supportmanagement.integration.db.model.SubscriberNotificatio
 import se.sundsvall.supportmanagement.integration.db.model.SubscriberNotificationEventEntity;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.IdentifierEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +30,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -59,7 +61,7 @@ class SubscriberNotificationServiceTest {
 	private SubscriberNotificationService service;
 
 	@Captor
-	private ArgumentCaptor<SubscriberNotificationEntity> entityCaptor;
+	private ArgumentCaptor<List<SubscriberNotificationEntity>> entitiesCaptor;
 
 	@Test
 	void getNotifications() {
@@ -135,23 +137,43 @@ class SubscriberNotificationServiceTest {
 		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID))
 			.thenReturn(Optional.of(buildNamespaceConfig()));
 
-		service.create(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(
+		service.create(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(
 			buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE),
-			buildDispatchEntity("CREATE", "Ärende har skapats", null)));
-
-		verify(repositoryMock).save(entityCaptor.capture());
-		final var saved = entityCaptor.getValue();
-		assertThat(saved.getErrandId()).isEqualTo(ERRAND_ID);
-		assertThat(saved.getErrandNumber()).isEqualTo(ERRAND_NUMBER);
-		assertThat(saved.getIdentifierType()).isEqualTo(IDENTIFIER_TYPE);
-		assertThat(saved.getIdentifierValue()).isEqualTo(IDENTIFIER_VALUE);
-		assertThat(saved.getExpires()).isNotNull();
-		assertThat(saved.getAcknowledged()).isNull();
-		assertThat(saved.getEvents())
-			.extracting(SubscriberNotificationEventEntity::getEventType, SubscriberNotificationEventEntity::getDescription, SubscriberNotificationEventEntity::getSubType)
-			.containsExactly(
-				tuple(EVENT_TYPE, DESCRIPTION, SUB_TYPE),
-				tuple("CREATE", "Ärende har skapats", null));
+			buildDispatchEntity("CREATE", "Ärende har skapats", null)))));
+
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue()).singleElement().satisfies(saved -> {
+			assertThat(saved.getErrandId()).isEqualTo(ERRAND_ID);
+			assertThat(saved.getErrandNumber()).isEqualTo(ERRAND_NUMBER);
+			assertThat(saved.getIdentifierType()).isEqualTo(IDENTIFIER_TYPE);
+			assertThat(saved.getIdentifierValue()).isEqualTo(IDENTIFIER_VALUE);
+			assertThat(saved.getExpires()).isNotNull();
+			assertThat(saved.getAcknowledged()).isNull();
+			assertThat(saved.getEvents())
+				.extracting(SubscriberNotificationEventEntity::getEventType, SubscriberNotificationEventEntity::getDescription, SubscriberNotificationEventEntity::getSubType)
+				.containsExactly(
+					tuple(EVENT_TYPE, DESCRIPTION, SUB_TYPE),
+					tuple("CREATE", "Ärende har skapats", null));
+		});
+	}
+
+	@Test
+	void create_persistsAllDeliveriesWithOneConfigLookup() {
+		final var subscriber1 = buildSubscriber();
+		final var subscriber2 = buildSubscriber().withIdentifier(IdentifierEmbeddable.create().withType(IDENTIFIER_TYPE).withValue("jane01doe"));
+		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID))
+			.thenReturn(Optional.of(buildNamespaceConfig()));
+		final var events = List.of(buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE));
+
+		service.create(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber1, events), new NotificationDelivery(subscriber2, events)));
+
+		// One notification per delivery, saved together rather than one by one
+		verify(namespaceConfigRepositoryMock).findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID);
+		verify(repositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue())
+			.extracting(SubscriberNotificationEntity::getIdentifierValue)
+			.containsExactly(IDENTIFIER_VALUE, "jane01doe");
+		verifyNoMoreInteractions(repositoryMock, namespaceConfigRepositoryMock);
 	}
 
 	@Test
@@ -159,27 +181,34 @@ class SubscriberNotificationServiceTest {
 		final var subscriber = buildSubscriber();
 		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID))
 			.thenReturn(Optional.of(buildNamespaceConfig()));
-		final var events = List.of(buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE));
+		final var deliveries = List.of(new NotificationDelivery(subscriber, List.of(buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE))));
 
-		service.create(ERRAND_ID, ERRAND_NUMBER, subscriber, events);
-		service.create(ERRAND_ID, ERRAND_NUMBER, subscriber, events);
+		service.create(ERRAND_ID, ERRAND_NUMBER, deliveries);
+		service.create(ERRAND_ID, ERRAND_NUMBER, deliveries);
 
 		// No lookup of an existing notification, just two independent inserts
-		verify(repositoryMock, times(2)).save(any(SubscriberNotificationEntity.class));
+		verify(repositoryMock, times(2)).saveAll(any());
 		verifyNoMoreInteractions(repositoryMock);
 	}
 
+	@Test
+	void create_withoutDeliveries_doesNothing() {
+		service.create(ERRAND_ID, ERRAND_NUMBER, List.of());
+
+		verifyNoInteractions(repositoryMock, namespaceConfigRepositoryMock);
+	}
+
 	@Test
 	void create_unknownNamespaceConfig_throws() {
 		final var subscriber = buildSubscriber();
 		when(namespaceConfigRepositoryMock.findByNamespaceAndMunicipalityId(NAMESPACE, MUNICIPALITY_ID)).thenReturn(Optional.empty());
-		final var events = List.of(buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE));
+		final var deliveries = List.of(new NotificationDelivery(subscriber, List.of(buildDispatchEntity(EVENT_TYPE, DESCRIPTION, SUB_TYPE))));
 
-		assertThatThrownBy(() -> service.create(ERRAND_ID, ERRAND_NUMBER, subscriber, events))
+		assertThatThrownBy(() -> service.create(ERRAND_ID, ERRAND_NUMBER, deliveries))
 			.isInstanceOf(Problem.class)
 			.hasMessageContaining(NOT_FOUND.getReasonPhrase());
 
-		verify(repositoryMock, never()).save(any());
+		verify(repositoryMock, never()).saveAll(any());
 	}
 
 	private NotificationDispatchEntity buildDispatchEntity(final String eventType, final String description, final String subType) {
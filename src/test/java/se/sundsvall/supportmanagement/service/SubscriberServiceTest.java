@@ -37,6 +37,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static se.sundsvall.dept44.support.Identifier.Type.AD_ACCOUNT;
+import static se.sundsvall.supportmanagement.service.SubscriptionIndexService.SUBSCRIPTION_INDEX_CACHE_NAME;
 
 @ExtendWith(MockitoExtension.class)
 class SubscriberServiceTest {
@@ -50,6 +51,9 @@ class SubscriberServiceTest {
 	@Mock
 	private SubscriptionRepository subscriptionRepositoryMock;
 
+	@Mock
+	private CacheInvalidationService cacheInvalidationServiceMock;
+
 	@InjectMocks
 	private SubscriberService service;
 
@@ -249,7 +253,8 @@ class SubscriberServiceTest {
 		assertThat(entityCaptor.getValue().getName()).isEqualTo("new");
 		// Identifier untouched
 		assertThat(entityCaptor.getValue().getIdentifier().getValue()).isEqualTo("joe01doe");
-		verifyNoMoreInteractions(subscriberRepositoryMock, subscriptionRepositoryMock);
+		verify(cacheInvalidationServiceMock).publish(SUBSCRIPTION_INDEX_CACHE_NAME);
+		verifyNoMoreInteractions(subscriberRepositoryMock, subscriptionRepositoryMock, cacheInvalidationServiceMock);
 	}
 
 	@Test
@@ -384,7 +389,8 @@ class SubscriberServiceTest {
 
 		verify(subscriberRepositoryMock).findByIdAndNamespaceAndMunicipalityId(id, NAMESPACE, MUNICIPALITY_ID);
 		verify(subscriberRepositoryMock).delete(entity);
-		verifyNoMoreInteractions(subscriberRepositoryMock);
+		verify(cacheInvalidationServiceMock).publish(SUBSCRIPTION_INDEX_CACHE_NAME);
+		verifyNoMoreInteractions(subscriberRepositoryMock, cacheInvalidationServiceMock);
 		verifyNoInteractions(subscriptionRepositoryMock);
 	}
 
@@ -0,0 +1,116 @@
+package se.sundsvall.supportmanagement.service;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import se.sundsvall.supportmanagement.integration.db.SubscriptionRepository;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscriptionTargetType;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+
+import static java.time.OffsetDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.service.SubscriptionIndexService.SUBSCRIPTION_INDEX_CACHE_NAME;
+
+@ContextConfiguration
+@ExtendWith(SpringExtension.class)
+class SubscriptionIndexServiceTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "2281";
+
+	@Autowired
+	private SubscriptionIndexService subscriptionIndexService;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepositoryMock;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Provides the service with a mocked repository and a cache manager
+	@EnableCaching
+	@Configuration
+	public static class CachingTestConfig {
+
+		@Bean
+		public SubscriptionRepository subscriptionRepository() {
+			return mock(SubscriptionRepository.class);
+		}
+
+		@Bean
+		public SubscriptionIndexService subscriptionIndexService(final SubscriptionRepository subscriptionRepository) {
+			return new SubscriptionIndexService(subscriptionRepository);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(SUBSCRIPTION_INDEX_CACHE_NAME);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		// The context, and hence the cache, is shared between the tests
+		reset(subscriptionRepositoryMock);
+		cacheManager.getCache(SUBSCRIPTION_INDEX_CACHE_NAME).clear();
+	}
+
+	@Test
+	void getIndex() {
+		final var subscriber = SubscriberEntity.create().withId("subscriber-id");
+		when(subscriptionRepositoryMock.findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of(SubscriptionEntity.create()
+			.withSubscriber(subscriber)
+			.withTargetType(DbSubscriptionTargetType.NAMESPACE)));
+
+		final var index = subscriptionIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(index.size()).isOne();
+		assertThat(index.getSubscriber(0)).isSameAs(subscriber);
+		assertThat(index.findWanting("CREATE", null, now()).get(0)).isTrue();
+		verify(subscriptionRepositoryMock).findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getIndexIsCachedPerNamespace() {
+		when(subscriptionRepositoryMock.findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+		when(subscriptionRepositoryMock.findAllNamespaceTargets(MUNICIPALITY_ID, "otherNamespace")).thenReturn(List.of());
+
+		final var index = subscriptionIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID);
+
+		assertThat(subscriptionIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID)).isSameAs(index);
+		final var otherIndex = subscriptionIndexService.getIndex("otherNamespace", MUNICIPALITY_ID);
+		assertThat(otherIndex).isNotSameAs(index);
+		assertThat(otherIndex.getVersion()).isGreaterThan(index.getVersion());
+		verify(subscriptionRepositoryMock).findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE);
+		verify(subscriptionRepositoryMock).findAllNamespaceTargets(MUNICIPALITY_ID, "otherNamespace");
+		verifyNoMoreInteractions(subscriptionRepositoryMock);
+	}
+
+	@Test
+	void getIndexIsRebuiltWhenEvicted() {
+		when(subscriptionRepositoryMock.findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+
+		final var index = subscriptionIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID);
+
+		cacheManager.getCache(SUBSCRIPTION_INDEX_CACHE_NAME).clear();
+
+		assertThat(subscriptionIndexService.getIndex(NAMESPACE, MUNICIPALITY_ID)).isNotSameAs(index);
+		verify(subscriptionRepositoryMock, times(2)).findAllNamespaceTargets(MUNICIPALITY_ID, NAMESPACE);
+	}
+}
@@ -2,6 +2,7 @@ package se.sundsvall.supportmanagement.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,13 +21,15 @@ import se.sundsvall.supportmanagement.integration.db.SubscriptionRepository;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscriptionTargetType;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberErrandPair;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+import se.sundsvall.supportmanagement.service.model.ErrandAssignment;
 
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -36,6 +39,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static se.sundsvall.dept44.support.Identifier.Type.AD_ACCOUNT;
+import static se.sundsvall.supportmanagement.service.SubscriptionIndexService.SUBSCRIPTION_INDEX_CACHE_NAME;
 
 @ExtendWith(MockitoExtension.class)
 class SubscriptionServiceTest {
@@ -56,12 +60,18 @@ class SubscriptionServiceTest {
 	@Mock
 	private ErrandsRepository errandsRepositoryMock;
 
+	@Mock
+	private CacheInvalidationService cacheInvalidationServiceMock;
+
 	@InjectMocks
 	private SubscriptionService service;
 
 	@Captor
 	private ArgumentCaptor<SubscriptionEntity> entityCaptor;
 
+	@Captor
+	private ArgumentCaptor<List<SubscriptionEntity>> entitiesCaptor;
+
 	@BeforeEach
 	void setExecutingUser() {
 		se.sundsvall.dept44.support.Identifier.set(
@@ -132,6 +142,7 @@ class SubscriptionServiceTest {
 		assertThat(saved.getCreatedBy().getType()).isEqualTo("adAccount");
 		assertThat(saved.getCreatedBy().getValue()).isEqualTo("joe01doe");
 		verifyNoMoreInteractions(subscriberServiceMock, subscriptionRepositoryMock, errandsRepositoryMock);
+		verifyNoInteractions(cacheInvalidationServiceMock);
 	}
 
 	@Test
@@ -151,7 +162,8 @@ class SubscriptionServiceTest {
 		verify(subscriptionRepositoryMock).saveAndFlush(entityCaptor.capture());
 		assertThat(entityCaptor.getValue().getErrand()).isNull();
 		assertThat(entityCaptor.getValue().getTargetType()).isEqualTo(DB_NAMESPACE);
-		verifyNoMoreInteractions(subscriberServiceMock, subscriptionRepositoryMock);
+		verify(cacheInvalidationServiceMock).publish(SUBSCRIPTION_INDEX_CACHE_NAME);
+		verifyNoMoreInteractions(subscriberServiceMock, subscriptionRepositoryMock, cacheInvalidationServiceMock);
 		verifyNoInteractions(errandsRepositoryMock);
 	}
 
@@ -306,7 +318,7 @@ class SubscriptionServiceTest {
 
 	@Test
 	void deleteSubscription() {
-		final var entity = SubscriptionEntity.create().withId("sub-1");
+		final var entity = SubscriptionEntity.create().withId("sub-1").withTargetType(DB_ERRAND);
 		when(subscriptionRepositoryMock.findByIdAndSubscriberIdAndSubscriberNamespaceAndSubscriberMunicipalityId("sub-1", SUBSCRIBER_ID, NAMESPACE, MUNICIPALITY_ID))
 			.thenReturn(Optional.of(entity));
 
@@ -315,7 +327,20 @@ class SubscriptionServiceTest {
 		verify(subscriptionRepositoryMock).findByIdAndSubscriberIdAndSubscriberNamespaceAndSubscriberMunicipalityId("sub-1", SUBSCRIBER_ID, NAMESPACE, MUNICIPALITY_ID);
 		verify(subscriptionRepositoryMock).delete(entity);
 		verifyNoMoreInteractions(subscriptionRepositoryMock);
-		verifyNoInteractions(subscriberServiceMock, errandsRepositoryMock);
+		verifyNoInteractions(subscriberServiceMock, errandsRepositoryMock, cacheInvalidationServiceMock);
+	}
+
+	@Test
+	void deleteNamespaceSubscriptionInvalidatesSubscriptionIndex() {
+		final var entity = SubscriptionEntity.create().withId("sub-1").withTargetType(DB_NAMESPACE);
+		when(subscriptionRepositoryMock.findByIdAndSubscriberIdAndSubscriberNamespaceAndSubscriberMunicipalityId("sub-1", SUBSCRIBER_ID, NAMESPACE, MUNICIPALITY_ID))
+			.thenReturn(Optional.of(entity));
+
+		service.deleteSubscription(MUNICIPALITY_ID, NAMESPACE, SUBSCRIBER_ID, "sub-1");
+
+		verify(subscriptionRepositoryMock).delete(entity);
+		verify(cacheInvalidationServiceMock).publish(SUBSCRIPTION_INDEX_CACHE_NAME);
+		verifyNoMoreInteractions(cacheInvalidationServiceMock);
 	}
 
 	@Test
@@ -334,63 +359,56 @@ class SubscriptionServiceTest {
 	}
 
 	@Test
-	void autoSubscribeErrandAssigneeWhenNoAssignedUser() {
-		final var errand = new ErrandEntity().withId(ERRAND_ID).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
-
-		service.autoSubscribeErrandAssignee(errand);
+	void autoSubscribeAssigneesWithoutAssignments() {
+		service.autoSubscribeAssignees(List.of());
 
 		verifyNoInteractions(subscriberServiceMock, subscriptionRepositoryMock, errandsRepositoryMock);
 	}
 
 	@Test
-	void autoSubscribeErrandAssigneeWhenSubscriptionAlreadyExists() {
-		final var assignedUserId = "joe01doe";
+	void autoSubscribeAssigneesCreatesMissingSubscriptions() {
 		final var subscriber = SubscriberEntity.create().withId(SUBSCRIBER_ID);
-		final var errand = new ErrandEntity().withId(ERRAND_ID).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE).withAssignedUserId(assignedUserId);
-		when(subscriberServiceMock.findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, assignedUserId)).thenReturn(subscriber);
-		when(subscriptionRepositoryMock.existsBySubscriberIdAndTargetTypeAndErrandId(SUBSCRIBER_ID, DB_ERRAND, ERRAND_ID)).thenReturn(true);
-
-		service.autoSubscribeErrandAssignee(errand);
-
-		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, assignedUserId);
-		verify(subscriptionRepositoryMock).existsBySubscriberIdAndTargetTypeAndErrandId(SUBSCRIBER_ID, DB_ERRAND, ERRAND_ID);
-		verify(subscriptionRepositoryMock, never()).save(any());
+		final var otherSubscriber = SubscriberEntity.create().withId("subscriber-2");
+		final var errand = new ErrandEntity().withId("errand-2");
+		final var subscribed = new ErrandAssignment(MUNICIPALITY_ID, NAMESPACE, ERRAND_ID, "joe01doe");
+		final var unsubscribed = new ErrandAssignment(MUNICIPALITY_ID, NAMESPACE, "errand-2", "joe01doe");
+		final var otherAssignee = new ErrandAssignment(MUNICIPALITY_ID, NAMESPACE, ERRAND_ID, "jane01doe");
+		when(subscriberServiceMock.findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "joe01doe")).thenReturn(subscriber);
+		when(subscriberServiceMock.findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "jane01doe")).thenReturn(otherSubscriber);
+		when(subscriptionRepositoryMock.findErrandSubscriptions(Set.of(SUBSCRIBER_ID, "subscriber-2"), Set.of(ERRAND_ID, "errand-2")))
+			.thenReturn(List.of(new SubscriberErrandPair(SUBSCRIBER_ID, ERRAND_ID), new SubscriberErrandPair("subscriber-2", "errand-2")));
+		when(errandsRepositoryMock.getReferenceById("errand-2")).thenReturn(errand);
+		when(errandsRepositoryMock.getReferenceById(ERRAND_ID)).thenReturn(new ErrandEntity().withId(ERRAND_ID));
+
+		service.autoSubscribeAssignees(List.of(subscribed, unsubscribed, otherAssignee));
+
+		// One lookup per assignee, however many errands are assigned to them
+		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "joe01doe");
+		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "jane01doe");
+		verify(subscriptionRepositoryMock).findErrandSubscriptions(Set.of(SUBSCRIBER_ID, "subscriber-2"), Set.of(ERRAND_ID, "errand-2"));
+		verify(subscriptionRepositoryMock).saveAll(entitiesCaptor.capture());
+		assertThat(entitiesCaptor.getValue())
+			.extracting(entity -> entity.getSubscriber().getId(), entity -> entity.getErrand().getId(), SubscriptionEntity::getTargetType)
+			.containsExactly(
+				tuple(SUBSCRIBER_ID, "errand-2", DB_ERRAND),
+				tuple("subscriber-2", ERRAND_ID, DB_ERRAND));
 		verifyNoMoreInteractions(subscriberServiceMock, subscriptionRepositoryMock);
-		verifyNoInteractions(errandsRepositoryMock);
 	}
 
 	@Test
-	void autoSubscribeErrandAssigneeCreatesSubscriberAndSubscription() {
-		final var assignedUserId = "joe01doe";
+	void autoSubscribeAssigneesWhenAlreadySubscribed() {
 		final var subscriber = SubscriberEntity.create().withId(SUBSCRIBER_ID);
-		final var errand = new ErrandEntity().withId(ERRAND_ID).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE).withAssignedUserId(assignedUserId);
-		when(subscriberServiceMock.findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, assignedUserId)).thenReturn(subscriber);
-		when(subscriptionRepositoryMock.existsBySubscriberIdAndTargetTypeAndErrandId(SUBSCRIBER_ID, DB_ERRAND, ERRAND_ID)).thenReturn(false);
-		when(subscriptionRepositoryMock.save(any(SubscriptionEntity.class))).thenAnswer(inv -> inv.<SubscriptionEntity>getArgument(0).withId("new-sub-id"));
+		final var assignment = new ErrandAssignment(MUNICIPALITY_ID, NAMESPACE, ERRAND_ID, "joe01doe");
+		when(subscriberServiceMock.findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "joe01doe")).thenReturn(subscriber);
+		when(subscriptionRepositoryMock.findErrandSubscriptions(Set.of(SUBSCRIBER_ID), Set.of(ERRAND_ID)))
+			.thenReturn(List.of(new SubscriberErrandPair(SUBSCRIBER_ID, ERRAND_ID)));
 
-		service.autoSubscribeErrandAssignee(errand);
+		service.autoSubscribeAssignees(List.of(assignment));
 
-		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, assignedUserId);
-		verify(subscriptionRepositoryMock).existsBySubscriberIdAndTargetTypeAndErrandId(SUBSCRIBER_ID, DB_ERRAND, ERRAND_ID);
-		verify(subscriptionRepositoryMock).save(entityCaptor.capture());
-		final var saved = entityCaptor.getValue();
-		assertThat(saved.getSubscriber()).isSameAs(subscriber);
-		assertThat(saved.getErrand()).isSameAs(errand);
-		assertThat(saved.getTargetType()).isEqualTo(DB_ERRAND);
+		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "joe01doe");
+		verify(subscriptionRepositoryMock).findErrandSubscriptions(Set.of(SUBSCRIBER_ID), Set.of(ERRAND_ID));
+		verify(subscriptionRepositoryMock, never()).saveAll(any());
 		verifyNoMoreInteractions(subscriberServiceMock, subscriptionRepositoryMock);
 		verifyNoInteractions(errandsRepositoryMock);
 	}
-
-	@Test
-	void handleAutoSubscribeEventDelegatesAndSwallowsExceptions() {
-		final var errand = new ErrandEntity().withId(ERRAND_ID).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE).withAssignedUserId("joe01doe");
-		final var event = new AutoSubscribeEvent(errand);
-		doThrow(new RuntimeException("boom")).when(subscriberServiceMock).findOrCreateSubscriberForAssignee(any(), any(), any());
-
-		service.handleAutoSubscribeEvent(event);
-
-		verify(subscriberServiceMock).findOrCreateSubscriberForAssignee(MUNICIPALITY_ID, NAMESPACE, "joe01doe");
-		verifyNoMoreInteractions(subscriberServiceMock);
-		verifyNoInteractions(subscriptionRepositoryMock, errandsRepositoryMock);
-	}
 }
@@ -15,6 +15,7 @@ import se.sundsvall.dept44.problem.ThrowableProblem;
 import se.sundsvall.supportmanagement.api.model.config.NamespaceConfig;
 import se.sundsvall.supportmanagement.integration.db.NamespaceConfigRepository;
 import se.sundsvall.supportmanagement.integration.db.model.NamespaceConfigEntity;
+import se.sundsvall.supportmanagement.service.CacheInvalidationService;
 import se.sundsvall.supportmanagement.service.mapper.NamespaceConfigMapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -38,6 +40,9 @@ class NamespaceConfigServiceTest {
 	@Mock
 	private NamespaceConfigMapper mapperMock;
 
+	@Mock
+	private CacheInvalidationService cacheInvalidationServiceMock;
+
 	@Captor
 	private ArgumentCaptor<NamespaceConfigEntity> entityCaptor;
 
@@ -57,6 +62,7 @@ class NamespaceConfigServiceTest {
 
 		verify(mapperMock).toEntity(same(request), eq(namespace), eq(municipalityId));
 		verify(configRepositoryMock).save(same(entity));
+		verify(cacheInvalidationServiceMock).publish("namespaceConfigCache");
 	}
 
 	@Test
@@ -73,6 +79,7 @@ class NamespaceConfigServiceTest {
 		assertThat(e.getMessage()).isEqualTo("Bad Request: Namespace 'namespace' already exists in municipality 'municipalityId'");
 		verify(configRepositoryMock).existsByNamespaceAndMunicipalityId(namespace, municipalityId);
 		verifyNoMoreInteractions(configRepositoryMock, mapperMock);
+		verifyNoInteractions(cacheInvalidationServiceMock);
 	}
 
 	@Test
@@ -93,6 +100,7 @@ class NamespaceConfigServiceTest {
 		verify(configRepositoryMock).findByNamespaceAndMunicipalityId(namespace, municipalityId);
 		verify(mapperMock).toEntity(same(request), eq(namespace), eq(municipalityId));
 		verify(configRepositoryMock).save(entityCaptor.capture());
+		verify(cacheInvalidationServiceMock).publish("namespaceConfigCache");
 
 		assertThat(entityCaptor.getValue()).isSameAs(replacementEntity);
 		assertThat(entityCaptor.getValue().getId()).isEqualTo(id);
@@ -191,6 +199,7 @@ class NamespaceConfigServiceTest {
 
 		verify(configRepositoryMock).findByNamespaceAndMunicipalityId(namespace, municipalityId);
 		verify(configRepositoryMock).deleteByNamespaceAndMunicipalityId(namespace, municipalityId);
+		verify(cacheInvalidationServiceMock).publish("namespaceConfigCache");
 	}
 
 	@Test
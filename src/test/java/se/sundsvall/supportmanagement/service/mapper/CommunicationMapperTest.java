@@ -150,6 +150,7 @@ class CommunicationMapperTest {
 			assertThat(communicationEntity.getAttachments().getFirst().getFileName()).isEqualTo("name");
 			assertThat(communicationEntity.getAttachments().getFirst().getMimeType()).isEqualTo("application/octet-stream");
 			assertThat(communicationEntity.getAttachments().getFirst().getAttachmentData().getFile()).isSameAs(blobMock);
+			assertThat(communicationEntity.getAttachments().getFirst().getAttachmentData().getHash()).isEqualTo("e4023483babc7d2435bd178b47285b5d2823aef6836d36e53fb68a8feb853a94");
 			assertThat(communicationEntity.isInternal()).isTrue();
 		}
 
@@ -202,6 +203,7 @@ class CommunicationMapperTest {
 			assertThat(communicationEntity.getAttachments().getFirst().getFileName()).isEqualTo("name");
 			assertThat(communicationEntity.getAttachments().getFirst().getMimeType()).isEqualTo("application/octet-stream");
 			assertThat(communicationEntity.getAttachments().getFirst().getAttachmentData().getFile()).isSameAs(blobMock);
+			assertThat(communicationEntity.getAttachments().getFirst().getAttachmentData().getHash()).isEqualTo("e4023483babc7d2435bd178b47285b5d2823aef6836d36e53fb68a8feb853a94");
 			assertThat(communicationEntity.isInternal()).isTrue();
 		}
 
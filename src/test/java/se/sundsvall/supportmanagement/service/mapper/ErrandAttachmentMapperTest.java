@@ -2,6 +2,7 @@ package se.sundsvall.supportmanagement.service.mapper;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Blob;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -10,6 +11,7 @@ import org.hibernate.Hibernate;
 import org.hibernate.LobHelper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -24,6 +26,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.supportmanagement.TestObjectsBuilder.buildAttachmentEntity;
 import static se.sundsvall.supportmanagement.TestObjectsBuilder.buildErrandEntity;
@@ -74,6 +78,31 @@ class ErrandAttachmentMapperTest {
 		}
 	}
 
+	@Test
+	void toAttachmentEntitySetsHashWhenContentIsWritten() throws IOException {
+		final var errandEntity = buildErrandEntity().withAttachments(new ArrayList<>());
+		final var contentCaptor = ArgumentCaptor.forClass(InputStream.class);
+
+		when(multipartFileMock.getOriginalFilename()).thenReturn(FILE_NAME);
+		when(multipartFileMock.getSize()).thenReturn(4L);
+		when(multipartFileMock.getInputStream()).thenReturn(new ByteArrayInputStream("test".getBytes()));
+
+		try (MockedStatic<Hibernate> hibernateMock = Mockito.mockStatic(Hibernate.class)) {
+			hibernateMock.when(Hibernate::getLobHelper).thenReturn(lobHelperMock);
+			when(lobHelperMock.createBlob(contentCaptor.capture(), eq(4L))).thenReturn(blobMock);
+
+			final var result = ErrandAttachmentMapper.toAttachmentEntity(errandEntity, multipartFileMock, null);
+
+			assertThat(result.getMimeType()).isEqualTo("text/plain");
+			assertThat(result.getHash()).isNull();
+
+			// Simulates the blob content being written to the database
+			assertThat(contentCaptor.getValue().readAllBytes()).isEqualTo("test".getBytes());
+			assertThat(result.getHash()).isEqualTo("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+			verify(multipartFileMock).getInputStream();
+		}
+	}
+
 	@Test
 	void toAttachmentEntityWithClientProvidedChannel() throws IOException {
 		final var errandEntity = buildErrandEntity().withAttachments(new ArrayList<>());
@@ -118,6 +147,26 @@ class ErrandAttachmentMapperTest {
 		}
 	}
 
+	@Test
+	void toAttachmentEntityFromResponseEntityKeepsContentIntact() throws IOException {
+		final var errandEntity = buildErrandEntity().withAttachments(new ArrayList<>());
+		final var contentCaptor = ArgumentCaptor.forClass(InputStream.class);
+
+		final var file = ResponseEntity.ok()
+			.body(new InputStreamResource(new ByteArrayInputStream("test".getBytes())));
+
+		try (MockedStatic<Hibernate> hibernateMock = Mockito.mockStatic(Hibernate.class)) {
+			hibernateMock.when(Hibernate::getLobHelper).thenReturn(lobHelperMock);
+			when(lobHelperMock.createBlob(contentCaptor.capture(), eq(4L))).thenReturn(blobMock);
+
+			final var result = ErrandAttachmentMapper.toAttachmentEntity(errandEntity, file, "file.txt", 4, "MY_PAGES");
+
+			assertThat(result.getMimeType()).isEqualTo("text/plain");
+			assertThat(contentCaptor.getValue().readAllBytes()).isEqualTo("test".getBytes());
+			assertThat(result.getHash()).isEqualTo("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+		}
+	}
+
 	@Test
 	void toAttachmentEntityAllNulls() {
 
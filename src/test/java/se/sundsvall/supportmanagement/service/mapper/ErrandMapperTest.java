@@ -537,11 +537,12 @@ class ErrandMapperTest {
 	void testUpdateEmptyEntity() {
 		final List<AttachmentEntity> attachments = new ArrayList<>();
 		final List<StakeholderEntity> stakeholders = new ArrayList<>();
-		final var entity = updateEntity(ErrandEntity.create().withErrandNumber(ERRAND_NUMBER).withAttachments(attachments).withStakeholders(stakeholders), createErrand());
+		final var entity = updateEntity(ErrandEntity.create().withErrandNumber(ERRAND_NUMBER).withAttachments(attachments).withStakeholders(stakeholders).withSuspensionExpiryProcessed(true), createErrand());
 
 		assertThat(entity.getAttachments()).isSameAs(attachments); // Test to verify that list has not been replaced
 		assertThat(entity.getStakeholders()).isSameAs(stakeholders); // Test to verify that list has not been replaced
 		assertThat(entity.getErrandNumber()).isSameAs(ERRAND_NUMBER); // Test to verify that errandNumber has not been replaced
+		assertThat(entity.isSuspensionExpiryProcessed()).isFalse(); // Test to verify that a changed suspension is handled anew when it expires
 		assertThat(entity)
 			.extracting(
 				ErrandEntity::getAssignedGroupId,
@@ -5,6 +5,7 @@ import generated.se.sundsvall.eventlog.EventType;
 import generated.se.sundsvall.eventlog.ExecutingUser;
 import generated.se.sundsvall.eventlog.Metadata;
 import generated.se.sundsvall.notes.Note;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -13,6 +14,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.ResponseEntity;
 import se.sundsvall.dept44.support.Identifier;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
 import se.sundsvall.supportmanagement.api.model.event.EventMetaData;
@@ -57,6 +59,7 @@ class EventlogMapperTest {
 	private static final int PREVIOUS_VERSION = 123;
 	private static final String CURRENT_ID = "currentRevisionId";
 	private static final int CURRENT_VERSION = 456;
+	private static final String EVENT_ID = "b3a4f0e2-5c1d-4c8e-9f4a-2d1e6b7c8a90";
 
 	@Test
 	void toEventAllNulls() {
@@ -279,4 +282,21 @@ class EventlogMapperTest {
 				null,
 				null);
 	}
+
+	@Test
+	void toEventId() {
+		final var response = ResponseEntity.created(URI.create("https://eventlog/2281/log-key/events/" + EVENT_ID)).<Void>build();
+
+		assertThat(EventlogMapper.toEventId(response)).isEqualTo(EVENT_ID);
+	}
+
+	@Test
+	void toEventIdWithoutLocation() {
+		assertThat(EventlogMapper.toEventId(ResponseEntity.ok().build())).isNull();
+	}
+
+	@Test
+	void toEventIdFromNull() {
+		assertThat(EventlogMapper.toEventId(null)).isNull();
+	}
 }
@@ -0,0 +1,135 @@
+package se.sundsvall.supportmanagement.service.mapper;
+
+import generated.se.sundsvall.messaging.EmailSender;
+import generated.se.sundsvall.messaging.ExternalReference;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.NotificationChannelEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
+
+import static java.time.OffsetDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.INTERNAL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+import static se.sundsvall.supportmanagement.service.mapper.NotificationDeliveryMapper.DIGEST_SUBJECT;
+
+class NotificationDeliveryMapperTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "NAMESPACE-1";
+	private static final String SUBSCRIBER_ID = "subscriber-id";
+	private static final String ERRAND_ID = "errand-id";
+	private static final String ERRAND_NUMBER = "PRH-2022-000001";
+	private static final String PHONE_NUMBER = "+46701234567";
+	private static final String EMAIL_ADDRESS = "joe@example.com";
+	private static final String DIGEST_KEY = "digest-key";
+
+	@Test
+	void toDeliveryEntities() {
+		final var nextAttempt = now();
+		final var subscriber = SubscriberEntity.create()
+			.withId(SUBSCRIBER_ID)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withChannels(List.of(
+				NotificationChannelEmbeddable.create().withType(INTERNAL),
+				NotificationChannelEmbeddable.create().withType(SMS).withDestination(PHONE_NUMBER),
+				NotificationChannelEmbeddable.create().withType(EMAIL).withDestination(" "),
+				NotificationChannelEmbeddable.create().withType(EMAIL).withDestination(EMAIL_ADDRESS)));
+		final var events = List.of(
+			NotificationDispatchEntity.create().withEventType("UPDATE").withDescription("Bilaga har skapats"),
+			NotificationDispatchEntity.create().withEventType("CREATE"));
+
+		final var entities = NotificationDeliveryMapper.toDeliveryEntities(ERRAND_ID, ERRAND_NUMBER, new NotificationDelivery(subscriber, events), nextAttempt);
+
+		// Internal channels are not delivered through messaging, and channels without destination have nowhere to go
+		assertThat(entities)
+			.extracting(NotificationDeliveryEntity::getChannelType, NotificationDeliveryEntity::getDestination)
+			.containsExactly(tuple(SMS, PHONE_NUMBER), tuple(EMAIL, EMAIL_ADDRESS));
+		assertThat(entities).allSatisfy(entity -> {
+			assertThat(entity.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+			assertThat(entity.getNamespace()).isEqualTo(NAMESPACE);
+			assertThat(entity.getSubscriberId()).isEqualTo(SUBSCRIBER_ID);
+			assertThat(entity.getErrandId()).isEqualTo(ERRAND_ID);
+			assertThat(entity.getErrandNumber()).isEqualTo(ERRAND_NUMBER);
+			assertThat(entity.getContent()).isEqualTo("Bilaga har skapats\nCREATE");
+			assertThat(entity.getNextAttempt()).isEqualTo(nextAttempt);
+			assertThat(entity.getDigestKey()).isNull();
+		});
+	}
+
+	@Test
+	void toDigestMessageGroupsEventsPerErrand() {
+		final var digest = List.of(
+			entry("errand-1", "KC-1", "Bilaga har skapats"),
+			entry("errand-2", null, "Ärendet har skapats"),
+			entry("errand-1", "KC-1", "Status har ändrats\nHandläggare har ändrats"));
+
+		assertThat(NotificationDeliveryMapper.toDigestMessage(digest)).isEqualTo("""
+			Ärende KC-1:
+			Bilaga har skapats
+			Status har ändrats
+			Handläggare har ändrats
+
+			Ärende errand-2:
+			Ärendet har skapats""");
+	}
+
+	@Test
+	void toSmsRequest() {
+		final var digest = List.of(entry("errand-1", "KC-1", "Bilaga har skapats").withDestination(PHONE_NUMBER));
+
+		final var request = NotificationDeliveryMapper.toSmsRequest(digest, "Sundsvall");
+
+		assertThat(request.getMobileNumber()).isEqualTo(PHONE_NUMBER);
+		assertThat(request.getSender()).isEqualTo("Sundsvall");
+		assertThat(request.getMessage()).isEqualTo("Ärende KC-1:\nBilaga har skapats");
+		assertThat(request.getParty().getExternalReferences())
+			.extracting(ExternalReference::getKey, ExternalReference::getValue)
+			.containsExactly(tuple("errandId", "errand-1"), tuple("notificationDigestKey", DIGEST_KEY));
+	}
+
+	@Test
+	void toEmailRequest() {
+		final var digest = List.of(
+			entry("errand-1", "KC-1", "Bilaga har skapats").withDestination(EMAIL_ADDRESS),
+			entry("errand-2", "KC-2", "Ärendet har skapats").withDestination(EMAIL_ADDRESS));
+
+		final var request = NotificationDeliveryMapper.toEmailRequest(digest, null, "noreply@example.com");
+
+		assertThat(request.getEmailAddress()).isEqualTo(EMAIL_ADDRESS);
+		assertThat(request.getSubject()).isEqualTo(DIGEST_SUBJECT);
+		assertThat(request.getMessage()).isEqualTo("Ärende KC-1:\nBilaga har skapats\n\nÄrende KC-2:\nÄrendet har skapats");
+		assertThat(request.getSender()).isEqualTo(new EmailSender().name("noreply@example.com").address("noreply@example.com"));
+		assertThat(request.getParty().getExternalReferences())
+			.extracting(ExternalReference::getKey, ExternalReference::getValue)
+			.containsExactly(tuple("errandId", "errand-1"), tuple("errandId", "errand-2"), tuple("notificationDigestKey", DIGEST_KEY));
+	}
+
+	@Test
+	void toEmailRequestWithoutSender() {
+		final var digest = List.of(entry("errand-1", "KC-1", "Bilaga har skapats").withDestination(EMAIL_ADDRESS));
+
+		assertThat(NotificationDeliveryMapper.toEmailRequest(digest, "Support", null).getSender()).isNull();
+	}
+
+	@Test
+	void isMessageChannel() {
+		assertThat(NotificationDeliveryMapper.isMessageChannel(SMS)).isTrue();
+		assertThat(NotificationDeliveryMapper.isMessageChannel(EMAIL)).isTrue();
+		assertThat(NotificationDeliveryMapper.isMessageChannel(INTERNAL)).isFalse();
+	}
+
+	private static NotificationDeliveryEntity entry(final String errandId, final String errandNumber, final String content) {
+		return NotificationDeliveryEntity.create()
+			.withErrandId(errandId)
+			.withErrandNumber(errandNumber)
+			.withContent(content)
+			.withDigestKey(DIGEST_KEY);
+	}
+}
@@ -12,6 +12,7 @@ import se.sundsvall.supportmanagement.api.model.revision.Revision;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.RevisionEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.SnapshotType;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -51,6 +52,7 @@ class RevisionMapperTest {
 		assertThat(revision.getId()).isNull();
 		assertThat(revision.getSerializedSnapshot()).isEqualToIgnoringNewLines("{\"id\":\"" + ENTITY_UUID + "\",\"description\":\"" + DESCRIPTION_VALUE + "\"}");
 		assertThat(revision.getVersion()).isEqualTo(5);
+		assertThat(revision.getSnapshotType()).isEqualTo(SnapshotType.FULL);
 	}
 
 	@Test
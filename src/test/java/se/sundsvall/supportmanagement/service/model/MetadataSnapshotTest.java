@@ -0,0 +1,87 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.api.model.metadata.Category;
+import se.sundsvall.supportmanagement.api.model.metadata.ContactReason;
+import se.sundsvall.supportmanagement.api.model.metadata.Role;
+import se.sundsvall.supportmanagement.api.model.metadata.Status;
+import se.sundsvall.supportmanagement.api.model.metadata.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.CATEGORY;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.ROLE;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EntityType.STATUS;
+
+class MetadataSnapshotTest {
+
+	private static final MetadataSnapshot SNAPSHOT = MetadataSnapshot.of(1,
+		List.of(Status.create().withName("NEW"), Status.create().withName("ÖPPEN")),
+		List.of(
+			Category.create().withName("CATEGORY_1").withTypes(List.of(Type.create().withName("TYPE_1"), Type.create().withName("TYPE_2"))),
+			Category.create().withName("CATEGORY_2")),
+		List.of(Role.create().withName("ROLE")),
+		List.of(ContactReason.create().withId("id-1").withReason("Reason")),
+		List.of(CATEGORY, ROLE),
+		List.of("labelId"));
+
+	@Test
+	void namesMatchIgnoringCase() {
+		assertThat(SNAPSHOT.getStatuses().contains("new")).isTrue();
+		assertThat(SNAPSHOT.getStatuses().contains("öppen")).isTrue();
+		assertThat(SNAPSHOT.getStatuses().contains("CLOSED")).isFalse();
+		assertThat(SNAPSHOT.getStatuses().contains(null)).isFalse();
+		assertThat(SNAPSHOT.getRoles().contains("Role")).isTrue();
+		assertThat(SNAPSHOT.getContactReasons().contains("REASON")).isTrue();
+	}
+
+	@Test
+	void namesKeepOriginalSpellingAndOrder() {
+		assertThat(SNAPSHOT.getStatuses().getValues()).containsExactly("NEW", "ÖPPEN");
+		assertThat(SNAPSHOT.getCategories()).hasToString("[CATEGORY_1, CATEGORY_2]");
+	}
+
+	@Test
+	void typesAreLookedUpByExactCategoryName() {
+		assertThat(SNAPSHOT.getTypes("CATEGORY_1").getValues()).containsExactly("TYPE_1", "TYPE_2");
+		assertThat(SNAPSHOT.getTypes("CATEGORY_1").contains("type_2")).isTrue();
+		assertThat(SNAPSHOT.getTypes("category_1").getValues()).isEmpty();
+		assertThat(SNAPSHOT.getTypes("CATEGORY_2").getValues()).isEmpty();
+		assertThat(SNAPSHOT.getTypes(null).getValues()).isEmpty();
+	}
+
+	@Test
+	void findContactReasonId() {
+		assertThat(SNAPSHOT.findContactReasonId("reason")).hasValue("id-1");
+		assertThat(SNAPSHOT.findContactReasonId("unknown")).isEmpty();
+		assertThat(SNAPSHOT.findContactReasonId(null)).isEmpty();
+	}
+
+	@Test
+	void isValidated() {
+		assertThat(SNAPSHOT.isValidated(CATEGORY)).isTrue();
+		assertThat(SNAPSHOT.isValidated(ROLE)).isTrue();
+		assertThat(SNAPSHOT.isValidated(STATUS)).isFalse();
+	}
+
+	@Test
+	void labels() {
+		assertThat(SNAPSHOT.getVersion()).isEqualTo(1);
+		assertThat(SNAPSHOT.hasLabels()).isTrue();
+		assertThat(SNAPSHOT.hasLabel("labelId")).isTrue();
+		assertThat(SNAPSHOT.hasLabel("other")).isFalse();
+		assertThat(SNAPSHOT.hasLabel(null)).isFalse();
+	}
+
+	@Test
+	void emptySnapshot() {
+		final var snapshot = MetadataSnapshot.of(2, null, null, null, Arrays.asList((ContactReason) null), null, null);
+
+		assertThat(snapshot.getStatuses().getValues()).isEmpty();
+		assertThat(snapshot.getCategories().getValues()).isEmpty();
+		assertThat(snapshot.getContactReasons().getValues()).isEmpty();
+		assertThat(snapshot.isValidated(CATEGORY)).isFalse();
+		assertThat(snapshot.hasLabels()).isFalse();
+	}
+}
@@ -0,0 +1,88 @@
+package se.sundsvall.supportmanagement.service.model;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.DbSubscriptionTargetType;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.EventFilterEmbeddable;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+
+import static java.time.OffsetDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NamespaceSubscriptionIndexTest {
+
+	private static final OffsetDateTime NOW = now();
+
+	private static SubscriptionEntity subscription(final String subscriberId, final List<EventFilterEmbeddable> subscriberFilters, final List<EventFilterEmbeddable> subscriptionFilters) {
+		return SubscriptionEntity.create()
+			.withSubscriber(SubscriberEntity.create().withId(subscriberId).withEventFilters(subscriberFilters))
+			.withTargetType(DbSubscriptionTargetType.NAMESPACE)
+			.withEventFilters(subscriptionFilters);
+	}
+
+	private static EventFilterEmbeddable filter(final String type, final String subtype) {
+		return EventFilterEmbeddable.create().withType(type).withSubtype(subtype);
+	}
+
+	@Test
+	void findWantingAppliesFilters() {
+		final var index = NamespaceSubscriptionIndex.of(1, List.of(
+			subscription("everything", null, null),
+			subscription("anyUpdate", null, List.of(filter("UPDATE", null))),
+			subscription("attachmentUpdate", List.of(filter("UPDATE", "ATTACHMENT")), List.of()),
+			subscription("create", List.of(filter("UPDATE", null)), List.of(filter("CREATE", null)))));
+
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.getSubscriber(2).getId()).isEqualTo("attachmentUpdate");
+		assertThat(index.findWanting("UPDATE", "ATTACHMENT", NOW).stream()).containsExactly(0, 1, 2);
+		assertThat(index.findWanting("UPDATE", "STATUS", NOW).stream()).containsExactly(0, 1);
+		assertThat(index.findWanting("UPDATE", null, NOW).stream()).containsExactly(0, 1);
+		assertThat(index.findWanting("CREATE", "ATTACHMENT", NOW).stream()).containsExactly(0, 3);
+		assertThat(index.findWanting("DELETE", null, NOW).stream()).containsExactly(0);
+	}
+
+	@Test
+	void findWantingLeavesOutExpiredSubscriptions() {
+		final var index = NamespaceSubscriptionIndex.of(1, List.of(
+			subscription("expired", null, null).withExpiresAt(NOW),
+			subscription("expiring", null, null).withExpiresAt(NOW.plusMinutes(1))));
+
+		assertThat(index.findWanting("CREATE", null, NOW).stream()).containsExactly(1);
+	}
+
+	@Test
+	void findWantingLeavesOutPausedSubscribers() {
+		final var paused = subscription("paused", null, null);
+		paused.getSubscriber().withPausedFrom(NOW.minusDays(1)).withPausedUntil(NOW.plusDays(1));
+		final var pausedUntilFurtherNotice = subscription("pausedUntilFurtherNotice", null, null);
+		pausedUntilFurtherNotice.getSubscriber().withPausedFrom(NOW.minusDays(1));
+		final var pauseEnded = subscription("pauseEnded", null, null);
+		pauseEnded.getSubscriber().withPausedFrom(NOW.minusDays(2)).withPausedUntil(NOW);
+		final var pauseAhead = subscription("pauseAhead", null, null);
+		pauseAhead.getSubscriber().withPausedFrom(NOW.plusDays(1));
+
+		final var index = NamespaceSubscriptionIndex.of(1, List.of(paused, pausedUntilFurtherNotice, pauseEnded, pauseAhead));
+
+		assertThat(index.findWanting("CREATE", null, NOW).stream()).containsExactly(2, 3);
+	}
+
+	@Test
+	void findWantingReturnsNewBitset() {
+		final var index = NamespaceSubscriptionIndex.of(1, List.of(subscription("everything", null, null)));
+
+		index.findWanting("CREATE", null, NOW).clear();
+
+		assertThat(index.findWanting("CREATE", null, NOW).stream()).containsExactly(0);
+	}
+
+	@Test
+	void emptyIndex() {
+		final var index = NamespaceSubscriptionIndex.of(2, null);
+
+		assertThat(index.getVersion()).isEqualTo(2);
+		assertThat(index.size()).isZero();
+		assertThat(index.findWanting("CREATE", null, NOW).isEmpty()).isTrue();
+	}
+}
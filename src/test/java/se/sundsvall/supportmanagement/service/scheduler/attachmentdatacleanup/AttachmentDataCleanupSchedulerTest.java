@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.attachmentdatacleanup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentDataCleanupSchedulerTest {
+
+	@Mock
+	private AttachmentDataCleanupWorker attachmentDataCleanupWorkerMock;
+
+	@InjectMocks
+	private AttachmentDataCleanupScheduler attachmentDataCleanupScheduler;
+
+	@Test
+	void deleteUnreferencedContent() {
+
+		// Act
+		attachmentDataCleanupScheduler.deleteUnreferencedContent();
+
+		// Verify
+		verify(attachmentDataCleanupWorkerMock).deleteUnreferencedContent();
+		verifyNoMoreInteractions(attachmentDataCleanupWorkerMock);
+	}
+}
@@ -0,0 +1,48 @@
+package se.sundsvall.supportmanagement.service.scheduler.attachmentdatacleanup;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.service.AttachmentDataService;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentDataCleanupWorkerTest {
+
+	@Mock
+	private AttachmentDataService attachmentDataServiceMock;
+
+	@InjectMocks
+	private AttachmentDataCleanupWorker worker;
+
+	@Test
+	void deleteUnreferencedContent() {
+		final var fullPage = IntStream.rangeClosed(1, 100).boxed().toList();
+		when(attachmentDataServiceMock.deleteUnreferenced(0, 100)).thenReturn(fullPage);
+		when(attachmentDataServiceMock.deleteUnreferenced(100, 100)).thenReturn(List.of(150, 170));
+
+		worker.deleteUnreferencedContent();
+
+		// The second page is not full, hence there is nothing left to look at
+		verify(attachmentDataServiceMock).deleteUnreferenced(0, 100);
+		verify(attachmentDataServiceMock).deleteUnreferenced(100, 100);
+		verifyNoMoreInteractions(attachmentDataServiceMock);
+	}
+
+	@Test
+	void deleteUnreferencedContentWhenThereIsNone() {
+		when(attachmentDataServiceMock.deleteUnreferenced(0, 100)).thenReturn(List.of());
+
+		worker.deleteUnreferencedContent();
+
+		verify(attachmentDataServiceMock).deleteUnreferenced(0, 100);
+		verifyNoMoreInteractions(attachmentDataServiceMock);
+	}
+}
@@ -0,0 +1,112 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.integration.blobstore.BlobStore;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlobMigrationBatchProcessorTest {
+
+	@Mock
+	private AttachmentDataRepository attachmentDataRepositoryMock;
+
+	@Mock
+	private BlobStore blobStoreMock;
+
+	@Mock
+	private EntityManager entityManagerMock;
+
+	@InjectMocks
+	private BlobMigrationBatchProcessor batchProcessor;
+
+	@Test
+	void processBatch() throws IOException {
+
+		// Arrange
+		final var attachmentData = AttachmentDataEntity.create().withId(1);
+		when(attachmentDataRepositoryMock.findById(1)).thenReturn(Optional.of(attachmentData));
+		doAnswer(_ -> attachmentData.withStorageKey("storageKey")).when(blobStoreMock).write(attachmentData);
+		when(attachmentDataRepositoryMock.moveContent(1, "storageKey")).thenReturn(1);
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of(1));
+
+		// Assert
+		assertThat(result).isOne();
+		verify(blobStoreMock, never()).delete(anyString());
+		verify(entityManagerMock).detach(attachmentData);
+	}
+
+	@Test
+	void processBatchSkipsDeletedAndMovedContent() {
+
+		// Arrange
+		when(attachmentDataRepositoryMock.findById(1)).thenReturn(Optional.empty());
+		when(attachmentDataRepositoryMock.findById(2)).thenReturn(Optional.of(AttachmentDataEntity.create().withId(2).withStorageKey("storageKey")));
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of(1, 2));
+
+		// Assert
+		assertThat(result).isZero();
+		verifyNoInteractions(blobStoreMock);
+		verify(attachmentDataRepositoryMock, never()).moveContent(anyInt(), anyString());
+	}
+
+	@Test
+	void processBatchDeletesBlobOfContentDeletedMeanwhile() throws IOException {
+
+		// Arrange
+		final var attachmentData = AttachmentDataEntity.create().withId(1);
+		when(attachmentDataRepositoryMock.findById(1)).thenReturn(Optional.of(attachmentData));
+		doAnswer(_ -> attachmentData.withStorageKey("storageKey")).when(blobStoreMock).write(attachmentData);
+		when(attachmentDataRepositoryMock.moveContent(1, "storageKey")).thenReturn(0);
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of(1));
+
+		// Assert
+		assertThat(result).isZero();
+		verify(blobStoreMock).delete("storageKey");
+	}
+
+	@Test
+	void processBatchContinuesWhenMoveFails() throws IOException {
+
+		// Arrange
+		final var failing = AttachmentDataEntity.create().withId(1);
+		final var attachmentData = AttachmentDataEntity.create().withId(2);
+		when(attachmentDataRepositoryMock.findById(1)).thenReturn(Optional.of(failing));
+		when(attachmentDataRepositoryMock.findById(2)).thenReturn(Optional.of(attachmentData));
+		doThrow(new IOException("Disk full")).when(blobStoreMock).write(failing);
+		doAnswer(_ -> attachmentData.withStorageKey("storageKey")).when(blobStoreMock).write(attachmentData);
+		when(attachmentDataRepositoryMock.moveContent(2, "storageKey")).thenReturn(1);
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of(1, 2));
+
+		// Assert
+		assertThat(result).isOne();
+		verify(entityManagerMock).detach(failing);
+		verify(entityManagerMock).detach(attachmentData);
+	}
+}
@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BlobMigrationSchedulerTest {
+
+	@Mock
+	private BlobMigrationWorker blobMigrationWorkerMock;
+
+	@InjectMocks
+	private BlobMigrationScheduler blobMigrationScheduler;
+
+	@Test
+	void moveContentToBlobStore() {
+
+		// Act
+		blobMigrationScheduler.moveContentToBlobStore();
+
+		// Verify
+		verify(blobMigrationWorkerMock).moveContentToBlobStore();
+		verifyNoMoreInteractions(blobMigrationWorkerMock);
+	}
+}
@@ -0,0 +1,80 @@
+package se.sundsvall.supportmanagement.service.scheduler.blobmigration;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.AttachmentDataRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlobMigrationWorkerTest {
+
+	@Mock
+	private AttachmentDataRepository attachmentDataRepositoryMock;
+
+	@Mock
+	private BlobMigrationBatchProcessor batchProcessorMock;
+
+	@InjectMocks
+	private BlobMigrationWorker blobMigrationWorker;
+
+	@BeforeEach
+	void setup() {
+		ReflectionTestUtils.setField(blobMigrationWorker, "blobStoreType", "filesystem");
+	}
+
+	@Test
+	void moveWhenContentIsKeptInDatabase() {
+
+		// Arrange
+		ReflectionTestUtils.setField(blobMigrationWorker, "blobStoreType", "database");
+
+		// Act
+		blobMigrationWorker.moveContentToBlobStore();
+
+		// Verify
+		verifyNoInteractions(attachmentDataRepositoryMock, batchProcessorMock);
+	}
+
+	@Test
+	void moveWhenNoContentToMove() {
+
+		// Arrange
+		when(attachmentDataRepositoryMock.findIdsWithContentInDatabase(0, Limit.of(100))).thenReturn(List.of());
+
+		// Act
+		blobMigrationWorker.moveContentToBlobStore();
+
+		// Verify
+		verifyNoInteractions(batchProcessorMock);
+	}
+
+	@Test
+	void moveContinuesAfterLastIdOfEachPage() {
+
+		// Arrange - the second page is fetched after the last id of the first, regardless of the outcome of the move
+		when(attachmentDataRepositoryMock.findIdsWithContentInDatabase(0, Limit.of(100))).thenReturn(List.of(1, 2));
+		when(attachmentDataRepositoryMock.findIdsWithContentInDatabase(2, Limit.of(100))).thenReturn(List.of(3));
+		when(attachmentDataRepositoryMock.findIdsWithContentInDatabase(3, Limit.of(100))).thenReturn(List.of());
+		when(batchProcessorMock.processBatch(any())).thenReturn(0);
+
+		// Act
+		blobMigrationWorker.moveContentToBlobStore();
+
+		// Verify
+		verify(batchProcessorMock).processBatch(List.of(1, 2));
+		verify(batchProcessorMock).processBatch(List.of(3));
+		verifyNoMoreInteractions(batchProcessorMock);
+	}
+}
@@ -0,0 +1,181 @@
+package se.sundsvall.supportmanagement.service.scheduler.emailreader;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.api.model.communication.EmailRequest;
+import se.sundsvall.supportmanagement.integration.db.EmailFollowUpRepository;
+import se.sundsvall.supportmanagement.integration.db.ProcessedEmailRepository;
+import se.sundsvall.supportmanagement.integration.db.model.EmailFollowUpEntity;
+import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEntity;
+import se.sundsvall.supportmanagement.integration.db.model.ProcessedEmailEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import static java.time.OffsetDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.DELETE_EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.SEND_CONFIRMATION;
+
+@ExtendWith(MockitoExtension.class)
+class EmailFollowUpServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+	private static final String EMAIL_ID = "email-id";
+	private static final String ERRAND_ID = "errand-id";
+	private static final String ENTRY_ID = "entry-id";
+	private static final EmailWorkerConfigEntity CONFIG = EmailWorkerConfigEntity.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
+
+	@Mock
+	private EmailFollowUpRepository emailFollowUpRepositoryMock;
+
+	@Mock
+	private ProcessedEmailRepository processedEmailRepositoryMock;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private EmailFollowUpService service;
+
+	@Captor
+	private ArgumentCaptor<EmailFollowUpEntity> entityCaptor;
+
+	@Captor
+	private ArgumentCaptor<ProcessedEmailEntity> processedEmailCaptor;
+
+	@Captor
+	private ArgumentCaptor<Pageable> pageableCaptor;
+
+	@Test
+	void enqueueDelete() {
+		service.enqueueDelete(CONFIG, EMAIL_ID, ERRAND_ID);
+
+		verify(emailFollowUpRepositoryMock).save(entityCaptor.capture());
+		final var entry = entityCaptor.getValue();
+		assertThat(entry.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+		assertThat(entry.getNamespace()).isEqualTo(NAMESPACE);
+		assertThat(entry.getEmailId()).isEqualTo(EMAIL_ID);
+		assertThat(entry.getErrandId()).isEqualTo(ERRAND_ID);
+		assertThat(entry.getType()).isEqualTo(DELETE_EMAIL);
+		assertThat(entry.getPayload()).isNull();
+		assertThat(entry.getAttempts()).isZero();
+		assertThat(service.toEmailRequest(entry)).isNull();
+
+		verify(processedEmailRepositoryMock).save(processedEmailCaptor.capture());
+		assertThat(processedEmailCaptor.getValue()).satisfies(processedEmail -> {
+			assertThat(processedEmail.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
+			assertThat(processedEmail.getNamespace()).isEqualTo(NAMESPACE);
+			assertThat(processedEmail.getEmailId()).isEqualTo(EMAIL_ID);
+			assertThat(processedEmail.getErrandId()).isEqualTo(ERRAND_ID);
+		});
+	}
+
+	@Test
+	void enqueueConfirmation() {
+		final var emailRequest = EmailRequest.create()
+			.withSender("sender@sender.se")
+			.withRecipient("recipient@recipient.se")
+			.withSubject("Bekräftelse ärende #KC-24010001")
+			.withMessage("message")
+			.withHtmlMessage("<p>message</p>");
+
+		service.enqueueConfirmation(CONFIG, EMAIL_ID, ERRAND_ID, emailRequest);
+
+		verify(emailFollowUpRepositoryMock).save(entityCaptor.capture());
+		final var entry = entityCaptor.getValue();
+		assertThat(entry.getType()).isEqualTo(SEND_CONFIRMATION);
+		assertThat(entry.getEmailId()).isEqualTo(EMAIL_ID);
+		assertThat(entry.getErrandId()).isEqualTo(ERRAND_ID);
+		assertThat(service.toEmailRequest(entry)).usingRecursiveComparison().isEqualTo(emailRequest);
+		verifyNoInteractions(processedEmailRepositoryMock);
+	}
+
+	@Test
+	void isStored() {
+		when(processedEmailRepositoryMock.existsByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, EMAIL_ID)).thenReturn(true);
+
+		assertThat(service.isStored(CONFIG, EMAIL_ID)).isTrue();
+		verifyNoInteractions(emailFollowUpRepositoryMock);
+	}
+
+	@Test
+	void findDue() {
+		final var entries = List.of(EmailFollowUpEntity.create());
+		when(emailFollowUpRepositoryMock.findByNextAttemptLessThanEqualOrderByCreated(any(), any())).thenReturn(entries);
+
+		assertThat(service.findDue(25)).isSameAs(entries);
+
+		verify(emailFollowUpRepositoryMock).findByNextAttemptLessThanEqualOrderByCreated(any(), pageableCaptor.capture());
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(25);
+	}
+
+	@Test
+	void markDone() {
+		service.markDone(EmailFollowUpEntity.create().withId(ENTRY_ID).withType(SEND_CONFIRMATION));
+
+		verify(emailFollowUpRepositoryMock).deleteById(ENTRY_ID);
+		verifyNoMoreInteractions(emailFollowUpRepositoryMock);
+		verifyNoInteractions(processedEmailRepositoryMock);
+	}
+
+	@Test
+	void markDoneWhenEmailIsDeleted() {
+		service.markDone(EmailFollowUpEntity.create().withId(ENTRY_ID).withType(DELETE_EMAIL).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE).withEmailId(EMAIL_ID));
+
+		verify(emailFollowUpRepositoryMock).deleteById(ENTRY_ID);
+		verify(processedEmailRepositoryMock).deleteByMunicipalityIdAndNamespaceAndEmailId(MUNICIPALITY_ID, NAMESPACE, EMAIL_ID);
+		verifyNoMoreInteractions(emailFollowUpRepositoryMock, processedEmailRepositoryMock);
+	}
+
+	@Test
+	void markFailedSchedulesRetryWithBackoff() {
+		final var entry = EmailFollowUpEntity.create().withId(ENTRY_ID).withAttempts(2);
+
+		service.markFailed(entry);
+
+		verify(emailFollowUpRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getAttempts()).isEqualTo(3);
+		// Third attempt failed: one minute doubled twice
+		assertThat(entityCaptor.getValue().getNextAttempt()).isCloseTo(now().plusMinutes(4), within(2, SECONDS));
+	}
+
+	@Test
+	void markFailedCapsBackoff() {
+		ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMinutes(5));
+		final var entry = EmailFollowUpEntity.create().withId(ENTRY_ID).withAttempts(8);
+
+		service.markFailed(entry);
+
+		verify(emailFollowUpRepositoryMock).save(entityCaptor.capture());
+		assertThat(entityCaptor.getValue().getNextAttempt()).isCloseTo(now().plusMinutes(5), within(2, SECONDS));
+	}
+
+	@Test
+	void markFailedGivesUpAfterMaxAttempts() {
+		final var entry = EmailFollowUpEntity.create().withId(ENTRY_ID).withType(DELETE_EMAIL).withAttempts(9);
+
+		service.markFailed(entry);
+
+		verify(emailFollowUpRepositoryMock).deleteById(ENTRY_ID);
+		verifyNoMoreInteractions(emailFollowUpRepositoryMock);
+		// The email is still recorded as processed, so it is not stored again while left in the mailbox
+		verifyNoInteractions(processedEmailRepositoryMock);
+	}
+}
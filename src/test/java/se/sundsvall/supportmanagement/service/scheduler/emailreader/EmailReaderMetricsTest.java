@@ -0,0 +1,38 @@
+package se.sundsvall.supportmanagement.service.scheduler.emailreader;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.FETCH_ATTACHMENT;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.Stage.PROCESS_EMAIL;
+import static se.sundsvall.supportmanagement.service.scheduler.emailreader.EmailReaderMetrics.TIMER_NAME;
+
+class EmailReaderMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final EmailReaderMetrics emailReaderMetrics = new EmailReaderMetrics(meterRegistry);
+
+	@Test
+	void recordSupplier() {
+		final var result = emailReaderMetrics.record(FETCH_ATTACHMENT, () -> "result");
+
+		assertThat(result).isEqualTo("result");
+		assertThat(meterRegistry.get(TIMER_NAME).tag("stage", "fetch_attachment").timer().count()).isOne();
+	}
+
+	@Test
+	void recordRunnable() {
+		final var executed = new boolean[1];
+
+		emailReaderMetrics.record(PROCESS_EMAIL, () -> {
+			executed[0] = true;
+		});
+		emailReaderMetrics.record(PROCESS_EMAIL, () -> {});
+
+		assertThat(executed[0]).isTrue();
+		assertThat(meterRegistry.get(TIMER_NAME).tag("stage", "process_email").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.find(TIMER_NAME).tag("stage", "fetch_attachment").timer()).isNull();
+	}
+}
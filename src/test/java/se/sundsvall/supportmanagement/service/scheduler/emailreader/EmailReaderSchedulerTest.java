@@ -1,7 +1,10 @@
 package se.sundsvall.supportmanagement.service.scheduler.emailreader;
 
 import generated.se.sundsvall.emailreader.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.scheduling.health.Dept44HealthUtility;
@@ -17,8 +21,12 @@ import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEnti
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -39,6 +47,8 @@ class EmailReaderSchedulerTest {
 	private Email emailMock2;
 	@Mock
 	private Consumer<String> consumerMock;
+	@Spy
+	private EmailReaderMetrics emailReaderMetrics = new EmailReaderMetrics(new SimpleMeterRegistry());
 	@InjectMocks
 	private EmailReaderScheduler emailReaderScheduler;
 
@@ -50,33 +60,99 @@ class EmailReaderSchedulerTest {
 	@Test
 	void getAndProcessEmails() {
 		// ARRANGE
+		final var stagedEmail = new StagedEmail(emailMock1, Map.of());
 		when(emailReaderWorkerMock.getEnabledEmailConfigs()).thenReturn(Set.of(emailWorkerConfigEntityMock));
 		when(emailReaderWorkerMock.getEmailsFromConfig(any())).thenReturn(List.of(emailMock1));
+		when(emailReaderWorkerMock.stageEmail(any(), any())).thenReturn(Optional.of(stagedEmail));
 		// Act
 		emailReaderScheduler.getAndProcessEmails();
 		// Verify
 		verify(emailReaderWorkerMock).getEnabledEmailConfigs();
 		verify(emailReaderWorkerMock).getEmailsFromConfig(same(emailWorkerConfigEntityMock));
-		verify(emailReaderWorkerMock).processEmail(same(emailMock1), same(emailWorkerConfigEntityMock), any());
+		verify(emailReaderWorkerMock).stageEmail(same(emailMock1), same(emailWorkerConfigEntityMock));
+		verify(emailReaderWorkerMock).processEmail(same(stagedEmail), same(emailWorkerConfigEntityMock));
+		verify(emailReaderWorkerMock).processFollowUps(any());
 		verifyNoMoreInteractions(emailReaderWorkerMock, consumerMock);
 	}
 
+	@Test
+	void getAndProcessEmailsWhenNothingToStore() {
+		// ARRANGE
+		when(emailReaderWorkerMock.getEnabledEmailConfigs()).thenReturn(Set.of(emailWorkerConfigEntityMock));
+		when(emailReaderWorkerMock.getEmailsFromConfig(any())).thenReturn(List.of(emailMock1));
+		when(emailReaderWorkerMock.stageEmail(any(), any())).thenReturn(Optional.empty());
+		// Act
+		emailReaderScheduler.getAndProcessEmails();
+		// Verify
+		verify(emailReaderWorkerMock).stageEmail(same(emailMock1), same(emailWorkerConfigEntityMock));
+		verify(emailReaderWorkerMock, never()).processEmail(any(), any());
+		verify(emailReaderWorkerMock).processFollowUps(any());
+	}
+
 	@Test
 	void getAndProcessEmailsThrowsException() {
 		// ARRANGE
 		when(emailReaderWorkerMock.getEnabledEmailConfigs()).thenReturn(Set.of(emailWorkerConfigEntityMock));
 		when(emailReaderWorkerMock.getEmailsFromConfig(any())).thenReturn(List.of(emailMock1, emailMock2));
 
-		doThrow(new RuntimeException("error")).when(emailReaderWorkerMock).processEmail(same(emailMock1), any(), any());
+		doThrow(new RuntimeException("error")).when(emailReaderWorkerMock).stageEmail(same(emailMock1), any());
 		// Act
 		emailReaderScheduler.getAndProcessEmails();
 		// Verify
 		final ArgumentCaptor<Email> emailArgumentCaptor = ArgumentCaptor.forClass(Email.class);
 		verify(emailReaderWorkerMock).getEnabledEmailConfigs();
 		verify(emailReaderWorkerMock).getEmailsFromConfig(same(emailWorkerConfigEntityMock));
-		verify(emailReaderWorkerMock, times(2)).processEmail(emailArgumentCaptor.capture(), same(emailWorkerConfigEntityMock), any());
-		assertThat(emailArgumentCaptor.getAllValues()).containsExactly(emailMock1, emailMock2);
+		verify(emailReaderWorkerMock, times(2)).stageEmail(emailArgumentCaptor.capture(), same(emailWorkerConfigEntityMock));
+		assertThat(emailArgumentCaptor.getAllValues()).containsExactlyInAnyOrder(emailMock1, emailMock2);
+		verify(healthIndicatorMock).setHealthIndicatorUnhealthy("emailreader", "Email error: Error processing email");
+		verify(emailReaderWorkerMock).processFollowUps(any());
 		verifyNoMoreInteractions(emailReaderWorkerMock, consumerMock);
 	}
 
+	@Test
+	void getAndProcessEmailsKeepsOrderPerErrand() {
+		// ARRANGE
+		final var emailMock3 = mock(Email.class);
+		when(emailMock1.getSubject()).thenReturn("Re: #KC-24010001 first");
+		when(emailMock2.getSubject()).thenReturn("Re: #KC-24010002 other");
+		when(emailMock3.getSubject()).thenReturn("Re: #KC-24010001 second");
+		when(emailReaderWorkerMock.getEnabledEmailConfigs()).thenReturn(Set.of(emailWorkerConfigEntityMock));
+		when(emailReaderWorkerMock.getEmailsFromConfig(any())).thenReturn(List.of(emailMock1, emailMock2, emailMock3));
+		// Act
+		emailReaderScheduler.getAndProcessEmails();
+		// Verify
+		final var inOrder = inOrder(emailReaderWorkerMock);
+		inOrder.verify(emailReaderWorkerMock).stageEmail(same(emailMock1), same(emailWorkerConfigEntityMock));
+		inOrder.verify(emailReaderWorkerMock).stageEmail(same(emailMock3), same(emailWorkerConfigEntityMock));
+		verify(emailReaderWorkerMock).stageEmail(same(emailMock2), same(emailWorkerConfigEntityMock));
+	}
+
+	@Test
+	void getAndProcessEmailsContinuesWhenMailboxFails() {
+		// ARRANGE
+		final var failingConfigMock = mock(EmailWorkerConfigEntity.class);
+		when(emailReaderWorkerMock.getEnabledEmailConfigs()).thenReturn(Set.of(failingConfigMock, emailWorkerConfigEntityMock));
+		when(emailReaderWorkerMock.getEmailsFromConfig(same(failingConfigMock))).thenThrow(new RuntimeException("error"));
+		when(emailReaderWorkerMock.getEmailsFromConfig(same(emailWorkerConfigEntityMock))).thenReturn(List.of(emailMock1));
+		// Act
+		emailReaderScheduler.getAndProcessEmails();
+		// Verify
+		verify(emailReaderWorkerMock).stageEmail(same(emailMock1), same(emailWorkerConfigEntityMock));
+		verify(emailReaderWorkerMock, never()).stageEmail(any(), same(failingConfigMock));
+		verify(healthIndicatorMock).setHealthIndicatorUnhealthy(eq("emailreader"), eq("Email error: Error fetching emails"));
+	}
+
+	@Test
+	void groupByErrand() {
+		// ARRANGE
+		final var emailMock3 = mock(Email.class);
+		when(emailMock1.getSubject()).thenReturn("Re: #KC-24010001 first");
+		when(emailMock2.getSubject()).thenReturn("New errand");
+		when(emailMock3.getSubject()).thenReturn("Re: #KC-24010001 second");
+		// Act
+		final var result = EmailReaderScheduler.groupByErrand(List.of(emailMock1, emailMock2, emailMock3));
+		// Verify
+		assertThat(result).containsExactly(List.of(emailMock1, emailMock3), List.of(emailMock2));
+	}
+
 }
@@ -1,7 +1,9 @@
 package se.sundsvall.supportmanagement.service.scheduler.emailreader;
 
 import generated.se.sundsvall.emailreader.Email;
+import generated.se.sundsvall.emailreader.EmailAttachment;
 import generated.se.sundsvall.eventlog.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
@@ -14,10 +16,14 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.supportmanagement.api.model.communication.EmailRequest;
 import se.sundsvall.supportmanagement.api.model.errand.Errand;
 import se.sundsvall.supportmanagement.integration.db.EmailWorkerConfigRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
+import se.sundsvall.supportmanagement.integration.db.model.EmailFollowUpEntity;
 import se.sundsvall.supportmanagement.integration.db.model.EmailWorkerConfigEntity;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationAttachmentEntity;
@@ -29,6 +35,7 @@ import se.sundsvall.supportmanagement.service.ErrandService;
 import se.sundsvall.supportmanagement.service.EventService;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -37,10 +44,13 @@ import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.DELETE_EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EmailFollowUpType.SEND_CONFIRMATION;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.MESSAGE;
 
 class EmailReaderWorkerTest {
@@ -72,9 +82,15 @@ class EmailReaderWorkerTest {
 	@Mock
 	private ErrandNumberGeneratorService errandNumberGeneratorServiceMock;
 
+	@Mock
+	private EmailFollowUpService emailFollowUpServiceMock;
+
 	@Mock
 	private Consumer<String> consumerMock;
 
+	@Spy
+	private EmailReaderMetrics emailReaderMetrics = new EmailReaderMetrics(new SimpleMeterRegistry());
+
 	@InjectMocks
 	private EmailReaderWorker emailReaderWorker;
 
@@ -118,25 +134,23 @@ class EmailReaderWorkerTest {
 
 		when(errandRepositoryMock.findByErrandNumberAndNamespace(anyString(), anyString())).thenReturn(Optional.of(errandEntity));
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
-		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 2)).thenReturn(bytes);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of("2", bytes)), emailConfig);
 
 		verify(errandRepositoryMock).findByErrandNumberAndNamespace("PRH-2022-000001", NAMESPACE);
 		verify(errandRepositoryMock).save(same(errandEntity));
 		verify(emailReaderMapperMock).toCommunicationEntity(same(email), same(errandEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
 		verify(communicationServiceMock).saveAttachment(same(communicationEntity), same(errandEntity));
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
 		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errandEntity), isNull(), isNull(), eq(MESSAGE));
-		verify(emailReaderClientMock).getAttachment(MUNICIPALITY_ID, 2);
 		verify(emailReaderMapperMock).toAttachmentDataEntity(bytes);
-		verifyNoInteractions(errandServiceMock);
-		verifyNoMoreInteractions(emailReaderClientMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, consumerMock);
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
+		verifyNoInteractions(errandServiceMock, emailReaderClientMock);
+		verifyNoMoreInteractions(errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, emailFollowUpServiceMock, consumerMock);
 	}
 
 	@Test
-	void shouldProcessEmailsWhenNullInAttachmentData() {
+	void shouldProcessEmailsWhenAttachmentContentIsMissing() {
 		final var email = new Email();
 		email.setSubject("Ärende #PRH-2022-000002 Ansökan om bygglov för fastighet KATARINA 3");
 		email.setId("id");
@@ -147,21 +161,19 @@ class EmailReaderWorkerTest {
 
 		when(errandRepositoryMock.findByErrandNumberAndNamespace(anyString(), anyString())).thenReturn(Optional.of(errandEntity));
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
-		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 2)).thenReturn(null);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of()), emailConfig);
 
 		verify(errandRepositoryMock).findByErrandNumberAndNamespace("PRH-2022-000002", NAMESPACE);
 		verify(errandRepositoryMock).save(same(errandEntity));
 		verify(emailReaderMapperMock).toCommunicationEntity(same(email), same(errandEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
 		verify(communicationServiceMock).saveAttachment(same(communicationEntity), same(errandEntity));
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
 		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errandEntity), isNull(), isNull(), eq(MESSAGE));
-		verify(emailReaderClientMock).getAttachment(MUNICIPALITY_ID, 2);
 		verify(emailReaderMapperMock).toAttachmentDataEntity(new byte[0]);
-		verifyNoInteractions(errandServiceMock);
-		verifyNoMoreInteractions(emailReaderClientMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, consumerMock);
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
+		verifyNoInteractions(errandServiceMock, emailReaderClientMock);
+		verifyNoMoreInteractions(errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, emailFollowUpServiceMock, consumerMock);
 	}
 
 	@Test
@@ -181,19 +193,19 @@ class EmailReaderWorkerTest {
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
 		when(emailReaderMapperMock.createEmailRequest(any(Email.class), any(String.class), any(String.class), any(String.class), any(String.class))).thenReturn(emailRequest);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of()), emailConfig);
 
 		verify(errandRepositoryMock).findByErrandNumberAndNamespace("PRH-2022-000002", NAMESPACE);
 		verify(emailReaderMapperMock).createEmailRequest(same(email), eq(emailConfig.getErrandClosedEmailSender()), eq(emailConfig.getErrandClosedEmailTemplate()), eq(emailConfig.getErrandClosedEmailHTMLTemplate()),
 			eq("Ärende #PRH-2022-000002 Ansökan om bygglov för fastighet KATARINA 4"));
-		verify(communicationServiceMock).sendEmail(eq(errandEntity), same(emailRequest));
 		verify(emailReaderMapperMock).toCommunicationEntity(same(email), same(errandEntity));
 		verify(communicationServiceMock).saveAttachment(same(communicationEntity), same(errandEntity));
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
 		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errandEntity), isNull(), isNull(), eq(MESSAGE));
-		verifyNoInteractions(errandServiceMock);
-		verifyNoMoreInteractions(emailReaderClientMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock);
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
+		verify(emailFollowUpServiceMock).enqueueConfirmation(same(emailConfig), eq(email.getId()), eq(errandEntity.getId()), same(emailRequest));
+		verifyNoInteractions(errandServiceMock, emailReaderClientMock);
+		verifyNoMoreInteractions(errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, emailFollowUpServiceMock);
 	}
 
 	@Test
@@ -209,29 +221,10 @@ class EmailReaderWorkerTest {
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
 		doThrow(new RuntimeException("EventLog down")).when(eventServiceMock).createErrandEvent(any(), any(), any(), any(), any(), any());
 
-		assertThatNoException().isThrownBy(() -> emailReaderWorker.processEmail(email, emailConfig, consumerMock));
+		assertThatNoException().isThrownBy(() -> emailReaderWorker.processEmail(new StagedEmail(email, Map.of()), emailConfig));
 
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
-	}
-
-	@Test
-	void processEmail_deleteEmailFails_emailStillProcessed() {
-		final var email = new Email();
-		email.setSubject("Ärende #PRH-2022-000001 Some subject");
-		email.setId("id");
-		final var emailConfig = buildBaseConfig().withDaysOfInactivityBeforeReject(5).withStatusForNew("NEW").withTriggerStatusChangeOn("SOLVED").withStatusChangeTo("ONGOING").withInactiveStatus("SOLVED");
-		final var errandEntity = ErrandEntity.create().withId("id").withStatus("SOLVED").withCreated(OffsetDateTime.now().minusDays(1)).withModified(OffsetDateTime.now()).withTouched(OffsetDateTime.now());
-		final var communicationEntity = CommunicationEntity.create();
-
-		when(errandRepositoryMock.findByErrandNumberAndNamespace(anyString(), anyString())).thenReturn(Optional.of(errandEntity));
-		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
-		doThrow(new RuntimeException("EmailReader down")).when(emailReaderClientMock).deleteEmail(any(), any());
-
-		assertThatNoException().isThrownBy(() -> emailReaderWorker.processEmail(email, emailConfig, consumerMock));
-
-		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
 	}
 
 	@Test
@@ -255,19 +248,20 @@ class EmailReaderWorkerTest {
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
 		when(emailReaderMapperMock.createEmailRequest(any(Email.class), any(String.class), any(String.class), any(String.class), any(String.class))).thenReturn(emailRequest);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of()), emailConfig);
 
 		verify(errandRepositoryMock).findById(errandEntity.getId());
 		verify(emailReaderMapperMock).createEmailRequest(email.subject("Bekräftelse ärende #errandNumber Ansökan om bygglov för fastighet KATARINA 4"), emailConfig.getErrandNewEmailSender(), emailConfig.getErrandNewEmailTemplate(),
 			emailConfig.getErrandNewEmailHTMLTemplate(), "Bekräftelse ärende #errandNumber Ansökan om bygglov för fastighet KATARINA 4");
 		verify(emailReaderMapperMock).toErrand(same(email), eq(emailConfig));
-		verify(communicationServiceMock).sendEmail(eq(errandEntity), same(emailRequest));
 		verify(emailReaderMapperMock).toCommunicationEntity(same(email), same(errandEntity));
 		verify(communicationServiceMock).saveAttachment(same(communicationEntity), same(errandEntity));
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
 		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errandEntity), isNull(), isNull(), eq(MESSAGE));
-		verifyNoMoreInteractions(emailReaderClientMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock);
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
+		verify(emailFollowUpServiceMock).enqueueConfirmation(same(emailConfig), eq(email.getId()), eq(errandEntity.getId()), same(emailRequest));
+		verifyNoInteractions(emailReaderClientMock);
+		verifyNoMoreInteractions(errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, emailWorkerConfigRepositoryMock, eventServiceMock, emailFollowUpServiceMock);
 	}
 
 	@Test
@@ -287,17 +281,18 @@ class EmailReaderWorkerTest {
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
 		when(emailReaderMapperMock.toErrand(any(), any())).thenReturn(errand);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of()), emailConfig);
 
 		verify(errandRepositoryMock).findById(errandEntity.getId());
 		verify(emailReaderMapperMock).toErrand(same(email), same(emailConfig));
 		verify(errandServiceMock).createErrand(eq(emailConfig.getNamespace()), eq(emailConfig.getMunicipalityId()), same(errand), isNull());
 		verify(emailReaderMapperMock).toCommunicationEntity(same(email), same(errandEntity));
-		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
 		verify(communicationServiceMock).saveAttachment(same(communicationEntity), same(errandEntity));
 		verify(communicationServiceMock).saveCommunication(same(communicationEntity));
 		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errandEntity), isNull(), isNull(), eq(MESSAGE));
-		verifyNoMoreInteractions(emailWorkerConfigRepositoryMock, emailReaderClientMock, errandServiceMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, eventServiceMock);
+		verify(emailFollowUpServiceMock).enqueueDelete(emailConfig, email.getId(), errandEntity.getId());
+		verifyNoInteractions(emailReaderClientMock);
+		verifyNoMoreInteractions(emailWorkerConfigRepositoryMock, errandServiceMock, errandRepositoryMock, emailReaderMapperMock, communicationServiceMock, eventServiceMock, emailFollowUpServiceMock);
 	}
 
 	@Test
@@ -309,10 +304,10 @@ class EmailReaderWorkerTest {
 
 		final var emailConfig = buildBaseConfig().withStatusForNew("NEW").withIgnoreAutoReply(true);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		assertThat(emailReaderWorker.stageEmail(email, emailConfig)).isEmpty();
 
 		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
-		verifyNoInteractions(errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock);
+		verifyNoInteractions(errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock, emailFollowUpServiceMock);
 		verifyNoMoreInteractions(emailReaderClientMock);
 	}
 
@@ -328,38 +323,173 @@ class EmailReaderWorkerTest {
 
 		final var emailConfig = buildBaseConfig().withStatusForNew("NEW").withIgnoreNoReply(true);
 
-		emailReaderWorker.processEmail(email, emailConfig, consumerMock);
+		assertThat(emailReaderWorker.stageEmail(email, emailConfig)).isEmpty();
 
 		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, email.getId());
-		verifyNoInteractions(errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock);
+		verifyNoInteractions(errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock, emailFollowUpServiceMock);
 		verifyNoMoreInteractions(emailReaderClientMock);
 	}
 
+	private EmailWorkerConfigEntity buildBaseConfig() {
+		return EmailWorkerConfigEntity.create().withEnabled(true).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
+	}
+
 	@Test
-	void processEmailWithInvalidSendEmailLogsErrorAndContinues() {
-		final var email = new Email();
-		email.setSubject("Ärende #PRH-2022-000001 Subject");
-		email.setId("id");
-		email.setSender("user@domain.com");
+	void stageEmail() {
+		final var email = new Email().id("id").subject("Subject").attachments(List.of(
+			new EmailAttachment().id(1L), new EmailAttachment().id(2L), new EmailAttachment().id(3L)));
+		final var emailConfig = buildBaseConfig();
+
+		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 1)).thenReturn("a".getBytes());
+		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 2)).thenReturn("bb".getBytes());
+		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 3)).thenReturn(null);
+
+		final var result = emailReaderWorker.stageEmail(email, emailConfig);
+
+		assertThat(result).hasValueSatisfying(stagedEmail -> {
+			assertThat(stagedEmail.email()).isSameAs(email);
+			assertThat(stagedEmail.attachments()).containsOnlyKeys("1", "2", "3");
+			assertThat(stagedEmail.attachments().get("1")).isEqualTo("a".getBytes());
+			assertThat(stagedEmail.attachments().get("2")).isEqualTo("bb".getBytes());
+			assertThat(stagedEmail.attachments().get("3")).isEmpty();
+		});
+		verify(emailFollowUpServiceMock).isStored(emailConfig, "id");
+		verifyNoInteractions(errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock);
+	}
 
-		final var emailConfig = buildBaseConfig().withErrandClosedEmailSender("sender").withErrandClosedEmailTemplate("template").withDaysOfInactivityBeforeReject(5)
-			.withStatusForNew("NEW").withTriggerStatusChangeOn("SOLVED").withStatusChangeTo("ONGOING").withInactiveStatus("SOLVED");
-		final var errandEntity = ErrandEntity.create().withId("id").withStatus("SOLVED").withCreated(OffsetDateTime.now().minusDays(6)).withTouched(OffsetDateTime.now().minusDays(6));
-		final var communicationEntity = CommunicationEntity.create();
-		final var emailRequest = new EmailRequest();
+	@Test
+	void stageEmailWithoutAttachments() {
+		final var email = new Email().id("id").subject("Subject");
+
+		final var result = emailReaderWorker.stageEmail(email, buildBaseConfig());
+
+		assertThat(result).hasValueSatisfying(stagedEmail -> assertThat(stagedEmail.attachments()).isEmpty());
+		verifyNoInteractions(emailReaderClientMock);
+	}
+
+	@Test
+	void stageEmailAlreadyStored() {
+		final var email = new Email().id("id").subject("Subject").attachments(List.of(new EmailAttachment().id(1L)));
+		final var emailConfig = buildBaseConfig();
+		when(emailFollowUpServiceMock.isStored(emailConfig, "id")).thenReturn(true);
+
+		assertThat(emailReaderWorker.stageEmail(email, emailConfig)).isEmpty();
+
+		verifyNoInteractions(emailReaderClientMock, errandRepositoryMock, errandServiceMock, communicationServiceMock, eventServiceMock, emailReaderMapperMock);
+	}
+
+	@Test
+	void stageEmailWhenDownloadFails() {
+		final var email = new Email().id("id").subject("Subject").attachments(List.of(new EmailAttachment().id(1L), new EmailAttachment().id(2L)));
+
+		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 1)).thenThrow(new IllegalStateException("Not available"));
+		when(emailReaderClientMock.getAttachment(MUNICIPALITY_ID, 2)).thenReturn("bb".getBytes());
+
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> emailReaderWorker.stageEmail(email, buildBaseConfig()))
+			.withMessage("Not available");
+	}
+
+	@Test
+	void processEmailAttachesStagedContentInOrder() {
+		final var email = new Email().id("id").subject("Ärende #PRH-2022-000001 Subject");
+		final var attachment1 = CommunicationAttachmentEntity.create().withForeignId("1");
+		final var attachment2 = CommunicationAttachmentEntity.create().withForeignId("2");
+		final var communicationEntity = CommunicationEntity.create().withAttachments(List.of(attachment1, attachment2));
+		final var errandEntity = ErrandEntity.create().withId("errandId").withStatus("ONGOING");
+		final var attachmentData1 = AttachmentDataEntity.create().withId(1);
+		final var attachmentData2 = AttachmentDataEntity.create().withId(2);
 
 		when(errandRepositoryMock.findByErrandNumberAndNamespace(anyString(), anyString())).thenReturn(Optional.of(errandEntity));
 		when(emailReaderMapperMock.toCommunicationEntity(any(), any())).thenReturn(communicationEntity);
-		when(emailReaderMapperMock.createEmailRequest(any(Email.class), any(), any(), any(), any())).thenReturn(emailRequest);
+		when(emailReaderMapperMock.toAttachmentDataEntity("a".getBytes())).thenReturn(attachmentData1);
+		when(emailReaderMapperMock.toAttachmentDataEntity("bb".getBytes())).thenReturn(attachmentData2);
+
+		emailReaderWorker.processEmail(new StagedEmail(email, Map.of("2", "bb".getBytes(), "1", "a".getBytes())), buildBaseConfig());
+
+		assertThat(attachment1.getAttachmentData()).isSameAs(attachmentData1);
+		assertThat(attachment1.getFileSize()).isEqualTo(1);
+		assertThat(attachment2.getAttachmentData()).isSameAs(attachmentData2);
+		assertThat(attachment2.getFileSize()).isEqualTo(2);
+	}
+
+	@Test
+	void processFollowUps() {
+		final var errandEntity = ErrandEntity.create().withId("errandId");
+		final var emailRequest = new EmailRequest();
+		final var deleteEntry = EmailFollowUpEntity.create().withId("1").withType(DELETE_EMAIL).withMunicipalityId(MUNICIPALITY_ID).withEmailId("emailId").withErrandId("errandId");
+		final var confirmationEntry = EmailFollowUpEntity.create().withId("2").withType(SEND_CONFIRMATION).withMunicipalityId(MUNICIPALITY_ID).withEmailId("emailId").withErrandId("errandId");
+
+		when(emailFollowUpServiceMock.findDue(100)).thenReturn(List.of(deleteEntry, confirmationEntry));
+		when(emailFollowUpServiceMock.toEmailRequest(confirmationEntry)).thenReturn(emailRequest);
+		when(errandRepositoryMock.findById("errandId")).thenReturn(Optional.of(errandEntity));
+
+		emailReaderWorker.processFollowUps(consumerMock);
+
+		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, "emailId");
+		verify(communicationServiceMock).sendEmail(same(errandEntity), same(emailRequest));
+		verify(emailFollowUpServiceMock).markDone(deleteEntry);
+		verify(emailFollowUpServiceMock).markDone(confirmationEntry);
+		verify(emailFollowUpServiceMock, never()).markFailed(any());
+		verifyNoInteractions(consumerMock);
+	}
+
+	@Test
+	void processFollowUpsWhenDeleteFails() {
+		final var entry = EmailFollowUpEntity.create().withId("1").withType(DELETE_EMAIL).withMunicipalityId(MUNICIPALITY_ID).withEmailId("emailId");
+
+		when(emailFollowUpServiceMock.findDue(100)).thenReturn(List.of(entry));
+		doThrow(new RuntimeException("EmailReader down")).when(emailReaderClientMock).deleteEmail(any(), any());
+
+		assertThatNoException().isThrownBy(() -> emailReaderWorker.processFollowUps(consumerMock));
+
+		verify(emailFollowUpServiceMock).markFailed(entry);
+		verify(emailFollowUpServiceMock, never()).markDone(any());
+		verify(consumerMock).accept("Failed to delete email from EmailReader");
+	}
+
+	@Test
+	void processFollowUpsWhenSendFails() {
+		final var errandEntity = ErrandEntity.create().withId("errandId");
+		final var entry = EmailFollowUpEntity.create().withId("1").withType(SEND_CONFIRMATION).withErrandId("errandId");
+
+		when(emailFollowUpServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(emailFollowUpServiceMock.toEmailRequest(entry)).thenReturn(new EmailRequest());
+		when(errandRepositoryMock.findById("errandId")).thenReturn(Optional.of(errandEntity));
 		doThrow(new RuntimeException("Messaging down")).when(communicationServiceMock).sendEmail(any(ErrandEntity.class), any());
 
-		assertThatNoException().isThrownBy(() -> emailReaderWorker.processEmail(email, emailConfig, consumerMock));
+		assertThatNoException().isThrownBy(() -> emailReaderWorker.processFollowUps(consumerMock));
 
+		verify(emailFollowUpServiceMock).markFailed(entry);
+		verify(emailFollowUpServiceMock, never()).markDone(any());
 		verify(consumerMock).accept("Failed to send confirmation email");
-		verify(communicationServiceMock, never()).sendEmail(any(ErrandEntity.class), eq(null));
 	}
 
-	private EmailWorkerConfigEntity buildBaseConfig() {
-		return EmailWorkerConfigEntity.create().withEnabled(true).withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
+	@Test
+	void processFollowUpsWhenErrandIsGone() {
+		final var entry = EmailFollowUpEntity.create().withId("1").withType(SEND_CONFIRMATION).withErrandId("errandId");
+
+		when(emailFollowUpServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(errandRepositoryMock.findById("errandId")).thenReturn(Optional.empty());
+
+		emailReaderWorker.processFollowUps(consumerMock);
+
+		verify(emailFollowUpServiceMock).markDone(entry);
+		verifyNoInteractions(communicationServiceMock, consumerMock);
+	}
+
+	@Test
+	void processFollowUpsReadsBatchesUntilEmpty() {
+		ReflectionTestUtils.setField(emailReaderWorker, "followUpBatchSize", 1);
+		final var entry1 = EmailFollowUpEntity.create().withId("1").withType(DELETE_EMAIL).withMunicipalityId(MUNICIPALITY_ID).withEmailId("emailId1");
+		final var entry2 = EmailFollowUpEntity.create().withId("2").withType(DELETE_EMAIL).withMunicipalityId(MUNICIPALITY_ID).withEmailId("emailId2");
+
+		when(emailFollowUpServiceMock.findDue(1)).thenReturn(List.of(entry1), List.of(entry2), List.of());
+
+		emailReaderWorker.processFollowUps(consumerMock);
+
+		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, "emailId1");
+		verify(emailReaderClientMock).deleteEmail(MUNICIPALITY_ID, "emailId2");
+		verify(emailFollowUpServiceMock, times(3)).findDue(1);
 	}
 }
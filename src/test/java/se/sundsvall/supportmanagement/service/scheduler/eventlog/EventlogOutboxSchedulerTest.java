@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.eventlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EventlogOutboxSchedulerTest {
+
+	@Mock
+	private EventlogOutboxWorker eventlogOutboxWorkerMock;
+
+	@InjectMocks
+	private EventlogOutboxScheduler eventlogOutboxScheduler;
+
+	@Test
+	void publishEvents() {
+
+		// Act
+		eventlogOutboxScheduler.publishEvents();
+
+		// Verify
+		verify(eventlogOutboxWorkerMock).publishPendingEvents();
+		verifyNoMoreInteractions(eventlogOutboxWorkerMock);
+	}
+}
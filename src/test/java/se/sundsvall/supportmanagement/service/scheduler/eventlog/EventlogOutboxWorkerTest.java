@@ -0,0 +1,120 @@
+package se.sundsvall.supportmanagement.service.scheduler.eventlog;
+
+import generated.se.sundsvall.eventlog.Event;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.model.EventlogOutboxEntity;
+import se.sundsvall.supportmanagement.integration.eventlog.EventlogClient;
+import se.sundsvall.supportmanagement.service.EventlogOutboxService;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventlogOutboxWorkerTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String LOG_KEY = "log-key";
+	private static final String EVENT_ID = "event-id";
+
+	@Mock
+	private EventlogOutboxService eventlogOutboxServiceMock;
+
+	@Mock
+	private EventlogClient eventlogClientMock;
+
+	@InjectMocks
+	private EventlogOutboxWorker worker;
+
+	@Test
+	void publishPendingEventsWhenOutboxIsEmpty() {
+		when(eventlogOutboxServiceMock.findDue(100)).thenReturn(emptyList());
+
+		worker.publishPendingEvents();
+
+		verify(eventlogOutboxServiceMock).findDue(100);
+		verifyNoMoreInteractions(eventlogOutboxServiceMock);
+		verifyNoInteractions(eventlogClientMock);
+	}
+
+	@Test
+	void publishPendingEvents() {
+		final var entry = EventlogOutboxEntity.create().withId("id").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+		final var event = new Event().message("message");
+
+		when(eventlogOutboxServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(eventlogOutboxServiceMock.toEvent(entry)).thenReturn(event);
+		when(eventlogClientMock.createEvent(MUNICIPALITY_ID, LOG_KEY, event)).thenReturn(ResponseEntity.created(URI.create("https://eventlog/" + EVENT_ID)).build());
+
+		worker.publishPendingEvents();
+
+		verify(eventlogClientMock).createEvent(MUNICIPALITY_ID, LOG_KEY, event);
+		verify(eventlogOutboxServiceMock).markPublished(entry, EVENT_ID);
+		verify(eventlogOutboxServiceMock).findDue(100);
+		verify(eventlogOutboxServiceMock).toEvent(entry);
+		verifyNoMoreInteractions(eventlogOutboxServiceMock, eventlogClientMock);
+	}
+
+	@Test
+	void publishPendingEventsWhenEventlogFails() {
+		final var entry = EventlogOutboxEntity.create().withId("id").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+		final var event = new Event().message("message");
+
+		when(eventlogOutboxServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(eventlogOutboxServiceMock.toEvent(entry)).thenReturn(event);
+		when(eventlogClientMock.createEvent(MUNICIPALITY_ID, LOG_KEY, event)).thenThrow(new RuntimeException("Service unavailable"));
+
+		worker.publishPendingEvents();
+
+		verify(eventlogOutboxServiceMock).markFailed(entry);
+		verify(eventlogOutboxServiceMock).findDue(100);
+		verify(eventlogOutboxServiceMock).toEvent(entry);
+		verifyNoMoreInteractions(eventlogOutboxServiceMock);
+	}
+
+	@Test
+	void publishPendingEventsFetchesUntilBatchIsNotFull() {
+		ReflectionTestUtils.setField(worker, "batchSize", 2);
+		final var entry1 = EventlogOutboxEntity.create().withId("id-1").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+		final var entry2 = EventlogOutboxEntity.create().withId("id-2").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+		final var entry3 = EventlogOutboxEntity.create().withId("id-3").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+
+		when(eventlogOutboxServiceMock.findDue(2)).thenReturn(List.of(entry1, entry2), List.of(entry3));
+		when(eventlogClientMock.createEvent(any(), any(), any())).thenReturn(ResponseEntity.ok().build());
+
+		worker.publishPendingEvents();
+
+		verify(eventlogOutboxServiceMock, times(2)).findDue(2);
+		verify(eventlogClientMock, times(3)).createEvent(any(), any(), any());
+		verify(eventlogOutboxServiceMock).markPublished(entry1, null);
+		verify(eventlogOutboxServiceMock).markPublished(entry2, null);
+		verify(eventlogOutboxServiceMock).markPublished(entry3, null);
+	}
+
+	@Test
+	void publishPendingEventsStopsAtMaxBatchesPerRun() {
+		ReflectionTestUtils.setField(worker, "batchSize", 1);
+		ReflectionTestUtils.setField(worker, "maxBatchesPerRun", 3);
+		final var entry = EventlogOutboxEntity.create().withId("id").withMunicipalityId(MUNICIPALITY_ID).withLogKey(LOG_KEY);
+
+		when(eventlogOutboxServiceMock.findDue(1)).thenReturn(List.of(entry));
+		when(eventlogClientMock.createEvent(any(), any(), any())).thenThrow(new RuntimeException("Service unavailable"));
+
+		worker.publishPendingEvents();
+
+		verify(eventlogOutboxServiceMock, times(3)).findDue(1);
+		verify(eventlogOutboxServiceMock, times(3)).markFailed(entry);
+	}
+}
@@ -1,8 +1,9 @@
 package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
 
 import generated.se.sundsvall.messageexchange.Conversation;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,17 +13,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.supportmanagement.integration.db.model.MessageExchangeSyncEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.AssertionsForClassTypes.atIndex;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,19 +39,10 @@ class MessageExchangeSchedulerTest {
 	private MessageExchangeWorker messageExchangeWorkerMock;
 
 	@Mock
-	private AsyncTaskExecutor asyncTaskExecutorMock;
-
-	@Mock
-	private Page<Conversation> pageMock;
-
-	@Mock
-	private Conversation conversationMock;
-
-	@Mock
-	private MessageExchangeSyncEntity messageExchangeSyncEntityMock;
+	private MessageExchangeSyncMetrics messageExchangeSyncMetricsMock;
 
 	@Mock
-	private Pageable pageableMock;
+	private AsyncTaskExecutor asyncTaskExecutorMock;
 
 	@Captor
 	private ArgumentCaptor<Pageable> pageableArgumentCaptor;
@@ -52,54 +50,123 @@ class MessageExchangeSchedulerTest {
 	@InjectMocks
 	private MessageExchangeScheduler messageExchangeScheduler;
 
+	private final ConversationReferences references = new ConversationReferences(Map.of(), Map.of());
+
 	@BeforeEach
 	void setUp() {
 		ReflectionTestUtils.setField(messageExchangeScheduler, "self", messageExchangeScheduler);
 		ReflectionTestUtils.setField(messageExchangeScheduler, "isSchedulerEnabled", true);
+		ReflectionTestUtils.setField(messageExchangeScheduler, "pageSize", 2);
 	}
 
 	@Test
-	@SuppressWarnings("unchecked")
-	void syncConversation() {
-		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(messageExchangeSyncEntityMock));
-		when(messageExchangeWorkerMock.getConversations(any(), any())).thenReturn(pageMock);
-		when(pageMock.stream()).thenReturn(Stream.of(conversationMock), Stream.of(conversationMock));
-		when(messageExchangeWorkerMock.processConversation(any())).thenReturn(conversationMock);
-		when(messageExchangeSyncEntityMock.getLatestSyncedSequenceNumber()).thenReturn(0L);
-		when(conversationMock.getLatestSequenceNumber()).thenReturn(2L, 4L);
-		when(pageMock.hasNext()).thenReturn(true, false);
-		when(pageMock.nextPageable()).thenReturn(pageableMock);
+	void syncConversations() {
+		final var syncEntity = MessageExchangeSyncEntity.create().withLatestSyncedSequenceNumber(0L);
+		final var conversation2 = conversation("2", 2L);
+		final var conversation5 = conversation("5", 5L);
+		final var conversation9 = conversation("9", 9L);
+		final var savedSequenceNumbers = new ArrayList<Long>();
+
+		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(syncEntity));
+		when(messageExchangeWorkerMock.getConversations(same(syncEntity), any()))
+			.thenReturn(new PageImpl<>(List.of(conversation5, conversation9), PageRequest.of(0, 2), 3))
+			.thenReturn(new PageImpl<>(List.of(conversation2), PageRequest.of(1, 2), 3));
+		when(messageExchangeWorkerMock.resolveReferences(any())).thenReturn(references);
+		doAnswer(invocation -> savedSequenceNumbers.add(invocation.<MessageExchangeSyncEntity>getArgument(0).getLatestSyncedSequenceNumber()))
+			.when(messageExchangeWorkerMock).saveSyncEntity(syncEntity);
 
 		messageExchangeScheduler.syncConversations();
 
 		verify(messageExchangeWorkerMock).getActiveSyncEntities();
-		verify(messageExchangeWorkerMock, times(2)).getConversations(eq(messageExchangeSyncEntityMock), pageableArgumentCaptor.capture());
-		verify(messageExchangeWorkerMock, times(2)).processConversation(conversationMock);
-		verify(conversationMock, times(2)).getLatestSequenceNumber();
-		verify(messageExchangeSyncEntityMock).setLatestSyncedSequenceNumber(2L);
-		verify(messageExchangeSyncEntityMock).setLatestSyncedSequenceNumber(4L);
-		verify(messageExchangeWorkerMock).saveSyncEntity(messageExchangeSyncEntityMock);
-
+		verify(messageExchangeWorkerMock, times(2)).getConversations(eq(syncEntity), pageableArgumentCaptor.capture());
+		verify(messageExchangeWorkerMock).resolveReferences(List.of(conversation2, conversation5));
+		verify(messageExchangeWorkerMock).resolveReferences(List.of(conversation9));
+		verify(messageExchangeWorkerMock).processConversation(conversation2, references);
+		verify(messageExchangeWorkerMock).processConversation(conversation5, references);
+		verify(messageExchangeWorkerMock).processConversation(conversation9, references);
+		verify(messageExchangeWorkerMock, times(2)).saveSyncEntity(syncEntity);
+		verify(messageExchangeSyncMetricsMock).recordLag(syncEntity, 3);
+		verify(messageExchangeSyncMetricsMock).recordLag(syncEntity, 1);
+		verify(messageExchangeSyncMetricsMock).recordLag(syncEntity, 0);
+		verify(messageExchangeSyncMetricsMock, times(3)).recordSynced(syncEntity, true);
+		verifyNoMoreInteractions(messageExchangeWorkerMock, messageExchangeSyncMetricsMock);
+
+		assertThat(savedSequenceNumbers).containsExactly(5L, 9L);
+		assertThat(syncEntity.getLatestSyncedSequenceNumber()).isEqualTo(9L);
 		assertThat(pageableArgumentCaptor.getAllValues())
-			.hasSize(2)
-			.contains(pageableMock, atIndex(1))
-			.first().extracting(Pageable::getPageSize).isEqualTo(100);
+			.extracting(Pageable::getPageNumber, Pageable::getPageSize)
+			.containsExactly(tuple(0, 2), tuple(1, 2));
+	}
+
+	@Test
+	void syncConversationsStopsAtFailedPage() {
+		final var syncEntity = MessageExchangeSyncEntity.create().withLatestSyncedSequenceNumber(0L);
+		final var conversation2 = conversation("2", 2L);
+		final var conversation5 = conversation("5", 5L);
+		final var conversation9 = conversation("9", 9L);
+
+		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(syncEntity));
+		when(messageExchangeWorkerMock.getConversations(same(syncEntity), any())).thenReturn(new PageImpl<>(List.of(conversation2, conversation5, conversation9)));
+		when(messageExchangeWorkerMock.resolveReferences(any())).thenReturn(references);
+		when(messageExchangeWorkerMock.processConversation(any(), same(references))).thenAnswer(invocation -> {
+			if (invocation.getArgument(0) == conversation5) {
+				throw new RuntimeException("error");
+			}
+			return invocation.getArgument(0);
+		});
+
+		messageExchangeScheduler.syncConversations();
+
+		verify(messageExchangeWorkerMock).resolveReferences(List.of(conversation2, conversation5));
+		verify(messageExchangeWorkerMock).processConversation(conversation2, references);
+		verify(messageExchangeWorkerMock, never()).processConversation(same(conversation9), any());
+		verify(messageExchangeWorkerMock, never()).saveSyncEntity(any());
+		verify(messageExchangeSyncMetricsMock).recordLag(syncEntity, 3);
+		verify(messageExchangeSyncMetricsMock).recordSynced(syncEntity, true);
+		verify(messageExchangeSyncMetricsMock).recordSynced(syncEntity, false);
+		verifyNoMoreInteractions(messageExchangeSyncMetricsMock);
+
+		assertThat(syncEntity.getLatestSyncedSequenceNumber()).isZero();
+	}
+
+	@Test
+	void syncConversationsContinuesWithNextSyncEntityOnError() {
+		final var failingSyncEntity = MessageExchangeSyncEntity.create().withLatestSyncedSequenceNumber(0L);
+		final var syncEntity = MessageExchangeSyncEntity.create().withLatestSyncedSequenceNumber(0L);
+		final var conversation = conversation("1", 1L);
+
+		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(failingSyncEntity, syncEntity));
+		when(messageExchangeWorkerMock.getConversations(same(failingSyncEntity), any())).thenThrow(new RuntimeException("error"));
+		when(messageExchangeWorkerMock.getConversations(same(syncEntity), any())).thenReturn(new PageImpl<>(List.of(conversation)));
+		when(messageExchangeWorkerMock.resolveReferences(List.of(conversation))).thenReturn(references);
+
+		messageExchangeScheduler.syncConversations();
+
+		verify(messageExchangeWorkerMock).processConversation(conversation, references);
+		verify(messageExchangeWorkerMock).saveSyncEntity(syncEntity);
+		verify(messageExchangeWorkerMock, never()).saveSyncEntity(failingSyncEntity);
+		assertThat(syncEntity.getLatestSyncedSequenceNumber()).isOne();
+	}
+
+	@Test
+	void syncConversationsWhenDisabled() {
+		ReflectionTestUtils.setField(messageExchangeScheduler, "isSchedulerEnabled", false);
+
+		messageExchangeScheduler.syncConversations();
+
+		verifyNoInteractions(messageExchangeWorkerMock, messageExchangeSyncMetricsMock);
 	}
 
 	@Test
-	@SuppressWarnings("unchecked")
 	void triggerSyncConversationAsync() {
+		final var syncEntity = MessageExchangeSyncEntity.create().withLatestSyncedSequenceNumber(0L);
+		final var conversation = conversation("4", 4L);
 
 		// Mock
-		ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
-		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(messageExchangeSyncEntityMock));
-		when(messageExchangeWorkerMock.getConversations(any(), any())).thenReturn(pageMock);
-		when(pageMock.stream()).thenReturn(Stream.of(conversationMock), Stream.of(conversationMock));
-		when(messageExchangeWorkerMock.processConversation(any())).thenReturn(conversationMock);
-		when(messageExchangeSyncEntityMock.getLatestSyncedSequenceNumber()).thenReturn(0L);
-		when(conversationMock.getLatestSequenceNumber()).thenReturn(2L, 4L);
-		when(pageMock.hasNext()).thenReturn(true, false);
-		when(pageMock.nextPageable()).thenReturn(pageableMock);
+		final var runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+		when(messageExchangeWorkerMock.getActiveSyncEntities()).thenReturn(List.of(syncEntity));
+		when(messageExchangeWorkerMock.getConversations(same(syncEntity), any())).thenReturn(new PageImpl<>(List.of(conversation)));
+		when(messageExchangeWorkerMock.resolveReferences(any())).thenReturn(references);
 
 		// Act on trigger
 		messageExchangeScheduler.triggerSyncConversationsAsync();
@@ -110,16 +177,12 @@ class MessageExchangeSchedulerTest {
 		runnableCaptor.getValue().run();
 		// Verify that syncConversations() is the runnable being called
 		verify(messageExchangeWorkerMock).getActiveSyncEntities();
-		verify(messageExchangeWorkerMock, times(2)).getConversations(eq(messageExchangeSyncEntityMock), pageableArgumentCaptor.capture());
-		verify(messageExchangeWorkerMock, times(2)).processConversation(conversationMock);
-		verify(conversationMock, times(2)).getLatestSequenceNumber();
-		verify(messageExchangeSyncEntityMock).setLatestSyncedSequenceNumber(2L);
-		verify(messageExchangeSyncEntityMock).setLatestSyncedSequenceNumber(4L);
-		verify(messageExchangeWorkerMock).saveSyncEntity(messageExchangeSyncEntityMock);
+		verify(messageExchangeWorkerMock).processConversation(conversation, references);
+		verify(messageExchangeWorkerMock).saveSyncEntity(syncEntity);
+		assertThat(syncEntity.getLatestSyncedSequenceNumber()).isEqualTo(4L);
+	}
 
-		assertThat(pageableArgumentCaptor.getAllValues())
-			.hasSize(2)
-			.contains(pageableMock, atIndex(1))
-			.first().extracting(Pageable::getPageSize).isEqualTo(100);
+	private static Conversation conversation(final String id, final Long latestSequenceNumber) {
+		return new Conversation().id(id).latestSequenceNumber(latestSequenceNumber);
 	}
 }
@@ -0,0 +1,39 @@
+package se.sundsvall.supportmanagement.service.scheduler.messageexchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.supportmanagement.integration.db.model.MessageExchangeSyncEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.service.scheduler.messageexchange.MessageExchangeSyncMetrics.CONVERSATIONS_COUNTER_NAME;
+import static se.sundsvall.supportmanagement.service.scheduler.messageexchange.MessageExchangeSyncMetrics.LAG_GAUGE_NAME;
+
+class MessageExchangeSyncMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MessageExchangeSyncMetrics messageExchangeSyncMetrics = new MessageExchangeSyncMetrics(meterRegistry);
+
+	private final MessageExchangeSyncEntity syncEntity = MessageExchangeSyncEntity.create()
+		.withMunicipalityId("2281")
+		.withNamespace("namespace");
+
+	@Test
+	void recordLag() {
+		messageExchangeSyncMetrics.recordLag(syncEntity, 150);
+		messageExchangeSyncMetrics.recordLag(syncEntity, 50);
+
+		assertThat(meterRegistry.get(LAG_GAUGE_NAME).tag("municipality_id", "2281").tag("namespace", "namespace").gauges()).hasSize(1);
+		assertThat(meterRegistry.get(LAG_GAUGE_NAME).tag("municipality_id", "2281").tag("namespace", "namespace").gauge().value()).isEqualTo(50);
+	}
+
+	@Test
+	void recordSynced() {
+		messageExchangeSyncMetrics.recordSynced(syncEntity, true);
+		messageExchangeSyncMetrics.recordSynced(syncEntity, true);
+		messageExchangeSyncMetrics.recordSynced(syncEntity, false);
+
+		assertThat(meterRegistry.get(CONVERSATIONS_COUNTER_NAME).tag("namespace", "namespace").tag("outcome", "success").counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get(CONVERSATIONS_COUNTER_NAME).tag("namespace", "namespace").tag("outcome", "failure").counter().count()).isOne();
+	}
+}
@@ -5,8 +5,9 @@ import generated.se.sundsvall.messageexchange.KeyValues;
 import generated.se.sundsvall.relation.Relation;
 import generated.se.sundsvall.relation.ResourceIdentifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -37,6 +38,7 @@ import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.supportmanagement.service.mapper.ConversationMapper.RELATION_ID_KEY;
@@ -62,6 +64,9 @@ class MessageExchangeWorkerTest {
 	@Captor
 	private ArgumentCaptor<ConversationEntity> conversationEntityArgumentCaptor;
 
+	@Captor
+	private ArgumentCaptor<Collection<String>> errandIdsCaptor;
+
 	@InjectMocks
 	private MessageExchangeWorker messageExchangeWorker;
 
@@ -102,10 +107,47 @@ class MessageExchangeWorkerTest {
 	}
 
 	@Test
-	@SuppressWarnings("unchecked")
+	void resolveReferences() {
+		final var conversation1 = new Conversation().municipalityId("municipalityId").id("conversationId1")
+			.externalReferences(List.of(new KeyValues().key(RELATION_ID_KEY).addValuesItem("1").addValuesItem("2"), new KeyValues().key("other").addValuesItem("3")));
+		final var conversation2 = new Conversation().municipalityId("municipalityId").id("conversationId2")
+			.externalReferences(List.of(new KeyValues().key(RELATION_ID_KEY).addValuesItem("2").addValuesItem("4")));
+		final var relation1 = new Relation(null, new ResourceIdentifier().resourceId("errandId1").service("support-management"), new ResourceIdentifier().resourceId("other-id").service("other-service"));
+		final var relation2 = new Relation(null, new ResourceIdentifier().resourceId("other-id").service("other-service"), new ResourceIdentifier().resourceId("errandId2").service("supportmanagement"));
+		final var errand1 = ErrandEntity.create().withId("errandId1");
+		final var errand2 = ErrandEntity.create().withId("errandId2");
+
+		when(relationClientMock.getRelation("municipalityId", "1")).thenReturn(ResponseEntity.ok(relation1));
+		when(relationClientMock.getRelation("municipalityId", "2")).thenReturn(ResponseEntity.ok(relation2));
+		when(relationClientMock.getRelation("municipalityId", "4")).thenReturn(ResponseEntity.notFound().build());
+		when(errandsRepositoryMock.findAllById(any())).thenReturn(List.of(errand1, errand2));
+
+		final var references = messageExchangeWorker.resolveReferences(List.of(conversation1, conversation2));
+
+		verify(relationClientMock).getRelation("municipalityId", "1");
+		verify(relationClientMock).getRelation("municipalityId", "2");
+		verify(relationClientMock).getRelation("municipalityId", "4");
+		verify(errandsRepositoryMock).findAllById(errandIdsCaptor.capture());
+		verifyNoMoreInteractions(relationClientMock, errandsRepositoryMock);
+
+		assertThat(errandIdsCaptor.getValue()).containsExactlyInAnyOrder("errandId1", "errandId2");
+		assertThat(references.relations()).containsOnlyKeys("1", "2").containsEntry("1", relation1).containsEntry("2", relation2);
+		assertThat(references.errands()).containsOnlyKeys("errandId1", "errandId2").containsEntry("errandId1", errand1).containsEntry("errandId2", errand2);
+	}
+
+	@Test
+	void resolveReferencesWithoutRelations() {
+		final var references = messageExchangeWorker.resolveReferences(List.of(new Conversation().id("conversationId")));
+
+		assertThat(references.relations()).isEmpty();
+		assertThat(references.errands()).isEmpty();
+		verifyNoInteractions(relationClientMock, errandsRepositoryMock);
+	}
+
+	@Test
 	void processConversation() {
 		final var conversation = new Conversation();
-		conversation.setExternalReferences(List.of(new KeyValues().key(RELATION_ID_KEY).addValuesItem("1").addValuesItem("2")));
+		conversation.setExternalReferences(List.of(new KeyValues().key(RELATION_ID_KEY).addValuesItem("1").addValuesItem("2").addValuesItem("3")));
 		conversation.setMunicipalityId("municipalityId");
 		conversation.setId("conversationId");
 		final var conversationEntities = new ArrayList<ConversationEntity>();
@@ -116,21 +158,20 @@ class MessageExchangeWorkerTest {
 			.withId("existingConversationEntityId")
 			.withMessageExchangeId("existingMessageExchangeId")
 			.withRelationIds(List.of("1")));
+		final var references = new ConversationReferences(
+			Map.of(
+				"1", new Relation(null, new ResourceIdentifier().resourceId("toBeAddedErrand").service("support-management"), new ResourceIdentifier().resourceId("other-id")),
+				"2", new Relation(null, new ResourceIdentifier().resourceId("existingErrandId").service("support-management"), new ResourceIdentifier().resourceId("other-id")),
+				"3", new Relation(null, new ResourceIdentifier().resourceId("unknownErrand").service("support-management"), new ResourceIdentifier().resourceId("other-id"))),
+			Map.of(
+				"toBeAddedErrand", ErrandEntity.create().withMunicipalityId("municipalityId").withNamespace("support-management-namespace").withId("toBeAddedErrand"),
+				"existingErrandId", ErrandEntity.create().withMunicipalityId("municipalityId").withNamespace("support-management-namespace").withId("existingErrandId")));
 
 		when(conversationRepositoryMock.findByMessageExchangeId(any())).thenReturn(conversationEntities);
-		when(relationClientMock.getRelation(any(), any())).thenReturn(
-			ResponseEntity.ok(new Relation(null, new ResourceIdentifier().resourceId("toBeAddedErrand").service("support-management"), new ResourceIdentifier().resourceId("other-id"))), // relation 1
-			ResponseEntity.ok(new Relation(null, new ResourceIdentifier().resourceId("existingErrandId").service("support-management"), new ResourceIdentifier().resourceId("other-id")))); // relation 2
-		when(errandsRepositoryMock.findById("toBeAddedErrand")).thenReturn(Optional.of(ErrandEntity.create().withMunicipalityId("municipalityId").withNamespace("support-management-namespace").withId("toBeAddedErrand")));
-		when(errandsRepositoryMock.findById("existingErrandId")).thenReturn(Optional.of(ErrandEntity.create().withMunicipalityId("municipalityId").withNamespace("support-management-namespace").withId("existingErrandId")));
 
-		messageExchangeWorker.processConversation(conversation);
+		messageExchangeWorker.processConversation(conversation, references);
 
 		verify(conversationRepositoryMock).findByMessageExchangeId("conversationId");
-		verify(relationClientMock).getRelation("municipalityId", "1");
-		verify(relationClientMock).getRelation("municipalityId", "2");
-		verify(errandsRepositoryMock, times(2)).findById("toBeAddedErrand");
-		verify(errandsRepositoryMock, times(1)).findById("existingErrandId");
 		verify(messageExchangeSyncServiceMock, times(2)).syncConversation(conversationEntityArgumentCaptor.capture(), same(conversation));
 		assertThat(conversationEntityArgumentCaptor.getAllValues()).hasSize(2)
 			.extracting(ConversationEntity::getErrandId, ConversationEntity::getMunicipalityId, ConversationEntity::getNamespace, ConversationEntity::getId, ConversationEntity::getMessageExchangeId)
@@ -0,0 +1,41 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+import static se.sundsvall.supportmanagement.service.scheduler.notificationdelivery.NotificationDeliveryMetrics.BACKLOG_GAUGE_NAME;
+import static se.sundsvall.supportmanagement.service.scheduler.notificationdelivery.NotificationDeliveryMetrics.MESSAGES_COUNTER_NAME;
+import static se.sundsvall.supportmanagement.service.scheduler.notificationdelivery.NotificationDeliveryMetrics.NOTIFICATIONS_COUNTER_NAME;
+
+class NotificationDeliveryMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final NotificationDeliveryMetrics notificationDeliveryMetrics = new NotificationDeliveryMetrics(meterRegistry);
+
+	@Test
+	void recordBacklog() {
+		notificationDeliveryMetrics.recordBacklog(SMS, 150);
+		notificationDeliveryMetrics.recordBacklog(SMS, 50);
+		notificationDeliveryMetrics.recordBacklog(EMAIL, 7);
+
+		assertThat(meterRegistry.get(BACKLOG_GAUGE_NAME).tag("channel", "sms").gauges()).hasSize(1);
+		assertThat(meterRegistry.get(BACKLOG_GAUGE_NAME).tag("channel", "sms").gauge().value()).isEqualTo(50);
+		assertThat(meterRegistry.get(BACKLOG_GAUGE_NAME).tag("channel", "email").gauge().value()).isEqualTo(7);
+	}
+
+	@Test
+	void recordSent() {
+		notificationDeliveryMetrics.recordSent(SMS, 3, true);
+		notificationDeliveryMetrics.recordSent(SMS, 2, true);
+		notificationDeliveryMetrics.recordSent(SMS, 4, false);
+
+		assertThat(meterRegistry.get(MESSAGES_COUNTER_NAME).tag("channel", "sms").tag("outcome", "success").counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get(MESSAGES_COUNTER_NAME).tag("channel", "sms").tag("outcome", "failure").counter().count()).isOne();
+		assertThat(meterRegistry.get(NOTIFICATIONS_COUNTER_NAME).tag("channel", "sms").tag("outcome", "success").counter().count()).isEqualTo(5);
+		assertThat(meterRegistry.get(NOTIFICATIONS_COUNTER_NAME).tag("channel", "sms").tag("outcome", "failure").counter().count()).isEqualTo(4);
+	}
+}
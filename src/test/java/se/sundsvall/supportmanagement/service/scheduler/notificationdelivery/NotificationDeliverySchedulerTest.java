@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliverySchedulerTest {
+
+	@Mock
+	private NotificationDeliveryWorker notificationDeliveryWorkerMock;
+
+	@InjectMocks
+	private NotificationDeliveryScheduler notificationDeliveryScheduler;
+
+	@Test
+	void sendNotifications() {
+
+		// Act
+		notificationDeliveryScheduler.sendNotifications();
+
+		// Verify
+		verify(notificationDeliveryWorkerMock).sendPendingDeliveries();
+		verifyNoMoreInteractions(notificationDeliveryWorkerMock);
+	}
+}
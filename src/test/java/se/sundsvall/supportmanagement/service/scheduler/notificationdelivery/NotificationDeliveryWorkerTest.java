@@ -0,0 +1,175 @@
+package se.sundsvall.supportmanagement.service.scheduler.notificationdelivery;
+
+import generated.se.sundsvall.messaging.EmailRequest;
+import generated.se.sundsvall.messaging.SmsRequest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.integration.db.model.NotificationDeliveryEntity;
+import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
+import se.sundsvall.supportmanagement.integration.messaging.MessagingClient;
+import se.sundsvall.supportmanagement.service.NotificationDeliveryService;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.EMAIL;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType.SMS;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryWorkerTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String PHONE_NUMBER = "+46701234567";
+	private static final String EMAIL_ADDRESS = "joe@example.com";
+
+	@Mock
+	private NotificationDeliveryService notificationDeliveryServiceMock;
+
+	@Mock
+	private MessagingClient messagingClientMock;
+
+	@Mock
+	private NotificationDeliveryMetrics metricsMock;
+
+	@InjectMocks
+	private NotificationDeliveryWorker worker;
+
+	@Captor
+	private ArgumentCaptor<SmsRequest> smsRequestCaptor;
+
+	@Captor
+	private ArgumentCaptor<EmailRequest> emailRequestCaptor;
+
+	@Test
+	void sendPendingDeliveriesWhenQueueIsEmpty() {
+		when(notificationDeliveryServiceMock.findDue(100)).thenReturn(emptyList());
+
+		worker.sendPendingDeliveries();
+
+		verify(notificationDeliveryServiceMock).findDue(100);
+		verify(notificationDeliveryServiceMock).countBacklog(SMS);
+		verify(notificationDeliveryServiceMock).countBacklog(EMAIL);
+		verify(metricsMock).recordBacklog(SMS, 0);
+		verify(metricsMock).recordBacklog(EMAIL, 0);
+		verifyNoMoreInteractions(notificationDeliveryServiceMock, metricsMock);
+		verifyNoInteractions(messagingClientMock);
+	}
+
+	@Test
+	void sendPendingDeliveriesSendsOneDigestPerRecipient() {
+		ReflectionTestUtils.setField(worker, "smsSender", "Sundsvall");
+		final var sms1 = entry(SMS, PHONE_NUMBER, "sms-digest", "Bilaga har skapats");
+		final var sms2 = entry(SMS, PHONE_NUMBER, "sms-digest", "Status har ändrats");
+		final var email = entry(EMAIL, EMAIL_ADDRESS, "email-digest", "Bilaga har skapats");
+
+		when(notificationDeliveryServiceMock.findDue(100)).thenReturn(List.of(sms1, email, sms2));
+		when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(sms1, sms2));
+		when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, EMAIL, EMAIL_ADDRESS)).thenReturn(List.of(email));
+		when(notificationDeliveryServiceMock.countBacklog(SMS)).thenReturn(3L);
+
+		worker.sendPendingDeliveries();
+
+		verify(messagingClientMock).sendSms(eq(MUNICIPALITY_ID), eq(true), smsRequestCaptor.capture());
+		assertThat(smsRequestCaptor.getValue().getMobileNumber()).isEqualTo(PHONE_NUMBER);
+		assertThat(smsRequestCaptor.getValue().getSender()).isEqualTo("Sundsvall");
+		assertThat(smsRequestCaptor.getValue().getMessage()).isEqualTo("Ärende KC-1:\nBilaga har skapats\nStatus har ändrats");
+		verify(messagingClientMock).sendEmail(eq(MUNICIPALITY_ID), eq(true), emailRequestCaptor.capture());
+		assertThat(emailRequestCaptor.getValue().getEmailAddress()).isEqualTo(EMAIL_ADDRESS);
+
+		verify(notificationDeliveryServiceMock).markSent("sms-digest");
+		verify(notificationDeliveryServiceMock).markSent("email-digest");
+		verify(metricsMock).recordSent(SMS, 2, true);
+		verify(metricsMock).recordSent(EMAIL, 1, true);
+		verify(metricsMock).recordBacklog(SMS, 3);
+		verify(metricsMock).recordBacklog(EMAIL, 0);
+		verifyNoMoreInteractions(messagingClientMock, metricsMock);
+	}
+
+	@Test
+	void sendPendingDeliveriesSkipsRecipientsWithNothingToSend() {
+		final var entry = entry(SMS, PHONE_NUMBER, null, "Bilaga har skapats");
+
+		when(notificationDeliveryServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(emptyList());
+
+		worker.sendPendingDeliveries();
+
+		verifyNoInteractions(messagingClientMock);
+		verify(notificationDeliveryServiceMock, never()).markSent(any());
+	}
+
+	@Test
+	void sendPendingDeliveriesWhenMessagingFails() {
+		final var entry = entry(SMS, PHONE_NUMBER, "sms-digest", "Bilaga har skapats");
+
+		when(notificationDeliveryServiceMock.findDue(100)).thenReturn(List.of(entry));
+		when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(entry));
+		when(messagingClientMock.sendSms(any(), eq(true), any())).thenThrow(new RuntimeException("Service unavailable"));
+
+		worker.sendPendingDeliveries();
+
+		verify(notificationDeliveryServiceMock).markFailed(List.of(entry));
+		verify(notificationDeliveryServiceMock, never()).markSent(any());
+		verify(metricsMock).recordSent(SMS, 1, false);
+	}
+
+	@Test
+	void sendPendingDeliveriesProcessesFullBatchesUntilLimit() {
+		ReflectionTestUtils.setField(worker, "batchSize", 1);
+		ReflectionTestUtils.setField(worker, "maxBatchesPerRun", 2);
+		final var entry = entry(SMS, PHONE_NUMBER, "sms-digest", "Bilaga har skapats");
+
+		when(notificationDeliveryServiceMock.findDue(1)).thenReturn(List.of(entry));
+		when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, SMS, PHONE_NUMBER)).thenReturn(List.of(entry));
+
+		worker.sendPendingDeliveries();
+
+		verify(notificationDeliveryServiceMock, times(2)).findDue(1);
+		verify(messagingClientMock, times(2)).sendSms(eq(MUNICIPALITY_ID), eq(true), any());
+	}
+
+	@Test
+	void sendPendingDeliveriesIsRateLimited() {
+		ReflectionTestUtils.setField(worker, "messagesPerSecond", 20);
+		final var entries = List.of(
+			entry(SMS, "+46701111111", "digest-1", "Bilaga har skapats"),
+			entry(SMS, "+46702222222", "digest-2", "Bilaga har skapats"),
+			entry(SMS, "+46703333333", "digest-3", "Bilaga har skapats"));
+
+		when(notificationDeliveryServiceMock.findDue(100)).thenReturn(entries);
+		entries.forEach(entry -> when(notificationDeliveryServiceMock.claimDigest(MUNICIPALITY_ID, SMS, entry.getDestination())).thenReturn(List.of(entry)));
+
+		final var start = System.nanoTime();
+		worker.sendPendingDeliveries();
+
+		// Three messages at 20 per second are spread over at least two intervals of 50 milliseconds
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100_000_000L);
+		verify(messagingClientMock, times(3)).sendSms(eq(MUNICIPALITY_ID), eq(true), any());
+	}
+
+	private static NotificationDeliveryEntity entry(final NotificationChannelType channelType, final String destination, final String digestKey, final String content) {
+		return NotificationDeliveryEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withSubscriberId("subscriber-id")
+			.withChannelType(channelType)
+			.withDestination(destination)
+			.withErrandId("errand-id")
+			.withErrandNumber("KC-1")
+			.withContent(content)
+			.withDigestKey(digestKey);
+	}
+}
@@ -1,6 +1,7 @@
 package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,13 +11,16 @@ import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchE
 import se.sundsvall.supportmanagement.integration.db.model.enums.NotificationChannelType;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.NotificationChannelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
+import se.sundsvall.supportmanagement.service.NotificationDeliveryService;
 import se.sundsvall.supportmanagement.service.SubscriberNotificationService;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationChannelDispatcherTest {
@@ -33,51 +37,74 @@ class NotificationChannelDispatcherTest {
 	@Mock
 	private SubscriberNotificationService subscriberNotificationServiceMock;
 
+	@Mock
+	private NotificationDeliveryService notificationDeliveryServiceMock;
+
 	@InjectMocks
 	private NotificationChannelDispatcher dispatcher;
 
-	private static SubscriberEntity subscriberWith(final NotificationChannelType type) {
+	private static SubscriberEntity subscriberWith(final String id, final NotificationChannelType... types) {
 		return SubscriberEntity.create()
-			.withId("subscriber-id")
-			.withChannels(List.of(NotificationChannelEmbeddable.create().withType(type)));
+			.withId(id)
+			.withChannels(Stream.of(types).map(type -> NotificationChannelEmbeddable.create().withType(type)).toList());
 	}
 
 	@Test
 	void sendInternalChannelCreatesNotification() {
 
 		// Arrange
-		final var subscriber = subscriberWith(NotificationChannelType.INTERNAL);
+		final var delivery = new NotificationDelivery(subscriberWith("subscriber-id", NotificationChannelType.INTERNAL), EVENTS);
+
+		// Act
+		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
+
+		// Assert
+		verify(subscriberNotificationServiceMock).create(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
+		verifyNoInteractions(notificationDeliveryServiceMock);
+	}
+
+	@Test
+	void sendCreatesInternalNotificationsOfAllSubscribersInOneCall() {
+
+		// Arrange
+		final var delivery1 = new NotificationDelivery(subscriberWith("subscriber-1", NotificationChannelType.INTERNAL), EVENTS);
+		final var delivery2 = new NotificationDelivery(subscriberWith("subscriber-2", NotificationChannelType.SMS), EVENTS);
+		final var delivery3 = new NotificationDelivery(subscriberWith("subscriber-3", NotificationChannelType.EMAIL, NotificationChannelType.INTERNAL), EVENTS);
 
 		// Act
-		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, subscriber, EVENTS);
+		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery1, delivery2, delivery3));
 
 		// Assert
-		verify(subscriberNotificationServiceMock).create(ERRAND_ID, ERRAND_NUMBER, subscriber, EVENTS);
+		verify(subscriberNotificationServiceMock).create(ERRAND_ID, ERRAND_NUMBER, List.of(delivery1, delivery3));
+		verify(notificationDeliveryServiceMock).enqueue(ERRAND_ID, ERRAND_NUMBER, List.of(delivery2, delivery3));
+		verifyNoMoreInteractions(subscriberNotificationServiceMock, notificationDeliveryServiceMock);
 	}
 
 	@Test
-	void sendSmsChannelIsSkippedUntilImplemented() {
+	void sendSmsChannelIsQueuedForDelivery() {
 
 		// Arrange
-		final var subscriber = subscriberWith(NotificationChannelType.SMS);
+		final var delivery = new NotificationDelivery(subscriberWith("subscriber-id", NotificationChannelType.SMS), EVENTS);
 
 		// Act
-		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, subscriber, EVENTS);
+		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
 
 		// Assert
+		verify(notificationDeliveryServiceMock).enqueue(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
 		verifyNoInteractions(subscriberNotificationServiceMock);
 	}
 
 	@Test
-	void sendEmailChannelIsSkippedUntilImplemented() {
+	void sendEmailChannelIsQueuedForDelivery() {
 
 		// Arrange
-		final var subscriber = subscriberWith(NotificationChannelType.EMAIL);
+		final var delivery = new NotificationDelivery(subscriberWith("subscriber-id", NotificationChannelType.EMAIL), EVENTS);
 
 		// Act
-		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, subscriber, EVENTS);
+		dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
 
 		// Assert
+		verify(notificationDeliveryServiceMock).enqueue(ERRAND_ID, ERRAND_NUMBER, List.of(delivery));
 		verifyNoInteractions(subscriberNotificationServiceMock);
 	}
 
@@ -85,11 +112,24 @@ class NotificationChannelDispatcherTest {
 	void sendPropagatesFailures() {
 
 		// Arrange — failures must reach the worker so the whole group rolls back instead of being partially delivered
-		final var subscriber = subscriberWith(NotificationChannelType.INTERNAL);
-		doThrow(new RuntimeException("boom")).when(subscriberNotificationServiceMock).create(any(), any(), any(), any());
+		final var delivery = new NotificationDelivery(subscriberWith("subscriber-id", NotificationChannelType.INTERNAL), EVENTS);
+		doThrow(new RuntimeException("boom")).when(subscriberNotificationServiceMock).create(any(), any(), any());
+
+		// Act + Assert
+		assertThatThrownBy(() -> dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery)))
+			.isInstanceOf(RuntimeException.class)
+			.hasMessage("boom");
+	}
+
+	@Test
+	void sendPropagatesQueueingFailures() {
+
+		// Arrange
+		final var delivery = new NotificationDelivery(subscriberWith("subscriber-id", NotificationChannelType.SMS), EVENTS);
+		doThrow(new RuntimeException("boom")).when(notificationDeliveryServiceMock).enqueue(any(), any(), any());
 
 		// Act + Assert
-		assertThatThrownBy(() -> dispatcher.send(ERRAND_ID, ERRAND_NUMBER, subscriber, EVENTS))
+		assertThatThrownBy(() -> dispatcher.send(ERRAND_ID, ERRAND_NUMBER, List.of(delivery)))
 			.isInstanceOf(RuntimeException.class)
 			.hasMessage("boom");
 	}
@@ -1,22 +1,32 @@
 package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.scheduling.health.Dept44HealthUtility;
 import se.sundsvall.supportmanagement.integration.db.model.NotificationDispatchEntity;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -37,17 +47,43 @@ class NotificationDispatchSchedulerTest {
 	@BeforeEach
 	void setUp() {
 		ReflectionTestUtils.setField(scheduler, "jobName", JOB_NAME);
+		ReflectionTestUtils.setField(scheduler, "maxConcurrentBatches", 1);
+	}
+
+	@Test
+	void configureTasks() {
+		final var taskRegistrar = new ScheduledTaskRegistrar();
+
+		scheduler.configureTasks(taskRegistrar);
+
+		assertThat(taskRegistrar.getFixedDelayTaskList()).singleElement().satisfies(task -> {
+			assertThat(task.getIntervalDuration()).isEqualTo(Duration.ofMinutes(1));
+			assertThat(task.getInitialDelayDuration()).isEqualTo(Duration.ofMinutes(1));
+		});
+		verifyNoInteractions(workerMock, healthUtilityMock);
+	}
+
+	@Test
+	void configureTasksWhenDisabled() {
+		ReflectionTestUtils.setField(scheduler, "enabled", false);
+		final var taskRegistrar = new ScheduledTaskRegistrar();
+
+		scheduler.configureTasks(taskRegistrar);
+
+		assertThat(taskRegistrar.getFixedDelayTaskList()).isEmpty();
+		verifyNoInteractions(workerMock, healthUtilityMock);
 	}
 
 	@Test
 	void processDispatch_delegatesToWorker() {
 		final var entry = NotificationDispatchEntity.create().withId("some-id").withErrandId("errand-1");
-		when(workerMock.fetchProcessable()).thenReturn(List.of(entry));
+		when(workerMock.claimBatch()).thenReturn(List.of(entry), List.of());
 
 		scheduler.processDispatch();
 
-		verify(workerMock).fetchProcessable();
+		verify(workerMock, times(2)).claimBatch();
 		verify(workerMock).processGroup(List.of(entry));
+		verify(healthUtilityMock).setHealthIndicatorHealthy(JOB_NAME);
 		verifyNoMoreInteractions(workerMock, healthUtilityMock);
 	}
 
@@ -57,26 +93,65 @@ class NotificationDispatchSchedulerTest {
 		final var entry2 = NotificationDispatchEntity.create().withId("id-2").withErrandId("errand-A").withRequestGroupId("group-1");
 		final var entry3 = NotificationDispatchEntity.create().withId("id-3").withErrandId("errand-A").withRequestGroupId("group-2");
 		final var entry4 = NotificationDispatchEntity.create().withId("id-4").withErrandId("errand-B").withRequestGroupId("group-1");
-		when(workerMock.fetchProcessable()).thenReturn(List.of(entry1, entry2, entry3, entry4));
+		when(workerMock.claimBatch()).thenReturn(List.of(entry1, entry2, entry3, entry4), List.of());
 
 		scheduler.processDispatch();
 
+		verify(workerMock, times(2)).claimBatch();
 		verify(workerMock).processGroup(List.of(entry1, entry2, entry3));
 		verify(workerMock).processGroup(List.of(entry4));
+		verify(healthUtilityMock).setHealthIndicatorHealthy(JOB_NAME);
 		verifyNoMoreInteractions(workerMock, healthUtilityMock);
 	}
 
+	@Test
+	void processDispatch_claimsBatchesUntilNothingIsLeft() {
+		final var entry1 = NotificationDispatchEntity.create().withId("id-1").withErrandId("errand-1");
+		final var entry2 = NotificationDispatchEntity.create().withId("id-2").withErrandId("errand-2");
+		when(workerMock.claimBatch()).thenReturn(List.of(entry1), List.of(entry2), List.of());
+
+		scheduler.processDispatch();
+
+		verify(workerMock, times(3)).claimBatch();
+		verify(workerMock).processGroup(List.of(entry1));
+		verify(workerMock).processGroup(List.of(entry2));
+		verify(healthUtilityMock).setHealthIndicatorHealthy(JOB_NAME);
+		verifyNoMoreInteractions(workerMock, healthUtilityMock);
+	}
+
+	@Test
+	void processDispatch_processesBatchesInParallel() {
+		ReflectionTestUtils.setField(scheduler, "maxConcurrentBatches", 4);
+		final var batches = new ConcurrentLinkedQueue<List<NotificationDispatchEntity>>();
+		IntStream.range(0, 20).forEach(i -> batches.add(List.of(NotificationDispatchEntity.create().withId("id-" + i).withErrandId("errand-" + i))));
+		final var processed = Collections.synchronizedList(new ArrayList<String>());
+		when(workerMock.claimBatch()).thenAnswer(_ -> {
+			final var batch = batches.poll();
+			return batch == null ? List.of() : batch;
+		});
+		doAnswer(invocation -> processed.add(invocation.<List<NotificationDispatchEntity>>getArgument(0).getFirst().getErrandId()))
+			.when(workerMock).processGroup(any());
+
+		scheduler.processDispatch();
+
+		// Every worker claims until it finds nothing left, so each of them ends with an empty claim
+		assertThat(processed).hasSize(20).doesNotHaveDuplicates();
+		verify(workerMock, times(24)).claimBatch();
+		verify(healthUtilityMock).setHealthIndicatorHealthy(JOB_NAME);
+		verifyNoMoreInteractions(healthUtilityMock);
+	}
+
 	@Test
 	void processDispatch_processGroupThrows_setsUnhealthyAndContinuesWithOtherErrands() {
 		final var failing = NotificationDispatchEntity.create().withId("id-1").withErrandId("errand-1");
 		final var succeeding = NotificationDispatchEntity.create().withId("id-2").withErrandId("errand-2");
-		when(workerMock.fetchProcessable()).thenReturn(List.of(failing, succeeding));
+		when(workerMock.claimBatch()).thenReturn(List.of(failing, succeeding), List.of());
 		doThrow(new RuntimeException("channel error")).when(workerMock).processGroup(List.of(failing));
 		doNothing().when(workerMock).processGroup(List.of(succeeding));
 
 		scheduler.processDispatch();
 
-		verify(workerMock).fetchProcessable();
+		verify(workerMock, times(2)).claimBatch();
 		verify(workerMock).processGroup(List.of(failing));
 		verify(workerMock).processGroup(List.of(succeeding));
 		verify(healthUtilityMock).setHealthIndicatorUnhealthy(eq(JOB_NAME), any(String.class));
@@ -84,14 +159,24 @@ class NotificationDispatchSchedulerTest {
 	}
 
 	@Test
-	void processDispatch_fetchProcessableThrows_bubblesUpToTheSchedulingAspect() {
-		doThrow(new RuntimeException("db error")).when(workerMock).fetchProcessable();
+	void processDispatch_claimLostToConcurrentClaim_stopsQuietly() {
+		when(workerMock.claimBatch()).thenThrow(new PessimisticLockingFailureException("deadlock"));
 
-		assertThatThrownBy(() -> scheduler.processDispatch())
-			.isInstanceOf(RuntimeException.class)
-			.hasMessage("db error");
+		scheduler.processDispatch();
+
+		verify(workerMock).claimBatch();
+		verify(healthUtilityMock).setHealthIndicatorHealthy(JOB_NAME);
+		verifyNoMoreInteractions(workerMock, healthUtilityMock);
+	}
+
+	@Test
+	void processDispatch_claimBatchThrows_setsUnhealthy() {
+		doThrow(new RuntimeException("db error")).when(workerMock).claimBatch();
+
+		scheduler.processDispatch();
 
-		verify(workerMock).fetchProcessable();
+		verify(workerMock).claimBatch();
+		verify(healthUtilityMock).setHealthIndicatorUnhealthy(JOB_NAME, "Error claiming notification dispatch: db error");
 		verifyNoMoreInteractions(workerMock, healthUtilityMock);
 	}
 }
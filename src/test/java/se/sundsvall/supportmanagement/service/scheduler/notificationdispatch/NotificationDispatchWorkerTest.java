@@ -2,8 +2,11 @@ package se.sundsvall.supportmanagement.service.scheduler.notificationdispatch;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -11,6 +14,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.NotificationDispatchRepository;
@@ -23,6 +27,9 @@ import se.sundsvall.supportmanagement.integration.db.model.subscriber.Identifier
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.NotificationChannelEmbeddable;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriberEntity;
 import se.sundsvall.supportmanagement.integration.db.model.subscriber.SubscriptionEntity;
+import se.sundsvall.supportmanagement.service.SubscriptionIndexService;
+import se.sundsvall.supportmanagement.service.model.NamespaceSubscriptionIndex;
+import se.sundsvall.supportmanagement.service.model.NotificationDelivery;
 
 import static java.time.OffsetDateTime.now;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +39,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +53,7 @@ class NotificationDispatchWorkerTest {
 	private static final String EVENT_TYPE = "CREATE";
 	private static final String DESCRIPTION = "Bilaga har skapats";
 	private static final String SUB_TYPE = "ATTACHMENT";
+	private static final String CLAIMED_BY = "claimed-by";
 
 	@Mock
 	private NotificationDispatchRepository dispatchRepositoryMock;
@@ -57,15 +67,21 @@ class NotificationDispatchWorkerTest {
 	@Mock
 	private NotificationChannelDispatcher channelDispatcherMock;
 
+	@Mock
+	private SubscriptionIndexService subscriptionIndexServiceMock;
+
 	@InjectMocks
 	private NotificationDispatchWorker worker;
 
 	@Captor
-	private ArgumentCaptor<List<NotificationDispatchEntity>> eventsCaptor;
+	private ArgumentCaptor<List<NotificationDelivery>> deliveriesCaptor;
 
 	@Captor
 	private ArgumentCaptor<OffsetDateTime> offsetDateTimeCaptor;
 
+	@Captor
+	private ArgumentCaptor<String> claimedByCaptor;
+
 	private static NotificationDispatchEntity buildEntry(final String executingUserId) {
 		return NotificationDispatchEntity.create()
 			.withId("dispatch-id")
@@ -75,7 +91,8 @@ class NotificationDispatchWorkerTest {
 			.withEventType(EVENT_TYPE)
 			.withDescription(DESCRIPTION)
 			.withSubType(SUB_TYPE)
-			.withExecutingUserId(executingUserId);
+			.withExecutingUserId(executingUserId)
+			.withClaimedBy(CLAIMED_BY);
 	}
 
 	private static SubscriberEntity buildSubscriber(final String identifierValue, final List<EventFilterEmbeddable> eventFilters) {
@@ -100,9 +117,24 @@ class NotificationDispatchWorkerTest {
 		return EventFilterEmbeddable.create().withType(type).withSubtype(subtype);
 	}
 
+	private void mockDeleteClaimed() {
+		when(dispatchRepositoryMock.deleteClaimed(any(), eq(CLAIMED_BY))).thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+	}
+
+	private void mockSubscriptions(final SubscriptionEntity... subscriptions) {
+		// Namespace targets are held by the index, errand targets are read from the database
+		when(subscriptionIndexServiceMock.getIndex(NAMESPACE, MUNICIPALITY_ID)).thenReturn(NamespaceSubscriptionIndex.of(1, Stream.of(subscriptions)
+			.filter(subscription -> subscription.getTargetType() == DbSubscriptionTargetType.NAMESPACE)
+			.toList()));
+		when(subscriptionRepositoryMock.findAllActiveForErrand(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ERRAND_ID), any())).thenReturn(Stream.of(subscriptions)
+			.filter(subscription -> subscription.getTargetType() == DbSubscriptionTargetType.ERRAND)
+			.toList());
+	}
+
 	private void mockDispatchOf(final SubscriptionEntity... subscriptions) {
+		mockDeleteClaimed();
 		when(errandsRepositoryMock.findById(ERRAND_ID)).thenReturn(Optional.of(ErrandEntity.create().withErrandNumber(ERRAND_NUMBER)));
-		when(subscriptionRepositoryMock.findAllActiveForErrand(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ERRAND_ID), any())).thenReturn(List.of(subscriptions));
+		mockSubscriptions(subscriptions);
 	}
 
 	@Test
@@ -117,8 +149,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(entry));
-		verify(dispatchRepositoryMock).deleteAll(List.of(entry));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(entry))));
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(entry.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -134,8 +166,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(created, updated));
 
 		// Assert — one delivery carrying both events, not one delivery per event
-		verify(channelDispatcherMock).send(eq(ERRAND_ID), eq(ERRAND_NUMBER), eq(subscriber), eventsCaptor.capture());
-		assertThat(eventsCaptor.getValue()).containsExactly(created, updated);
+		verify(channelDispatcherMock).send(eq(ERRAND_ID), eq(ERRAND_NUMBER), deliveriesCaptor.capture());
+		assertThat(deliveriesCaptor.getValue()).containsExactly(new NotificationDelivery(subscriber, List.of(created, updated)));
 	}
 
 	@Test
@@ -151,8 +183,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(bySelf, byOther));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(byOther));
-		verify(dispatchRepositoryMock).deleteAll(List.of(bySelf, byOther));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(byOther))));
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(bySelf.getId(), byOther.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -167,8 +199,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock, never()).send(any(), any(), any(), any());
-		verify(dispatchRepositoryMock).deleteAll(List.of(entry));
+		verify(channelDispatcherMock, never()).send(any(), any(), any());
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(entry.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -182,8 +214,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock, never()).send(any(), any(), any(), any());
-		verify(dispatchRepositoryMock).deleteAll(List.of(entry));
+		verify(channelDispatcherMock, never()).send(any(), any(), any());
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(entry.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -198,7 +230,7 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(entry));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(entry))));
 	}
 
 	@Test
@@ -213,7 +245,7 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(entry));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(entry))));
 	}
 
 	@Test
@@ -228,7 +260,7 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock, never()).send(any(), any(), any(), any());
+		verify(channelDispatcherMock, never()).send(any(), any(), any());
 	}
 
 	@Test
@@ -246,7 +278,7 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(entry));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(entry))));
 	}
 
 	@Test
@@ -265,8 +297,62 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(created, updated));
 
 		// Assert
-		verify(channelDispatcherMock).send(eq(ERRAND_ID), eq(ERRAND_NUMBER), eq(subscriber), eventsCaptor.capture());
-		assertThat(eventsCaptor.getValue()).containsExactly(created, updated);
+		verify(channelDispatcherMock).send(eq(ERRAND_ID), eq(ERRAND_NUMBER), deliveriesCaptor.capture());
+		assertThat(deliveriesCaptor.getValue()).containsExactly(new NotificationDelivery(subscriber, List.of(created, updated)));
+	}
+
+	@Test
+	void processGroupSendsToNamespaceSubscribersFromTheIndex() {
+
+		// Arrange — only the namespace subscription of subscriber-2 wants the event
+		final var entry = buildEntry("other-user");
+		final var subscriber1 = buildSubscriber("joe01doe", List.of(filter("UPDATE", null))).withId("subscriber-1");
+		final var subscriber2 = buildSubscriber("jane01doe", List.of(filter(EVENT_TYPE, SUB_TYPE))).withId("subscriber-2");
+		mockDispatchOf(
+			buildSubscription(subscriber2, null).withTargetType(DbSubscriptionTargetType.NAMESPACE),
+			buildSubscription(subscriber1, null).withTargetType(DbSubscriptionTargetType.NAMESPACE));
+
+		// Act
+		worker.processGroup(List.of(entry));
+
+		// Assert
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber2, List.of(entry))));
+		verifyNoMoreInteractions(channelDispatcherMock);
+	}
+
+	@Test
+	void processGroupSkipsExpiredNamespaceSubscriptions() {
+
+		// Arrange
+		final var entry = buildEntry("other-user");
+		final var subscriber = buildSubscriber("joe01doe", null);
+		mockDispatchOf(buildSubscription(subscriber, null)
+			.withTargetType(DbSubscriptionTargetType.NAMESPACE)
+			.withExpiresAt(now().minusMinutes(1)));
+
+		// Act
+		worker.processGroup(List.of(entry));
+
+		// Assert
+		verifyNoInteractions(channelDispatcherMock);
+	}
+
+	@Test
+	void processGroupNotifiesSubscribersInOrderOfTheirId() {
+
+		// Arrange — subscriber-a is reached through the errand, subscriber-b through the namespace
+		final var entry = buildEntry("other-user");
+		final var subscriberA = buildSubscriber("joe01doe", null).withId("subscriber-a");
+		final var subscriberB = buildSubscriber("jane01doe", null).withId("subscriber-b");
+		mockDispatchOf(buildSubscription(subscriberB, null).withTargetType(DbSubscriptionTargetType.NAMESPACE), buildSubscription(subscriberA, null));
+
+		// Act
+		worker.processGroup(List.of(entry));
+
+		// Assert
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(
+			new NotificationDelivery(subscriberA, List.of(entry)),
+			new NotificationDelivery(subscriberB, List.of(entry))));
 	}
 
 	@Test
@@ -283,8 +369,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(stale, fresh));
 
 		// Assert — the stale entry is never sent, but is still cleaned up with the rest of the group
-		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, subscriber, List.of(fresh));
-		verify(dispatchRepositoryMock).deleteAll(List.of(stale, fresh));
+		verify(channelDispatcherMock).send(ERRAND_ID, ERRAND_NUMBER, List.of(new NotificationDelivery(subscriber, List.of(fresh))));
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(stale.getId(), fresh.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -300,8 +386,8 @@ class NotificationDispatchWorkerTest {
 		worker.processGroup(List.of(stale));
 
 		// Assert
-		verify(channelDispatcherMock, never()).send(any(), any(), any(), any());
-		verify(dispatchRepositoryMock).deleteAll(List.of(stale));
+		verify(channelDispatcherMock, never()).send(any(), any(), any());
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(stale.getId()), CLAIMED_BY);
 	}
 
 	@Test
@@ -310,15 +396,15 @@ class NotificationDispatchWorkerTest {
 		// Arrange
 		final var entry = buildEntry("other-user");
 		final var subscriber = buildSubscriber("joe01doe", null);
+		mockDeleteClaimed();
 		when(errandsRepositoryMock.findById(ERRAND_ID)).thenReturn(Optional.empty());
-		when(subscriptionRepositoryMock.findAllActiveForErrand(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ERRAND_ID), any()))
-			.thenReturn(List.of(buildSubscription(subscriber, null)));
+		mockSubscriptions(buildSubscription(subscriber, null));
 
 		// Act
 		worker.processGroup(List.of(entry));
 
 		// Assert
-		verify(channelDispatcherMock).send(ERRAND_ID, null, subscriber, List.of(entry));
+		verify(channelDispatcherMock).send(ERRAND_ID, null, List.of(new NotificationDelivery(subscriber, List.of(entry))));
 	}
 
 	@Test
@@ -328,28 +414,73 @@ class NotificationDispatchWorkerTest {
 		final var entry = buildEntry("other-user");
 		final var subscriber = buildSubscriber("joe01doe", null);
 		mockDispatchOf(buildSubscription(subscriber, null));
-		doThrow(new RuntimeException("boom")).when(channelDispatcherMock).send(any(), any(), any(), any());
+		doThrow(new RuntimeException("boom")).when(channelDispatcherMock).send(any(), any(), any());
 
-		// Act + Assert — the failure must reach the caller so the transaction rolls back and the group is retried later
+		// Act + Assert — the failure must reach the caller so the transaction, deletion included, rolls back and the group is retried later
 		assertThatThrownBy(() -> worker.processGroup(List.of(entry)))
 			.isInstanceOf(RuntimeException.class)
 			.hasMessage("boom");
-		verify(dispatchRepositoryMock, never()).deleteAll(any());
+		verify(dispatchRepositoryMock).deleteClaimed(List.of(entry.getId()), CLAIMED_BY);
 	}
 
 	@Test
-	void fetchProcessableAppliesTransactionBuffer() {
+	void processGroupWithClaimTakenOverSendsNothing() {
+
+		// Arrange
+		final var entry1 = buildEntry("other-user").withId("entry-1");
+		final var entry2 = buildEntry("other-user").withId("entry-2");
+		when(dispatchRepositoryMock.deleteClaimed(List.of("entry-1", "entry-2"), CLAIMED_BY)).thenReturn(1);
+
+		// Act + Assert — the failure rolls back the deletion of the entry still held
+		assertThatThrownBy(() -> worker.processGroup(List.of(entry1, entry2)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("The claim on the notification dispatch entries of errand errand-id has expired and been taken over");
+		verifyNoInteractions(errandsRepositoryMock, subscriptionRepositoryMock, subscriptionIndexServiceMock, channelDispatcherMock);
+	}
+
+	@Test
+	void claimBatchClaimsEveryEntryOfTheFoundErrands() {
 
 		// Arrange
 		ReflectionTestUtils.setField(worker, "transactionBuffer", Duration.ofSeconds(30));
-		final var before = now().minusSeconds(30);
+		ReflectionTestUtils.setField(worker, "batchSize", 3);
+		ReflectionTestUtils.setField(worker, "leaseDuration", Duration.ofMinutes(5));
+		final var claimed = List.of(buildEntry(null).withId("entry-1"), buildEntry(null).withId("entry-2"));
+		when(dispatchRepositoryMock.findClaimable(any(), any(), any())).thenReturn(List.of(
+			buildEntry(null).withErrandId("errand-1"),
+			buildEntry(null).withErrandId("errand-2"),
+			buildEntry(null).withErrandId("errand-1")));
+		when(dispatchRepositoryMock.findByClaimedByOrderByErrandIdAscRequestGroupIdAsc(any())).thenReturn(claimed);
+		final var before = now();
+
+		// Act
+		final var result = worker.claimBatch();
+
+		// Assert
+		final var after = now();
+		assertThat(result).isSameAs(claimed);
+		verify(dispatchRepositoryMock).findClaimable(offsetDateTimeCaptor.capture(), offsetDateTimeCaptor.capture(), eq(Pageable.ofSize(3)));
+		final var claimNow = offsetDateTimeCaptor.getAllValues().getFirst();
+		assertThat(claimNow).isBetween(before, after);
+		assertThat(offsetDateTimeCaptor.getAllValues().get(1)).isEqualTo(claimNow.minusSeconds(30));
+		verify(dispatchRepositoryMock).claim(eq(Set.of("errand-1", "errand-2")), claimedByCaptor.capture(), eq(claimNow.plusMinutes(5)), eq(claimNow), eq(claimNow.minusSeconds(30)));
+		assertThat(claimedByCaptor.getValue()).isNotBlank();
+		verify(dispatchRepositoryMock).findByClaimedByOrderByErrandIdAscRequestGroupIdAsc(claimedByCaptor.getValue());
+		verifyNoMoreInteractions(dispatchRepositoryMock);
+	}
+
+	@Test
+	void claimBatchWithNothingClaimable() {
+
+		// Arrange
+		when(dispatchRepositoryMock.findClaimable(any(), any(), any())).thenReturn(List.of());
 
 		// Act
-		worker.fetchProcessable();
+		final var result = worker.claimBatch();
 
 		// Assert
-		final var after = now().minusSeconds(30);
-		verify(dispatchRepositoryMock).findProcessable(offsetDateTimeCaptor.capture());
-		assertThat(offsetDateTimeCaptor.getValue()).isBetween(before, after);
+		assertThat(result).isEmpty();
+		verify(dispatchRepositoryMock).findClaimable(any(), any(), eq(Pageable.ofSize(100)));
+		verifyNoMoreInteractions(dispatchRepositoryMock);
 	}
 }
@@ -0,0 +1,52 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.service.RevisionService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionDeltaBatchProcessorTest {
+
+	@Mock
+	private RevisionService revisionServiceMock;
+
+	@InjectMocks
+	private RevisionDeltaBatchProcessor batchProcessor;
+
+	@Test
+	void processBatch() {
+
+		// Arrange
+		when(revisionServiceMock.convertToDelta("id-1")).thenReturn(true);
+		when(revisionServiceMock.convertToDelta("id-2")).thenReturn(false);
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of("id-1", "id-2"));
+
+		// Assert
+		assertThat(result).isEqualTo(1);
+	}
+
+	@Test
+	void processBatchContinuesWhenConversionFails() {
+
+		// Arrange
+		when(revisionServiceMock.convertToDelta("id-1")).thenThrow(new IllegalStateException("Conversion failed"));
+		when(revisionServiceMock.convertToDelta("id-2")).thenReturn(true);
+
+		// Act
+		final var result = batchProcessor.processBatch(List.of("id-1", "id-2"));
+
+		// Assert
+		assertThat(result).isEqualTo(1);
+		verify(revisionServiceMock).convertToDelta("id-2");
+	}
+}
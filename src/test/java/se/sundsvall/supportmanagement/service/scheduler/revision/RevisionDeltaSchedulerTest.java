@@ -0,0 +1,31 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionDeltaSchedulerTest {
+
+	@Mock
+	private RevisionDeltaWorker revisionDeltaWorkerMock;
+
+	@InjectMocks
+	private RevisionDeltaScheduler revisionDeltaScheduler;
+
+	@Test
+	void convertRevisionsToDeltas() {
+
+		// Act
+		revisionDeltaScheduler.convertRevisionsToDeltas();
+
+		// Verify
+		verify(revisionDeltaWorkerMock).convertFullSnapshotsToDeltas();
+		verifyNoMoreInteractions(revisionDeltaWorkerMock);
+	}
+}
@@ -0,0 +1,80 @@
+package se.sundsvall.supportmanagement.service.scheduler.revision;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.supportmanagement.config.RevisionDeltaStorageProperties;
+import se.sundsvall.supportmanagement.integration.db.RevisionRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevisionDeltaWorkerTest {
+
+	@Mock
+	private RevisionRepository revisionRepositoryMock;
+
+	@Mock
+	private RevisionDeltaBatchProcessor batchProcessorMock;
+
+	@Spy
+	private RevisionDeltaStorageProperties deltaStoragePropertiesSpy = new RevisionDeltaStorageProperties(true, 10);
+
+	@InjectMocks
+	private RevisionDeltaWorker revisionDeltaWorker;
+
+	@Test
+	void convertWhenDeltaStorageIsDisabled() {
+
+		// Arrange
+		ReflectionTestUtils.setField(revisionDeltaWorker, "deltaStorageProperties", new RevisionDeltaStorageProperties(false, 10));
+
+		// Act
+		revisionDeltaWorker.convertFullSnapshotsToDeltas();
+
+		// Verify
+		verifyNoInteractions(revisionRepositoryMock, batchProcessorMock);
+	}
+
+	@Test
+	void convertWhenNoRevisionsToConvert() {
+
+		// Arrange
+		when(revisionRepositoryMock.findIdsConvertibleToDelta(eq(10), eq(""), any(PageRequest.class))).thenReturn(List.of());
+
+		// Act
+		revisionDeltaWorker.convertFullSnapshotsToDeltas();
+
+		// Verify
+		verifyNoInteractions(batchProcessorMock);
+	}
+
+	@Test
+	void convertContinuesAfterLastIdOfEachPage() {
+
+		// Arrange - the second page is fetched after the last id of the first, regardless of conversion outcome
+		when(revisionRepositoryMock.findIdsConvertibleToDelta(eq(10), eq(""), any(PageRequest.class))).thenReturn(List.of("id-1", "id-2"));
+		when(revisionRepositoryMock.findIdsConvertibleToDelta(eq(10), eq("id-2"), any(PageRequest.class))).thenReturn(List.of("id-3"));
+		when(revisionRepositoryMock.findIdsConvertibleToDelta(eq(10), eq("id-3"), any(PageRequest.class))).thenReturn(List.of());
+		when(batchProcessorMock.processBatch(any())).thenReturn(0);
+
+		// Act
+		revisionDeltaWorker.convertFullSnapshotsToDeltas();
+
+		// Verify
+		verify(batchProcessorMock).processBatch(List.of("id-1", "id-2"));
+		verify(batchProcessorMock).processBatch(List.of("id-3"));
+		verifyNoMoreInteractions(batchProcessorMock);
+	}
+}
@@ -0,0 +1,153 @@
+package se.sundsvall.supportmanagement.service.scheduler.supensions;
+
+import generated.se.sundsvall.eventlog.EventType;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+import se.sundsvall.supportmanagement.service.EventService;
+import se.sundsvall.supportmanagement.service.NotificationService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.SUSPENSION;
+
+@ExtendWith(MockitoExtension.class)
+class SuspensionBatchProcessorTest {
+
+	private static final String NAMESPACE = "namespace";
+	private static final String MUNICIPALITY_ID = "municipalityId";
+	private static final String NOTIFICATION_MESSAGE = "Parkering av ärendet har upphört";
+
+	@Mock
+	private ErrandsRepository errandsRepositoryMock;
+
+	@Mock
+	private EventService eventServiceMock;
+
+	@Mock
+	private NotificationService notificationServiceMock;
+
+	@InjectMocks
+	private SuspensionBatchProcessor batchProcessor;
+
+	@Test
+	void processBatch() {
+		final var now = OffsetDateTime.now();
+		final var errandEntity = createSuspendedErrand("id", now);
+
+		when(errandsRepositoryMock.findById("id")).thenReturn(Optional.of(errandEntity));
+		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
+			MUNICIPALITY_ID, NAMESPACE, errandEntity.getAssignedUserId(), errandEntity, NOTIFICATION_MESSAGE, errandEntity.getSuspendedFrom()))
+			.thenReturn(false);
+		when(errandsRepositoryMock.markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now)).thenReturn(1);
+
+		final var result = batchProcessor.processBatch(List.of("id"), now);
+
+		assertThat(result).isOne();
+		verify(errandsRepositoryMock).findById("id");
+		verify(notificationServiceMock).doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
+			MUNICIPALITY_ID, NAMESPACE, errandEntity.getAssignedUserId(), errandEntity, NOTIFICATION_MESSAGE, errandEntity.getSuspendedFrom());
+		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq(NOTIFICATION_MESSAGE), eq(errandEntity), isNull(), isNull(), eq(SUSPENSION));
+		verify(errandsRepositoryMock).markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now);
+		verifyNoMoreInteractions(errandsRepositoryMock, notificationServiceMock, eventServiceMock);
+	}
+
+	@Test
+	void processBatchNotificationExists() {
+		final var now = OffsetDateTime.now();
+		final var errandEntity = createSuspendedErrand("id", now);
+
+		when(errandsRepositoryMock.findById("id")).thenReturn(Optional.of(errandEntity));
+		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
+			MUNICIPALITY_ID, NAMESPACE, errandEntity.getAssignedUserId(), errandEntity, NOTIFICATION_MESSAGE, errandEntity.getSuspendedFrom()))
+			.thenReturn(true);
+		when(errandsRepositoryMock.markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now)).thenReturn(1);
+
+		final var result = batchProcessor.processBatch(List.of("id"), now);
+
+		assertThat(result).isOne();
+		verify(errandsRepositoryMock).markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now);
+		verifyNoInteractions(eventServiceMock);
+	}
+
+	@Test
+	void processBatchEventFails() {
+		final var now = OffsetDateTime.now();
+		final var errandEntity = createSuspendedErrand("id", now);
+
+		when(errandsRepositoryMock.findById("id")).thenReturn(Optional.of(errandEntity));
+		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(any(), any(), any(), any(), any(), any())).thenReturn(false);
+		doThrow(new RuntimeException("Eventlog down")).when(eventServiceMock).createErrandEvent(any(), any(), any(), any(), any(), any());
+		when(errandsRepositoryMock.markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now)).thenReturn(1);
+
+		final var result = batchProcessor.processBatch(List.of("id"), now);
+
+		assertThat(result).isOne();
+		verify(errandsRepositoryMock).markSuspensionExpiryProcessed(List.of("id"), "SUSPENDED", now);
+	}
+
+	@Test
+	void processBatchSkipsErrandsNoLongerExpired() {
+		final var now = OffsetDateTime.now();
+		final var reopened = createSuspendedErrand("reopened", now).withStatus("OPEN");
+		final var extended = createSuspendedErrand("extended", now).withSuspendedTo(now.plusDays(1));
+		final var processed = createSuspendedErrand("processed", now).withSuspensionExpiryProcessed(true);
+
+		when(errandsRepositoryMock.findById("reopened")).thenReturn(Optional.of(reopened));
+		when(errandsRepositoryMock.findById("extended")).thenReturn(Optional.of(extended));
+		when(errandsRepositoryMock.findById("processed")).thenReturn(Optional.of(processed));
+		when(errandsRepositoryMock.findById("deleted")).thenReturn(Optional.empty());
+
+		final var result = batchProcessor.processBatch(List.of("reopened", "extended", "processed", "deleted"), now);
+
+		assertThat(result).isZero();
+		verifyNoInteractions(notificationServiceMock, eventServiceMock);
+		verify(errandsRepositoryMock, never()).markSuspensionExpiryProcessed(any(), any(), any());
+	}
+
+	@Test
+	void processBatchLeavesFailingErrandUnmarked() {
+		final var now = OffsetDateTime.now();
+		final var failing = createSuspendedErrand("failing", now);
+		final var succeeding = createSuspendedErrand("succeeding", now);
+
+		when(errandsRepositoryMock.findById("failing")).thenReturn(Optional.of(failing));
+		when(errandsRepositoryMock.findById("succeeding")).thenReturn(Optional.of(succeeding));
+		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(any(), any(), any(), eq(failing), any(), any()))
+			.thenThrow(new RuntimeException("Database down"));
+		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(any(), any(), any(), eq(succeeding), any(), any()))
+			.thenReturn(true);
+		when(errandsRepositoryMock.markSuspensionExpiryProcessed(List.of("succeeding"), "SUSPENDED", now)).thenReturn(1);
+
+		final var result = batchProcessor.processBatch(List.of("failing", "succeeding"), now);
+
+		assertThat(result).isOne();
+		verify(errandsRepositoryMock).markSuspensionExpiryProcessed(List.of("succeeding"), "SUSPENDED", now);
+	}
+
+	private static ErrandEntity createSuspendedErrand(final String id, final OffsetDateTime now) {
+		return ErrandEntity.create()
+			.withId(id)
+			.withNamespace(NAMESPACE)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withAssignedUserId("assignedUserId")
+			.withSuspendedFrom(now.minusDays(1))
+			.withSuspendedTo(now.minusHours(1))
+			.withStatus("SUSPENDED");
+	}
+}
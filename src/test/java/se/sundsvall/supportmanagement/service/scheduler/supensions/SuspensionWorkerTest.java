@@ -1,123 +1,105 @@
 package se.sundsvall.supportmanagement.service.scheduler.supensions;
 
-import generated.se.sundsvall.eventlog.EventType;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
-import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
-import se.sundsvall.supportmanagement.service.EventService;
-import se.sundsvall.supportmanagement.service.NotificationService;
 
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
-import static se.sundsvall.supportmanagement.integration.db.model.enums.EventSubType.SUSPENSION;
 
 @ExtendWith(MockitoExtension.class)
 class SuspensionWorkerTest {
 
-	@Mock
-	private ErrandsRepository errandsRepositoryMock;
+	private static final int BATCH_SIZE = 2;
 
 	@Mock
-	private EventService eventServiceMock;
+	private ErrandsRepository errandsRepositoryMock;
 
 	@Mock
-	private NotificationService notificationServiceMock;
+	private SuspensionBatchProcessor batchProcessorMock;
 
 	@InjectMocks
 	private SuspensionWorker suspensionWorker;
 
+	@Captor
+	private ArgumentCaptor<OffsetDateTime> nowCaptor;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(suspensionWorker, "batchSize", BATCH_SIZE);
+		ReflectionTestUtils.setField(suspensionWorker, "maxBatchesPerRun", 3);
+	}
+
 	@Test
 	void processExpiredSuspensions() {
-		final var namespace = "namespace";
-		final var municipalityId = "municipalityId";
-		final var errandEntity = ErrandEntity.create()
-			.withNamespace(namespace)
-			.withAssignedUserId("assignedUserId")
-			.withId("id")
-			.withMunicipalityId(municipalityId)
-			.withSuspendedFrom(OffsetDateTime.now().minusDays(1))
-			.withSuspendedTo(OffsetDateTime.now().minusHours(1))
-			.withStatus("SUSPENDED")
-			.withMunicipalityId(municipalityId);
-
-		when(errandsRepositoryMock.findAllBySuspendedToBefore(any(OffsetDateTime.class))).thenReturn(List.of(errandEntity));
-		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
-			municipalityId, namespace, errandEntity.getAssignedUserId(), errandEntity, "Parkering av ärendet har upphört", errandEntity.getSuspendedFrom()))
-			.thenReturn(false);
+		when(errandsRepositoryMock.findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), eq(PageRequest.of(0, BATCH_SIZE))))
+			.thenReturn(List.of("id1", "id2"))
+			.thenReturn(List.of("id3"));
+		when(batchProcessorMock.processBatch(any(), any())).thenReturn(2, 1);
 
 		suspensionWorker.processExpiredSuspensions();
 
-		verify(errandsRepositoryMock).findAllBySuspendedToBefore(any(OffsetDateTime.class));
-		verify(notificationServiceMock).doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
-			municipalityId, namespace, errandEntity.getAssignedUserId(), errandEntity, "Parkering av ärendet har upphört", errandEntity.getSuspendedFrom());
-		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Parkering av ärendet har upphört"), eq(errandEntity), isNull(), isNull(), eq(SUSPENSION));
+		verify(errandsRepositoryMock, times(2)).findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), nowCaptor.capture(), eq(PageRequest.of(0, BATCH_SIZE)));
+		verify(batchProcessorMock).processBatch(List.of("id1", "id2"), nowCaptor.getValue());
+		verify(batchProcessorMock).processBatch(List.of("id3"), nowCaptor.getValue());
+		verifyNoMoreInteractions(errandsRepositoryMock, batchProcessorMock);
 
-		verifyNoMoreInteractions(errandsRepositoryMock, notificationServiceMock, eventServiceMock);
+		assertThat(nowCaptor.getAllValues()).allSatisfy(now -> assertThat(now).isCloseTo(OffsetDateTime.now(), within(2, SECONDS)));
+		assertThat(nowCaptor.getAllValues().getFirst()).isSameAs(nowCaptor.getAllValues().getLast());
 	}
 
 	@Test
-	void processExpiredSuspensionsNotificationExists() {
-		final var namespace = "namespace";
-		final var municipalityId = "municipalityId";
-		final var errandEntity = ErrandEntity.create()
-			.withNamespace(namespace)
-			.withId("id")
-			.withMunicipalityId(municipalityId)
-			.withSuspendedFrom(OffsetDateTime.now().minusDays(1))
-			.withSuspendedTo(OffsetDateTime.now().minusHours(1))
-			.withStatus("SUSPENDED")
-			.withMunicipalityId(municipalityId);
-
-		when(errandsRepositoryMock.findAllBySuspendedToBefore(any(OffsetDateTime.class))).thenReturn(List.of(errandEntity));
-		when(notificationServiceMock.doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
-			municipalityId, namespace, errandEntity.getAssignedUserId(), errandEntity, "Parkering av ärendet har upphört", errandEntity.getSuspendedFrom()))
-			.thenReturn(true);
+	void processExpiredSuspensionsNoSuspensions() {
+		when(errandsRepositoryMock.findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), any())).thenReturn(List.of());
 
 		suspensionWorker.processExpiredSuspensions();
 
-		verify(errandsRepositoryMock).findAllBySuspendedToBefore(any(OffsetDateTime.class));
-		verify(notificationServiceMock).doesNotificationWithSpecificDescriptionExistForOwnerAndErrandAndNotificationIsCreatedAfter(
-			municipalityId, namespace, errandEntity.getAssignedUserId(), errandEntity, "Parkering av ärendet har upphört", errandEntity.getSuspendedFrom());
-		verifyNoInteractions(eventServiceMock);
-		verifyNoMoreInteractions(errandsRepositoryMock, notificationServiceMock);
+		verify(errandsRepositoryMock).findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), eq(PageRequest.of(0, BATCH_SIZE)));
+		verifyNoInteractions(batchProcessorMock);
+		verifyNoMoreInteractions(errandsRepositoryMock);
 	}
 
 	@Test
-	void processExpiredSuspensionsNoSuspensions() {
-		when(errandsRepositoryMock.findAllBySuspendedToBefore(any(OffsetDateTime.class))).thenReturn(List.of());
+	void processExpiredSuspensionsStopsWhenNothingProcessed() {
+		when(errandsRepositoryMock.findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), any())).thenReturn(List.of("id1", "id2"));
+		when(batchProcessorMock.processBatch(any(), any())).thenReturn(0);
 
 		suspensionWorker.processExpiredSuspensions();
 
-		verify(errandsRepositoryMock).findAllBySuspendedToBefore(any(OffsetDateTime.class));
-		verifyNoInteractions(eventServiceMock, notificationServiceMock);
-		verifyNoMoreInteractions(errandsRepositoryMock);
+		verify(errandsRepositoryMock).findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), any());
+		verify(batchProcessorMock).processBatch(eq(List.of("id1", "id2")), any());
+		verifyNoMoreInteractions(errandsRepositoryMock, batchProcessorMock);
 	}
 
 	@Test
-	void processExpiredSuspensionsNotSuspendedStatus() {
-		final var errandEntity = ErrandEntity.create()
-			.withId("id")
-			.withMunicipalityId("municipalityId")
-			.withSuspendedTo(OffsetDateTime.now().minusHours(1))
-			.withStatus("OPEN");
-
-		when(errandsRepositoryMock.findAllBySuspendedToBefore(any(OffsetDateTime.class))).thenReturn(List.of(errandEntity));
+	void processExpiredSuspensionsStopsAtMaxBatchesPerRun() {
+		final var ids = IntStream.range(0, BATCH_SIZE).mapToObj(i -> "id" + i).toList();
+		when(errandsRepositoryMock.findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), any())).thenReturn(ids);
+		when(batchProcessorMock.processBatch(any(), any())).thenReturn(BATCH_SIZE);
 
 		suspensionWorker.processExpiredSuspensions();
 
-		verify(errandsRepositoryMock).findAllBySuspendedToBefore(any(OffsetDateTime.class));
-		verifyNoInteractions(eventServiceMock, notificationServiceMock);
-		verifyNoMoreInteractions(errandsRepositoryMock);
+		verify(errandsRepositoryMock, times(3)).findIdsWithUnprocessedSuspensionExpiry(eq("SUSPENDED"), any(), any());
+		verify(batchProcessorMock, times(3)).processBatch(eq(ids), any());
+		verifyNoMoreInteractions(errandsRepositoryMock, batchProcessorMock);
 	}
 }
@@ -105,6 +105,7 @@ class WebMessageCollectorMapperTest {
 			assertThat(result).isNotNull();
 			assertThat(result.getFile()).isNotNull();
 			assertThat(result.getFile()).isSameAs(blob);
+			assertThat(result.getHash()).isEqualTo("7bd5537eee6ab77c15c211c234957e464d2988ffd5ed4f1d9c10a72638ef0161");
 		}
 	}
 
@@ -2,6 +2,7 @@ package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
 
 import generated.se.sundsvall.webmessagecollector.MessageDTO;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +15,14 @@ import org.springframework.test.util.ReflectionTestUtils;
 import se.sundsvall.dept44.scheduling.health.Dept44HealthUtility;
 import se.sundsvall.supportmanagement.integration.db.WebMessageCollectRepository;
 import se.sundsvall.supportmanagement.integration.db.model.WebMessageCollectEntity;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -53,6 +56,7 @@ class WebMessageCollectorSchedulerTest {
 	@BeforeEach
 	void setUp() {
 		ReflectionTestUtils.setField(scheduler, "jobName", "web-message-collector");
+		ReflectionTestUtils.setField(scheduler, "bulkIngest", false);
 	}
 
 	@Test
@@ -139,4 +143,78 @@ class WebMessageCollectorSchedulerTest {
 			first -> assertThat(first).isSameAs(message1),
 			second -> assertThat(second).isSameAs(message2));
 	}
+
+	@Test
+	void fetchWebMessagesInBulk() {
+		// Arrange
+		ReflectionTestUtils.setField(scheduler, "bulkIngest", true);
+		final var messages = List.of(new MessageDTO().id(1), new MessageDTO().id(2));
+		final var stagedWebMessages = new StagedWebMessages(Map.of("errandId", List.of(CommunicationEntity.create())), List.of(1), List.of(2));
+
+		// Mock
+		when(webMessageCollectRepositoryMock.findAll()).thenReturn(List.of(WebMessageCollectEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withInstance(INSTANCE)
+			.withFamilyIds(List.of("1"))));
+		when(webMessageCollectorWorkerMock.getWebMessages(any(), any(), any())).thenReturn(messages);
+		when(webMessageCollectorWorkerMock.stageMessages(same(messages), any())).thenReturn(stagedWebMessages);
+
+		// Act
+		scheduler.fetchWebMessages();
+
+		// Verify
+		verify(webMessageCollectRepositoryMock).findAll();
+		verify(webMessageCollectorWorkerMock).getWebMessages(INSTANCE, "1", MUNICIPALITY_ID);
+		verify(webMessageCollectorWorkerMock).stageMessages(same(messages), any());
+		verify(webMessageCollectorWorkerMock).storeMessages(stagedWebMessages);
+		verify(webMessageCollectorWorkerMock).deleteMessages(eq(MUNICIPALITY_ID), eq(List.of(2, 1)), any());
+		verify(webMessageCollectorWorkerMock, never()).processMessage(any(), any(), any());
+		verifyNoMoreInteractions(webMessageCollectorWorkerMock, webMessageCollectRepositoryMock, healthIndicatorMock);
+	}
+
+	@Test
+	void fetchWebMessagesInBulkErrorStoring() {
+		// Arrange
+		ReflectionTestUtils.setField(scheduler, "bulkIngest", true);
+		final var messages = List.of(new MessageDTO().id(1), new MessageDTO().id(2));
+		final var stagedWebMessages = new StagedWebMessages(Map.of("errandId", List.of(CommunicationEntity.create())), List.of(1), List.of(2));
+
+		// Mock
+		when(webMessageCollectRepositoryMock.findAll()).thenReturn(List.of(WebMessageCollectEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withInstance(INSTANCE)
+			.withFamilyIds(List.of("1"))));
+		when(webMessageCollectorWorkerMock.getWebMessages(any(), any(), any())).thenReturn(messages);
+		when(webMessageCollectorWorkerMock.stageMessages(same(messages), any())).thenReturn(stagedWebMessages);
+		doThrow(new RuntimeException("ERROR")).when(webMessageCollectorWorkerMock).storeMessages(stagedWebMessages);
+
+		// Act
+		scheduler.fetchWebMessages();
+
+		// Verify
+		verify(webMessageCollectorWorkerMock).storeMessages(stagedWebMessages);
+		verify(webMessageCollectorWorkerMock).deleteMessages(eq(MUNICIPALITY_ID), eq(List.of(2)), any());
+		verify(healthIndicatorMock).setHealthIndicatorUnhealthy("web-message-collector", "Error storing web messages");
+	}
+
+	@Test
+	void fetchWebMessagesInBulkNoMessages() {
+		// Arrange
+		ReflectionTestUtils.setField(scheduler, "bulkIngest", true);
+
+		// Mock
+		when(webMessageCollectRepositoryMock.findAll()).thenReturn(List.of(WebMessageCollectEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withInstance(INSTANCE)
+			.withFamilyIds(List.of("1"))));
+		when(webMessageCollectorWorkerMock.getWebMessages(any(), any(), any())).thenReturn(List.of());
+
+		// Act
+		scheduler.fetchWebMessages();
+
+		// Verify
+		verify(webMessageCollectRepositoryMock).findAll();
+		verify(webMessageCollectorWorkerMock).getWebMessages(INSTANCE, "1", MUNICIPALITY_ID);
+		verifyNoMoreInteractions(webMessageCollectorWorkerMock, webMessageCollectRepositoryMock, healthIndicatorMock);
+	}
 }
@@ -4,27 +4,25 @@ import generated.se.sundsvall.eventlog.EventType;
 import generated.se.sundsvall.webmessagecollector.MessageAttachment;
 import generated.se.sundsvall.webmessagecollector.MessageDTO;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
 import se.sundsvall.supportmanagement.integration.db.CommunicationRepository;
 import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
 import se.sundsvall.supportmanagement.integration.db.model.AttachmentDataEntity;
-import se.sundsvall.supportmanagement.integration.db.model.DbExternalTag;
 import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
 import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationEntity;
-import se.sundsvall.supportmanagement.integration.db.specification.ErrandSpecification;
+import se.sundsvall.supportmanagement.integration.db.model.communication.CommunicationExternalReference;
 import se.sundsvall.supportmanagement.integration.webmessagecollector.WebMessageCollectorClient;
 import se.sundsvall.supportmanagement.integration.webmessagecollector.configuration.WebMessageCollectorProperties;
 import se.sundsvall.supportmanagement.service.CommunicationService;
@@ -34,7 +32,6 @@ import static java.time.OffsetDateTime.now;
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
-import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -42,7 +39,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static se.sundsvall.supportmanagement.integration.db.model.enums.Direction.INBOUND;
@@ -80,18 +79,15 @@ class WebMessageCollectorWorkerTest {
 	@Mock
 	private Consumer<String> setUnHealthyConsumerMock;
 
+	@Mock
+	private WebMessageErrandLookup webMessageErrandLookupMock;
+
 	@InjectMocks
 	private WebMessageCollectorWorker webMessageCollectorWorker;
 
 	@Captor
 	private ArgumentCaptor<CommunicationEntity> communicationEntityCaptor;
 
-	@Captor
-	private ArgumentCaptor<List<DbExternalTag>> dbExternalTagsArgumentCaptor;
-
-	@Mock
-	private Specification<ErrandEntity> specificationMock;
-
 	@Test
 	void processMessage() {
 		final var id = 1;
@@ -100,6 +96,7 @@ class WebMessageCollectorWorkerTest {
 		final var familyId = "familyId";
 		final var messageId = "messageId";
 		final var errandNumber = "errandNumber";
+		final var errandId = "errandId";
 		final var attachmentId = 666;
 		final var data = "data".getBytes();
 		final var messageAttachment = new MessageAttachment().attachmentId(attachmentId);
@@ -126,27 +123,17 @@ class WebMessageCollectorWorkerTest {
 			.withStatus(status)
 			.withTouched(now().minusDays(2));
 
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(errandEntity));
+		when(webMessageErrandLookupMock.findErrandId(any(), any())).thenReturn(Optional.of(errandId));
+		when(errandsRepositoryMock.findById(any())).thenReturn(Optional.of(errandEntity));
 		when(communicationRepositoryMock.existsByErrandNumberAndExternalId(any(), any())).thenReturn(false);
 		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
 		when(webMessageCollectorClientMock.getAttachment(any(), anyInt())).thenReturn(data);
 		when(webMessageCollectorMapperMock.toAttachmentDataEntity(any())).thenReturn(attachmentDataEntityMock);
 
-		try (final MockedStatic<ErrandSpecification> specificationMockedStatic = Mockito.mockStatic(ErrandSpecification.class)) {
-			specificationMockedStatic.when(() -> ErrandSpecification.hasMatchingTags(any())).thenReturn(specificationMock);
-
-			webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock);
-
-			specificationMockedStatic.verify(() -> ErrandSpecification.hasMatchingTags(dbExternalTagsArgumentCaptor.capture()));
-			assertThat(dbExternalTagsArgumentCaptor.getValue())
-				.hasSize(2)
-				.extracting(DbExternalTag::getKey, DbExternalTag::getValue)
-				.containsExactlyInAnyOrder(
-					tuple("caseId", caseId),
-					tuple("familyId", familyId));
-		}
+		webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock);
 
-		verify(errandsRepositoryMock).findOne(same(specificationMock));
+		verify(webMessageErrandLookupMock).findErrandId(caseId, familyId);
+		verify(errandsRepositoryMock).findById(errandId);
 		verify(communicationRepositoryMock).existsByErrandNumberAndExternalId(errandNumber, messageId);
 		verify(webMessageCollectorMapperMock).toCommunicationEntity(messagedto, errandEntity);
 		verify(communicationServiceMock).saveCommunication(communicationEntityCaptor.capture());
@@ -179,23 +166,11 @@ class WebMessageCollectorWorkerTest {
 		final var familyId = "321";
 		final var messagedto = new MessageDTO().externalCaseId(externalCaseId).familyId(familyId);
 
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.empty());
+		when(webMessageErrandLookupMock.findErrandId(any(), any())).thenReturn(Optional.empty());
 
-		try (final MockedStatic<ErrandSpecification> specificationMockedStatic = Mockito.mockStatic(ErrandSpecification.class)) {
-			specificationMockedStatic.when(() -> ErrandSpecification.hasMatchingTags(any())).thenReturn(specificationMock);
+		webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock);
 
-			webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock);
-
-			specificationMockedStatic.verify(() -> ErrandSpecification.hasMatchingTags(dbExternalTagsArgumentCaptor.capture()));
-			assertThat(dbExternalTagsArgumentCaptor.getValue())
-				.hasSize(2)
-				.extracting(DbExternalTag::getKey, DbExternalTag::getValue)
-				.containsExactlyInAnyOrder(
-					tuple("caseId", externalCaseId),
-					tuple("familyId", familyId));
-		}
-
-		verify(errandsRepositoryMock).findOne(same(specificationMock));
+		verify(webMessageErrandLookupMock).findErrandId(externalCaseId, familyId);
 		verifyNoMoreInteractions(webMessageCollectorClientMock, errandsRepositoryMock, communicationRepositoryMock, webMessageCollectorMapperMock, eventServiceMock);
 	}
 
@@ -204,16 +179,13 @@ class WebMessageCollectorWorkerTest {
 		final var messagedto = new MessageDTO().id(1).externalCaseId("caseId").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString()).attachments(List.of());
 		final var errandEntity = ErrandEntity.create().withErrandNumber("errandNumber").withMunicipalityId(MUNICIPALITY_ID);
 
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(errandEntity));
+		when(webMessageErrandLookupMock.findErrandId(any(), any())).thenReturn(Optional.of("errandId"));
+		when(errandsRepositoryMock.findById("errandId")).thenReturn(Optional.of(errandEntity));
 		when(communicationRepositoryMock.existsByErrandNumberAndExternalId(any(), any())).thenReturn(false);
 		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
 		doThrow(new RuntimeException("EventLog down")).when(eventServiceMock).createErrandEvent(any(), any(), any(), any(), any(), any());
 
-		try (final MockedStatic<ErrandSpecification> specificationMockedStatic = Mockito.mockStatic(ErrandSpecification.class)) {
-			specificationMockedStatic.when(() -> ErrandSpecification.hasMatchingTags(any())).thenReturn(specificationMock);
-
-			assertThatNoException().isThrownBy(() -> webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock));
-		}
+		assertThatNoException().isThrownBy(() -> webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock));
 
 		verify(communicationServiceMock).saveCommunication(any(CommunicationEntity.class));
 		verify(webMessageCollectorClientMock).deleteMessages(MUNICIPALITY_ID, List.of(1));
@@ -224,22 +196,165 @@ class WebMessageCollectorWorkerTest {
 		final var messagedto = new MessageDTO().id(1).externalCaseId("caseId").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString()).attachments(List.of());
 		final var errandEntity = ErrandEntity.create().withErrandNumber("errandNumber").withMunicipalityId(MUNICIPALITY_ID);
 
-		when(errandsRepositoryMock.findOne(ArgumentMatchers.<Specification<ErrandEntity>>any())).thenReturn(Optional.of(errandEntity));
+		when(webMessageErrandLookupMock.findErrandId(any(), any())).thenReturn(Optional.of("errandId"));
+		when(errandsRepositoryMock.findById("errandId")).thenReturn(Optional.of(errandEntity));
 		when(communicationRepositoryMock.existsByErrandNumberAndExternalId(any(), any())).thenReturn(false);
 		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
 		doThrow(new RuntimeException("WebMessageCollector down")).when(webMessageCollectorClientMock).deleteMessages(any(), any());
 
-		try (final MockedStatic<ErrandSpecification> specificationMockedStatic = Mockito.mockStatic(ErrandSpecification.class)) {
-			specificationMockedStatic.when(() -> ErrandSpecification.hasMatchingTags(any())).thenReturn(specificationMock);
-
-			assertThatNoException().isThrownBy(() -> webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock));
-		}
+		assertThatNoException().isThrownBy(() -> webMessageCollectorWorker.processMessage(messagedto, MUNICIPALITY_ID, setUnHealthyConsumerMock));
 
 		verify(communicationServiceMock).saveCommunication(any(CommunicationEntity.class));
 		verify(webMessageCollectorClientMock).deleteMessages(MUNICIPALITY_ID, List.of(1));
 		verify(setUnHealthyConsumerMock).accept(any(String.class));
 	}
 
+	@Test
+	void stageMessages() {
+		final var newMessage = new MessageDTO().id(1).externalCaseId("caseId1").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString())
+			.attachments(List.of(new MessageAttachment().attachmentId(666)));
+		final var storedMessage = new MessageDTO().id(2).externalCaseId("caseId2").familyId("familyId").messageId("msg-2").sent(LocalDateTime.now().toString());
+		final var orphanMessage = new MessageDTO().id(3).externalCaseId("caseId3").familyId("familyId").messageId("msg-3").sent(LocalDateTime.now().toString());
+		final var errand1 = ErrandEntity.create().withId("errandId1").withErrandNumber("errandNumber1").withMunicipalityId(MUNICIPALITY_ID);
+		final var errand2 = ErrandEntity.create().withId("errandId2").withErrandNumber("errandNumber2").withMunicipalityId(MUNICIPALITY_ID);
+		final var data = "data".getBytes();
+
+		when(webMessageErrandLookupMock.findErrandId("caseId1", "familyId")).thenReturn(Optional.of("errandId1"));
+		when(webMessageErrandLookupMock.findErrandId("caseId2", "familyId")).thenReturn(Optional.of("errandId2"));
+		when(webMessageErrandLookupMock.findErrandId("caseId3", "familyId")).thenReturn(Optional.empty());
+		when(errandsRepositoryMock.findAllById(Set.of("errandId1", "errandId2"))).thenReturn(List.of(errand1, errand2));
+		when(communicationRepositoryMock.findExternalReferences(Set.of("errandNumber1", "errandNumber2"), Set.of("msg-1", "msg-2", "msg-3")))
+			.thenReturn(List.of(new CommunicationExternalReference("errandNumber2", "msg-2"), new CommunicationExternalReference("errandNumber1", "msg-2")));
+		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
+		when(webMessageCollectorClientMock.getAttachment(MUNICIPALITY_ID, 666)).thenReturn(data);
+		when(webMessageCollectorMapperMock.toAttachmentDataEntity(data)).thenReturn(attachmentDataEntityMock);
+
+		final var result = webMessageCollectorWorker.stageMessages(List.of(newMessage, storedMessage, orphanMessage), setUnHealthyConsumerMock);
+
+		assertThat(result.newMessageIds()).containsExactly(1);
+		assertThat(result.storedMessageIds()).containsExactly(2);
+		assertThat(result.communications()).containsOnlyKeys("errandId1");
+		assertThat(result.communications().get("errandId1")).singleElement().satisfies(communication -> {
+			assertThat(communication.getExternalId()).isEqualTo("msg-1");
+			assertThat(communication.getErrandNumber()).isEqualTo("errandNumber1");
+			assertThat(communication.getAttachments()).singleElement().satisfies(attachment -> assertThat(attachment.getAttachmentData()).isSameAs(attachmentDataEntityMock));
+		});
+
+		verify(webMessageCollectorMapperMock).toCommunicationEntity(newMessage, errand1);
+		verifyNoMoreInteractions(webMessageCollectorClientMock, errandsRepositoryMock, communicationRepositoryMock, webMessageCollectorMapperMock);
+		verifyNoInteractions(communicationServiceMock, eventServiceMock, setUnHealthyConsumerMock);
+	}
+
+	@Test
+	void stageMessages_duplicateInBatch() {
+		final var message = new MessageDTO().id(1).externalCaseId("caseId").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString());
+		final var duplicate = new MessageDTO().id(2).externalCaseId("caseId").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString());
+		final var errand = ErrandEntity.create().withId("errandId").withErrandNumber("errandNumber").withMunicipalityId(MUNICIPALITY_ID);
+
+		when(webMessageErrandLookupMock.findErrandId("caseId", "familyId")).thenReturn(Optional.of("errandId"));
+		when(errandsRepositoryMock.findAllById(Set.of("errandId"))).thenReturn(List.of(errand));
+		when(communicationRepositoryMock.findExternalReferences(any(), any())).thenReturn(List.of());
+		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
+
+		final var result = webMessageCollectorWorker.stageMessages(List.of(message, duplicate), setUnHealthyConsumerMock);
+
+		assertThat(result.newMessageIds()).containsExactly(1);
+		assertThat(result.storedMessageIds()).containsExactly(2);
+		assertThat(result.communications().get("errandId")).hasSize(1);
+	}
+
+	@Test
+	void stageMessages_attachmentFails() {
+		final var message = new MessageDTO().id(1).externalCaseId("caseId").familyId("familyId").messageId("msg-1").sent(LocalDateTime.now().toString())
+			.attachments(List.of(new MessageAttachment().attachmentId(666)));
+		final var errand = ErrandEntity.create().withId("errandId").withErrandNumber("errandNumber").withMunicipalityId(MUNICIPALITY_ID);
+
+		when(webMessageErrandLookupMock.findErrandId("caseId", "familyId")).thenReturn(Optional.of("errandId"));
+		when(errandsRepositoryMock.findAllById(Set.of("errandId"))).thenReturn(List.of(errand));
+		when(communicationRepositoryMock.findExternalReferences(any(), any())).thenReturn(List.of());
+		when(webMessageCollectorMapperMock.toCommunicationEntity(any(), any())).thenCallRealMethod();
+		when(webMessageCollectorClientMock.getAttachment(MUNICIPALITY_ID, 666)).thenThrow(new RuntimeException("WebMessageCollector down"));
+
+		final var result = webMessageCollectorWorker.stageMessages(List.of(message), setUnHealthyConsumerMock);
+
+		assertThat(result.communications()).isEmpty();
+		assertThat(result.newMessageIds()).isEmpty();
+		assertThat(result.storedMessageIds()).isEmpty();
+		verify(setUnHealthyConsumerMock).accept("Error processing individual web messages");
+	}
+
+	@Test
+	void stageMessages_noErrandFound() {
+		final var message = new MessageDTO().id(1).externalCaseId("caseId").familyId("familyId").messageId("msg-1");
+
+		when(webMessageErrandLookupMock.findErrandId("caseId", "familyId")).thenReturn(Optional.empty());
+		when(errandsRepositoryMock.findAllById(Set.of())).thenReturn(List.of());
+
+		final var result = webMessageCollectorWorker.stageMessages(List.of(message), setUnHealthyConsumerMock);
+
+		assertThat(result.communications()).isEmpty();
+		assertThat(result.newMessageIds()).isEmpty();
+		assertThat(result.storedMessageIds()).isEmpty();
+		verifyNoInteractions(communicationRepositoryMock, webMessageCollectorClientMock, webMessageCollectorMapperMock);
+	}
+
+	@Test
+	void storeMessages() {
+		final var errand1 = ErrandEntity.create().withId("errandId1");
+		final var errand2 = ErrandEntity.create().withId("errandId2");
+		final var communication1 = CommunicationEntity.create().withExternalId("msg-1");
+		final var communication2 = CommunicationEntity.create().withExternalId("msg-2");
+		final var communication3 = CommunicationEntity.create().withExternalId("msg-3");
+		final var communications = new LinkedHashMap<String, List<CommunicationEntity>>();
+		communications.put("errandId1", List.of(communication1, communication2));
+		communications.put("errandId2", List.of(communication3));
+
+		when(errandsRepositoryMock.findAllById(communications.keySet())).thenReturn(List.of(errand1, errand2));
+
+		webMessageCollectorWorker.storeMessages(new StagedWebMessages(communications, List.of(1, 2, 3), List.of()));
+
+		verify(communicationServiceMock).saveCommunications(List.of(communication1, communication2, communication3));
+		verify(communicationServiceMock).saveAttachment(communication1, errand1);
+		verify(communicationServiceMock).saveAttachment(communication2, errand1);
+		verify(communicationServiceMock).saveAttachment(communication3, errand2);
+		verify(eventServiceMock, times(2)).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errand1), isNull(), isNull(), same(MESSAGE));
+		verify(eventServiceMock).createErrandEvent(eq(EventType.UPDATE), eq("Nytt meddelande"), same(errand2), isNull(), isNull(), same(MESSAGE));
+		verifyNoMoreInteractions(communicationServiceMock, errandsRepositoryMock, eventServiceMock);
+		verifyNoInteractions(webMessageCollectorClientMock);
+	}
+
+	@Test
+	void storeMessages_nothingToStore() {
+		webMessageCollectorWorker.storeMessages(new StagedWebMessages(Map.of(), List.of(), List.of(1)));
+
+		verifyNoInteractions(errandsRepositoryMock, communicationServiceMock, eventServiceMock, webMessageCollectorClientMock);
+	}
+
+	@Test
+	void deleteMessages() {
+		webMessageCollectorWorker.deleteMessages(MUNICIPALITY_ID, List.of(1, 2, 3), setUnHealthyConsumerMock);
+
+		verify(webMessageCollectorClientMock).deleteMessages(MUNICIPALITY_ID, List.of(1, 2, 3));
+		verifyNoInteractions(setUnHealthyConsumerMock);
+	}
+
+	@Test
+	void deleteMessages_noMessages() {
+		webMessageCollectorWorker.deleteMessages(MUNICIPALITY_ID, List.of(), setUnHealthyConsumerMock);
+
+		verifyNoInteractions(webMessageCollectorClientMock, setUnHealthyConsumerMock);
+	}
+
+	@Test
+	void deleteMessages_fails() {
+		doThrow(new RuntimeException("WebMessageCollector down")).when(webMessageCollectorClientMock).deleteMessages(any(), any());
+
+		assertThatNoException().isThrownBy(() -> webMessageCollectorWorker.deleteMessages(MUNICIPALITY_ID, List.of(1, 2), setUnHealthyConsumerMock));
+
+		verify(webMessageCollectorClientMock).deleteMessages(MUNICIPALITY_ID, List.of(1, 2));
+		verify(setUnHealthyConsumerMock).accept("Failed to delete web-message from WebMessageCollector — message will be re-processed each run");
+	}
+
 	@Test
 	void getWebMessages() {
 		final var instance = "instance";
@@ -0,0 +1,91 @@
+package se.sundsvall.supportmanagement.service.scheduler.webmessagecollector;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import se.sundsvall.supportmanagement.integration.db.ErrandsRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.supportmanagement.service.scheduler.webmessagecollector.WebMessageErrandLookup.CACHE_NAME;
+
+@ContextConfiguration
+@ExtendWith(SpringExtension.class)
+class WebMessageErrandLookupTest {
+
+	private static final String CASE_ID = "caseId";
+	private static final String FAMILY_ID = "familyId";
+	private static final String ERRAND_ID = "errandId";
+
+	@Autowired
+	private WebMessageErrandLookup webMessageErrandLookup;
+
+	@Autowired
+	private ErrandsRepository errandsRepositoryMock;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Provides the lookup with a mocked repository and a cache manager
+	@EnableCaching
+	@Configuration
+	public static class CachingTestConfig {
+
+		@Bean
+		public ErrandsRepository errandsRepository() {
+			return mock(ErrandsRepository.class);
+		}
+
+		@Bean
+		public WebMessageErrandLookup webMessageErrandLookup(final ErrandsRepository errandsRepository) {
+			return new WebMessageErrandLookup(errandsRepository);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(CACHE_NAME);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		// The context, and hence the cache, is shared between the tests
+		reset(errandsRepositoryMock);
+		cacheManager.getCache(CACHE_NAME).clear();
+	}
+
+	@Test
+	void findErrandIdIsCached() {
+		when(errandsRepositoryMock.findIdByExternalTags("caseId", CASE_ID, "familyId", FAMILY_ID)).thenReturn(Optional.of(ERRAND_ID));
+
+		assertThat(webMessageErrandLookup.findErrandId(CASE_ID, FAMILY_ID)).hasValue(ERRAND_ID);
+		assertThat(webMessageErrandLookup.findErrandId(CASE_ID, FAMILY_ID)).hasValue(ERRAND_ID);
+
+		verify(errandsRepositoryMock).findIdByExternalTags("caseId", CASE_ID, "familyId", FAMILY_ID);
+		verifyNoMoreInteractions(errandsRepositoryMock);
+	}
+
+	@Test
+	void findErrandIdMissIsNotCached() {
+		when(errandsRepositoryMock.findIdByExternalTags("caseId", CASE_ID, "familyId", FAMILY_ID)).thenReturn(Optional.empty(), Optional.of(ERRAND_ID));
+
+		assertThat(webMessageErrandLookup.findErrandId(CASE_ID, FAMILY_ID)).isEmpty();
+		assertThat(webMessageErrandLookup.findErrandId(CASE_ID, FAMILY_ID)).hasValue(ERRAND_ID);
+
+		verify(errandsRepositoryMock, times(2)).findIdByExternalTags("caseId", CASE_ID, "familyId", FAMILY_ID);
+	}
+}
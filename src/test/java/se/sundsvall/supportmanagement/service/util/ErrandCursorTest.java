@@ -0,0 +1,64 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+import se.sundsvall.supportmanagement.integration.db.model.ErrandEntity;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey.CREATED;
+import static se.sundsvall.supportmanagement.api.model.errand.ErrandSortKey.TOUCHED;
+
+class ErrandCursorTest {
+
+	private static final OffsetDateTime CREATED_VALUE = OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 123456000, ZoneOffset.UTC);
+	private static final OffsetDateTime TOUCHED_VALUE = CREATED_VALUE.plusDays(1);
+	private static final ErrandEntity ENTITY = ErrandEntity.create().withId("errandId").withCreated(CREATED_VALUE).withTouched(TOUCHED_VALUE);
+
+	@Test
+	void ofUsesValueOfSortKey() {
+		assertThat(ErrandCursor.of(CREATED, ASC, ENTITY)).isEqualTo(new ErrandCursor(CREATED, ASC, CREATED_VALUE, "errandId"));
+		assertThat(ErrandCursor.of(TOUCHED, DESC, ENTITY)).isEqualTo(new ErrandCursor(TOUCHED, DESC, TOUCHED_VALUE, "errandId"));
+	}
+
+	@Test
+	void encodeAndDecode() {
+		final var cursor = new ErrandCursor(TOUCHED, DESC, OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 123456000, ZoneOffset.ofHours(2)), "errandId");
+
+		final var token = cursor.encode();
+
+		assertThat(token).doesNotContain("|", "=", "+", "/");
+		assertThat(ErrandCursor.decode(token)).isEqualTo(cursor);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"not base64 !", "", "VE9VQ0hFRHxERVND", "VE9VQ0hFRHxERVNDfG5vdC1hLWRhdGV8aWQ", "VU5LTk9XTnxERVNDfDIwMjQtMDEtMDFUMTA6MDBafGlk"
+	})
+	void decodeInvalidToken(final String token) {
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> ErrandCursor.decode(token))
+			.satisfies(problem -> {
+				assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST);
+				assertThat(problem.getDetail()).isEqualTo("Invalid cursor");
+			});
+	}
+
+	@Test
+	void decodeTokenWithoutId() {
+		final var token = Base64.getUrlEncoder().encodeToString("TOUCHED|DESC|2024-01-01T10:00:00Z|".getBytes(UTF_8));
+
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> ErrandCursor.decode(token))
+			.satisfies(problem -> assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST));
+	}
+}
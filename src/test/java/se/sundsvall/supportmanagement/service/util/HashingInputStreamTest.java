@@ -0,0 +1,81 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HashingInputStreamTest {
+
+	private static final String TEST_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+	@Test
+	void hashIsPublishedAtEndOfStream() throws IOException {
+		final var hashes = new ArrayList<String>();
+
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), -1, hashes::add)) {
+			assertThat(stream.readAllBytes()).isEqualTo("test".getBytes());
+			assertThat(stream.read()).isEqualTo(-1);
+		}
+
+		assertThat(hashes).containsExactly(TEST_HASH);
+	}
+
+	@Test
+	void hashIsPublishedWhenExpectedLengthIsRead() throws IOException {
+		final var hashes = new ArrayList<String>();
+
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), 4, hashes::add)) {
+			assertThat(stream.readNBytes(4)).isEqualTo("test".getBytes());
+		}
+
+		assertThat(hashes).containsExactly(TEST_HASH);
+	}
+
+	@Test
+	void hashIsPublishedWhenReadingSingleBytes() throws IOException {
+		final var hashes = new ArrayList<String>();
+
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), 4, hashes::add)) {
+			for (var i = 0; i < 4; i++) {
+				assertThat(stream.read()).isNotNegative();
+			}
+		}
+
+		assertThat(hashes).containsExactly(TEST_HASH);
+	}
+
+	@Test
+	void skippedBytesAreHashed() throws IOException {
+		final var hashes = new ArrayList<String>();
+
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), 4, hashes::add)) {
+			assertThat(stream.skip(2)).isEqualTo(2);
+			assertThat(stream.readAllBytes()).isEqualTo("st".getBytes());
+		}
+
+		assertThat(hashes).containsExactly(TEST_HASH);
+	}
+
+	@Test
+	void hashIsNotPublishedForPartiallyReadStream() throws IOException {
+		final var hashes = new ArrayList<String>();
+
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), 4, hashes::add)) {
+			assertThat(stream.readNBytes(2)).isEqualTo("te".getBytes());
+		}
+
+		assertThat(hashes).isEmpty();
+	}
+
+	@Test
+	void markAndResetIsNotSupported() throws IOException {
+		try (final var stream = new HashingInputStream(new ByteArrayInputStream("test".getBytes()), 4, _ -> {})) {
+			assertThat(stream.markSupported()).isFalse();
+			assertThatExceptionOfType(IOException.class).isThrownBy(stream::reset);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package se.sundsvall.supportmanagement.service.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.util.AntPathMatcher;
+import se.sundsvall.supportmanagement.integration.db.model.MetadataLabelEntity;
+
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LabelPathIndexTest {
+
+	private static final List<MetadataLabelEntity> LABELS = Stream.of(
+		"category",
+		"category/type",
+		"category/type/subtype",
+		"category/other",
+		"Category/Type/Other",
+		"other/type",
+		"other/type/subtype",
+		"other/category/type",
+		"Ärende/Övrigt",
+		"/leading/slash",
+		"trailing/slash/",
+		"double//slash")
+		.map(path -> MetadataLabelEntity.create().withId(path).withResourcePath(path))
+		.toList();
+
+	private static final LabelPathIndex INDEX = LabelPathIndex.of(LABELS);
+
+	private static Stream<Arguments> patternArguments() {
+		return Stream.of(
+			Arguments.of("category/type", List.of("category/type")),
+			Arguments.of("CATEGORY/TYPE", List.of("category/type")),
+			Arguments.of("category/*", List.of("category/type", "category/other")),
+			Arguments.of("category/t?pe", List.of("category/type")),
+			Arguments.of("category/**", List.of("category", "category/type", "category/type/subtype", "category/other", "Category/Type/Other")),
+			Arguments.of("**/type", List.of("category/type", "other/type", "other/category/type")),
+			Arguments.of("other/**/type", List.of("other/type", "other/category/type")),
+			Arguments.of("**/**/subtype", List.of("category/type/subtype", "other/type/subtype")),
+			Arguments.of("*/type/*", List.of("category/type/subtype", "Category/Type/Other", "other/type/subtype")),
+			Arguments.of("ärende/*", List.of("Ärende/Övrigt")),
+			Arguments.of("Ä*/Ö*", List.of("Ärende/Övrigt")),
+			Arguments.of("leading/slash", List.of()),
+			Arguments.of("/leading/slash", List.of("/leading/slash")),
+			Arguments.of("{name:cat.*}/type", List.of("category/type")),
+			Arguments.of("**", LABELS.stream().map(MetadataLabelEntity::getResourcePath).filter(path -> !path.startsWith("/")).toList()),
+			Arguments.of("unknown/**", List.of()));
+	}
+
+	@ParameterizedTest
+	@MethodSource("patternArguments")
+	void match(final String pattern, final List<String> expectedResourcePaths) {
+		final var result = INDEX.match(List.of(pattern));
+
+		assertThat(result).extracting(MetadataLabelEntity::getResourcePath).containsExactlyInAnyOrderElementsOf(expectedResourcePaths);
+	}
+
+	@ParameterizedTest
+	@MethodSource("patternArguments")
+	void matchIsSameAsMatchingEveryLabel(final String pattern, final List<String> ignored) {
+		final var pathMatcher = new AntPathMatcher();
+		pathMatcher.setCaseSensitive(false);
+
+		final var expected = LABELS.stream()
+			.filter(label -> pathMatcher.match(pattern, label.getResourcePath()))
+			.collect(toSet());
+
+		assertThat(INDEX.match(List.of(pattern))).isEqualTo(expected);
+	}
+
+	@Test
+	void matchSeveralPatterns() {
+		final var result = INDEX.match(List.of("category/type", "other/*"));
+
+		assertThat(result).extracting(MetadataLabelEntity::getResourcePath).containsExactlyInAnyOrder("category/type", "other/type");
+	}
+
+	@Test
+	void matchWithoutPatterns() {
+		assertThat(INDEX.match(List.of())).isEmpty();
+		assertThat(INDEX.match(Arrays.asList((String) null))).isEmpty();
+	}
+
+	@Test
+	void labelsWithoutResourcePathAreIgnored() {
+		final var index = LabelPathIndex.of(List.of(MetadataLabelEntity.create().withId("id")));
+
+		assertThat(index.match(List.of("**"))).isEmpty();
+	}
+}
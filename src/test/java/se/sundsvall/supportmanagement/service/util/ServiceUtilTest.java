@@ -142,6 +142,13 @@ class ServiceUtilTest {
 		assertThat(ServiceUtil.computeSha256Hex((InputStream) null)).isNull();
 	}
 
+	@Test
+	void foldCase() {
+		assertThat(ServiceUtil.foldCase(null)).isNull();
+		assertThat(ServiceUtil.foldCase("Status_1")).isEqualTo(ServiceUtil.foldCase("STATUS_1")).isEqualTo("status_1");
+		assertThat(ServiceUtil.foldCase("ÄRENDE")).isEqualTo(ServiceUtil.foldCase("ärende"));
+	}
+
 	@ParameterizedTest
 	@NullAndEmptySource
 	void createCacheKeyFromNullOrEmpty(List<Access.AccessLevelEnum> filter) {
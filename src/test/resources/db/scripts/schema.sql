@@ -1,4 +1,26 @@
 
+    create table access_set (
+        municipality_id varchar(8) not null,
+        namespace varchar(32) not null,
+        id varchar(64) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table access_set_label (
+        access_set_id varchar(64) not null,
+        metadata_label_id varchar(255) not null,
+        primary key (access_set_id, metadata_label_id)
+    ) engine=InnoDB;
+
+    create table accessible_labels_snapshot (
+        created datetime(3) not null,
+        municipality_id varchar(8) not null,
+        namespace varchar(32) not null,
+        id varchar(64) not null,
+        label_ids longtext not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table action_config (
         active bit not null,
         created datetime(6),
@@ -57,10 +79,21 @@
 
     create table attachment_data (
         id integer not null auto_increment,
+        reference_count integer not null,
+        municipality_id varchar(8),
+        hash varchar(64),
+        storage_key varchar(255),
         file longblob,
         primary key (id)
     ) engine=InnoDB;
 
+    create table cache_invalidation (
+        created datetime(3) not null,
+        id bigint not null auto_increment,
+        cache_name varchar(255) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table category (
         deprecated bit not null,
         sort_order integer,
@@ -172,6 +205,20 @@
         relation_id varchar(36)
     ) engine=InnoDB;
 
+    create table email_follow_up (
+        attempts integer not null,
+        created datetime(3) not null,
+        municipality_id varchar(8) not null,
+        next_attempt datetime(3) not null,
+        namespace varchar(32) not null,
+        errand_id varchar(36),
+        id varchar(36) not null,
+        email_id varchar(255) not null,
+        type enum ('DELETE_EMAIL','SEND_CONFIRMATION') not null,
+        payload longtext,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table email_worker_config (
         add_sender_as_stakeholder bit,
         days_of_inactivity_before_reject integer,
@@ -205,9 +252,11 @@
         municipality_id varchar(8) not null,
         suspended_from datetime(6),
         suspended_to datetime(6),
+        suspension_expiry_processed bit default 0 not null,
         touched datetime(6),
         version bigint default 0 not null,
         namespace varchar(32) not null,
+        access_set_key varchar(64),
         status varchar(64),
         type varchar(128),
         contact_reason_description varchar(4096),
@@ -263,6 +312,18 @@
         primary key (id)
     ) engine=InnoDB;
 
+    create table eventlog_outbox (
+        attempts integer not null,
+        created datetime(3) not null,
+        municipality_id varchar(8) not null,
+        next_attempt datetime(3) not null,
+        id varchar(36) not null,
+        notification_dispatch_id varchar(36),
+        log_key varchar(255) not null,
+        payload longtext not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table external_id_type (
         deprecated bit not null,
         sort_order integer,
@@ -383,14 +444,33 @@
         primary key (id)
     ) engine=InnoDB;
 
+    create table notification_delivery (
+        attempts integer not null,
+        created datetime(3) not null,
+        municipality_id varchar(8) not null,
+        next_attempt datetime(3) not null,
+        channel_type varchar(32) not null,
+        namespace varchar(32) not null,
+        digest_key varchar(36),
+        errand_id varchar(36) not null,
+        id varchar(36) not null,
+        destination varchar(255) not null,
+        errand_number varchar(255),
+        subscriber_id varchar(255) not null,
+        content longtext not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table notification_dispatch (
         created datetime(3) not null,
+        lease_until datetime(3),
         municipality_id varchar(8) not null,
         namespace varchar(32) not null,
         errand_id varchar(36) not null,
         event_id varchar(36),
         id varchar(36) not null,
         request_group_id varchar(36),
+        claimed_by varchar(64),
         event_type varchar(64) not null,
         sub_type varchar(64),
         description varchar(255),
@@ -445,14 +525,26 @@
         primary key (id)
     ) engine=InnoDB;
 
+    create table processed_email (
+        created datetime(3) not null,
+        municipality_id varchar(8) not null,
+        namespace varchar(32) not null,
+        errand_id varchar(36),
+        id varchar(36) not null,
+        email_id varchar(255) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
     create table revision (
         version integer,
         created datetime(6),
         municipality_id varchar(8),
         namespace varchar(32),
+        snapshot_hash varchar(64),
         entity_id varchar(255),
         entity_type varchar(255),
         id varchar(255) not null,
+        snapshot_type enum ('DELTA','FULL'),
         serialized_snapshot longtext,
         primary key (id)
     ) engine=InnoDB;
@@ -638,6 +730,12 @@
         family_id varchar(255)
     ) engine=InnoDB;
 
+    create index idx_access_set_municipality_id_namespace
+       on access_set (municipality_id, namespace);
+
+    create index idx_accessible_labels_snapshot_namespace_municipality_id
+       on accessible_labels_snapshot (namespace, municipality_id);
+
     create index idx_action_config_municipality_id_namespace
        on action_config (municipality_id, namespace);
 
@@ -650,8 +748,14 @@
     create index idx_attachment_namespace
        on attachment (namespace);
 
-    alter table if exists attachment
-       add constraint uq_attachment_data_id unique (attachment_data_id);
+    create index idx_attachment_attachment_data_id
+       on attachment (attachment_data_id);
+
+    create index idx_attachment_data_municipality_id_hash
+       on attachment_data (municipality_id, hash);
+
+    create index idx_cache_invalidation_created
+       on cache_invalidation (created);
 
     create index idx_namespace_municipality_id
        on category (namespace, municipality_id);
@@ -674,8 +778,8 @@
     create index idx_communication_attachment_namespace
        on communication_attachment (namespace);
 
-    alter table if exists communication_attachment
-       add constraint uq_attachment_data_id unique (attachment_data_id);
+    create index idx_communication_attachment_attachment_data_id
+       on communication_attachment (attachment_data_id);
 
     create index idx_contact_channel_type_value
        on contact_channel (type, value);
@@ -689,6 +793,12 @@
     create index idx_message_exchange_id
        on conversation (message_exchange_id);
 
+    create index idx_email_follow_up_next_attempt
+       on email_follow_up (next_attempt);
+
+    alter table if exists email_follow_up
+       add constraint uq_email_follow_up_email_id_type unique (municipality_id, namespace, email_id, type);
+
     create index idx_namespace_municipality_id
        on email_worker_config (namespace, municipality_id);
 
@@ -725,8 +835,8 @@
     create index idx_errand_municipality_id_namespace_status_created
        on errand (municipality_id, namespace, status, created);
 
-    create index idx_errand_suspended_to
-       on errand (suspended_to);
+    create index idx_errand_status_suspension_expiry_processed_suspended_to
+       on errand (status, suspension_expiry_processed, suspended_to);
 
     create index idx_errand_channel
        on errand (channel);
@@ -743,6 +853,9 @@
     create index idx_errand_municipality_id_namespace_touched
        on errand (municipality_id, namespace, touched);
 
+    create index idx_errand_municipality_id_namespace_access_set_key
+       on errand (municipality_id, namespace, access_set_key);
+
     alter table if exists errand
        add constraint uq_errand_number unique (errand_number);
 
@@ -785,6 +898,9 @@
     create index idx_errand_phase_phase_id
        on errand_phase (phase_id);
 
+    create index idx_eventlog_outbox_next_attempt
+       on eventlog_outbox (next_attempt);
+
     create index idx_namespace_municipality_id
        on external_id_type (namespace, municipality_id);
 
@@ -794,8 +910,8 @@
     create index idx_external_tag_errand_id
        on external_tag (errand_id);
 
-    create index idx_external_tag_key
-       on external_tag (`key`);
+    create index idx_external_tag_key_value_errand_id
+       on external_tag (`key`, `value`, errand_id);
 
     create index idx_external_tag_value
        on external_tag (`value`);
@@ -857,9 +973,24 @@
     create index idx_notification_municipality_id_namespace_owner_id
        on notification (municipality_id, namespace, owner_id);
 
+    create index idx_notification_delivery_next_attempt
+       on notification_delivery (next_attempt);
+
+    create index idx_notification_delivery_recipient
+       on notification_delivery (municipality_id, channel_type, destination);
+
+    create index idx_notification_delivery_digest_key
+       on notification_delivery (digest_key);
+
     create index idx_dispatch_errand_id
        on notification_dispatch (errand_id);
 
+    create index idx_dispatch_request_group_id_created
+       on notification_dispatch (request_group_id, created);
+
+    create index idx_dispatch_lease_until
+       on notification_dispatch (lease_until);
+
     create index idx_phase_municipality_id_namespace
        on phase (municipality_id, namespace);
 
@@ -872,6 +1003,9 @@
     create index idx_phase_transition_phase_id
        on phase_transition (phase_id);
 
+    alter table if exists processed_email
+       add constraint uq_processed_email_email_id unique (municipality_id, namespace, email_id);
+
     create index revision_entity_id_index
        on revision (entity_id);
 
@@ -935,6 +1069,11 @@
     alter table if exists web_message_collect
        add constraint uq_namespace_municipality_id_instance_family_id unique (namespace, municipality_id, instance);
 
+    alter table if exists access_set_label
+       add constraint fk_access_set_label_access_set_id
+       foreign key (access_set_id)
+       references access_set (id);
+
     alter table if exists action_config_condition
        add constraint fk_action_config_condition_action_config_id
        foreign key (action_config_id)
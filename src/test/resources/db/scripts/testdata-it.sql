@@ -315,6 +315,11 @@ VALUES ('2', '896a44d8-724b-11ed-a840-0242ac110002', 'cc236cf1-c00f-4479-8341-ec
         'attachment2',
         'NAMESPACE-1', '2281', 5068);
 
+UPDATE attachment_data d
+SET d.reference_count =
+        (SELECT count(*) FROM attachment a WHERE a.attachment_data_id = d.id) +
+        (SELECT count(*) FROM communication_attachment c WHERE c.attachment_data_id = d.id);
+
 -- Insert into communication_email_header
 INSERT INTO communication_email_header (communication_id, id, header_key)
 VALUES ('cc236cf1-c00f-4479-8341-ecf5dd90b5b9', '81471222-5798-11e9-ae24-57fa13b361e1',
@@ -471,6 +476,21 @@ VALUES ('147d355f-dc94-4fde-a4cb-9ddd16cb1946', 'ffe5f120-6a3b-4404-ace8-8ea87b5
        ('c9efe03d-deff-4828-a043-541fa78ffdeb', '8f1c6101-8c32-4c77-b72c-3348f23394f1'),
        ('58c41b44-0b9f-413d-bd46-406d24bf5ca8', '7ac8f12e-7c9b-47dc-ac7f-92a1f62ca53f');
 
+UPDATE errand e
+SET e.access_set_key = (SELECT SHA2(GROUP_CONCAT(DISTINCT l.metadata_label_id ORDER BY CAST(l.metadata_label_id AS BINARY) SEPARATOR ','), 256)
+                        FROM errand_access_labels l
+                        WHERE l.errand_id = e.id);
+
+INSERT INTO access_set(id, municipality_id, namespace)
+SELECT DISTINCT access_set_key, municipality_id, namespace
+FROM errand
+WHERE access_set_key IS NOT NULL;
+
+INSERT INTO access_set_label(access_set_id, metadata_label_id)
+SELECT DISTINCT e.access_set_key, l.metadata_label_id
+FROM errand e
+         JOIN errand_access_labels l ON l.errand_id = e.id;
+
 -- -----------------------------------
 -- conversations
 -- -----------------------------------
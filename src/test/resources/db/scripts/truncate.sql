@@ -58,6 +58,14 @@ TRUNCATE table subscriber_event_filter;
 TRUNCATE table subscriber_channel;
 TRUNCATE table subscriber;
 TRUNCATE table notification_dispatch;
+TRUNCATE table notification_delivery;
+TRUNCATE table eventlog_outbox;
+TRUNCATE table email_follow_up;
+TRUNCATE table processed_email;
+TRUNCATE table access_set_label;
+TRUNCATE table access_set;
 TRUNCATE table subscriber_notification_event;
 TRUNCATE table subscriber_notification;
+TRUNCATE table cache_invalidation;
+TRUNCATE table accessible_labels_snapshot;
 SET FOREIGN_KEY_CHECKS = 1;